@@ -22,23 +22,31 @@ import au.gov.asd.tac.constellation.plugins.PluginInfo;
 import au.gov.asd.tac.constellation.plugins.PluginInteraction;
 import au.gov.asd.tac.constellation.plugins.algorithms.sna.SnaConcept;
 import au.gov.asd.tac.constellation.plugins.algorithms.sna.centrality.PathScoringUtilities.ScoreType;
+import au.gov.asd.tac.constellation.plugins.algorithms.sna.centrality.ShortestPathScoringUtilities.PathScores;
 import au.gov.asd.tac.constellation.plugins.parameters.ParameterChange;
 import au.gov.asd.tac.constellation.plugins.parameters.PluginParameter;
 import au.gov.asd.tac.constellation.plugins.parameters.PluginParameters;
 import au.gov.asd.tac.constellation.plugins.parameters.types.BooleanParameterType;
 import au.gov.asd.tac.constellation.plugins.parameters.types.BooleanParameterType.BooleanParameterValue;
+import au.gov.asd.tac.constellation.plugins.parameters.types.IntegerParameterType;
+import au.gov.asd.tac.constellation.plugins.parameters.types.IntegerParameterType.IntegerParameterValue;
 import au.gov.asd.tac.constellation.plugins.templates.PluginTags;
 import au.gov.asd.tac.constellation.plugins.templates.SimpleEditPlugin;
-import au.gov.asd.tac.constellation.utilities.datastructure.Tuple;
-import java.util.BitSet;
-import org.eclipse.collections.api.map.primitive.MutableObjectFloatMap;
-import org.eclipse.collections.impl.map.mutable.primitive.ObjectFloatHashMap;
+import org.eclipse.collections.api.map.primitive.MutableLongFloatMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongFloatHashMap;
 import org.openide.util.NbBundle.Messages;
 import org.openide.util.lookup.ServiceProvider;
 
 /**
  * Calculates betweenness centrality for each vertex. This centrality measure
  * does not include loops.
+ * <p>
+ * Where a pair of vertices is joined by more than one shortest path, each path
+ * contributes an equal share of one to the vertices on it, as in Brandes'
+ * algorithm. Versions before this calculation was moved to
+ * {@link ShortestPathScoringUtilities} gave a full point to every vertex on any
+ * of the tied paths, so scores on graphs with tied shortest paths are lower
+ * than they used to be.
  *
  * @author cygnus_x-1
  * @author canis_majoris
@@ -59,6 +67,7 @@ public class BetweennessCentralityPlugin extends SimpleEditPlugin {
     public static final String NORMALISE_AVAILABLE_PARAMETER_ID = PluginParameter.buildId(BetweennessCentralityPlugin.class, "normalise_available");
     public static final String NORMALISE_CONNECTED_COMPONENTS_PARAMETER_ID = PluginParameter.buildId(BetweennessCentralityPlugin.class, "normalise_connected_components");
     public static final String SELECTED_ONLY_PARAMETER_ID = PluginParameter.buildId(BetweennessCentralityPlugin.class, "selected_only");
+    public static final String SAMPLE_SIZE_PARAMETER_ID = PluginParameter.buildId(BetweennessCentralityPlugin.class, "sample_size");
 
     @Override
     public PluginParameters createParameters() {
@@ -101,6 +110,13 @@ public class BetweennessCentralityPlugin extends SimpleEditPlugin {
         selectedOnlyParameter.setName("Selected Only");
         selectedOnlyParameter.setDescription("Calculate using only selected elements");
         parameters.addParameter(selectedOnlyParameter);
+
+        final PluginParameter<IntegerParameterValue> sampleSizeParameter = IntegerParameterType.build(SAMPLE_SIZE_PARAMETER_ID);
+        sampleSizeParameter.setName("Sample Size");
+        sampleSizeParameter.setDescription("Approximate scores using shortest paths from this many randomly chosen nodes, or 0 to use every node");
+        sampleSizeParameter.setIntegerValue(0);
+        IntegerParameterType.setMinimum(sampleSizeParameter, 0);
+        parameters.addParameter(sampleSizeParameter);
         
         parameters.addController(NORMALISE_POSSIBLE_PARAMETER_ID, (master, params, change) -> {
             if (change == ParameterChange.VALUE && master.getBooleanValue()) {
@@ -128,21 +144,23 @@ public class BetweennessCentralityPlugin extends SimpleEditPlugin {
         final boolean normaliseByAvailable = parameters.getBooleanValue(NORMALISE_AVAILABLE_PARAMETER_ID);
         final boolean normaliseConnectedComponents = parameters.getBooleanValue(NORMALISE_CONNECTED_COMPONENTS_PARAMETER_ID);
         final boolean selectedOnly = parameters.getBooleanValue(SELECTED_ONLY_PARAMETER_ID);
+        final int sampleSize = parameters.getIntegerValue(SAMPLE_SIZE_PARAMETER_ID);
 
         assert !normaliseByPossible || !normaliseByAvailable : "You should only select one method of normalisation";
 
         // calculate betweenness scores
-        final Tuple<BitSet[], float[]> scoreResult = PathScoringUtilities.calculateScores(graph, ScoreType.BETWEENNESS, includeConnectionsIn, includeConnectionsOut, treatUndirectedBidirectional, selectedOnly);
-        final BitSet[] subgraphs = scoreResult.getFirst();
-        final float[] betweennesses = scoreResult.getSecond();
+        final PathScores scoreResult = ShortestPathScoringUtilities.calculateScores(graph, ScoreType.BETWEENNESS, includeConnectionsIn, includeConnectionsOut, treatUndirectedBidirectional, selectedOnly, sampleSize);
+        final long[] subgraphs = scoreResult.getReachKeys();
+        final int[] subgraphSizes = scoreResult.getReachCounts();
+        final float[] betweennesses = scoreResult.getScores();
 
         // calculate the maximum betweenness
         float maxBetweenness = 0;
-        final MutableObjectFloatMap<BitSet> maxBetweennessConnectedComponents = new ObjectFloatHashMap<>();
+        final MutableLongFloatMap maxBetweennessConnectedComponents = new LongFloatHashMap();
         final int vertexCount = graph.getVertexCount();
         for (int vertexPosition = 0; vertexPosition < vertexCount; vertexPosition++) {
             final float betweenness = betweennesses[vertexPosition];
-            final BitSet subgraph = subgraphs[vertexPosition];
+            final long subgraph = subgraphs[vertexPosition];
             if (!maxBetweennessConnectedComponents.containsKey(subgraph)) {
                 maxBetweennessConnectedComponents.put(subgraph, betweenness);
             } else {
@@ -167,7 +185,7 @@ public class BetweennessCentralityPlugin extends SimpleEditPlugin {
             final float betweennessAttributeValue;
             if (normaliseByPossible) {
                 if (normaliseConnectedComponents) {
-                    final float subgraphVertexCount = subgraphs[vertexPosition].cardinality();
+                    final float subgraphVertexCount = subgraphSizes[vertexPosition];
                     betweennessAttributeValue = betweennesses[vertexPosition] / (((subgraphVertexCount - 1) * (subgraphVertexCount - 2)) / 2);
                 } else {
                     betweennessAttributeValue = betweennesses[vertexPosition] / (((vertexCount - 1) * (vertexCount - 2)) / 2F);
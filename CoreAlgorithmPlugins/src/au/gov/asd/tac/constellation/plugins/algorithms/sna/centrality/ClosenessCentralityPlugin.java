@@ -22,6 +22,7 @@ import au.gov.asd.tac.constellation.plugins.Plugin;
 import au.gov.asd.tac.constellation.plugins.PluginInfo;
 import au.gov.asd.tac.constellation.plugins.PluginInteraction;
 import au.gov.asd.tac.constellation.plugins.algorithms.sna.SnaConcept;
+import au.gov.asd.tac.constellation.plugins.algorithms.sna.centrality.ShortestPathScoringUtilities.PathScores;
 import au.gov.asd.tac.constellation.plugins.parameters.ParameterChange;
 import au.gov.asd.tac.constellation.plugins.parameters.PluginParameter;
 import au.gov.asd.tac.constellation.plugins.parameters.PluginParameters;
@@ -29,12 +30,10 @@ import au.gov.asd.tac.constellation.plugins.parameters.types.BooleanParameterTyp
 import au.gov.asd.tac.constellation.plugins.parameters.types.BooleanParameterType.BooleanParameterValue;
 import au.gov.asd.tac.constellation.plugins.templates.PluginTags;
 import au.gov.asd.tac.constellation.plugins.templates.SimpleEditPlugin;
-import au.gov.asd.tac.constellation.utilities.datastructure.Tuple;
-import java.util.BitSet;
-import org.eclipse.collections.api.map.primitive.MutableObjectFloatMap;
-import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
-import org.eclipse.collections.impl.map.mutable.primitive.ObjectFloatHashMap;
-import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+import org.eclipse.collections.api.map.primitive.MutableLongFloatMap;
+import org.eclipse.collections.api.map.primitive.MutableLongIntMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongFloatHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongIntHashMap;
 import org.openide.util.NbBundle;
 import org.openide.util.lookup.ServiceProvider;
 
@@ -145,29 +144,23 @@ public class ClosenessCentralityPlugin extends SimpleEditPlugin {
         assert !normaliseByPossible || !normaliseByAvailable : "You should only select one method of normalisation";
 
         // calculate closeness scores
-        final BitSet[] subgraphs;
-        final float[] closenesses;
-        if (harmonic) {
-            final Tuple<BitSet[], float[]> scoreResult = PathScoringUtilities.calculateScores(graph, PathScoringUtilities.ScoreType.HARMONIC_CLOSENESS, includeConnectionsIn, includeConnectionsOut, treatUndirectedBidirectional, selectedOnly);
-            subgraphs = scoreResult.getFirst();
-            closenesses = scoreResult.getSecond();
-        } else {
-            final Tuple<BitSet[], float[]> scoreResult = PathScoringUtilities.calculateScores(graph, PathScoringUtilities.ScoreType.CLOSENESS, includeConnectionsIn, includeConnectionsOut, treatUndirectedBidirectional, selectedOnly);
-            subgraphs = scoreResult.getFirst();
-            closenesses = scoreResult.getSecond();
-        }
+        final PathScoringUtilities.ScoreType scoreType = harmonic ? PathScoringUtilities.ScoreType.HARMONIC_CLOSENESS : PathScoringUtilities.ScoreType.CLOSENESS;
+        final PathScores scoreResult = ShortestPathScoringUtilities.calculateScores(graph, scoreType, includeConnectionsIn, includeConnectionsOut, treatUndirectedBidirectional, selectedOnly);
+        final long[] subgraphs = scoreResult.getReachKeys();
+        final int[] subgraphSizes = selectedOnly ? scoreResult.getSelectedReachCounts() : scoreResult.getReachCounts();
+        final float[] closenesses = scoreResult.getScores();
 
         // calculate the maximum closeness
         float maxCloseness = 0F;
-        final MutableObjectFloatMap<BitSet> maxClosenessConnectedComponents = new ObjectFloatHashMap<>();
-        final MutableObjectIntMap<BitSet> connectedComponentSize = new ObjectIntHashMap<>();
+        final MutableLongFloatMap maxClosenessConnectedComponents = new LongFloatHashMap();
+        final MutableLongIntMap connectedComponentSize = new LongIntHashMap();
         final int vertexCount = graph.getVertexCount();
         for (int vertexPosition = 0; vertexPosition < vertexCount; vertexPosition++) {
             final float closeness = closenesses[vertexPosition];
-            final BitSet subgraph = subgraphs[vertexPosition];
+            final long subgraph = subgraphs[vertexPosition];
             if (!maxClosenessConnectedComponents.containsKey(subgraph)) {
                 maxClosenessConnectedComponents.put(subgraph, closeness);
-                connectedComponentSize.put(subgraph, PathScoringUtilities.subgraphSize(graph, subgraph, selectedOnly));
+                connectedComponentSize.put(subgraph, subgraphSizes[vertexPosition]);
             } else {
                 maxClosenessConnectedComponents.put(subgraph, Math.max(closeness, maxClosenessConnectedComponents.get(subgraph)));
             }
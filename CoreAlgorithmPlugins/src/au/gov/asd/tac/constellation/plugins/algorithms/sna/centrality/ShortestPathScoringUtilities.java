@@ -0,0 +1,550 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.plugins.algorithms.sna.centrality;
+
+import au.gov.asd.tac.constellation.graph.GraphConstants;
+import au.gov.asd.tac.constellation.graph.GraphReadMethods;
+import au.gov.asd.tac.constellation.graph.schema.visual.concept.VisualConcept;
+import au.gov.asd.tac.constellation.plugins.algorithms.sna.centrality.PathScoringUtilities.ScoreType;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Utilities for calculating shortest path scores on a graph using Brandes'
+ * algorithm.
+ * <p>
+ * Unlike {@link PathScoringUtilities}, which keeps a traversal BitSet for every
+ * vertex, this runs an independent breadth first search from each source
+ * vertex and so only needs O(n+m) working memory per thread. Sources are split
+ * across the common fork-join pool, and per-thread betweenness arrays are
+ * summed once all sources have been processed.
+ * <p>
+ * Each search also records the set of vertices reachable from its source as a
+ * count and a 64-bit key, which plugins can use in place of the traversal
+ * BitSets to group vertices into connected components for normalisation.
+ *
+ * @author cygnus_x-1
+ */
+public class ShortestPathScoringUtilities {
+
+    private static final String SCORETYPE_ERROR_FORMAT = "The requested ScoreType, %s, is not supported.";
+    private static final String OUT_OF_BOUNDS_EXCEPTION_STRING = "The 'selected' attribute does not exist on the given graph.";
+
+    private static final long SAMPLE_SEED = 0x5DEECE66DL;
+    private static final int TASKS_PER_THREAD = 4;
+
+    private ShortestPathScoringUtilities() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * The results of a shortest path calculation, indexed by vertex position.
+     */
+    public static final class PathScores {
+
+        private final float[] scores;
+        private final int[] reachCounts;
+        private final int[] selectedReachCounts;
+        private final long[] reachKeys;
+
+        private PathScores(final float[] scores, final int[] reachCounts, final int[] selectedReachCounts, final long[] reachKeys) {
+            this.scores = scores;
+            this.reachCounts = reachCounts;
+            this.selectedReachCounts = selectedReachCounts;
+            this.reachKeys = reachKeys;
+        }
+
+        /**
+         * The score calculated for each vertex.
+         *
+         * @return an array of scores indexed by vertex position.
+         */
+        public float[] getScores() {
+            return scores;
+        }
+
+        /**
+         * The number of vertices reachable from each vertex, including the
+         * vertex itself.
+         *
+         * @return an array of counts indexed by vertex position.
+         */
+        public int[] getReachCounts() {
+            return reachCounts;
+        }
+
+        /**
+         * The number of selected vertices reachable from each vertex, including
+         * the vertex itself if it is selected.
+         *
+         * @return an array of counts indexed by vertex position.
+         */
+        public int[] getSelectedReachCounts() {
+            return selectedReachCounts;
+        }
+
+        /**
+         * A key identifying the set of vertices reachable from each vertex.
+         * Two vertices that can reach exactly the same set of vertices will
+         * have the same key, which makes it suitable for grouping vertices into
+         * connected components.
+         *
+         * @return an array of keys indexed by vertex position.
+         */
+        public long[] getReachKeys() {
+            return reachKeys;
+        }
+    }
+
+    /**
+     * Calculate the requested shortest path score for every vertex in the
+     * graph, using every vertex as a source.
+     *
+     * @param graph the graph to score.
+     * @param scoreType one of BETWEENNESS, CLOSENESS, FARNESS,
+     * HARMONIC_CLOSENESS, HARMONIC_FARNESS or ECCENTRICITY.
+     * @param includeConnectionsIn follow connections against their direction.
+     * @param includeConnectionsOut follow connections in their direction.
+     * @param treatUndirectedBidirectional follow undirected connections in
+     * both directions.
+     * @param selectedOnly only count paths to (and, for betweenness, from)
+     * selected vertices.
+     * @return the scores and reachability of each vertex.
+     */
+    public static PathScores calculateScores(final GraphReadMethods graph, final ScoreType scoreType,
+            final boolean includeConnectionsIn, final boolean includeConnectionsOut, final boolean treatUndirectedBidirectional, final boolean selectedOnly) {
+        return calculateScores(graph, scoreType, includeConnectionsIn, includeConnectionsOut, treatUndirectedBidirectional, selectedOnly, 0);
+    }
+
+    /**
+     * Calculate the requested shortest path score for every vertex in the
+     * graph.
+     * <p>
+     * If a positive sample size smaller than the number of vertices is given
+     * and the score type is BETWEENNESS, only that many randomly chosen
+     * vertices are used as sources and the resulting scores are scaled up to
+     * approximate the exact scores. Other score types are defined per source
+     * vertex and are always calculated exactly.
+     *
+     * @param graph the graph to score.
+     * @param scoreType one of BETWEENNESS, CLOSENESS, FARNESS,
+     * HARMONIC_CLOSENESS, HARMONIC_FARNESS or ECCENTRICITY.
+     * @param includeConnectionsIn follow connections against their direction.
+     * @param includeConnectionsOut follow connections in their direction.
+     * @param treatUndirectedBidirectional follow undirected connections in
+     * both directions.
+     * @param selectedOnly only count paths to (and, for betweenness, from)
+     * selected vertices.
+     * @param sampleSize the number of source vertices to sample for an
+     * approximate betweenness, or 0 to use every vertex.
+     * @return the scores and reachability of each vertex.
+     */
+    public static PathScores calculateScores(final GraphReadMethods graph, final ScoreType scoreType,
+            final boolean includeConnectionsIn, final boolean includeConnectionsOut, final boolean treatUndirectedBidirectional,
+            final boolean selectedOnly, final int sampleSize) {
+        if (scoreType == ScoreType.AVERAGE_DISTANCE) {
+            throw new IllegalArgumentException(String.format(SCORETYPE_ERROR_FORMAT, scoreType));
+        }
+
+        final int vertexCount = graph.getVertexCount();
+        final boolean[] selected = new boolean[vertexCount];
+        final int selectedAttribute = VisualConcept.VertexAttribute.SELECTED.get(graph);
+        if (selectedOnly) {
+            if (selectedAttribute == GraphConstants.NOT_FOUND) {
+                throw new ArrayIndexOutOfBoundsException(OUT_OF_BOUNDS_EXCEPTION_STRING);
+            }
+            for (int position = 0; position < vertexCount; position++) {
+                selected[position] = graph.getBooleanValue(selectedAttribute, graph.getVertex(position));
+            }
+        } else if (selectedAttribute != GraphConstants.NOT_FOUND) {
+            for (int position = 0; position < vertexCount; position++) {
+                selected[position] = graph.getBooleanValue(selectedAttribute, graph.getVertex(position));
+            }
+        }
+
+        final Adjacency forward = Adjacency.build(graph, includeConnectionsIn, includeConnectionsOut, treatUndirectedBidirectional, false);
+        final Adjacency backward = scoreType == ScoreType.BETWEENNESS
+                ? Adjacency.build(graph, includeConnectionsIn, includeConnectionsOut, treatUndirectedBidirectional, true) : null;
+
+        // betweenness is only accumulated from sources that could contribute
+        int[] sources = new int[vertexCount];
+        int sourceCount = 0;
+        for (int position = 0; position < vertexCount; position++) {
+            if (scoreType != ScoreType.BETWEENNESS || !selectedOnly || selected[position]) {
+                sources[sourceCount++] = position;
+            }
+        }
+        float sampleScale = 1F;
+        if (scoreType == ScoreType.BETWEENNESS && sampleSize > 0 && sampleSize < sourceCount) {
+            final Random random = new Random(SAMPLE_SEED);
+            for (int i = 0; i < sampleSize; i++) {
+                final int j = i + random.nextInt(sourceCount - i);
+                final int tmp = sources[i];
+                sources[i] = sources[j];
+                sources[j] = tmp;
+            }
+            sampleScale = sourceCount / (float) sampleSize;
+            sourceCount = sampleSize;
+        }
+        sources = Arrays.copyOf(sources, sourceCount);
+
+        final long[] vertexKeys = new long[vertexCount];
+        for (int position = 0; position < vertexCount; position++) {
+            vertexKeys[position] = mix(position + 1L);
+        }
+
+        final float[] scores = new float[vertexCount];
+        final int[] reachCounts = new int[vertexCount];
+        final int[] selectedReachCounts = new int[vertexCount];
+        final long[] reachKeys = new long[vertexCount];
+        Arrays.fill(reachCounts, 1);
+        for (int position = 0; position < vertexCount; position++) {
+            selectedReachCounts[position] = selected[position] ? 1 : 0;
+            reachKeys[position] = vertexKeys[position];
+        }
+
+        // when traversing in both directions, harmonic farness has always
+        // counted each pair from both of its ends, so keep that scale here
+        final boolean symmetricHarmonic = includeConnectionsIn && includeConnectionsOut
+                && (scoreType == ScoreType.HARMONIC_CLOSENESS || scoreType == ScoreType.HARMONIC_FARNESS);
+
+        final SearchContext context = new SearchContext(scoreType, selectedOnly, symmetricHarmonic, selected, forward, backward, sources,
+                vertexKeys, scores, reachCounts, selectedReachCounts, reachKeys);
+        final int parallelism = ForkJoinPool.commonPool().getParallelism();
+        final int threshold = Math.max(1, sourceCount / (Math.max(1, parallelism) * TASKS_PER_THREAD));
+        final double[] betweenness = ForkJoinPool.commonPool().invoke(new SourceTask(context, 0, sourceCount, threshold));
+
+        switch (scoreType) {
+            case BETWEENNESS -> {
+                for (int position = 0; position < vertexCount; position++) {
+                    scores[position] = (float) betweenness[position] * sampleScale;
+                }
+            }
+            case CLOSENESS -> {
+                for (int position = 0; position < vertexCount; position++) {
+                    scores[position] = scores[position] == 0 ? 0 : 1 / scores[position];
+                }
+            }
+            case HARMONIC_CLOSENESS -> {
+                // normalise by the number of vertices which have neighbours
+                int connectedCount = 0;
+                for (int position = 0; position < vertexCount; position++) {
+                    if (graph.getVertexNeighbourCount(graph.getVertex(position)) > 0) {
+                        connectedCount++;
+                    }
+                }
+                for (int position = 0; position < vertexCount; position++) {
+                    scores[position] = scores[position] == 0 ? 0 : scores[position] / connectedCount;
+                }
+            }
+            case FARNESS, HARMONIC_FARNESS, ECCENTRICITY -> {
+                // scores are already complete
+            }
+            default ->
+                throw new IllegalArgumentException(String.format(SCORETYPE_ERROR_FORMAT, scoreType));
+        }
+
+        return new PathScores(scores, reachCounts, selectedReachCounts, reachKeys);
+    }
+
+    /**
+     * A finalising mixer from SplitMix64, used to give each vertex a well
+     * distributed key.
+     */
+    private static long mix(final long value) {
+        long z = value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * A compressed sparse row adjacency list over vertex positions.
+     */
+    private static final class Adjacency {
+
+        private final int[] offsets;
+        private final int[] targets;
+
+        private Adjacency(final int[] offsets, final int[] targets) {
+            this.offsets = offsets;
+            this.targets = targets;
+        }
+
+        /**
+         * Build the adjacency of the graph in the requested direction. A
+         * vertex x is adjacent to a neighbour y if there is a connection from
+         * x to y and outgoing connections are included, from y to x and
+         * incoming connections are included, or between x and y and undirected
+         * connections are treated as bidirectional. If both incoming and
+         * outgoing connections are included, every neighbour is adjacent.
+         */
+        private static Adjacency build(final GraphReadMethods graph, final boolean includeConnectionsIn, final boolean includeConnectionsOut,
+                final boolean treatUndirectedBidirectional, final boolean reverse) {
+            final boolean allNeighbours = includeConnectionsIn && includeConnectionsOut;
+            final boolean in = reverse ? includeConnectionsOut : includeConnectionsIn;
+            final boolean out = reverse ? includeConnectionsIn : includeConnectionsOut;
+
+            final int vertexCount = graph.getVertexCount();
+            final int[] offsets = new int[vertexCount + 1];
+            int[] targets = new int[Math.max(16, graph.getLinkCount() * 2)];
+            int size = 0;
+            for (int position = 0; position < vertexCount; position++) {
+                offsets[position] = size;
+                final int vertexId = graph.getVertex(position);
+                final int neighbourCount = graph.getVertexNeighbourCount(vertexId);
+                for (int neighbourPosition = 0; neighbourPosition < neighbourCount; neighbourPosition++) {
+                    final int neighbourId = graph.getVertexNeighbour(vertexId, neighbourPosition);
+                    if (neighbourId == vertexId) {
+                        continue;
+                    }
+                    if (allNeighbours || isRequestedDirection(graph, vertexId, neighbourId, in, out, treatUndirectedBidirectional)) {
+                        if (size == targets.length) {
+                            targets = Arrays.copyOf(targets, size << 1);
+                        }
+                        targets[size++] = graph.getVertexPosition(neighbourId);
+                    }
+                }
+            }
+            offsets[vertexCount] = size;
+            return new Adjacency(offsets, Arrays.copyOf(targets, size));
+        }
+
+        private static boolean isRequestedDirection(final GraphReadMethods graph, final int vertexId, final int neighbourId,
+                final boolean in, final boolean out, final boolean treatUndirectedBidirectional) {
+            final int linkId = graph.getLink(vertexId, neighbourId);
+            final int edgeCount = graph.getLinkEdgeCount(linkId);
+            for (int edgePosition = 0; edgePosition < edgeCount; edgePosition++) {
+                final int edgeId = graph.getLinkEdge(linkId, edgePosition);
+                if ((treatUndirectedBidirectional && graph.getEdgeDirection(edgeId) == GraphConstants.UNDIRECTED)
+                        || (out && graph.getEdgeSourceVertex(edgeId) == vertexId)
+                        || (in && graph.getEdgeDestinationVertex(edgeId) == vertexId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The read-only inputs and per-source outputs shared by every search.
+     */
+    private static final class SearchContext {
+
+        private final ScoreType scoreType;
+        private final boolean selectedOnly;
+        private final boolean symmetricHarmonic;
+        private final boolean[] selected;
+        private final Adjacency forward;
+        private final Adjacency backward;
+        private final int[] sources;
+        private final long[] vertexKeys;
+
+        // each of these is only written at the index of a source vertex, and
+        // each source is processed by exactly one task
+        private final float[] scores;
+        private final int[] reachCounts;
+        private final int[] selectedReachCounts;
+        private final long[] reachKeys;
+
+        private SearchContext(final ScoreType scoreType, final boolean selectedOnly, final boolean symmetricHarmonic, final boolean[] selected,
+                final Adjacency forward, final Adjacency backward, final int[] sources, final long[] vertexKeys,
+                final float[] scores, final int[] reachCounts, final int[] selectedReachCounts, final long[] reachKeys) {
+            this.scoreType = scoreType;
+            this.selectedOnly = selectedOnly;
+            this.symmetricHarmonic = symmetricHarmonic;
+            this.selected = selected;
+            this.forward = forward;
+            this.backward = backward;
+            this.sources = sources;
+            this.vertexKeys = vertexKeys;
+            this.scores = scores;
+            this.reachCounts = reachCounts;
+            this.selectedReachCounts = selectedReachCounts;
+            this.reachKeys = reachKeys;
+        }
+    }
+
+    /**
+     * Processes a range of source vertices, splitting it in half until it is
+     * small enough to run a series of searches with a single workspace. The
+     * result is the betweenness accumulated over the range, or null if
+     * betweenness was not requested.
+     */
+    private static final class SourceTask extends RecursiveTask<double[]> {
+
+        private final transient SearchContext context;
+        private final int start;
+        private final int end;
+        private final int threshold;
+
+        private SourceTask(final SearchContext context, final int start, final int end, final int threshold) {
+            this.context = context;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (end - start <= threshold) {
+                final Search search = new Search(context);
+                for (int i = start; i < end; i++) {
+                    search.run(context.sources[i]);
+                }
+                return search.betweenness;
+            }
+
+            final int middle = (start + end) >>> 1;
+            final SourceTask left = new SourceTask(context, start, middle, threshold);
+            final SourceTask right = new SourceTask(context, middle, end, threshold);
+            left.fork();
+            final double[] rightResult = right.compute();
+            final double[] leftResult = left.join();
+            if (leftResult == null) {
+                return rightResult;
+            }
+            for (int position = 0; position < leftResult.length; position++) {
+                leftResult[position] += rightResult[position];
+            }
+            return leftResult;
+        }
+    }
+
+    /**
+     * The working memory for a single thread: a handful of arrays of length n
+     * which are reset after each search.
+     */
+    private static final class Search {
+
+        private final SearchContext context;
+        private final boolean betweennessRequired;
+        private final int[] distance;
+        private final double[] sigma;
+        private final double[] delta;
+        private final int[] order;
+        private final double[] betweenness;
+
+        private Search(final SearchContext context) {
+            this.context = context;
+            final int vertexCount = context.selected.length;
+            this.betweennessRequired = context.scoreType == ScoreType.BETWEENNESS;
+            this.distance = new int[vertexCount];
+            Arrays.fill(distance, -1);
+            this.order = new int[vertexCount];
+            this.sigma = betweennessRequired ? new double[vertexCount] : null;
+            this.delta = betweennessRequired ? new double[vertexCount] : null;
+            this.betweenness = betweennessRequired ? new double[vertexCount] : null;
+        }
+
+        private void run(final int source) {
+            final Adjacency forward = context.forward;
+            final boolean[] selected = context.selected;
+            final boolean selectedOnly = context.selectedOnly;
+
+            int head = 0;
+            int tail = 0;
+            order[tail++] = source;
+            distance[source] = 0;
+            if (betweennessRequired) {
+                sigma[source] = 1;
+            }
+
+            int reachCount = 1;
+            int selectedReachCount = selected[source] ? 1 : 0;
+            long reachKey = context.vertexKeys[source];
+            double farness = 0;
+            // harmonic farness is accumulated in float precision, one term at a
+            // time, so that it is consistent with PathScoringUtilities
+            float harmonicFarness = 0;
+            final boolean sourceCounted = context.symmetricHarmonic && (!selectedOnly || selected[source]);
+            int eccentricity = 0;
+
+            // breadth first search, using the order array as the queue
+            while (head < tail) {
+                final int vertex = order[head++];
+                final int nextDistance = distance[vertex] + 1;
+                for (int i = forward.offsets[vertex]; i < forward.offsets[vertex + 1]; i++) {
+                    final int neighbour = forward.targets[i];
+                    if (distance[neighbour] < 0) {
+                        distance[neighbour] = nextDistance;
+                        order[tail++] = neighbour;
+
+                        reachCount++;
+                        reachKey += context.vertexKeys[neighbour];
+                        if (selected[neighbour]) {
+                            selectedReachCount++;
+                        }
+                        if (sourceCounted) {
+                            harmonicFarness += (float) (1.0 / nextDistance);
+                        }
+                        if (!selectedOnly || selected[neighbour]) {
+                            farness += nextDistance;
+                            harmonicFarness += (float) (1.0 / nextDistance);
+                            eccentricity = nextDistance;
+                        }
+                    }
+                    if (betweennessRequired && distance[neighbour] == nextDistance) {
+                        sigma[neighbour] += sigma[vertex];
+                    }
+                }
+            }
+
+            context.reachCounts[source] = reachCount;
+            context.selectedReachCounts[source] = selectedReachCount;
+            context.reachKeys[source] = reachKey;
+            switch (context.scoreType) {
+                case CLOSENESS, FARNESS ->
+                    context.scores[source] = (float) farness;
+                case HARMONIC_CLOSENESS, HARMONIC_FARNESS ->
+                    context.scores[source] = harmonicFarness;
+                case ECCENTRICITY ->
+                    context.scores[source] = eccentricity;
+                default -> {
+                    // betweenness is accumulated below
+                }
+            }
+
+            // accumulate dependencies in order of decreasing distance
+            if (betweennessRequired) {
+                final Adjacency backward = context.backward;
+                for (int i = tail - 1; i > 0; i--) {
+                    final int vertex = order[i];
+                    final double dependency = (!selectedOnly || selected[vertex] ? 1 : 0) + delta[vertex];
+                    for (int j = backward.offsets[vertex]; j < backward.offsets[vertex + 1]; j++) {
+                        final int predecessor = backward.targets[j];
+                        if (distance[predecessor] == distance[vertex] - 1) {
+                            delta[predecessor] += sigma[predecessor] / sigma[vertex] * dependency;
+                        }
+                    }
+                    betweenness[vertex] += delta[vertex];
+                }
+            }
+
+            // reset only what this search touched
+            for (int i = 0; i < tail; i++) {
+                final int vertex = order[i];
+                distance[vertex] = -1;
+                if (betweennessRequired) {
+                    sigma[vertex] = 0;
+                    delta[vertex] = 0;
+                }
+            }
+        }
+    }
+}
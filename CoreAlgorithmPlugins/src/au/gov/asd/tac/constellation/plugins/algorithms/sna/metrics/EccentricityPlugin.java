@@ -22,16 +22,16 @@ import au.gov.asd.tac.constellation.plugins.PluginInfo;
 import au.gov.asd.tac.constellation.plugins.PluginInteraction;
 import au.gov.asd.tac.constellation.plugins.algorithms.sna.SnaConcept;
 import au.gov.asd.tac.constellation.plugins.algorithms.sna.centrality.PathScoringUtilities;
+import au.gov.asd.tac.constellation.plugins.algorithms.sna.centrality.ShortestPathScoringUtilities;
+import au.gov.asd.tac.constellation.plugins.algorithms.sna.centrality.ShortestPathScoringUtilities.PathScores;
 import au.gov.asd.tac.constellation.plugins.parameters.PluginParameter;
 import au.gov.asd.tac.constellation.plugins.parameters.PluginParameters;
 import au.gov.asd.tac.constellation.plugins.parameters.types.BooleanParameterType;
 import au.gov.asd.tac.constellation.plugins.parameters.types.BooleanParameterType.BooleanParameterValue;
 import au.gov.asd.tac.constellation.plugins.templates.PluginTags;
 import au.gov.asd.tac.constellation.plugins.templates.SimpleEditPlugin;
-import au.gov.asd.tac.constellation.utilities.datastructure.Tuple;
-import java.util.BitSet;
-import org.eclipse.collections.api.map.primitive.MutableObjectFloatMap;
-import org.eclipse.collections.impl.map.mutable.primitive.ObjectFloatHashMap;
+import org.eclipse.collections.api.map.primitive.MutableLongFloatMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongFloatHashMap;
 import org.openide.util.NbBundle.Messages;
 import org.openide.util.lookup.ServiceProvider;
 
@@ -99,17 +99,17 @@ public class EccentricityPlugin extends SimpleEditPlugin {
         final boolean normaliseConnectedComponents = parameters.getBooleanValue(NORMALISE_CONNECTED_COMPONENTS_PARAMETER_ID);
 
         // calculate eccentricities
-        final Tuple<BitSet[], float[]> scoreResult = PathScoringUtilities.calculateScores(graph, PathScoringUtilities.ScoreType.ECCENTRICITY, includeConnectionsIn, includeConnectionsOut, treatUndirectedBidirectional, false);
-        final BitSet[] subgraphs = scoreResult.getFirst();
-        final float[] eccentricities = scoreResult.getSecond();
+        final PathScores scoreResult = ShortestPathScoringUtilities.calculateScores(graph, PathScoringUtilities.ScoreType.ECCENTRICITY, includeConnectionsIn, includeConnectionsOut, treatUndirectedBidirectional, false);
+        final long[] subgraphs = scoreResult.getReachKeys();
+        final float[] eccentricities = scoreResult.getScores();
 
         // calculate the maximum eccentricity
         float maxEccentricity = 0;
-        final MutableObjectFloatMap<BitSet> maxEccentricityConnectedComponents = new ObjectFloatHashMap<>();
+        final MutableLongFloatMap maxEccentricityConnectedComponents = new LongFloatHashMap();
         final int vertexCount = graph.getVertexCount();
         for (int vertexPosition = 0; vertexPosition < vertexCount; vertexPosition++) {
             final float betweenness = eccentricities[vertexPosition];
-            final BitSet subgraph = subgraphs[vertexPosition];
+            final long subgraph = subgraphs[vertexPosition];
             if (!maxEccentricityConnectedComponents.containsKey(subgraph)) {
                 maxEccentricityConnectedComponents.put(subgraph, betweenness);
             } else {
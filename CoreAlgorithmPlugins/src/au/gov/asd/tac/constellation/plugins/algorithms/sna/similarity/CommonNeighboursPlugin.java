@@ -15,11 +15,9 @@
  */
 package au.gov.asd.tac.constellation.plugins.algorithms.sna.similarity;
 
-import au.gov.asd.tac.constellation.graph.GraphConstants;
 import au.gov.asd.tac.constellation.graph.GraphWriteMethods;
 import au.gov.asd.tac.constellation.graph.schema.attribute.SchemaAttribute;
 import au.gov.asd.tac.constellation.graph.schema.visual.VisualSchemaPluginRegistry;
-import au.gov.asd.tac.constellation.graph.schema.visual.concept.VisualConcept;
 import au.gov.asd.tac.constellation.plugins.Plugin;
 import au.gov.asd.tac.constellation.plugins.PluginException;
 import au.gov.asd.tac.constellation.plugins.PluginExecution;
@@ -55,6 +53,7 @@ public class CommonNeighboursPlugin extends SimpleEditPlugin {
     public static final String TREAT_UNDIRECTED_BIDIRECTIONAL_PARAMETER_ID = PluginParameter.buildId(CommonNeighboursPlugin.class, "treat_undirected_bidirectional");
     public static final String MINIMUM_COMMON_FEATURES_PARAMETER_ID = PluginParameter.buildId(CommonNeighboursPlugin.class, "minimum_common_features");
     public static final String SELECTED_ONLY_PARAMETER_ID = PluginParameter.buildId(CommonNeighboursPlugin.class, "selected_only");
+    public static final String MAXIMUM_SIMILARITIES_PARAMETER_ID = PluginParameter.buildId(CommonNeighboursPlugin.class, "maximum_similarities");
     public static final String COMMUNITY_PARAMETER_ID = PluginParameter.buildId(CommonNeighboursPlugin.class, "community");
 
     @Override
@@ -86,6 +85,13 @@ public class CommonNeighboursPlugin extends SimpleEditPlugin {
         IntegerParameterType.setMinimum(minCommonFeatures, 1);
         parameters.addParameter(minCommonFeatures);
 
+        final PluginParameter<IntegerParameterValue> maximumSimilarities = IntegerParameterType.build(MAXIMUM_SIMILARITIES_PARAMETER_ID);
+        maximumSimilarities.setName("Maximum Similarities Per Node");
+        maximumSimilarities.setDescription("Only keep the highest scoring similarities of each node, or 0 to keep all similarities");
+        maximumSimilarities.setIntegerValue(0);
+        IntegerParameterType.setMinimum(maximumSimilarities, 0);
+        parameters.addParameter(maximumSimilarities);
+
         final PluginParameter<BooleanParameterValue> selectedOnlyParameter = BooleanParameterType.build(SELECTED_ONLY_PARAMETER_ID);
         selectedOnlyParameter.setName("Selected Only");
         selectedOnlyParameter.setDescription("Calculate using only selected elements");
@@ -109,74 +115,28 @@ public class CommonNeighboursPlugin extends SimpleEditPlugin {
         final int minCommonFeatures = parameters.getParameters().get(MINIMUM_COMMON_FEATURES_PARAMETER_ID).getIntegerValue();
         final boolean selectedOnly = parameters.getBooleanValue(SELECTED_ONLY_PARAMETER_ID);
         final boolean community = parameters.getBooleanValue(COMMUNITY_PARAMETER_ID);
+        final int maximumSimilarities = parameters.getIntegerValue(MAXIMUM_SIMILARITIES_PARAMETER_ID);
+
+        // collect the sorted neighbours of each vertex
+        final SimilarityNeighbours neighbours = SimilarityUtilities.getNeighbours(graph, includeConnectionsIn, includeConnectionsOut, treatUndirectedBidirectional);
+        final BitSet selected = SimilarityUtilities.getSelectedVertices(graph);
 
-        final int vertexSelectedAttributeId = VisualConcept.VertexAttribute.SELECTED.get(graph);
-
-        // map each vertex to its neighbour count
-        final int vertexCount = graph.getVertexCount();
-        final BitSet[] neighbours = new BitSet[vertexCount];
-        final BitSet update = new BitSet(vertexCount);
-        final BitSet selected = new BitSet(vertexCount);
-        for (int vertexPosition = 0; vertexPosition < vertexCount; vertexPosition++) {
-            final int vertexId = graph.getVertex(vertexPosition);
-            neighbours[vertexPosition] = new BitSet(vertexCount);
-            for (int vertexNeighbourPosition = 0; vertexNeighbourPosition < graph.getVertexNeighbourCount(vertexId); vertexNeighbourPosition++) {
-                final int neighbourId = graph.getVertexNeighbour(vertexId, vertexNeighbourPosition);
-                final int neighbourPosition = graph.getVertexPosition(neighbourId);
-
-                if (vertexPosition == neighbourPosition) {
-                    continue;
-                }
-
-                final int linkId = graph.getLink(vertexId, neighbourId);
-                for (int linkEdgePosition = 0; linkEdgePosition < graph.getLinkEdgeCount(linkId); linkEdgePosition++) {
-                    final int edgeId = graph.getLinkEdge(linkId, linkEdgePosition);
-                    final int edgeDirection = graph.getEdgeDirection(edgeId);
-                    final boolean isRequestedDirection = (treatUndirectedBidirectional && edgeDirection == GraphConstants.UNDIRECTED
-                            || includeConnectionsIn && graph.getEdgeDestinationVertex(edgeId) == neighbourId
-                            || includeConnectionsOut && graph.getEdgeSourceVertex(edgeId) == neighbourId);
-                    if (isRequestedDirection) {
-                        if (!SimilarityUtilities.checkEdgeTypes(graph, edgeId)) {
-                            continue;
-                        }
-                        neighbours[vertexPosition].set(neighbourPosition, true);
-                        update.set(vertexPosition, true);
-                    }
-                }
+        // calculate common neighbours for every pair of vertices sharing a neighbour
+        final SimilarityScores scores = neighbours.calculateScores(minCommonFeatures, maximumSimilarities, (vertexOnePosition, vertexTwoPosition, commonNeighbourCount) -> {
+            if (selectedOnly && !selected.get(vertexOnePosition) && !selected.get(vertexTwoPosition)) {
+                return Float.NaN;
             }
-            final boolean vertexSelected = graph.getBooleanValue(vertexSelectedAttributeId, vertexId);
-            selected.set(vertexPosition, vertexSelected);
-        }
 
-        // calculate common neighbours for every pair of vertices on the graph
-        SimilarityUtilities.setGraphAndEnsureAttributes(graph, COMMON_NEIGHBOURS_ATTRIBUTE);
-        for (int vertexOnePosition = update.nextSetBit(0); vertexOnePosition >= 0; vertexOnePosition = update.nextSetBit(vertexOnePosition + 1)) {
-            for (int vertexTwoPosition = update.nextSetBit(0); vertexTwoPosition >= 0; vertexTwoPosition = update.nextSetBit(vertexTwoPosition + 1)) {
-                if (!selectedOnly || (selected.get(vertexOnePosition) || selected.get(vertexTwoPosition))) {
-                    if (vertexOnePosition >= vertexTwoPosition) {
-                        continue;
-                    }
-
-                    final BitSet intersection = (BitSet) neighbours[vertexOnePosition].clone();
-                    intersection.and(neighbours[vertexTwoPosition]);
-                    intersection.set(vertexOnePosition, false);
-                    intersection.set(vertexTwoPosition, false);
-
-                    if (intersection.cardinality() < minCommonFeatures) {
-                        continue;
-                    }
-
-                    final int vertexOneId = graph.getVertex(vertexOnePosition);
-                    final int vertexTwoId = graph.getVertex(vertexTwoPosition);
-
-                    float commonNeighbours = intersection.cardinality();
-                    if (community && (selected.get(vertexOnePosition) && selected.get(vertexTwoPosition))) {
-                        commonNeighbours += 1;
-                    }
-                    SimilarityUtilities.addScoreToGraph(vertexOneId, vertexTwoId, commonNeighbours);
-                }
+            float commonNeighbours = commonNeighbourCount;
+            if (community && (selected.get(vertexOnePosition) && selected.get(vertexTwoPosition))) {
+                commonNeighbours += 1;
             }
-        }
+            return commonNeighbours;
+        });
+
+        SimilarityUtilities.setGraphAndEnsureAttributes(graph, COMMON_NEIGHBOURS_ATTRIBUTE);
+        SimilarityUtilities.addScoresToGraph(scores);
+
         // complete with schema
         PluginExecution.withPlugin(VisualSchemaPluginRegistry.COMPLETE_SCHEMA).executeNow(graph);
     }
@@ -19,7 +19,6 @@ import au.gov.asd.tac.constellation.graph.GraphConstants;
 import au.gov.asd.tac.constellation.graph.GraphWriteMethods;
 import au.gov.asd.tac.constellation.graph.schema.attribute.SchemaAttribute;
 import au.gov.asd.tac.constellation.graph.schema.visual.VisualSchemaPluginRegistry;
-import au.gov.asd.tac.constellation.graph.schema.visual.concept.VisualConcept;
 import au.gov.asd.tac.constellation.plugins.Plugin;
 import au.gov.asd.tac.constellation.plugins.PluginException;
 import au.gov.asd.tac.constellation.plugins.PluginExecution;
@@ -34,12 +33,7 @@ import au.gov.asd.tac.constellation.plugins.parameters.types.IntegerParameterTyp
 import au.gov.asd.tac.constellation.plugins.parameters.types.IntegerParameterType.IntegerParameterValue;
 import au.gov.asd.tac.constellation.plugins.templates.PluginTags;
 import au.gov.asd.tac.constellation.plugins.templates.SimpleEditPlugin;
-import java.util.ArrayList;
 import java.util.BitSet;
-import java.util.List;
-import org.eclipse.collections.api.iterator.IntIterator;
-import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
-import org.eclipse.collections.impl.map.mutable.primitive.IntIntHashMap;
 import org.openide.util.NbBundle;
 import org.openide.util.lookup.ServiceProvider;
 
@@ -61,6 +55,7 @@ public class CosineSimilarityPlugin extends SimpleEditPlugin {
     public static final String TREAT_UNDIRECTED_BIDIRECTIONAL_PARAMETER_ID = PluginParameter.buildId(CosineSimilarityPlugin.class, "treat_undirected_bidirectional");
     public static final String MINIMUM_COMMON_FEATURES_PARAMETER_ID = PluginParameter.buildId(CosineSimilarityPlugin.class, "minimum_common_features");
     public static final String SELECTED_ONLY_PARAMETER_ID = PluginParameter.buildId(CosineSimilarityPlugin.class, "selected_only");
+    public static final String MAXIMUM_SIMILARITIES_PARAMETER_ID = PluginParameter.buildId(CosineSimilarityPlugin.class, "maximum_similarities");
 
     @Override
     public PluginParameters createParameters() {
@@ -91,6 +86,13 @@ public class CosineSimilarityPlugin extends SimpleEditPlugin {
         IntegerParameterType.setMinimum(minCommonFeatures, 1);
         parameters.addParameter(minCommonFeatures);
 
+        final PluginParameter<IntegerParameterValue> maximumSimilarities = IntegerParameterType.build(MAXIMUM_SIMILARITIES_PARAMETER_ID);
+        maximumSimilarities.setName("Maximum Similarities Per Node");
+        maximumSimilarities.setDescription("Only keep the highest scoring similarities of each node, or 0 to keep all similarities");
+        maximumSimilarities.setIntegerValue(0);
+        IntegerParameterType.setMinimum(maximumSimilarities, 0);
+        parameters.addParameter(maximumSimilarities);
+
         final PluginParameter<BooleanParameterValue> selectedOnlyParameter = BooleanParameterType.build(SELECTED_ONLY_PARAMETER_ID);
         selectedOnlyParameter.setName("Selected Only");
         selectedOnlyParameter.setDescription("Calculate using only selected elements");
@@ -107,137 +109,65 @@ public class CosineSimilarityPlugin extends SimpleEditPlugin {
         final boolean treatUndirectedBidirectional = parameters.getBooleanValue(TREAT_UNDIRECTED_BIDIRECTIONAL_PARAMETER_ID);
         final int minCommonFeatures = parameters.getParameters().get(MINIMUM_COMMON_FEATURES_PARAMETER_ID).getIntegerValue();
         final boolean selectedOnly = parameters.getBooleanValue(SELECTED_ONLY_PARAMETER_ID);
+        final int maximumSimilarities = parameters.getIntegerValue(MAXIMUM_SIMILARITIES_PARAMETER_ID);
 
-        final int vertexSelectedAttributeId = VisualConcept.VertexAttribute.SELECTED.get(graph);
-
-        // map each vertex to its neighbour count
+        // map each vertex to the weight of each of its neighbours, where the
+        // weight is the number of relevant transactions between them less the
+        // number of similarity transactions between them
         final int vertexCount = graph.getVertexCount();
-        final List<VertexWithNeighbours> verticiesWithNeighbours = new ArrayList<>();
-
-        VertexWithNeighbours currentVertexWithNeighbour;
-        for (int vertexPosition = 0; vertexPosition < vertexCount; vertexPosition++) { //For each vertex
-            currentVertexWithNeighbour = null;
+        final SimilarityNeighbours.Builder neighbourBuilder = new SimilarityNeighbours.Builder(vertexCount);
+        for (int vertexPosition = 0; vertexPosition < vertexCount; vertexPosition++) {
             final int vertexId = graph.getVertex(vertexPosition);
+            if (graph.getVertexNeighbourCount(vertexId) < minCommonFeatures) {
+                // a vertex without enough neighbours can never share enough of them
+                continue;
+            }
+            for (int vertexNeighbourPosition = 0; vertexNeighbourPosition < graph.getVertexNeighbourCount(vertexId); vertexNeighbourPosition++) {
+                final int neighbourId = graph.getVertexNeighbour(vertexId, vertexNeighbourPosition);
+                final int neighbourPosition = graph.getVertexPosition(neighbourId);
 
-            int vertexNeighbourCount = 0;
-            if (graph.getVertexNeighbourCount(vertexId) >= minCommonFeatures) { //Quick defeat, if there arnt enough potential neighbours to achieve the minimal common features then dont process the vertex.
-                for (int vertexNeighbourPosition = 0; vertexNeighbourPosition < graph.getVertexNeighbourCount(vertexId); vertexNeighbourPosition++) { //For each neighbour
-                    final int neighbourId = graph.getVertexNeighbour(vertexId, vertexNeighbourPosition);
-                    final int neighbourPosition = graph.getVertexPosition(neighbourId);
-
-                    if (vertexPosition == neighbourPosition) {
-                        // Exclude self
-                        continue;
-                    }
-
-                    final int linkId = graph.getLink(vertexId, neighbourId);
-                    for (int linkEdgePosition = 0; linkEdgePosition < graph.getLinkEdgeCount(linkId); linkEdgePosition++) {
-                        final int edgeId = graph.getLinkEdge(linkId, linkEdgePosition);
-                        final int edgeDirection = graph.getEdgeDirection(edgeId);
-                        final boolean isRequestedDirection = (treatUndirectedBidirectional && edgeDirection == GraphConstants.UNDIRECTED
-                                || includeConnectionsIn && graph.getEdgeDestinationVertex(edgeId) == vertexId
-                                || includeConnectionsOut && graph.getEdgeSourceVertex(edgeId) == vertexId);
-                        if (isRequestedDirection) { // If it is a neighbour we are interested in, based on whetehr we are interest in incoing or outoing neighbours.
-                            // neighbour weight vertex-neighbour = Number of transaction of correct direction between them - number of transacions of type similarity.
-                            if (currentVertexWithNeighbour == null) {
-                                currentVertexWithNeighbour = new VertexWithNeighbours(vertexId, vertexCount, graph.getBooleanValue(vertexSelectedAttributeId, vertexId));
-                            }
-
-                            final int weight = graph.getEdgeTransactionCount(edgeId) - SimilarityUtilities.countEdgeSimilarityTransactions(graph, edgeId);
-                            currentVertexWithNeighbour.addNeighbour(neighbourPosition, weight);
-                            vertexNeighbourCount += 1; // Found  valid neighbour so track this.
-                        }
-                    }
+                if (vertexPosition == neighbourPosition) {
+                    // Exclude self
+                    continue;
                 }
-            }
-            if (vertexNeighbourCount >= minCommonFeatures) {
-                // Add vertex to list of verticies with neighbours IFF it has enough neighbours to potentially pass the minCommonFeatures test later.
-                verticiesWithNeighbours.add(currentVertexWithNeighbour);
-            }
-        }
-        // At this point:
-        // neighbourweights[vertexPosition][neighbourposition] = number of relevant transactions between them - number of transaction of type similarity between them.
-        // neighbours[vertexPosition] = bitset representing whetehr each vertex is a neighbour or not
-        // update = bitset representing whether the vertex has any neighbours at all.
 
-        SimilarityUtilities.setGraphAndEnsureAttributes(graph, COSINE_SIMILARITY_ATTRIBUTE);
-        // calculate cosine similarity for every pair of vertices on the graph
-        for (int leftIndex = 0; leftIndex < verticiesWithNeighbours.size() - 1; leftIndex++) {
-            final VertexWithNeighbours leftVertexWithNeighbours = verticiesWithNeighbours.get(leftIndex);
-            for (int rightIndex = leftIndex + 1; rightIndex < verticiesWithNeighbours.size(); rightIndex++) {
-                final VertexWithNeighbours rightVertexWithNeighbours = verticiesWithNeighbours.get(rightIndex);
-                if (!selectedOnly || leftVertexWithNeighbours.selected || rightVertexWithNeighbours.selected) { // if we care about selected ensure that one of the verticies is selected.
-                    // Get a bitset that tells you which vertexPositions had both verticies as a neighbour.
-                    final BitSet commonNeighbours = getCommonNeighbours(leftVertexWithNeighbours.neighbours, rightVertexWithNeighbours.neighbours);
-
-                    if (commonNeighbours.cardinality() >= minCommonFeatures) {
-                        // If passes minCommonFeatures condition
-                        final float neighbourDotProduct = getNeighbourDotProduct(leftVertexWithNeighbours, rightVertexWithNeighbours, commonNeighbours);
-                        final float neighboursMagnitude = leftVertexWithNeighbours.getMagnitude() * rightVertexWithNeighbours.getMagnitude();
-                        final float cosineSimilarity = neighboursMagnitude == 0 ? 0 : neighbourDotProduct / neighboursMagnitude;
-                        SimilarityUtilities.addScoreToGraph(leftVertexWithNeighbours.vertexId, rightVertexWithNeighbours.vertexId, cosineSimilarity);
+                final int linkId = graph.getLink(vertexId, neighbourId);
+                for (int linkEdgePosition = 0; linkEdgePosition < graph.getLinkEdgeCount(linkId); linkEdgePosition++) {
+                    final int edgeId = graph.getLinkEdge(linkId, linkEdgePosition);
+                    final int edgeDirection = graph.getEdgeDirection(edgeId);
+                    final boolean isRequestedDirection = (treatUndirectedBidirectional && edgeDirection == GraphConstants.UNDIRECTED
+                            || includeConnectionsIn && graph.getEdgeDestinationVertex(edgeId) == vertexId
+                            || includeConnectionsOut && graph.getEdgeSourceVertex(edgeId) == vertexId);
+                    if (isRequestedDirection) {
+                        final int weight = graph.getEdgeTransactionCount(edgeId) - SimilarityUtilities.countEdgeSimilarityTransactions(graph, edgeId);
+                        neighbourBuilder.addNeighbour(vertexPosition, neighbourPosition, weight);
                     }
                 }
             }
         }
-        // complete with schema
-        PluginExecution.withPlugin(VisualSchemaPluginRegistry.COMPLETE_SCHEMA).executeNow(graph);
-    }
-
-    private class VertexWithNeighbours {
-
-        private final int vertexId;
-        private final MutableIntIntMap neighbourWeightsMap;
-        private BitSet neighbours;
-        private final boolean selected;
-        private float magnitude;
-        private boolean recalculateMagnitude = true;
-
-        public VertexWithNeighbours(final int vertexId, final int vertexCount, final boolean selected) {
-            this.neighbourWeightsMap = new IntIntHashMap();
-            this.vertexId = vertexId;
-            this.selected = selected;
-            this.neighbours = new BitSet(vertexCount);
-        }
+        final SimilarityNeighbours neighbours = neighbourBuilder.build();
+        final BitSet selected = SimilarityUtilities.getSelectedVertices(graph);
 
-        private void addNeighbour(final int neighbourPosition, final int additionalWeight) {
-            final int currentWeight = neighbourWeightsMap.getIfAbsent(neighbourPosition, 0);
-            neighbourWeightsMap.put(neighbourPosition, currentWeight + additionalWeight);
-            neighbours.set(neighbourPosition, true);
-            recalculateMagnitude = true;
+        final float[] magnitudes = new float[vertexCount];
+        for (int vertexPosition = 0; vertexPosition < vertexCount; vertexPosition++) {
+            magnitudes[vertexPosition] = (float) neighbours.getMagnitude(vertexPosition);
         }
 
-        private float getMagnitude() {
-            if (recalculateMagnitude) {
-                magnitude = calculateMagnitude();
+        // calculate cosine similarity for every pair of vertices sharing a neighbour
+        final SimilarityScores scores = neighbours.calculateScores(minCommonFeatures, maximumSimilarities, (vertexOnePosition, vertexTwoPosition, commonNeighbourCount) -> {
+            if (selectedOnly && !selected.get(vertexOnePosition) && !selected.get(vertexTwoPosition)) {
+                return Float.NaN;
             }
-            return magnitude;
-        }
 
-        private float calculateMagnitude() {
-            double mag = 0;
-            final IntIterator neighbourWeightsIter = neighbourWeightsMap.values().intIterator();
-            while (neighbourWeightsIter.hasNext()) {
-                mag += Math.pow(neighbourWeightsIter.next(), 2);
-            }
-            recalculateMagnitude = false;
-            return (float) Math.sqrt(mag);
-        }
+            final float neighbourDotProduct = (float) neighbours.getDotProduct(vertexOnePosition, vertexTwoPosition);
+            final float neighboursMagnitude = magnitudes[vertexOnePosition] * magnitudes[vertexTwoPosition];
+            return neighboursMagnitude == 0 ? 0 : neighbourDotProduct / neighboursMagnitude;
+        });
 
-    }
-
-    protected BitSet getCommonNeighbours(final BitSet leftVertexNeighbours, final BitSet rightVertexNeighbours) {
-        final BitSet intersection = (BitSet) leftVertexNeighbours.clone();
-        intersection.and(rightVertexNeighbours);
-        return intersection;
-    }
+        SimilarityUtilities.setGraphAndEnsureAttributes(graph, COSINE_SIMILARITY_ATTRIBUTE);
+        SimilarityUtilities.addScoresToGraph(scores);
 
-    protected float getNeighbourDotProduct(final VertexWithNeighbours vertex1, final VertexWithNeighbours vertex2, final BitSet intersection) {
-        float dot = 0;
-        for (int index = intersection.nextSetBit(0); index >= 0; index = intersection.nextSetBit(index + 1)) {
-            dot += vertex1.neighbourWeightsMap.get(index) * vertex2.neighbourWeightsMap.get(index);
-        }
-        return dot;
+        // complete with schema
+        PluginExecution.withPlugin(VisualSchemaPluginRegistry.COMPLETE_SCHEMA).executeNow(graph);
     }
-
 }
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.plugins.algorithms.sna.similarity;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * The neighbours of each vertex on a graph, held as sorted arrays of vertex
+ * positions, for calculating neighbourhood based similarity scores.
+ * <p>
+ * Rather than comparing every pair of vertices, candidate pairs are found by
+ * walking from each vertex to its neighbours and back again, so only pairs
+ * which share at least one neighbour are ever considered. Vertices are
+ * processed in parallel on the common fork-join pool, and each worker only
+ * needs a counter array of length n.
+ *
+ * @author cygnus_x-1
+ */
+public class SimilarityNeighbours {
+
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final int vertexCount;
+    private final int[] offsets;
+    private final int[] neighbours;
+    private final int[] weights;
+    private final int[] reverseOffsets;
+    private final int[] reverseNeighbours;
+
+    /**
+     * Scores a pair of vertices which share at least the minimum number of
+     * neighbours.
+     */
+    @FunctionalInterface
+    public interface PairScorer {
+
+        /**
+         * Score a pair of vertices.
+         *
+         * @param vertexOnePosition the position of the first vertex, which is
+         * always lower than the position of the second vertex.
+         * @param vertexTwoPosition the position of the second vertex.
+         * @param commonNeighbourCount the number of neighbours the vertices
+         * share.
+         * @return the score for the pair, or NaN if the pair should not be
+         * scored.
+         */
+        float score(final int vertexOnePosition, final int vertexTwoPosition, final int commonNeighbourCount);
+    }
+
+    /**
+     * Collects the neighbours of each vertex, in any order, before they are
+     * sorted into a {@link SimilarityNeighbours}.
+     */
+    public static class Builder {
+
+        private final int vertexCount;
+        private int[] vertices = new int[16];
+        private int[] vertexNeighbours = new int[16];
+        private int[] vertexWeights = new int[16];
+        private int size = 0;
+
+        public Builder(final int vertexCount) {
+            this.vertexCount = vertexCount;
+        }
+
+        /**
+         * Record a neighbour of a vertex with a weight of 1.
+         *
+         * @param vertexPosition the position of the vertex.
+         * @param neighbourPosition the position of the neighbour.
+         */
+        public void addNeighbour(final int vertexPosition, final int neighbourPosition) {
+            addNeighbour(vertexPosition, neighbourPosition, 1);
+        }
+
+        /**
+         * Record a neighbour of a vertex. Recording the same neighbour more
+         * than once adds the weights together.
+         *
+         * @param vertexPosition the position of the vertex.
+         * @param neighbourPosition the position of the neighbour.
+         * @param weight the weight of the connection to the neighbour.
+         */
+        public void addNeighbour(final int vertexPosition, final int neighbourPosition, final int weight) {
+            if (size == vertices.length) {
+                final int capacity = size << 1;
+                vertices = Arrays.copyOf(vertices, capacity);
+                vertexNeighbours = Arrays.copyOf(vertexNeighbours, capacity);
+                vertexWeights = Arrays.copyOf(vertexWeights, capacity);
+            }
+            vertices[size] = vertexPosition;
+            vertexNeighbours[size] = neighbourPosition;
+            vertexWeights[size] = weight;
+            size++;
+        }
+
+        public SimilarityNeighbours build() {
+            // bucket the neighbours by vertex
+            final int[] counts = new int[vertexCount + 1];
+            for (int i = 0; i < size; i++) {
+                counts[vertices[i] + 1]++;
+            }
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                counts[vertex + 1] += counts[vertex];
+            }
+            final long[] entries = new long[size];
+            final int[] next = Arrays.copyOf(counts, vertexCount);
+            for (int i = 0; i < size; i++) {
+                entries[next[vertices[i]]++] = ((long) vertexNeighbours[i] << 32) | (vertexWeights[i] & 0xFFFFFFFFL);
+            }
+
+            // sort each vertex's neighbours and merge any duplicates
+            final int[] offsets = new int[vertexCount + 1];
+            final int[] neighbours = new int[size];
+            final int[] weights = new int[size];
+            int count = 0;
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                offsets[vertex] = count;
+                Arrays.sort(entries, counts[vertex], counts[vertex + 1]);
+                for (int i = counts[vertex]; i < counts[vertex + 1]; i++) {
+                    final int neighbour = (int) (entries[i] >>> 32);
+                    final int weight = (int) entries[i];
+                    if (count > offsets[vertex] && neighbours[count - 1] == neighbour) {
+                        weights[count - 1] += weight;
+                    } else {
+                        neighbours[count] = neighbour;
+                        weights[count] = weight;
+                        count++;
+                    }
+                }
+            }
+            offsets[vertexCount] = count;
+            return new SimilarityNeighbours(vertexCount, offsets, Arrays.copyOf(neighbours, count), Arrays.copyOf(weights, count));
+        }
+    }
+
+    private SimilarityNeighbours(final int vertexCount, final int[] offsets, final int[] neighbours, final int[] weights) {
+        this.vertexCount = vertexCount;
+        this.offsets = offsets;
+        this.neighbours = neighbours;
+        this.weights = weights;
+
+        // build the reverse lists, which come out sorted as each vertex is
+        // visited in order
+        reverseOffsets = new int[vertexCount + 1];
+        for (final int neighbour : neighbours) {
+            reverseOffsets[neighbour + 1]++;
+        }
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            reverseOffsets[vertex + 1] += reverseOffsets[vertex];
+        }
+        reverseNeighbours = new int[neighbours.length];
+        final int[] next = Arrays.copyOf(reverseOffsets, vertexCount);
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            for (int i = offsets[vertex]; i < offsets[vertex + 1]; i++) {
+                reverseNeighbours[next[neighbours[i]]++] = vertex;
+            }
+        }
+    }
+
+    /**
+     * The number of distinct neighbours of a vertex.
+     *
+     * @param vertexPosition the position of the vertex.
+     * @return the number of neighbours.
+     */
+    public int getNeighbourCount(final int vertexPosition) {
+        return offsets[vertexPosition + 1] - offsets[vertexPosition];
+    }
+
+    /**
+     * Whether one vertex is a neighbour of another.
+     *
+     * @param vertexPosition the position of the vertex.
+     * @param neighbourPosition the position of the possible neighbour.
+     * @return true if the neighbour was recorded against the vertex.
+     */
+    public boolean isNeighbour(final int vertexPosition, final int neighbourPosition) {
+        return Arrays.binarySearch(neighbours, offsets[vertexPosition], offsets[vertexPosition + 1], neighbourPosition) >= 0;
+    }
+
+    /**
+     * The square root of the sum of the squared weights of a vertex's
+     * neighbours.
+     *
+     * @param vertexPosition the position of the vertex.
+     * @return the magnitude of the vertex's neighbour weights.
+     */
+    public double getMagnitude(final int vertexPosition) {
+        double magnitude = 0;
+        for (int i = offsets[vertexPosition]; i < offsets[vertexPosition + 1]; i++) {
+            magnitude += (double) weights[i] * weights[i];
+        }
+        return Math.sqrt(magnitude);
+    }
+
+    /**
+     * The sum of the products of the weights of the neighbours shared by two
+     * vertices.
+     *
+     * @param vertexOnePosition the position of the first vertex.
+     * @param vertexTwoPosition the position of the second vertex.
+     * @return the dot product of the vertices' neighbour weights.
+     */
+    public double getDotProduct(final int vertexOnePosition, final int vertexTwoPosition) {
+        double dotProduct = 0;
+        int i = offsets[vertexOnePosition];
+        int j = offsets[vertexTwoPosition];
+        final int iEnd = offsets[vertexOnePosition + 1];
+        final int jEnd = offsets[vertexTwoPosition + 1];
+        while (i < iEnd && j < jEnd) {
+            if (neighbours[i] < neighbours[j]) {
+                i++;
+            } else if (neighbours[i] > neighbours[j]) {
+                j++;
+            } else {
+                dotProduct += (double) weights[i++] * weights[j++];
+            }
+        }
+        return dotProduct;
+    }
+
+    /**
+     * Sum a function over the neighbours shared by two vertices, in order of
+     * increasing position.
+     *
+     * @param vertexOnePosition the position of the first vertex.
+     * @param vertexTwoPosition the position of the second vertex.
+     * @param function the value to sum for each common neighbour position.
+     * @return the sum over the common neighbours.
+     */
+    public double sumCommonNeighbours(final int vertexOnePosition, final int vertexTwoPosition, final IntToDoubleFunction function) {
+        double sum = 0;
+        int i = offsets[vertexOnePosition];
+        int j = offsets[vertexTwoPosition];
+        final int iEnd = offsets[vertexOnePosition + 1];
+        final int jEnd = offsets[vertexTwoPosition + 1];
+        while (i < iEnd && j < jEnd) {
+            if (neighbours[i] < neighbours[j]) {
+                i++;
+            } else if (neighbours[i] > neighbours[j]) {
+                j++;
+            } else {
+                sum += function.applyAsDouble(neighbours[i]);
+                i++;
+                j++;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Score every pair of vertices which share at least the given number of
+     * neighbours.
+     *
+     * @param minCommonFeatures the minimum number of shared neighbours.
+     * @param maximumPerVertex the number of pairs to keep for each vertex, or
+     * 0 to keep every pair.
+     * @param scorer scores each candidate pair.
+     * @return the scores which were kept.
+     */
+    public SimilarityScores calculateScores(final int minCommonFeatures, final int maximumPerVertex, final PairScorer scorer) {
+        final SimilarityScores template = new SimilarityScores(vertexCount, maximumPerVertex, Float.NEGATIVE_INFINITY);
+        final int parallelism = Math.max(1, ForkJoinPool.commonPool().getParallelism());
+        final int threshold = Math.max(1, vertexCount / (parallelism * TASKS_PER_THREAD));
+        return ForkJoinPool.commonPool().invoke(new PairTask(template, Math.max(1, minCommonFeatures), scorer, 0, vertexCount, threshold));
+    }
+
+    private final class PairTask extends RecursiveTask<SimilarityScores> {
+
+        private final transient SimilarityScores template;
+        private final int minCommonFeatures;
+        private final transient PairScorer scorer;
+        private final int start;
+        private final int end;
+        private final int threshold;
+
+        private PairTask(final SimilarityScores template, final int minCommonFeatures, final PairScorer scorer,
+                final int start, final int end, final int threshold) {
+            this.template = template;
+            this.minCommonFeatures = minCommonFeatures;
+            this.scorer = scorer;
+            this.start = start;
+            this.end = end;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected SimilarityScores compute() {
+            if (end - start <= threshold) {
+                return scoreRange();
+            }
+            final int middle = (start + end) >>> 1;
+            final PairTask left = new PairTask(template, minCommonFeatures, scorer, start, middle, threshold);
+            final PairTask right = new PairTask(template, minCommonFeatures, scorer, middle, end, threshold);
+            left.fork();
+            final SimilarityScores rightScores = right.compute();
+            final SimilarityScores leftScores = left.join();
+            leftScores.addAll(rightScores);
+            return leftScores;
+        }
+
+        private SimilarityScores scoreRange() {
+            final SimilarityScores scores = template.createEmptyCopy();
+            final int[] commonCounts = new int[vertexCount];
+            final int[] candidates = new int[vertexCount];
+            for (int vertexOne = start; vertexOne < end; vertexOne++) {
+                if (getNeighbourCount(vertexOne) < minCommonFeatures) {
+                    continue;
+                }
+
+                // count the neighbours shared with every vertex two hops away
+                int candidateCount = 0;
+                for (int i = offsets[vertexOne]; i < offsets[vertexOne + 1]; i++) {
+                    final int neighbour = neighbours[i];
+                    for (int j = reverseOffsets[neighbour]; j < reverseOffsets[neighbour + 1]; j++) {
+                        final int vertexTwo = reverseNeighbours[j];
+                        if (vertexTwo > vertexOne && commonCounts[vertexTwo]++ == 0) {
+                            candidates[candidateCount++] = vertexTwo;
+                        }
+                    }
+                }
+
+                Arrays.sort(candidates, 0, candidateCount);
+                for (int c = 0; c < candidateCount; c++) {
+                    final int vertexTwo = candidates[c];
+                    final int commonCount = commonCounts[vertexTwo];
+                    commonCounts[vertexTwo] = 0;
+                    if (commonCount >= minCommonFeatures) {
+                        final float score = scorer.score(vertexOne, vertexTwo, commonCount);
+                        if (!Float.isNaN(score)) {
+                            scores.add(vertexOne, vertexTwo, score);
+                        }
+                    }
+                }
+            }
+            return scores;
+        }
+    }
+}
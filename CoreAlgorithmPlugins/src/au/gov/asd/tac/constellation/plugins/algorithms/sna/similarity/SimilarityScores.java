@@ -0,0 +1,285 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.plugins.algorithms.sna.similarity;
+
+import java.util.Arrays;
+
+/**
+ * A store of similarity scores between pairs of vertices, held in primitive
+ * arrays.
+ * <p>
+ * By default every pair added to the store is kept. If a maximum number of
+ * similarities per vertex is given, each vertex instead keeps only its highest
+ * scoring partners in a small heap, and a pair is kept if it is among the
+ * highest scores of either of its vertices. In both modes, pairs scoring below
+ * the minimum score are discarded as they are added, so memory scales with the
+ * number of pairs kept rather than the number of pairs scored.
+ * <p>
+ * Vertices are referred to by position rather than id.
+ *
+ * @author cygnus_x-1
+ */
+public class SimilarityScores {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int vertexCount;
+    private final int maximumPerVertex;
+    private final float minimumScore;
+
+    // used when keeping every pair
+    private int[] vertexOnes;
+    private int[] vertexTwos;
+    private float[] scores;
+    private int size;
+
+    // used when keeping the highest scoring pairs for each vertex
+    private final int[][] heapPartners;
+    private final float[][] heapScores;
+    private final int[] heapSizes;
+
+    /**
+     * Receives each pair of vertices held in a {@link SimilarityScores}.
+     */
+    @FunctionalInterface
+    public interface ScoreProcedure {
+
+        void accept(final int vertexOnePosition, final int vertexTwoPosition, final float score);
+    }
+
+    /**
+     * Create a store which keeps every pair added to it.
+     *
+     * @param vertexCount the number of vertices on the graph.
+     */
+    public SimilarityScores(final int vertexCount) {
+        this(vertexCount, 0, Float.NEGATIVE_INFINITY);
+    }
+
+    /**
+     * Create a store which keeps only pairs scoring at least the minimum
+     * score, and optionally only the highest scoring pairs for each vertex.
+     *
+     * @param vertexCount the number of vertices on the graph.
+     * @param maximumPerVertex the number of pairs to keep for each vertex, or
+     * 0 to keep every pair.
+     * @param minimumScore the lowest score which will be kept.
+     */
+    public SimilarityScores(final int vertexCount, final int maximumPerVertex, final float minimumScore) {
+        if (maximumPerVertex < 0) {
+            throw new IllegalArgumentException("The maximum number of similarities per vertex can not be negative");
+        }
+        this.vertexCount = vertexCount;
+        this.maximumPerVertex = maximumPerVertex;
+        this.minimumScore = minimumScore;
+        if (maximumPerVertex == 0) {
+            vertexOnes = new int[INITIAL_CAPACITY];
+            vertexTwos = new int[INITIAL_CAPACITY];
+            scores = new float[INITIAL_CAPACITY];
+            heapPartners = null;
+            heapScores = null;
+            heapSizes = null;
+        } else {
+            heapPartners = new int[vertexCount][];
+            heapScores = new float[vertexCount][];
+            heapSizes = new int[vertexCount];
+        }
+    }
+
+    /**
+     * Create an empty store with the same vertex count and pruning settings as
+     * this one.
+     *
+     * @return a new empty store.
+     */
+    public SimilarityScores createEmptyCopy() {
+        return new SimilarityScores(vertexCount, maximumPerVertex, minimumScore);
+    }
+
+    /**
+     * Add the score for a pair of vertices. Each pair should only be added
+     * once.
+     *
+     * @param vertexOnePosition the position of the first vertex.
+     * @param vertexTwoPosition the position of the second vertex.
+     * @param score the similarity score of the pair.
+     */
+    public void add(final int vertexOnePosition, final int vertexTwoPosition, final float score) {
+        if (!(score >= minimumScore)) {
+            return;
+        }
+        if (maximumPerVertex == 0) {
+            if (size == scores.length) {
+                final int capacity = size << 1;
+                vertexOnes = Arrays.copyOf(vertexOnes, capacity);
+                vertexTwos = Arrays.copyOf(vertexTwos, capacity);
+                scores = Arrays.copyOf(scores, capacity);
+            }
+            vertexOnes[size] = vertexOnePosition;
+            vertexTwos[size] = vertexTwoPosition;
+            scores[size] = score;
+            size++;
+        } else {
+            offer(vertexOnePosition, vertexTwoPosition, score);
+            offer(vertexTwoPosition, vertexOnePosition, score);
+        }
+    }
+
+    /**
+     * Add every pair held in another store to this one. The other store must
+     * not share any pairs with this one.
+     *
+     * @param other the store to add.
+     */
+    public void addAll(final SimilarityScores other) {
+        if (maximumPerVertex == 0 && other.maximumPerVertex == 0) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.vertexOnes[i], other.vertexTwos[i], other.scores[i]);
+            }
+        } else {
+            other.forEach(this::add);
+        }
+    }
+
+    /**
+     * Call the given procedure for every pair kept in this store, ordered by
+     * the position of the first vertex.
+     *
+     * @param procedure the procedure to call.
+     */
+    public void forEach(final ScoreProcedure procedure) {
+        if (maximumPerVertex == 0) {
+            for (int i = 0; i < size; i++) {
+                procedure.accept(vertexOnes[i], vertexTwos[i], scores[i]);
+            }
+            return;
+        }
+
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            final int heapSize = heapSizes[vertex];
+            if (heapSize == 0) {
+                continue;
+            }
+            final int[] order = sortedHeapOrder(vertex);
+            for (final int index : order) {
+                final int partner = heapPartners[vertex][index];
+                // a pair kept by both of its vertices is reported once, by
+                // the vertex at the lower position
+                if (vertex < partner || !heapContains(partner, vertex)) {
+                    final int first = Math.min(vertex, partner);
+                    final int second = Math.max(vertex, partner);
+                    procedure.accept(first, second, heapScores[vertex][index]);
+                }
+            }
+        }
+    }
+
+    /**
+     * The number of pairs kept in this store.
+     *
+     * @return the number of pairs kept in this store.
+     */
+    public int size() {
+        if (maximumPerVertex == 0) {
+            return size;
+        }
+        final int[] count = new int[1];
+        forEach((vertexOne, vertexTwo, score) -> count[0]++);
+        return count[0];
+    }
+
+    private void offer(final int vertex, final int partner, final float score) {
+        int[] partners = heapPartners[vertex];
+        float[] values = heapScores[vertex];
+        if (partners == null) {
+            partners = new int[Math.min(maximumPerVertex, INITIAL_CAPACITY)];
+            values = new float[partners.length];
+            heapPartners[vertex] = partners;
+            heapScores[vertex] = values;
+        }
+
+        final int heapSize = heapSizes[vertex];
+        if (heapSize < maximumPerVertex) {
+            if (heapSize == partners.length) {
+                final int capacity = Math.min(maximumPerVertex, heapSize << 1);
+                partners = Arrays.copyOf(partners, capacity);
+                values = Arrays.copyOf(values, capacity);
+                heapPartners[vertex] = partners;
+                heapScores[vertex] = values;
+            }
+            // sift up from the new leaf of the min-heap
+            int child = heapSize;
+            while (child > 0) {
+                final int parent = (child - 1) >>> 1;
+                if (values[parent] <= score) {
+                    break;
+                }
+                partners[child] = partners[parent];
+                values[child] = values[parent];
+                child = parent;
+            }
+            partners[child] = partner;
+            values[child] = score;
+            heapSizes[vertex] = heapSize + 1;
+        } else if (score > values[0]) {
+            // replace the lowest score and sift down
+            int parent = 0;
+            while (true) {
+                int child = (parent << 1) + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && values[child + 1] < values[child]) {
+                    child++;
+                }
+                if (values[child] >= score) {
+                    break;
+                }
+                partners[parent] = partners[child];
+                values[parent] = values[child];
+                parent = child;
+            }
+            partners[parent] = partner;
+            values[parent] = score;
+        }
+    }
+
+    private boolean heapContains(final int vertex, final int partner) {
+        final int[] partners = heapPartners[vertex];
+        final int heapSize = heapSizes[vertex];
+        for (int i = 0; i < heapSize; i++) {
+            if (partners[i] == partner) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int[] sortedHeapOrder(final int vertex) {
+        final int heapSize = heapSizes[vertex];
+        final int[] partners = heapPartners[vertex];
+        final long[] keys = new long[heapSize];
+        for (int i = 0; i < heapSize; i++) {
+            keys[i] = ((long) partners[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+        final int[] order = new int[heapSize];
+        for (int i = 0; i < heapSize; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+}
@@ -21,6 +21,7 @@ import au.gov.asd.tac.constellation.graph.schema.analytic.concept.AnalyticConcep
 import au.gov.asd.tac.constellation.graph.schema.attribute.SchemaAttribute;
 import au.gov.asd.tac.constellation.graph.schema.visual.concept.VisualConcept;
 import au.gov.asd.tac.constellation.utilities.datastructure.Tuple;
+import java.util.BitSet;
 import java.util.Map;
 
 /**
@@ -56,6 +57,77 @@ public class SimilarityUtilities {
         scores.forEach((pair, score) -> addScoreToGraph(pair.getFirst(), pair.getSecond(), score));
     }
 
+    /**
+     * Adds similarity scores to the graph while ensuring there is only ever a
+     * single similarity transactions between any pair of nodes.
+     *
+     * @param scores - the scores of each vertex pair, by vertex position
+     */
+    public static void addScoresToGraph(final SimilarityScores scores) {
+        scores.forEach((vertexOnePosition, vertexTwoPosition, score)
+                -> addScoreToGraph(graph.getVertex(vertexOnePosition), graph.getVertex(vertexTwoPosition), score));
+    }
+
+    /**
+     * Collects the neighbours of each vertex which are connected in the
+     * requested directions, ignoring loops and edges which only hold
+     * similarity transactions.
+     *
+     * @param graph the graph to read
+     * @param includeConnectionsIn include neighbours connected by incoming
+     * edges
+     * @param includeConnectionsOut include neighbours connected by outgoing
+     * edges
+     * @param treatUndirectedBidirectional include neighbours connected by
+     * undirected edges
+     * @return the neighbours of each vertex, by vertex position
+     */
+    public static SimilarityNeighbours getNeighbours(final GraphWriteMethods graph, final boolean includeConnectionsIn,
+            final boolean includeConnectionsOut, final boolean treatUndirectedBidirectional) {
+        final int vertexCount = graph.getVertexCount();
+        final SimilarityNeighbours.Builder neighbours = new SimilarityNeighbours.Builder(vertexCount);
+        for (int vertexPosition = 0; vertexPosition < vertexCount; vertexPosition++) {
+            final int vertexId = graph.getVertex(vertexPosition);
+            for (int vertexNeighbourPosition = 0; vertexNeighbourPosition < graph.getVertexNeighbourCount(vertexId); vertexNeighbourPosition++) {
+                final int neighbourId = graph.getVertexNeighbour(vertexId, vertexNeighbourPosition);
+                final int neighbourPosition = graph.getVertexPosition(neighbourId);
+
+                if (vertexPosition == neighbourPosition) {
+                    continue;
+                }
+
+                final int linkId = graph.getLink(vertexId, neighbourId);
+                for (int linkEdgePosition = 0; linkEdgePosition < graph.getLinkEdgeCount(linkId); linkEdgePosition++) {
+                    final int edgeId = graph.getLinkEdge(linkId, linkEdgePosition);
+                    final int edgeDirection = graph.getEdgeDirection(edgeId);
+                    final boolean isRequestedDirection = (treatUndirectedBidirectional && edgeDirection == GraphConstants.UNDIRECTED
+                            || includeConnectionsIn && graph.getEdgeDestinationVertex(edgeId) == neighbourId
+                            || includeConnectionsOut && graph.getEdgeSourceVertex(edgeId) == neighbourId);
+                    if (isRequestedDirection && checkEdgeTypes(graph, edgeId)) {
+                        neighbours.addNeighbour(vertexPosition, neighbourPosition);
+                    }
+                }
+            }
+        }
+        return neighbours.build();
+    }
+
+    /**
+     * Collects the positions of the selected vertices on the graph.
+     *
+     * @param graph the graph to read
+     * @return the selected vertices, by vertex position
+     */
+    public static BitSet getSelectedVertices(final GraphWriteMethods graph) {
+        final int vertexSelectedAttributeId = VisualConcept.VertexAttribute.SELECTED.get(graph);
+        final int vertexCount = graph.getVertexCount();
+        final BitSet selected = new BitSet(vertexCount);
+        for (int vertexPosition = 0; vertexPosition < vertexCount; vertexPosition++) {
+            selected.set(vertexPosition, graph.getBooleanValue(vertexSelectedAttributeId, graph.getVertex(vertexPosition)));
+        }
+        return selected;
+    }
+
     /**
      * Adds a similarity score to the graph while ensuring there is only ever a
      * single similarity transactions between any pair of nodes.
@@ -188,4 +188,74 @@ public class BetweennessCentralityPluginNGTest {
         assertEquals(graph.getFloatValue(vertexBetweennessAttribute, vxId3), 0F);
         assertEquals(graph.getFloatValue(vertexBetweennessAttribute, vxId4), 0F);
     }
+
+    /**
+     * Tied shortest paths share one unit of credit between them. Before the
+     * move to Brandes' algorithm every vertex of this square scored 2, as both
+     * of the tied paths between its neighbours counted in full.
+     */
+    @Test
+    public void testTiedShortestPathsShareCredit() throws Exception {
+        final int squareVxId0 = graph.addVertex();
+        final int squareVxId1 = graph.addVertex();
+        final int squareVxId2 = graph.addVertex();
+        final int squareVxId3 = graph.addVertex();
+        graph.addTransaction(squareVxId0, squareVxId1, false);
+        graph.addTransaction(squareVxId1, squareVxId2, false);
+        graph.addTransaction(squareVxId2, squareVxId3, false);
+        graph.addTransaction(squareVxId3, squareVxId0, false);
+
+        final BetweennessCentralityPlugin instance = new BetweennessCentralityPlugin();
+        final PluginParameters parameters = instance.createParameters();
+        parameters.setBooleanValue(BetweennessCentralityPlugin.INCLUDE_CONNECTIONS_IN_PARAMETER_ID, true);
+        parameters.setBooleanValue(BetweennessCentralityPlugin.INCLUDE_CONNECTIONS_OUT_PARAMETER_ID, true);
+        parameters.setBooleanValue(BetweennessCentralityPlugin.TREAT_UNDIRECTED_BIDIRECTIONAL, true);
+        parameters.setBooleanValue(BetweennessCentralityPlugin.NORMALISE_AVAILABLE_PARAMETER_ID, false);
+        parameters.setBooleanValue(BetweennessCentralityPlugin.NORMALISE_POSSIBLE_PARAMETER_ID, false);
+        parameters.setBooleanValue(BetweennessCentralityPlugin.NORMALISE_CONNECTED_COMPONENTS_PARAMETER_ID, false);
+        parameters.setBooleanValue(BetweennessCentralityPlugin.SELECTED_ONLY_PARAMETER_ID, false);
+        PluginExecution.withPlugin(instance).withParameters(parameters).executeNow(graph);
+
+        assertEquals(graph.getFloatValue(vertexBetweennessAttribute, squareVxId0), 1F);
+        assertEquals(graph.getFloatValue(vertexBetweennessAttribute, squareVxId1), 1F);
+        assertEquals(graph.getFloatValue(vertexBetweennessAttribute, squareVxId2), 1F);
+        assertEquals(graph.getFloatValue(vertexBetweennessAttribute, squareVxId3), 1F);
+
+        // the rest of the graph has no ties, so its scores are unchanged
+        assertEquals(graph.getFloatValue(vertexBetweennessAttribute, vxId1), 6F);
+        assertEquals(graph.getFloatValue(vertexBetweennessAttribute, vxId3), 6F);
+    }
+
+    @Test
+    public void testSampledBetweenness() throws Exception {
+        final BetweennessCentralityPlugin instance = new BetweennessCentralityPlugin();
+        final PluginParameters parameters = instance.createParameters();
+        assertEquals(parameters.getIntegerValue(BetweennessCentralityPlugin.SAMPLE_SIZE_PARAMETER_ID), 0);
+        parameters.setBooleanValue(BetweennessCentralityPlugin.INCLUDE_CONNECTIONS_IN_PARAMETER_ID, true);
+        parameters.setBooleanValue(BetweennessCentralityPlugin.INCLUDE_CONNECTIONS_OUT_PARAMETER_ID, true);
+        parameters.setBooleanValue(BetweennessCentralityPlugin.TREAT_UNDIRECTED_BIDIRECTIONAL, true);
+        parameters.setBooleanValue(BetweennessCentralityPlugin.NORMALISE_AVAILABLE_PARAMETER_ID, false);
+        parameters.setBooleanValue(BetweennessCentralityPlugin.NORMALISE_POSSIBLE_PARAMETER_ID, false);
+        parameters.setBooleanValue(BetweennessCentralityPlugin.NORMALISE_CONNECTED_COMPONENTS_PARAMETER_ID, false);
+        parameters.setBooleanValue(BetweennessCentralityPlugin.SELECTED_ONLY_PARAMETER_ID, false);
+
+        // a sample at least as large as the graph gives the exact scores
+        parameters.setIntegerValue(BetweennessCentralityPlugin.SAMPLE_SIZE_PARAMETER_ID, 100);
+        PluginExecution.withPlugin(instance).withParameters(parameters).executeNow(graph);
+
+        assertEquals(graph.getFloatValue(vertexBetweennessAttribute, vxId0), 0F);
+        assertEquals(graph.getFloatValue(vertexBetweennessAttribute, vxId1), 6F);
+        assertEquals(graph.getFloatValue(vertexBetweennessAttribute, vxId2), 0F);
+        assertEquals(graph.getFloatValue(vertexBetweennessAttribute, vxId3), 6F);
+        assertEquals(graph.getFloatValue(vertexBetweennessAttribute, vxId4), 0F);
+
+        // a smaller sample only approximates them, but never scores a vertex
+        // which lies on no shortest path
+        parameters.setIntegerValue(BetweennessCentralityPlugin.SAMPLE_SIZE_PARAMETER_ID, 2);
+        PluginExecution.withPlugin(instance).withParameters(parameters).executeNow(graph);
+
+        assertEquals(graph.getFloatValue(vertexBetweennessAttribute, vxId0), 0F);
+        assertEquals(graph.getFloatValue(vertexBetweennessAttribute, vxId2), 0F);
+        assertEquals(graph.getFloatValue(vertexBetweennessAttribute, vxId4), 0F);
+    }
 }
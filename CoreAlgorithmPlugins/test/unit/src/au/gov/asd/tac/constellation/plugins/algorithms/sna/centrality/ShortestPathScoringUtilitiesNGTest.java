@@ -0,0 +1,189 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.plugins.algorithms.sna.centrality;
+
+import au.gov.asd.tac.constellation.graph.StoreGraph;
+import au.gov.asd.tac.constellation.graph.schema.Schema;
+import au.gov.asd.tac.constellation.graph.schema.SchemaFactoryUtilities;
+import au.gov.asd.tac.constellation.graph.schema.analytic.AnalyticSchemaFactory;
+import au.gov.asd.tac.constellation.graph.schema.visual.concept.VisualConcept;
+import au.gov.asd.tac.constellation.plugins.algorithms.sna.centrality.PathScoringUtilities.ScoreType;
+import au.gov.asd.tac.constellation.plugins.algorithms.sna.centrality.ShortestPathScoringUtilities.PathScores;
+import au.gov.asd.tac.constellation.utilities.datastructure.Tuple;
+import java.util.BitSet;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test the Brandes based shortest path scores against the BitSet based scores
+ * of {@link PathScoringUtilities}.
+ *
+ * @author cygnus_x-1
+ */
+public class ShortestPathScoringUtilitiesNGTest {
+
+    private static final float DELTA = 1E-4F;
+
+    private StoreGraph treeGraph;
+    private int selectedAttribute;
+
+    @BeforeMethod
+    public void setUpMethod() throws Exception {
+        // a tree has exactly one shortest path between any two vertices, which
+        // is the case where both engines are expected to agree exactly
+        final Schema schema = SchemaFactoryUtilities.getSchemaFactory(AnalyticSchemaFactory.ANALYTIC_SCHEMA_ID).createSchema();
+        treeGraph = new StoreGraph(schema);
+        selectedAttribute = VisualConcept.VertexAttribute.SELECTED.ensure(treeGraph);
+
+        final int[] vertices = new int[12];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = treeGraph.addVertex();
+        }
+        treeGraph.addVertex(); // an isolated vertex
+
+        // two trees, one with 8 vertices and one with 4
+        treeGraph.addTransaction(vertices[0], vertices[1], true);
+        treeGraph.addTransaction(vertices[0], vertices[2], true);
+        treeGraph.addTransaction(vertices[1], vertices[3], true);
+        treeGraph.addTransaction(vertices[1], vertices[4], true);
+        treeGraph.addTransaction(vertices[2], vertices[5], true);
+        treeGraph.addTransaction(vertices[5], vertices[6], true);
+        treeGraph.addTransaction(vertices[5], vertices[7], true);
+        treeGraph.addTransaction(vertices[8], vertices[9], true);
+        treeGraph.addTransaction(vertices[9], vertices[10], true);
+        treeGraph.addTransaction(vertices[10], vertices[11], true);
+
+        treeGraph.setBooleanValue(selectedAttribute, vertices[0], true);
+        treeGraph.setBooleanValue(selectedAttribute, vertices[3], true);
+        treeGraph.setBooleanValue(selectedAttribute, vertices[6], true);
+        treeGraph.setBooleanValue(selectedAttribute, vertices[9], true);
+    }
+
+    private void assertSameScores(final ScoreType scoreType, final boolean includeConnectionsIn, final boolean includeConnectionsOut, final boolean selectedOnly) {
+        final Tuple<BitSet[], float[]> expected = PathScoringUtilities.calculateScores(treeGraph, scoreType, includeConnectionsIn, includeConnectionsOut, true, selectedOnly);
+        final PathScores actual = ShortestPathScoringUtilities.calculateScores(treeGraph, scoreType, includeConnectionsIn, includeConnectionsOut, true, selectedOnly);
+        final float[] expectedScores = expected.getSecond();
+        final float[] actualScores = actual.getScores();
+        assertEquals(actualScores.length, expectedScores.length);
+        for (int position = 0; position < expectedScores.length; position++) {
+            assertEquals(actualScores[position], expectedScores[position], DELTA, scoreType + " at position " + position);
+        }
+    }
+
+    @Test
+    public void testUndirectedScoresMatchPathScoringUtilities() {
+        System.out.println("undirectedScoresMatchPathScoringUtilities");
+
+        for (final ScoreType scoreType : new ScoreType[]{ScoreType.BETWEENNESS, ScoreType.CLOSENESS, ScoreType.FARNESS,
+            ScoreType.HARMONIC_CLOSENESS, ScoreType.HARMONIC_FARNESS}) {
+            assertSameScores(scoreType, true, true, false);
+            assertSameScores(scoreType, true, true, true);
+        }
+    }
+
+    @Test
+    public void testDirectedScoresMatchPathScoringUtilities() {
+        System.out.println("directedScoresMatchPathScoringUtilities");
+
+        for (final ScoreType scoreType : new ScoreType[]{ScoreType.BETWEENNESS, ScoreType.FARNESS, ScoreType.HARMONIC_FARNESS}) {
+            assertSameScores(scoreType, false, true, false);
+            assertSameScores(scoreType, true, false, false);
+        }
+    }
+
+    @Test
+    public void testEccentricityMatchesPathScoringUtilities() {
+        System.out.println("eccentricityMatchesPathScoringUtilities");
+
+        assertSameScores(ScoreType.ECCENTRICITY, true, true, false);
+        assertSameScores(ScoreType.ECCENTRICITY, false, true, false);
+    }
+
+    @Test
+    public void testBetweennessSplitsTiedShortestPaths() {
+        System.out.println("betweennessSplitsTiedShortestPaths");
+
+        // a square has two shortest paths between opposite corners
+        final StoreGraph square = new StoreGraph(SchemaFactoryUtilities.getSchemaFactory(AnalyticSchemaFactory.ANALYTIC_SCHEMA_ID).createSchema());
+        final int vxId0 = square.addVertex();
+        final int vxId1 = square.addVertex();
+        final int vxId2 = square.addVertex();
+        final int vxId3 = square.addVertex();
+        square.addTransaction(vxId0, vxId1, false);
+        square.addTransaction(vxId1, vxId2, false);
+        square.addTransaction(vxId2, vxId3, false);
+        square.addTransaction(vxId3, vxId0, false);
+
+        final float[] scores = ShortestPathScoringUtilities.calculateScores(square, ScoreType.BETWEENNESS, true, true, true, false).getScores();
+        for (final float score : scores) {
+            assertEquals(score, 1F, DELTA);
+        }
+    }
+
+    @Test
+    public void testReachability() {
+        System.out.println("reachability");
+
+        final PathScores result = ShortestPathScoringUtilities.calculateScores(treeGraph, ScoreType.FARNESS, true, true, true, false);
+        final int[] reachCounts = result.getReachCounts();
+        final int[] selectedReachCounts = result.getSelectedReachCounts();
+        final long[] reachKeys = result.getReachKeys();
+
+        assertEquals(reachCounts[0], 8);
+        assertEquals(reachCounts[7], 8);
+        assertEquals(reachCounts[8], 4);
+        assertEquals(reachCounts[12], 1);
+        assertEquals(selectedReachCounts[4], 3);
+        assertEquals(selectedReachCounts[11], 1);
+        assertEquals(selectedReachCounts[12], 0);
+        assertEquals(reachKeys[0], reachKeys[7]);
+        assertEquals(reachKeys[8], reachKeys[11]);
+        assertNotEquals(reachKeys[0], reachKeys[8]);
+        assertNotEquals(reachKeys[8], reachKeys[12]);
+    }
+
+    @Test
+    public void testSampledBetweenness() {
+        System.out.println("sampledBetweenness");
+
+        final float[] exact = ShortestPathScoringUtilities.calculateScores(treeGraph, ScoreType.BETWEENNESS, true, true, true, false).getScores();
+
+        // a sample at least as large as the graph is exact
+        final float[] full = ShortestPathScoringUtilities.calculateScores(treeGraph, ScoreType.BETWEENNESS, true, true, true, false, 100).getScores();
+        for (int position = 0; position < exact.length; position++) {
+            assertEquals(full[position], exact[position], DELTA);
+        }
+
+        // a smaller sample is deterministic and never scores a leaf
+        final float[] sampled = ShortestPathScoringUtilities.calculateScores(treeGraph, ScoreType.BETWEENNESS, true, true, true, false, 5).getScores();
+        final float[] sampledAgain = ShortestPathScoringUtilities.calculateScores(treeGraph, ScoreType.BETWEENNESS, true, true, true, false, 5).getScores();
+        for (int position = 0; position < exact.length; position++) {
+            assertEquals(sampled[position], sampledAgain[position], DELTA);
+            if (exact[position] == 0) {
+                assertEquals(sampled[position], 0F, DELTA);
+            }
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testAverageDistanceNotSupported() {
+        System.out.println("averageDistanceNotSupported");
+
+        ShortestPathScoringUtilities.calculateScores(treeGraph, ScoreType.AVERAGE_DISTANCE, true, true, true, false);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.plugins.algorithms.sna.similarity;
+
+import java.util.ArrayList;
+import java.util.List;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Similarity Neighbours Test.
+ *
+ * @author cygnus_x-1
+ */
+public class SimilarityNeighboursNGTest {
+
+    private SimilarityNeighbours neighbours;
+
+    @BeforeMethod
+    public void setUpMethod() throws Exception {
+        // vertices 0, 1 and 2 all point at 3 and 4, vertex 1 also points at 5,
+        // and vertex 5 points at 0
+        final SimilarityNeighbours.Builder builder = new SimilarityNeighbours.Builder(6);
+        builder.addNeighbour(0, 4, 2);
+        builder.addNeighbour(0, 3);
+        builder.addNeighbour(1, 3);
+        builder.addNeighbour(1, 4);
+        builder.addNeighbour(1, 5);
+        builder.addNeighbour(2, 4);
+        builder.addNeighbour(2, 3, 3);
+        builder.addNeighbour(2, 3);
+        builder.addNeighbour(5, 0);
+        neighbours = builder.build();
+    }
+
+    @Test
+    public void testBuild() {
+        System.out.println("build");
+
+        assertEquals(neighbours.getNeighbourCount(0), 2);
+        assertEquals(neighbours.getNeighbourCount(1), 3);
+        assertEquals(neighbours.getNeighbourCount(2), 2);
+        assertEquals(neighbours.getNeighbourCount(3), 0);
+        assertTrue(neighbours.isNeighbour(1, 5));
+        assertFalse(neighbours.isNeighbour(5, 1));
+        assertFalse(neighbours.isNeighbour(3, 0));
+
+        // duplicate neighbours have their weights summed
+        assertEquals(neighbours.getMagnitude(0), Math.sqrt(5), 1E-9);
+        assertEquals(neighbours.getMagnitude(2), Math.sqrt(17), 1E-9);
+    }
+
+    @Test
+    public void testCommonNeighbours() {
+        System.out.println("commonNeighbours");
+
+        assertEquals(neighbours.getDotProduct(0, 2), 6.0);
+        assertEquals(neighbours.getDotProduct(0, 5), 0.0);
+        assertEquals(neighbours.sumCommonNeighbours(0, 1, position -> position), 7.0);
+        assertEquals(neighbours.sumCommonNeighbours(1, 5, position -> 1), 0.0);
+    }
+
+    @Test
+    public void testCalculateScores() {
+        System.out.println("calculateScores");
+
+        final List<String> pairs = new ArrayList<>();
+        neighbours.calculateScores(1, 0, (vertexOne, vertexTwo, common) -> common)
+                .forEach((vertexOne, vertexTwo, score) -> pairs.add(vertexOne + "-" + vertexTwo + "=" + score));
+        pairs.sort(null);
+        assertEquals(pairs, List.of("0-1=2.0", "0-2=2.0", "1-2=2.0"));
+
+        // a pair scored as NaN is not kept
+        final SimilarityScores filtered = neighbours.calculateScores(2, 0, (vertexOne, vertexTwo, common) -> vertexTwo == 2 ? Float.NaN : 1F);
+        assertEquals(filtered.size(), 1);
+
+        assertEquals(neighbours.calculateScores(3, 0, (vertexOne, vertexTwo, common) -> 1F).size(), 0);
+        assertEquals(neighbours.calculateScores(1, 1, (vertexOne, vertexTwo, common) -> vertexOne + vertexTwo).size(), 2);
+    }
+}
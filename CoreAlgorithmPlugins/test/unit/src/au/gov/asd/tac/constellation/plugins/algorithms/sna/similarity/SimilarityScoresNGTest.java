@@ -0,0 +1,110 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.plugins.algorithms.sna.similarity;
+
+import java.util.ArrayList;
+import java.util.List;
+import static org.testng.Assert.assertEquals;
+import org.testng.annotations.Test;
+
+/**
+ * Similarity Scores Test.
+ *
+ * @author cygnus_x-1
+ */
+public class SimilarityScoresNGTest {
+
+    private static List<String> toList(final SimilarityScores scores) {
+        final List<String> pairs = new ArrayList<>();
+        scores.forEach((vertexOne, vertexTwo, score) -> pairs.add(vertexOne + "-" + vertexTwo + "=" + score));
+        return pairs;
+    }
+
+    @Test
+    public void testKeepAll() {
+        System.out.println("keepAll");
+
+        final SimilarityScores scores = new SimilarityScores(4);
+        for (int i = 0; i < 100; i++) {
+            scores.add(i % 4, (i + 1) % 4, i);
+        }
+        assertEquals(scores.size(), 100);
+        assertEquals(toList(scores).get(0), "0-1=0.0");
+        assertEquals(toList(scores).get(99), "3-0=99.0");
+    }
+
+    @Test
+    public void testMinimumScore() {
+        System.out.println("minimumScore");
+
+        final SimilarityScores scores = new SimilarityScores(3, 0, 0.5F);
+        scores.add(0, 1, 0.25F);
+        scores.add(0, 2, 0.5F);
+        scores.add(1, 2, Float.NaN);
+        assertEquals(toList(scores), List.of("0-2=0.5"));
+    }
+
+    @Test
+    public void testMaximumPerVertex() {
+        System.out.println("maximumPerVertex");
+
+        // vertex 0 is similar to everything, but only keeps its best two pairs
+        final SimilarityScores scores = new SimilarityScores(5, 2, Float.NEGATIVE_INFINITY);
+        scores.add(0, 1, 0.1F);
+        scores.add(0, 2, 0.9F);
+        scores.add(0, 3, 0.5F);
+        scores.add(0, 4, 0.7F);
+        scores.add(3, 4, 0.2F);
+
+        // 0-3 and 0-1 survive through vertex 3 and vertex 1, and pairs kept by
+        // both vertices are only reported once
+        assertEquals(toList(scores), List.of("0-2=0.9", "0-4=0.7", "0-1=0.1", "0-3=0.5", "3-4=0.2"));
+        assertEquals(scores.size(), 5);
+
+        final SimilarityScores single = new SimilarityScores(5, 1, Float.NEGATIVE_INFINITY);
+        single.add(0, 1, 0.1F);
+        single.add(0, 2, 0.9F);
+        single.add(1, 2, 0.5F);
+        single.add(3, 4, 0.3F);
+        assertEquals(toList(single), List.of("0-2=0.9", "1-2=0.5", "3-4=0.3"));
+    }
+
+    @Test
+    public void testAddAll() {
+        System.out.println("addAll");
+
+        final SimilarityScores first = new SimilarityScores(4, 1, 0.2F);
+        first.add(0, 1, 0.5F);
+        first.add(2, 3, 0.1F);
+        final SimilarityScores second = first.createEmptyCopy();
+        second.add(0, 2, 0.8F);
+        second.add(1, 3, 0.3F);
+        first.addAll(second);
+        assertEquals(toList(first), List.of("0-2=0.8", "0-1=0.5", "1-3=0.3"));
+
+        final SimilarityScores all = new SimilarityScores(4);
+        all.addAll(first);
+        all.addAll(new SimilarityScores(4));
+        assertEquals(all.size(), 3);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testNegativeMaximumPerVertex() {
+        System.out.println("negativeMaximumPerVertex");
+
+        new SimilarityScores(4, -1, 0F);
+    }
+}
@@ -15,8 +15,11 @@
  */
 package au.gov.asd.tac.constellation.graph.schema.analytic.attribute;
 
+import au.gov.asd.tac.constellation.graph.GraphIndex;
+import au.gov.asd.tac.constellation.graph.GraphIndexType;
 import au.gov.asd.tac.constellation.graph.attribute.AbstractObjectAttributeDescription;
 import au.gov.asd.tac.constellation.graph.attribute.AttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.ValueGraphIndex;
 import au.gov.asd.tac.constellation.graph.schema.type.SchemaTransactionType;
 import au.gov.asd.tac.constellation.graph.schema.type.SchemaTransactionTypeUtilities;
 import au.gov.asd.tac.constellation.graph.value.readables.IntReadable;
@@ -71,4 +74,24 @@ public class TransactionTypeAttributeDescription extends AbstractObjectAttribute
         return (ObjectReadable) () -> data[indexReadable.readInt()] != null
                 ? ((SchemaTransactionType) data[indexReadable.readInt()]).getName() : data[indexReadable.readInt()];
     }
+
+    /**
+     * Types are indexed by name, so a lookup by name finds every element of
+     * that type. Type names have no useful order, so only unordered indexes
+     * are supported.
+     */
+    @Override
+    public boolean supportsIndexType(final GraphIndexType indexType) {
+        return indexType != GraphIndexType.ORDERED;
+    }
+
+    @Override
+    public GraphIndex createIndex(final GraphIndexType indexType) {
+        return indexType == GraphIndexType.NONE ? NULL_GRAPH_INDEX
+                : new ValueGraphIndex(indexType, data.length, id -> getTypeName((SchemaTransactionType) data[id]), value -> getTypeName(convertFromObject(value)));
+    }
+
+    private static String getTypeName(final SchemaTransactionType type) {
+        return type != null ? type.getName() : null;
+    }
 }
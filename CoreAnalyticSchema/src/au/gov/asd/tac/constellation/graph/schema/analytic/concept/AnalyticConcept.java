@@ -16,6 +16,7 @@
 package au.gov.asd.tac.constellation.graph.schema.analytic.concept;
 
 import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.GraphIndexType;
 import au.gov.asd.tac.constellation.graph.attribute.BooleanAttributeDescription;
 import au.gov.asd.tac.constellation.graph.attribute.FloatAttributeDescription;
 import au.gov.asd.tac.constellation.graph.attribute.IntegerAttributeDescription;
@@ -70,6 +71,7 @@ public class AnalyticConcept extends SchemaConcept {
                 .build();
         public static final SchemaAttribute TYPE = new SchemaAttribute.Builder(GraphElementType.VERTEX, VertexTypeAttributeDescription.ATTRIBUTE_NAME, "Type")
                 .setDescription("The type of this node")
+                .setIndexType(GraphIndexType.UNORDERED)
                 .create()
                 .build();
         public static final SchemaAttribute RAW = new SchemaAttribute.Builder(GraphElementType.VERTEX, RawAttributeDescription.ATTRIBUTE_NAME, "Raw")
@@ -96,6 +98,7 @@ public class AnalyticConcept extends SchemaConcept {
 
         public static final SchemaAttribute TYPE = new SchemaAttribute.Builder(GraphElementType.TRANSACTION, TransactionTypeAttributeDescription.ATTRIBUTE_NAME, "Type")
                 .setDescription("The type of the transaction")
+                .setIndexType(GraphIndexType.UNORDERED)
                 .create()
                 .build();
         public static final SchemaAttribute ACTIVITY = new SchemaAttribute.Builder(GraphElementType.TRANSACTION, StringAttributeDescription.ATTRIBUTE_NAME, "Activity")
@@ -16,6 +16,7 @@
 package au.gov.asd.tac.constellation.graph.schema.analytic.concept;
 
 import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.GraphIndexType;
 import au.gov.asd.tac.constellation.graph.attribute.IntegerObjectAttributeDescription;
 import au.gov.asd.tac.constellation.graph.attribute.StringAttributeDescription;
 import au.gov.asd.tac.constellation.graph.attribute.ZonedDateTimeAttributeDescription;
@@ -55,6 +56,7 @@ public class TemporalConcept extends SchemaConcept {
         public static final SchemaAttribute DATETIME = new SchemaAttribute.Builder(GraphElementType.VERTEX, ZonedDateTimeAttributeDescription.ATTRIBUTE_NAME, "DateTime")
                 .setDescription("The datetime at which this node occurred")
                 .setFormat(TemporalConstants.DATE_TIME_FULL_FORMAT)
+                .setIndexType(GraphIndexType.ORDERED)
                 .build();
         public static final SchemaAttribute CREATED = new SchemaAttribute.Builder(GraphElementType.VERTEX, ZonedDateTimeAttributeDescription.ATTRIBUTE_NAME, "Created")
                 .setDescription("The datetime at which this node was created")
@@ -86,6 +88,7 @@ public class TemporalConcept extends SchemaConcept {
 
         public static final SchemaAttribute DATETIME = new SchemaAttribute.Builder(GraphElementType.TRANSACTION, ZonedDateTimeAttributeDescription.ATTRIBUTE_NAME, "DateTime")
                 .setDescription("The datetime at which this transaction occurred")
+                .setIndexType(GraphIndexType.ORDERED)
                 .build();
         public static final SchemaAttribute CREATED = new SchemaAttribute.Builder(GraphElementType.TRANSACTION, ZonedDateTimeAttributeDescription.ATTRIBUTE_NAME, "Created")
                 .setDescription("The datetime at which this transaction was created")
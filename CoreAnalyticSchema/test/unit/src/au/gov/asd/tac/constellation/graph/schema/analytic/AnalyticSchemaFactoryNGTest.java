@@ -15,8 +15,13 @@
  */
 package au.gov.asd.tac.constellation.graph.schema.analytic;
 
+import au.gov.asd.tac.constellation.graph.Graph;
 import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.GraphIndexResult;
+import au.gov.asd.tac.constellation.graph.GraphIndexType;
+import au.gov.asd.tac.constellation.graph.GraphReadMethods;
 import au.gov.asd.tac.constellation.graph.StoreGraph;
+import au.gov.asd.tac.constellation.graph.attribute.StringAttributeDescription;
 import au.gov.asd.tac.constellation.graph.schema.Schema;
 import au.gov.asd.tac.constellation.graph.schema.analytic.AnalyticSchemaFactory.AnalyticSchema;
 import au.gov.asd.tac.constellation.graph.schema.analytic.attribute.objects.RawData;
@@ -30,8 +35,11 @@ import au.gov.asd.tac.constellation.graph.schema.type.SchemaVertexType;
 import au.gov.asd.tac.constellation.graph.schema.visual.concept.VisualConcept;
 import au.gov.asd.tac.constellation.utilities.color.ConstellationColor;
 import au.gov.asd.tac.constellation.utilities.visual.LineStyle;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import static org.testng.Assert.assertEquals;
@@ -483,4 +491,77 @@ public class AnalyticSchemaFactoryNGTest {
         // shouldn't resolve otherwise made up types
         assertEquals(schema.resolveTransactionType("Fake"), notATypeResult);
     }
+    
+    private static Set<Integer> getElements(final GraphIndexResult result) {
+        final Set<Integer> elements = new HashSet<>();
+        final int count = result.getCount();
+        for (int i = 0; i < count; i++) {
+            elements.add(result.getNextElement());
+        }
+        assertEquals(result.getNextElement(), Graph.NOT_FOUND);
+        return elements;
+    }
+
+    /**
+     * Test that the Identifier, Type and DateTime attributes are indexed when
+     * they are ensured, so lookups through GraphReadMethods use the index.
+     */
+    @Test
+    public void testAttributeIndexTypes() {
+        System.out.println("attributeIndexTypes");
+
+        final StoreGraph graph = new StoreGraph(new AnalyticSchemaFactory().createSchema());
+        final int vertexIdentifierAttribute = VisualConcept.VertexAttribute.IDENTIFIER.ensure(graph);
+        final int vertexTypeAttribute = AnalyticConcept.VertexAttribute.TYPE.ensure(graph);
+        final int transactionDateTimeAttribute = TemporalConcept.TransactionAttribute.DATETIME.ensure(graph);
+        assertEquals(graph.getAttributeIndexType(vertexIdentifierAttribute), GraphIndexType.UNORDERED);
+        assertEquals(graph.getAttributeIndexType(vertexTypeAttribute), GraphIndexType.UNORDERED);
+        assertEquals(graph.getAttributeIndexType(transactionDateTimeAttribute), GraphIndexType.ORDERED);
+
+        final ZonedDateTime start = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        final int[] vertices = new int[5];
+        final int[] transactions = new int[5];
+        for (int i = 0; i < vertices.length; i++) {
+            vertices[i] = graph.addVertex();
+            graph.setStringValue(vertexIdentifierAttribute, vertices[i], "vertex" + i);
+            graph.setObjectValue(vertexTypeAttribute, vertices[i], i % 2 == 0 ? AnalyticConcept.VertexType.PERSON : AnalyticConcept.VertexType.EMAIL_ADDRESS);
+        }
+        for (int i = 0; i < transactions.length; i++) {
+            transactions[i] = graph.addTransaction(vertices[i], vertices[(i + 1) % vertices.length], true);
+            graph.setObjectValue(transactionDateTimeAttribute, transactions[i], start.plusHours(i));
+        }
+
+        final GraphReadMethods rg = graph;
+        assertEquals(getElements(rg.getElementsWithAttributeValue(vertexIdentifierAttribute, "vertex3")), Set.of(vertices[3]));
+        assertEquals(getElements(rg.getElementsWithAttributeValue(vertexTypeAttribute, "Person")), Set.of(vertices[0], vertices[2], vertices[4]));
+        assertEquals(getElements(rg.getElementsWithAttributeValueRange(transactionDateTimeAttribute, start.plusHours(1), start.plusMinutes(150))),
+                Set.of(transactions[1], transactions[2]));
+
+        // the index follows changes to the values
+        graph.setStringValue(vertexIdentifierAttribute, vertices[3], "changed");
+        assertTrue(getElements(rg.getElementsWithAttributeValue(vertexIdentifierAttribute, "vertex3")).isEmpty());
+        assertEquals(getElements(rg.getElementsWithAttributeValue(vertexIdentifierAttribute, "changed")), Set.of(vertices[3]));
+    }
+
+    /**
+     * Test that attributes added directly, as graph readers do, are given the
+     * index types of the registered attributes by ensureAttributeIndexTypes().
+     */
+    @Test
+    public void testEnsureAttributeIndexTypes() {
+        System.out.println("ensureAttributeIndexTypes");
+
+        final AnalyticSchemaFactory instance = new AnalyticSchemaFactory();
+        final StoreGraph graph = new StoreGraph(instance.createSchema());
+        final int identifierAttribute = graph.addAttribute(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "Identifier", null, null, null);
+        final int labelAttribute = graph.addAttribute(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "Label", null, null, null);
+        final int vxId = graph.addVertex();
+        graph.setStringValue(identifierAttribute, vxId, "vertex");
+        assertEquals(graph.getAttributeIndexType(identifierAttribute), GraphIndexType.NONE);
+
+        instance.ensureAttributeIndexTypes(graph);
+        assertEquals(graph.getAttributeIndexType(identifierAttribute), GraphIndexType.UNORDERED);
+        assertEquals(graph.getAttributeIndexType(labelAttribute), GraphIndexType.NONE);
+        assertEquals(getElements(graph.getElementsWithAttributeValue(identifierAttribute, "vertex")), Set.of(vxId));
+    }
 }
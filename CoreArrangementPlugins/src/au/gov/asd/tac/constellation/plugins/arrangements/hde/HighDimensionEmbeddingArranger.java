@@ -21,6 +21,8 @@ import au.gov.asd.tac.constellation.graph.schema.visual.concept.VisualConcept;
 import au.gov.asd.tac.constellation.plugins.arrangements.Arranger;
 import java.security.SecureRandom;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
 
 /**
  * Arrange by high dimension embedding.
@@ -46,15 +48,24 @@ public class HighDimensionEmbeddingArranger implements Arranger {
 
     private final int dimensions;
 
+    /**
+     * BFS frontiers at least this large are expanded in parallel.
+     */
+    private static final int PARALLEL_FRONTIER = 1024;
+
     // These should all be final, but can't be set until arrange().
     private GraphWriteMethods wg;
+    private int vxCount;
     private int[] centres;
     private double[] mean;
-    private boolean[] known;
     private boolean[] pivot;
     private int[] distance;
 
-    // Coordinates of each node relative to pivot.
+    // The neighbours of each vertex, by vertex position.
+    private int[] neighbourStart;
+    private int[] neighbours;
+
+    // Coordinates of each node relative to pivot, by vertex position.
     private double[][] xMatrix;
 
     private static final boolean PART_ONLY = false;
@@ -67,32 +78,42 @@ public class HighDimensionEmbeddingArranger implements Arranger {
 
     private void set(final GraphWriteMethods wg) {
         this.wg = wg;
-        final int vxCapacity = wg.getVertexCapacity();
+        vxCount = wg.getVertexCount();
 
         centres = new int[M];
         mean = new double[M];
-        known = new boolean[vxCapacity];
-        pivot = new boolean[vxCapacity];
-        distance = new int[vxCapacity];
+        pivot = new boolean[vxCount];
+        distance = new int[vxCount];
 
-        xMatrix = new double[M][vxCapacity];
+        xMatrix = new double[M][vxCount];
+
+        // Copy the neighbours of each vertex so the breadth-first searches
+        // can run in parallel without touching the graph.
+        neighbourStart = new int[vxCount + 1];
+        for (int position = 0; position < vxCount; position++) {
+            neighbourStart[position + 1] = neighbourStart[position] + wg.getVertexNeighbourCount(wg.getVertex(position));
+        }
+        neighbours = new int[neighbourStart[vxCount]];
+        for (int position = 0; position < vxCount; position++) {
+            final int vxId = wg.getVertex(position);
+            for (int i = 0; i < neighbourStart[position + 1] - neighbourStart[position]; i++) {
+                neighbours[neighbourStart[position] + i] = wg.getVertexPosition(wg.getVertexNeighbour(vxId, i));
+            }
+        }
     }
 
     @Override
     public void arrange(final GraphWriteMethods wg) {
-        set(wg);
+        if (wg.getVertexCount() == 0) {
+            return;
+        }
 
-        final int vxCount = wg.getVertexCount();
-        for (int position = 0; position < vxCount; position++) {
-            final int vxId = wg.getVertex(position);
+        set(wg);
 
-            distance[vxId] = Integer.MAX_VALUE;
-            pivot[vxId] = false;
-            known[vxId] = false;
-        }
+        Arrays.fill(distance, Integer.MAX_VALUE);
 
-        centres[0] = wg.getVertex(0);
-        pivot[wg.getVertex(0)] = true;
+        centres[0] = 0;
+        pivot[0] = true;
         int currx = 0;
 
         // Find coordinates of nodes relative to first pivot.
@@ -104,19 +125,14 @@ public class HighDimensionEmbeddingArranger implements Arranger {
             // distances for a non-pivot point at the furthest
             // distance from that of any other pivot.
             int pdist = 0;
-            int pnode = wg.getVertex(0);
-            for (int npos = 0; npos < vxCount; npos++) {
-                final int n = wg.getVertex(npos);
-
+            int pnode = 0;
+            for (int n = 0; n < vxCount; n++) {
                 // Choose node if its distance is at least that of the current best candidate.
                 // and it is not already a pivot.
                 if (distance[n] >= pdist && !pivot[n]) {
                     pnode = n;
                     pdist = distance[n];
                 }
-
-                // Clear known flag for next round.
-                known[n] = false;
             }
 
             // Mark the chosen node as a pivot.
@@ -129,36 +145,34 @@ public class HighDimensionEmbeddingArranger implements Arranger {
         }
 
         // Centre the coordinates by subtracting the mean.
-        currx = 0;
         for (int a = 0; a < M; a++) {
             mean[a] /= vxCount;
-            for (int vpos = 0; vpos < vxCount; vpos++) {
-                final int v = wg.getVertex(vpos);
-
-                xMatrix[currx][v] -= mean[a];
+            final double[] x = xMatrix[a];
+            for (int v = 0; v < vxCount; v++) {
+                x[v] -= mean[a];
             }
-
-            currx++;
         }
 
         // Compute the covariance matrix.
         // S = *X*X^T)/n.
+        // S is symmetric, so each row only computes the entries on and above the diagonal.
         final double[][] sMatrix = new double[M][M];
 
-        for (int r = 0; r < M; r++) {
-            for (int c = 0; c < M; c++) {
-                sMatrix[r][c] = 0;
-                for (int vpos = 0; vpos < vxCount; vpos++) {
-                    final int v = wg.getVertex(vpos);
-
-                    sMatrix[r][c] += xMatrix[r][v] * xMatrix[c][v];
+        IntStream.range(0, M).parallel().forEach(r -> {
+            for (int c = r; c < M; c++) {
+                double sum = 0;
+                final double[] xr = xMatrix[r];
+                final double[] xc = xMatrix[c];
+                for (int v = 0; v < vxCount; v++) {
+                    sum += xr[v] * xc[v];
                 }
 
                 // Not necessary because multiplication by a constant does not change the eigenvectors?
                 // But we said we're computing the covariance matrix, so do it.
-                sMatrix[r][c] /= vxCount;
+                sMatrix[r][c] = sum / vxCount;
+                sMatrix[c][r] = sMatrix[r][c];
             }
-        }
+        });
 
         if (PART_ONLY) {
             return;
@@ -232,7 +246,7 @@ public class HighDimensionEmbeddingArranger implements Arranger {
                     uihat[r] /= norm;
                     dot += uihat[r] * ui[r];
                 }
-            } while ((dot < (1 - epsilon) && Math.abs(dot - prevDot) > epsilon) && --counter == 0);
+            } while ((dot < (1 - epsilon) && Math.abs(dot - prevDot) > epsilon) && --counter > 0);
 
             System.arraycopy(uihat, 0, uMatrix[u], 0, M);
         }
@@ -247,9 +261,7 @@ public class HighDimensionEmbeddingArranger implements Arranger {
         final int zId = wg.getAttribute(GraphElementType.VERTEX, VisualConcept.VertexAttribute.Z.getName());
 
         // pos = X * U^T.
-        for (int npos = 0; npos < vxCount; npos++) {
-            final int n = wg.getVertex(npos);
-
+        for (int n = 0; n < vxCount; n++) {
             for (int c = 0; c < dimensions; c++) {
                 pos[c] = 0;
                 for (int m = 0; m < M; m++) {
@@ -257,49 +269,61 @@ public class HighDimensionEmbeddingArranger implements Arranger {
                 }
             }
 
-            wg.setFloatValue(xId, n, SCALE * (float) pos[0]);
-            wg.setFloatValue(yId, n, SCALE * (float) pos[1]);
-            wg.setFloatValue(zId, n, SCALE * (float) pos[2]);
+            final int vxId = wg.getVertex(n);
+            wg.setFloatValue(xId, vxId, SCALE * (float) pos[0]);
+            wg.setFloatValue(yId, vxId, SCALE * (float) pos[1]);
+            wg.setFloatValue(zId, vxId, SCALE * (float) pos[2]);
         }
     }
 
     /**
+     * Find the distance of every vertex from a pivot with a breadth-first
+     * search.
+     * <p>
+     * The search expands one level at a time. Large levels are expanded in
+     * parallel, with each vertex claimed by whichever of its neighbours on
+     * the previous level reaches it first; the distance is the same whichever
+     * neighbour claims it.
      *
-     * @param axis The index in the centres array of the vertex id to use as an
-     * axis.
-     * @param coord
+     * @param axis The index in the centres array of the vertex position to use
+     * as an axis.
+     * @param coord The distance of each vertex from the pivot, or -1 if the
+     * vertex can not be reached.
      */
     private void positionFrom(final int axis, final double[] coord) {
-        Arrays.fill(coord, -1);
-
-        int node = centres[axis];
-        coord[node] = 0;
-        distance[node] = 0;
-        mean[axis] = 0;
-
-        // Queue for use in breadth-first traversal.
-        final int[] queue = new int[wg.getVertexCount()];
-        int head = 0;
-        int tail = 0;
-        queue[head++] = node;
-
-        while (head != tail) {
-            node = queue[tail++];
-            final int neighbours = wg.getVertexNeighbourCount(node);
-            for (int npos = 0; npos < neighbours; npos++) {
-                final int neighbour = wg.getVertexNeighbour(node, npos);
-
-                if (coord[neighbour] < 0) {
-                    coord[neighbour] = coord[node] + 1;
-                    mean[axis] += coord[neighbour];
-                    if (distance[neighbour] > coord[neighbour]) {
-                        distance[neighbour] = (int) coord[neighbour];
-                    }
+        final AtomicIntegerArray levels = new AtomicIntegerArray(vxCount);
+        for (int v = 0; v < vxCount; v++) {
+            levels.set(v, -1);
+        }
+
+        final int source = centres[axis];
+        levels.set(source, 0);
+
+        int[] frontier = {source};
+        int level = 0;
+        while (frontier.length > 0) {
+            final int next = level + 1;
+            final IntStream nodes = IntStream.of(frontier);
+            frontier = (frontier.length >= PARALLEL_FRONTIER ? nodes.parallel() : nodes)
+                    .flatMap(node -> IntStream.range(neighbourStart[node], neighbourStart[node + 1])
+                    .map(i -> neighbours[i])
+                    .filter(neighbour -> levels.compareAndSet(neighbour, -1, next)))
+                    .toArray();
+            level = next;
+        }
 
-                    queue[head++] = neighbour;
+        double sum = 0;
+        for (int v = 0; v < vxCount; v++) {
+            final int d = levels.get(v);
+            coord[v] = d;
+            if (d >= 0) {
+                sum += d;
+                if (distance[v] > d) {
+                    distance[v] = d;
                 }
             }
         }
+        mean[axis] = sum;
     }
 
     @Override
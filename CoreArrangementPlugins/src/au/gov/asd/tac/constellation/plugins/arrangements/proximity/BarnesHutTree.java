@@ -0,0 +1,353 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.plugins.arrangements.proximity;
+
+import java.util.Arrays;
+
+/**
+ * A quadtree (in 2D) or octree (in 3D) used to approximate the repulsion
+ * between all pairs of points in O(n log n) rather than O(n<sup>2</sup>) time.
+ * <p>
+ * Each cell records the number of points it contains and their centre of
+ * mass. A cell that is small compared to its distance from a point (its width
+ * divided by the distance is less than theta) repels the point as if all of
+ * its points were at their centre of mass; otherwise its children are visited
+ * instead. A theta of zero visits every point and gives the exact result.
+ * <p>
+ * The tree is held in primitive arrays indexed by cell, and points are
+ * referred to by their index in the coordinate arrays, so building a tree for
+ * a large graph does not create an object per point. Once built the tree is
+ * read only, so {@link #repulse} can be called from many threads at once.
+ * <p>
+ * See Barnes and Hut, "A hierarchical O(N log N) force-calculation algorithm",
+ * Nature 324 (1986).
+ *
+ * @author algol
+ */
+final class BarnesHutTree {
+
+    /**
+     * The maximum number of points held in a leaf cell before it is split.
+     */
+    private static final int LEAF_CAPACITY = 8;
+
+    /**
+     * Cells are not split below this depth, so coincident points share a leaf
+     * rather than splitting forever.
+     */
+    private static final int MAX_DEPTH = 32;
+
+    private static final int NO_CELL = -1;
+
+    private final int dimensions;
+    private final int childCount;
+    private final float[][] coords;
+    private final int pointCount;
+
+    // Per cell: the geometric centre and half width, the first of the cell's
+    // children (or NO_CELL for a leaf), the head of the leaf's list of points,
+    // and the number and centre of mass of the points in the cell.
+    private float[] centre;
+    private float[] halfWidth;
+    private int[] firstChild;
+    private int[] leafHead;
+    private int[] mass;
+    private float[] massCentre;
+    private int cellCount;
+
+    // Per point: the next point in the same leaf.
+    private final int[] nextPoint;
+
+    /**
+     * Build a tree over the first {@code pointCount} points.
+     *
+     * @param coords The point coordinates, one array per dimension; there must
+     * be two or three dimensions.
+     * @param pointCount The number of points.
+     */
+    BarnesHutTree(final float[][] coords, final int pointCount) {
+        if (coords.length != 2 && coords.length != 3) {
+            throw new IllegalArgumentException(String.format("Expected 2 or 3 dimensions, found %d", coords.length));
+        }
+
+        this.dimensions = coords.length;
+        this.childCount = 1 << dimensions;
+        this.coords = coords;
+        this.pointCount = pointCount;
+        this.nextPoint = new int[pointCount];
+
+        final int initialCapacity = Math.max(16, pointCount / LEAF_CAPACITY * 2);
+        centre = new float[initialCapacity * dimensions];
+        halfWidth = new float[initialCapacity];
+        firstChild = new int[initialCapacity];
+        leafHead = new int[initialCapacity];
+        mass = new int[initialCapacity];
+
+        build();
+    }
+
+    /**
+     * The number of cells in the tree.
+     *
+     * @return The number of cells in the tree.
+     */
+    int getCellCount() {
+        return cellCount;
+    }
+
+    private void build() {
+        final float[] min = new float[dimensions];
+        final float[] max = new float[dimensions];
+        Arrays.fill(min, Float.MAX_VALUE);
+        Arrays.fill(max, -Float.MAX_VALUE);
+        for (int d = 0; d < dimensions; d++) {
+            final float[] c = coords[d];
+            for (int i = 0; i < pointCount; i++) {
+                min[d] = Math.min(min[d], c[i]);
+                max[d] = Math.max(max[d], c[i]);
+            }
+        }
+
+        // The root is a square (or cube) so that cells stay square as they are split.
+        float width = 0;
+        for (int d = 0; d < dimensions; d++) {
+            width = Math.max(width, max[d] - min[d]);
+        }
+        final int root = allocateCell();
+        halfWidth[root] = Math.max(width / 2 * 1.0001F, 1);
+        for (int d = 0; d < dimensions; d++) {
+            centre[root * dimensions + d] = pointCount == 0 ? 0 : (min[d] + max[d]) / 2;
+        }
+
+        for (int i = 0; i < pointCount; i++) {
+            insert(root, 0, i);
+        }
+
+        computeMass();
+    }
+
+    private int allocateCell() {
+        if (cellCount == halfWidth.length) {
+            final int capacity = cellCount * 2;
+            centre = Arrays.copyOf(centre, capacity * dimensions);
+            halfWidth = Arrays.copyOf(halfWidth, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            leafHead = Arrays.copyOf(leafHead, capacity);
+            mass = Arrays.copyOf(mass, capacity);
+        }
+
+        final int cell = cellCount++;
+        firstChild[cell] = NO_CELL;
+        leafHead[cell] = NO_CELL;
+        mass[cell] = 0;
+
+        return cell;
+    }
+
+    private void insert(final int fromCell, final int fromDepth, final int point) {
+        int cell = fromCell;
+        int depth = fromDepth;
+        while (firstChild[cell] != NO_CELL) {
+            cell = firstChild[cell] + childIndex(cell, point);
+            depth++;
+        }
+
+        nextPoint[point] = leafHead[cell];
+        leafHead[cell] = point;
+        mass[cell]++;
+
+        if (mass[cell] > LEAF_CAPACITY && depth < MAX_DEPTH) {
+            split(cell, depth);
+        }
+    }
+
+    private void split(final int cell, final int depth) {
+        final int first = cellCount;
+        for (int i = 0; i < childCount; i++) {
+            allocateCell();
+        }
+
+        final float childHalfWidth = halfWidth[cell] / 2;
+        for (int i = 0; i < childCount; i++) {
+            final int child = first + i;
+            halfWidth[child] = childHalfWidth;
+            for (int d = 0; d < dimensions; d++) {
+                final float offset = (i & (1 << d)) != 0 ? childHalfWidth : -childHalfWidth;
+                centre[child * dimensions + d] = centre[cell * dimensions + d] + offset;
+            }
+        }
+
+        int point = leafHead[cell];
+        firstChild[cell] = first;
+        leafHead[cell] = NO_CELL;
+        mass[cell] = 0;
+        while (point != NO_CELL) {
+            final int next = nextPoint[point];
+            insert(cell, depth, point);
+            point = next;
+        }
+    }
+
+    private int childIndex(final int cell, final int point) {
+        int index = 0;
+        for (int d = 0; d < dimensions; d++) {
+            if (coords[d][point] >= centre[cell * dimensions + d]) {
+                index |= 1 << d;
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Calculate the mass and centre of mass of every cell.
+     * <p>
+     * Children are always allocated after their parent, so visiting the cells
+     * in reverse order visits every child before its parent.
+     */
+    private void computeMass() {
+        massCentre = new float[cellCount * dimensions];
+        for (int cell = cellCount - 1; cell >= 0; cell--) {
+            int m = 0;
+            final int base = cell * dimensions;
+            if (firstChild[cell] == NO_CELL) {
+                for (int point = leafHead[cell]; point != NO_CELL; point = nextPoint[point]) {
+                    m++;
+                    for (int d = 0; d < dimensions; d++) {
+                        massCentre[base + d] += coords[d][point];
+                    }
+                }
+            } else {
+                for (int child = firstChild[cell]; child < firstChild[cell] + childCount; child++) {
+                    m += mass[child];
+                    for (int d = 0; d < dimensions; d++) {
+                        massCentre[base + d] += massCentre[child * dimensions + d] * mass[child];
+                    }
+                }
+            }
+
+            mass[cell] = m;
+            if (m > 0) {
+                for (int d = 0; d < dimensions; d++) {
+                    massCentre[base + d] /= m;
+                }
+            }
+        }
+    }
+
+    /**
+     * Calculate the repulsion of a point by all of the other points in the
+     * tree.
+     * <p>
+     * Each other point pushes the point directly away from itself with a
+     * force of {@code k2 / distance}, as in the Fruchterman-Reingold
+     * algorithm.
+     *
+     * @param point The index of the point to repulse.
+     * @param k2 The square of the repulsion constant.
+     * @param theta The accuracy of the approximation; zero is exact, larger
+     * values are faster.
+     * @param epsilon The smallest distance used when calculating a force.
+     * @param force The array that the force in each dimension is added to.
+     */
+    void repulse(final int point, final double k2, final double theta, final double epsilon, final double[] force) {
+        if (pointCount == 0) {
+            return;
+        }
+
+        final int[] stack = new int[(childCount - 1) * (MAX_DEPTH + 1) + 2];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            final int cell = stack[--top];
+            if (mass[cell] == 0) {
+                continue;
+            }
+
+            if (firstChild[cell] == NO_CELL) {
+                for (int other = leafHead[cell]; other != NO_CELL; other = nextPoint[other]) {
+                    if (other != point) {
+                        addForce(point, k2, epsilon, force, coords, other, 1, 0);
+                    }
+                }
+            } else {
+                final double distance = distanceToMassCentre(point, cell);
+                if (!contains(cell, point) && 2 * halfWidth[cell] < theta * distance) {
+                    addForce(point, k2, epsilon, force, null, cell, mass[cell], distance);
+                } else {
+                    for (int child = firstChild[cell]; child < firstChild[cell] + childCount; child++) {
+                        stack[top++] = child;
+                    }
+                }
+            }
+        }
+    }
+
+    private double distanceToMassCentre(final int point, final int cell) {
+        double lengthSquared = 0;
+        for (int d = 0; d < dimensions; d++) {
+            final double delta = coords[d][point] - massCentre[cell * dimensions + d];
+            lengthSquared += delta * delta;
+        }
+
+        return Math.sqrt(lengthSquared);
+    }
+
+    private boolean contains(final int cell, final int point) {
+        for (int d = 0; d < dimensions; d++) {
+            if (Math.abs(coords[d][point] - centre[cell * dimensions + d]) > halfWidth[cell]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Add the force on a point from another point or from the centre of mass
+     * of a cell.
+     *
+     * @param point The point being repulsed.
+     * @param k2 The square of the repulsion constant.
+     * @param epsilon The smallest distance used when calculating a force.
+     * @param force The accumulated force.
+     * @param otherCoords The point coordinates if {@code other} is a point,
+     * or null if {@code other} is a cell.
+     * @param other The other point or cell.
+     * @param otherMass The number of points at {@code other}.
+     * @param knownDistance The distance to {@code other} if already known, or
+     * zero.
+     */
+    private void addForce(final int point, final double k2, final double epsilon, final double[] force,
+            final float[][] otherCoords, final int other, final int otherMass, final double knownDistance) {
+        double distance = knownDistance;
+        if (distance == 0) {
+            double lengthSquared = 0;
+            for (int d = 0; d < dimensions; d++) {
+                final double delta = coords[d][point] - otherCoords[d][other];
+                lengthSquared += delta * delta;
+            }
+            distance = Math.sqrt(lengthSquared);
+        }
+
+        distance = Math.max(epsilon, distance);
+        final double magnitude = otherMass * k2 / distance;
+        for (int d = 0; d < dimensions; d++) {
+            final double otherCoord = otherCoords != null ? otherCoords[d][other] : massCentre[other * dimensions + d];
+            force[d] += (coords[d][point] - otherCoord) / distance * magnitude;
+        }
+    }
+}
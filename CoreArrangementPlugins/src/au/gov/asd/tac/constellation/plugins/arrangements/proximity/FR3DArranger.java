@@ -23,9 +23,7 @@ import au.gov.asd.tac.constellation.graph.schema.visual.concept.VisualConcept;
 import au.gov.asd.tac.constellation.plugins.PluginInteraction;
 import au.gov.asd.tac.constellation.plugins.arrangements.Arranger;
 import au.gov.asd.tac.constellation.plugins.arrangements.utilities.ArrangementUtilities;
-import au.gov.asd.tac.constellation.plugins.arrangements.utilities.Point3D;
 import java.security.SecureRandom;
-import java.util.ArrayList;
 
 /**
  * Implements a 3D version of the Fruchterman-Reingold force-directed algorithm
@@ -48,6 +46,10 @@ import java.util.ArrayList;
  * "http://i11www.ilkd.uni-karlsruhe.de/teaching/SS_04/visualisierung/papers/fruchterman91graph.pdf"
  *
  * <p>
+ * Repulsion is approximated with a Barnes-Hut octree for large graphs; see
+ * {@link ForceDirectedLayout}.
+ *
+ * <p>
  * The class is implemented as a SwingWorker so it can execute off the EDT.
  * <p>
  * The intermediate result type (Integer) is used to publish progress workunits,
@@ -69,9 +71,7 @@ public class FR3DArranger implements Arranger {
     private static final double REPULSION_MULTIPLIER = 0.75 * 0.67;
     private double attractionConstant;
     private double repulsionConstant;
-    private static final double EPSILON = 0.000001;
-    private ArrayList<Point3D.Float> points;
-    private ArrayList<Point3D.Float> offsets;
+    private ForceDirectedLayout forces;
     private volatile boolean stopWork;
 
     private final PluginInteraction interaction;
@@ -144,48 +144,28 @@ public class FR3DArranger implements Arranger {
         attractionConstant = ATTRACTION_MULTIPLIER * forceConstant;
         repulsionConstant = REPULSION_MULTIPLIER * forceConstant;
 
-        // Create an array of points to match the array of nodes.
-        // This means we have to allow for gaps in the array where nodes have been removed.
-        // Pre-fill the ArrayLists so we can treat them like arrays.
-        final int capacity = wg.getVertexCapacity();
-        points = new ArrayList<>(capacity);
-        offsets = new ArrayList<>(capacity);
-        for (int i = 0; i < capacity; i++) {
-            points.add(null);
-            offsets.add(null);
-        }
-
-        wg.vertexStream().parallel().forEach(node -> {
-            // Start each point at a random position.
-            final Point3D.Float p = new Point3D.Float(
-                    BORDER + r.nextInt(width - BORDER * 2),
-                    BORDER + r.nextInt(height - BORDER * 2),
-                    BORDER + r.nextInt(depth - BORDER * 2));
-            points.set(node, p);
-            offsets.set(node, new Point3D.Float(0.0F, 0.0F, 0.0F));
-        });
+        // Start each point at a random position.
+        forces = new ForceDirectedLayout(wg, 3);
+        forces.randomise(r, BORDER, width);
     }
 
     public void layout() throws InterruptedException {
         for (int i = 0; i < MAX_ITERATIONS; i++) {
             interaction.setProgress(i + 1, MAX_ITERATIONS, ARRANGING_INTERACTION, true);
 
-            wg.vertexStream().parallel().forEach(vertexId -> repulse(vertexId)
-            );
+            forces.repulse(repulsionConstant);
 
             if (Thread.interrupted()) {
                 throw new InterruptedException();
             }
 
-            wg.linkStream().parallel().forEach(txId -> attract(txId)
-            );
+            forces.attract(attractionConstant);
 
             if (Thread.interrupted()) {
                 throw new InterruptedException();
             }
 
-            wg.vertexStream().parallel().forEach(vertexId -> position(vertexId)
-            );
+            forces.position(temperature);
 
             cool(i);
         }
@@ -210,94 +190,17 @@ public class FR3DArranger implements Arranger {
 
         for (int position = 0; position < wg.getVertexCount(); position++) {
             final int nodeId = wg.getVertex(position);
-            final Point3D.Float point = points.get(nodeId);
 
             wg.setFloatValue(x2Attr, nodeId, wg.getFloatValue(xAttr, nodeId));
             wg.setFloatValue(y2Attr, nodeId, wg.getFloatValue(yAttr, nodeId));
             wg.setFloatValue(z2Attr, nodeId, wg.getFloatValue(zAttr, nodeId));
 
-            wg.setFloatValue(xAttr, nodeId, point.getFloatX());
-            wg.setFloatValue(yAttr, nodeId, point.getFloatY());
-            wg.setFloatValue(zAttr, nodeId, point.getFloatZ());
+            wg.setFloatValue(xAttr, nodeId, forces.getPoint(0, position));
+            wg.setFloatValue(yAttr, nodeId, forces.getPoint(1, position));
+            wg.setFloatValue(zAttr, nodeId, forces.getPoint(2, position));
         }
     }
 
-    /**
-     * Repulse a node from the other nodes.
-     *
-     * @param nodeOrigin The node that other nodes will be repulsed from.
-     */
-    private void repulse(final int nodeOrigin) {
-        final Point3D.Float p1 = points.get(nodeOrigin);
-        final Point3D.Float offset = new Point3D.Float(0, 0, 0);
-
-        for (int position = 0; position < wg.getVertexCount(); position++) {
-            final int node = wg.getVertex(position);
-            if (node != nodeOrigin) {
-                final Point3D p2 = points.get(node);
-                final double xDelta = p1.getX() - p2.getX();
-                final double yDelta = p1.getY() - p2.getY();
-                final double zDelta = p1.getZ() - p2.getZ();
-                final double lenDelta = Math.max(EPSILON, Math.sqrt(xDelta * xDelta + yDelta * yDelta + zDelta * zDelta));
-                final double force = (repulsionConstant * repulsionConstant) / lenDelta;
-                if (Double.isNaN(force)) {
-                    throw new IllegalArgumentException("Bad value: isNaN(force)");
-                }
-
-                offset.setLocation(
-                        offset.getX() + (xDelta / lenDelta) * force,
-                        offset.getY() + (yDelta / lenDelta) * force,
-                        offset.getZ() + (zDelta / lenDelta) * force);
-            }
-        }
-
-        offsets.set(nodeOrigin, offset);
-    }
-
-    /**
-     * Attract nodes along their edges.
-     *
-     * @param edge
-     */
-    private void attract(final int edge) {
-        final int[] endNodes = new int[]{
-            wg.getLinkLowVertex(edge), wg.getLinkHighVertex(edge)
-        };
-        final int node1 = endNodes[0];
-        final int node2 = endNodes[1];
-        final Point3D point1 = points.get(node1);
-        final Point3D point2 = points.get(node2);
-        final double xDelta = point1.getX() - point2.getX();
-        final double yDelta = point1.getY() - point2.getY();
-        final double zDelta = point1.getZ() - point2.getZ();
-        final double lenDelta = Math.max(EPSILON, Math.sqrt(xDelta * xDelta + yDelta * yDelta + zDelta * zDelta));
-        final double force = (lenDelta * lenDelta) / attractionConstant;
-        if (Double.isNaN(force)) {
-            throw new IllegalArgumentException(String.format("Bad value: force %f %f isNan(force)", lenDelta, attractionConstant));
-        }
-
-        final double dx = (xDelta / lenDelta) * force;
-        final double dy = (yDelta / lenDelta) * force;
-        final double dz = (zDelta / lenDelta) * force;
-        final Point3D.Float offset1 = offsets.get(node1);
-        final Point3D.Float offset2 = offsets.get(node2);
-        offset1.setLocation(offset1.getX() - dx, offset1.getY() - dy, offset1.getZ() - dz);
-        offset2.setLocation(offset2.getX() + dx, offset2.getY() + dy, offset2.getZ() + dz);
-    }
-
-    private void position(final int node) {
-        final Point3D.Float p = offsets.get(node);
-        final Point3D.Float xyzDelta = points.get(node);
-        final double lenDelta = Math.max(EPSILON, Math.sqrt(p.getX() * p.getX() + p.getY() * p.getY() + p.getZ() * p.getZ()));
-        final double xDelta = p.getX() / lenDelta * Math.min(lenDelta, temperature);
-        final double yDelta = p.getY() / lenDelta * Math.min(lenDelta, temperature);
-        final double zDelta = p.getZ() / lenDelta * Math.min(lenDelta, temperature);
-        final double newX = xyzDelta.getX() + xDelta;
-        final double newY = xyzDelta.getY() + yDelta;
-        final double newZ = xyzDelta.getZ() + zDelta;
-        xyzDelta.setLocation(newX, newY, newZ);
-    }
-
     private void cool(final int i) {
         temperature += (1.0 - i / (float) MAX_ITERATIONS);
     }
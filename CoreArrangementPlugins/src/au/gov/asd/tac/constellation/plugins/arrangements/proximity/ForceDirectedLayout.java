@@ -0,0 +1,219 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.plugins.arrangements.proximity;
+
+import au.gov.asd.tac.constellation.graph.GraphReadMethods;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * The forces of the Fruchterman-Reingold algorithm, shared by the 2D and 3D
+ * arrangers.
+ * <p>
+ * Points and offsets are held in float arrays indexed by vertex position, and
+ * the links of the graph are copied into a compact neighbour list when the
+ * layout is created, so the graph is not touched while the forces are
+ * calculated. Each force is calculated one vertex at a time with every vertex
+ * only writing to its own offset, so the vertices are shared between the
+ * available cores.
+ * <p>
+ * Repulsion between all pairs of vertices is exact for small graphs. For
+ * graphs with more than {@link #APPROXIMATION_THRESHOLD} vertices it is
+ * approximated with a {@link BarnesHutTree}, which takes the cost of each
+ * iteration from O(n<sup>2</sup>) to O(n log n).
+ *
+ * @author algol
+ */
+final class ForceDirectedLayout {
+
+    /**
+     * Graphs with more vertices than this use approximate repulsion.
+     */
+    static final int APPROXIMATION_THRESHOLD = 1000;
+
+    /**
+     * The Barnes-Hut accuracy used for approximate repulsion.
+     */
+    static final double THETA = 0.8;
+
+    private static final double EPSILON = 0.000001;
+
+    private final int dimensions;
+    private final int vxCount;
+    private final float[][] points;
+    private final float[][] offsets;
+    private final int[] neighbourStart;
+    private final int[] neighbours;
+    private boolean approximate;
+
+    /**
+     * Create a layout for the vertices of a graph.
+     *
+     * @param graph The graph to be laid out.
+     * @param dimensions The number of dimensions, 2 or 3.
+     */
+    ForceDirectedLayout(final GraphReadMethods graph, final int dimensions) {
+        this.dimensions = dimensions;
+        this.vxCount = graph.getVertexCount();
+        this.points = new float[dimensions][vxCount];
+        this.offsets = new float[dimensions][vxCount];
+        this.approximate = vxCount > APPROXIMATION_THRESHOLD;
+
+        neighbourStart = new int[vxCount + 1];
+        for (int position = 0; position < vxCount; position++) {
+            neighbourStart[position + 1] = neighbourStart[position] + graph.getVertexNeighbourCount(graph.getVertex(position));
+        }
+        neighbours = new int[neighbourStart[vxCount]];
+        for (int position = 0; position < vxCount; position++) {
+            final int vxId = graph.getVertex(position);
+            final int start = neighbourStart[position];
+            for (int i = 0; i < neighbourStart[position + 1] - start; i++) {
+                neighbours[start + i] = graph.getVertexPosition(graph.getVertexNeighbour(vxId, i));
+            }
+        }
+    }
+
+    int getVertexCount() {
+        return vxCount;
+    }
+
+    boolean isApproximate() {
+        return approximate;
+    }
+
+    void setApproximate(final boolean approximate) {
+        this.approximate = approximate;
+    }
+
+    /**
+     * Get a coordinate of a vertex.
+     *
+     * @param dimension The dimension of the coordinate.
+     * @param position The position of the vertex.
+     * @return The coordinate.
+     */
+    float getPoint(final int dimension, final int position) {
+        return points[dimension][position];
+    }
+
+    void setPoint(final int dimension, final int position, final float value) {
+        points[dimension][position] = value;
+    }
+
+    /**
+     * Start each vertex at a random position inside a box.
+     *
+     * @param r The random number generator.
+     * @param border The distance to keep from the sides of the box.
+     * @param size The size of the box in each dimension.
+     */
+    void randomise(final Random r, final int border, final int size) {
+        for (int position = 0; position < vxCount; position++) {
+            for (int d = 0; d < dimensions; d++) {
+                points[d][position] = border + (float) r.nextInt(size - border * 2);
+            }
+        }
+    }
+
+    /**
+     * Replace the offset of each vertex with the repulsion from all of the
+     * other vertices.
+     *
+     * @param repulsionConstant The repulsion constant.
+     */
+    void repulse(final double repulsionConstant) {
+        final double k2 = repulsionConstant * repulsionConstant;
+        final BarnesHutTree tree = approximate ? new BarnesHutTree(points, vxCount) : null;
+        IntStream.range(0, vxCount).parallel().forEach(position -> {
+            final double[] force = new double[dimensions];
+            if (tree != null) {
+                tree.repulse(position, k2, THETA, EPSILON, force);
+            } else {
+                repulseExact(position, k2, force);
+            }
+
+            for (int d = 0; d < dimensions; d++) {
+                if (Double.isNaN(force[d])) {
+                    throw new IllegalArgumentException("Bad value: isNaN(force)");
+                }
+                offsets[d][position] = (float) force[d];
+            }
+        });
+    }
+
+    private void repulseExact(final int origin, final double k2, final double[] force) {
+        for (int position = 0; position < vxCount; position++) {
+            if (position != origin) {
+                double lengthSquared = 0;
+                for (int d = 0; d < dimensions; d++) {
+                    final double delta = points[d][origin] - points[d][position];
+                    lengthSquared += delta * delta;
+                }
+                final double lenDelta = Math.max(EPSILON, Math.sqrt(lengthSquared));
+                final double magnitude = k2 / lenDelta;
+                for (int d = 0; d < dimensions; d++) {
+                    force[d] += (points[d][origin] - points[d][position]) / lenDelta * magnitude;
+                }
+            }
+        }
+    }
+
+    /**
+     * Attract each vertex towards its neighbours.
+     *
+     * @param attractionConstant The attraction constant.
+     */
+    void attract(final double attractionConstant) {
+        IntStream.range(0, vxCount).parallel().forEach(position -> {
+            for (int i = neighbourStart[position]; i < neighbourStart[position + 1]; i++) {
+                final int neighbour = neighbours[i];
+                double lengthSquared = 0;
+                for (int d = 0; d < dimensions; d++) {
+                    final double delta = points[d][position] - points[d][neighbour];
+                    lengthSquared += delta * delta;
+                }
+                final double lenDelta = Math.max(EPSILON, Math.sqrt(lengthSquared));
+                final double force = (lenDelta * lenDelta) / attractionConstant;
+                if (Double.isNaN(force)) {
+                    throw new IllegalArgumentException(String.format("Bad value: force %f %f isNan(force)", lenDelta, attractionConstant));
+                }
+
+                for (int d = 0; d < dimensions; d++) {
+                    offsets[d][position] -= (float) ((points[d][position] - points[d][neighbour]) / lenDelta * force);
+                }
+            }
+        });
+    }
+
+    /**
+     * Move each vertex along its offset, by no more than the temperature.
+     *
+     * @param temperature The largest distance a vertex can move.
+     */
+    void position(final double temperature) {
+        IntStream.range(0, vxCount).parallel().forEach(position -> {
+            double lengthSquared = 0;
+            for (int d = 0; d < dimensions; d++) {
+                lengthSquared += (double) offsets[d][position] * offsets[d][position];
+            }
+            final double lenDelta = Math.max(EPSILON, Math.sqrt(lengthSquared));
+            final double scale = Math.min(lenDelta, temperature) / lenDelta;
+            for (int d = 0; d < dimensions; d++) {
+                points[d][position] += (float) (offsets[d][position] * scale);
+            }
+        });
+    }
+}
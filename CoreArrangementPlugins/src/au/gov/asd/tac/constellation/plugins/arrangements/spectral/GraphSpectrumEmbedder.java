@@ -16,6 +16,7 @@
 package au.gov.asd.tac.constellation.plugins.arrangements.spectral;
 
 import au.gov.asd.tac.constellation.graph.GraphReadMethods;
+import java.security.SecureRandom;
 import org.apache.commons.math3.linear.EigenDecomposition;
 import org.apache.commons.math3.linear.MatrixUtils;
 import org.eclipse.collections.api.IntIterable;
@@ -32,6 +33,14 @@ import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
  */
 public class GraphSpectrumEmbedder {
 
+    /**
+     * Sets of vertices larger than this are embedded using a few eigenvectors
+     * of a sparse Laplacian rather than a full decomposition of a dense one.
+     */
+    static final int DENSE_LIMIT = 500;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     public static MutableIntObjectMap<double[]> spectralEmbedding(final GraphReadMethods rg, final IntIterable includedVertices) {
         final MutableIntObjectMap<double[]> vertexPositions = new IntObjectHashMap<>();
 
@@ -40,6 +49,10 @@ public class GraphSpectrumEmbedder {
             return vertexPositions;
         }
 
+        if (includedVertices.size() > DENSE_LIMIT) {
+            return sparseSpectralEmbedding(rg, includedVertices);
+        }
+
         final GraphMatrix l = GraphMatrix.adjacencyFromGraph(rg, includedVertices, new IntHashSet());
 
         final EigenDecomposition e = new EigenDecomposition(MatrixUtils.createRealMatrix(l.laplacianMatrix));
@@ -62,6 +75,30 @@ public class GraphSpectrumEmbedder {
 
     }
 
+    /**
+     * Embed the vertices using the two smallest non-trivial eigenvectors of
+     * the Laplacian, which needs O(n + m) memory rather than O(n^2).
+     *
+     * @param rg The graph.
+     * @param includedVertices The vertices to embed.
+     * @return The position of each vertex.
+     */
+    static MutableIntObjectMap<double[]> sparseSpectralEmbedding(final GraphReadMethods rg, final IntIterable includedVertices) {
+        final MutableIntObjectMap<double[]> vertexPositions = new IntObjectHashMap<>();
+
+        final LaplacianEigensolver solver = new LaplacianEigensolver(rg, includedVertices);
+        solver.solve(2, RANDOM);
+        final double[][] eigenvectors = solver.getEigenvectors();
+
+        // The eigenvectors are unit vectors, so scale them up to give each vertex some room.
+        final double scale = solver.getDimension();
+        for (int i = 0; i < solver.getDimension(); i++) {
+            vertexPositions.put(solver.getVertexId(i), new double[]{scale * eigenvectors[0][i], scale * eigenvectors[1][i]});
+        }
+
+        return vertexPositions;
+    }
+
     private static class GraphMatrix {
 
         private final MutableIntIntMap matrixPositionToID;
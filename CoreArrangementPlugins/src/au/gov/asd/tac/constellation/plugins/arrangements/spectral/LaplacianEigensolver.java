@@ -0,0 +1,330 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.plugins.arrangements.spectral;
+
+import au.gov.asd.tac.constellation.graph.GraphReadMethods;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.apache.commons.math3.linear.EigenDecomposition;
+import org.apache.commons.math3.linear.MatrixUtils;
+import org.eclipse.collections.api.IntIterable;
+import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntIntHashMap;
+
+/**
+ * Find the smallest non-trivial eigenvectors of the Laplacian of a graph
+ * without building a dense matrix.
+ * <p>
+ * The Laplacian L = D - A is held as a compressed sparse row adjacency
+ * structure plus the degree of each vertex, so it needs O(n + m) memory. The
+ * smallest eigenvalues of L are the largest eigenvalues of cI - L, where c
+ * bounds the spectrum of L, so they are found with the Lanczos algorithm on
+ * cI - L. The constant vector, which is always an eigenvector of L with
+ * eigenvalue zero, is projected out of every Lanczos vector. The Krylov basis
+ * is kept at a fixed size; when it is full the algorithm is restarted keeping
+ * the best half of the Ritz vectors (a thick restart), so memory use is
+ * bounded by {@link #MAX_BASIS_SIZE} vectors.
+ *
+ * @author twilight_sparkle
+ */
+final class LaplacianEigensolver {
+
+    private static final int MAX_BASIS_SIZE = 64;
+    private static final int MAX_RESTARTS = 50;
+    private static final double TOLERANCE = 1e-6;
+    private static final int PARALLEL_THRESHOLD = 10_000;
+
+    private final int dimension;
+    private final int[] rowStart;
+    private final int[] columns;
+    private final int[] degrees;
+    private final int[] positionToId;
+    private final double shift;
+
+    private double[] eigenvalues;
+    private double[][] eigenvectors;
+
+    /**
+     * Build the Laplacian of the subgraph induced by the included vertices.
+     *
+     * @param rg The graph.
+     * @param includedVertices The vertices to include.
+     */
+    LaplacianEigensolver(final GraphReadMethods rg, final IntIterable includedVertices) {
+        final MutableIntIntMap idToPosition = new IntIntHashMap();
+        positionToId = new int[includedVertices.size()];
+        int n = 0;
+        for (int i = 0; i < rg.getVertexCount(); i++) {
+            final int vxId = rg.getVertex(i);
+            if (includedVertices.contains(vxId)) {
+                idToPosition.put(vxId, n);
+                positionToId[n++] = vxId;
+            }
+        }
+        dimension = n;
+
+        rowStart = new int[dimension + 1];
+        degrees = new int[dimension];
+        for (int i = 0; i < dimension; i++) {
+            final int vxId = positionToId[i];
+            int degree = 0;
+            for (int j = 0; j < rg.getVertexNeighbourCount(vxId); j++) {
+                final int neighbourId = rg.getVertexNeighbour(vxId, j);
+                if (neighbourId != vxId && idToPosition.containsKey(neighbourId)) {
+                    degree++;
+                }
+            }
+            degrees[i] = degree;
+            rowStart[i + 1] = rowStart[i] + degree;
+        }
+
+        columns = new int[rowStart[dimension]];
+        int maxDegree = 0;
+        for (int i = 0; i < dimension; i++) {
+            final int vxId = positionToId[i];
+            int next = rowStart[i];
+            for (int j = 0; j < rg.getVertexNeighbourCount(vxId); j++) {
+                final int neighbourId = rg.getVertexNeighbour(vxId, j);
+                if (neighbourId != vxId && idToPosition.containsKey(neighbourId)) {
+                    columns[next++] = idToPosition.get(neighbourId);
+                }
+            }
+            maxDegree = Math.max(maxDegree, degrees[i]);
+        }
+
+        // By Gershgorin's theorem every eigenvalue of L lies in [0, 2 * maxDegree].
+        shift = 2.0 * maxDegree + 1;
+    }
+
+    int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * The vertex id of a row of the Laplacian.
+     *
+     * @param position The row.
+     * @return The vertex id.
+     */
+    int getVertexId(final int position) {
+        return positionToId[position];
+    }
+
+    /**
+     * The eigenvalues found by the last call to {@link #solve}, in ascending
+     * order.
+     *
+     * @return The eigenvalues.
+     */
+    double[] getEigenvalues() {
+        return eigenvalues;
+    }
+
+    /**
+     * The unit eigenvectors found by the last call to {@link #solve}, in the
+     * same order as the eigenvalues.
+     *
+     * @return The eigenvectors, indexed by row of the Laplacian.
+     */
+    double[][] getEigenvectors() {
+        return eigenvectors;
+    }
+
+    /**
+     * Calculate y = (cI - L)x.
+     */
+    private void multiply(final double[] x, final double[] y) {
+        final IntStream rows = IntStream.range(0, dimension);
+        (dimension >= PARALLEL_THRESHOLD ? rows.parallel() : rows).forEach(i -> {
+            double sum = (shift - degrees[i]) * x[i];
+            for (int j = rowStart[i]; j < rowStart[i + 1]; j++) {
+                sum += x[columns[j]];
+            }
+            y[i] = sum;
+        });
+    }
+
+    private double dot(final double[] a, final double[] b) {
+        double sum = 0;
+        for (int i = 0; i < dimension; i++) {
+            sum += a[i] * b[i];
+        }
+
+        return sum;
+    }
+
+    private double normalise(final double[] v) {
+        final double norm = Math.sqrt(dot(v, v));
+        if (norm > 0) {
+            for (int i = 0; i < dimension; i++) {
+                v[i] /= norm;
+            }
+        }
+
+        return norm;
+    }
+
+    /**
+     * Remove the constant component and the components along a set of basis
+     * vectors from a vector.
+     */
+    private void orthogonalise(final double[] v, final double[][] basis, final int basisCount) {
+        double mean = 0;
+        for (int i = 0; i < dimension; i++) {
+            mean += v[i];
+        }
+        mean /= dimension;
+        for (int i = 0; i < dimension; i++) {
+            v[i] -= mean;
+        }
+
+        for (int b = 0; b < basisCount; b++) {
+            final double d = dot(v, basis[b]);
+            for (int i = 0; i < dimension; i++) {
+                v[i] -= d * basis[b][i];
+            }
+        }
+    }
+
+    /**
+     * Find the smallest eigenvalues of the Laplacian other than the trivial
+     * eigenvalue of the constant eigenvector, and their eigenvectors.
+     *
+     * @param count The number of eigenvalues to find.
+     * @param random The source of the random starting vector.
+     */
+    void solve(final int count, final Random random) {
+        if (count >= dimension) {
+            throw new IllegalArgumentException(String.format("Can not find %d non-trivial eigenvectors of a %dx%d matrix", count, dimension, dimension));
+        }
+
+        final int basisSize = Math.min(dimension - 1, Math.max(MAX_BASIS_SIZE, 3 * count));
+        final int keep = Math.min(basisSize - 1, Math.max(count, basisSize / 2));
+        final double[][] basis = new double[basisSize][];
+
+        // The projection of cI - L onto the basis. Lanczos makes this
+        // tridiagonal, but after a restart the kept Ritz vectors are all
+        // coupled to the next basis vector, so it is held in full.
+        final double[][] projection = new double[basisSize][basisSize];
+
+        double[] v = new double[dimension];
+        for (int i = 0; i < dimension; i++) {
+            v[i] = random.nextDouble() - 0.5;
+        }
+        orthogonalise(v, basis, 0);
+        normalise(v);
+
+        int size = 0;
+        double[] ritzValues = new double[0];
+        double[][] ritzVectors = new double[0][];
+        for (int restart = 0; restart <= MAX_RESTARTS; restart++) {
+            // Extend the basis with Lanczos vectors.
+            double residualNorm = 0;
+            while (size < basisSize) {
+                basis[size] = v;
+                final double[] w = new double[dimension];
+                multiply(v, w);
+                for (int j = 0; j <= size; j++) {
+                    final double d = dot(w, basis[j]);
+                    projection[j][size] = d;
+                    projection[size][j] = d;
+                }
+
+                // Full reorthogonalisation, twice, keeps the basis orthogonal in floating point.
+                orthogonalise(w, basis, size + 1);
+                orthogonalise(w, basis, size + 1);
+                residualNorm = normalise(w);
+                size++;
+                v = w;
+                if (residualNorm < TOLERANCE) {
+                    break;
+                }
+            }
+
+            // Rayleigh-Ritz: the eigenvectors of the projection give the best
+            // approximations to the eigenvectors of cI - L in the basis.
+            final double[][] h = new double[size][size];
+            for (int i = 0; i < size; i++) {
+                System.arraycopy(projection[i], 0, h[i], 0, size);
+            }
+            final EigenDecomposition decomposition = new EigenDecomposition(MatrixUtils.createRealMatrix(h));
+            final Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(decomposition.getRealEigenvalue(b), decomposition.getRealEigenvalue(a)));
+
+            final int kept = Math.min(keep, size);
+            ritzValues = new double[kept];
+            ritzVectors = new double[kept][];
+            boolean converged = true;
+            for (int k = 0; k < kept; k++) {
+                final double[] s = decomposition.getEigenvector(order[k]).toArray();
+                ritzValues[k] = decomposition.getRealEigenvalue(order[k]);
+                ritzVectors[k] = combine(basis, size, s);
+
+                // The residual of a Ritz pair is the last component of its
+                // eigenvector scaled by the norm of the next Lanczos vector.
+                if (k < count && residualNorm * Math.abs(s[size - 1]) > TOLERANCE * shift) {
+                    converged = false;
+                }
+            }
+
+            if (converged || size < basisSize || restart == MAX_RESTARTS) {
+                break;
+            }
+
+            // Thick restart: keep the best Ritz vectors, whose projection is
+            // diagonal, and carry on from the next Lanczos vector.
+            for (int i = 0; i < basisSize; i++) {
+                Arrays.fill(projection[i], 0);
+                basis[i] = null;
+            }
+            for (int k = 0; k < kept; k++) {
+                basis[k] = ritzVectors[k];
+                projection[k][k] = ritzValues[k];
+            }
+            size = kept;
+        }
+
+        eigenvalues = new double[count];
+        eigenvectors = new double[count][];
+        for (int k = 0; k < count; k++) {
+            eigenvalues[k] = k < ritzValues.length ? shift - ritzValues[k] : Double.NaN;
+            eigenvectors[k] = k < ritzVectors.length ? ritzVectors[k] : new double[dimension];
+        }
+    }
+
+    /**
+     * Calculate the linear combination of basis vectors with the given
+     * coefficients, normalised to a unit vector.
+     */
+    private double[] combine(final double[][] basis, final int basisCount, final double[] coefficients) {
+        final double[] y = new double[dimension];
+        final IntStream rows = IntStream.range(0, dimension);
+        (dimension >= PARALLEL_THRESHOLD ? rows.parallel() : rows).forEach(i -> {
+            double sum = 0;
+            for (int j = 0; j < basisCount; j++) {
+                sum += basis[j][i] * coefficients[j];
+            }
+            y[i] = sum;
+        });
+        normalise(y);
+
+        return y;
+    }
+}
@@ -504,6 +504,11 @@ public class ComponentSubgraph implements GraphWriteMethods {
         return proxy.addAttribute(elementType, attributeType, label, description, defaultValue, attributeMergerId);
     }
 
+    @Override
+    public int addAttribute(final int attribute, final GraphElementType elementType, final String attributeType, final String label, final String description, final Object defaultValue, final String attributeMergerId) {
+        return proxy.addAttribute(attribute, elementType, attributeType, label, description, defaultValue, attributeMergerId);
+    }
+
     @Override
     public void removeAttribute(final int attribute) {
         proxy.removeAttribute(attribute);
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.plugins.arrangements.hde;
+
+import au.gov.asd.tac.constellation.graph.StoreGraph;
+import au.gov.asd.tac.constellation.graph.schema.visual.concept.VisualConcept;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * High Dimension Embedding Arranger Test.
+ *
+ * @author algol
+ */
+public class HighDimensionEmbeddingArrangerNGTest {
+
+    /**
+     * Arrange a grid large enough for its breadth-first searches to run in
+     * parallel; neighbouring vertices should be placed closer together than
+     * opposite corners.
+     */
+    @Test
+    public void testArrangeGrid() {
+        System.out.println("arrangeGrid");
+
+        final int side = 60;
+        final StoreGraph graph = new StoreGraph();
+        final int xAttr = VisualConcept.VertexAttribute.X.ensure(graph);
+        final int yAttr = VisualConcept.VertexAttribute.Y.ensure(graph);
+        VisualConcept.VertexAttribute.Z.ensure(graph);
+        final int[][] grid = new int[side][side];
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                grid[r][c] = graph.addVertex();
+                if (r > 0) {
+                    graph.addTransaction(grid[r - 1][c], grid[r][c], false);
+                }
+                if (c > 0) {
+                    graph.addTransaction(grid[r][c - 1], grid[r][c], false);
+                }
+            }
+        }
+
+        new HighDimensionEmbeddingArranger(2).arrange(graph);
+
+        for (int position = 0; position < graph.getVertexCount(); position++) {
+            final int vxId = graph.getVertex(position);
+            assertFalse(Float.isNaN(graph.getFloatValue(xAttr, vxId)));
+            assertFalse(Float.isNaN(graph.getFloatValue(yAttr, vxId)));
+        }
+
+        final double neighbours = distance(graph, xAttr, yAttr, grid[0][0], grid[0][1]);
+        final double corners = distance(graph, xAttr, yAttr, grid[0][0], grid[side - 1][side - 1]);
+        assertTrue(neighbours < corners);
+    }
+
+    private static double distance(final StoreGraph graph, final int xAttr, final int yAttr, final int vx0, final int vx1) {
+        final double dx = graph.getFloatValue(xAttr, vx0) - graph.getFloatValue(xAttr, vx1);
+        final double dy = graph.getFloatValue(yAttr, vx0) - graph.getFloatValue(yAttr, vx1);
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}
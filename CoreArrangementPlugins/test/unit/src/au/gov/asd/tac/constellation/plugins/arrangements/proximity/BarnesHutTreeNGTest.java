@@ -0,0 +1,170 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.plugins.arrangements.proximity;
+
+import au.gov.asd.tac.constellation.graph.StoreGraph;
+import au.gov.asd.tac.constellation.graph.schema.visual.concept.VisualConcept;
+import au.gov.asd.tac.constellation.plugins.PluginInteraction;
+import java.util.Random;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Barnes-Hut Tree Test.
+ *
+ * @author algol
+ */
+public class BarnesHutTreeNGTest {
+
+    private static final double K2 = 4;
+    private static final double EPSILON = 0.000001;
+
+    private static float[][] randomPoints(final int dimensions, final int count, final long seed) {
+        final Random random = new Random(seed);
+        final float[][] coords = new float[dimensions][count];
+        for (int d = 0; d < dimensions; d++) {
+            for (int i = 0; i < count; i++) {
+                coords[d][i] = random.nextFloat() * 100;
+            }
+        }
+
+        return coords;
+    }
+
+    private static double[] exactRepulsion(final float[][] coords, final int count, final int point) {
+        final double[] force = new double[coords.length];
+        for (int other = 0; other < count; other++) {
+            if (other != point) {
+                double lengthSquared = 0;
+                for (int d = 0; d < coords.length; d++) {
+                    final double delta = coords[d][point] - coords[d][other];
+                    lengthSquared += delta * delta;
+                }
+                final double length = Math.max(EPSILON, Math.sqrt(lengthSquared));
+                for (int d = 0; d < coords.length; d++) {
+                    force[d] += (coords[d][point] - coords[d][other]) / length * K2 / length;
+                }
+            }
+        }
+
+        return force;
+    }
+
+    /**
+     * A theta of zero visits every point, so the result is exact.
+     */
+    @Test
+    public void testRepulseExact() {
+        System.out.println("repulseExact");
+
+        for (final int dimensions : new int[]{2, 3}) {
+            final float[][] coords = randomPoints(dimensions, 500, 1);
+            final BarnesHutTree tree = new BarnesHutTree(coords, 500);
+            for (int point = 0; point < 500; point += 7) {
+                final double[] expected = exactRepulsion(coords, 500, point);
+                final double[] actual = new double[dimensions];
+                tree.repulse(point, K2, 0, EPSILON, actual);
+                for (int d = 0; d < dimensions; d++) {
+                    assertEquals(actual[d], expected[d], Math.abs(expected[d]) * 1e-6 + 1e-9);
+                }
+            }
+        }
+    }
+
+    /**
+     * An approximate repulsion should be close to the exact repulsion.
+     */
+    @Test
+    public void testRepulseApproximate() {
+        System.out.println("repulseApproximate");
+
+        for (final int dimensions : new int[]{2, 3}) {
+            final float[][] coords = randomPoints(dimensions, 5000, 2);
+            final BarnesHutTree tree = new BarnesHutTree(coords, 5000);
+
+            double error = 0;
+            double magnitude = 0;
+            for (int point = 0; point < 5000; point += 11) {
+                final double[] expected = exactRepulsion(coords, 5000, point);
+                final double[] actual = new double[dimensions];
+                tree.repulse(point, K2, ForceDirectedLayout.THETA, EPSILON, actual);
+                for (int d = 0; d < dimensions; d++) {
+                    error += Math.abs(actual[d] - expected[d]);
+                    magnitude += Math.abs(expected[d]);
+                }
+            }
+
+            assertTrue(error / magnitude < 0.05, String.format("Relative error %f in %d dimensions", error / magnitude, dimensions));
+        }
+    }
+
+    /**
+     * Coincident points must not split the tree forever.
+     */
+    @Test
+    public void testCoincidentPoints() {
+        System.out.println("coincidentPoints");
+
+        final float[][] coords = new float[2][1000];
+        final BarnesHutTree tree = new BarnesHutTree(coords, 1000);
+        assertTrue(tree.getCellCount() < 1000);
+
+        final double[] force = new double[2];
+        tree.repulse(0, K2, ForceDirectedLayout.THETA, EPSILON, force);
+        assertEquals(force[0], 0.0);
+        assertEquals(force[1], 0.0);
+    }
+
+    /**
+     * Arranging a graph large enough to use the approximation should spread
+     * its vertices out.
+     */
+    @Test
+    public void testArrangeLargeGraph() throws InterruptedException {
+        System.out.println("arrangeLargeGraph");
+
+        final StoreGraph graph = new StoreGraph();
+        final int xAttr = VisualConcept.VertexAttribute.X.ensure(graph);
+        final int yAttr = VisualConcept.VertexAttribute.Y.ensure(graph);
+        VisualConcept.VertexAttribute.Z.ensure(graph);
+        final int vxCount = ForceDirectedLayout.APPROXIMATION_THRESHOLD * 2;
+        for (int i = 0; i < vxCount; i++) {
+            final int vxId = graph.addVertex();
+            if (i > 0) {
+                graph.addTransaction(vxId, graph.getVertex(i / 2), false);
+            }
+        }
+
+        final ForceDirectedLayout layout = new ForceDirectedLayout(graph, 2);
+        assertTrue(layout.isApproximate());
+
+        new FR2DArranger(mock(PluginInteraction.class)).arrange(graph);
+
+        float minX = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE;
+        for (int position = 0; position < vxCount; position++) {
+            final float x = graph.getFloatValue(xAttr, graph.getVertex(position));
+            assertFalse(Float.isNaN(x));
+            assertFalse(Float.isNaN(graph.getFloatValue(yAttr, graph.getVertex(position))));
+            minX = Math.min(minX, x);
+            maxX = Math.max(maxX, x);
+        }
+        assertTrue(maxX > minX);
+    }
+}
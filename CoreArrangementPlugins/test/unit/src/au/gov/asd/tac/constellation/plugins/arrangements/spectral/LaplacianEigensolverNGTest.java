@@ -0,0 +1,104 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.plugins.arrangements.spectral;
+
+import au.gov.asd.tac.constellation.graph.StoreGraph;
+import java.util.Random;
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Laplacian Eigensolver Test.
+ *
+ * @author twilight_sparkle
+ */
+public class LaplacianEigensolverNGTest {
+
+    private static StoreGraph pathGraph(final int n, final MutableIntSet vertices) {
+        final StoreGraph graph = new StoreGraph();
+        int previous = -1;
+        for (int i = 0; i < n; i++) {
+            final int vxId = graph.addVertex();
+            vertices.add(vxId);
+            if (previous >= 0) {
+                graph.addTransaction(previous, vxId, true);
+            }
+            previous = vxId;
+        }
+
+        return graph;
+    }
+
+    /**
+     * The Laplacian of a path on n vertices has eigenvalues 2 - 2cos(pi k / n).
+     */
+    @Test
+    public void testPathEigenvalues() {
+        System.out.println("pathEigenvalues");
+
+        final int n = 200;
+        final MutableIntSet vertices = new IntHashSet();
+        final StoreGraph graph = pathGraph(n, vertices);
+
+        final LaplacianEigensolver solver = new LaplacianEigensolver(graph, vertices);
+        assertEquals(solver.getDimension(), n);
+        solver.solve(3, new Random(1));
+
+        final double[] eigenvalues = solver.getEigenvalues();
+        for (int k = 1; k <= 3; k++) {
+            assertEquals(eigenvalues[k - 1], 2 - 2 * Math.cos(Math.PI * k / n), 1e-6);
+        }
+
+        // Each eigenvector is a unit vector orthogonal to the constant vector.
+        for (final double[] eigenvector : solver.getEigenvectors()) {
+            double sum = 0;
+            double lengthSquared = 0;
+            for (final double value : eigenvector) {
+                sum += value;
+                lengthSquared += value * value;
+            }
+            assertEquals(sum, 0, 1e-6);
+            assertEquals(lengthSquared, 1, 1e-6);
+        }
+    }
+
+    /**
+     * The Fiedler vector of a path orders the vertices along the path.
+     */
+    @Test
+    public void testSparseSpectralEmbedding() {
+        System.out.println("sparseSpectralEmbedding");
+
+        final int n = GraphSpectrumEmbedder.DENSE_LIMIT * 2;
+        final MutableIntSet vertices = new IntHashSet();
+        final StoreGraph graph = pathGraph(n, vertices);
+
+        final MutableIntObjectMap<double[]> positions = GraphSpectrumEmbedder.spectralEmbedding(graph, vertices);
+        assertEquals(positions.size(), n);
+
+        final double direction = Math.signum(positions.get(graph.getVertex(n - 1))[0] - positions.get(graph.getVertex(0))[0]);
+        assertFalse(direction == 0);
+        for (int i = 1; i < n; i++) {
+            final double step = positions.get(graph.getVertex(i))[0] - positions.get(graph.getVertex(i - 1))[0];
+            assertTrue(step * direction > 0, String.format("Vertex %d is out of order", i));
+        }
+    }
+}
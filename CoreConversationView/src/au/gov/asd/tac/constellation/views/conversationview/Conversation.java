@@ -20,6 +20,7 @@ import au.gov.asd.tac.constellation.graph.Graph;
 import au.gov.asd.tac.constellation.graph.GraphAttribute;
 import au.gov.asd.tac.constellation.graph.GraphElementType;
 import au.gov.asd.tac.constellation.graph.GraphReadMethods;
+import au.gov.asd.tac.constellation.graph.ReadableGraph;
 import au.gov.asd.tac.constellation.graph.attribute.ObjectAttributeDescription;
 import au.gov.asd.tac.constellation.graph.schema.visual.concept.VisualConcept;
 import au.gov.asd.tac.constellation.plugins.update.GraphUpdateController;
@@ -27,12 +28,12 @@ import au.gov.asd.tac.constellation.plugins.update.GraphUpdateManager;
 import au.gov.asd.tac.constellation.plugins.update.MultiAttributeUpdateComponent;
 import au.gov.asd.tac.constellation.plugins.update.UpdateComponent;
 import au.gov.asd.tac.constellation.plugins.update.UpdateController;
+import au.gov.asd.tac.constellation.utilities.text.StringUtilities;
 import au.gov.asd.tac.constellation.views.conversationview.TextConversationContributionProvider.TextContribution;
 import au.gov.asd.tac.constellation.views.conversationview.state.ConversationState;
 import au.gov.asd.tac.constellation.views.conversationview.state.ConversationViewConcept;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -43,6 +44,9 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import javafx.application.Platform;
 import javafx.collections.ObservableList;
+import org.apache.commons.lang3.StringUtils;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
 
 /**
  * A Conversation is model of the all the content for the Conversation View. It
@@ -56,9 +60,15 @@ import javafx.collections.ObservableList;
  * according to the following procedure.
  * {@link Conversation#messageProvider messageProvider} examines the current
  * selection on the graph and populates the list
- * {@link Conversation#allMessages allMessages} accordingly. A number of other
- * providers then proceed to filter this list of messages, adding formatting
- * details to the messages that survive at each stage. The output of this
+ * {@link Conversation#allMessages allMessages} accordingly. The datetime provider
+ * then dates these messages so that the positions of the dated messages can be
+ * sorted into {@link Conversation#temporalOrder temporalOrder}. Only messages
+ * up to the end of the current page are given contributions and senders,
+ * or up to the message holding the current search match, and the messages
+ * that survive this filtering are kept in
+ * {@link Conversation#senderMessages senderMessages} so that later pages carry
+ * on from where the last one stopped. The results of the providers are cached
+ * per transaction in a {@link ConversationMessageCache}. The output of this
  * process is {@link Conversation#resultMessages resultMessages}, a list that
  * {@link ConversationBox} listens to in order to display the conversation.
  * <br><br>
@@ -82,8 +92,6 @@ public class Conversation {
     
     private static final Logger LOGGER = Logger.getLogger(Conversation.class.getName());
 
-    private static final Comparator<ConversationMessage> TEMPORAL_COMPARATOR = (ConversationMessage o1, ConversationMessage o2) -> o1.getDatetime().compareTo(o2.getDatetime());
-
     private static final int LOCK_STAGE = 0;
     private static final int UPDATE_STAGE = 1;
     private static final int JAVAFX_STAGE = 2;
@@ -103,9 +111,12 @@ public class Conversation {
     private ConversationBackgroundProvider backgroundProvider = new DefaultConversationBackgroundProvider();
 
     private final List<ConversationMessage> allMessages = new ArrayList<>();
-    private final List<ConversationMessage> contributingMessages = new ArrayList<>();
-    private final List<ConversationMessage> temporalMessages = new ArrayList<>();
+    // The positions in allMessages of the messages with a datetime, sorted by datetime.
+    private final MutableIntList temporalOrder = new IntArrayList();
+    // The position in temporalOrder of the next message to give contributions and a sender.
+    private int nextTemporalPosition = 0;
     private final List<ConversationMessage> senderMessages = new ArrayList<>();
+    private final ConversationMessageCache messageCache = new ConversationMessageCache();
     private final List<ConversationMessage> visibleMessages = new ArrayList<>();
     private int pageNumber = 0;
     private int totalMessageCount = 0;
@@ -121,7 +132,6 @@ public class Conversation {
 
     // Thread names.
     private static final String CONVERSATION_VIEW_UPDATE_COLOR_THREAD_NAME = "Conversation View: Update Color Stage";
-    private static final String CONVERSATION_VIEW_UPDATE_CONTRIBUTIONS_THREAD_NAME = "Conversation View: Update Contributions";
     private static final String CONVERSATION_VIEW_UPDATE_DATETIME_THREAD_NAME = "Conversation View: Update Datetime";
     private static final String CONVERSATION_VIEW_UPDATE_MESSAGE_THREAD_NAME = "Conversation View: Update Message in Conversation";
     private static final String CONVERSATION_VIEW_UPDATE_SENDER_THREAD_NAME = "Conversation View: Update Sender Attribute Stage";
@@ -149,17 +159,14 @@ public class Conversation {
         messageUpdater.dependOn(graphUpdateController.createAttributeUpdateComponent(VisualConcept.VertexAttribute.SELECTED));
         messageUpdater.dependOn(graphUpdateController.createAttributeUpdateComponent(VisualConcept.TransactionAttribute.SELECTED));
 
-        contributionUpdater.dependOn(messageUpdater);
-
-        datetimeUpdater.dependOn(contributionUpdater);
+        datetimeUpdater.dependOn(messageUpdater);
+        datetimeUpdater.dependOn(contributionProviderUpdater);
 
         senderUpdater.dependOn(datetimeUpdater);
         senderUpdater.dependOn(senderAttributes);
 
-        backgroundUpdater.dependOn(senderUpdater);
         colorUpdater.dependOn(senderUpdater);
 
-        visibilityUpdater.dependOn(backgroundUpdater);
         visibilityUpdater.dependOn(colorUpdater);
 
         resultUpdater.dependOn(visibilityUpdater);
@@ -207,7 +214,7 @@ public class Conversation {
      */
     public List<ConversationMessage> updateMessages(final GraphReadMethods graph) {
         ConversationController.getDefault().getConversationBox().setInProgress();
-        visibilityUpdater.update(graph);
+        updateVisibleMessages(graph);
         return visibleMessages;
     }
     
@@ -385,64 +392,12 @@ public class Conversation {
         }
     };
 
-    /**
-     * Updates the contribution stage of filtering and formatting for messages.
-     * Needs to update whenever the graph selection changes.
-     */
-    private UpdateComponent<GraphReadMethods> contributionUpdater = new UpdateComponent<GraphReadMethods>("Contributions", LOCK_STAGE) {
-        @Override
-        public boolean update(final GraphReadMethods graph) {
-            try {
-                final CountDownLatch latch = new CountDownLatch(1);
-
-                final Thread thread = new Thread(CONVERSATION_VIEW_UPDATE_CONTRIBUTIONS_THREAD_NAME) {
-                    @Override
-                    public void run() {
-                        contributingMessages.clear();
-                        contributingContributionProviders.clear();
-
-                        if (!allMessages.isEmpty()) {
-                            Platform.runLater(() -> {
-                                for (final ConversationMessage message : allMessages) {
-                                    message.getAllContributions().clear();
-
-                                    for (final ConversationContributionProvider contributionProvider : compatibleContributionProviders) {
-                                        final ConversationContribution contribution = contributionProvider.createContribution(graph, message);
-                                        if (contribution != null) {
-                                            contributingContributionProviders.add(contributionProvider);
-                                            message.getAllContributions().add(contribution);
-                                        }
-                                    }
-
-                                    if (!message.getAllContributions().isEmpty()) {
-                                        contributingMessages.add(message);
-                                    }
-                                }
-                                latch.countDown();
-                            });
-                        } else {
-                            latch.countDown();
-                        }
-                        
-                    }
-                };
-                thread.start();
-
-                latch.await();
-            } catch (final InterruptedException ex) {
-                LOGGER.log(Level.SEVERE, "Message contributions update was interrupted");
-                Thread.currentThread().interrupt();
-                return false;
-            }
-
-            return true;
-        }
-    };
-
     /**
      * Updates the temporal stage of filtering and formatting for messages. This
      * includes setting date times that are used to sort messages in this
-     * Conversation. Needs to update whenever the graph selection changes.
+     * Conversation. Only the positions of the messages are sorted, and messages
+     * without a date time are left out. Needs to update whenever the graph
+     * selection changes.
      */
     private UpdateComponent<GraphReadMethods> datetimeUpdater = new UpdateComponent<GraphReadMethods>("Datetime", LOCK_STAGE) {
         @Override
@@ -453,29 +408,33 @@ public class Conversation {
                 final Thread thread = new Thread(CONVERSATION_VIEW_UPDATE_DATETIME_THREAD_NAME) {
                     @Override
                     public void run() {
-                        temporalMessages.clear();
-                        if (!contributingMessages.isEmpty()) {
-                            datetimeProvider.updateDatetimes(graph, contributingMessages);
-
-                            for (final ConversationMessage message : contributingMessages) {
-                                boolean thereIsTextContribution = false;
-
-                                if (message != null) {
-                                    for (final ConversationContribution cont : message.getAllContributions()) {
-                                        if (cont instanceof TextContribution) {
-                                            thereIsTextContribution = true;
-                                            break;
-                                        }
-                                    }
-
-                                    // We only want to add messages that contain any content in them.
-                                    if (message.getDatetime() != null && thereIsTextContribution) {
-                                        temporalMessages.add(message);
-                                    }
+                        temporalOrder.clear();
+                        messageCache.validate(graph, compatibleContributionProviders);
+                        if (!allMessages.isEmpty()) {
+                            final List<ConversationMessage> undatedMessages = new ArrayList<>();
+                            for (final ConversationMessage message : allMessages) {
+                                if (messageCache.hasDatetime(message.getTransaction())) {
+                                    message.setDatetime(messageCache.getDatetime(message.getTransaction()));
+                                } else {
+                                    undatedMessages.add(message);
                                 }
                             }
+                            datetimeProvider.updateDatetimes(graph, undatedMessages);
+                            for (final ConversationMessage message : undatedMessages) {
+                                messageCache.putDatetime(message.getTransaction(), message.getDatetime());
+                            }
+
+                            for (int position = 0; position < allMessages.size(); position++) {
+                                if (allMessages.get(position).getDatetime() != null) {
+                                    temporalOrder.add(position);
+                                }
+                            }
+                            // Break ties on position so that the order matches a stable sort of the messages.
+                            temporalOrder.sortThis((position1, position2) -> {
+                                final int comparison = allMessages.get(position1).getDatetime().compareTo(allMessages.get(position2).getDatetime());
+                                return comparison != 0 ? comparison : Integer.compare(position1, position2);
+                            });
                         }
-                        temporalMessages.sort(TEMPORAL_COMPARATOR);
 
                         latch.countDown();
                     }
@@ -495,59 +454,28 @@ public class Conversation {
 
     /**
      * Updates the sender attribute stage of filtering and formatting for
-     * messages. Needs to update whenever the graph selection changes, or the
-     * values of an attribute in the current list of senderAttributes changes.
+     * messages. Contributions and senders are only created for messages as they
+     * are paged to, so this forgets the messages that have been given them so
+     * far. Needs to update whenever the graph selection changes, or the values
+     * of an attribute in the current list of senderAttributes changes.
      */
     private UpdateComponent<GraphReadMethods> senderUpdater = new UpdateComponent<GraphReadMethods>("Senders", LOCK_STAGE) {
         @Override
         public boolean update(final GraphReadMethods graph) {
-            try {
-                final CountDownLatch latch = new CountDownLatch(1);
-
-                final Thread thread = new Thread(CONVERSATION_VIEW_UPDATE_SENDER_THREAD_NAME) {
-                    @Override
-                    public void run() {
-                        senderMessages.clear();
-                        if (!temporalMessages.isEmpty()) {
-                            senderProvider.updateMessageSenders(graph, temporalMessages, conversationState.getSenderAttributes());
-
-                            for (final ConversationMessage message : temporalMessages) {
-                                if (message.getSenderContent() != null) {
-                                    senderMessages.add(message);
-                                }
-                            }
-                        }
-                        latch.countDown();
-                    }
-                };
-                thread.start();
-
-                latch.await();
-            } catch (final InterruptedException ex) {
-                LOGGER.log(Level.SEVERE, "Message senders update was interrupted");
-                Thread.currentThread().interrupt();
-                return false;
+            synchronized (senderMessages) {
+                messageCache.validateSenders(conversationState.getSenderAttributes());
+                senderMessages.clear();
+                nextTemporalPosition = 0;
+                contributingContributionProviders.clear();
             }
-
-            return true;
-        }
-    };
-
-    /**
-     * Updates the background stage of filtering and formatting for messages.
-     * Updates whenever the senderUpdater does.
-     */
-    private UpdateComponent<GraphReadMethods> backgroundUpdater = new UpdateComponent<GraphReadMethods>("Backgrounds", LOCK_STAGE) {
-        @Override
-        public boolean update(final GraphReadMethods graph) {
-            backgroundProvider.updateMessageBackgrounds(graph, senderMessages);
             return true;
         }
     };
 
     /**
-     * Updates the color stage of filtering and formatting for messages. Updates
-     * whenever the senderUpdater does.
+     * Updates the color stage of filtering and formatting for messages. Colors
+     * are given to every dated message so that a sender keeps the same color
+     * on every page. Updates whenever the senderUpdater does.
      */
     private UpdateComponent<GraphReadMethods> colorUpdater = new UpdateComponent<GraphReadMethods>(LOCK_STAGE) {
         @Override
@@ -558,8 +486,12 @@ public class Conversation {
                 final Thread thread = new Thread(CONVERSATION_VIEW_UPDATE_COLOR_THREAD_NAME) {
                     @Override
                     public void run() {
-                        if (!senderMessages.isEmpty()) {
-                            colorProvider.updateMessageColors(graph, senderMessages);
+                        if (!temporalOrder.isEmpty()) {
+                            final List<ConversationMessage> temporalMessages = new ArrayList<>(temporalOrder.size());
+                            for (int i = 0; i < temporalOrder.size(); i++) {
+                                temporalMessages.add(allMessages.get(temporalOrder.get(i)));
+                            }
+                            colorProvider.updateMessageColors(graph, temporalMessages);
                         }
                         latch.countDown();
                     }
@@ -577,7 +509,13 @@ public class Conversation {
 
     /**
      * Updates the visibility stage of filtering and formatting for messages.
-     * Updates whenever the senderUpdater does.
+     * This gives contributions, senders and backgrounds to messages up to the
+     * end of the current page. Updates whenever the colorUpdater does.
+     * <br><br>
+     * The graph given to this stage has already been released, so the graph
+     * is locked again while the messages are updated. Some contributions
+     * create javafx controls, so the messages are updated on the javafx
+     * thread while this thread holds the lock.
      */
     private UpdateComponent<GraphReadMethods> visibilityUpdater = new UpdateComponent<GraphReadMethods>("Visibility", UPDATE_STAGE) {
 
@@ -593,25 +531,160 @@ public class Conversation {
 
         @Override
         public boolean update(final GraphReadMethods graph) {
-            visibleMessages.clear();
-            int count = 0;
-            if (totalMessageCount > 0) {
-                for (final ConversationMessage message : senderMessages) {
+            final Graph activeGraph = graphUpdateManager.getActiveGraph();
+            if (activeGraph == null) {
+                visibleMessages.clear();
+                ConversationController.getDefault().getConversationBox().setProgressComplete();
+                return true;
+            }
+
+            final ReadableGraph rg = activeGraph.getReadableGraph();
+            try {
+                final CountDownLatch latch = new CountDownLatch(1);
+                Platform.runLater(() -> {
+                    try {
+                        updateVisibleMessages(rg);
+                    } finally {
+                        latch.countDown();
+                    }
+                });
+                latch.await();
+            } catch (final InterruptedException ex) {
+                LOGGER.log(Level.SEVERE, "Message visibility update was interrupted");
+                Thread.currentThread().interrupt();
+                ConversationController.getDefault().getConversationBox().setProgressComplete();
+                return false;
+            } finally {
+                rg.release();
+            }
+            return true;
+        }
+    };
+
+    /**
+     * Fill the visible messages with the messages on the current page. This
+     * must be called on the javafx thread with the graph locked.
+     */
+    private void updateVisibleMessages(final GraphReadMethods graph) {
+        visibleMessages.clear();
+        if (totalMessageCount > 0) {
+            final int minValue = pageNumber * contentPerPage;
+            final int maxValue = minValue + contentPerPage;
+            synchronized (senderMessages) {
+                materialiseMessages(graph, maxValue);
+
+                for (int count = 0; count < senderMessages.size(); count++) {
+                    final ConversationMessage message = senderMessages.get(count);
                     message.filterContributions(conversationState.getHiddenContributionProviders());
-                    final int minValue = pageNumber * contentPerPage;
-                    final int maxValue = minValue + contentPerPage;
-                    if (!message.getVisibleContributions().isEmpty() && visibleMessages.size() < contentPerPage && minValue <= count && count < maxValue) {
+                    if (!message.getVisibleContributions().isEmpty() && minValue <= count && count < maxValue) {
                         visibleMessages.add(message);
                     }
-                    count++;
                 }
-                totalPages = (int) Math.ceil((double) totalMessageCount / contentPerPage);
             }
+            totalPages = (int) Math.ceil((double) totalMessageCount / contentPerPage);
+        }
 
-            ConversationController.getDefault().getConversationBox().setProgressComplete();
-            return true;
+        ConversationController.getDefault().getConversationBox().setProgressComplete();
+    }
+
+    /**
+     * Give contributions and senders to the dated messages, in order of
+     * datetime, until there are enough messages with both to fill the
+     * requested count or there are no more dated messages. Messages without a
+     * text contribution or a sender are left out, as are their positions in
+     * the count. This must be called on the javafx thread with the graph
+     * locked and while holding the lock on {@link #senderMessages}.
+     *
+     * @param graph The graph that the messages come from.
+     * @param requiredCount The number of messages with both contributions and a
+     * sender that are needed.
+     */
+    private void materialiseMessages(final GraphReadMethods graph, final int requiredCount) {
+        final int initialCount = senderMessages.size();
+        while (senderMessages.size() < requiredCount && nextTemporalPosition < temporalOrder.size()) {
+            final int batchEnd = Math.min(temporalOrder.size(), nextTemporalPosition + requiredCount - senderMessages.size());
+            final List<ConversationMessage> batch = new ArrayList<>(batchEnd - nextTemporalPosition);
+            for (int i = nextTemporalPosition; i < batchEnd; i++) {
+                batch.add(allMessages.get(temporalOrder.get(i)));
+            }
+            nextTemporalPosition = batchEnd;
+
+            updateContributions(graph, batch);
+
+            final List<ConversationMessage> textMessages = new ArrayList<>(batch.size());
+            for (final ConversationMessage message : batch) {
+                for (final ConversationContribution contribution : message.getAllContributions()) {
+                    // We only want to add messages that contain any content in them.
+                    if (contribution instanceof TextContribution) {
+                        textMessages.add(message);
+                        break;
+                    }
+                }
+            }
+
+            updateSenders(graph, textMessages);
+
+            for (final ConversationMessage message : textMessages) {
+                if (message.getSenderContent() != null) {
+                    senderMessages.add(message);
+                }
+            }
         }
-    };
+
+        // Backgrounds alternate from the first message, so they are updated
+        // for every message so far whenever more messages are added.
+        if (senderMessages.size() != initialCount) {
+            backgroundProvider.updateMessageBackgrounds(graph, senderMessages);
+        }
+    }
+
+    /**
+     * Set the contributions of messages from the cache, asking the
+     * contribution providers for any not in the cache.
+     */
+    private void updateContributions(final GraphReadMethods graph, final List<ConversationMessage> messages) {
+        for (final ConversationMessage message : messages) {
+            final List<ConversationContribution> contributions = messageCache.getContributions(message.getTransaction());
+            message.getAllContributions().clear();
+            if (contributions == null) {
+                for (final ConversationContributionProvider contributionProvider : compatibleContributionProviders) {
+                    final ConversationContribution contribution = contributionProvider.createContribution(graph, message);
+                    if (contribution != null) {
+                        message.getAllContributions().add(contribution);
+                    }
+                }
+                messageCache.putContributions(message.getTransaction(), message.getAllContributions());
+            } else {
+                message.getAllContributions().addAll(contributions);
+            }
+
+            for (final ConversationContribution contribution : message.getAllContributions()) {
+                contributingContributionProviders.add(contribution.getProvider());
+            }
+        }
+    }
+
+    /**
+     * Set the senders of messages from the cache, asking the sender provider
+     * for any not in the cache.
+     */
+    private void updateSenders(final GraphReadMethods graph, final List<ConversationMessage> messages) {
+        final List<ConversationMessage> uncachedMessages = new ArrayList<>();
+        for (final ConversationMessage message : messages) {
+            if (messageCache.hasSender(message.getTransaction())) {
+                message.setSenderContent(messageCache.getSender(message.getTransaction()));
+            } else {
+                uncachedMessages.add(message);
+            }
+        }
+
+        if (!uncachedMessages.isEmpty()) {
+            senderProvider.updateMessageSenders(graph, uncachedMessages, conversationState.getSenderAttributes());
+            for (final ConversationMessage message : uncachedMessages) {
+                messageCache.putSender(message.getTransaction(), message.getSenderContent());
+            }
+        }
+    }
 
     /**
      * Updates the final list of messages that will be actually displayed by the
@@ -709,7 +782,131 @@ public class Conversation {
         return Collections.unmodifiableList(visibleMessages);
     }
     
+    /**
+     * Returns the messages that have been given contributions and a sender so
+     * far, in order of datetime. This covers every message up to the end of
+     * the furthest page that has been shown.
+     *
+     * @return List of messages with contributions and a sender.
+     */
     protected List<ConversationMessage> getSenderMessages() {
-        return Collections.unmodifiableList(senderMessages);
+        synchronized (senderMessages) {
+            return Collections.unmodifiableList(new ArrayList<>(senderMessages));
+        }
+    }
+
+    /**
+     * Find every occurrence of the search text in the dated messages, in order
+     * of datetime. Only the text of the messages is searched: cached
+     * contributions give their text, and otherwise each contribution provider
+     * reads the text it would show from the graph. No contributions or senders
+     * are created, so this should be called off the javafx thread rather than
+     * giving every message its javafx controls. Messages that would not be
+     * shown because they have no text contribution are left out, as are the
+     * contributions of hidden providers.
+     *
+     * @param searchText The text to search for.
+     * @return The position in datetime order of the message holding each
+     * occurrence, so a message appears once for each occurrence in it.
+     */
+    protected MutableIntList searchMessages(final String searchText) {
+        final MutableIntList occurrences = new IntArrayList();
+        final Graph graph = graphUpdateManager.getActiveGraph();
+        if (graph == null || StringUtils.isBlank(searchText)) {
+            return occurrences;
+        }
+
+        // The update controller is locked before the graph, in the same order
+        // as the update stages, so that the messages don't change underneath
+        // the search.
+        updateController.lock();
+        try {
+            final ReadableGraph rg = graph.getReadableGraph();
+            try {
+                final Set<String> hiddenProviders = conversationState.getHiddenContributionProviders();
+                for (int position = 0; position < temporalOrder.size(); position++) {
+                    final ConversationMessage message = allMessages.get(temporalOrder.get(position));
+                    final int count = countOccurrences(rg, message, searchText, hiddenProviders);
+                    for (int i = 0; i < count; i++) {
+                        occurrences.add(position);
+                    }
+                }
+            } finally {
+                rg.release();
+            }
+        } finally {
+            updateController.release();
+        }
+        return occurrences;
+    }
+
+    /**
+     * Count the occurrences of the search text in the text of a message.
+     */
+    private int countOccurrences(final GraphReadMethods graph, final ConversationMessage message, final String searchText, final Set<String> hiddenProviders) {
+        boolean hasText = false;
+        int count = 0;
+        final List<ConversationContribution> contributions = messageCache.getContributions(message.getTransaction());
+        if (contributions != null) {
+            for (final ConversationContribution contribution : contributions) {
+                hasText |= contribution instanceof TextContribution;
+                if (!hiddenProviders.contains(contribution.getProvider().getName())) {
+                    count += StringUtilities.searchRange(contribution.getText(), searchText).size();
+                }
+            }
+        } else if (compatibleContributionProviders != null) {
+            for (final ConversationContributionProvider contributionProvider : compatibleContributionProviders) {
+                final String text = contributionProvider.getSearchText(graph, message);
+                hasText |= contributionProvider instanceof TextConversationContributionProvider && text != null;
+                if (!hiddenProviders.contains(contributionProvider.getName())) {
+                    count += StringUtilities.searchRange(text, searchText).size();
+                }
+            }
+        }
+        return hasText ? count : 0;
+    }
+
+    /**
+     * Returns the dated message at the given position in datetime order.
+     *
+     * @param temporalPosition The position of the message in datetime order.
+     * @return The message, or null if there is no message at that position.
+     */
+    protected ConversationMessage getDatedMessage(final int temporalPosition) {
+        return temporalPosition < temporalOrder.size() ? allMessages.get(temporalOrder.get(temporalPosition)) : null;
+    }
+
+    /**
+     * Give contributions and senders to the dated messages up to the one at
+     * the given position in datetime order, so that the page holding it can
+     * be shown. Messages after it are left alone. This must be called on the
+     * javafx thread.
+     *
+     * @param temporalPosition The position of the message in datetime order.
+     * @return The index of the message among the messages with contributions
+     * and a sender, or -1 if it is not one of them.
+     */
+    protected int materialiseMessage(final int temporalPosition) {
+        final Graph graph = graphUpdateManager.getActiveGraph();
+        if (graph == null) {
+            return -1;
+        }
+
+        // The graph is locked before senderMessages, in the same order as the
+        // update stages, so that neither waits for the other.
+        final ReadableGraph rg = graph.getReadableGraph();
+        try {
+            synchronized (senderMessages) {
+                if (temporalPosition >= temporalOrder.size()) {
+                    return -1;
+                }
+                if (nextTemporalPosition <= temporalPosition) {
+                    materialiseMessages(rg, senderMessages.size() + temporalPosition + 1 - nextTemporalPosition);
+                }
+                return senderMessages.lastIndexOf(allMessages.get(temporalOrder.get(temporalPosition)));
+            }
+        } finally {
+            rg.release();
+        }
     }
 }
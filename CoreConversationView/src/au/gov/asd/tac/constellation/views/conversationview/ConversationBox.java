@@ -79,8 +79,8 @@ import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.util.Callback;
 import org.apache.commons.lang3.StringUtils;
-import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
-import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
 import org.openide.util.HelpCtx;
 
 /**
@@ -126,6 +126,10 @@ public final class ConversationBox extends StackPane {
     private static final String CSS_BACKGROUND_COLOR_TRANSPARENT = "-fx-background-color: transparent;";
     private int foundCount;
     private int searchCount;
+    // The position in datetime order of the message holding each match of the last search.
+    private MutableIntList searchMatches = new IntArrayList();
+    private int searchGeneration = 0;
+    private static final String CONVERSATION_VIEW_SEARCH_THREAD_NAME = "Conversation View: Search";
 
     private static final boolean DARK_MODE = JavafxStyleManager.isDarkTheme();
     private static final String FOUND_TEXT = "Showing ";
@@ -233,8 +237,7 @@ public final class ConversationBox extends StackPane {
         // and update the found count label
         messages.addListener((Change<? extends ConversationMessage> c) -> {
             updatePages(conversation.getTotalPages());
-            highlightRegions(false);
-            refreshCountUI(false);
+            search(false);
         });
 
         showToolTip.setSelected(true);
@@ -267,8 +270,7 @@ public final class ConversationBox extends StackPane {
             // If they hit enter iterate through the results
             searchCount = "\r".equals(e.getCharacter()) && foundCount > 0 ? (searchCount + 1) % foundCount : 0;
 
-            highlightRegions(true);
-            refreshCountUI(false);
+            search(true);
         });
 
         prevButton.setOnAction(event -> {
@@ -380,49 +382,80 @@ public final class ConversationBox extends StackPane {
         foundLabel.setStyle(foundCount > 0 ? FOUND_PASS_COLOR : FOUND_FAIL_COLOR);
     }
 
+    /**
+     * Searches every dated message in the Conversation for the text currently present in the searchTextField, then
+     * highlights the results. The search runs off the javafx thread over the text of the messages, so messages that
+     * have not been shown yet are not given their contributions. Only the results of the latest search are shown.
+     */
+    private void search(final boolean needsUpdate) {
+        final String searchText = searchTextField.getText();
+        final int generation = ++searchGeneration;
+        if (StringUtils.isBlank(searchText)) {
+            showSearchResults(new IntArrayList(), needsUpdate);
+            return;
+        }
+
+        new Thread(() -> {
+            final MutableIntList matches = conversation.searchMessages(searchText);
+            Platform.runLater(() -> {
+                if (generation == searchGeneration) {
+                    showSearchResults(matches, needsUpdate);
+                }
+            });
+        }, CONVERSATION_VIEW_SEARCH_THREAD_NAME).start();
+    }
+
+    private void showSearchResults(final MutableIntList matches, final boolean needsUpdate) {
+        searchMatches = matches;
+        foundCount = matches.size();
+        if (searchCount >= foundCount) {
+            searchCount = 0;
+        }
+        highlightRegions(needsUpdate);
+        refreshCountUI(false);
+    }
+
     /**
      * Highlights the currently visible regions in the Conversation View based on the text currently present in the
-     * searchTextField.
+     * searchTextField, and shows the current match of the last search.
      */
     private void highlightRegions(final boolean needsUpdate) {
-        foundCount = 0;
-
-        final MutableIntObjectMap<ConversationMessage> matches = new IntObjectHashMap<>();
+        final String searchText = searchTextField.getText();
         final List<ConversationMessage> visibleMessages = conversation.getVisibleMessages();
-        final List<ConversationMessage> senderMessages = conversation.getSenderMessages();
 
-        senderMessages.forEach(message -> {
+        visibleMessages.forEach(message -> {
             final List<ConversationContribution> visibleContributions = message.getVisibleContributions();
 
             visibleContributions.forEach(contribution -> {
                 final Region region = contribution.getContent(tipsPane);
 
                 if (region instanceof EnhancedTextArea enhancedTextArea) {
-                    foundCount += enhancedTextArea.highlightText(searchTextField.getText());
-                    matches.put(foundCount, message);
+                    enhancedTextArea.highlightText(searchText);
                 }
 
                 if (region instanceof GridPane gridPane) {
                     gridPane.getChildren().forEach(child -> {
                         if (child instanceof EnhancedTextArea textArea) {
-                            foundCount += textArea.highlightText(searchTextField.getText());
-                            matches.put(foundCount, message);
+                            textArea.highlightText(searchText);
                         }
                     });
                 }
             });
         });
-        if (foundCount > 0) {
-            if (visibleMessages.contains(matches.get(searchCount))) {
+        if (searchCount < searchMatches.size()) {
+            final int position = searchMatches.get(searchCount);
+            final ConversationMessage match = conversation.getDatedMessage(position);
+            if (visibleMessages.contains(match)) {
                 // If the current match is on the current page, scroll to the bubble
-                bubbles.scrollTo(matches.get(searchCount));
-            } else if (senderMessages.contains(matches.get(searchCount)) && needsUpdate) {
-                // If the next match is on a future page, swap to that page
-                final int indexOfSearch = senderMessages.indexOf(matches.get(searchCount));
-                final int pageNumber = (int) Math.ceil(indexOfSearch / contentPerPageChoiceBox.getValue());
-
-                pagination.setCurrentPageIndex(pageNumber);
-                bubbles.scrollTo(matches.get(searchCount));
+                bubbles.scrollTo(match);
+            } else if (match != null && needsUpdate) {
+                // If the current match is on another page, only the messages up to it are given their
+                // contributions so that its page can be found, then swap to that page
+                final int indexOfSearch = conversation.materialiseMessage(position);
+                if (indexOfSearch >= 0) {
+                    pagination.setCurrentPageIndex(indexOfSearch / contentPerPageChoiceBox.getValue());
+                    bubbles.scrollTo(match);
+                }
             }
         }
     }
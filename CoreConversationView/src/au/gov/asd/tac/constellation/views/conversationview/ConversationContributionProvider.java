@@ -106,6 +106,22 @@ public abstract class ConversationContributionProvider implements Comparable<Con
      */
     public abstract ConversationContribution createContribution(final GraphReadMethods graph, final ConversationMessage message);
 
+    /**
+     * Returns the text that the Contribution for the given message would hold,
+     * without creating the Contribution. This lets a search cover messages
+     * that have not been shown yet without creating their javafx controls.
+     * The default returns null, so the text of providers that don't override
+     * this is only searched once their Contributions have been created.
+     *
+     * @param graph The graph that the message comes from.
+     * @param message The message to get the text for.
+     * @return The text of the Contribution for the message, or null if there
+     * is none.
+     */
+    public String getSearchText(final GraphReadMethods graph, final ConversationMessage message) {
+        return null;
+    }
+
     /**
      * Get a list of all providers by using lookup. This will find all providers
      * that have been registered as service providers of
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.views.conversationview;
+
+import au.gov.asd.tac.constellation.graph.Graph;
+import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.GraphReadMethods;
+import au.gov.asd.tac.constellation.graph.schema.visual.concept.VisualConcept;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+
+/**
+ * A cache of the results of the providers of a {@link Conversation}, keyed by
+ * transaction id.
+ * <br><br>
+ * Selecting different vertices on the graph creates new
+ * {@link ConversationMessage} objects, but the datetime, contributions and
+ * sender of a transaction only change when the values on the graph do. The
+ * cache remembers the modification counters of the graph and forgets
+ * everything when any value other than the selection changes, so providers
+ * are only asked about transactions they have not seen since.
+ *
+ * @author sirius
+ */
+final class ConversationMessageCache {
+
+    private String graphId = null;
+    private long modificationCounter = Long.MIN_VALUE;
+    private List<ConversationContributionProvider> contributionProviders = null;
+    private List<String> senderAttributes = null;
+
+    private final MutableIntObjectMap<ConversationDatetime> datetimes = new IntObjectHashMap<>();
+    private final MutableIntObjectMap<List<ConversationContribution>> contributions = new IntObjectHashMap<>();
+    private final MutableIntObjectMap<ConversationSender> senders = new IntObjectHashMap<>();
+
+    /**
+     * Forget everything in the cache if the graph, the values on it other than
+     * the selection, or the contribution providers have changed since it was
+     * last validated.
+     *
+     * @param graph The graph that the messages come from.
+     * @param contributionProviders The providers that create contributions for
+     * the messages.
+     */
+    synchronized void validate(final GraphReadMethods graph, final List<ConversationContributionProvider> contributionProviders) {
+        final String newGraphId = graph == null ? null : graph.getId();
+        final long newModificationCounter = graph == null ? Long.MIN_VALUE : getContentModificationCounter(graph);
+        if (!Objects.equals(graphId, newGraphId) || modificationCounter != newModificationCounter
+                || !Objects.equals(this.contributionProviders, contributionProviders)) {
+            clear();
+            graphId = newGraphId;
+            modificationCounter = newModificationCounter;
+            this.contributionProviders = contributionProviders == null ? null : new ArrayList<>(contributionProviders);
+        }
+    }
+
+    /**
+     * Forget the senders in the cache if the sender attributes have changed
+     * since they were last validated.
+     *
+     * @param senderAttributes The vertex attributes used to describe senders.
+     */
+    synchronized void validateSenders(final List<String> senderAttributes) {
+        if (!Objects.equals(this.senderAttributes, senderAttributes)) {
+            senders.clear();
+            this.senderAttributes = senderAttributes == null ? null : new ArrayList<>(senderAttributes);
+        }
+    }
+
+    /**
+     * Forget everything in the cache.
+     */
+    synchronized void clear() {
+        graphId = null;
+        modificationCounter = Long.MIN_VALUE;
+        contributionProviders = null;
+        senderAttributes = null;
+        datetimes.clear();
+        contributions.clear();
+        senders.clear();
+    }
+
+    synchronized boolean hasDatetime(final int transaction) {
+        return datetimes.containsKey(transaction);
+    }
+
+    synchronized ConversationDatetime getDatetime(final int transaction) {
+        return datetimes.get(transaction);
+    }
+
+    synchronized void putDatetime(final int transaction, final ConversationDatetime datetime) {
+        datetimes.put(transaction, datetime);
+    }
+
+    /**
+     * Get the contributions for a transaction.
+     *
+     * @param transaction The id of the transaction.
+     * @return The contributions for the transaction, or null if they are not
+     * in the cache.
+     */
+    synchronized List<ConversationContribution> getContributions(final int transaction) {
+        return contributions.get(transaction);
+    }
+
+    synchronized void putContributions(final int transaction, final List<ConversationContribution> transactionContributions) {
+        contributions.put(transaction, new ArrayList<>(transactionContributions));
+    }
+
+    synchronized boolean hasSender(final int transaction) {
+        return senders.containsKey(transaction);
+    }
+
+    synchronized ConversationSender getSender(final int transaction) {
+        return senders.get(transaction);
+    }
+
+    synchronized void putSender(final int transaction, final ConversationSender sender) {
+        senders.put(transaction, sender);
+    }
+
+    /**
+     * Combine the modification counters of the graph, leaving out the
+     * selection attributes so that selecting elements doesn't change the
+     * result. The counters only ever increase, so their sum changes whenever
+     * any of them do.
+     */
+    private static long getContentModificationCounter(final GraphReadMethods graph) {
+        final int vertexSelectedAttribute = VisualConcept.VertexAttribute.SELECTED.get(graph);
+        final int transactionSelectedAttribute = VisualConcept.TransactionAttribute.SELECTED.get(graph);
+
+        long counter = graph.getStructureModificationCounter() + graph.getAttributeModificationCounter();
+        for (final GraphElementType elementType : new GraphElementType[]{GraphElementType.VERTEX, GraphElementType.TRANSACTION}) {
+            final int attributeCount = graph.getAttributeCount(elementType);
+            for (int i = 0; i < attributeCount; i++) {
+                final int attribute = graph.getAttribute(elementType, i);
+                if (attribute != Graph.NOT_FOUND && attribute != vertexSelectedAttribute && attribute != transactionSelectedAttribute) {
+                    counter += graph.getValueModificationCounter(attribute);
+                }
+            }
+        }
+        return counter;
+    }
+}
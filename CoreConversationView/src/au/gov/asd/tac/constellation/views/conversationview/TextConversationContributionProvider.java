@@ -57,6 +57,11 @@ public class TextConversationContributionProvider extends ConversationContributi
         return null;
     }
 
+    @Override
+    public String getSearchText(final GraphReadMethods graph, final ConversationMessage message) {
+        return graph.getStringValue(contentAttribute, message.getTransaction());
+    }
+
     protected class TextContribution extends ConversationContribution {
 
         private final String text;
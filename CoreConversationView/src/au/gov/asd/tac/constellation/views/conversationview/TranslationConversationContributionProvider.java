@@ -71,6 +71,11 @@ public class TranslationConversationContributionProvider extends ConversationCon
         return new TranslationContribution(graph.getId(), message, text);
     }
 
+    @Override
+    public String getSearchText(final GraphReadMethods graph, final ConversationMessage message) {
+        return graph.getStringValue(contentAttribute, message.getTransaction());
+    }
+
     private class TranslationContribution extends ConversationContribution {
 
         private final String graphId;
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.views.conversationview;
+
+import au.gov.asd.tac.constellation.graph.Graph;
+import au.gov.asd.tac.constellation.graph.ReadableGraph;
+import au.gov.asd.tac.constellation.graph.WritableGraph;
+import au.gov.asd.tac.constellation.graph.locking.DualGraph;
+import au.gov.asd.tac.constellation.graph.schema.SchemaFactoryUtilities;
+import au.gov.asd.tac.constellation.graph.schema.analytic.AnalyticSchemaFactory;
+import au.gov.asd.tac.constellation.graph.schema.analytic.concept.ContentConcept;
+import au.gov.asd.tac.constellation.graph.schema.visual.concept.VisualConcept;
+import java.util.ArrayList;
+import java.util.List;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for ConversationMessageCache
+ *
+ * @author sirius
+ */
+public class ConversationMessageCacheNGTest {
+
+    private Graph graph;
+
+    private int vxId1;
+    private int tnId1;
+
+    @BeforeMethod
+    public void setUpMethod() throws Exception {
+        graph = new DualGraph(SchemaFactoryUtilities.getSchemaFactory(AnalyticSchemaFactory.ANALYTIC_SCHEMA_ID).createSchema());
+        final WritableGraph wg = graph.getWritableGraph("", true);
+        try {
+            final int contentAttributeId = ContentConcept.TransactionAttribute.CONTENT.ensure(wg);
+            VisualConcept.VertexAttribute.SELECTED.ensure(wg);
+            VisualConcept.TransactionAttribute.SELECTED.ensure(wg);
+
+            vxId1 = wg.addVertex();
+            final int vxId2 = wg.addVertex();
+            tnId1 = wg.addTransaction(vxId1, vxId2, true);
+            wg.setStringValue(contentAttributeId, tnId1, "first message");
+        } finally {
+            wg.commit();
+        }
+    }
+
+    /**
+     * Test that selecting elements keeps the cache, while changing other values
+     * clears it.
+     */
+    @Test
+    public void testValidate() throws Exception {
+        System.out.println("validate");
+
+        final ConversationMessageCache instance = new ConversationMessageCache();
+        final ConversationDatetime datetime = mock(ConversationDatetime.class);
+        final ConversationSender sender = mock(ConversationSender.class);
+        final List<ConversationContributionProvider> providers = new ArrayList<>();
+
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            instance.validate(rg, providers);
+        }
+        instance.putDatetime(tnId1, datetime);
+        instance.putContributions(tnId1, new ArrayList<>());
+        instance.putSender(tnId1, sender);
+        assertSame(instance.getDatetime(tnId1), datetime);
+
+        WritableGraph wg = graph.getWritableGraph("", true);
+        try {
+            wg.setBooleanValue(VisualConcept.VertexAttribute.SELECTED.get(wg), vxId1, true);
+            wg.setBooleanValue(VisualConcept.TransactionAttribute.SELECTED.get(wg), tnId1, true);
+        } finally {
+            wg.commit();
+        }
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            instance.validate(rg, new ArrayList<>(providers));
+        }
+        assertTrue(instance.hasDatetime(tnId1));
+        assertTrue(instance.getContributions(tnId1).isEmpty());
+        assertSame(instance.getSender(tnId1), sender);
+
+        wg = graph.getWritableGraph("", true);
+        try {
+            wg.setStringValue(ContentConcept.TransactionAttribute.CONTENT.get(wg), tnId1, "changed message");
+        } finally {
+            wg.commit();
+        }
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            instance.validate(rg, providers);
+        }
+        assertFalse(instance.hasDatetime(tnId1));
+        assertNull(instance.getContributions(tnId1));
+        assertFalse(instance.hasSender(tnId1));
+    }
+
+    /**
+     * Test that changing the sender attributes only clears the senders.
+     */
+    @Test
+    public void testValidateSenders() {
+        System.out.println("validateSenders");
+
+        final ConversationMessageCache instance = new ConversationMessageCache();
+        instance.validateSenders(List.of("Label"));
+        instance.putDatetime(tnId1, null);
+        instance.putSender(tnId1, mock(ConversationSender.class));
+
+        instance.validateSenders(List.of("Label"));
+        assertTrue(instance.hasSender(tnId1));
+
+        instance.validateSenders(List.of("Identifier"));
+        assertFalse(instance.hasSender(tnId1));
+        assertTrue(instance.hasDatetime(tnId1));
+    }
+}
@@ -31,6 +31,8 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.testfx.api.FxToolkit;
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
@@ -152,4 +154,17 @@ public class ConversationNGTest {
             assertEquals(result, expResult);
         }
     }
+
+    /**
+     * Test of searchMessages method, of class Conversation, without a graph.
+     */
+    @Test
+    public void testSearchMessagesWithoutGraph() {
+        System.out.println("searchMessagesWithoutGraph");
+
+        final Conversation instance = new Conversation();
+        assertTrue(instance.searchMessages("text").isEmpty());
+        assertNull(instance.getDatedMessage(0));
+        assertEquals(-1, instance.materialiseMessage(0));
+    }
 }
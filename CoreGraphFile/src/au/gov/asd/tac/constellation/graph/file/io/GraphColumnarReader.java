@@ -0,0 +1,704 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.graph.file.io;
+
+import au.gov.asd.tac.constellation.graph.Graph;
+import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.StoreGraph;
+import au.gov.asd.tac.constellation.graph.attribute.BooleanAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.io.AbstractGraphIOProvider;
+import au.gov.asd.tac.constellation.graph.attribute.io.GraphByteReader;
+import au.gov.asd.tac.constellation.graph.attribute.io.GraphByteWriter;
+import au.gov.asd.tac.constellation.graph.locking.DualGraph;
+import au.gov.asd.tac.constellation.graph.schema.SchemaFactory;
+import au.gov.asd.tac.constellation.graph.schema.SchemaFactoryUtilities;
+import au.gov.asd.tac.constellation.graph.versioning.UpdateProvider;
+import au.gov.asd.tac.constellation.graph.versioning.UpdateProviderManager;
+import au.gov.asd.tac.constellation.utilities.datastructure.ImmutableObjectCache;
+import au.gov.asd.tac.constellation.utilities.gui.IoProgress;
+import au.gov.asd.tac.constellation.utilities.json.JsonFactoryUtilities;
+import au.gov.asd.tac.constellation.utilities.stream.ExtendedBuffer;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.eclipse.collections.api.list.primitive.MutableIntList;
+import org.eclipse.collections.api.map.primitive.MutableIntLongMap;
+import org.eclipse.collections.impl.list.mutable.primitive.IntArrayList;
+import org.eclipse.collections.impl.map.mutable.primitive.IntLongHashMap;
+import org.openide.util.Lookup;
+
+/**
+ * Read a graph in the columnar format written by {@link GraphColumnarWriter}.
+ * <p>
+ * The elements of the graph are created first, then the attribute blocks are
+ * read and decoded in parallel, a bounded number ahead of the block currently
+ * being applied to the graph. Blocks are applied to the graph one at a time
+ * and in file order on the calling thread, so that IO providers see the graph
+ * in the same state as they would when reading a JSON graph file. Binary
+ * blocks are applied a whole column at a time.
+ * <p>
+ * When the graph file is read from disk, each block is read directly from the
+ * zip file when it is needed rather than the whole zip file being read into
+ * memory first.
+ *
+ * @author algol
+ */
+public final class GraphColumnarReader {
+
+    private static final Logger LOGGER = Logger.getLogger(GraphColumnarReader.class.getName());
+
+    private static final int BLOCKS_AHEAD = ForkJoinPool.getCommonPoolParallelism() + 1;
+
+    private static final String PLACEHOLDER_PREFIX = "columnar_placeholder_";
+
+    private final Map<String, AbstractGraphIOProvider> providers;
+
+    /**
+     * Construct a new GraphColumnarReader.
+     */
+    public GraphColumnarReader() {
+        providers = new HashMap<>();
+
+        final Lookup.Result<AbstractGraphIOProvider> providerResults = Lookup.getDefault().lookupResult(AbstractGraphIOProvider.class);
+        providerResults.allInstances().forEach(provider -> providers.put(provider.getName(), provider));
+    }
+
+    /**
+     * Is the given file a columnar graph file?
+     *
+     * @param graphFile A graph file.
+     *
+     * @return True if the file is a zip file holding a columnar graph, false
+     * otherwise.
+     */
+    public static boolean isColumnarGraphFile(final File graphFile) {
+        if (!graphFile.isFile()) {
+            return false;
+        }
+        try (final ZipFile zipFile = new ZipFile(graphFile)) {
+            return zipFile.getEntry(GraphFileConstants.COLUMNAR_HEADER) != null;
+        } catch (final IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Does the given byte reader hold a columnar graph?
+     *
+     * @param byteReader A byte reader holding the entries of a graph file.
+     *
+     * @return True if the byte reader holds a columnar graph, false otherwise.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public static boolean isColumnarGraph(final GraphByteReader byteReader) throws IOException {
+        return byteReader.read(GraphFileConstants.COLUMNAR_HEADER) != null;
+    }
+
+    /**
+     * Read a columnar graph file.
+     *
+     * @param graphFile The graph file to read.
+     * @param progress A progress indicator.
+     *
+     * @return A new Graph.
+     *
+     * @throws IOException If an I/O error occurs.
+     * @throws GraphParseException On graph parsing errors.
+     */
+    public Graph readGraphZip(final File graphFile, final IoProgress progress) throws IOException, GraphParseException {
+        return readGraphZip(graphFile, progress, false);
+    }
+
+    /**
+     * Read a columnar graph file, optionally giving every vertex, transaction
+     * and attribute the same id that it had in the graph that was written.
+     * <p>
+     * Preserving ids allows edits recorded against the written graph to be
+     * executed against the graph that is read, as when replaying an autosave
+     * journal.
+     *
+     * @param graphFile The graph file to read.
+     * @param progress A progress indicator.
+     * @param preserveIds True if the elements and attributes of the graph
+     * should keep the ids that they were written with.
+     *
+     * @return A new Graph.
+     *
+     * @throws IOException If an I/O error occurs.
+     * @throws GraphParseException On graph parsing errors, or if ids were to be
+     * preserved and the graph file does not record attribute ids.
+     */
+    public Graph readGraphZip(final File graphFile, final IoProgress progress, final boolean preserveIds) throws IOException, GraphParseException {
+        progress.start(100);
+        try (final ZipFile zipFile = new ZipFile(graphFile)) {
+            GraphJsonReader.loadCustomIcons(graphFile.getPath());
+            return readGraph(new ZipFileByteReader(zipFile), progress, preserveIds);
+        } finally {
+            progress.finish();
+        }
+    }
+
+    /**
+     * Read a columnar graph from the entries of a graph file.
+     *
+     * @param byteReader A byte reader holding the entries of a graph file.
+     * @param progress A progress indicator.
+     *
+     * @return A new Graph.
+     *
+     * @throws IOException If an I/O error occurs.
+     * @throws GraphParseException On graph parsing errors.
+     */
+    public Graph readGraph(final GraphByteReader byteReader, final IoProgress progress) throws IOException, GraphParseException {
+        try {
+            return readGraph(byteReader, progress, false);
+        } finally {
+            progress.finish();
+        }
+    }
+
+    private Graph readGraph(final GraphByteReader byteReader, final IoProgress progress, final boolean preserveIds) throws IOException, GraphParseException {
+        final ImmutableObjectCache immutableObjectCache = new ImmutableObjectCache();
+
+        final JsonNode header;
+        final ExtendedBuffer headerBuffer = byteReader.read(GraphFileConstants.COLUMNAR_HEADER);
+        if (headerBuffer == null) {
+            throw new GraphParseException("Entry " + GraphFileConstants.COLUMNAR_HEADER + " not found in graph file");
+        }
+        try (final InputStream in = headerBuffer.getInputStream(); final JsonParser jp = JsonFactoryUtilities.getMappingJsonFactory().createParser(in)) {
+            header = jp.readValueAsTree();
+        }
+
+        final int version = getRequired(header, "version").asInt();
+        if (version < 1 || version > GraphColumnarWriter.VERSION) {
+            throw new GraphParseException(String.format("Columnar version number %d is unknown.", version));
+        }
+
+        final Map<String, Integer> versionedItems = new HashMap<>();
+        getRequired(header, "versionedItems").properties().forEach(entry -> versionedItems.put(entry.getKey(), entry.getValue().asInt()));
+
+        final String schemaFactoryName = header.has("schema") ? header.get("schema").textValue() : null;
+        SchemaFactory schemaFactory = SchemaFactoryUtilities.getSchemaFactory(schemaFactoryName);
+        if (schemaFactory == null) {
+            final SchemaFactory defaultSchemaFactory = SchemaFactoryUtilities.getDefaultSchemaFactory();
+            LOGGER.warning(String.format("Unknown schema factory '%s'; falling back to '%s'", schemaFactoryName, defaultSchemaFactory.getName()));
+            schemaFactory = defaultSchemaFactory;
+        }
+
+        final StoreGraph storeGraph = new StoreGraph(schemaFactory.createSchema());
+        UpdateProviderManager.getRegisteredProviders().forEach((item, itemProviders) -> {
+            if (item.appliesToGraph(storeGraph)) {
+                final int currentVersion = versionedItems.containsKey(item.getName()) ? versionedItems.get(item.getName()) : UpdateProvider.DEFAULT_VERSION;
+                if (itemProviders.containsKey(currentVersion)) {
+                    itemProviders.get(currentVersion).configure(storeGraph);
+                }
+            }
+        });
+
+        // Create the elements.
+        progress.progress("Reading elements...", 0);
+        final Map<Integer, Integer> vertexMap = new HashMap<>();
+        final Map<Integer, Integer> transactionMap = new HashMap<>();
+        final int vertexCount = getRequired(header, "vertex_count").asInt();
+        final int transactionCount = getRequired(header, "transaction_count").asInt();
+        final ByteBuffer vertexBlock = readBlock(byteReader, GraphColumnarWriter.VERTEX_BLOCK, vertexCount * Integer.BYTES);
+        final int[] vertexIds = new int[vertexCount];
+        for (int position = 0; position < vertexCount; position++) {
+            final int fileId = vertexBlock.getInt();
+            vertexIds[position] = preserveIds ? storeGraph.addVertex(fileId) : storeGraph.addVertex();
+            vertexMap.put(fileId, vertexIds[position]);
+        }
+        final ByteBuffer transactionBlock = readBlock(byteReader, GraphColumnarWriter.TRANSACTION_BLOCK, transactionCount * (3 * Integer.BYTES + 1));
+        final int[] transactionIds = new int[transactionCount];
+        for (int position = 0; position < transactionCount; position++) {
+            final int fileId = transactionBlock.getInt();
+            final Integer src = vertexMap.get(transactionBlock.getInt());
+            final Integer dst = vertexMap.get(transactionBlock.getInt());
+            if (src == null || dst == null) {
+                throw new GraphParseException(String.format("Transaction %d refers to a vertex that is not in the graph file", fileId));
+            }
+            final boolean directed = transactionBlock.get() != 0;
+            transactionIds[position] = preserveIds ? storeGraph.addTransaction(fileId, src, dst, directed) : storeGraph.addTransaction(src, dst, directed);
+            transactionMap.put(fileId, transactionIds[position]);
+        }
+
+        // Create the attributes.
+        final MutableIntLongMap attrValCount = new IntLongHashMap();
+        final List<Block> blocks = new ArrayList<>();
+        final Map<GraphElementType, int[]> elementIds = new LinkedHashMap<>();
+        elementIds.put(GraphElementType.GRAPH, new int[]{0});
+        elementIds.put(GraphElementType.VERTEX, vertexIds);
+        elementIds.put(GraphElementType.TRANSACTION, transactionIds);
+        elementIds.put(GraphElementType.META, new int[]{0});
+        if (preserveIds) {
+            addAttributesPreservingIds(storeGraph, header, elementIds, attrValCount, blocks);
+        } else {
+            for (final Entry<GraphElementType, int[]> entry : elementIds.entrySet()) {
+                final JsonNode elementNode = getRequired(header, IoUtilities.getGraphElementTypeString(entry.getKey()));
+                for (final JsonNode node : getRequired(elementNode, "attrs")) {
+                    addAttribute(storeGraph, entry.getKey(), node, entry.getValue(), attrValCount, blocks);
+                }
+            }
+        }
+        // Decode the blocks in parallel and apply them in order.
+        progress.progress("Reading attributes...", 0);
+        final Deque<Future<Object>> decoded = new ArrayDeque<>();
+        int submitted = 0;
+        try {
+            for (int i = 0; i < blocks.size(); i++) {
+                while (submitted < blocks.size() && submitted < i + BLOCKS_AHEAD) {
+                    final Block block = blocks.get(submitted++);
+                    decoded.add(ForkJoinPool.commonPool().submit(() -> decodeBlock(byteReader, block)));
+                }
+                final Block block = blocks.get(i);
+                applyBlock(storeGraph, block, decoded.remove().get(), vertexMap, transactionMap, byteReader, immutableObjectCache);
+                progress.progress(String.format("Vertices: %d; Transactions %d", vertexCount, transactionCount), (int) (100 * (i + 1) / (double) blocks.size()));
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new GraphParseException(ex.getMessage(), ex);
+        } catch (final ExecutionException ex) {
+            if (ex.getCause() instanceof IOException ioex) {
+                throw ioex;
+            } else if (ex.getCause() instanceof GraphParseException gpex) {
+                throw gpex;
+            }
+            throw new GraphParseException(ex.getCause().getMessage(), ex.getCause());
+        } finally {
+            decoded.forEach(future -> future.cancel(true));
+        }
+
+        for (final GraphElementType elementType : elementIds.keySet()) {
+            setPrimaryKey(storeGraph, elementType, getRequired(header, IoUtilities.getGraphElementTypeString(elementType)));
+        }
+
+        storeGraph.setModificationCounters(getRequired(header, "global_mod_count").asLong(),
+                getRequired(header, "structure_mod_count").asLong(),
+                getRequired(header, "attribute_mod_count").asLong());
+        attrValCount.forEachKeyValue((key, value) -> storeGraph.setValueModificationCounter(key, value));
+
+        try {
+            // Allow any relevant version providers to update the graph if necessary.
+            UpdateProviderManager.getRegisteredProviders().forEach((item, itemProviders) -> {
+                if (item.appliesToGraph(storeGraph)) {
+                    int currentVersion = versionedItems.containsKey(item.getName()) ? versionedItems.get(item.getName()) : UpdateProvider.DEFAULT_VERSION;
+                    while (itemProviders.containsKey(currentVersion)) {
+                        final UpdateProvider provider = itemProviders.get(currentVersion);
+                        provider.update(storeGraph);
+                        currentVersion = provider.getToVersionNumber();
+                    }
+                }
+            });
+        } catch (final Exception ex) {
+            final String msg = "There was an error loading some parts of the graph. The error was " + ex.getLocalizedMessage();
+            LOGGER.log(Level.WARNING, msg, ex);
+        }
+
+        // Index the attributes the schema asks for now that every value has been set.
+        schemaFactory.ensureAttributeIndexTypes(storeGraph);
+
+        final Graph graph = new DualGraph(schemaFactory.createSchema(), storeGraph);
+
+        LOGGER.log(Level.FINE, "immutableObjectCache={0}", immutableObjectCache);
+
+        return graph;
+    }
+
+    /**
+     * Add an attribute to the graph, and record the block holding its values.
+     *
+     * @return The id of the new attribute, or {@link Graph#NOT_FOUND} if it
+     * was an unknown META attribute that was skipped.
+     */
+    private static int addAttribute(final StoreGraph graph, final GraphElementType elementType, final JsonNode node, final int[] ids,
+            final MutableIntLongMap attrValCount, final List<Block> blocks) throws GraphParseException {
+        final String attrLabel = getRequired(node, "label").textValue();
+        final String attrType = getRequired(node, "type").textValue();
+        final String attrDesc = node.has("descr") ? node.get("descr").textValue() : null;
+        final Object attrDefault = GraphJsonReader.readAttributeDefault(node);
+        final String attributeMergerId = node.has("merger") ? node.get("merger").textValue() : null;
+
+        try {
+            final int attrId = graph.addAttribute(elementType, attrType, attrLabel, attrDesc, attrDefault, attributeMergerId);
+            attrValCount.put(attrId, node.get("mod_count").longValue());
+            blocks.add(new Block(attrId, attrLabel, attrType, getRequired(node, "encoding").textValue(), getRequired(node, "block").textValue(), ids));
+            return attrId;
+        } catch (final IllegalArgumentException ex) {
+            // Unknown META attribute types are skipped, as they are when reading a JSON graph file.
+            if (elementType != GraphElementType.META) {
+                throw ex;
+            }
+
+            LOGGER.warning(String.format("While adding %s attribute: %s", elementType, ex.getMessage()));
+            return Graph.NOT_FOUND;
+        }
+    }
+
+    /**
+     * Add the attributes of every element type to the graph in the order of
+     * their ids, so that each is given the id it was written with.
+     * <p>
+     * Attribute ids are allocated in order by a new graph, so gaps left by
+     * attributes that were removed from the written graph are filled with
+     * placeholder attributes which are removed once all of the attributes have
+     * been added.
+     */
+    private static void addAttributesPreservingIds(final StoreGraph graph, final JsonNode header, final Map<GraphElementType, int[]> elementIds,
+            final MutableIntLongMap attrValCount, final List<Block> blocks) throws GraphParseException {
+        final Map<Integer, Entry<GraphElementType, JsonNode>> attributes = new TreeMap<>();
+        for (final GraphElementType elementType : elementIds.keySet()) {
+            for (final JsonNode node : getRequired(getRequired(header, IoUtilities.getGraphElementTypeString(elementType)), "attrs")) {
+                attributes.put(getRequired(node, "id").asInt(), Map.entry(elementType, node));
+            }
+        }
+
+        final MutableIntList placeholders = new IntArrayList();
+        int nextId = 0;
+        for (final Entry<Integer, Entry<GraphElementType, JsonNode>> attribute : attributes.entrySet()) {
+            while (nextId < attribute.getKey()) {
+                placeholders.add(addPlaceholderAttribute(graph));
+                nextId++;
+            }
+
+            final GraphElementType elementType = attribute.getValue().getKey();
+            final int attrId = addAttribute(graph, elementType, attribute.getValue().getValue(), elementIds.get(elementType), attrValCount, blocks);
+            if (attrId == Graph.NOT_FOUND) {
+                // Keep the ids of the following attributes in step.
+                placeholders.add(addPlaceholderAttribute(graph));
+            } else if (attrId != attribute.getKey()) {
+                throw new GraphParseException(String.format("Attribute %d was read with id %d", attribute.getKey(), attrId));
+            }
+            nextId++;
+        }
+
+        for (int i = placeholders.size() - 1; i >= 0; i--) {
+            graph.removeAttribute(placeholders.get(i));
+        }
+    }
+
+    private static int addPlaceholderAttribute(final StoreGraph graph) {
+        return graph.addAttribute(GraphElementType.META, BooleanAttributeDescription.ATTRIBUTE_NAME, PLACEHOLDER_PREFIX + graph.getAttributeCount(GraphElementType.META), null, null, null);
+    }
+
+    private static void setPrimaryKey(final StoreGraph graph, final GraphElementType elementType, final JsonNode elementNode) throws GraphParseException {
+        if (elementNode.has("key")) {
+            final MutableIntList keyAttributes = new IntArrayList();
+            for (final JsonNode keyNode : elementNode.get("key")) {
+                final int attrId = graph.getAttribute(elementType, keyNode.textValue());
+                if (attrId == Graph.NOT_FOUND) {
+                    throw new GraphParseException(String.format("Key '%s' is not a valid attribute", keyNode.textValue()));
+                }
+                keyAttributes.add(attrId);
+            }
+            graph.setPrimaryKey(elementType, keyAttributes.toArray());
+        }
+    }
+
+    /**
+     * Read and decode a block into an array of values, or a JSON array for
+     * blocks written by IO providers.
+     * <p>
+     * This does not touch the graph, so may be called from any thread.
+     */
+    private static Object decodeBlock(final GraphByteReader byteReader, final Block block) throws IOException, GraphParseException {
+        final int count = block.ids.length;
+        switch (block.encoding) {
+            case GraphColumnarWriter.ENCODING_BYTE -> {
+                final byte[] values = new byte[count];
+                readBlock(byteReader, block.blockName, count).get(values);
+                return values;
+            }
+            case GraphColumnarWriter.ENCODING_SHORT -> {
+                final short[] values = new short[count];
+                readBlock(byteReader, block.blockName, count * Short.BYTES).asShortBuffer().get(values);
+                return values;
+            }
+            case GraphColumnarWriter.ENCODING_INT -> {
+                final int[] values = new int[count];
+                readBlock(byteReader, block.blockName, count * Integer.BYTES).asIntBuffer().get(values);
+                return values;
+            }
+            case GraphColumnarWriter.ENCODING_LONG -> {
+                final long[] values = new long[count];
+                readBlock(byteReader, block.blockName, count * Long.BYTES).asLongBuffer().get(values);
+                return values;
+            }
+            case GraphColumnarWriter.ENCODING_FLOAT -> {
+                final float[] values = new float[count];
+                readBlock(byteReader, block.blockName, count * Float.BYTES).asFloatBuffer().get(values);
+                return values;
+            }
+            case GraphColumnarWriter.ENCODING_DOUBLE -> {
+                final double[] values = new double[count];
+                readBlock(byteReader, block.blockName, count * Double.BYTES).asDoubleBuffer().get(values);
+                return values;
+            }
+            case GraphColumnarWriter.ENCODING_BOOLEAN -> {
+                final boolean[] values = new boolean[count];
+                final ByteBuffer buffer = readBlock(byteReader, block.blockName, count);
+                for (int i = 0; i < count; i++) {
+                    values[i] = buffer.get() != 0;
+                }
+                return values;
+            }
+            case GraphColumnarWriter.ENCODING_STRING -> {
+                final String[] values = new String[count];
+                final ByteBuffer buffer = readBlock(byteReader, block.blockName, -1);
+                final byte[] bytes = buffer.array();
+                try {
+                    for (int i = 0; i < count; i++) {
+                        final int length = buffer.getInt();
+                        if (length >= 0) {
+                            values[i] = new String(bytes, buffer.position(), length, StandardCharsets.UTF_8);
+                            buffer.position(buffer.position() + length);
+                        }
+                    }
+                } catch (final RuntimeException ex) {
+                    throw new GraphParseException(String.format("Block %s is truncated", block.blockName), ex);
+                }
+                return values;
+            }
+            case GraphColumnarWriter.ENCODING_JSON -> {
+                final ExtendedBuffer buffer = getEntry(byteReader, block.blockName);
+                final JsonNode values;
+                try (final InputStream in = buffer.getInputStream(); final JsonParser jp = JsonFactoryUtilities.getMappingJsonFactory().createParser(in)) {
+                    values = jp.readValueAsTree();
+                }
+                if (values == null || !values.isArray() || values.size() != count) {
+                    throw new GraphParseException(String.format("Block %s does not hold %d elements", block.blockName, count));
+                }
+                return values;
+            }
+            default -> throw new GraphParseException(String.format("Block %s has unknown encoding '%s'", block.blockName, block.encoding));
+        }
+    }
+
+    /**
+     * Set the decoded values of a block on the graph.
+     * <p>
+     * The values of a binary block are scattered into a copy of the
+     * attribute's data by element id and restored in one call, rather than
+     * being set one element at a time.
+     */
+    private void applyBlock(final StoreGraph graph, final Block block, final Object values, final Map<Integer, Integer> vertexMap,
+            final Map<Integer, Integer> transactionMap, final GraphByteReader byteReader, final ImmutableObjectCache immutableObjectCache) throws IOException {
+        final int attrId = block.attrId;
+        final int[] ids = block.ids;
+        switch (values) {
+            case byte[] array -> {
+                final byte[] data = (byte[]) graph.copyAttribute(attrId);
+                for (int i = 0; i < ids.length; i++) {
+                    data[ids[i]] = array[i];
+                }
+                graph.restoreAttribute(attrId, data);
+            }
+            case short[] array -> {
+                final short[] data = (short[]) graph.copyAttribute(attrId);
+                for (int i = 0; i < ids.length; i++) {
+                    data[ids[i]] = array[i];
+                }
+                graph.restoreAttribute(attrId, data);
+            }
+            case int[] array -> {
+                final int[] data = (int[]) graph.copyAttribute(attrId);
+                for (int i = 0; i < ids.length; i++) {
+                    data[ids[i]] = array[i];
+                }
+                graph.restoreAttribute(attrId, data);
+            }
+            case long[] array -> {
+                final long[] data = (long[]) graph.copyAttribute(attrId);
+                for (int i = 0; i < ids.length; i++) {
+                    data[ids[i]] = array[i];
+                }
+                graph.restoreAttribute(attrId, data);
+            }
+            case float[] array -> {
+                final float[] data = (float[]) graph.copyAttribute(attrId);
+                for (int i = 0; i < ids.length; i++) {
+                    data[ids[i]] = array[i];
+                }
+                graph.restoreAttribute(attrId, data);
+            }
+            case double[] array -> {
+                final double[] data = (double[]) graph.copyAttribute(attrId);
+                for (int i = 0; i < ids.length; i++) {
+                    data[ids[i]] = array[i];
+                }
+                graph.restoreAttribute(attrId, data);
+            }
+            case boolean[] array -> {
+                final boolean[] data = (boolean[]) graph.copyAttribute(attrId);
+                for (int i = 0; i < ids.length; i++) {
+                    data[ids[i]] = array[i];
+                }
+                graph.restoreAttribute(attrId, data);
+            }
+            case String[] array -> {
+                // the string attribute dictionary shares equal values itself
+                final String[] data = (String[]) graph.copyAttribute(attrId);
+                for (int i = 0; i < ids.length; i++) {
+                    data[ids[i]] = array[i];
+                }
+                graph.restoreAttribute(attrId, data);
+            }
+            case JsonNode array -> {
+                final AbstractGraphIOProvider ioProvider = providers.get(block.attrType);
+                if (ioProvider == null) {
+                    throw new IOException("No IO provider found for attribute type: " + block.attrType);
+                }
+                for (int i = 0; i < ids.length; i++) {
+                    final JsonNode jnode = array.get(i).get(block.attrLabel);
+                    if (jnode != null) {
+                        ioProvider.readObject(attrId, ids[i], jnode, graph, vertexMap, transactionMap, byteReader, immutableObjectCache);
+                    }
+                }
+            }
+            default -> throw new IllegalStateException("Unexpected block values: " + values.getClass());
+        }
+    }
+
+    /**
+     * Read a binary block into a big endian buffer, checking its size.
+     *
+     * @param expectedSize The expected size of the block in bytes, or -1 if
+     * unknown.
+     */
+    private static ByteBuffer readBlock(final GraphByteReader byteReader, final String blockName, final int expectedSize) throws IOException, GraphParseException {
+        byte[] bytes;
+        if (byteReader instanceof ZipFileByteReader zipFileByteReader) {
+            bytes = zipFileByteReader.readBytes(blockName);
+            if (bytes == null) {
+                throw new GraphParseException("Entry " + blockName + " not found in graph file");
+            }
+        } else {
+            try (final InputStream in = getEntry(byteReader, blockName).getInputStream()) {
+                bytes = in.readAllBytes();
+            }
+        }
+        if (expectedSize != -1 && bytes.length != expectedSize) {
+            throw new GraphParseException(String.format("Block %s holds %d bytes, expected %d", blockName, bytes.length, expectedSize));
+        }
+        return ByteBuffer.wrap(bytes);
+    }
+
+    private static ExtendedBuffer getEntry(final GraphByteReader byteReader, final String blockName) throws IOException, GraphParseException {
+        final ExtendedBuffer buffer = byteReader.read(blockName);
+        if (buffer == null) {
+            throw new GraphParseException("Entry " + blockName + " not found in graph file");
+        }
+        return buffer;
+    }
+
+    private static JsonNode getRequired(final JsonNode node, final String field) throws GraphParseException {
+        final JsonNode value = node.get(field);
+        if (value == null) {
+            throw new GraphParseException(String.format("Did not find '%s' in columnar graph header", field));
+        }
+        return value;
+    }
+
+    /**
+     * The block holding the values of an attribute.
+     */
+    private static class Block {
+
+        final int attrId;
+        final String attrLabel;
+        final String attrType;
+        final String encoding;
+        final String blockName;
+        final int[] ids;
+
+        Block(final int attrId, final String attrLabel, final String attrType, final String encoding, final String blockName, final int[] ids) {
+            this.attrId = attrId;
+            this.attrLabel = attrLabel;
+            this.attrType = attrType;
+            this.encoding = encoding;
+            this.blockName = blockName;
+            this.ids = ids;
+        }
+    }
+
+    /**
+     * A GraphByteReader that reads each entry from a zip file on disk when it
+     * is asked for, rather than reading the whole zip file up front.
+     */
+    private static class ZipFileByteReader extends GraphByteReader {
+
+        private final ZipFile zipFile;
+
+        ZipFileByteReader(final ZipFile zipFile) {
+            this.zipFile = zipFile;
+        }
+
+        @Override
+        public ExtendedBuffer read(final String reference) throws IOException {
+            final ZipEntry entry = zipFile.getEntry(reference);
+            if (entry == null) {
+                return null;
+            }
+            final ExtendedBuffer buffer = new ExtendedBuffer(1 << 16);
+            try (final InputStream in = zipFile.getInputStream(entry)) {
+                GraphByteWriter.copy(in, buffer.getOutputStream());
+            } finally {
+                buffer.getOutputStream().close();
+            }
+            return buffer;
+        }
+
+        /**
+         * Read an entry straight into a byte array.
+         *
+         * @param reference The name of the ZipEntry to read.
+         *
+         * @return The contents of the entry, or null if there is no such
+         * entry.
+         *
+         * @throws IOException If an I/O error occurs.
+         */
+        byte[] readBytes(final String reference) throws IOException {
+            final ZipEntry entry = zipFile.getEntry(reference);
+            if (entry == null) {
+                return null;
+            }
+            try (final InputStream in = zipFile.getInputStream(entry)) {
+                return in.readAllBytes();
+            }
+        }
+    }
+}
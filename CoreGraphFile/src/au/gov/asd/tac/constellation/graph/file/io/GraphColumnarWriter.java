@@ -0,0 +1,497 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.graph.file.io;
+
+import au.gov.asd.tac.constellation.graph.Attribute;
+import au.gov.asd.tac.constellation.graph.Graph;
+import au.gov.asd.tac.constellation.graph.GraphAttribute;
+import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.GraphReadMethods;
+import au.gov.asd.tac.constellation.graph.attribute.io.AbstractGraphIOProvider;
+import au.gov.asd.tac.constellation.graph.attribute.io.GraphByteWriter;
+import au.gov.asd.tac.constellation.graph.schema.BareSchemaFactory;
+import au.gov.asd.tac.constellation.graph.schema.Schema;
+import au.gov.asd.tac.constellation.graph.versioning.UpdateProviderManager;
+import au.gov.asd.tac.constellation.utilities.gui.IoProgress;
+import au.gov.asd.tac.constellation.utilities.icon.DefaultCustomIconProvider;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.openide.util.Cancellable;
+
+/**
+ * Write a graph in columnar format.
+ * <p>
+ * A columnar graph file is a zip file like the JSON graph file written by
+ * {@link GraphJsonWriter}, but rather than a single JSON document with an
+ * object per element, the values of each attribute are written to their own
+ * block. The attribute definitions and the name of each block are held in the
+ * {@link GraphFileConstants#COLUMNAR_HEADER} entry. Because each block is a
+ * separate zip entry, {@link GraphColumnarReader} can read and decode the
+ * blocks independently of each other.
+ * <p>
+ * Blocks hold values in element position order. Primitive and string
+ * attributes are written as big endian binary arrays, with strings written as a
+ * length in bytes (or -1 for null) followed by their UTF-8 bytes. All other
+ * attributes are written as a JSON array with an object per element, which is
+ * written and read by the attribute's {@link AbstractGraphIOProvider}.
+ *
+ * @author algol
+ */
+public final class GraphColumnarWriter implements Cancellable {
+
+    /**
+     * The current columnar file format version.
+     */
+    public static final int VERSION = 1;
+
+    static final String ENCODING_BYTE = "byte";
+    static final String ENCODING_SHORT = "short";
+    static final String ENCODING_INT = "int";
+    static final String ENCODING_LONG = "long";
+    static final String ENCODING_FLOAT = "float";
+    static final String ENCODING_DOUBLE = "double";
+    static final String ENCODING_BOOLEAN = "boolean";
+    static final String ENCODING_STRING = "string";
+    static final String ENCODING_JSON = "json";
+
+    static final String VERTEX_BLOCK = GraphFileConstants.COLUMNAR_DIRECTORY + "vertex.bin";
+    static final String TRANSACTION_BLOCK = GraphFileConstants.COLUMNAR_DIRECTORY + "transaction.bin";
+
+    private static final List<GraphElementType> ELEMENT_TYPES_FILE_ORDER = Arrays.asList(GraphElementType.GRAPH, GraphElementType.VERTEX, GraphElementType.TRANSACTION, GraphElementType.META);
+
+    private IoProgress progress;
+    private volatile boolean isCancelled;
+    private final GraphByteWriter byteWriter;
+    private final Map<String, AbstractGraphIOProvider> graphIoProviders = new HashMap<>();
+    private final List<String> customIconList = new ArrayList<>();
+
+    /**
+     * Construct a new GraphColumnarWriter.
+     */
+    public GraphColumnarWriter() {
+        byteWriter = new GraphByteWriter();
+        for (final AbstractGraphIOProvider agiop : AbstractGraphIOProvider.getProviders()) {
+            graphIoProviders.put(agiop.getName(), agiop);
+        }
+    }
+
+    /**
+     * Serialise a graph to a columnar zip file.
+     *
+     * @param graph The graph to serialise.
+     * @param path The path name of the file to write the graph to.
+     * @param progress A progress indicator.
+     *
+     * @return True if the user cancelled the write, false otherwise.
+     *
+     * @throws IOException If there was a problem writing.
+     */
+    public boolean writeGraphToZip(final GraphReadMethods graph, final String path, final IoProgress progress) throws IOException {
+        final OutputStream out = new FileOutputStream(path);
+        return writeGraphToZip(graph, out, progress);
+    }
+
+    /**
+     * Serialise a graph to a columnar zip file.
+     * <p>
+     * The OutputStream will be wrapped in a ZipOutputStream and the header,
+     * blocks and any ancillary files will be written as ZipEntry files.
+     *
+     * @param graph The graph to serialise.
+     * @param out The OutputStream to write a zip file to.
+     * @param progress A progress indicator.
+     *
+     * @return True if the user cancelled the write, false otherwise.
+     *
+     * @throws IOException If there was a problem writing.
+     */
+    public boolean writeGraphToZip(final GraphReadMethods graph, final OutputStream out, final IoProgress progress) throws IOException {
+        this.progress = progress;
+        isCancelled = false;
+
+        final Map<GraphElementType, List<Attribute>> attributes = new HashMap<>();
+        int blockCount = 0;
+        for (final GraphElementType elementType : ELEMENT_TYPES_FILE_ORDER) {
+            final List<Attribute> attrs = getAttributes(graph, elementType);
+            attributes.put(elementType, attrs);
+            blockCount += attrs.size();
+        }
+
+        if (progress != null) {
+            progress.start(blockCount);
+        }
+
+        try (final ZipOutputStream zout = new ZipOutputStream(out)) {
+            // The blocks are already compact so favour speed over size.
+            zout.setLevel(Deflater.BEST_SPEED);
+
+            writeHeader(graph, attributes, zout);
+            writeStructure(graph, zout);
+
+            int blockIndex = 0;
+            for (final GraphElementType elementType : ELEMENT_TYPES_FILE_ORDER) {
+                final int[] ids = getElementIds(graph, elementType);
+                final List<Attribute> attrs = attributes.get(elementType);
+                final List<Attribute> binaryAttrs = new ArrayList<>();
+                for (final Attribute attr : attrs) {
+                    if (isCancelled) {
+                        break;
+                    }
+                    if (ENCODING_JSON.equals(getEncoding(attr))) {
+                        // IO providers share the byte writer, so JSON blocks are written one at a time.
+                        zout.putNextEntry(new ZipEntry(getBlockName(elementType, attr)));
+                        writeJsonBlock(graph, attr, ids, zout);
+                        zout.closeEntry();
+                        reportProgress(elementType, ++blockIndex);
+                    } else {
+                        binaryAttrs.add(attr);
+                    }
+                }
+
+                // Binary blocks are encoded in parallel, a group at a time to bound the memory held.
+                final int groupSize = ForkJoinPool.getCommonPoolParallelism() + 1;
+                for (int start = 0; start < binaryAttrs.size() && !isCancelled; start += groupSize) {
+                    final List<Attribute> group = binaryAttrs.subList(start, Math.min(start + groupSize, binaryAttrs.size()));
+                    final List<byte[]> blocks;
+                    try {
+                        blocks = group.parallelStream()
+                                .map(attr -> encodeBinaryBlock(graph, attr, ids))
+                                .toList();
+                    } catch (final UncheckedIOException ex) {
+                        throw ex.getCause();
+                    }
+                    for (int i = 0; i < group.size(); i++) {
+                        zout.putNextEntry(new ZipEntry(getBlockName(elementType, group.get(i))));
+                        zout.write(blocks.get(i));
+                        zout.closeEntry();
+                        reportProgress(elementType, ++blockIndex);
+                    }
+                }
+            }
+
+            if (!isCancelled) {
+                for (final Entry<String, File> entry : byteWriter.getFileMap().entrySet()) {
+                    final ZipEntry ze = new ZipEntry(entry.getKey());
+                    zout.putNextEntry(ze);
+                    GraphByteWriter.copy(new FileInputStream(entry.getValue()), zout);
+                    zout.closeEntry();
+                }
+                GraphJsonWriter.writeCustomIcons(zout, customIconList);
+            }
+        } finally {
+            byteWriter.reset();
+            if (progress != null) {
+                progress.finish();
+            }
+        }
+
+        return isCancelled;
+    }
+
+    /**
+     * Write the header describing the graph, its attributes and their blocks.
+     */
+    private void writeHeader(final GraphReadMethods graph, final Map<GraphElementType, List<Attribute>> attributes, final ZipOutputStream zout) throws IOException {
+        zout.putNextEntry(new ZipEntry(GraphFileConstants.COLUMNAR_HEADER));
+        final JsonGenerator jg = new JsonFactory().createGenerator(zout, JsonEncoding.UTF8);
+        jg.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        jg.useDefaultPrettyPrinter();
+
+        jg.writeStartObject();
+        jg.writeNumberField("version", VERSION);
+
+        jg.writeObjectFieldStart("versionedItems");
+        for (final Entry<String, Integer> itemVersion : UpdateProviderManager.getLatestVersions().entrySet()) {
+            jg.writeNumberField(itemVersion.getKey(), itemVersion.getValue());
+        }
+        jg.writeEndObject();
+
+        final Schema schema = graph.getSchema();
+        jg.writeStringField("schema", schema == null ? new BareSchemaFactory().getName() : schema.getFactory().getName());
+
+        jg.writeNumberField("global_mod_count", graph.getGlobalModificationCounter());
+        jg.writeNumberField("structure_mod_count", graph.getStructureModificationCounter());
+        jg.writeNumberField("attribute_mod_count", graph.getAttributeModificationCounter());
+
+        jg.writeNumberField("vertex_count", graph.getVertexCount());
+        jg.writeNumberField("transaction_count", graph.getTransactionCount());
+
+        for (final GraphElementType elementType : ELEMENT_TYPES_FILE_ORDER) {
+            jg.writeObjectFieldStart(IoUtilities.getGraphElementTypeString(elementType));
+            jg.writeArrayFieldStart("attrs");
+            for (final Attribute attr : attributes.get(elementType)) {
+                jg.writeStartObject();
+                GraphJsonWriter.writeAttributeFields(jg, graph, attr);
+                jg.writeNumberField("id", attr.getId());
+                jg.writeStringField("encoding", getEncoding(attr));
+                jg.writeStringField("block", getBlockName(elementType, attr));
+                jg.writeEndObject();
+            }
+            jg.writeEndArray();
+
+            if (elementType == GraphElementType.VERTEX || elementType == GraphElementType.TRANSACTION) {
+                final int[] key = graph.getPrimaryKey(elementType);
+                if (key.length > 0) {
+                    jg.writeArrayFieldStart("key");
+                    for (final int keyAttribute : key) {
+                        jg.writeString(graph.getAttributeName(keyAttribute));
+                    }
+                    jg.writeEndArray();
+                }
+            }
+            jg.writeEndObject();
+        }
+
+        jg.writeEndObject();
+        jg.close();
+        zout.closeEntry();
+    }
+
+    /**
+     * Write the vertex ids, followed by the id, source, destination and
+     * direction of each transaction.
+     */
+    private void writeStructure(final GraphReadMethods graph, final ZipOutputStream zout) throws IOException {
+        final int vertexCount = graph.getVertexCount();
+        final ByteBuffer vertexBlock = ByteBuffer.allocate(vertexCount * Integer.BYTES);
+        for (int position = 0; position < vertexCount; position++) {
+            vertexBlock.putInt(graph.getVertex(position));
+        }
+        zout.putNextEntry(new ZipEntry(VERTEX_BLOCK));
+        zout.write(vertexBlock.array());
+        zout.closeEntry();
+
+        final int transactionCount = graph.getTransactionCount();
+        final ByteBuffer transactionBlock = ByteBuffer.allocate(transactionCount * (3 * Integer.BYTES + 1));
+        for (int position = 0; position < transactionCount; position++) {
+            final int txId = graph.getTransaction(position);
+            transactionBlock.putInt(txId);
+            transactionBlock.putInt(graph.getTransactionSourceVertex(txId));
+            transactionBlock.putInt(graph.getTransactionDestinationVertex(txId));
+            transactionBlock.put(graph.getTransactionDirection(txId) != Graph.UNDIRECTED ? (byte) 1 : (byte) 0);
+        }
+        zout.putNextEntry(new ZipEntry(TRANSACTION_BLOCK));
+        zout.write(transactionBlock.array());
+        zout.closeEntry();
+    }
+
+    /**
+     * Write a JSON array with an object per element, each holding whatever the
+     * attribute's IO provider writes for that element.
+     */
+    private void writeJsonBlock(final GraphReadMethods graph, final Attribute attr, final int[] ids, final OutputStream out) throws IOException {
+        final AbstractGraphIOProvider ioProvider = graphIoProviders.get(attr.getAttributeType());
+        if (ioProvider == null) {
+            throw new IOException("No IO provider found for attribute type: " + attr.getAttributeType());
+        }
+
+        final JsonGenerator jg = new JsonFactory().createGenerator(out, JsonEncoding.UTF8);
+        jg.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        jg.writeStartArray();
+        for (final int id : ids) {
+            jg.writeStartObject();
+            ioProvider.writeObject(attr, id, jg, graph, byteWriter, false);
+            jg.writeEndObject();
+        }
+        jg.writeEndArray();
+        jg.close();
+    }
+
+    /**
+     * Encode the values of a primitive or string attribute as a binary block.
+     */
+    private static byte[] encodeBinaryBlock(final GraphReadMethods graph, final Attribute attr, final int[] ids) {
+        final int attrId = attr.getId();
+        final String encoding = getEncoding(attr);
+        final ByteBuffer block;
+        switch (encoding) {
+            case ENCODING_BYTE -> {
+                block = ByteBuffer.allocate(ids.length);
+                for (final int id : ids) {
+                    block.put(graph.getByteValue(attrId, id));
+                }
+            }
+            case ENCODING_SHORT -> {
+                block = ByteBuffer.allocate(ids.length * Short.BYTES);
+                for (final int id : ids) {
+                    block.putShort(graph.getShortValue(attrId, id));
+                }
+            }
+            case ENCODING_INT -> {
+                block = ByteBuffer.allocate(ids.length * Integer.BYTES);
+                for (final int id : ids) {
+                    block.putInt(graph.getIntValue(attrId, id));
+                }
+            }
+            case ENCODING_LONG -> {
+                block = ByteBuffer.allocate(ids.length * Long.BYTES);
+                for (final int id : ids) {
+                    block.putLong(graph.getLongValue(attrId, id));
+                }
+            }
+            case ENCODING_FLOAT -> {
+                block = ByteBuffer.allocate(ids.length * Float.BYTES);
+                for (final int id : ids) {
+                    block.putFloat(graph.getFloatValue(attrId, id));
+                }
+            }
+            case ENCODING_DOUBLE -> {
+                block = ByteBuffer.allocate(ids.length * Double.BYTES);
+                for (final int id : ids) {
+                    block.putDouble(graph.getDoubleValue(attrId, id));
+                }
+            }
+            case ENCODING_BOOLEAN -> {
+                block = ByteBuffer.allocate(ids.length);
+                for (final int id : ids) {
+                    block.put(graph.getBooleanValue(attrId, id) ? (byte) 1 : (byte) 0);
+                }
+            }
+            case ENCODING_STRING -> {
+                final ByteArrayOutputStream bytes = new ByteArrayOutputStream(ids.length * 8);
+                try (final DataOutputStream dout = new DataOutputStream(bytes)) {
+                    for (final int id : ids) {
+                        final String value = graph.getStringValue(attrId, id);
+                        if (value == null) {
+                            dout.writeInt(-1);
+                        } else {
+                            final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                            dout.writeInt(utf8.length);
+                            dout.write(utf8);
+                        }
+                    }
+                } catch (final IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                return bytes.toByteArray();
+            }
+            default -> throw new IllegalArgumentException("Not a binary encoding: " + encoding);
+        }
+        return block.array();
+    }
+
+    private List<Attribute> getAttributes(final GraphReadMethods graph, final GraphElementType elementType) {
+        final List<Attribute> attrs = new ArrayList<>();
+        for (int position = 0; position < graph.getAttributeCount(elementType); position++) {
+            final Attribute attr = new GraphAttribute(graph, graph.getAttribute(elementType, position));
+            // Don't write non-META object types; we don't know what they are.
+            if (!"object".equals(attr.getAttributeType()) || elementType == GraphElementType.META) {
+                attrs.add(attr);
+            }
+        }
+
+        if (elementType == GraphElementType.VERTEX) {
+            customIconList.clear();
+            for (final Attribute attr : attrs) {
+                if ("icon".equals(attr.getName())) {
+                    for (int position = 0; position < graph.getVertexCount(); position++) {
+                        // get each of the custom icon images present in the graph being saved
+                        final String iconName = graph.getStringValue(attr.getId(), graph.getVertex(position));
+                        if (!customIconList.contains(iconName) && DefaultCustomIconProvider.containsIcon(iconName)) {
+                            customIconList.add(iconName);
+                        }
+                    }
+                }
+            }
+        }
+
+        return attrs;
+    }
+
+    private static int[] getElementIds(final GraphReadMethods graph, final GraphElementType elementType) {
+        final int[] ids;
+        switch (elementType) {
+            case VERTEX -> {
+                ids = new int[graph.getVertexCount()];
+                for (int position = 0; position < ids.length; position++) {
+                    ids[position] = graph.getVertex(position);
+                }
+            }
+            case TRANSACTION -> {
+                ids = new int[graph.getTransactionCount()];
+                for (int position = 0; position < ids.length; position++) {
+                    ids[position] = graph.getTransaction(position);
+                }
+            }
+            default -> ids = new int[]{0};
+        }
+        return ids;
+    }
+
+    private static String getBlockName(final GraphElementType elementType, final Attribute attr) {
+        final String extension = ENCODING_JSON.equals(getEncoding(attr)) ? ".json" : ".bin";
+        return GraphFileConstants.COLUMNAR_DIRECTORY + IoUtilities.getGraphElementTypeString(elementType) + "/" + attr.getId() + extension;
+    }
+
+    /**
+     * The block encoding used for an attribute.
+     * <p>
+     * Only the core primitive and string attribute types are written as
+     * binary, as their native values are exactly their attribute values.
+     * Everything else is left to its IO provider.
+     *
+     * @param attr An Attribute.
+     *
+     * @return The encoding of the attribute's block.
+     */
+    static String getEncoding(final Attribute attr) {
+        return switch (attr.getAttributeType()) {
+            case "byte" -> ENCODING_BYTE;
+            case "short" -> ENCODING_SHORT;
+            case "integer" -> ENCODING_INT;
+            case "long" -> ENCODING_LONG;
+            case "float" -> ENCODING_FLOAT;
+            case "double" -> ENCODING_DOUBLE;
+            case "boolean" -> ENCODING_BOOLEAN;
+            case "string" -> ENCODING_STRING;
+            default -> ENCODING_JSON;
+        };
+    }
+
+    private void reportProgress(final GraphElementType elementType, final int blockIndex) {
+        if (progress != null) {
+            progress.progress("Writing " + IoUtilities.getGraphElementTypeString(elementType) + " blocks...", blockIndex);
+        }
+    }
+
+    @Override
+    public boolean cancel() {
+        isCancelled = true;
+
+        return true;
+    }
+}
@@ -65,4 +65,14 @@ public final class GraphFileConstants {
      * Field indicating whether the transaction is directed or not.
      */
     public static final String DIR = "tx_dir_";
+
+    /**
+     * The directory holding the entries of a columnar graph file.
+     */
+    public static final String COLUMNAR_DIRECTORY = "columnar/";
+
+    /**
+     * The entry describing the attributes and blocks of a columnar graph file.
+     */
+    public static final String COLUMNAR_HEADER = COLUMNAR_DIRECTORY + "header.json";
 }
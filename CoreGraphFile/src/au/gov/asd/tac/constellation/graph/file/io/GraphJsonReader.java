@@ -104,6 +104,9 @@ public final class GraphJsonReader {
     }
 
     public Graph readGraphZip(final File graphFile, final IoProgress progress) throws IOException, GraphParseException {
+        if (GraphColumnarReader.isColumnarGraphFile(graphFile)) {
+            return new GraphColumnarReader().readGraphZip(graphFile, progress);
+        }
         try (final InputStream in = new BufferedInputStream(new FileInputStream(graphFile))) {
             return readGraphZip(graphFile.getPath(), in, progress);
         }
@@ -120,51 +123,14 @@ public final class GraphJsonReader {
             throw ex;
         }
 
-        boolean iconsUpdated = false;
         try {
             // Load the custom icons first
-            if (DefaultCustomIconProvider.getIconDirectory() != null) {                
-                final String directoryPath = DefaultCustomIconProvider.getIconDirectory().getAbsolutePath();
-                try (final ZipFile zFile = new ZipFile(name)) {
-                    for (final ZipEntry entry : Collections.list(zFile.entries())) {
-                        // Check for Icon entries in the source star/zip file
-                        if (entry.getName().startsWith(DefaultCustomIconProvider.USER_ICON_DIR) && !entry.isDirectory()) {
-                            final String iconName = entry.getName().substring(DefaultCustomIconProvider.USER_ICON_DIR.length());
-                            // prepare a link to an icon entry in the star/zip file
-                            final InputStream zin = zFile.getInputStream(entry);
-                            boolean saveCustomFile = true;
-                            final File file = new File(directoryPath + iconName);
-                            if (file.exists()) {
-                                if (entry.getLastModifiedTime().toMillis() < file.lastModified()) {
-                                    // do not overwrite current icon with an older icon
-                                    saveCustomFile = false;
-                                } else {
-                                    // the icon in the graph file is newer than the current constellation icon
-                                    // so we remove the current constellation icon
-                                    Files.delete(file.toPath());
-                                    if (!file.createNewFile()){
-                                        LOGGER.log(Level.WARNING, "Potential problem creating new image icon file.");
-                                    }
-                                }
-                            }
-                            if (saveCustomFile) {
-                                // copy the icon image from the zip file to the constellation user's icon directory
-                                try (final FileOutputStream os = new FileOutputStream(file)) {
-                                    for (int c = zin.read(); c != -1; c = zin.read()) {
-                                        os.write(c);
-                                    }
-                                }
-                                // new image file has now been written to the constellation folder
-                                // set a flag to have all icon images reloaded
-                                iconsUpdated = true;
-                            }
-                        }
-                    }
-                }
-            }
-            // reload the constellation icons if there have been any changes
-            if (iconsUpdated) {
-                DefaultCustomIconProvider.reloadIcons();
+            loadCustomIcons(name);
+
+            // A columnar graph file has no JSON graph entry
+            if (GraphColumnarReader.isColumnarGraph(byteReader)) {
+                graph = new GraphColumnarReader().readGraph(byteReader, progress);
+                return graph;
             }
 
             // Get the graph next.
@@ -192,6 +158,61 @@ public final class GraphJsonReader {
         return graph;
     }
 
+    /**
+     * Copy the custom icon images held in a graph file into the user's icon
+     * directory, reloading the icons if any of them changed.
+     *
+     * @param name The path of the graph file.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    static void loadCustomIcons(final String name) throws IOException {
+        boolean iconsUpdated = false;
+        if (DefaultCustomIconProvider.getIconDirectory() != null) {                
+            final String directoryPath = DefaultCustomIconProvider.getIconDirectory().getAbsolutePath();
+            try (final ZipFile zFile = new ZipFile(name)) {
+                for (final ZipEntry entry : Collections.list(zFile.entries())) {
+                    // Check for Icon entries in the source star/zip file
+                    if (entry.getName().startsWith(DefaultCustomIconProvider.USER_ICON_DIR) && !entry.isDirectory()) {
+                        final String iconName = entry.getName().substring(DefaultCustomIconProvider.USER_ICON_DIR.length());
+                        // prepare a link to an icon entry in the star/zip file
+                        final InputStream zin = zFile.getInputStream(entry);
+                        boolean saveCustomFile = true;
+                        final File file = new File(directoryPath + iconName);
+                        if (file.exists()) {
+                            if (entry.getLastModifiedTime().toMillis() < file.lastModified()) {
+                                // do not overwrite current icon with an older icon
+                                saveCustomFile = false;
+                            } else {
+                                // the icon in the graph file is newer than the current constellation icon
+                                // so we remove the current constellation icon
+                                Files.delete(file.toPath());
+                                if (!file.createNewFile()){
+                                    LOGGER.log(Level.WARNING, "Potential problem creating new image icon file.");
+                                }
+                            }
+                        }
+                        if (saveCustomFile) {
+                            // copy the icon image from the zip file to the constellation user's icon directory
+                            try (final FileOutputStream os = new FileOutputStream(file)) {
+                                for (int c = zin.read(); c != -1; c = zin.read()) {
+                                    os.write(c);
+                                }
+                            }
+                            // new image file has now been written to the constellation folder
+                            // set a flag to have all icon images reloaded
+                            iconsUpdated = true;
+                        }
+                    }
+                }
+            }
+        }
+        // reload the constellation icons if there have been any changes
+        if (iconsUpdated) {
+            DefaultCustomIconProvider.reloadIcons();
+        }
+    }
+
     /**
      * reads the graph level mod count.
      *
@@ -500,6 +521,9 @@ public final class GraphJsonReader {
             LOGGER.log(Level.WARNING, msg, ex);
         }
 
+        // Index the attributes the schema asks for now that every value has been set.
+        schemaFactory.ensureAttributeIndexTypes(storeGraph);
+
         graph = new DualGraph(schemaFactory.createSchema(), storeGraph);
 
         if (progress != null) {
@@ -572,16 +596,7 @@ public final class GraphJsonReader {
             final String attrLabel = node.get("label").textValue();
             final String attrType = node.get("type").textValue();
             final String attrDesc = node.has("descr") ? node.get("descr").textValue() : null;
-            final JsonNode dv = node.get("default");
-            final Object attrDefault;
-            if (dv == null || dv.isNull()) {
-                attrDefault = null;
-            } else if (dv.isNumber()) {
-                attrDefault = dv.numberValue();
-            } else {
-                attrDefault = dv.isBoolean() ? dv.booleanValue()
-                        : dv.textValue();
-            }
+            final Object attrDefault = readAttributeDefault(node);
 
             final String attributeMergerId = node.has("merger") ? node.get("merger").textValue() : null;
 
@@ -759,6 +774,26 @@ public final class GraphJsonReader {
         }
     }
 
+    /**
+     * Read the default value of an attribute definition written by
+     * {@link GraphJsonWriter}.
+     *
+     * @param node The attribute definition.
+     *
+     * @return The default value, or null if there is none.
+     */
+    static Object readAttributeDefault(final JsonNode node) {
+        final JsonNode dv = node.get("default");
+        if (dv == null || dv.isNull()) {
+            return null;
+        } else if (dv.isNumber()) {
+            return dv.numberValue();
+        } else {
+            return dv.isBoolean() ? dv.booleanValue()
+                    : dv.textValue();
+        }
+    }
+
     /**
      * Maintain attribute information.
      */
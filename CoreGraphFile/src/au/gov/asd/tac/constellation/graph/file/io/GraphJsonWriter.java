@@ -191,26 +191,7 @@ public final class GraphJsonWriter implements Cancellable {
                         GraphByteWriter.copy(new FileInputStream(f), zout);
                         zout.closeEntry();
                     }
-                    for (final String iconName : customIconList) {
-                        // get each of the custom icon images present in the graph being saved
-                        final ConstellationIcon icon = IconManager.getIcon(iconName);
-                        final IconData iconData = icon.getIconData();
-                        String filePath = "";
-                        if (iconData instanceof FileIconData fileIconData) {
-                            filePath = fileIconData.getFilePath();
-                        }
-                        if (!filePath.isEmpty()) {
-                            // prepare to put the icon image into the star/zip file
-                            try (final FileInputStream is = new FileInputStream(filePath)) {
-                                final ZipEntry zent = new ZipEntry(DefaultCustomIconProvider.USER_ICON_DIR + "/" + icon.getExtendedName() + FileExtensionConstants.PNG);
-                                // create an entry in the zip archive to store the icon image
-                                zout.putNextEntry(zent);
-                                // copy the icon image from the constellation folder to the zip archive
-                                IOUtils.copy(is, zout);
-                            }
-                            zout.closeEntry();
-                        }
-                    }
+                    writeCustomIcons(zout, customIconList);
                 }
             } finally {
                 byteWriter.reset();
@@ -352,31 +333,7 @@ public final class GraphJsonWriter implements Cancellable {
         // Write the attributes.
         for (final Attribute attr : attrs) {
             jg.writeStartObject();
-            jg.writeStringField("label", attr.getName());
-            jg.writeStringField("type", attr.getAttributeType());
-
-            if (attr.getDescription() != null) {
-                jg.writeStringField("descr", attr.getDescription());
-            }
-
-            // TODO: this is really horrible. We should not just be getting the default value as whatever type the description feels like giving us and then writing out it as a number (after introspecting its type) or its toString() value.
-            // This should be done in a safe, extensible and verifiable manner, and more importantly, in a manner consistent with the way the attribute values themselves are written out (using IO providers). The long term solution to this
-            // is probably not to just change the code here (or add in some default writing/reading stuff in IO providers), but to actually integrate the getting and setting of defaults into the getting and setting of
-            // actual attribute values inside the attribute descriptions.
-            if (attr.getDefaultValue() != null && isNumeric(attr)) {
-                jg.writeNumberField(DEFAULT_FIELD, ((Number) attr.getDefaultValue()).doubleValue());
-            } else if (attr.getDefaultValue() != null && "boolean".equals(attr.getAttributeType())) {
-                jg.writeBooleanField(DEFAULT_FIELD, (Boolean) attr.getDefaultValue());
-            } else if (attr.getDefaultValue() != null) {
-                jg.writeStringField(DEFAULT_FIELD, attr.getDefaultValue().toString());
-            }
-
-            if (attr.getAttributeMerger() != null) {
-                jg.writeStringField("merger", attr.getAttributeMerger().getId());
-            }
-
-            jg.writeNumberField("mod_count", graph.getValueModificationCounter(attr.getId()));
-
+            writeAttributeFields(jg, graph, attr);
             jg.writeEndObject();
         }
 
@@ -500,6 +457,75 @@ public final class GraphJsonWriter implements Cancellable {
         jg.writeEndObject();
     }
 
+    /**
+     * Write the custom icon images used by a graph into the zip file being
+     * written.
+     *
+     * @param zout The zip file being written.
+     * @param customIconList The names of the custom icons used by the graph.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    static void writeCustomIcons(final ZipOutputStream zout, final List<String> customIconList) throws IOException {
+        for (final String iconName : customIconList) {
+            // get each of the custom icon images present in the graph being saved
+            final ConstellationIcon icon = IconManager.getIcon(iconName);
+            final IconData iconData = icon.getIconData();
+            String filePath = "";
+            if (iconData instanceof FileIconData fileIconData) {
+                filePath = fileIconData.getFilePath();
+            }
+            if (!filePath.isEmpty()) {
+                // prepare to put the icon image into the star/zip file
+                try (final FileInputStream is = new FileInputStream(filePath)) {
+                    final ZipEntry zent = new ZipEntry(DefaultCustomIconProvider.USER_ICON_DIR + "/" + icon.getExtendedName() + FileExtensionConstants.PNG);
+                    // create an entry in the zip archive to store the icon image
+                    zout.putNextEntry(zent);
+                    // copy the icon image from the constellation folder to the zip archive
+                    IOUtils.copy(is, zout);
+                }
+                zout.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Write the definition of an attribute as fields of the current JSON
+     * object.
+     *
+     * @param jg The JsonGenerator to use for writing.
+     * @param graph The graph.
+     * @param attr The attribute being written.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    static void writeAttributeFields(final JsonGenerator jg, final GraphReadMethods graph, final Attribute attr) throws IOException {
+        jg.writeStringField("label", attr.getName());
+        jg.writeStringField("type", attr.getAttributeType());
+
+        if (attr.getDescription() != null) {
+            jg.writeStringField("descr", attr.getDescription());
+        }
+
+        // TODO: this is really horrible. We should not just be getting the default value as whatever type the description feels like giving us and then writing out it as a number (after introspecting its type) or its toString() value.
+        // This should be done in a safe, extensible and verifiable manner, and more importantly, in a manner consistent with the way the attribute values themselves are written out (using IO providers). The long term solution to this
+        // is probably not to just change the code here (or add in some default writing/reading stuff in IO providers), but to actually integrate the getting and setting of defaults into the getting and setting of
+        // actual attribute values inside the attribute descriptions.
+        if (attr.getDefaultValue() != null && isNumeric(attr)) {
+            jg.writeNumberField(DEFAULT_FIELD, ((Number) attr.getDefaultValue()).doubleValue());
+        } else if (attr.getDefaultValue() != null && "boolean".equals(attr.getAttributeType())) {
+            jg.writeBooleanField(DEFAULT_FIELD, (Boolean) attr.getDefaultValue());
+        } else if (attr.getDefaultValue() != null) {
+            jg.writeStringField(DEFAULT_FIELD, attr.getDefaultValue().toString());
+        }
+
+        if (attr.getAttributeMerger() != null) {
+            jg.writeStringField("merger", attr.getAttributeMerger().getId());
+        }
+
+        jg.writeNumberField("mod_count", graph.getValueModificationCounter(attr.getId()));
+    }
+
     /**
      * Is the given Attribute numeric?
      *
@@ -0,0 +1,479 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.graph.file.save;
+
+import au.gov.asd.tac.constellation.graph.DuplicateKeyException;
+import au.gov.asd.tac.constellation.graph.Graph;
+import au.gov.asd.tac.constellation.graph.ReadableGraph;
+import au.gov.asd.tac.constellation.graph.WritableGraph;
+import au.gov.asd.tac.constellation.graph.file.io.GraphColumnarReader;
+import au.gov.asd.tac.constellation.graph.file.io.GraphJsonReader;
+import au.gov.asd.tac.constellation.graph.file.io.GraphJsonWriter;
+import au.gov.asd.tac.constellation.graph.file.io.GraphParseException;
+import au.gov.asd.tac.constellation.graph.locking.DualGraph;
+import au.gov.asd.tac.constellation.graph.undo.GraphEditListener;
+import au.gov.asd.tac.constellation.graph.undo.UndoGraphEdit;
+import au.gov.asd.tac.constellation.utilities.file.FileExtensionConstants;
+import au.gov.asd.tac.constellation.utilities.gui.IoProgress;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * A write-ahead journal of the edits committed to a graph since it was last
+ * autosaved in full.
+ * <p>
+ * An autosave is a checkpoint of the whole graph in a .star file, followed by
+ * a .star_journal file holding each {@link UndoGraphEdit} committed to the
+ * graph after the checkpoint was taken. Autosaving then only has to append the
+ * edits made since the previous autosave, so its cost depends on the size of
+ * the changes rather than the size of the graph. A new checkpoint is taken
+ * when the journal has grown large, after a number of autosaves, and whenever
+ * the journal can not describe the graph: after an undo or redo, or when an
+ * edit holds a value that can not be written.
+ * <p>
+ * Edits are executed against the exact vertex, transaction and attribute ids
+ * that they were recorded with, so checkpoints are written as columnar graph
+ * files and read back with their ids preserved. The journal header records the
+ * size and modification time of the checkpoint it follows; a journal that does
+ * not match its checkpoint, such as after a crash part way through taking a
+ * checkpoint, is ignored. Each record holds a checksum so that a record only
+ * partly written before a crash is also ignored.
+ *
+ * @author algol
+ */
+public final class AutosaveJournal implements GraphEditListener {
+
+    private static final Logger LOGGER = Logger.getLogger(AutosaveJournal.class.getName());
+
+    private static final int MAGIC = 0x434A524E;
+    private static final int VERSION = 1;
+
+    /**
+     * The number of autosaves that append to the journal before a new
+     * checkpoint is taken.
+     */
+    static final int CHECKPOINT_INTERVAL = 10;
+
+    /**
+     * The size of journal above which a new checkpoint is taken.
+     */
+    static final long MAX_JOURNAL_SIZE = 64L * 1024 * 1024;
+
+    /**
+     * The number of edits held between autosaves. If more edits than this are
+     * committed, for example while autosaving is switched off, they are
+     * dropped and the next autosave takes a checkpoint.
+     */
+    static final int MAX_PENDING_EDITS = 10_000;
+
+    private static final Map<Graph, AutosaveJournal> JOURNALS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final List<JournalEdit> pendingEdits = new ArrayList<>();
+    private boolean checkpointRequired = true;
+    private long historyEpoch = 0;
+    private long lastModificationCounter;
+    private int appendsSinceCheckpoint = 0;
+
+    private AutosaveJournal() {
+    }
+
+    /**
+     * Get the journal recording the edits committed to a graph, creating it if
+     * this is the first time it has been asked for.
+     * <p>
+     * Edits are only recorded once the journal has been created, so a new
+     * journal always requires a checkpoint.
+     *
+     * @param graph A graph.
+     *
+     * @return The journal for the graph, or null if edits to the graph can not
+     * be journaled.
+     */
+    public static AutosaveJournal getJournal(final Graph graph) {
+        if (!(graph instanceof DualGraph dualGraph)) {
+            return null;
+        }
+
+        return JOURNALS.computeIfAbsent(graph, g -> {
+            final AutosaveJournal journal = new AutosaveJournal();
+            dualGraph.setGraphEditListener(journal);
+            return journal;
+        });
+    }
+
+    /**
+     * The journal file that follows an autosaved .star file.
+     *
+     * @param starFile An autosaved .star file.
+     *
+     * @return The journal file for the .star file.
+     */
+    public static File getJournalFile(final File starFile) {
+        final String path = starFile.getPath();
+        return new File(path.substring(0, path.length() - FileExtensionConstants.STAR.length()) + FileExtensionConstants.STAR_JOURNAL);
+    }
+
+    @Override
+    public synchronized void editCommitted(final UndoGraphEdit edit, final long baseModificationCounter, final long modificationCounter) {
+        if (pendingEdits.size() >= MAX_PENDING_EDITS) {
+            pendingEdits.clear();
+            checkpointRequired = true;
+        }
+        pendingEdits.add(new JournalEdit(edit, baseModificationCounter, modificationCounter));
+    }
+
+    @Override
+    public synchronized void historyChanged() {
+        pendingEdits.clear();
+        checkpointRequired = true;
+        historyEpoch++;
+    }
+
+    /**
+     * Does the next autosave need to take a checkpoint rather than append to
+     * the journal?
+     *
+     * @param starFile The autosaved .star file.
+     *
+     * @return True if a checkpoint should be taken.
+     */
+    public synchronized boolean isCheckpointDue(final File starFile) {
+        final File journalFile = getJournalFile(starFile);
+        return checkpointRequired
+                || !starFile.exists()
+                || !journalFile.exists()
+                || appendsSinceCheckpoint >= CHECKPOINT_INTERVAL
+                || journalFile.length() > MAX_JOURNAL_SIZE;
+    }
+
+    /**
+     * Start taking a checkpoint.
+     * <p>
+     * This must be called before the graph is read for the checkpoint, and the
+     * value returned passed to
+     * {@link #finishCheckpoint(File, long, long) finishCheckpoint}.
+     *
+     * @return A value identifying the undo history at the start of the
+     * checkpoint.
+     */
+    public synchronized long startCheckpoint() {
+        return historyEpoch;
+    }
+
+    /**
+     * Finish taking a checkpoint by starting a new journal to follow the
+     * checkpoint that has just been written.
+     * <p>
+     * Edits that are already in the checkpoint are dropped; edits committed
+     * after the graph was read for the checkpoint are written to the new
+     * journal.
+     *
+     * @param starFile The .star file that the checkpoint was written to.
+     * @param epoch The value returned by {@link #startCheckpoint()}.
+     * @param modificationCounter The global modification counter of the graph
+     * that was written.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public void finishCheckpoint(final File starFile, final long epoch, final long modificationCounter) throws IOException {
+        final List<JournalEdit> edits;
+        synchronized (this) {
+            edits = new ArrayList<>();
+            if (epoch == historyEpoch) {
+                for (final JournalEdit edit : pendingEdits) {
+                    if (edit.baseModificationCounter >= modificationCounter) {
+                        edits.add(edit);
+                    }
+                }
+                checkpointRequired = false;
+            }
+            pendingEdits.clear();
+            lastModificationCounter = modificationCounter;
+            appendsSinceCheckpoint = 0;
+        }
+
+        final File journalFile = getJournalFile(starFile);
+        try (final DataOutputStream out = new DataOutputStream(new FileOutputStream(journalFile))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(starFile.length());
+            out.writeLong(starFile.lastModified());
+            out.writeLong(modificationCounter);
+        }
+
+        if (!edits.isEmpty() && !writeEdits(journalFile, edits)) {
+            synchronized (this) {
+                checkpointRequired = true;
+            }
+        }
+    }
+
+    /**
+     * Append the edits committed since the last autosave to the journal.
+     *
+     * @param starFile The autosaved .star file that the journal follows.
+     *
+     * @return True if the edits were appended, false if a checkpoint needs to
+     * be taken instead.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    public boolean append(final File starFile) throws IOException {
+        final List<JournalEdit> edits;
+        synchronized (this) {
+            if (checkpointRequired) {
+                return false;
+            }
+            edits = new ArrayList<>(pendingEdits);
+            pendingEdits.clear();
+            appendsSinceCheckpoint++;
+        }
+
+        if (!writeEdits(getJournalFile(starFile), edits)) {
+            synchronized (this) {
+                checkpointRequired = true;
+            }
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Write edits to the end of a journal file.
+     *
+     * @return True if the edits were written, false if one of them could not
+     * be written or they do not follow on from the end of the journal.
+     */
+    private boolean writeEdits(final File journalFile, final List<JournalEdit> edits) throws IOException {
+        final ByteArrayOutputStream records = new ByteArrayOutputStream();
+        final DataOutputStream recordsOut = new DataOutputStream(records);
+        final ByteArrayOutputStream record = new ByteArrayOutputStream();
+        final CRC32 crc = new CRC32();
+        long modificationCounter = lastModificationCounter;
+        for (final JournalEdit edit : edits) {
+            if (edit.baseModificationCounter != modificationCounter) {
+                LOGGER.log(Level.FINE, "Edit from {0} does not follow {1}", new Object[]{edit.baseModificationCounter, modificationCounter});
+                return false;
+            }
+
+            record.reset();
+            final DataOutputStream recordOut = new DataOutputStream(record);
+            recordOut.writeLong(edit.baseModificationCounter);
+            recordOut.writeLong(edit.modificationCounter);
+            try {
+                edit.edit.write(recordOut);
+            } catch (final IOException ex) {
+                LOGGER.log(Level.FINE, "Edit can not be journaled", ex);
+                return false;
+            }
+
+            crc.reset();
+            crc.update(record.toByteArray());
+            recordsOut.writeInt(record.size());
+            recordsOut.writeInt((int) crc.getValue());
+            record.writeTo(recordsOut);
+            modificationCounter = edit.modificationCounter;
+        }
+
+        try (final FileOutputStream out = new FileOutputStream(journalFile, true)) {
+            records.writeTo(out);
+            out.getFD().sync();
+        }
+        lastModificationCounter = modificationCounter;
+
+        return true;
+    }
+
+    /**
+     * Read an autosaved graph, replaying its journal if it has one.
+     *
+     * @param starFile An autosaved .star file.
+     * @param progress A progress indicator.
+     *
+     * @return The autosaved graph.
+     *
+     * @throws IOException If an I/O error occurs.
+     * @throws GraphParseException On graph parsing errors.
+     */
+    public static Graph readAutosave(final File starFile, final IoProgress progress) throws IOException, GraphParseException {
+        final File journalFile = getJournalFile(starFile);
+        if (!journalFile.exists() || !GraphColumnarReader.isColumnarGraphFile(starFile)) {
+            return new GraphJsonReader().readGraphZip(starFile, progress);
+        }
+
+        final Graph graph = new GraphColumnarReader().readGraphZip(starFile, progress, true);
+        replay(graph, starFile, journalFile);
+        return graph;
+    }
+
+    /**
+     * Fold the journal of an autosaved graph into its .star file so that the
+     * .star file holds the whole graph, and delete the journal.
+     *
+     * @param starFile An autosaved .star file.
+     * @param progress A progress indicator.
+     *
+     * @throws IOException If an I/O error occurs.
+     * @throws GraphParseException On graph parsing errors.
+     */
+    public static void compact(final File starFile, final IoProgress progress) throws IOException, GraphParseException {
+        final File journalFile = getJournalFile(starFile);
+        if (!journalFile.exists()) {
+            return;
+        }
+
+        final Graph graph = readAutosave(starFile, progress);
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            new GraphJsonWriter().writeGraphToZip(rg, starFile.getPath(), progress);
+        }
+        Files.delete(Path.of(journalFile.getPath()));
+    }
+
+    /**
+     * Execute the edits in a journal against the graph read from the
+     * checkpoint that the journal follows.
+     * <p>
+     * Replaying stops at the first edit that can not be read or executed; the
+     * graph keeps the edits before it.
+     *
+     * @return The number of edits replayed.
+     */
+    static int replay(final Graph graph, final File starFile, final File journalFile) throws IOException {
+        int replayed = 0;
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(journalFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                LOGGER.log(Level.WARNING, "Ignoring autosave journal {0} with an unknown format", journalFile);
+                return 0;
+            }
+            final long starLength = in.readLong();
+            final long starLastModified = in.readLong();
+            if (starLength != starFile.length() || starLastModified != starFile.lastModified()) {
+                LOGGER.log(Level.WARNING, "Ignoring autosave journal {0} which does not follow {1}", new Object[]{journalFile, starFile});
+                return 0;
+            }
+            long modificationCounter = in.readLong();
+
+            final CRC32 crc = new CRC32();
+            while (true) {
+                final byte[] record;
+                try {
+                    final int length = in.readInt();
+                    final int checksum = in.readInt();
+                    record = new byte[length];
+                    in.readFully(record);
+                    crc.reset();
+                    crc.update(record);
+                    if ((int) crc.getValue() != checksum) {
+                        LOGGER.log(Level.WARNING, "Autosave journal {0} has a corrupt edit after {1} edits", new Object[]{journalFile, replayed});
+                        break;
+                    }
+                } catch (final EOFException ex) {
+                    // The end of the journal, or an edit that was only partly written.
+                    break;
+                }
+
+                final DataInputStream recordIn = new DataInputStream(new ByteArrayInputStream(record));
+                if (recordIn.readLong() != modificationCounter) {
+                    LOGGER.log(Level.WARNING, "Autosave journal {0} is out of order after {1} edits", new Object[]{journalFile, replayed});
+                    break;
+                }
+                final long nextModificationCounter = recordIn.readLong();
+
+                if (!execute(graph, recordIn)) {
+                    LOGGER.log(Level.WARNING, "Autosave journal {0} could not be replayed after {1} edits", new Object[]{journalFile, replayed});
+                    break;
+                }
+                modificationCounter = nextModificationCounter;
+                replayed++;
+            }
+        } catch (final EOFException ex) {
+            LOGGER.log(Level.WARNING, "Ignoring truncated autosave journal {0}", journalFile);
+        }
+
+        LOGGER.log(Level.INFO, "Replayed {0} edits from autosave journal {1}", new Object[]{replayed, journalFile});
+        return replayed;
+    }
+
+    private static boolean execute(final Graph graph, final DataInputStream recordIn) {
+        final UndoGraphEdit edit;
+        try {
+            edit = new UndoGraphEdit(recordIn);
+        } catch (final Exception ex) {
+            LOGGER.log(Level.WARNING, "Autosave journal edit could not be read", ex);
+            return false;
+        }
+
+        final WritableGraph wg;
+        try {
+            wg = graph.getWritableGraph("Replay Autosave Journal", true);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        try {
+            edit.execute(wg);
+        } catch (final RuntimeException ex) {
+            LOGGER.log(Level.WARNING, "Autosave journal edit could not be executed", ex);
+            wg.rollBack();
+            return false;
+        }
+
+        try {
+            wg.commit();
+        } catch (final DuplicateKeyException ex) {
+            LOGGER.log(Level.WARNING, "Autosave journal edit could not be committed", ex);
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * A committed edit waiting to be written to the journal.
+     */
+    private static class JournalEdit {
+
+        final UndoGraphEdit edit;
+        final long baseModificationCounter;
+        final long modificationCounter;
+
+        JournalEdit(final UndoGraphEdit edit, final long baseModificationCounter, final long modificationCounter) {
+            this.edit = edit;
+            this.baseModificationCounter = baseModificationCounter;
+            this.modificationCounter = modificationCounter;
+        }
+    }
+}
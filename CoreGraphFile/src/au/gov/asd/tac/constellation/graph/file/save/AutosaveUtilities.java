@@ -105,17 +105,13 @@ public final class AutosaveUtilities {
      * Delete a pair of autosave files.
      * <p>
      * If the .star is given, the matching .star_auto will be deleted, and vice
-     * versa.
+     * versa. The .star_journal following the .star is also deleted.
      *
      * @param f A .star or .star_auto to be deleted.
      */
     public static void deleteAutosave(final File f) {
         final String path = f.getPath();
-        try {
-            Files.delete(Path.of(path));
-        } catch (final IOException ex) {
-            //TODO: Handle case where file not successfully deleted
-        }
+        deleteFile(Path.of(path));
 
         String filepath = null;
         if (path.endsWith(FileExtensionConstants.STAR)) {
@@ -125,11 +121,10 @@ public final class AutosaveUtilities {
         }
 
         if (filepath != null) {
-            try {
-                Files.delete(Path.of(filepath));
-            } catch (final IOException ex) {
-                //TODO: Handle case where file not successfully deleted
-            }
+            deleteFile(Path.of(filepath));
+
+            final String starPath = path.endsWith(FileExtensionConstants.STAR) ? path : filepath;
+            deleteFile(AutosaveJournal.getJournalFile(new File(starPath)).toPath());
         }
     }
 
@@ -218,18 +213,23 @@ public final class AutosaveUtilities {
      * <p>
      * It's possible to have .star files without a corresponding .star_auto, and
      * vice versa, depending on exactly where a crash happened. This method gets
-     * rid of dangling files.
+     * rid of dangling files, including .star_journal files without a .star.
      */
     public static void cleanup() {
         // Find .star files aithout a .star_auto.
         for (final File star : getAutosaves(FileExtensionConstants.STAR)) {
             final File auto = new File(star.getPath() + "_auto");
             if (!auto.exists()) {
-                try {
-                    Files.delete(Path.of(star.getPath()));
-                } catch (final IOException ex) {
-                    //TODO: Handle case where file not successfully deleted
-                }
+                deleteFile(Path.of(star.getPath()));
+            }
+        }
+
+        // Find .star_journal files without a .star.
+        for (final File journal : getAutosaves(FileExtensionConstants.STAR_JOURNAL)) {
+            final String journals = journal.getPath();
+            final File star = new File(journals.substring(0, journals.length() - FileExtensionConstants.STAR_JOURNAL.length()) + FileExtensionConstants.STAR);
+            if (!star.exists()) {
+                deleteFile(Path.of(journals));
             }
         }
 
@@ -238,12 +238,22 @@ public final class AutosaveUtilities {
             final String autos = auto.getPath();
             final File star = new File(autos.substring(0, autos.length() - 5));
             if (!star.exists()) {
-                try {
-                    Files.delete(Path.of(autos));
-                } catch (final IOException ex) {
-                    //TODO: Handle case where file not successfully deleted
-                }
+                deleteFile(Path.of(autos));
             }
         }
     }
+
+    /**
+     * Delete an autosave file if it exists, logging any failure rather than
+     * interrupting the caller.
+     *
+     * @param path The file to delete.
+     */
+    private static void deleteFile(final Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (final IOException ex) {
+            LOGGER.log(Level.WARNING, String.format("Unable to delete autosave file %s", path), ex);
+        }
+    }
 }
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.graph.file.io;
+
+import au.gov.asd.tac.constellation.graph.Graph;
+import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.ReadableGraph;
+import au.gov.asd.tac.constellation.graph.WritableGraph;
+import au.gov.asd.tac.constellation.graph.attribute.BooleanAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.DoubleAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.FloatAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.IntegerAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.IntegerObjectAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.LongAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.StringAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.ZonedDateTimeAttributeDescription;
+import au.gov.asd.tac.constellation.graph.locking.DualGraph;
+import au.gov.asd.tac.constellation.utilities.gui.IoProgress;
+import au.gov.asd.tac.constellation.utilities.gui.TextIoProgress;
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test the columnar graph file format.
+ *
+ * @author algol
+ */
+public class GraphColumnarNGTest {
+
+    private static final ZonedDateTime START = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private Graph graph;
+    private File graphFile;
+
+    @BeforeMethod
+    public void setUpMethod() throws Exception {
+        graph = new DualGraph(null);
+        final WritableGraph wg = graph.getWritableGraph("add", true);
+        try {
+            final int nameAttr = wg.addAttribute(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "name", "descr", "", null);
+            final int xAttr = wg.addAttribute(GraphElementType.VERTEX, FloatAttributeDescription.ATTRIBUTE_NAME, "x", "x", 0.0, null);
+            final int countAttr = wg.addAttribute(GraphElementType.VERTEX, IntegerAttributeDescription.ATTRIBUTE_NAME, "count", null, 7, null);
+            final int sizeAttr = wg.addAttribute(GraphElementType.VERTEX, LongAttributeDescription.ATTRIBUTE_NAME, "size", null, null, null);
+            final int optionalAttr = wg.addAttribute(GraphElementType.VERTEX, IntegerObjectAttributeDescription.ATTRIBUTE_NAME, "optional", null, null, null);
+            final int selectedAttr = wg.addAttribute(GraphElementType.TRANSACTION, BooleanAttributeDescription.ATTRIBUTE_NAME, "selected", null, false, null);
+            final int weightAttr = wg.addAttribute(GraphElementType.TRANSACTION, DoubleAttributeDescription.ATTRIBUTE_NAME, "weight", null, null, null);
+            final int datetimeAttr = wg.addAttribute(GraphElementType.TRANSACTION, ZonedDateTimeAttributeDescription.ATTRIBUTE_NAME, "datetime", null, null, null);
+            final int titleAttr = wg.addAttribute(GraphElementType.GRAPH, StringAttributeDescription.ATTRIBUTE_NAME, "title", null, null, null);
+            wg.setPrimaryKey(GraphElementType.VERTEX, nameAttr);
+
+            wg.setStringValue(titleAttr, 0, "columnar");
+
+            final int[] vertices = new int[6];
+            for (int i = 0; i < vertices.length; i++) {
+                vertices[i] = wg.addVertex();
+                wg.setStringValue(nameAttr, vertices[i], i == 3 ? null : "name" + i + " é");
+                wg.setFloatValue(xAttr, vertices[i], i * 1.5F);
+                wg.setLongValue(sizeAttr, vertices[i], Long.MAX_VALUE - i);
+                if (i % 2 == 0) {
+                    wg.setIntValue(countAttr, vertices[i], -i);
+                    wg.setObjectValue(optionalAttr, vertices[i], i);
+                }
+            }
+
+            for (int i = 0; i < vertices.length - 1; i++) {
+                final int transaction = wg.addTransaction(vertices[i], vertices[i + 1], i % 2 == 0);
+                wg.setBooleanValue(selectedAttr, transaction, i % 2 == 1);
+                wg.setDoubleValue(weightAttr, transaction, i / 3.0);
+                wg.setObjectValue(datetimeAttr, transaction, START.plusHours(i));
+            }
+
+            // leave gaps in the vertex and transaction ids
+            wg.removeVertex(vertices[1]);
+        } finally {
+            wg.commit();
+        }
+
+        graphFile = File.createTempFile("columnar", ".star");
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            assertFalse(new GraphColumnarWriter().writeGraphToZip(rg, graphFile.getPath(), new TextIoProgress(false)));
+        }
+    }
+
+    @AfterMethod
+    public void tearDownMethod() {
+        graphFile.delete();
+        graph = null;
+    }
+
+    @Test
+    public void testWritesColumnarEntries() throws Exception {
+        System.out.println("writesColumnarEntries");
+
+        assertTrue(GraphColumnarReader.isColumnarGraphFile(graphFile));
+        try (final ZipFile zipFile = new ZipFile(graphFile)) {
+            assertNotNull(zipFile.getEntry(GraphFileConstants.COLUMNAR_HEADER));
+            assertNotNull(zipFile.getEntry(GraphColumnarWriter.VERTEX_BLOCK));
+            assertNotNull(zipFile.getEntry(GraphColumnarWriter.TRANSACTION_BLOCK));
+            assertNull(zipFile.getEntry("graph" + GraphFileConstants.FILE_EXTENSION));
+        }
+    }
+
+    @Test
+    public void testJsonGraphFileIsNotColumnar() throws Exception {
+        System.out.println("jsonGraphFileIsNotColumnar");
+
+        final File jsonFile = File.createTempFile("json", ".star");
+        try {
+            try (final ReadableGraph rg = graph.getReadableGraph()) {
+                new GraphJsonWriter().writeGraphToZip(rg, jsonFile.getPath(), new TextIoProgress(false));
+            }
+            assertFalse(GraphColumnarReader.isColumnarGraphFile(jsonFile));
+        } finally {
+            jsonFile.delete();
+        }
+    }
+
+    @Test
+    public void testReadFile() throws Exception {
+        System.out.println("readFile");
+
+        final Graph readGraph = new GraphJsonReader().readGraphZip(graphFile, new TextIoProgress(false));
+        assertSameGraph(readGraph);
+    }
+
+    @Test
+    public void testReadStream() throws Exception {
+        System.out.println("readStream");
+
+        try (final InputStream in = new BufferedInputStream(new FileInputStream(graphFile))) {
+            final Graph readGraph = new GraphJsonReader().readGraphZip(graphFile.getPath(), in, new TextIoProgress(false));
+            assertSameGraph(readGraph);
+        }
+    }
+
+    @Test
+    public void testTruncatedBlockFinishesProgress() throws Exception {
+        System.out.println("truncatedBlockFinishesProgress");
+
+        // copy the graph file, leaving the vertex block empty
+        final File truncatedFile = File.createTempFile("truncated", ".star");
+        try {
+            try (final ZipFile zipFile = new ZipFile(graphFile); final ZipOutputStream out = new ZipOutputStream(new FileOutputStream(truncatedFile))) {
+                for (final ZipEntry entry : Collections.list(zipFile.entries())) {
+                    out.putNextEntry(new ZipEntry(entry.getName()));
+                    if (!GraphColumnarWriter.VERTEX_BLOCK.equals(entry.getName())) {
+                        try (final InputStream in = zipFile.getInputStream(entry)) {
+                            in.transferTo(out);
+                        }
+                    }
+                    out.closeEntry();
+                }
+            }
+
+            final IoProgress progress = mock(IoProgress.class);
+            try {
+                new GraphColumnarReader().readGraphZip(truncatedFile, progress);
+                fail("A truncated block should not be read");
+            } catch (final GraphParseException ex) {
+                // expected
+            }
+            verify(progress, times(1)).finish();
+        } finally {
+            truncatedFile.delete();
+        }
+    }
+
+    private void assertSameGraph(final Graph readGraph) {
+        try (final ReadableGraph expected = graph.getReadableGraph(); final ReadableGraph actual = readGraph.getReadableGraph()) {
+            assertEquals(actual.getVertexCount(), expected.getVertexCount());
+            assertEquals(actual.getTransactionCount(), expected.getTransactionCount());
+
+            for (final GraphElementType elementType : new GraphElementType[]{GraphElementType.GRAPH, GraphElementType.VERTEX, GraphElementType.TRANSACTION}) {
+                assertEquals(actual.getAttributeCount(elementType), expected.getAttributeCount(elementType));
+                for (int attributePosition = 0; attributePosition < expected.getAttributeCount(elementType); attributePosition++) {
+                    final int expectedAttr = expected.getAttribute(elementType, attributePosition);
+                    final String label = expected.getAttributeName(expectedAttr);
+                    final int actualAttr = actual.getAttribute(elementType, label);
+                    assertEquals(actual.getAttributeType(actualAttr), expected.getAttributeType(expectedAttr));
+                    assertEquals((Object) actual.getAttributeDefaultValue(actualAttr), (Object) expected.getAttributeDefaultValue(expectedAttr), label);
+
+                    final int count = switch (elementType) {
+                        case VERTEX -> expected.getVertexCount();
+                        case TRANSACTION -> expected.getTransactionCount();
+                        default -> 1;
+                    };
+                    for (int position = 0; position < count; position++) {
+                        final int expectedId = switch (elementType) {
+                            case VERTEX -> expected.getVertex(position);
+                            case TRANSACTION -> expected.getTransaction(position);
+                            default -> 0;
+                        };
+                        final int actualId = switch (elementType) {
+                            case VERTEX -> actual.getVertex(position);
+                            case TRANSACTION -> actual.getTransaction(position);
+                            default -> 0;
+                        };
+                        assertEquals((Object) actual.getObjectValue(actualAttr, actualId), (Object) expected.getObjectValue(expectedAttr, expectedId), label + " at position " + position);
+                    }
+                }
+            }
+
+            final int[] key = actual.getPrimaryKey(GraphElementType.VERTEX);
+            assertEquals(key.length, 1);
+            assertEquals(actual.getAttributeName(key[0]), "name");
+
+            final int expectedName = expected.getAttribute(GraphElementType.VERTEX, "name");
+            final int actualName = actual.getAttribute(GraphElementType.VERTEX, "name");
+            for (int position = 0; position < expected.getTransactionCount(); position++) {
+                final int expectedTx = expected.getTransaction(position);
+                final int actualTx = actual.getTransaction(position);
+                assertEquals(actual.getTransactionDirection(actualTx) == Graph.UNDIRECTED, expected.getTransactionDirection(expectedTx) == Graph.UNDIRECTED);
+                assertEquals(actual.getStringValue(actualName, actual.getTransactionSourceVertex(actualTx)),
+                        expected.getStringValue(expectedName, expected.getTransactionSourceVertex(expectedTx)));
+                assertEquals(actual.getStringValue(actualName, actual.getTransactionDestinationVertex(actualTx)),
+                        expected.getStringValue(expectedName, expected.getTransactionDestinationVertex(expectedTx)));
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.graph.file.io;
+
+import au.gov.asd.tac.constellation.graph.Graph;
+import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.ReadableGraph;
+import au.gov.asd.tac.constellation.graph.WritableGraph;
+import au.gov.asd.tac.constellation.graph.attribute.BooleanAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.FloatAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.IntegerAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.StringAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.ZonedDateTimeAttributeDescription;
+import au.gov.asd.tac.constellation.graph.locking.DualGraph;
+import au.gov.asd.tac.constellation.utilities.gui.TextIoProgress;
+import java.io.File;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import static org.testng.Assert.assertEquals;
+import org.testng.annotations.Test;
+
+/**
+ * Compare the time taken to open the same graph saved as a JSON graph file and
+ * as a columnar graph file.
+ * <p>
+ * This is a timing benchmark rather than a unit test, so it is disabled and
+ * does not run with the other tests. Enable it to compare the formats. Set the
+ * system property {@code constellation.graphFileBenchmark.vertices} to
+ * benchmark a larger graph; it will have three transactions per vertex.
+ *
+ * @author algol
+ */
+public class GraphFileFormatBenchmarkNGTest {
+
+    private static final int VERTEX_COUNT = Integer.getInteger("constellation.graphFileBenchmark.vertices", 20000);
+    private static final int TRANSACTIONS_PER_VERTEX = 3;
+    private static final int RUNS = 3;
+
+    @Test(enabled = false)
+    public void testOpenGraphInBothFormats() throws Exception {
+        System.out.println("openGraphInBothFormats");
+
+        final Graph graph = new DualGraph(null);
+        final WritableGraph wg = graph.getWritableGraph("add", true);
+        try {
+            final int nameAttr = wg.addAttribute(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "name", null, null, null);
+            final int typeAttr = wg.addAttribute(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "type", null, null, null);
+            final int xAttr = wg.addAttribute(GraphElementType.VERTEX, FloatAttributeDescription.ATTRIBUTE_NAME, "x", null, 0.0, null);
+            final int yAttr = wg.addAttribute(GraphElementType.VERTEX, FloatAttributeDescription.ATTRIBUTE_NAME, "y", null, 0.0, null);
+            final int zAttr = wg.addAttribute(GraphElementType.VERTEX, FloatAttributeDescription.ATTRIBUTE_NAME, "z", null, 0.0, null);
+            final int selectedAttr = wg.addAttribute(GraphElementType.VERTEX, BooleanAttributeDescription.ATTRIBUTE_NAME, "selected", null, false, null);
+            final int countAttr = wg.addAttribute(GraphElementType.TRANSACTION, IntegerAttributeDescription.ATTRIBUTE_NAME, "count", null, 0, null);
+            final int datetimeAttr = wg.addAttribute(GraphElementType.TRANSACTION, ZonedDateTimeAttributeDescription.ATTRIBUTE_NAME, "datetime", null, null, null);
+
+            final ZonedDateTime start = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+            final int[] vertices = new int[VERTEX_COUNT];
+            for (int i = 0; i < VERTEX_COUNT; i++) {
+                vertices[i] = wg.addVertex();
+                wg.setStringValue(nameAttr, vertices[i], "vertex" + i);
+                wg.setStringValue(typeAttr, vertices[i], "type" + (i % 10));
+                wg.setFloatValue(xAttr, vertices[i], i);
+                wg.setFloatValue(yAttr, vertices[i], i * 0.5F);
+                wg.setFloatValue(zAttr, vertices[i], -i);
+                wg.setBooleanValue(selectedAttr, vertices[i], i % 7 == 0);
+            }
+            for (int i = 0; i < VERTEX_COUNT; i++) {
+                for (int j = 1; j <= TRANSACTIONS_PER_VERTEX; j++) {
+                    final int transaction = wg.addTransaction(vertices[i], vertices[(i * 31 + j) % VERTEX_COUNT], true);
+                    wg.setIntValue(countAttr, transaction, i + j);
+                    wg.setObjectValue(datetimeAttr, transaction, start.plusMinutes(i + j));
+                }
+            }
+        } finally {
+            wg.commit();
+        }
+
+        final File jsonFile = File.createTempFile("benchmark-json", ".star");
+        final File columnarFile = File.createTempFile("benchmark-columnar", ".star");
+        try {
+            writeGraph(graph, jsonFile, columnarFile);
+            openGraph(jsonFile, columnarFile);
+        } finally {
+            jsonFile.delete();
+            columnarFile.delete();
+        }
+    }
+
+    private static void writeGraph(final Graph graph, final File jsonFile, final File columnarFile) throws Exception {
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            long begin = System.nanoTime();
+            new GraphJsonWriter().writeGraphToZip(rg, jsonFile.getPath(), new TextIoProgress(false));
+            final long jsonWrite = System.nanoTime() - begin;
+
+            begin = System.nanoTime();
+            new GraphColumnarWriter().writeGraphToZip(rg, columnarFile.getPath(), new TextIoProgress(false));
+            final long columnarWrite = System.nanoTime() - begin;
+
+            System.out.println(String.format("Wrote %d vertices and %d transactions: json %d ms (%d bytes), columnar %d ms (%d bytes)",
+                    rg.getVertexCount(), rg.getTransactionCount(), jsonWrite / 1_000_000, jsonFile.length(), columnarWrite / 1_000_000, columnarFile.length()));
+        }
+    }
+
+    private static void openGraph(final File jsonFile, final File columnarFile) throws Exception {
+        long jsonBest = Long.MAX_VALUE;
+        long columnarBest = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long begin = System.nanoTime();
+            final Graph jsonGraph = new GraphJsonReader().readGraphZip(jsonFile, new TextIoProgress(false));
+            jsonBest = Math.min(jsonBest, System.nanoTime() - begin);
+
+            begin = System.nanoTime();
+            final Graph columnarGraph = new GraphJsonReader().readGraphZip(columnarFile, new TextIoProgress(false));
+            columnarBest = Math.min(columnarBest, System.nanoTime() - begin);
+
+            try (final ReadableGraph jrg = jsonGraph.getReadableGraph(); final ReadableGraph crg = columnarGraph.getReadableGraph()) {
+                assertEquals(crg.getVertexCount(), jrg.getVertexCount());
+                assertEquals(crg.getTransactionCount(), jrg.getTransactionCount());
+            }
+        }
+
+        System.out.println(String.format("Opened %d vertices: json %d ms, columnar %d ms (best of %d)",
+                VERTEX_COUNT, jsonBest / 1_000_000, columnarBest / 1_000_000, RUNS));
+    }
+}
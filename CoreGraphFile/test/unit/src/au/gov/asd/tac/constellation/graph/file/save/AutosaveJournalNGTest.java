@@ -0,0 +1,326 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.graph.file.save;
+
+import au.gov.asd.tac.constellation.graph.Graph;
+import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.ReadableGraph;
+import au.gov.asd.tac.constellation.graph.WritableGraph;
+import au.gov.asd.tac.constellation.graph.attribute.FloatAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.ObjectAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.StringAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.ZonedDateTimeAttributeDescription;
+import au.gov.asd.tac.constellation.graph.file.io.GraphColumnarWriter;
+import au.gov.asd.tac.constellation.graph.locking.DualGraph;
+import au.gov.asd.tac.constellation.utilities.gui.TextIoProgress;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test the autosave journal.
+ *
+ * @author algol
+ */
+public class AutosaveJournalNGTest {
+
+    private Graph graph;
+    private AutosaveJournal journal;
+    private File starFile;
+    private int nameAttr;
+    private int xAttr;
+
+    @BeforeMethod
+    public void setUpMethod() throws Exception {
+        graph = new DualGraph(null);
+        final WritableGraph wg = graph.getWritableGraph("add", true);
+        try {
+            nameAttr = wg.addAttribute(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "name", null, null, null);
+            xAttr = wg.addAttribute(GraphElementType.VERTEX, FloatAttributeDescription.ATTRIBUTE_NAME, "x", null, 0.0, null);
+            final int unusedAttr = wg.addAttribute(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "unused", null, null, null);
+            wg.setPrimaryKey(GraphElementType.VERTEX, nameAttr);
+            for (int i = 0; i < 5; i++) {
+                final int vertex = wg.addVertex();
+                wg.setStringValue(nameAttr, vertex, "vertex" + i);
+                wg.setFloatValue(xAttr, vertex, i);
+            }
+            wg.addTransaction(wg.getVertex(0), wg.getVertex(1), true);
+
+            // leave gaps in the ids so that ids allocated by the checkpoint and the graph would differ
+            wg.removeVertex(wg.getVertex(2));
+            wg.removeAttribute(unusedAttr);
+        } finally {
+            wg.commit();
+        }
+
+        journal = AutosaveJournal.getJournal(graph);
+        starFile = File.createTempFile("autosave", ".star");
+        checkpoint();
+    }
+
+    @AfterMethod
+    public void tearDownMethod() throws Exception {
+        AutosaveUtilities.deleteAutosave(starFile);
+        Files.deleteIfExists(AutosaveJournal.getJournalFile(starFile).toPath());
+        graph = null;
+    }
+
+    private void checkpoint() throws Exception {
+        final long epoch = journal.startCheckpoint();
+        final long modificationCounter;
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            new GraphColumnarWriter().writeGraphToZip(rg.copy(), starFile.getPath(), new TextIoProgress(false));
+            modificationCounter = rg.getGlobalModificationCounter();
+        }
+        journal.finishCheckpoint(starFile, epoch, modificationCounter);
+    }
+
+    @Test
+    public void testGetJournal() {
+        System.out.println("getJournal");
+
+        assertNotNull(journal);
+        assertTrue(AutosaveJournal.getJournal(graph) == journal);
+        assertTrue(AutosaveJournal.getJournalFile(starFile).exists());
+        assertFalse(journal.isCheckpointDue(starFile));
+    }
+
+    @Test
+    public void testReplayEdits() throws Exception {
+        System.out.println("replayEdits");
+
+        WritableGraph wg = graph.getWritableGraph("edit", true);
+        try {
+            final int vertex = wg.addVertex();
+            wg.setStringValue(nameAttr, vertex, "added");
+            wg.setFloatValue(xAttr, wg.getVertex(0), 42);
+            wg.addTransaction(vertex, wg.getVertex(0), false);
+        } finally {
+            wg.commit();
+        }
+        assertTrue(journal.append(starFile));
+
+        wg = graph.getWritableGraph("edit", true);
+        try {
+            final int datetimeAttr = wg.addAttribute(GraphElementType.TRANSACTION, ZonedDateTimeAttributeDescription.ATTRIBUTE_NAME, "datetime", null, null, null);
+            wg.setObjectValue(datetimeAttr, wg.getTransaction(0), ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+            wg.removeVertex(wg.getVertex(1));
+            wg.setStringValue(nameAttr, wg.getVertex(0), "renamed");
+        } finally {
+            wg.commit();
+        }
+        assertTrue(journal.append(starFile));
+
+        final Graph recovered = AutosaveJournal.readAutosave(starFile, new TextIoProgress(false));
+        assertSameGraph(recovered);
+    }
+
+    /**
+     * Test that an attribute added after a checkpoint is replayed with its
+     * recorded id, even when the checkpoint frees attribute ids in a different
+     * order to the graph.
+     */
+    @Test
+    public void testReplayAddedAttribute() throws Exception {
+        System.out.println("replayAddedAttribute");
+
+        WritableGraph wg = graph.getWritableGraph("remove", true);
+        try {
+            final int firstAttr = wg.addAttribute(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "first", null, null, null);
+            final int secondAttr = wg.addAttribute(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "second", null, null, null);
+            wg.removeAttribute(firstAttr);
+            wg.removeAttribute(secondAttr);
+        } finally {
+            wg.commit();
+        }
+        checkpoint();
+
+        wg = graph.getWritableGraph("add", true);
+        try {
+            final int labelAttr = wg.addAttribute(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "label", null, null, null);
+            wg.setStringValue(labelAttr, wg.getVertex(0), "labelled");
+        } finally {
+            wg.commit();
+        }
+        assertTrue(journal.append(starFile));
+
+        final Graph recovered = AutosaveJournal.readAutosave(starFile, new TextIoProgress(false));
+        assertSameGraph(recovered);
+    }
+
+    @Test
+    public void testHistoryChangeRequiresCheckpoint() throws Exception {
+        System.out.println("historyChangeRequiresCheckpoint");
+
+        journal.historyChanged();
+        assertTrue(journal.isCheckpointDue(starFile));
+        assertFalse(journal.append(starFile));
+
+        checkpoint();
+        assertFalse(journal.isCheckpointDue(starFile));
+    }
+
+    @Test
+    public void testUnwritableEditRequiresCheckpoint() throws Exception {
+        System.out.println("unwritableEditRequiresCheckpoint");
+
+        final WritableGraph wg = graph.getWritableGraph("edit", true);
+        try {
+            final int objectAttr = wg.addAttribute(GraphElementType.GRAPH, ObjectAttributeDescription.ATTRIBUTE_NAME, "object", null, null, null);
+            wg.setObjectValue(objectAttr, 0, new Object());
+        } finally {
+            wg.commit();
+        }
+
+        assertFalse(journal.append(starFile));
+        assertTrue(journal.isCheckpointDue(starFile));
+
+        checkpoint();
+        final Graph recovered = AutosaveJournal.readAutosave(starFile, new TextIoProgress(false));
+        try (final ReadableGraph rg = recovered.getReadableGraph()) {
+            assertEquals(rg.getVertexCount(), 4);
+        }
+    }
+
+    /**
+     * Test that a serializable value of a class outside the allowed packages
+     * isn't written to the journal.
+     */
+    @Test
+    public void testDisallowedSerializableEditRequiresCheckpoint() throws Exception {
+        System.out.println("disallowedSerializableEditRequiresCheckpoint");
+
+        final WritableGraph wg = graph.getWritableGraph("edit", true);
+        try {
+            final int objectAttr = wg.addAttribute(GraphElementType.GRAPH, ObjectAttributeDescription.ATTRIBUTE_NAME, "object", null, null, null);
+            wg.setObjectValue(objectAttr, 0, new File("disallowed"));
+        } finally {
+            wg.commit();
+        }
+
+        assertFalse(journal.append(starFile));
+        assertTrue(journal.isCheckpointDue(starFile));
+    }
+
+    @Test
+    public void testJournalForOtherCheckpointIsIgnored() throws Exception {
+        System.out.println("journalForOtherCheckpointIsIgnored");
+
+        final WritableGraph wg = graph.getWritableGraph("edit", true);
+        try {
+            wg.addVertex();
+        } finally {
+            wg.commit();
+        }
+        assertTrue(journal.append(starFile));
+
+        // Change the checkpoint, as if a crash happened while a new checkpoint was being written.
+        try (final RandomAccessFile file = new RandomAccessFile(starFile, "rw")) {
+            file.setLength(file.length() + 1);
+        }
+
+        try (final ReadableGraph rg = AutosaveJournal.readAutosave(starFile, new TextIoProgress(false)).getReadableGraph()) {
+            assertEquals(rg.getVertexCount(), 4);
+        }
+    }
+
+    @Test
+    public void testTruncatedEditIsIgnored() throws Exception {
+        System.out.println("truncatedEditIsIgnored");
+
+        WritableGraph wg = graph.getWritableGraph("edit", true);
+        try {
+            wg.setStringValue(nameAttr, wg.addVertex(), "first");
+        } finally {
+            wg.commit();
+        }
+        assertTrue(journal.append(starFile));
+        final long length = AutosaveJournal.getJournalFile(starFile).length();
+
+        wg = graph.getWritableGraph("edit", true);
+        try {
+            wg.setStringValue(nameAttr, wg.addVertex(), "second");
+        } finally {
+            wg.commit();
+        }
+        assertTrue(journal.append(starFile));
+
+        try (final RandomAccessFile file = new RandomAccessFile(AutosaveJournal.getJournalFile(starFile), "rw")) {
+            file.setLength(length + 10);
+        }
+
+        try (final ReadableGraph rg = AutosaveJournal.readAutosave(starFile, new TextIoProgress(false)).getReadableGraph()) {
+            assertEquals(rg.getVertexCount(), 5);
+        }
+    }
+
+    @Test
+    public void testCompact() throws Exception {
+        System.out.println("compact");
+
+        final WritableGraph wg = graph.getWritableGraph("edit", true);
+        try {
+            wg.setStringValue(nameAttr, wg.getVertex(0), "compacted");
+        } finally {
+            wg.commit();
+        }
+        assertTrue(journal.append(starFile));
+
+        AutosaveJournal.compact(starFile, new TextIoProgress(false));
+        assertFalse(AutosaveJournal.getJournalFile(starFile).exists());
+
+        final Graph recovered = AutosaveJournal.readAutosave(starFile, new TextIoProgress(false));
+        try (final ReadableGraph rg = recovered.getReadableGraph()) {
+            final int name = rg.getAttribute(GraphElementType.VERTEX, "name");
+            assertEquals(rg.getVertexCount(), 4);
+            assertEquals(rg.getStringValue(name, rg.getVertex(0)), "compacted");
+        }
+    }
+
+    private void assertSameGraph(final Graph recovered) {
+        try (final ReadableGraph expected = graph.getReadableGraph(); final ReadableGraph actual = recovered.getReadableGraph()) {
+            assertEquals(actual.getVertexCount(), expected.getVertexCount());
+            assertEquals(actual.getTransactionCount(), expected.getTransactionCount());
+            for (final GraphElementType elementType : new GraphElementType[]{GraphElementType.VERTEX, GraphElementType.TRANSACTION}) {
+                assertEquals(actual.getAttributeCount(elementType), expected.getAttributeCount(elementType));
+                for (int attributePosition = 0; attributePosition < expected.getAttributeCount(elementType); attributePosition++) {
+                    final int attribute = expected.getAttribute(elementType, attributePosition);
+                    assertEquals(actual.getAttributeName(attribute), expected.getAttributeName(attribute));
+                    final int count = elementType == GraphElementType.VERTEX ? expected.getVertexCount() : expected.getTransactionCount();
+                    for (int position = 0; position < count; position++) {
+                        final int id = elementType == GraphElementType.VERTEX ? expected.getVertex(position) : expected.getTransaction(position);
+                        assertEquals((Object) actual.getObjectValue(attribute, id), (Object) expected.getObjectValue(attribute, id));
+                    }
+                }
+            }
+            for (int position = 0; position < expected.getTransactionCount(); position++) {
+                final int transaction = expected.getTransaction(position);
+                assertEquals(actual.getTransactionSourceVertex(transaction), expected.getTransactionSourceVertex(transaction));
+                assertEquals(actual.getTransactionDestinationVertex(transaction), expected.getTransactionDestinationVertex(transaction));
+            }
+            assertEquals(actual.getPrimaryKey(GraphElementType.VERTEX), expected.getPrimaryKey(GraphElementType.VERTEX));
+        }
+    }
+}
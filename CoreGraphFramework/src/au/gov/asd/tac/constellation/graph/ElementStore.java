@@ -17,11 +17,19 @@ package au.gov.asd.tac.constellation.graph;
 
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * An ElementStore stores a ordered list of element ids as well as a list of
  * free ids that can be used for new elements. It is used in {@link StoreGraph}
  * to hold the master list of each element type in the graph.
+ * <p>
+ * A snapshot of an ElementStore shares its arrays with the original until
+ * either of them is modified, at which point the modified store takes its own
+ * copy of the arrays. Taking a snapshot doesn't modify the original store:
+ * instead each store watches a snapshot counter, shared by all of the stores
+ * of a graph, and copies its arrays before its next modification whenever the
+ * counter has changed.
  *
  * @author sirius
  */
@@ -34,8 +42,24 @@ public class ElementStore implements Serializable {
     private int[] position2id;
     private int[] id2position;
     private long[] id2UID;
+    private boolean shared = false;
+    private final AtomicInteger snapshots;
+    private int copiedSnapshot;
 
     public ElementStore(final int capacity) {
+        this(capacity, new AtomicInteger());
+    }
+
+    /**
+     * Creates a new ElementStore.
+     *
+     * @param capacity the initial capacity of the store.
+     * @param snapshots the number of snapshots taken of the graph holding this
+     * store.
+     */
+    public ElementStore(final int capacity, final AtomicInteger snapshots) {
+        this.snapshots = snapshots;
+        this.copiedSnapshot = snapshots.get();
         this.capacity = capacity;
         this.position2id = new int[capacity];
         this.id2position = new int[capacity];
@@ -48,6 +72,19 @@ public class ElementStore implements Serializable {
     }
 
     public ElementStore(final ElementStore original) {
+        this(original, new AtomicInteger());
+    }
+
+    /**
+     * Creates a new ElementStore that is a copy of the original.
+     *
+     * @param original the ElementStore to copy.
+     * @param snapshots the number of snapshots taken of the graph holding this
+     * store.
+     */
+    public ElementStore(final ElementStore original, final AtomicInteger snapshots) {
+        this.snapshots = snapshots;
+        this.copiedSnapshot = snapshots.get();
         this.capacity = original.capacity;
         this.count = original.count;
 
@@ -56,6 +93,45 @@ public class ElementStore implements Serializable {
         this.id2UID = Arrays.copyOf(original.id2UID, original.id2UID.length);
     }
 
+    private ElementStore(final ElementStore original, final AtomicInteger snapshots, final boolean shared) {
+        this.snapshots = snapshots;
+        this.copiedSnapshot = snapshots.get();
+        this.capacity = original.capacity;
+        this.count = original.count;
+
+        this.position2id = original.position2id;
+        this.id2position = original.id2position;
+        this.id2UID = original.id2UID;
+        this.shared = shared;
+    }
+
+    /**
+     * Creates a copy of this ElementStore that shares its arrays with this
+     * store until one of them is modified.
+     * <p>
+     * This store is not modified, so the caller must increment the snapshot
+     * counter of this store afterwards to have it copy its arrays before it is
+     * next modified.
+     *
+     * @param snapshots the number of snapshots taken of the graph holding the
+     * snapshot.
+     * @return a snapshot of this ElementStore.
+     */
+    public ElementStore snapshot(final AtomicInteger snapshots) {
+        return new ElementStore(this, snapshots, true);
+    }
+
+    private void ensureWritable() {
+        final int snapshot = snapshots.get();
+        if (shared || copiedSnapshot != snapshot) {
+            position2id = Arrays.copyOf(position2id, position2id.length);
+            id2position = Arrays.copyOf(id2position, id2position.length);
+            id2UID = Arrays.copyOf(id2UID, id2UID.length);
+            shared = false;
+            copiedSnapshot = snapshot;
+        }
+    }
+
     public int getCapacity() {
         return capacity;
     }
@@ -70,6 +146,8 @@ public class ElementStore implements Serializable {
             position2id = Arrays.copyOf(position2id, capacity);
             id2position = Arrays.copyOf(id2position, capacity);
             id2UID = Arrays.copyOf(id2UID, capacity);
+            shared = false;
+            copiedSnapshot = snapshots.get();
             for (int i = count; i < capacity; i++) {
                 position2id[i] = i;
                 id2position[i] = i | HIGH_BIT;
@@ -89,6 +167,8 @@ public class ElementStore implements Serializable {
             position2id = Arrays.copyOf(position2id, c);
             id2position = Arrays.copyOf(id2position, c);
             id2UID = Arrays.copyOf(id2UID, c);
+            shared = false;
+            copiedSnapshot = snapshots.get();
             for (int i = this.capacity; i < c; i++) {
                 position2id[i] = i;
                 id2position[i] = i | HIGH_BIT;
@@ -100,12 +180,14 @@ public class ElementStore implements Serializable {
     }
 
     public int add() {
+        ensureWritable();
         final int element = position2id[count];
         id2position[element] = count++;
         return element;
     }
 
     public void add(final int element) {
+        ensureWritable();
         // Get the position of the new element
         final int position = id2position[element] & LOW_BITS;
 
@@ -119,6 +201,7 @@ public class ElementStore implements Serializable {
     }
 
     public boolean addIfRemoved(final int element) {
+        ensureWritable();
         // Get the position of the new element
         int position = id2position[element];
 
@@ -140,6 +223,7 @@ public class ElementStore implements Serializable {
     }
 
     public void remove(final int element) {
+        ensureWritable();
         final int position = id2position[element];
 
         final int lastAddedElement = position2id[--count];
@@ -151,6 +235,7 @@ public class ElementStore implements Serializable {
     }
 
     public boolean removeIfAdded(final int element) {
+        ensureWritable();
         final int position = id2position[element];
 
         if (position >= 0) {
@@ -172,6 +257,7 @@ public class ElementStore implements Serializable {
     }
 
     public int removeLast() {
+        ensureWritable();
         final int element = position2id[--count];
 
         id2position[element] = count | HIGH_BIT;
@@ -195,6 +281,7 @@ public class ElementStore implements Serializable {
     }
 
     public void setUID(final int element, final long UID) {
+        ensureWritable();
         id2UID[element] = UID;
     }
 }
@@ -102,6 +102,28 @@ public interface Graph extends GraphConstants {
      */
     void removeGraphChangeListener(final GraphChangeListener listener);
 
+    /**
+     * Asks the graph to record which elements each edit changes, and to pass
+     * the record to listeners with
+     * {@link au.gov.asd.tac.constellation.graph.monitor.GraphChangeEvent#getChangeSet()}.
+     * Requests are counted, so each call must be matched by a call to
+     * {@link #stopRecordingChangeSets()} when the change sets are no longer
+     * needed.
+     * <p>
+     * Graphs that can not record change sets ignore the request.
+     */
+    default void startRecordingChangeSets() {
+        // Change sets are not supported by default
+    }
+
+    /**
+     * Withdraws a request made with {@link #startRecordingChangeSets()}. The
+     * graph stops recording change sets once every request is withdrawn.
+     */
+    default void stopRecordingChangeSets() {
+        // Change sets are not supported by default
+    }
+
     public ReadableGraph getReadableGraph();
 
     /**
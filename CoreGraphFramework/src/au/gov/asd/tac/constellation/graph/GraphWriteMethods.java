@@ -284,6 +284,30 @@ public interface GraphWriteMethods extends GraphReadMethods {
     int addAttribute(final GraphElementType elementType, final String attributeType, final String label,
             final String description, final Object defaultValue, final String attributeMergerId);
 
+    /**
+     * Add an attribute to the graph with a specified id. It will fail if there
+     * already exists an attribute with that id. If the graph's attribute
+     * capacity is exhausted then it will be increased so that the new
+     * attribute can be accommodated.
+     * <p>
+     * This is used to replay recorded edits, where later operations refer to
+     * the attribute by the id it had when the edit was recorded.
+     *
+     * @param attribute the id to be given to the attribute.
+     * @param elementType The type of element.
+     * @param attributeType The type of attribute to be added.
+     * @param label The attribute label.
+     * @param description The attribute description.
+     * @param defaultValue The default value of this attribute. This is
+     * typically assigned in the same way that setObjectValue() assigns values.
+     * @param attributeMergerId the id of the (@link GraphAttributeMerger} to
+     * use when merging elements with duplicate keys.
+     *
+     * @return the id of the new attribute.
+     */
+    int addAttribute(final int attribute, final GraphElementType elementType, final String attributeType, final String label,
+            final String description, final Object defaultValue, final String attributeMergerId);
+
     /**
      * Removes the attribute with the specified id from the graph.
      *
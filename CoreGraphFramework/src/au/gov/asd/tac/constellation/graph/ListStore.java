@@ -18,6 +18,7 @@ package au.gov.asd.tac.constellation.graph;
 import au.gov.asd.tac.constellation.utilities.text.SeparatorConstants;
 import java.io.Serializable;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A ListStore manages a collection of element ids in a collection of lists.
@@ -44,8 +45,28 @@ public class ListStore implements Serializable {
     private int[][] elements;
     private int[] elementLists;
     private int[] elementPositions;
+    // Set when the arrays are shared with a snapshot, see snapshot().
+    private boolean shared = false;
+    private boolean[] sharedLists = null;
+    private final AtomicInteger snapshots;
+    private int copiedSnapshot;
 
     public ListStore(final int categories, final int listCapacity, final int elementCapacity) {
+        this(categories, listCapacity, elementCapacity, new AtomicInteger());
+    }
+
+    /**
+     * Creates a new ListStore.
+     *
+     * @param categories the number of categories in each list.
+     * @param listCapacity the initial number of lists.
+     * @param elementCapacity the initial element capacity.
+     * @param snapshots the number of snapshots taken of the graph holding this
+     * store.
+     */
+    public ListStore(final int categories, final int listCapacity, final int elementCapacity, final AtomicInteger snapshots) {
+        this.snapshots = snapshots;
+        this.copiedSnapshot = snapshots.get();
         this.categories = categories;
         this.countLength = categories + 1;
         this.listCapacity = listCapacity;
@@ -63,6 +84,19 @@ public class ListStore implements Serializable {
     }
 
     public ListStore(final ListStore original) {
+        this(original, new AtomicInteger());
+    }
+
+    /**
+     * Creates a new ListStore that is a copy of the original.
+     *
+     * @param original the ListStore to copy.
+     * @param snapshots the number of snapshots taken of the graph holding this
+     * store.
+     */
+    public ListStore(final ListStore original, final AtomicInteger snapshots) {
+        this.snapshots = snapshots;
+        this.copiedSnapshot = snapshots.get();
         this.categories = original.categories;
         this.countLength = original.countLength;
         this.listCapacity = original.listCapacity;
@@ -81,8 +115,64 @@ public class ListStore implements Serializable {
         this.elementPositions = Arrays.copyOf(original.elementPositions, original.elementPositions.length);
     }
 
+    private ListStore(final ListStore original, final AtomicInteger snapshots, final boolean shared) {
+        this.snapshots = snapshots;
+        this.copiedSnapshot = snapshots.get();
+        this.categories = original.categories;
+        this.countLength = original.countLength;
+        this.listCapacity = original.listCapacity;
+        this.elementCapacity = original.elementCapacity;
+
+        this.categoryCounts = original.categoryCounts;
+        this.elements = original.elements;
+        this.elementLists = original.elementLists;
+        this.elementPositions = original.elementPositions;
+        this.shared = shared;
+    }
+
+    /**
+     * Creates a copy of this ListStore that shares its arrays with this store
+     * until one of them is modified. The individual lists are copied one at a
+     * time as they are modified, so a change to one list does not copy the
+     * others.
+     * <p>
+     * This store is not modified, so the caller must increment the snapshot
+     * counter of this store afterwards to have it copy its arrays before it is
+     * next modified.
+     *
+     * @param snapshots the number of snapshots taken of the graph holding the
+     * snapshot.
+     * @return a snapshot of this ListStore.
+     */
+    public ListStore snapshot(final AtomicInteger snapshots) {
+        return new ListStore(this, snapshots, true);
+    }
+
+    private void ensureWritable() {
+        final int snapshot = snapshots.get();
+        if (shared || copiedSnapshot != snapshot) {
+            categoryCounts = Arrays.copyOf(categoryCounts, categoryCounts.length);
+            elementLists = Arrays.copyOf(elementLists, elementLists.length);
+            elementPositions = Arrays.copyOf(elementPositions, elementPositions.length);
+            elements = Arrays.copyOf(elements, elements.length);
+            sharedLists = new boolean[elements.length];
+            Arrays.fill(sharedLists, true);
+            shared = false;
+            copiedSnapshot = snapshot;
+        }
+    }
+
+    private int[] getWritableList(final int list) {
+        if (sharedLists != null && list < sharedLists.length && sharedLists[list]) {
+            elements[list] = Arrays.copyOf(elements[list], elements[list].length);
+            sharedLists[list] = false;
+        }
+        return elements[list];
+    }
+
     public void addElement(final int list, final int element, final int category) {
-        int[] l = elements[list];
+        ensureWritable();
+        int[] l = getWritableList(list);
         final int base = countLength * list + category;
         int currentCategory = categories - category;
 
@@ -116,13 +206,14 @@ public class ListStore implements Serializable {
     }
 
     public void removeElement(final int element) {
+        ensureWritable();
         final int list = elementLists[element];
         int category = (elementPositions[element] >>> CATEGORY_SHIFT) - 1;
         int space = elementPositions[element] & POSITION_MASK;
 
         final int base = countLength * list;
 
-        final int[] l = elements[list];
+        final int[] l = getWritableList(list);
 
         // Mark the element as removed from the list
         elementLists[element] = -1;
@@ -153,6 +244,7 @@ public class ListStore implements Serializable {
     }
 
     public void expandElementCapacity(final int capacity) {
+        ensureWritable();
         elementLists = Arrays.copyOf(elementLists, capacity);
         Arrays.fill(elementLists, elementCapacity, capacity, -1);
 
@@ -162,6 +254,7 @@ public class ListStore implements Serializable {
     }
 
     public void expandListCapacity(final int capacity) {
+        ensureWritable();
         categoryCounts = Arrays.copyOf(categoryCounts, capacity * countLength);
 
         elements = Arrays.copyOf(elements, capacity);
@@ -19,6 +19,7 @@ import static au.gov.asd.tac.constellation.graph.GraphConstants.NOT_FOUND;
 import au.gov.asd.tac.constellation.graph.NativeAttributeType.NativeValue;
 import au.gov.asd.tac.constellation.graph.attribute.AttributeDescription;
 import au.gov.asd.tac.constellation.graph.attribute.AttributeRegistry;
+import au.gov.asd.tac.constellation.graph.attribute.ValueGraphIndex;
 import au.gov.asd.tac.constellation.graph.locking.GraphOperationMode;
 import au.gov.asd.tac.constellation.graph.locking.LockingTarget;
 import au.gov.asd.tac.constellation.graph.locking.ParameterReadAccess;
@@ -37,6 +38,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.IntStream;
@@ -108,6 +110,15 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
     private NativeValue oldValue = new NativeValue();
     private GraphEdit graphEdit;
 
+    // Parts of the graph that are shared with a snapshot and must be copied before they are modified, see snapshot().
+    // Taking a snapshot only increments the snapshot counter: the shared flags are set by the writer, see syncSnapshots().
+    private final AtomicInteger snapshots = new AtomicInteger();
+    private int syncedSnapshot = 0;
+    private boolean sharedLinkHash = false;
+    private boolean[] sharedAttributeDescriptions = null;
+    private boolean[] sharedAttributeIndices = null;
+    private final boolean[] sharedPrimaryKeyIndices = new boolean[GraphElementType.values().length];
+
     // For cleaning up object for garbage collection. Replaced finalize
     private static final Cleaner cleaner = Cleaner.create();
     private static final Runnable cleanupAction = () -> MemoryManager.finalizeObject(StoreGraph.class);
@@ -159,18 +170,18 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
         transactionCapacity = powerOf2(transactionCapacity);
         attributeCapacity = powerOf2(attributeCapacity);
 
-        vStore = new ElementStore(vertexCapacity);
-        lStore = new ElementStore(linkCapacity);
-        eStore = new ElementStore(edgeCapacity);
-        tStore = new ElementStore(transactionCapacity);
-        aStore = new ElementStore(attributeCapacity);
+        vStore = new ElementStore(vertexCapacity, snapshots);
+        lStore = new ElementStore(linkCapacity, snapshots);
+        eStore = new ElementStore(edgeCapacity, snapshots);
+        tStore = new ElementStore(transactionCapacity, snapshots);
+        aStore = new ElementStore(attributeCapacity, snapshots);
 
-        vertexLinks = new ListStore(7, vertexCapacity, linkCapacity * 2);
-        vertexTransactions = new ListStore(3, vertexCapacity, transactionCapacity * 2);
-        linkTransactions = new ListStore(3, linkCapacity, transactionCapacity);
-        typeAttributes = new ListStore(1, GraphElementType.values().length, attributeCapacity);
-        vertexEdges = new ListStore(3, vertexCapacity, edgeCapacity * 2);
-        linkEdges = new ListStore(3, linkCapacity, edgeCapacity);
+        vertexLinks = new ListStore(7, vertexCapacity, linkCapacity * 2, snapshots);
+        vertexTransactions = new ListStore(3, vertexCapacity, transactionCapacity * 2, snapshots);
+        linkTransactions = new ListStore(3, linkCapacity, transactionCapacity, snapshots);
+        typeAttributes = new ListStore(1, GraphElementType.values().length, attributeCapacity, snapshots);
+        vertexEdges = new ListStore(3, vertexCapacity, edgeCapacity * 2, snapshots);
+        linkEdges = new ListStore(3, linkCapacity, edgeCapacity, snapshots);
 
         attributeRegistry = AttributeRegistry.getDefault();
 
@@ -287,29 +298,49 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
      * @param original the original StoreGraph to copy.
      */
     public StoreGraph(final String id, Schema schema, final StoreGraph original) {
+        this(id, schema, original, false);
+    }
+
+    /**
+     * Creates a new StoreGraph that is a copy of the original StoreGraph, optionally sharing the element stores,
+     * attribute values and primary key indices of the original until either graph modifies them.
+     *
+     * @param id the id of this StoreGraph.
+     * @param schema the Schema for this StoreGraph.
+     * @param original the original StoreGraph to copy.
+     * @param share true if this graph should share its data with the original rather than copying it.
+     */
+    protected StoreGraph(final String id, Schema schema, final StoreGraph original, final boolean share) {
         this.id = id;
         this.schema = schema;
 
-        this.vStore = new ElementStore(original.vStore);
-        this.lStore = new ElementStore(original.lStore);
-        this.eStore = new ElementStore(original.eStore);
-        this.tStore = new ElementStore(original.tStore);
-        this.aStore = new ElementStore(original.aStore);
+        this.vStore = share ? original.vStore.snapshot(snapshots) : new ElementStore(original.vStore, snapshots);
+        this.lStore = share ? original.lStore.snapshot(snapshots) : new ElementStore(original.lStore, snapshots);
+        this.eStore = share ? original.eStore.snapshot(snapshots) : new ElementStore(original.eStore, snapshots);
+        this.tStore = share ? original.tStore.snapshot(snapshots) : new ElementStore(original.tStore, snapshots);
+        this.aStore = share ? original.aStore.snapshot(snapshots) : new ElementStore(original.aStore, snapshots);
 
-        this.vertexLinks = new ListStore(original.vertexLinks);
-        this.vertexTransactions = new ListStore(original.vertexTransactions);
-        this.linkTransactions = new ListStore(original.linkTransactions);
-        this.typeAttributes = new ListStore(original.typeAttributes);
-        this.vertexEdges = new ListStore(original.vertexEdges);
-        this.linkEdges = new ListStore(original.linkEdges);
+        this.vertexLinks = share ? original.vertexLinks.snapshot(snapshots) : new ListStore(original.vertexLinks, snapshots);
+        this.vertexTransactions = share ? original.vertexTransactions.snapshot(snapshots) : new ListStore(original.vertexTransactions, snapshots);
+        this.linkTransactions = share ? original.linkTransactions.snapshot(snapshots) : new ListStore(original.linkTransactions, snapshots);
+        this.typeAttributes = share ? original.typeAttributes.snapshot(snapshots) : new ListStore(original.typeAttributes, snapshots);
+        this.vertexEdges = share ? original.vertexEdges.snapshot(snapshots) : new ListStore(original.vertexEdges, snapshots);
+        this.linkEdges = share ? original.linkEdges.snapshot(snapshots) : new ListStore(original.linkEdges, snapshots);
 
         this.attributeRegistry = original.attributeRegistry;
 
         this.linkHashLength = original.linkHashLength;
         this.linkHashMask = original.linkHashMask;
-        this.linkHash = Arrays.copyOf(original.linkHash, original.linkHash.length);
-        this.linkNext = Arrays.copyOf(original.linkNext, original.linkNext.length);
-        this.linkPrev = Arrays.copyOf(original.linkPrev, original.linkPrev.length);
+        if (share) {
+            this.linkHash = original.linkHash;
+            this.linkNext = original.linkNext;
+            this.linkPrev = original.linkPrev;
+            this.sharedLinkHash = true;
+        } else {
+            this.linkHash = Arrays.copyOf(original.linkHash, original.linkHash.length);
+            this.linkNext = Arrays.copyOf(original.linkNext, original.linkNext.length);
+            this.linkPrev = Arrays.copyOf(original.linkPrev, original.linkPrev.length);
+        }
 
         this.globalModificationCounter = original.globalModificationCounter;
         this.attributeModificationCounter = original.attributeModificationCounter;
@@ -317,10 +348,16 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
 
         this.lastFiredModificationCount = original.lastFiredModificationCount;
 
-        this.attributeDescriptions = new AttributeDescription[original.attributeDescriptions.length];
-        for (int i = 0; i < attributeDescriptions.length; i++) {
-            if (original.attributeDescriptions[i] != null) {
-                attributeDescriptions[i] = original.attributeDescriptions[i].copy(this);
+        if (share) {
+            this.attributeDescriptions = Arrays.copyOf(original.attributeDescriptions, original.attributeDescriptions.length);
+            this.sharedAttributeDescriptions = new boolean[attributeDescriptions.length];
+            Arrays.fill(sharedAttributeDescriptions, true);
+        } else {
+            this.attributeDescriptions = new AttributeDescription[original.attributeDescriptions.length];
+            for (int i = 0; i < attributeDescriptions.length; i++) {
+                if (original.attributeDescriptions[i] != null) {
+                    attributeDescriptions[i] = original.attributeDescriptions[i].copy(this);
+                }
             }
         }
 
@@ -346,12 +383,17 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
         for (int i = 0; i < this.primaryKeyIndices.length; i++) {
             final ElementKeySet ks = original.primaryKeyIndices[i];
             if (ks != null) {
-                if (ks instanceof TransactionKeySet tks) {
+                if (share) {
+                    this.primaryKeyIndices[i] = ks;
+                    this.removedFromKeys[i] = original.removedFromKeys[i];
+                    this.sharedPrimaryKeyIndices[i] = true;
+                } else if (ks instanceof TransactionKeySet tks) {
                     this.primaryKeyIndices[i] = new TransactionKeySet(tks);
+                    this.removedFromKeys[i] = new ElementList(original.removedFromKeys[i]);
                 } else {
                     this.primaryKeyIndices[i] = new ElementKeySet(ks);
+                    this.removedFromKeys[i] = new ElementList(original.removedFromKeys[i]);
                 }
-                this.removedFromKeys[i] = new ElementList(original.removedFromKeys[i]);
             }
         }
 
@@ -359,18 +401,32 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
 
         graphElementMerger = schema == null ? null : schema.getFactory().getGraphElementMerger();
 
-        this.attributeIndexTypes = new GraphIndexType[original.attributeIndexTypes.length];
-        Arrays.fill(this.attributeIndexTypes, GraphIndexType.NONE);
-        this.attributeIndices = new GraphIndex[original.attributeIndices.length];
-        Arrays.fill(this.attributeIndices, AttributeDescription.NULL_GRAPH_INDEX);
-        for (final GraphElementType elementType : GraphElementType.values()) {
-            int attributeCount = StoreGraph.this.getAttributeCount(elementType);
-            for (int i = 0; i < attributeCount; i++) {
-                int attribute = StoreGraph.this.getAttribute(elementType, i);
-                StoreGraph.this.setAttributeIndexType(attribute, original.attributeIndexTypes[attribute]);
+        if (share) {
+            // The indices are built on the shared attribute descriptions so they can be shared as well
+            this.attributeIndexTypes = Arrays.copyOf(original.attributeIndexTypes, original.attributeIndexTypes.length);
+            this.attributeIndices = Arrays.copyOf(original.attributeIndices, original.attributeIndices.length);
+            this.sharedAttributeIndices = new boolean[attributeIndices.length];
+            Arrays.fill(sharedAttributeIndices, true);
+        } else {
+            this.attributeIndexTypes = new GraphIndexType[original.attributeIndexTypes.length];
+            Arrays.fill(this.attributeIndexTypes, GraphIndexType.NONE);
+            this.attributeIndices = new GraphIndex[original.attributeIndices.length];
+            Arrays.fill(this.attributeIndices, AttributeDescription.NULL_GRAPH_INDEX);
+            for (final GraphElementType elementType : GraphElementType.values()) {
+                int attributeCount = StoreGraph.this.getAttributeCount(elementType);
+                for (int i = 0; i < attributeCount; i++) {
+                    int attribute = StoreGraph.this.getAttribute(elementType, i);
+                    StoreGraph.this.setAttributeIndexType(attribute, original.attributeIndexTypes[attribute]);
+                }
             }
         }
 
+        if (share) {
+            // Snapshots are usually taken while holding a read lock, so the original is left untouched apart from its
+            // counter. The next writer sees the change and marks everything as shared before it modifies anything.
+            original.snapshots.incrementAndGet();
+        }
+
         MemoryManager.newObject(StoreGraph.class);
         cleaner.register(this, cleanupAction);
     }
@@ -421,6 +477,11 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
 
     @Override
     public void validateKey(final GraphElementType elementType, final boolean allowMerging) throws DuplicateKeyException {
+        // Every commit validates the keys, so only copy an index shared with a snapshot when there is work to do
+        if (removedFromKeys[elementType.ordinal()] == null || removedFromKeys[elementType.ordinal()].getSize() == 0) {
+            return;
+        }
+        ensureWritablePrimaryKeyIndex(elementType.ordinal());
         final IntHashSet index = primaryKeyIndices[elementType.ordinal()];
         if (index != null) {
             final ElementList removed = removedFromKeys[elementType.ordinal()];
@@ -467,6 +528,10 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
 
     @Override
     public void validateKey(final GraphElementType elementType, final int element, final boolean allowMerging) throws DuplicateKeyException {
+        if (removedFromKeys[elementType.ordinal()] == null || !removedFromKeys[elementType.ordinal()].contains(element)) {
+            return;
+        }
+        ensureWritablePrimaryKeyIndex(elementType.ordinal());
         final IntHashSet index = primaryKeyIndices[elementType.ordinal()];
         if (index != null) {
             final ElementList removed = removedFromKeys[elementType.ordinal()];
@@ -515,14 +580,112 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
         }
     }
 
+    /**
+     * Creates a snapshot of this graph. The snapshot is a StoreGraph that holds the same elements and values as this
+     * graph, but it shares its data with this graph rather than copying it, so a snapshot can be created in constant
+     * time with respect to the number of elements in the graph. Whenever either graph is modified, the modified graph
+     * first takes its own copy of the stores and attributes it is modifying, so changes to one graph are never seen by
+     * the other.
+     * <p>
+     * This makes snapshots well suited to releasing a read lock early: the snapshot can be read at leisure, and only
+     * the parts of the graph modified while the snapshot is alive are ever copied.
+     *
+     * @return a snapshot of this graph with the same id.
+     */
+    public StoreGraph snapshot() {
+        return snapshot(id);
+    }
+
+    /**
+     * Creates a snapshot of this graph with the specified id.
+     *
+     * @param id the id of the snapshot.
+     * @return a snapshot of this graph.
+     * @see #snapshot()
+     */
+    public synchronized StoreGraph snapshot(final String id) {
+        return new StoreGraph(id, schema == null ? null : schema.getFactory().createSchema(), this, true);
+    }
+
     @Override
     public GraphReadMethods copy() {
-        return new StoreGraph(this);
+        return snapshot();
     }
 
     @Override
     public GraphReadMethods copy(final String id) {
-        return new StoreGraph(id, schema == null ? null : schema.getFactory().createSchema(), this);
+        return snapshot(id);
+    }
+
+    /**
+     * Mark everything as shared with a snapshot if a snapshot has been taken
+     * since this was last called. This is called by each of the methods that
+     * guard the shared parts of the graph, so the shared flags are only ever
+     * set by a thread that is modifying the graph. The element and list stores
+     * watch the snapshot counter themselves.
+     */
+    private void syncSnapshots() {
+        final int snapshot = snapshots.get();
+        if (syncedSnapshot != snapshot) {
+            syncedSnapshot = snapshot;
+            sharedLinkHash = true;
+            sharedAttributeDescriptions = new boolean[attributeDescriptions.length];
+            Arrays.fill(sharedAttributeDescriptions, true);
+            sharedAttributeIndices = new boolean[attributeIndices.length];
+            Arrays.fill(sharedAttributeIndices, true);
+            Arrays.fill(sharedPrimaryKeyIndices, true);
+        }
+    }
+
+    private void ensureWritableLinkHash() {
+        syncSnapshots();
+        if (sharedLinkHash) {
+            linkHash = Arrays.copyOf(linkHash, linkHash.length);
+            linkNext = Arrays.copyOf(linkNext, linkNext.length);
+            linkPrev = Arrays.copyOf(linkPrev, linkPrev.length);
+            sharedLinkHash = false;
+        }
+    }
+
+    private AttributeDescription getWritableAttributeDescription(final int attribute) {
+        syncSnapshots();
+        if (sharedAttributeDescriptions != null && attribute < sharedAttributeDescriptions.length && sharedAttributeDescriptions[attribute]) {
+            sharedAttributeDescriptions[attribute] = false;
+            attributeDescriptions[attribute] = attributeDescriptions[attribute].copy(this);
+
+            // Any index was built on the shared description so it must be moved to the copy
+            if (attributeIndexTypes[attribute] != GraphIndexType.NONE) {
+                attributeIndices[attribute] = copyAttributeIndex(attribute, attributeIndices[attribute]);
+            }
+            if (sharedAttributeIndices != null && attribute < sharedAttributeIndices.length) {
+                sharedAttributeIndices[attribute] = false;
+            }
+        }
+        return attributeDescriptions[attribute];
+    }
+
+    private GraphIndex getWritableAttributeIndex(final int attribute) {
+        syncSnapshots();
+        if (sharedAttributeIndices != null && attribute < sharedAttributeIndices.length && sharedAttributeIndices[attribute]) {
+            sharedAttributeIndices[attribute] = false;
+            if (attributeIndexTypes[attribute] != GraphIndexType.NONE) {
+                attributeIndices[attribute] = createAttributeIndex(attribute, attributeIndexTypes[attribute]);
+            }
+        }
+        return attributeIndices[attribute];
+    }
+
+    private void ensureWritablePrimaryKeyIndex(final int elementType) {
+        syncSnapshots();
+        if (sharedPrimaryKeyIndices[elementType]) {
+            final ElementKeySet index = primaryKeyIndices[elementType];
+            if (index != null) {
+                // The key sets are inner classes so the copies are bound to this graph's values
+                primaryKeyIndices[elementType] = index instanceof TransactionKeySet tks ? new TransactionKeySet(tks) : new ElementKeySet(index);
+                removedFromKeys[elementType] = new ElementList(removedFromKeys[elementType]);
+            }
+            sharedPrimaryKeyIndices[elementType] = false;
+        }
     }
 
     @Override
@@ -688,6 +851,7 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
 
         vStore.setUID(vertex, structureModificationCounter);
 
+        ensureWritablePrimaryKeyIndex(GraphElementType.VERTEX.ordinal());
         final IntHashSet vertexIndex = primaryKeyIndices[GraphElementType.VERTEX.ordinal()];
         if (vertexIndex != null) {
             removedFromKeys[GraphElementType.VERTEX.ordinal()].addToBack(vertex);
@@ -706,7 +870,7 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
         final int attributeCount = getAttributeCount(elementType);
         for (int i = 0; i < attributeCount; i++) {
             final int attribute = getAttribute(elementType, i);
-            attributeIndices[attribute].addElement(element);
+            getWritableAttributeIndex(attribute).addElement(element);
         }
     }
 
@@ -714,7 +878,7 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
         final int attributeCount = getAttributeCount(elementType);
         for (int i = 0; i < attributeCount; i++) {
             final int attribute = getAttribute(elementType, i);
-            attributeIndices[attribute].removeElement(element);
+            getWritableAttributeIndex(attribute).removeElement(element);
         }
     }
 
@@ -742,6 +906,7 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
 
         removeElementFromIndices(GraphElementType.VERTEX, vertex);
 
+        ensureWritablePrimaryKeyIndex(GraphElementType.VERTEX.ordinal());
         final IntHashSet index = primaryKeyIndices[GraphElementType.VERTEX.ordinal()];
         if (index != null && !removedFromKeys[GraphElementType.VERTEX.ordinal()].remove(vertex)) {
             index.remove(vertex);
@@ -868,6 +1033,7 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
                 vertexLinks.addElement(highVertex, link * 2 + 1, STATE_TO_CATEGORY[1 << highDirection]);
 
                 // Add the link to the hash table
+                ensureWritableLinkHash();
                 final int first = linkHash[hash];
                 linkNext[link] = first;
                 linkPrev[link] = hash | HIGH_BIT;
@@ -916,6 +1082,7 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
 
         linkTransactions.addElement(link, transaction, lowDirection);
 
+        ensureWritablePrimaryKeyIndex(GraphElementType.TRANSACTION.ordinal());
         final IntHashSet transactionIndex = primaryKeyIndices[GraphElementType.TRANSACTION.ordinal()];
         if (transactionIndex != null) {
             removedFromKeys[GraphElementType.TRANSACTION.ordinal()].addToBack(transaction);
@@ -950,6 +1117,7 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
 
         removeElementFromIndices(GraphElementType.TRANSACTION, transaction);
 
+        ensureWritablePrimaryKeyIndex(GraphElementType.TRANSACTION.ordinal());
         final IntHashSet index = primaryKeyIndices[GraphElementType.TRANSACTION.ordinal()];
         if (index != null && !removedFromKeys[GraphElementType.TRANSACTION.ordinal()].remove(transaction)) {
             index.remove(transaction);
@@ -1004,6 +1172,7 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
                 lStore.remove(link);
 
                 // Remove the link from the hash table
+                ensureWritableLinkHash();
                 final int p = linkPrev[link];
                 final int n = linkNext[link];
                 if (p < 0) {
@@ -1334,6 +1503,8 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
             Arrays.fill(linkHash, NOT_FOUND);
             linkNext = new int[lStore.getCapacity()];
             linkPrev = new int[lStore.getCapacity()];
+            syncSnapshots();
+            sharedLinkHash = false;
 
             for (int i = 0; i < lStore.getCount(); i++) {
                 final int link = lStore.getElement(i);
@@ -1397,10 +1568,11 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
         final int count = typeAttributes.getElementCount(elementTypeIndex);
         for (int i = 0; i < count; i++) {
             final int attributeId = typeAttributes.getElement(elementTypeIndex, i);
-            attributeDescriptions[attributeId].setCapacity(capacity);
-            attributeIndices[attributeId].expandCapacity(capacity);
+            getWritableAttributeDescription(attributeId).setCapacity(capacity);
+            getWritableAttributeIndex(attributeId).expandCapacity(capacity);
         }
 
+        ensureWritablePrimaryKeyIndex(elementTypeIndex);
         if (primaryKeyIndices[elementTypeIndex] != null) {
             final GraphElementType elementType = GraphElementType.values()[elementTypeIndex];
 
@@ -1462,7 +1634,7 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
 
     @Override
     public void updateAttributeDefaultValue(final int attribute, final Object newDefault) {
-        final AttributeDescription description = attributeDescriptions[attribute];
+        final AttributeDescription description = getWritableAttributeDescription(attribute);
         description.setDefault(newDefault);
 
         final GraphAttribute entry = attributes[attribute];
@@ -1515,6 +1687,12 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
     @Override
     public int addAttribute(final GraphElementType elementType, final String attributeType, final String label,
             final String description, final Object defaultValue, final String attributeMergerId) {
+        return addAttribute(-1, elementType, attributeType, label, description, defaultValue, attributeMergerId);
+    }
+
+    @Override
+    public int addAttribute(final int attribute, final GraphElementType elementType, final String attributeType, final String label,
+            final String description, final Object defaultValue, final String attributeMergerId) {
         final Class<? extends AttributeDescription> dataType = attributeRegistry.getAttributes().get(attributeType);
         if (dataType == null) {
             throw new IllegalArgumentException("No attribute description found for attribute type: " + attributeType);
@@ -1530,12 +1708,15 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
 
         int[] existingAttributes = attributeNames.get(label);
         if (existingAttributes != null && existingAttributes[elementType.ordinal()] >= 0) {
-            final int attribute = existingAttributes[elementType.ordinal()];
-            if (attributes[attribute].getAttributeType().equals(attributeType)) {
-                return attribute;
+            final int existingAttribute = existingAttributes[elementType.ordinal()];
+            if (attributes[existingAttribute].getAttributeType().equals(attributeType) && (attribute < 0 || attribute == existingAttribute)) {
+                return existingAttribute;
             }
             throw new IllegalArgumentException("Attempt to create a " + elementType + " attribute with a duplicate label: " + label);
         }
+        if (attribute >= 0 && aStore.elementExists(attribute)) {
+            throw new IllegalStateException("attempt to add attribute with duplicate id: " + attribute);
+        }
 
         final AttributeDescription attributeDescription;
         try {
@@ -1557,12 +1738,19 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
             throw new IllegalStateException(msg, ex);
         }
 
-        ensureAttributeCapacity(aStore.getCount() + 1);
+        final int attributeId;
+        if (attribute < 0) {
+            ensureAttributeCapacity(aStore.getCount() + 1);
+            attributeId = aStore.add();
+        } else {
+            ensureAttributeCapacity(attribute + 1);
+            aStore.add(attribute);
+            attributeId = attribute;
+        }
 
         attributeModificationCounter += operationMode.getModificationIncrement();
         globalModificationCounter += operationMode.getModificationIncrement();
 
-        final int attributeId = aStore.add();
         aStore.setUID(attributeId, globalModificationCounter);
 
         attributeModificationCounters[attributeId] = 0;
@@ -1583,6 +1771,13 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
         existingAttributes[elementType.ordinal()] = attributeId;
 
         attributeDescriptions[attributeId] = attributeDescription;
+        syncSnapshots();
+        if (sharedAttributeDescriptions != null && attributeId < sharedAttributeDescriptions.length) {
+            sharedAttributeDescriptions[attributeId] = false;
+        }
+        if (sharedAttributeIndices != null && attributeId < sharedAttributeIndices.length) {
+            sharedAttributeIndices[attributeId] = false;
+        }
 
         if (graphEdit != null) {
             graphEdit.addAttribute(elementType, attributeType, label, description, defaultValue, attributeMergerId, attributeId);
@@ -1708,7 +1903,8 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
 
     @Override
     public Object createWriteAttributeObject(final int attribute, final IntReadable indexReadable) {
-        return attributeDescriptions[attribute].createWriteObject(this, attribute, indexReadable);
+        // The write object reads from the description it was created by, so it must not be a shared one
+        return getWritableAttributeDescription(attribute).createWriteObject(this, attribute, indexReadable);
     }
 
     @Override
@@ -1782,11 +1978,44 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
         return attributeDescriptions[attribute].saveData();
     }
 
+    /**
+     * Replace the values of an attribute for every element at once, using an
+     * object of the kind returned by {@link #copyAttribute(int)}.
+     * <p>
+     * This is much faster than setting each value in turn, so is intended for
+     * filling in the values of a newly built graph. Individual value changes
+     * are not recorded, so it may not be called while an edit is being
+     * recorded.
+     *
+     * @param attribute the id of the attribute.
+     * @param data the values of the attribute, as returned by
+     * {@link #copyAttribute(int)}.
+     * @throws IllegalStateException if an edit is being recorded.
+     */
+    public void restoreAttribute(final int attribute, final Object data) {
+        if (graphEdit != null) {
+            throw new IllegalStateException("Attribute values can not be restored while an edit is being recorded");
+        }
+        restoreData(attribute, data);
+
+        // any element may now have a different key
+        final int keyType = primaryKeyLookup[attribute];
+        if (keyType == GraphElementType.VERTEX.ordinal()) {
+            for (int position = 0; position < vStore.getCount(); position++) {
+                removeFromIndex(keyType, vStore.getElement(position));
+            }
+        } else if (keyType == GraphElementType.TRANSACTION.ordinal()) {
+            for (int position = 0; position < tStore.getCount(); position++) {
+                removeFromIndex(keyType, tStore.getElement(position));
+            }
+        }
+    }
+
     @Override
     public void clearValue(final int attribute, final int id) {
         if (graphEdit == null) {
-            attributeDescriptions[attribute].clear(id);
-            attributeIndices[attribute].updateElement(id);
+            getWritableAttributeDescription(attribute).clear(id);
+            getWritableAttributeIndex(attribute).updateElement(id);
             attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
             globalModificationCounter += operationMode.getModificationIncrement();
             final int keyType = primaryKeyLookup[attribute];
@@ -1794,14 +2023,14 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
                 removeFromIndex(keyType, id);
             }
         } else {
-            final AttributeDescription description = attributeDescriptions[attribute];
+            final AttributeDescription description = getWritableAttributeDescription(attribute);
             final NativeAttributeType nativeType = description.getNativeType();
             nativeType.get(this, attribute, id, oldValue);
 
             description.clear(id);
 
             if (nativeType.addEdit(this, graphEdit, attribute, id, oldValue)) {
-                attributeIndices[attribute].updateElement(id);
+                getWritableAttributeIndex(attribute).updateElement(id);
                 attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
                 globalModificationCounter += operationMode.getModificationIncrement();
                 final int keyType = primaryKeyLookup[attribute];
@@ -1815,8 +2044,8 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
     @Override
     public void setByteValue(final int attribute, final int id, final byte value) {
         if (graphEdit == null) {
-            attributeDescriptions[attribute].setByte(id, value);
-            attributeIndices[attribute].updateElement(id);
+            getWritableAttributeDescription(attribute).setByte(id, value);
+            getWritableAttributeIndex(attribute).updateElement(id);
             attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
             globalModificationCounter += operationMode.getModificationIncrement();
             final int keyType = primaryKeyLookup[attribute];
@@ -1824,14 +2053,14 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
                 removeFromIndex(keyType, id);
             }
         } else {
-            final AttributeDescription description = attributeDescriptions[attribute];
+            final AttributeDescription description = getWritableAttributeDescription(attribute);
             final NativeAttributeType nativeType = description.getNativeType();
             nativeType.get(this, attribute, id, oldValue);
 
             description.setByte(id, value);
 
             if (nativeType.addEdit(this, graphEdit, attribute, id, oldValue)) {
-                attributeIndices[attribute].updateElement(id);
+                getWritableAttributeIndex(attribute).updateElement(id);
                 attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
                 globalModificationCounter += operationMode.getModificationIncrement();
                 final int keyType = primaryKeyLookup[attribute];
@@ -1845,8 +2074,8 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
     @Override
     public void setShortValue(final int attribute, final int id, final short value) {
         if (graphEdit == null) {
-            attributeDescriptions[attribute].setShort(id, value);
-            attributeIndices[attribute].updateElement(id);
+            getWritableAttributeDescription(attribute).setShort(id, value);
+            getWritableAttributeIndex(attribute).updateElement(id);
             attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
             globalModificationCounter += operationMode.getModificationIncrement();
             final int keyType = primaryKeyLookup[attribute];
@@ -1854,14 +2083,14 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
                 removeFromIndex(keyType, id);
             }
         } else {
-            final AttributeDescription description = attributeDescriptions[attribute];
+            final AttributeDescription description = getWritableAttributeDescription(attribute);
             final NativeAttributeType nativeType = description.getNativeType();
             nativeType.get(this, attribute, id, oldValue);
 
             description.setShort(id, value);
 
             if (nativeType.addEdit(this, graphEdit, attribute, id, oldValue)) {
-                attributeIndices[attribute].updateElement(id);
+                getWritableAttributeIndex(attribute).updateElement(id);
                 attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
                 globalModificationCounter += operationMode.getModificationIncrement();
                 final int keyType = primaryKeyLookup[attribute];
@@ -1875,8 +2104,8 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
     @Override
     public void setIntValue(final int attribute, final int id, final int value) {
         if (graphEdit == null) {
-            attributeDescriptions[attribute].setInt(id, value);
-            attributeIndices[attribute].updateElement(id);
+            getWritableAttributeDescription(attribute).setInt(id, value);
+            getWritableAttributeIndex(attribute).updateElement(id);
             attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
             globalModificationCounter += operationMode.getModificationIncrement();
             final int keyType = primaryKeyLookup[attribute];
@@ -1884,14 +2113,14 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
                 removeFromIndex(keyType, id);
             }
         } else {
-            final AttributeDescription description = attributeDescriptions[attribute];
+            final AttributeDescription description = getWritableAttributeDescription(attribute);
             final NativeAttributeType nativeType = description.getNativeType();
             nativeType.get(this, attribute, id, oldValue);
 
             description.setInt(id, value);
 
             if (nativeType.addEdit(this, graphEdit, attribute, id, oldValue)) {
-                attributeIndices[attribute].updateElement(id);
+                getWritableAttributeIndex(attribute).updateElement(id);
                 attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
                 globalModificationCounter += operationMode.getModificationIncrement();
                 final int keyType = primaryKeyLookup[attribute];
@@ -1905,8 +2134,8 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
     @Override
     public void setLongValue(final int attribute, final int id, final long value) {
         if (graphEdit == null) {
-            attributeDescriptions[attribute].setLong(id, value);
-            attributeIndices[attribute].updateElement(id);
+            getWritableAttributeDescription(attribute).setLong(id, value);
+            getWritableAttributeIndex(attribute).updateElement(id);
             attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
             globalModificationCounter += operationMode.getModificationIncrement();
             final int keyType = primaryKeyLookup[attribute];
@@ -1914,14 +2143,14 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
                 removeFromIndex(keyType, id);
             }
         } else {
-            final AttributeDescription description = attributeDescriptions[attribute];
+            final AttributeDescription description = getWritableAttributeDescription(attribute);
             final NativeAttributeType nativeType = description.getNativeType();
             nativeType.get(this, attribute, id, oldValue);
 
             description.setLong(id, value);
 
             if (nativeType.addEdit(this, graphEdit, attribute, id, oldValue)) {
-                attributeIndices[attribute].updateElement(id);
+                getWritableAttributeIndex(attribute).updateElement(id);
                 attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
                 globalModificationCounter += operationMode.getModificationIncrement();
                 final int keyType = primaryKeyLookup[attribute];
@@ -1935,8 +2164,8 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
     @Override
     public void setFloatValue(final int attribute, final int id, final float value) {
         if (graphEdit == null) {
-            attributeDescriptions[attribute].setFloat(id, value);
-            attributeIndices[attribute].updateElement(id);
+            getWritableAttributeDescription(attribute).setFloat(id, value);
+            getWritableAttributeIndex(attribute).updateElement(id);
             attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
             globalModificationCounter += operationMode.getModificationIncrement();
             final int keyType = primaryKeyLookup[attribute];
@@ -1944,14 +2173,14 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
                 removeFromIndex(keyType, id);
             }
         } else {
-            final AttributeDescription description = attributeDescriptions[attribute];
+            final AttributeDescription description = getWritableAttributeDescription(attribute);
             final NativeAttributeType nativeType = description.getNativeType();
             nativeType.get(this, attribute, id, oldValue);
 
             description.setFloat(id, value);
 
             if (nativeType.addEdit(this, graphEdit, attribute, id, oldValue)) {
-                attributeIndices[attribute].updateElement(id);
+                getWritableAttributeIndex(attribute).updateElement(id);
                 attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
                 globalModificationCounter += operationMode.getModificationIncrement();
                 final int keyType = primaryKeyLookup[attribute];
@@ -1965,8 +2194,8 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
     @Override
     public void setDoubleValue(final int attribute, final int id, final double value) {
         if (graphEdit == null) {
-            attributeDescriptions[attribute].setDouble(id, value);
-            attributeIndices[attribute].updateElement(id);
+            getWritableAttributeDescription(attribute).setDouble(id, value);
+            getWritableAttributeIndex(attribute).updateElement(id);
             attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
             globalModificationCounter += operationMode.getModificationIncrement();
             final int keyType = primaryKeyLookup[attribute];
@@ -1974,14 +2203,14 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
                 removeFromIndex(keyType, id);
             }
         } else {
-            final AttributeDescription description = attributeDescriptions[attribute];
+            final AttributeDescription description = getWritableAttributeDescription(attribute);
             final NativeAttributeType nativeType = description.getNativeType();
             nativeType.get(this, attribute, id, oldValue);
 
             description.setDouble(id, value);
 
             if (nativeType.addEdit(this, graphEdit, attribute, id, oldValue)) {
-                attributeIndices[attribute].updateElement(id);
+                getWritableAttributeIndex(attribute).updateElement(id);
                 attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
                 globalModificationCounter += operationMode.getModificationIncrement();
                 final int keyType = primaryKeyLookup[attribute];
@@ -1995,8 +2224,8 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
     @Override
     public void setBooleanValue(final int attribute, final int id, final boolean value) {
         if (graphEdit == null) {
-            attributeDescriptions[attribute].setBoolean(id, value);
-            attributeIndices[attribute].updateElement(id);
+            getWritableAttributeDescription(attribute).setBoolean(id, value);
+            getWritableAttributeIndex(attribute).updateElement(id);
             attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
             globalModificationCounter += operationMode.getModificationIncrement();
             final int keyType = primaryKeyLookup[attribute];
@@ -2004,14 +2233,14 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
                 removeFromIndex(keyType, id);
             }
         } else {
-            final AttributeDescription description = attributeDescriptions[attribute];
+            final AttributeDescription description = getWritableAttributeDescription(attribute);
             final NativeAttributeType nativeType = description.getNativeType();
             nativeType.get(this, attribute, id, oldValue);
 
             description.setBoolean(id, value);
 
             if (nativeType.addEdit(this, graphEdit, attribute, id, oldValue)) {
-                attributeIndices[attribute].updateElement(id);
+                getWritableAttributeIndex(attribute).updateElement(id);
                 attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
                 globalModificationCounter += operationMode.getModificationIncrement();
                 final int keyType = primaryKeyLookup[attribute];
@@ -2026,8 +2255,8 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
     @Override
     public void setCharValue(final int attribute, final int id, final char value) {
         if (graphEdit == null) {
-            attributeDescriptions[attribute].setChar(id, value);
-            attributeIndices[attribute].updateElement(id);
+            getWritableAttributeDescription(attribute).setChar(id, value);
+            getWritableAttributeIndex(attribute).updateElement(id);
             attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
             globalModificationCounter += operationMode.getModificationIncrement();
             final int keyType = primaryKeyLookup[attribute];
@@ -2035,14 +2264,14 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
                 removeFromIndex(keyType, id);
             }
         } else {
-            final AttributeDescription description = attributeDescriptions[attribute];
+            final AttributeDescription description = getWritableAttributeDescription(attribute);
             final NativeAttributeType nativeType = description.getNativeType();
             nativeType.get(this, attribute, id, oldValue);
 
             description.setChar(id, value);
 
             if (nativeType.addEdit(this, graphEdit, attribute, id, oldValue)) {
-                attributeIndices[attribute].updateElement(id);
+                getWritableAttributeIndex(attribute).updateElement(id);
                 attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
                 globalModificationCounter += operationMode.getModificationIncrement();
                 final int keyType = primaryKeyLookup[attribute];
@@ -2056,8 +2285,8 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
     @Override
     public void setStringValue(final int attribute, final int id, final String value) {
         if (graphEdit == null) {
-            attributeDescriptions[attribute].setString(id, value);
-            attributeIndices[attribute].updateElement(id);
+            getWritableAttributeDescription(attribute).setString(id, value);
+            getWritableAttributeIndex(attribute).updateElement(id);
             attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
             globalModificationCounter += operationMode.getModificationIncrement();
             final int keyType = primaryKeyLookup[attribute];
@@ -2065,14 +2294,14 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
                 removeFromIndex(keyType, id);
             }
         } else {
-            final AttributeDescription description = attributeDescriptions[attribute];
+            final AttributeDescription description = getWritableAttributeDescription(attribute);
             final NativeAttributeType nativeType = description.getNativeType();
             nativeType.get(this, attribute, id, oldValue);
 
             description.setString(id, value);
 
             if (nativeType.addEdit(this, graphEdit, attribute, id, oldValue)) {
-                attributeIndices[attribute].updateElement(id);
+                getWritableAttributeIndex(attribute).updateElement(id);
                 attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
                 globalModificationCounter += operationMode.getModificationIncrement();
                 final int keyType = primaryKeyLookup[attribute];
@@ -2086,8 +2315,8 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
     @Override
     public void setObjectValue(final int attribute, final int id, final Object value) {
         if (graphEdit == null) {
-            attributeDescriptions[attribute].setObject(id, value);
-            attributeIndices[attribute].updateElement(id);
+            getWritableAttributeDescription(attribute).setObject(id, value);
+            getWritableAttributeIndex(attribute).updateElement(id);
             attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
             globalModificationCounter += operationMode.getModificationIncrement();
             final int keyType = primaryKeyLookup[attribute];
@@ -2095,14 +2324,14 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
                 removeFromIndex(keyType, id);
             }
         } else {
-            final AttributeDescription description = attributeDescriptions[attribute];
+            final AttributeDescription description = getWritableAttributeDescription(attribute);
             final NativeAttributeType nativeType = description.getNativeType();
             nativeType.get(this, attribute, id, oldValue);
 
             description.setObject(id, value);
 
             if (nativeType.addEdit(this, graphEdit, attribute, id, oldValue)) {
-                attributeIndices[attribute].updateElement(id);
+                getWritableAttributeIndex(attribute).updateElement(id);
                 attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
                 globalModificationCounter += operationMode.getModificationIncrement();
                 final int keyType = primaryKeyLookup[attribute];
@@ -2161,6 +2390,8 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
             primaryKeyIndices[elementType.ordinal()] = null;
             removedFromKeys[elementType.ordinal()] = null;
         }
+        syncSnapshots();
+        sharedPrimaryKeyIndices[elementType.ordinal()] = false;
 
         if (graphEdit != null) {
             graphEdit.setPrimaryKey(elementType, oldPrimaryKeys, primaryKeys[elementType.ordinal()]);
@@ -2278,7 +2509,8 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
     }
 
     protected void restore(final int attribute, final int id, final ParameterReadAccess access) {
-        attributeDescriptions[attribute].restore(id, access);
+        getWritableAttributeDescription(attribute).restore(id, access);
+        getWritableAttributeIndex(attribute).updateElement(id);
         attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
         globalModificationCounter += operationMode.getModificationIncrement();
     }
@@ -2288,12 +2520,16 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
     }
 
     protected void restoreData(final int attribute, final Object savedData) {
-        attributeDescriptions[attribute].restoreData(savedData);
+        getWritableAttributeDescription(attribute).restoreData(savedData);
+        if (attributeIndexTypes[attribute] != GraphIndexType.NONE) {
+            attributeIndices[attribute] = createAttributeIndex(attribute, attributeIndexTypes[attribute]);
+        }
         attributeModificationCounters[attribute] += operationMode.getModificationIncrement();
         globalModificationCounter += operationMode.getModificationIncrement();
     }
 
     private void removeFromIndex(final int elementType, final int id) {
+        ensureWritablePrimaryKeyIndex(elementType);
         final IntHashSet index = primaryKeyIndices[elementType];
         if (index != null && removedFromKeys[elementType].addToBack(id)) {
             index.remove(id);
@@ -2327,13 +2563,10 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
             final AttributeDescription attributeDescription = attributeDescriptions[attribute];
             if (attributeDescription.supportsIndexType(indexType)) {
                 attributeIndexTypes[attribute] = indexType;
-                final GraphIndex index = attributeIndices[attribute] = attributeDescription.createIndex(indexType);
-
-                final GraphElementType elementType = attributes[attribute].getElementType();
-                final int elementCount = elementType.getElementCount(this);
-                for (int i = 0; i < elementCount; i++) {
-                    final int element = elementType.getElement(this, i);
-                    index.addElement(element);
+                attributeIndices[attribute] = createAttributeIndex(attribute, indexType);
+                syncSnapshots();
+                if (sharedAttributeIndices != null && attribute < sharedAttributeIndices.length) {
+                    sharedAttributeIndices[attribute] = false;
                 }
 
                 if (graphEdit != null) {
@@ -2343,6 +2576,31 @@ public class StoreGraph extends LockingTarget implements GraphWriteMethods, Seri
         }
     }
 
+    /**
+     * Create an index on an attribute from an existing index built on a
+     * description holding the same values, without looking up the values
+     * again where the index supports it.
+     */
+    private GraphIndex copyAttributeIndex(final int attribute, final GraphIndex original) {
+        final GraphIndex index = attributeDescriptions[attribute].createIndex(attributeIndexTypes[attribute]);
+        if (index instanceof ValueGraphIndex valueIndex && original instanceof ValueGraphIndex originalValueIndex) {
+            valueIndex.copyElements(originalValueIndex);
+            return index;
+        }
+        return createAttributeIndex(attribute, attributeIndexTypes[attribute]);
+    }
+
+    private GraphIndex createAttributeIndex(final int attribute, final GraphIndexType indexType) {
+        final GraphIndex index = attributeDescriptions[attribute].createIndex(indexType);
+        final GraphElementType elementType = attributes[attribute].getElementType();
+        final int elementCount = elementType.getElementCount(this);
+        for (int i = 0; i < elementCount; i++) {
+            final int element = elementType.getElement(this, i);
+            index.addElement(element);
+        }
+        return index;
+    }
+
     public AttributeRegistry getAttributeRegistry() {
         return attributeRegistry;
     }
@@ -15,6 +15,8 @@
  */
 package au.gov.asd.tac.constellation.graph.attribute;
 
+import au.gov.asd.tac.constellation.graph.GraphIndex;
+import au.gov.asd.tac.constellation.graph.GraphIndexType;
 import au.gov.asd.tac.constellation.graph.GraphReadMethods;
 import au.gov.asd.tac.constellation.graph.GraphWriteMethods;
 import au.gov.asd.tac.constellation.graph.NativeAttributeType;
@@ -289,6 +291,17 @@ public class DoubleAttributeDescription extends AbstractAttributeDescription {
         data = Arrays.copyOf(sd, sd.length);
     }
 
+    @Override
+    public boolean supportsIndexType(final GraphIndexType indexType) {
+        return true;
+    }
+
+    @Override
+    public GraphIndex createIndex(final GraphIndexType indexType) {
+        return indexType == GraphIndexType.NONE ? NULL_GRAPH_INDEX
+                : new ValueGraphIndex(indexType, data.length, id -> data[id], this::convertFromObject);
+    }
+
     @Override
     public Object createReadObject(final IntReadable indexReadable) {
         return (DoubleReadable) () -> data[indexReadable.readInt()];
@@ -15,6 +15,8 @@
  */
 package au.gov.asd.tac.constellation.graph.attribute;
 
+import au.gov.asd.tac.constellation.graph.GraphIndex;
+import au.gov.asd.tac.constellation.graph.GraphIndexType;
 import au.gov.asd.tac.constellation.graph.GraphReadMethods;
 import au.gov.asd.tac.constellation.graph.GraphWriteMethods;
 import au.gov.asd.tac.constellation.graph.NativeAttributeType;
@@ -24,6 +26,8 @@ import au.gov.asd.tac.constellation.graph.value.readables.IntReadable;
 import au.gov.asd.tac.constellation.graph.value.readables.StringReadable;
 import au.gov.asd.tac.constellation.graph.value.variables.StringVariable;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 import org.openide.util.lookup.ServiceProvider;
 
 /**
@@ -38,6 +42,14 @@ import org.openide.util.lookup.ServiceProvider;
  * type being requested. The {@link #getBoolean getBoolean()} method will yield
  * false for null or empty strings, otherwise
  * {@link Boolean#parseBoolean Boolean.parseBoolean()}.
+ * <p>
+ * Values are stored as a String for each element until the attribute is large
+ * and its values repeat enough for dictionary encoding to pay. The values are
+ * then stored as an int code for each element, referring to a shared
+ * {@link StringDictionary}, so that elements with equal values share a single
+ * String and equality and hashing use the codes. If the values stop repeating,
+ * the attribute falls back to a String for each element, so high cardinality
+ * attributes such as identifiers don't pay for a dictionary entry per element.
  *
  * @author cygnus_x-1
  */
@@ -49,8 +61,84 @@ public final class StringAttributeDescription extends AbstractAttributeDescripti
     public static final NativeAttributeType NATIVE_TYPE = NativeAttributeType.OBJECT;
     private static final String DEFAULT_VALUE = null;
 
-    private String[] data = new String[0];
+    // Attributes smaller than this are never dictionary encoded.
+    private static final int MIN_ENCODED_CAPACITY = 1024;
+    // Encode when at most 1 in ENCODE_RATIO elements has a distinct value, and
+    // stop encoding when more than 1 in DECODE_RATIO do. The gap stops an
+    // attribute near the threshold from switching back and forth.
+    private static final int ENCODE_RATIO = 8;
+    private static final int DECODE_RATIO = 4;
+
+    // Exactly one of values and codes is in use; codes is null unless the
+    // values are dictionary encoded.
+    private String[] values = new String[0];
+    private int[] codes = null;
+    private StringDictionary dictionary = null;
+    private int changeCount = 0;
     private String defaultValue = DEFAULT_VALUE;
+
+    private String get(final int id) {
+        return codes != null ? dictionary.get(codes[id]) : values[id];
+    }
+
+    private void set(final int id, final String value) {
+        if (codes != null) {
+            // Add the new reference first so that setting the same value never
+            // releases its code.
+            final int code = dictionary.add(value);
+            dictionary.remove(codes[id]);
+            codes[id] = code;
+        } else {
+            values[id] = value;
+        }
+
+        // Review the storage once for every capacity's worth of changes, so
+        // the cost of counting the values is spread over the changes.
+        if (++changeCount >= Math.max(getCapacity(), MIN_ENCODED_CAPACITY)) {
+            chooseStorage();
+        }
+    }
+
+    /**
+     * Switch to or from dictionary encoding if the number of distinct values
+     * relative to the capacity has crossed a threshold.
+     */
+    private void chooseStorage() {
+        changeCount = 0;
+        final int capacity = getCapacity();
+        if (codes == null) {
+            final int limit = capacity / ENCODE_RATIO;
+            if (capacity >= MIN_ENCODED_CAPACITY && countDistinctValues(limit) <= limit) {
+                codes = new int[capacity];
+                dictionary = new StringDictionary();
+                for (int id = 0; id < capacity; id++) {
+                    codes[id] = dictionary.add(values[id]);
+                }
+                values = null;
+            }
+        } else if (dictionary.size() > capacity / DECODE_RATIO) {
+            values = new String[capacity];
+            for (int id = 0; id < capacity; id++) {
+                values[id] = dictionary.get(codes[id]);
+            }
+            codes = null;
+            dictionary = null;
+        }
+    }
+
+    /**
+     * Count the distinct non-null values of an attribute that is not
+     * dictionary encoded, stopping once the count exceeds a limit.
+     */
+    private int countDistinctValues(final int limit) {
+        final Set<String> distinct = new HashSet<>();
+        for (final String value : values) {
+            if (value != null && distinct.add(value) && distinct.size() > limit) {
+                break;
+            }
+        }
+        return distinct.size();
+    }
     
     private String convertFromObject(final Object object) throws IllegalArgumentException {
         switch (object) {
@@ -96,132 +184,157 @@ public final class StringAttributeDescription extends AbstractAttributeDescripti
 
     @Override
     public int getCapacity() {
-        return data.length;
+        return codes != null ? codes.length : values.length;
     }
 
     @Override
     public void setCapacity(final int capacity) {
-        final int len = data.length;
-        data = Arrays.copyOf(data, capacity);
-        if (capacity > len) {
-            Arrays.fill(data, len, capacity, defaultValue);
+        final int len = getCapacity();
+        if (codes != null) {
+            for (int id = capacity; id < len; id++) {
+                dictionary.remove(codes[id]);
+            }
+            codes = Arrays.copyOf(codes, capacity);
+            if (capacity > len) {
+                Arrays.fill(codes, len, capacity, dictionary.add(defaultValue, capacity - len));
+            }
+        } else {
+            values = Arrays.copyOf(values, capacity);
+            if (capacity > len) {
+                Arrays.fill(values, len, capacity, defaultValue);
+            }
         }
     }
 
     @Override
     public byte getByte(final int id) {
-        return data[id] != null && !data[id].isEmpty() ? Byte.parseByte(data[id]) : (byte) 0;
+        final String value = get(id);
+        return value != null && !value.isEmpty() ? Byte.parseByte(value) : (byte) 0;
     }
 
     @Override
     public void setByte(final int id, final byte value) {
-        data[id] = String.valueOf(value);
+        set(id, String.valueOf(value));
     }
 
     @Override
     public short getShort(final int id) {
-        return data[id] != null && !data[id].isEmpty() ? Short.parseShort(data[id]) : (short) 0;
+        final String value = get(id);
+        return value != null && !value.isEmpty() ? Short.parseShort(value) : (short) 0;
     }
 
     @Override
     public void setShort(final int id, final short value) {
-        data[id] = String.valueOf(value);
+        set(id, String.valueOf(value));
     }
 
     @Override
     public int getInt(final int id) {
-        return data[id] != null && !data[id].isEmpty() ? Integer.parseInt(data[id]) : 0;
+        final String value = get(id);
+        return value != null && !value.isEmpty() ? Integer.parseInt(value) : 0;
     }
 
     @Override
     public void setInt(final int id, final int value) {
-        data[id] = String.valueOf(value);
+        set(id, String.valueOf(value));
     }
 
     @Override
     public long getLong(final int id) {
-        return data[id] != null && !data[id].isEmpty() ? Long.parseLong(data[id]) : 0L;
+        final String value = get(id);
+        return value != null && !value.isEmpty() ? Long.parseLong(value) : 0L;
     }
 
     @Override
     public void setLong(final int id, final long value) {
-        data[id] = String.valueOf(value);
+        set(id, String.valueOf(value));
     }
 
     @Override
     public float getFloat(final int id) {
-        return data[id] != null && !data[id].isEmpty() ? Float.parseFloat(data[id]) : 0.0F;
+        final String value = get(id);
+        return value != null && !value.isEmpty() ? Float.parseFloat(value) : 0.0F;
     }
 
     @Override
     public void setFloat(final int id, final float value) {
-        data[id] = String.valueOf(value);
+        set(id, String.valueOf(value));
     }
 
     @Override
     public double getDouble(final int id) {
-        return data[id] != null && !data[id].isEmpty() ? Double.parseDouble(data[id]) : 0.0;
+        final String value = get(id);
+        return value != null && !value.isEmpty() ? Double.parseDouble(value) : 0.0;
     }
 
     @Override
     public void setDouble(final int id, final double value) {
-        data[id] = String.valueOf(value);
+        set(id, String.valueOf(value));
     }
 
     @Override
     public boolean getBoolean(final int id) {
-        return data[id] != null && !data[id].isEmpty() && Boolean.parseBoolean(data[id]);
+        final String value = get(id);
+        return value != null && !value.isEmpty() && Boolean.parseBoolean(value);
     }
 
     @Override
     public void setBoolean(final int id, final boolean value) {
-        data[id] = String.valueOf(value);
+        set(id, String.valueOf(value));
     }
 
     @Override
     public char getChar(final int id) {
-        return data[id] != null && !data[id].isEmpty() ? data[id].charAt(0) : (char) 0;
+        final String value = get(id);
+        return value != null && !value.isEmpty() ? value.charAt(0) : (char) 0;
     }
 
     @Override
     public void setChar(final int id, final char value) {
-        data[id] = String.valueOf(value);
+        set(id, String.valueOf(value));
     }
 
     @Override
     public String getString(final int id) {
-        return data[id];
+        return get(id);
     }
 
     @Override
     public void setString(final int id, final String value) {
-        data[id] = value;
+        set(id, value);
     }
 
     @Override
     public Object getObject(final int id) {
-        return data[id];
+        return get(id);
     }
 
     @Override
     public void setObject(final int id, final Object value) {
-        data[id] = value != null ? String.valueOf(value) : null;
+        set(id, value != null ? String.valueOf(value) : null);
     }
 
     @Override
     public boolean isClear(final int id) {
-        return equals(data[id], defaultValue);
+        return equals(get(id), defaultValue);
     }
 
     @Override
     public void clear(final int id) {
-        data[id] = defaultValue;
+        set(id, defaultValue);
     }
 
     @Override
     public AttributeDescription copy(final GraphReadMethods graph) {
         final StringAttributeDescription attribute = new StringAttributeDescription();
-        attribute.data = Arrays.copyOf(data, data.length);
+        if (codes != null) {
+            attribute.values = null;
+            attribute.codes = Arrays.copyOf(codes, codes.length);
+            attribute.dictionary = dictionary.copy();
+        } else {
+            attribute.values = Arrays.copyOf(values, values.length);
+        }
+        attribute.changeCount = this.changeCount;
         attribute.defaultValue = this.defaultValue;
         attribute.graph = graph;
         return attribute;
@@ -229,38 +342,86 @@ public final class StringAttributeDescription extends AbstractAttributeDescripti
 
     @Override
     public int hashCode(final int id) {
-        return data[id] == null ? 0 : data[id].hashCode();
+        if (codes != null) {
+            return dictionary.hash(codes[id]);
+        }
+        return values[id] == null ? 0 : values[id].hashCode();
     }
 
     @Override
     public boolean equals(final int id1, final int id2) {
-        return data[id1] == null ? data[id2] == null : data[id1].equals(data[id2]);
+        if (codes != null) {
+            return codes[id1] == codes[id2];
+        }
+        return equals(values[id1], values[id2]);
     }
 
     @Override
     public void save(final int id, final ParameterWriteAccess access) {
-        access.setObject(data[id]);
+        access.setObject(get(id));
     }
 
     @Override
     public void restore(final int id, final ParameterReadAccess access) {
-        data[id] = (String) access.getUndoObject();
+        set(id, (String) access.getUndoObject());
     }
 
     @Override
     public Object saveData() {
-        return Arrays.copyOf(data, data.length);
+        if (codes == null) {
+            return Arrays.copyOf(values, values.length);
+        }
+        final String[] sd = new String[codes.length];
+        for (int id = 0; id < codes.length; id++) {
+            sd[id] = get(id);
+        }
+        return sd;
     }
 
     @Override
     public void restoreData(final Object savedData) {
         final String[] sd = (String[]) savedData;
-        data = Arrays.copyOf(sd, sd.length);
+        values = Arrays.copyOf(sd, sd.length);
+        codes = null;
+        dictionary = null;
+        chooseStorage();
+    }
+
+    /**
+     * Returns the number of distinct non-null values held by this attribute.
+     *
+     * @return the number of distinct non-null values.
+     */
+    public int getDistinctValueCount() {
+        return codes != null ? dictionary.size() : countDistinctValues(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns true if the values of this attribute are currently dictionary
+     * encoded.
+     *
+     * @return true if the values of this attribute are dictionary encoded.
+     */
+    boolean isDictionaryEncoded() {
+        return codes != null;
+    }
+
+    @Override
+    public boolean supportsIndexType(final GraphIndexType indexType) {
+        return true;
+    }
+
+    @Override
+    public GraphIndex createIndex(final GraphIndexType indexType) {
+        // The index is keyed on the Strings rather than the codes, so that it
+        // stays valid when the attribute switches to or from encoding.
+        return indexType == GraphIndexType.NONE ? NULL_GRAPH_INDEX
+                : new ValueGraphIndex(indexType, getCapacity(), this::get, value -> value != null ? String.valueOf(value) : null);
     }
 
     @Override
     public Object createReadObject(final IntReadable indexReadable) {
-        return (StringReadable) () -> data[indexReadable.readInt()];
+        return (StringReadable) () -> get(indexReadable.readInt());
     }
 
     @Override
@@ -268,7 +429,7 @@ public final class StringAttributeDescription extends AbstractAttributeDescripti
         return new StringVariable() {
             @Override
             public String readString() {
-                return data[indexReadable.readInt()];
+                return get(indexReadable.readInt());
             }
 
             @Override
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.graph.attribute;
+
+import java.util.Arrays;
+
+/**
+ * A reference counted dictionary that assigns an int code to each distinct
+ * String, so that an attribute can store a code for each element instead of a
+ * String.
+ * <p>
+ * Code 0 is always null. Every other code refers to a single String instance,
+ * so elements with equal values share that instance and can be compared by
+ * their codes. A code is released when its last reference is removed, and may
+ * then be reused for a different String.
+ * <p>
+ * Codes are found using an open addressing hash table of ints, so the
+ * dictionary adds a few ints per distinct value and creates no objects other
+ * than its arrays.
+ *
+ * @author sirius
+ */
+final class StringDictionary {
+
+    /**
+     * The code of the null String.
+     */
+    static final int NULL_CODE = 0;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // The String, hash code and number of references of each code.
+    private String[] values;
+    private int[] hashes;
+    private int[] references;
+
+    // Codes below this have been used at some point.
+    private int codeLimit = 1;
+
+    // Codes that have been released and can be reused.
+    private int[] freeCodes;
+    private int freeCodeCount = 0;
+
+    // Each slot holds a code, or NULL_CODE if it is empty.
+    private int[] table;
+    private int size = 0;
+
+    StringDictionary() {
+        values = new String[INITIAL_CAPACITY];
+        hashes = new int[INITIAL_CAPACITY];
+        references = new int[INITIAL_CAPACITY];
+        freeCodes = new int[INITIAL_CAPACITY];
+        table = new int[INITIAL_CAPACITY * 2];
+    }
+
+    private StringDictionary(final StringDictionary other) {
+        values = Arrays.copyOf(other.values, other.values.length);
+        hashes = Arrays.copyOf(other.hashes, other.hashes.length);
+        references = Arrays.copyOf(other.references, other.references.length);
+        codeLimit = other.codeLimit;
+        freeCodes = Arrays.copyOf(other.freeCodes, other.freeCodes.length);
+        freeCodeCount = other.freeCodeCount;
+        table = Arrays.copyOf(other.table, other.table.length);
+        size = other.size;
+    }
+
+    /**
+     * Returns a copy of this dictionary that can be modified independently.
+     *
+     * @return a copy of this dictionary.
+     */
+    StringDictionary copy() {
+        return new StringDictionary(this);
+    }
+
+    /**
+     * Returns the number of distinct non-null Strings in the dictionary.
+     *
+     * @return the number of distinct non-null Strings in the dictionary.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the String with the specified code.
+     *
+     * @param code a code that is in use.
+     * @return the String with the specified code.
+     */
+    String get(final int code) {
+        return values[code];
+    }
+
+    /**
+     * Returns the hash code of the String with the specified code, which is
+     * the same as {@link String#hashCode()}, or 0 for null.
+     *
+     * @param code a code that is in use.
+     * @return the hash code of the String with the specified code.
+     */
+    int hash(final int code) {
+        return hashes[code];
+    }
+
+    /**
+     * Returns the number of references to the specified code.
+     *
+     * @param code a code.
+     * @return the number of references to the specified code.
+     */
+    int getReferences(final int code) {
+        return code == NULL_CODE ? 0 : references[code];
+    }
+
+    /**
+     * Returns the code of a String without adding a reference to it.
+     *
+     * @param value the String to find.
+     * @return the code of the String, or -1 if it is not in the dictionary.
+     */
+    int find(final String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        final int hash = value.hashCode();
+        final int mask = table.length - 1;
+        for (int slot = slot(hash); table[slot] != NULL_CODE; slot = (slot + 1) & mask) {
+            final int code = table[slot];
+            if (hashes[code] == hash && values[code].equals(value)) {
+                return code;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a reference to a String, giving it a code if it is not already in
+     * the dictionary.
+     *
+     * @param value the String.
+     * @return the code of the String.
+     */
+    int add(final String value) {
+        return add(value, 1);
+    }
+
+    /**
+     * Adds a number of references to a String, giving it a code if it is not
+     * already in the dictionary.
+     *
+     * @param value the String.
+     * @param count the number of references to add, which must be positive.
+     * @return the code of the String.
+     */
+    int add(final String value, final int count) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        int code = find(value);
+        if (code < 0) {
+            code = allocate(value);
+        }
+        references[code] += count;
+        return code;
+    }
+
+    /**
+     * Removes a reference to a code, releasing the code when it has no
+     * references left.
+     *
+     * @param code a code that is in use.
+     */
+    void remove(final int code) {
+        if (code != NULL_CODE && --references[code] == 0) {
+            release(code);
+        }
+    }
+
+    private int slot(final int hash) {
+        return (hash ^ (hash >>> 16)) & (table.length - 1);
+    }
+
+    private int allocate(final String value) {
+        final int code;
+        if (freeCodeCount > 0) {
+            code = freeCodes[--freeCodeCount];
+        } else {
+            if (codeLimit == values.length) {
+                final int capacity = values.length * 2;
+                values = Arrays.copyOf(values, capacity);
+                hashes = Arrays.copyOf(hashes, capacity);
+                references = Arrays.copyOf(references, capacity);
+            }
+            code = codeLimit++;
+        }
+        values[code] = value;
+        hashes[code] = value.hashCode();
+        references[code] = 0;
+
+        // Keep the table at most half full.
+        if (++size * 2 > table.length) {
+            table = new int[table.length * 2];
+            for (int c = 1; c < codeLimit; c++) {
+                if (values[c] != null) {
+                    insert(c);
+                }
+            }
+        } else {
+            insert(code);
+        }
+        return code;
+    }
+
+    private void insert(final int code) {
+        final int mask = table.length - 1;
+        int slot = slot(hashes[code]);
+        while (table[slot] != NULL_CODE) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = code;
+    }
+
+    private void release(final int code) {
+        final int mask = table.length - 1;
+        int slot = slot(hashes[code]);
+        while (table[slot] != code) {
+            slot = (slot + 1) & mask;
+        }
+
+        // Remove the code from the table, shifting back any later codes in the
+        // same run that would otherwise no longer be found.
+        int next = slot;
+        while (true) {
+            table[slot] = NULL_CODE;
+            int ideal;
+            do {
+                next = (next + 1) & mask;
+                if (table[next] == NULL_CODE) {
+                    break;
+                }
+                ideal = slot(hashes[table[next]]);
+            } while (slot <= next ? slot < ideal && ideal <= next : slot < ideal || ideal <= next);
+            if (table[next] == NULL_CODE) {
+                break;
+            }
+            table[slot] = table[next];
+            slot = next;
+        }
+
+        values[code] = null;
+        hashes[code] = 0;
+        size--;
+        if (freeCodeCount == freeCodes.length) {
+            freeCodes = Arrays.copyOf(freeCodes, freeCodes.length * 2);
+        }
+        freeCodes[freeCodeCount++] = code;
+    }
+}
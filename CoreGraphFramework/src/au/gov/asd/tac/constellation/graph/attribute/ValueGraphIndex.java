@@ -0,0 +1,285 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.graph.attribute;
+
+import au.gov.asd.tac.constellation.graph.Graph;
+import au.gov.asd.tac.constellation.graph.GraphIndex;
+import au.gov.asd.tac.constellation.graph.GraphIndexResult;
+import au.gov.asd.tac.constellation.graph.GraphIndexType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * A general purpose GraphIndex that groups elements into buckets of equal
+ * attribute value.
+ * <p>
+ * An {@link GraphIndexType#UNORDERED} index keeps its buckets in a hash map and
+ * can only answer exact match queries. An {@link GraphIndexType#ORDERED} index
+ * keeps its buckets in a tree map and can also answer range queries. In both
+ * cases memory scales with the number of distinct values plus a fixed number of
+ * ints per element, and each element can be added, removed or moved between
+ * buckets in constant time (plus the cost of the map lookup).
+ * <p>
+ * The index does not hold attribute values itself. Instead, each attribute
+ * description supplies a function that returns the key for the current value
+ * of an element, and a function that converts an arbitrary query value to a
+ * key. Keys must implement equals() and hashCode() consistently with the
+ * equality of the attribute values, and must be {@link Comparable} if the
+ * index is ordered. Null keys are supported but are excluded from range
+ * queries.
+ *
+ * @author sirius
+ */
+public class ValueGraphIndex implements GraphIndex {
+
+    private final IntFunction<Object> elementKey;
+    private final Function<Object, Object> valueKey;
+    private final Map<Object, Bucket> buckets;
+    private final Bucket nullBucket = new Bucket(null);
+
+    private Bucket[] element2bucket;
+    private int[] element2position;
+
+    /**
+     * Create a new ValueGraphIndex.
+     *
+     * @param indexType the type of index, either
+     * {@link GraphIndexType#UNORDERED} or {@link GraphIndexType#ORDERED}.
+     * @param capacity the initial element capacity of the index.
+     * @param elementKey returns the key for the current value of an element.
+     * @param valueKey converts a query value to a key, throwing an
+     * IllegalArgumentException if the value can not be converted.
+     */
+    public ValueGraphIndex(final GraphIndexType indexType, final int capacity, final IntFunction<Object> elementKey, final Function<Object, Object> valueKey) {
+        if (indexType == GraphIndexType.NONE) {
+            throw new IllegalArgumentException("A ValueGraphIndex must be either ordered or unordered");
+        }
+        this.buckets = indexType == GraphIndexType.ORDERED ? new TreeMap<>() : new HashMap<>();
+        this.elementKey = elementKey;
+        this.valueKey = valueKey;
+        this.element2bucket = new Bucket[capacity];
+        this.element2position = new int[capacity];
+    }
+
+    @Override
+    public void addElement(final int element) {
+        if (element2bucket[element] != null) {
+            removeElement(element);
+        }
+        final Object key = elementKey.apply(element);
+        Bucket bucket;
+        if (key == null) {
+            bucket = nullBucket;
+        } else {
+            bucket = buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(key);
+                buckets.put(key, bucket);
+            }
+        }
+        bucket.add(element);
+    }
+
+    @Override
+    public void removeElement(final int element) {
+        final Bucket bucket = element2bucket[element];
+        if (bucket != null) {
+            bucket.remove(element);
+            if (bucket.size == 0 && bucket != nullBucket) {
+                buckets.remove(bucket.key);
+            }
+        }
+    }
+
+    @Override
+    public void updateElement(final int element) {
+        final Bucket bucket = element2bucket[element];
+        if (bucket != null) {
+            final Object key = elementKey.apply(element);
+            if (key == null ? bucket.key == null : key.equals(bucket.key)) {
+                return;
+            }
+        }
+        addElement(element);
+    }
+
+    @Override
+    public GraphIndexResult getElementsWithAttributeValue(final Object value) {
+        final Object key;
+        try {
+            key = valueKey.apply(value);
+        } catch (final IllegalArgumentException ex) {
+            return new IndexResult(Collections.emptyList());
+        }
+        final Bucket bucket = key == null ? nullBucket : buckets.get(key);
+        return new IndexResult(bucket == null ? Collections.emptyList() : Collections.singletonList(bucket));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked") // keys of an ordered index are required to be Comparable
+    public GraphIndexResult getElementsWithAttributeValueRange(final Object start, final Object end) {
+        if (!(buckets instanceof NavigableMap)) {
+            return null;
+        }
+        final NavigableMap<Object, Bucket> orderedBuckets = (NavigableMap<Object, Bucket>) buckets;
+
+        final Object startKey;
+        final Object endKey;
+        try {
+            startKey = start == null ? null : valueKey.apply(start);
+            endKey = end == null ? null : valueKey.apply(end);
+        } catch (final IllegalArgumentException ex) {
+            return new IndexResult(Collections.emptyList());
+        }
+
+        final NavigableMap<Object, Bucket> range;
+        if (startKey == null && endKey == null) {
+            range = orderedBuckets;
+        } else if (startKey == null) {
+            range = orderedBuckets.headMap(endKey, false);
+        } else if (endKey == null) {
+            range = orderedBuckets.tailMap(startKey, true);
+        } else if (((Comparable<Object>) startKey).compareTo(endKey) >= 0) {
+            return new IndexResult(Collections.emptyList());
+        } else {
+            range = orderedBuckets.subMap(startKey, true, endKey, false);
+        }
+        return new IndexResult(range.values());
+    }
+
+    @Override
+    public void expandCapacity(final int newCapacity) {
+        if (newCapacity > element2bucket.length) {
+            element2bucket = Arrays.copyOf(element2bucket, newCapacity);
+            element2position = Arrays.copyOf(element2position, newCapacity);
+        }
+    }
+
+    /**
+     * Replace the contents of this index with the contents of another index
+     * of the same type, built on an attribute holding the same values. This is
+     * used when an attribute description is copied, and avoids looking up the
+     * value of every element again.
+     *
+     * @param original the index to copy.
+     */
+    public void copyElements(final ValueGraphIndex original) {
+        buckets.clear();
+        expandCapacity(original.element2bucket.length);
+        Arrays.fill(element2bucket, null);
+        System.arraycopy(original.element2position, 0, element2position, 0, original.element2position.length);
+
+        copyBucket(original.nullBucket, nullBucket);
+        for (final Bucket originalBucket : original.buckets.values()) {
+            final Bucket bucket = new Bucket(originalBucket.key);
+            buckets.put(bucket.key, bucket);
+            copyBucket(originalBucket, bucket);
+        }
+    }
+
+    private void copyBucket(final Bucket original, final Bucket bucket) {
+        bucket.elements = Arrays.copyOf(original.elements, Math.max(1, original.size));
+        bucket.size = original.size;
+        for (int i = 0; i < original.size; i++) {
+            element2bucket[original.elements[i]] = bucket;
+        }
+    }
+
+    /**
+     * Returns the number of distinct non-null values currently held in this
+     * index.
+     *
+     * @return the number of distinct non-null values currently held in this
+     * index.
+     */
+    public int getValueCount() {
+        return buckets.size();
+    }
+
+    private class Bucket {
+
+        private final Object key;
+        private int[] elements = new int[1];
+        private int size = 0;
+
+        private Bucket(final Object key) {
+            this.key = key;
+        }
+
+        private void add(final int element) {
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, size << 1);
+            }
+            element2bucket[element] = this;
+            element2position[element] = size;
+            elements[size++] = element;
+        }
+
+        private void remove(final int element) {
+            final int position = element2position[element];
+            final int last = elements[--size];
+            elements[position] = last;
+            element2position[last] = position;
+            element2bucket[element] = null;
+        }
+    }
+
+    private static class IndexResult implements GraphIndexResult {
+
+        private final List<Bucket> buckets;
+        private final int count;
+        private int remaining;
+        private int bucketIndex = 0;
+        private int position = 0;
+
+        private IndexResult(final Collection<Bucket> buckets) {
+            this.buckets = new ArrayList<>(buckets);
+            int total = 0;
+            for (final Bucket bucket : buckets) {
+                total += bucket.size;
+            }
+            this.count = total;
+            this.remaining = total;
+        }
+
+        @Override
+        public int getCount() {
+            return count;
+        }
+
+        @Override
+        public int getNextElement() {
+            if (remaining == 0) {
+                return Graph.NOT_FOUND;
+            }
+            while (position >= buckets.get(bucketIndex).size) {
+                bucketIndex++;
+                position = 0;
+            }
+            remaining--;
+            return buckets.get(bucketIndex).elements[position++];
+        }
+    }
+}
@@ -15,6 +15,8 @@
  */
 package au.gov.asd.tac.constellation.graph.attribute;
 
+import au.gov.asd.tac.constellation.graph.GraphIndex;
+import au.gov.asd.tac.constellation.graph.GraphIndexType;
 import au.gov.asd.tac.constellation.utilities.temporal.TemporalConstants;
 import au.gov.asd.tac.constellation.utilities.temporal.TemporalFormatting;
 import au.gov.asd.tac.constellation.utilities.temporal.TimeZoneUtilities;
@@ -147,4 +149,20 @@ public final class ZonedDateTimeAttributeDescription extends AbstractObjectAttri
     public int hashCode(final int id) {
         return data[id] == null ? 0 : ((ZonedDateTime) data[id]).toInstant().hashCode();
     }
+
+    @Override
+    public boolean supportsIndexType(final GraphIndexType indexType) {
+        return true;
+    }
+
+    @Override
+    public GraphIndex createIndex(final GraphIndexType indexType) {
+        return indexType == GraphIndexType.NONE ? NULL_GRAPH_INDEX
+                : new ValueGraphIndex(indexType, data.length, id -> data[id] != null ? ((ZonedDateTime) data[id]).toInstant() : null, this::toInstant);
+    }
+
+    private Instant toInstant(final Object value) {
+        final ZonedDateTime zonedDateTime = convertFromObject(value);
+        return zonedDateTime != null ? zonedDateTime.toInstant() : null;
+    }
 }
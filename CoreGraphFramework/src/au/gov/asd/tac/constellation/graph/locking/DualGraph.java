@@ -20,8 +20,10 @@ import au.gov.asd.tac.constellation.graph.ReadableGraph;
 import au.gov.asd.tac.constellation.graph.StoreGraph;
 import au.gov.asd.tac.constellation.graph.WritableGraph;
 import au.gov.asd.tac.constellation.graph.monitor.GraphChangeEvent;
+import au.gov.asd.tac.constellation.graph.monitor.GraphChangeSet;
 import au.gov.asd.tac.constellation.graph.monitor.GraphChangeListener;
 import au.gov.asd.tac.constellation.graph.schema.Schema;
+import au.gov.asd.tac.constellation.graph.undo.GraphEditListener;
 import au.gov.asd.tac.constellation.utilities.memory.MemoryManager;
 import java.io.Serializable;
 import java.lang.ref.Cleaner;
@@ -60,6 +62,14 @@ import javax.swing.undo.UndoManager;
  * If the writing thread chooses to roll back its changes then the writing graph is reverted back to the state of the
  * reading graph. In this case the graphs do not need to be swapped and a new write lock can be granted on the original
  * writing graph.
+ * <p>
+ * A DualGraph can instead be created in versioned mode, which holds a single copy of the graph. The writing thread
+ * modifies this graph directly, and each commit publishes a read-only version of the graph that shares all of its
+ * unmodified data with the writing graph (see {@link StoreGraph#snapshot()}). Readers read the latest published version
+ * and keep it until they release their read lock, so commits never wait for readers and are only applied once. This
+ * roughly halves the memory used by an open graph, at the cost of the writing graph copying each part of the graph the
+ * first time it modifies it after a commit. Versioned mode is used for new graphs when the system property
+ * {@value #VERSIONED_PROPERTY} is set to true.
  *
  * @author sirius
  */
@@ -67,9 +77,14 @@ public class DualGraph implements Graph, Serializable {
 
     private static final Logger LOGGER = Logger.getLogger(DualGraph.class.getName());
 
+    /**
+     * The system property that selects versioned mode for new graphs.
+     */
+    public static final String VERSIONED_PROPERTY = "constellation.graph.versioned";
+
     private final List<GraphChangeListener> graphChangeListeners = new ArrayList<>();
     private final LockingStoreGraph a;
-    private final LockingStoreGraph b;
+    private final LockingStoreGraph b; // null in versioned mode
     private final LockingManager<LockingStoreGraph> lockingManager;
     private final String id;
     private GraphChangeEvent previousEvent = null;
@@ -82,8 +97,13 @@ public class DualGraph implements Graph, Serializable {
     private LockingManager<LockingStoreGraph> createLockingManager() {
         return new LockingManager<LockingStoreGraph>() {
             @Override
-            protected void update(final Object description, final Object editor) {
-                final GraphChangeEvent event = new GraphChangeEvent(previousEvent, DualGraph.this, editor, description);
+            protected LockingStoreGraph createVersion(final LockingStoreGraph target) {
+                return new LockingStoreGraph(this, target);
+            }
+
+            @Override
+            protected void update(final Object description, final Object editor, final GraphChangeSet changeSet) {
+                final GraphChangeEvent event = new GraphChangeEvent(previousEvent, DualGraph.this, editor, description, changeSet);
                 previousEvent = event;
                 SwingUtilities.invokeLater(() -> {
                     synchronized (graphChangeListeners) {
@@ -97,12 +117,33 @@ public class DualGraph implements Graph, Serializable {
     }
 
     public DualGraph(final Schema schema) {
+        this(schema, Boolean.getBoolean(VERSIONED_PROPERTY));
+    }
+
+    /**
+     * Creates a new empty DualGraph in the specified mode, regardless of the {@value #VERSIONED_PROPERTY} property.
+     *
+     * @param schema the schema of the graph.
+     * @param versioned true if the graph should hold a single copy of its data and publish versions for readers, false
+     * if it should hold a pair of graphs.
+     * @return a new empty DualGraph.
+     */
+    public static DualGraph create(final Schema schema, final boolean versioned) {
+        return new DualGraph(schema, versioned);
+    }
+
+    // Private to avoid an ambiguous overload with DualGraph(StoreGraph, boolean) when the schema is null
+    private DualGraph(final Schema schema, final boolean versioned) {
         lockingManager = createLockingManager();
 
         a = new LockingStoreGraph(lockingManager, 0, schema);
-        b = new LockingStoreGraph(lockingManager, 1, schema, a.getId());
-
-        lockingManager.setTargets(a, b);
+        if (versioned) {
+            b = null;
+            lockingManager.setTarget(a);
+        } else {
+            b = new LockingStoreGraph(lockingManager, 1, schema, a.getId());
+            lockingManager.setTargets(a, b);
+        }
 
         this.id = a.getId();
         this.schema = schema;
@@ -127,14 +168,31 @@ public class DualGraph implements Graph, Serializable {
     }
 
     public DualGraph(final Schema schema, final StoreGraph target, final boolean newId) {
+        this(schema, target, newId, Boolean.getBoolean(VERSIONED_PROPERTY));
+    }
+
+    /**
+     * Creates a new DualGraph from a target StoreGraph.
+     *
+     * @param schema the schema to copy for the new DualGraph.
+     * @param target the StoreGraph representing the initial state of the DualGraph.
+     * @param newId if true then the DualGraph gets a new id, otherwise it is copied from the target.
+     * @param versioned true if the graph should hold a single copy of its data and publish versions for readers, false
+     * if it should hold a pair of graphs.
+     */
+    public DualGraph(final Schema schema, final StoreGraph target, final boolean newId, final boolean versioned) {
         target.validateKeys();
 
         lockingManager = createLockingManager();
 
         a = new LockingStoreGraph(lockingManager, 0, target, newId);
-        b = new LockingStoreGraph(lockingManager, 1, target, a.getId());
-
-        lockingManager.setTargets(a, b);
+        if (versioned) {
+            b = null;
+            lockingManager.setTarget(a);
+        } else {
+            b = new LockingStoreGraph(lockingManager, 1, target, a.getId());
+            lockingManager.setTargets(a, b);
+        }
 
         this.id = a.getId();
         this.schema = schema == null ? null : schema.getFactory().createSchema();
@@ -144,6 +202,15 @@ public class DualGraph implements Graph, Serializable {
         cleaner.register(this, cleanupAction);
     }
 
+    /**
+     * Returns true if this graph holds a single copy of its data and publishes versions for readers.
+     *
+     * @return true if this graph is in versioned mode.
+     */
+    public boolean isVersioned() {
+        return b == null;
+    }
+
     @Override
     public String getId() {
         return id;
@@ -172,6 +239,16 @@ public class DualGraph implements Graph, Serializable {
         LOGGER.log(Level.FINE, "Removed GraphChangeListener, count is {0}\nListeners are: {1}", new Object[]{graphChangeListeners.size(), graphChangeListeners});
     }
 
+    @Override
+    public void startRecordingChangeSets() {
+        lockingManager.startRecordingChangeSets();
+    }
+
+    @Override
+    public void stopRecordingChangeSets() {
+        lockingManager.stopRecordingChangeSets();
+    }
+
     @Override
     public ReadableGraph getReadableGraph() {
         return lockingManager.startReading();
@@ -211,4 +288,13 @@ public class DualGraph implements Graph, Serializable {
     public void setUndoManager(final UndoManager undoManager) {
         lockingManager.setUndoManager(undoManager);
     }
+
+    /**
+     * Set the listener that is told about every edit committed to this graph.
+     *
+     * @param listener the listener, or null to remove the current listener.
+     */
+    public void setGraphEditListener(final GraphEditListener listener) {
+        lockingManager.setGraphEditListener(listener);
+    }
 }
@@ -17,14 +17,19 @@ package au.gov.asd.tac.constellation.graph.locking;
 
 import au.gov.asd.tac.constellation.graph.DuplicateKeyException;
 import au.gov.asd.tac.constellation.graph.GraphWriteMethods;
+import au.gov.asd.tac.constellation.graph.monitor.GraphChangeSet;
 import au.gov.asd.tac.constellation.graph.reporting.UndoRedoReport;
 import au.gov.asd.tac.constellation.graph.reporting.UndoRedoReportManager;
+import au.gov.asd.tac.constellation.graph.undo.GraphEditListener;
 import au.gov.asd.tac.constellation.graph.undo.UndoGraphEdit;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
@@ -56,6 +61,15 @@ public class LockingManager<T extends LockingTarget> implements Serializable {
     private LockingEdit currentEdit = null;
     private LockingEdit initialEdit = null;
     private UndoManager undoManager;
+    private transient volatile GraphEditListener graphEditListener;
+    private final AtomicInteger changeSetRequests = new AtomicInteger();
+    private boolean versioned = false;
+    // The number of read locks each thread holds on published versions, see VersionReadLock.
+    // ThreadLocal is not serializable, so this is created lazily by getVersionReadHolds().
+    private transient volatile ThreadLocal<int[]> versionReadHolds;
+    // Changes flushed without being announced, which are announced with the next update.
+    private boolean unannouncedChanges = false;
+    private GraphChangeSet unannouncedChangeSet = null;
     public static final String UNDO = "Undo";
     public static final String REDO = "Redo";
 
@@ -66,10 +80,193 @@ public class LockingManager<T extends LockingTarget> implements Serializable {
         writeContext.target.lock = writeContext.lock.readLock();
     }
 
+    /**
+     * Manage a single target rather than a pair of targets. Writers modify the
+     * target directly and each commit publishes a new read-only version of the
+     * target, created by {@link #createVersion}, for readers to use. Readers
+     * keep the version they started reading until they release it, so commits
+     * never wait for readers and the edit is only applied once.
+     *
+     * @param target the target to be modified by writers.
+     */
+    public void setTarget(final T target) {
+        versioned = true;
+        a = b = writeContext = new Context(target);
+        writeContext.target.lock = writeContext.lock.readLock();
+        publishVersion();
+    }
+
+    /**
+     * Create a read-only version of the target holding its current state. This
+     * is only called for a LockingManager with a single target.
+     *
+     * @param target the target.
+     * @return a new version of the target.
+     * @see #setTarget
+     */
+    protected T createVersion(final T target) {
+        throw new UnsupportedOperationException("This LockingManager does not support versions");
+    }
+
+    /**
+     * Return the number of read locks the current thread holds on published
+     * versions, creating the thread local counts if this LockingManager has
+     * just been constructed or deserialized.
+     */
+    private int[] getVersionReadHolds() {
+        ThreadLocal<int[]> holds = versionReadHolds;
+        if (holds == null) {
+            synchronized (this) {
+                holds = versionReadHolds;
+                if (holds == null) {
+                    holds = versionReadHolds = ThreadLocal.withInitial(() -> new int[1]);
+                }
+            }
+        }
+        return holds.get();
+    }
+
+    private void publishVersion() {
+        final Context version = new Context(createVersion(writeContext.target));
+        version.target.lock = new VersionReadLock(version.lock.readLock());
+        readContext = version;
+    }
+
+    /**
+     * The read lock of a published version, which counts the read locks held
+     * by each thread. Each version has its own lock, so this is how a thread
+     * that starts writing is found to still be reading.
+     */
+    private final class VersionReadLock implements Lock {
+
+        private final Lock lock;
+
+        private VersionReadLock(final Lock lock) {
+            this.lock = lock;
+        }
+
+        @Override
+        public void lock() {
+            lock.lock();
+            getVersionReadHolds()[0]++;
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            lock.lockInterruptibly();
+            getVersionReadHolds()[0]++;
+        }
+
+        @Override
+        public boolean tryLock() {
+            if (lock.tryLock()) {
+                getVersionReadHolds()[0]++;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean tryLock(final long time, final TimeUnit unit) throws InterruptedException {
+            if (lock.tryLock(time, unit)) {
+                getVersionReadHolds()[0]++;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void unlock() {
+            lock.unlock();
+            getVersionReadHolds()[0]--;
+        }
+
+        @Override
+        public Condition newCondition() {
+            return lock.newCondition();
+        }
+    }
+
+    private boolean isReading() {
+        return a.lock.getReadHoldCount() > 0 || b.lock.getReadHoldCount() > 0 || getVersionReadHolds()[0] > 0;
+    }
+
     public final void setUndoManager(final UndoManager undoManager) {
         this.undoManager = undoManager;
     }
 
+    public final void setGraphEditListener(final GraphEditListener graphEditListener) {
+        this.graphEditListener = graphEditListener;
+    }
+
+    /**
+     * Start recording a change set for each new edit. Requests are counted, so
+     * each call must be matched by a call to {@link #stopRecordingChangeSets()}.
+     */
+    public final void startRecordingChangeSets() {
+        changeSetRequests.incrementAndGet();
+    }
+
+    /**
+     * Withdraw a request made with {@link #startRecordingChangeSets()}.
+     */
+    public final void stopRecordingChangeSets() {
+        changeSetRequests.updateAndGet(requests -> Math.max(0, requests - 1));
+    }
+
+    /**
+     * Combine the change set of an announced edit with the change sets of any
+     * edits that were flushed without being announced since the last update.
+     *
+     * @param changeSet the change set of the announced edit.
+     * @return the combined change set, or null if any of the edits did not
+     * record a change set.
+     */
+    private GraphChangeSet announceChangeSet(final GraphChangeSet changeSet) {
+        GraphChangeSet result = changeSet;
+        if (unannouncedChanges) {
+            if (changeSet != null && unannouncedChangeSet != null) {
+                unannouncedChangeSet.addAll(changeSet);
+                result = unannouncedChangeSet;
+            } else {
+                result = null;
+            }
+        }
+        unannouncedChanges = false;
+        unannouncedChangeSet = null;
+        return result;
+    }
+
+    private void deferChangeSet(final GraphChangeSet changeSet) {
+        if (changeSet == null) {
+            unannouncedChangeSet = null;
+        } else if (!unannouncedChanges) {
+            // Copy the change set as it still belongs to the edit on the undo stack.
+            unannouncedChangeSet = new GraphChangeSet();
+            unannouncedChangeSet.addAll(changeSet);
+        } else if (unannouncedChangeSet != null) {
+            unannouncedChangeSet.addAll(changeSet);
+        } else {
+            // Do nothing
+        }
+        unannouncedChanges = true;
+    }
+
+    private void fireEditCommitted(final UndoGraphEdit edit) {
+        final GraphEditListener listener = graphEditListener;
+        if (listener != null) {
+            // The read context has not been switched yet, so it still holds the graph before the edit.
+            listener.editCommitted(edit, readContext.target.getModificationCounter(), writeContext.target.getModificationCounter());
+        }
+    }
+
+    private void fireHistoryChanged() {
+        final GraphEditListener listener = graphEditListener;
+        if (listener != null) {
+            listener.historyChanged();
+        }
+    }
+
     private final class Context {
 
         private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(true);
@@ -81,7 +278,7 @@ public class LockingManager<T extends LockingTarget> implements Serializable {
     }
 
     public T startWriting(final String name, final boolean significant, final Object source) throws InterruptedException {
-        if (a.lock.getReadHoldCount() > 0 || b.lock.getReadHoldCount() > 0) {
+        if (isReading()) {
             throw new IllegalMonitorStateException("attempting to write while reading");
         }
 
@@ -107,7 +304,7 @@ public class LockingManager<T extends LockingTarget> implements Serializable {
     }
 
     public T tryStartWriting(final String name, final boolean significant, final Object source) {
-        if (a.lock.getReadHoldCount() > 0 || b.lock.getReadHoldCount() > 0) {
+        if (isReading()) {
             throw new IllegalMonitorStateException("attempting to write while reading");
         }
 
@@ -141,7 +338,7 @@ public class LockingManager<T extends LockingTarget> implements Serializable {
 
     public T startReading() {
         final Context c = globalWriteLock.isHeldByCurrentThread() ? writeContext : readContext;
-        c.lock.readLock().lock();
+        c.target.lock.lock();
 
         if (VERBOSE) {
             LOGGER.log(Level.INFO,"Read lock aquired by {0}",Thread.currentThread());
@@ -150,7 +347,7 @@ public class LockingManager<T extends LockingTarget> implements Serializable {
         return c.target;
     }
 
-    protected void update(final Object description, Object editor) {
+    protected void update(final Object description, final Object editor, final GraphChangeSet changeSet) {
         // Overridden in class DualGraph
     }
 
@@ -209,6 +406,31 @@ public class LockingManager<T extends LockingTarget> implements Serializable {
 
         private UndoGraphEdit graphEdit = new UndoGraphEdit();
 
+        /**
+         * Returns the change set for this edit, including any non-significant
+         * edits that follow it on the undo stack.
+         *
+         * @return the change set, or null if this edit or one that follows it
+         * did not record a change set.
+         */
+        private GraphChangeSet getChangeSet() {
+            if (graphEdit.getChangeSet() == null) {
+                return null;
+            }
+            final GraphChangeSet changeSet = new GraphChangeSet();
+            changeSet.addAll(graphEdit.getChangeSet());
+            if (followingChildren != null) {
+                for (final LockingEdit followingChild : followingChildren) {
+                    final GraphChangeSet childChangeSet = followingChild.getChangeSet();
+                    if (childChangeSet == null) {
+                        return null;
+                    }
+                    changeSet.addAll(childChangeSet);
+                }
+            }
+            return changeSet;
+        }
+
         private void finished() {
             graphEdit.finish();
         }
@@ -237,6 +459,9 @@ public class LockingManager<T extends LockingTarget> implements Serializable {
             this.name = name;
             this.significant = significant;
             this.editor = editor;
+            if (changeSetRequests.get() > 0) {
+                graphEdit.setChangeSet(new GraphChangeSet());
+            }
         }
 
         @Override
@@ -254,28 +479,35 @@ public class LockingManager<T extends LockingTarget> implements Serializable {
                     writeContext.target.validateKeys();
                     writeContext.target.setOperationMode(GraphOperationMode.EXECUTE);
 
-                    // Switch the read context to the write context
-                    final Context originalReadContext = readContext;
-                    readContext = writeContext;
-
-                    originalReadContext.lock.writeLock().lock();
-                    try {
-                        originalReadContext.target.setOperationMode(GraphOperationMode.UNDO);
-                        undo(originalReadContext.target);
-                        originalReadContext.target.validateKeys();
-                        originalReadContext.target.setOperationMode(GraphOperationMode.EXECUTE);
-                    } finally {
-                        originalReadContext.lock.writeLock().unlock();
+                    if (versioned) {
+                        publishVersion();
+                    } else {
+                        // Switch the read context to the write context
+                        final Context originalReadContext = readContext;
+                        readContext = writeContext;
+
+                        originalReadContext.lock.writeLock().lock();
+                        try {
+                            originalReadContext.target.setOperationMode(GraphOperationMode.UNDO);
+                            undo(originalReadContext.target);
+                            originalReadContext.target.validateKeys();
+                            originalReadContext.target.setOperationMode(GraphOperationMode.EXECUTE);
+                        } finally {
+                            originalReadContext.lock.writeLock().unlock();
+                        }
+
+                        // Switch the write context
+                        writeContext = originalReadContext;
                     }
 
-                    // Switch the write context
-                    writeContext = originalReadContext;
+                    fireHistoryChanged();
                 } finally {
                     // Unlock the global write lock so new write requests can begin on the new write context
                     globalWriteLock.unlock();
                 }
                 fireUndoRedoReport(UNDO, (GraphWriteMethods) writeContext.target, getPresentationName());
-                update(null, null);
+                final GraphChangeSet changeSet = getChangeSet();
+                update(null, null, changeSet == null ? null : changeSet.inverse());
                 
             }).start();
         }
@@ -307,22 +539,28 @@ public class LockingManager<T extends LockingTarget> implements Serializable {
                     writeContext.target.validateKeys();
                     writeContext.target.setOperationMode(GraphOperationMode.EXECUTE);
 
-                    // Switch the read context to the write context
-                    final Context originalReadContext = readContext;
-                    readContext = writeContext;
-
-                    originalReadContext.lock.writeLock().lock();
-                    try {
-                        originalReadContext.target.setOperationMode(GraphOperationMode.REDO);
-                        execute(originalReadContext.target);
-                        originalReadContext.target.validateKeys();
-                        originalReadContext.target.setOperationMode(GraphOperationMode.EXECUTE);
-                    } finally {
-                        originalReadContext.lock.writeLock().unlock();
+                    if (versioned) {
+                        publishVersion();
+                    } else {
+                        // Switch the read context to the write context
+                        final Context originalReadContext = readContext;
+                        readContext = writeContext;
+
+                        originalReadContext.lock.writeLock().lock();
+                        try {
+                            originalReadContext.target.setOperationMode(GraphOperationMode.REDO);
+                            execute(originalReadContext.target);
+                            originalReadContext.target.validateKeys();
+                            originalReadContext.target.setOperationMode(GraphOperationMode.EXECUTE);
+                        } finally {
+                            originalReadContext.lock.writeLock().unlock();
+                        }
+
+                        // Switch the write context
+                        writeContext = originalReadContext;
                     }
 
-                    // Switch the write context
-                    writeContext = originalReadContext;
+                    fireHistoryChanged();
                 } finally {
                     // Unlock the global write lock so new write requests can begin on the new write context
                     globalWriteLock.unlock();
@@ -330,7 +568,7 @@ public class LockingManager<T extends LockingTarget> implements Serializable {
                 fireUndoRedoReport(REDO, (GraphWriteMethods) writeContext.target, getPresentationName());
             }).start();
 
-            update(null, null);
+            update(null, null, getChangeSet());
         }
 
         @Override
@@ -401,27 +639,34 @@ public class LockingManager<T extends LockingTarget> implements Serializable {
             if (parent == null) {
                 writeContext.target.setGraphEdit(null);
 
-                final Context originalReadContext = readContext;
-                readContext = writeContext;
+                fireEditCommitted(graphEdit);
 
-                originalReadContext.lock.writeLock().lock();
-                try {
-                    execute(originalReadContext.target);
-                    originalReadContext.target.validateKeys();
-                } finally {
-                    originalReadContext.lock.writeLock().unlock();
-                }
+                if (versioned) {
+                    publishVersion();
+                } else {
+                    final Context originalReadContext = readContext;
+                    readContext = writeContext;
+
+                    originalReadContext.lock.writeLock().lock();
+                    try {
+                        execute(originalReadContext.target);
+                        originalReadContext.target.validateKeys();
+                    } finally {
+                        originalReadContext.lock.writeLock().unlock();
+                    }
 
-                writeContext = originalReadContext;
+                    writeContext = originalReadContext;
+                }
 
                 if (undoManager != null && addToUndo) {
                     SwingUtilities.invokeLater(() -> undoManager.undoableEditHappened(new UndoableEditEvent(LockingManager.this, LockingEdit.this)));
                 }
                 currentEdit = null;
                 initialEdit = null;
+                final GraphChangeSet changeSet = announceChangeSet(graphEdit.getChangeSet());
                 globalWriteLock.unlock();
 
-                update(description, editor);
+                update(description, editor, changeSet);
             } else {
                 parent.graphEdit.addChild(graphEdit);
                 currentEdit = parent;
@@ -442,18 +687,24 @@ public class LockingManager<T extends LockingTarget> implements Serializable {
             finished();
 
             if (parent == null) {
-                final Context originalReadContext = readContext;
-                readContext = writeContext;
+                fireEditCommitted(graphEdit);
 
-                originalReadContext.lock.writeLock().lock();
-                try {
-                    execute(originalReadContext.target);
-                    originalReadContext.target.validateKeys();
-                } finally {
-                    originalReadContext.lock.writeLock().unlock();
-                }
+                if (versioned) {
+                    publishVersion();
+                } else {
+                    final Context originalReadContext = readContext;
+                    readContext = writeContext;
 
-                writeContext = originalReadContext;
+                    originalReadContext.lock.writeLock().lock();
+                    try {
+                        execute(originalReadContext.target);
+                        originalReadContext.target.validateKeys();
+                    } finally {
+                        originalReadContext.lock.writeLock().unlock();
+                    }
+
+                    writeContext = originalReadContext;
+                }
 
                 if (undoManager != null) {
                     SwingUtilities.invokeLater(() -> undoManager.undoableEditHappened(new UndoableEditEvent(LockingManager.this, LockingEdit.this)));
@@ -462,7 +713,9 @@ public class LockingManager<T extends LockingTarget> implements Serializable {
                 writeContext.target.setGraphEdit(currentEdit.graphEdit);
 
                 if (announce) {
-                    update(description, editor);
+                    update(description, editor, announceChangeSet(graphEdit.getChangeSet()));
+                } else {
+                    deferChangeSet(graphEdit.getChangeSet());
                 }
             } else {
                 parent.graphEdit.addChild(graphEdit);
@@ -61,6 +61,19 @@ public class LockingStoreGraph extends StoreGraph implements ReadableGraph, Writ
         this.lockingManager = lockingManager;
     }
 
+    /**
+     * Creates a version of a LockingStoreGraph that shares its data with the
+     * original until either is modified.
+     *
+     * @param lockingManager the LockingManager that manages the original.
+     * @param original the LockingStoreGraph to take a version of.
+     * @see StoreGraph#snapshot()
+     */
+    public LockingStoreGraph(final LockingManager<?> lockingManager, final LockingStoreGraph original) {
+        super(original.getId(), original.getSchema(), original, true);
+        this.lockingManager = lockingManager;
+    }
+
     @Override
     public void commit() throws DuplicateKeyException {
         commit(null);
@@ -33,6 +33,7 @@ public class GraphChangeEvent {
     private final Graph graph;
     private final Object editor;
     private final Object description;
+    private final GraphChangeSet changeSet;
 
     /**
      * Creates a new GraphChangeEvent with a automatically created one-up id.
@@ -47,12 +48,30 @@ public class GraphChangeEvent {
      * the modification counters on the graph.
      */
     public GraphChangeEvent(final GraphChangeEvent previous, final Graph graph, final Object editor, final Object description) {
+        this(previous, graph, editor, description, null);
+    }
+
+    /**
+     * Creates a new GraphChangeEvent with a automatically created one-up id
+     * and a record of the elements that changed.
+     *
+     * @param previous the change event that occurred immediately previous to
+     * this one.
+     * @param graph the graph that underwent the change.
+     * @param editor an object that represents the editor (usually the plug-in
+     * instance)
+     * @param description an object that describes the change.
+     * @param changeSet the elements that were changed, or null if they were
+     * not recorded.
+     */
+    public GraphChangeEvent(final GraphChangeEvent previous, final Graph graph, final Object editor, final Object description, final GraphChangeSet changeSet) {
         synchronized (GraphChangeEvent.class) {
             id = nextID++;
         }
         this.graph = graph;
         this.editor = editor;
         this.description = description;
+        this.changeSet = changeSet;
 
         if (previous != null) {
             previous.next = this;
@@ -77,6 +96,7 @@ public class GraphChangeEvent {
         this.graph = graph;
         this.editor = editor;
         this.description = description;
+        this.changeSet = null;
 
         if (previous != null) {
             previous.next = this;
@@ -129,6 +149,20 @@ public class GraphChangeEvent {
         return description;
     }
 
+    /**
+     * Returns a record of the vertices, transactions and attributes that were
+     * changed by the edit that produced this event. Change sets are only
+     * recorded while something has asked the graph for them with
+     * {@link Graph#startRecordingChangeSets()}, otherwise this returns null and
+     * listeners have to examine the modification counters on the graph.
+     *
+     * @return the changes made to the graph, or null if they were not
+     * recorded.
+     */
+    public GraphChangeSet getChangeSet() {
+        return changeSet;
+    }
+
     /**
      * Returns the latest GraphChangeEvent that has been issued for this graph.
      * Often, if graph changes are occurring frequently, a GraphChangeEvent may
@@ -156,6 +190,9 @@ public class GraphChangeEvent {
         out.append(", graph = ").append(graph);
         out.append(", editor = ").append(editor);
         out.append(", description = ").append(description);
+        if (changeSet != null) {
+            out.append(", changeSet = ").append(changeSet);
+        }
         out.append("]");
         return out.toString();
     }
@@ -0,0 +1,372 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.graph.monitor;
+
+import org.eclipse.collections.api.set.primitive.IntSet;
+import org.eclipse.collections.api.set.primitive.MutableIntSet;
+import org.eclipse.collections.impl.factory.primitive.IntSets;
+import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
+
+/**
+ * A record of the vertices, transactions and attributes that were added,
+ * removed or changed by an edit to a graph.
+ * <p>
+ * Change sets are collected as a graph edit is recorded and are passed to
+ * listeners with the {@link GraphChangeEvent} for the edit, so a listener can
+ * update just the parts of its view that were affected rather than reading the
+ * whole graph again. Recording a change set costs a little memory for each
+ * element that is changed, so once more than a fixed number of changes have
+ * been recorded the change set is compacted and simply reports that everything
+ * has changed. Listeners should always check {@link #isEverythingChanged()}
+ * first.
+ * <p>
+ * The change set records what happened, not the net effect. For example, an
+ * id can appear in both the removed and added vertices if a vertex was removed
+ * and its id reused by a new vertex in the same edit.
+ * <p>
+ * A change set is not thread safe while it is being recorded, but it is not
+ * changed once it has been passed to a {@link GraphChangeEvent}.
+ *
+ * @author sirius
+ */
+public class GraphChangeSet {
+
+    /**
+     * The default number of changes that can be recorded before the change
+     * set is compacted.
+     */
+    public static final int DEFAULT_CAPACITY = 10_000;
+
+    private final int capacity;
+    private int size = 0;
+    private boolean everythingChanged = false;
+
+    private final MutableIntSet addedVertices = new IntHashSet();
+    private final MutableIntSet removedVertices = new IntHashSet();
+    private final MutableIntSet addedTransactions = new IntHashSet();
+    private final MutableIntSet removedTransactions = new IntHashSet();
+    private final MutableIntSet changedTransactions = new IntHashSet();
+    private final MutableIntSet addedAttributes = new IntHashSet();
+    private final MutableIntSet removedAttributes = new IntHashSet();
+    private final MutableIntSet changedAttributes = new IntHashSet();
+    private final IntObjectHashMap<MutableIntSet> changedValues = new IntObjectHashMap<>();
+
+    /**
+     * Creates a new empty change set with the default capacity.
+     */
+    public GraphChangeSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty change set.
+     *
+     * @param capacity the number of changes that can be recorded before the
+     * change set is compacted to report that everything has changed.
+     */
+    public GraphChangeSet(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Records that a vertex was added.
+     *
+     * @param vertex the id of the vertex.
+     */
+    public void addVertex(final int vertex) {
+        record(addedVertices, vertex);
+    }
+
+    /**
+     * Records that a vertex was removed.
+     *
+     * @param vertex the id of the vertex.
+     */
+    public void removeVertex(final int vertex) {
+        record(removedVertices, vertex);
+    }
+
+    /**
+     * Records that a transaction was added.
+     *
+     * @param transaction the id of the transaction.
+     */
+    public void addTransaction(final int transaction) {
+        record(addedTransactions, transaction);
+    }
+
+    /**
+     * Records that a transaction was removed.
+     *
+     * @param transaction the id of the transaction.
+     */
+    public void removeTransaction(final int transaction) {
+        record(removedTransactions, transaction);
+    }
+
+    /**
+     * Records that the source or destination vertex of a transaction was
+     * changed.
+     *
+     * @param transaction the id of the transaction.
+     */
+    public void changeTransaction(final int transaction) {
+        record(changedTransactions, transaction);
+    }
+
+    /**
+     * Records that an attribute was added.
+     *
+     * @param attribute the id of the attribute.
+     */
+    public void addAttribute(final int attribute) {
+        record(addedAttributes, attribute);
+    }
+
+    /**
+     * Records that an attribute was removed.
+     *
+     * @param attribute the id of the attribute.
+     */
+    public void removeAttribute(final int attribute) {
+        record(removedAttributes, attribute);
+    }
+
+    /**
+     * Records that the name, description or default value of an attribute was
+     * changed.
+     *
+     * @param attribute the id of the attribute.
+     */
+    public void changeAttribute(final int attribute) {
+        record(changedAttributes, attribute);
+    }
+
+    /**
+     * Records that the value of an attribute was changed for an element.
+     *
+     * @param attribute the id of the attribute.
+     * @param id the id of the element.
+     */
+    public void changeValue(final int attribute, final int id) {
+        if (!everythingChanged) {
+            record(changedValues.getIfAbsentPut(attribute, IntHashSet::new), id);
+        }
+    }
+
+    /**
+     * Records a change that can not be described by this change set, such as
+     * the execution of a {@link au.gov.asd.tac.constellation.graph.operations.GraphOperation}.
+     * The change set will report that everything has changed.
+     */
+    public void changeEverything() {
+        if (!everythingChanged) {
+            everythingChanged = true;
+            size = 0;
+            addedVertices.clear();
+            removedVertices.clear();
+            addedTransactions.clear();
+            removedTransactions.clear();
+            changedTransactions.clear();
+            addedAttributes.clear();
+            removedAttributes.clear();
+            changedAttributes.clear();
+            changedValues.clear();
+        }
+    }
+
+    /**
+     * Records all the changes in another change set.
+     *
+     * @param other the change set to add to this one.
+     */
+    public void addAll(final GraphChangeSet other) {
+        if (other.everythingChanged) {
+            changeEverything();
+            return;
+        }
+        other.addedVertices.forEach(this::addVertex);
+        other.removedVertices.forEach(this::removeVertex);
+        other.addedTransactions.forEach(this::addTransaction);
+        other.removedTransactions.forEach(this::removeTransaction);
+        other.changedTransactions.forEach(this::changeTransaction);
+        other.addedAttributes.forEach(this::addAttribute);
+        other.removedAttributes.forEach(this::removeAttribute);
+        other.changedAttributes.forEach(this::changeAttribute);
+        other.changedValues.forEachKeyValue((attribute, ids) -> ids.forEach(id -> changeValue(attribute, id)));
+    }
+
+    /**
+     * Creates a change set describing the changes made when the edit this
+     * change set was recorded for is undone. Everything that was added is
+     * removed and everything that was removed is added.
+     *
+     * @return a new change set describing the reverse of this one.
+     */
+    public GraphChangeSet inverse() {
+        final GraphChangeSet inverse = new GraphChangeSet(capacity);
+        if (everythingChanged) {
+            inverse.changeEverything();
+            return inverse;
+        }
+        addedVertices.forEach(inverse::removeVertex);
+        removedVertices.forEach(inverse::addVertex);
+        addedTransactions.forEach(inverse::removeTransaction);
+        removedTransactions.forEach(inverse::addTransaction);
+        changedTransactions.forEach(inverse::changeTransaction);
+        addedAttributes.forEach(inverse::removeAttribute);
+        removedAttributes.forEach(inverse::addAttribute);
+        changedAttributes.forEach(inverse::changeAttribute);
+        changedValues.forEachKeyValue((attribute, ids) -> ids.forEach(id -> inverse.changeValue(attribute, id)));
+        return inverse;
+    }
+
+    private void record(final MutableIntSet set, final int id) {
+        if (!everythingChanged && set.add(id) && ++size > capacity) {
+            changeEverything();
+        }
+    }
+
+    /**
+     * Returns true if the changes were too many or too complex to record, in
+     * which case listeners should assume that anything in the graph may have
+     * changed and all the other methods of this change set return empty sets.
+     *
+     * @return true if anything in the graph may have changed.
+     */
+    public boolean isEverythingChanged() {
+        return everythingChanged;
+    }
+
+    /**
+     * Returns true if no changes were recorded.
+     *
+     * @return true if no changes were recorded.
+     */
+    public boolean isEmpty() {
+        return !everythingChanged && size == 0;
+    }
+
+    /**
+     * Returns true if any change was made to an attribute or its values.
+     *
+     * @param attribute the id of the attribute.
+     * @return true if the attribute was added, removed or changed, or the value
+     * of the attribute was changed for any element.
+     */
+    public boolean isAttributeChanged(final int attribute) {
+        return everythingChanged
+                || changedValues.containsKey(attribute)
+                || changedAttributes.contains(attribute)
+                || addedAttributes.contains(attribute)
+                || removedAttributes.contains(attribute);
+    }
+
+    /**
+     * Returns true if any vertices or transactions were added or removed, or
+     * any transaction was moved to a different vertex.
+     *
+     * @return true if the structure of the graph changed.
+     */
+    public boolean isStructureChanged() {
+        return everythingChanged
+                || !addedVertices.isEmpty()
+                || !removedVertices.isEmpty()
+                || !addedTransactions.isEmpty()
+                || !removedTransactions.isEmpty()
+                || !changedTransactions.isEmpty();
+    }
+
+    public IntSet getAddedVertices() {
+        return addedVertices.asUnmodifiable();
+    }
+
+    public IntSet getRemovedVertices() {
+        return removedVertices.asUnmodifiable();
+    }
+
+    public IntSet getAddedTransactions() {
+        return addedTransactions.asUnmodifiable();
+    }
+
+    public IntSet getRemovedTransactions() {
+        return removedTransactions.asUnmodifiable();
+    }
+
+    /**
+     * Returns the transactions whose source or destination vertex changed.
+     *
+     * @return the ids of the transactions.
+     */
+    public IntSet getChangedTransactions() {
+        return changedTransactions.asUnmodifiable();
+    }
+
+    public IntSet getAddedAttributes() {
+        return addedAttributes.asUnmodifiable();
+    }
+
+    public IntSet getRemovedAttributes() {
+        return removedAttributes.asUnmodifiable();
+    }
+
+    /**
+     * Returns the attributes whose name, description or default value changed.
+     *
+     * @return the ids of the attributes.
+     */
+    public IntSet getChangedAttributes() {
+        return changedAttributes.asUnmodifiable();
+    }
+
+    /**
+     * Returns the attributes whose value changed for at least one element.
+     *
+     * @return the ids of the attributes.
+     */
+    public IntSet getValueChangedAttributes() {
+        return changedValues.keySet().toImmutable();
+    }
+
+    /**
+     * Returns the elements whose value changed for an attribute.
+     *
+     * @param attribute the id of the attribute.
+     * @return the ids of the elements.
+     */
+    public IntSet getChangedValues(final int attribute) {
+        final MutableIntSet ids = changedValues.get(attribute);
+        return ids == null ? IntSets.immutable.empty() : ids.asUnmodifiable();
+    }
+
+    @Override
+    public String toString() {
+        if (everythingChanged) {
+            return "GraphChangeSet[everything]";
+        }
+        final StringBuilder out = new StringBuilder();
+        out.append("GraphChangeSet[");
+        out.append("addedVertices = ").append(addedVertices.size());
+        out.append(", removedVertices = ").append(removedVertices.size());
+        out.append(", addedTransactions = ").append(addedTransactions.size());
+        out.append(", removedTransactions = ").append(removedTransactions.size());
+        out.append(", changedTransactions = ").append(changedTransactions.size());
+        out.append(", changedAttributes = ").append(changedValues.keySet());
+        out.append("]");
+        return out.toString();
+    }
+}
@@ -399,84 +399,152 @@ public class GraphRecordStoreUtilities {
      */
     public static List<Integer> addRecordStoreToGraph(final GraphWriteMethods graph, final RecordStore recordStore,
             final boolean initializeWithSchema, final boolean completeWithSchema, final List<String> vertexIdAttributes,
-            Map<String, Integer> vertexMap, Map<String, Integer> transactionMap) {
-        final List<Integer> newVertices = new ArrayList<>();
-        final Set<Integer> ghostVertices = new HashSet<>();
-        boolean transactionsAdded = false;
+            final Map<String, Integer> vertexMap, final Map<String, Integer> transactionMap) {
+        final RecordStoreBatchWriter writer = new RecordStoreBatchWriter(graph, initializeWithSchema, completeWithSchema, vertexIdAttributes, vertexMap, transactionMap);
+        writer.add(recordStore);
+        return writer.finish();
+    }
 
-        recordStore.reset();
-        final List<String> keys = recordStore instanceof GraphRecordStore graphRecordStore
-                ? graphRecordStore.keysWithType() : recordStore.keys();
+    /**
+     * Adds a sequence of {@link RecordStore} batches to a graph with the same result as adding a single
+     * {@link RecordStore} holding all of their records.
+     * <p>
+     * Vertex and transaction ids are resolved across batches, so a record can refer to an element added by an earlier
+     * batch, and each batch can be discarded once it has been added. This allows a large amount of data to be added to
+     * a graph as it is read, without holding all of it in memory. {@link #finish()} must be called after the last
+     * batch has been added.
+     */
+    public static class RecordStoreBatchWriter {
+
+        private final GraphWriteMethods graph;
+        private final boolean initializeWithSchema;
+        private final boolean completeWithSchema;
+        private final List<String> vertexIdAttributes;
+        private final Map<String, Integer> vertexMap;
+        private final Map<String, Integer> transactionMap;
+        private final List<Integer> newVertices = new ArrayList<>();
+        private final Set<Integer> ghostVertices = new HashSet<>();
+        private boolean transactionsAdded = false;
 
-        if (vertexMap == null) {
-            vertexMap = new HashMap<>();
+        /**
+         * Creates a new writer.
+         *
+         * @param graph A {@link GraphWriteMethods} object to add the {@link RecordStore} contents to.
+         * @param initializeWithSchema Whether or not to initialise new elements with the graph's schema.
+         * @param completeWithSchema Whether or not to complete new elements with the graph's schema.
+         * @param vertexIdAttributes if not null, this list of attributes will be used to create an id value. An empty
+         * list will cause all attributes to be used.
+         */
+        public RecordStoreBatchWriter(final GraphWriteMethods graph, final boolean initializeWithSchema, final boolean completeWithSchema,
+                final List<String> vertexIdAttributes) {
+            this(graph, initializeWithSchema, completeWithSchema, vertexIdAttributes, null, null);
         }
-        if (transactionMap == null) {
-            transactionMap = new HashMap<>();
+
+        /**
+         * Creates a new writer.
+         *
+         * @param graph A {@link GraphWriteMethods} object to add the {@link RecordStore} contents to.
+         * @param initializeWithSchema Whether or not to initialise new elements with the graph's schema.
+         * @param completeWithSchema Whether or not to complete new elements with the graph's schema.
+         * @param vertexIdAttributes if not null, this list of attributes will be used to create an id value. An empty
+         * list will cause all attributes to be used.
+         * @param vertexMap A map which will be populated with the mappings from vertex id in the {@link RecordStore}
+         * (or created vertex id if no id was provided in the {@link RecordStore}) to vertex id on the graph.
+         * @param transactionMap A map which will be populated with the mappings from transaction id in the
+         * {@link RecordStore} (or created transaction id if no id was provided in the {@link RecordStore}) to
+         * transaction id on the graph.
+         */
+        public RecordStoreBatchWriter(final GraphWriteMethods graph, final boolean initializeWithSchema, final boolean completeWithSchema,
+                final List<String> vertexIdAttributes, final Map<String, Integer> vertexMap, final Map<String, Integer> transactionMap) {
+            this.graph = graph;
+            this.initializeWithSchema = initializeWithSchema;
+            this.completeWithSchema = completeWithSchema;
+            this.vertexIdAttributes = vertexIdAttributes;
+            this.vertexMap = vertexMap == null ? new HashMap<>() : vertexMap;
+            this.transactionMap = transactionMap == null ? new HashMap<>() : transactionMap;
         }
 
-        while (recordStore.next()) {
-            final Map<String, String> sourceValues = new TreeMap<>();
-            final Map<String, String> destinationValues = new TreeMap<>();
-            final Map<String, String> transactionValues = new TreeMap<>();
-            for (final String key : keys) {
-                if (recordStore.hasValue(key)) {
-                    String value = recordStore.get(key);
-                    final int dividerPosition = key.indexOf('.');
-
-                    if (dividerPosition > 0) {
-                        final String keyDescriptor = key.substring(0, dividerPosition).toLowerCase();
-                        final String keyAttribute = key.substring(dividerPosition + 1);
-                        final String[] parts = keyDescriptor.split("\\.");
-                        final String label = key.split("<")[0];
-
-                        if (LabelTypes.indexOf(label) > -1) {
-                            value = normalizeType(value);
-                        }
+        /**
+         * Adds the records in a {@link RecordStore} to the graph.
+         *
+         * @param recordStore The {@link RecordStore} to be added to the graph.
+         */
+        public void add(final RecordStore recordStore) {
+            recordStore.reset();
+            final List<String> keys = recordStore instanceof GraphRecordStore graphRecordStore
+                    ? graphRecordStore.keysWithType() : recordStore.keys();
+
+            while (recordStore.next()) {
+                final Map<String, String> sourceValues = new TreeMap<>();
+                final Map<String, String> destinationValues = new TreeMap<>();
+                final Map<String, String> transactionValues = new TreeMap<>();
+                for (final String key : keys) {
+                    if (recordStore.hasValue(key)) {
+                        String value = recordStore.get(key);
+                        final int dividerPosition = key.indexOf('.');
+
+                        if (dividerPosition > 0) {
+                            final String keyDescriptor = key.substring(0, dividerPosition).toLowerCase();
+                            final String keyAttribute = key.substring(dividerPosition + 1);
+                            final String[] parts = keyDescriptor.split("\\.");
+                            final String label = key.split("<")[0];
+
+                            if (LabelTypes.indexOf(label) > -1) {
+                                value = normalizeType(value);
+                            }
 
-                        switch (parts[0]) {
-                            case "source" ->
-                                sourceValues.put(keyAttribute, value);
-                            case "destination" ->
-                                destinationValues.put(keyAttribute, value);
-                            case "transaction" ->
-                                transactionValues.put(keyAttribute, value);
-                            default -> {
-                                // do nothing
+                            switch (parts[0]) {
+                                case "source" ->
+                                    sourceValues.put(keyAttribute, value);
+                                case "destination" ->
+                                    destinationValues.put(keyAttribute, value);
+                                case "transaction" ->
+                                    transactionValues.put(keyAttribute, value);
+                                default -> {
+                                    // do nothing
+                                }
                             }
                         }
                     }
                 }
-            }
-            if (sourceValues.isEmpty() && destinationValues.isEmpty() && transactionValues.containsKey(ID)) {
-                // This will not add a new transaction to the graph (as source and destination are both -1), but if the transaction exists already it will be returned allowing it to be selected.
-                addTransaction(graph, NO_ELEMENT, NO_ELEMENT, transactionValues, transactionMap, initializeWithSchema, completeWithSchema);
-            } else if (!sourceValues.isEmpty() && !destinationValues.isEmpty()) {
-                final int source = addVertex(graph, sourceValues, vertexMap, initializeWithSchema, completeWithSchema, newVertices, ghostVertices, vertexIdAttributes);
-                final int destination = addVertex(graph, destinationValues, vertexMap, initializeWithSchema, completeWithSchema, newVertices, ghostVertices, vertexIdAttributes);
-                addTransaction(graph, source, destination, transactionValues, transactionMap, initializeWithSchema, completeWithSchema);
-                transactionsAdded = true;
-            } else if (!sourceValues.isEmpty()) {
-                addVertex(graph, sourceValues, vertexMap, initializeWithSchema, completeWithSchema, newVertices, ghostVertices, vertexIdAttributes);
-            } else if (!destinationValues.isEmpty()) {
-                addVertex(graph, destinationValues, vertexMap, initializeWithSchema, completeWithSchema, newVertices, ghostVertices, vertexIdAttributes);
+                if (sourceValues.isEmpty() && destinationValues.isEmpty() && transactionValues.containsKey(ID)) {
+                    // This will not add a new transaction to the graph (as source and destination are both -1), but if the transaction exists already it will be returned allowing it to be selected.
+                    addTransaction(graph, NO_ELEMENT, NO_ELEMENT, transactionValues, transactionMap, initializeWithSchema, completeWithSchema);
+                } else if (!sourceValues.isEmpty() && !destinationValues.isEmpty()) {
+                    final int source = addVertex(graph, sourceValues, vertexMap, initializeWithSchema, completeWithSchema, newVertices, ghostVertices, vertexIdAttributes);
+                    final int destination = addVertex(graph, destinationValues, vertexMap, initializeWithSchema, completeWithSchema, newVertices, ghostVertices, vertexIdAttributes);
+                    addTransaction(graph, source, destination, transactionValues, transactionMap, initializeWithSchema, completeWithSchema);
+                    transactionsAdded = true;
+                } else if (!sourceValues.isEmpty()) {
+                    addVertex(graph, sourceValues, vertexMap, initializeWithSchema, completeWithSchema, newVertices, ghostVertices, vertexIdAttributes);
+                } else if (!destinationValues.isEmpty()) {
+                    addVertex(graph, destinationValues, vertexMap, initializeWithSchema, completeWithSchema, newVertices, ghostVertices, vertexIdAttributes);
+                }
             }
         }
 
-        // Ghost vertices only exist to allow transactions to be present. If, after merging has occurred, a ghost
-        // vertex still exists in the graph (ie has not been merged with another vertex) then is should be removed.
-        if (!ghostVertices.isEmpty()) {
-            graph.validateKey(GraphElementType.VERTEX, true);
-            for (final Integer vertex : ghostVertices) {
-                if (graph.vertexExists(vertex)) {
-                    graph.removeVertex(vertex);
+        /**
+         * Completes the records added to the graph, removing any ghost vertices that were not merged with another
+         * vertex.
+         *
+         * @return A {@link List} of {@link Integer} objects representing the vertex id's of the newly added vertices.
+         */
+        public List<Integer> finish() {
+            // Ghost vertices only exist to allow transactions to be present. If, after merging has occurred, a ghost
+            // vertex still exists in the graph (ie has not been merged with another vertex) then is should be removed.
+            if (!ghostVertices.isEmpty()) {
+                graph.validateKey(GraphElementType.VERTEX, true);
+                for (final Integer vertex : ghostVertices) {
+                    if (graph.vertexExists(vertex)) {
+                        graph.removeVertex(vertex);
+                    }
                 }
             }
-        }
 
-        //mergerAfterTransactions prevents dummy vertices overwriting the attributes of the existing vertices, if any.
-        graph.setGraphElementMerger(transactionsAdded ? mergerAfterTransactions : graph.getSchema().getFactory().getGraphElementMerger());
-        return newVertices;
+            //mergerAfterTransactions prevents dummy vertices overwriting the attributes of the existing vertices, if any.
+            graph.setGraphElementMerger(transactionsAdded ? mergerAfterTransactions : graph.getSchema().getFactory().getGraphElementMerger());
+            return newVertices;
+        }
     }
 
     /**
@@ -20,6 +20,7 @@ import au.gov.asd.tac.constellation.graph.Graph;
 import au.gov.asd.tac.constellation.graph.GraphConstants;
 import au.gov.asd.tac.constellation.graph.GraphElementMerger;
 import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.GraphIndexType;
 import au.gov.asd.tac.constellation.graph.GraphWriteMethods;
 import au.gov.asd.tac.constellation.graph.schema.attribute.SchemaAttribute;
 import au.gov.asd.tac.constellation.graph.schema.concept.SchemaConcept;
@@ -325,6 +326,30 @@ public abstract class SchemaFactory {
         return attribute;
     }
 
+    /**
+     * Give each attribute on a graph the index type of the {@link SchemaAttribute}
+     * registered to this SchemaFactory with the same name. Attributes ensured
+     * through this SchemaFactory are given their index type when they are
+     * added, but graph readers add attributes directly, so they call this once
+     * the values have been loaded. Each index is then built in one pass rather
+     * than being kept up to date as every value is set.
+     *
+     * @param graph the {@link GraphWriteMethods} whose attributes should be
+     * indexed.
+     */
+    public final void ensureAttributeIndexTypes(final GraphWriteMethods graph) {
+        for (final Map.Entry<GraphElementType, Map<String, SchemaAttribute>> entry : allRegisteredAttributes.entrySet()) {
+            for (final SchemaAttribute registeredAttribute : entry.getValue().values()) {
+                if (registeredAttribute.getIndexType() != GraphIndexType.NONE) {
+                    final int attribute = graph.getAttribute(entry.getKey(), registeredAttribute.getName());
+                    if (attribute != Graph.NOT_FOUND && graph.getAttributeIndexType(attribute) == GraphIndexType.NONE) {
+                        graph.setAttributeIndexType(attribute, registeredAttribute.getIndexType());
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * Get the {@link List} of {@link SchemaAttribute} which are key attributes
      * for this SchemaFactory for the specified {@link GraphElementType}.
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.graph.undo;
+
+/**
+ * A GraphEditListener is told about every edit that is committed to a graph,
+ * in the order that the edits are committed.
+ * <p>
+ * The listener is called while the graph's write lock is held, so it should
+ * do no more than record the edit; the edit is finished and will not change
+ * after it has been passed to the listener.
+ *
+ * @author sirius
+ */
+public interface GraphEditListener {
+
+    /**
+     * Called when an edit has been committed to the graph.
+     * <p>
+     * Executing the edit against a graph whose global modification counter is
+     * {@code baseModificationCounter} brings it to the state of the graph
+     * with the global modification counter {@code modificationCounter}.
+     *
+     * @param edit the committed edit.
+     * @param baseModificationCounter the global modification counter of the
+     * graph before the edit.
+     * @param modificationCounter the global modification counter of the graph
+     * after the edit.
+     */
+    public void editCommitted(final UndoGraphEdit edit, final long baseModificationCounter, final long modificationCounter);
+
+    /**
+     * Called when an undo or redo has changed the graph.
+     * <p>
+     * Undo and redo move the modification counters of the graph backwards and
+     * forwards, so edits passed to {@link #editCommitted} before this call can
+     * no longer be ordered by their modification counters.
+     */
+    public void historyChanged();
+}
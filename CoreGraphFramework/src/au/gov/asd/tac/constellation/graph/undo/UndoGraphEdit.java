@@ -18,9 +18,11 @@ package au.gov.asd.tac.constellation.graph.undo;
 import au.gov.asd.tac.constellation.graph.GraphElementType;
 import au.gov.asd.tac.constellation.graph.GraphIndexType;
 import au.gov.asd.tac.constellation.graph.GraphWriteMethods;
+import au.gov.asd.tac.constellation.graph.monitor.GraphChangeSet;
 import au.gov.asd.tac.constellation.graph.operations.GraphOperation;
 import java.io.DataInputStream;
-import java.io.DataOutputStream;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -36,6 +38,7 @@ public class UndoGraphEdit implements GraphEdit {
     private static final boolean VERBOSE = false;
 
     private final UndoGraphEditState state;
+    private GraphChangeSet changeSet = null;
 
     public UndoGraphEdit() {
         state = new UndoGraphEditState();
@@ -45,8 +48,37 @@ public class UndoGraphEdit implements GraphEdit {
         state = new UndoGraphEditState(in);
     }
 
+    /**
+     * Starts recording the elements changed by this edit in a change set as
+     * the edit is recorded. Child edits added with {@link #addChild} are
+     * included if they also record a change set, otherwise the change set
+     * reports that everything has changed.
+     *
+     * @param changeSet the change set to record changes in, or null to stop
+     * recording changes.
+     */
+    public void setChangeSet(final GraphChangeSet changeSet) {
+        this.changeSet = changeSet;
+    }
+
+    /**
+     * Returns the change set recording the elements changed by this edit.
+     *
+     * @return the change set, or null if changes are not being recorded.
+     */
+    public GraphChangeSet getChangeSet() {
+        return changeSet;
+    }
+
     @Override
     public void addChild(final GraphEdit childEdit) {
+        if (changeSet != null) {
+            if (childEdit instanceof UndoGraphEdit undoGraphEdit && undoGraphEdit.changeSet != null) {
+                changeSet.addAll(undoGraphEdit.changeSet);
+            } else {
+                changeSet.changeEverything();
+            }
+        }
         final int childIndex = state.addObject(childEdit);
         UndoGraphEditOperation.EXECUTE_CHILD.addOperation(state, state.getCurrentAttribute(),
                 state.getCurrentId(), state.getCurrentInt(), state.getCurrentLong(), childIndex);
@@ -80,6 +112,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void addVertex(final int vertex) {
+        if (changeSet != null) {
+            changeSet.addVertex(vertex);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "addVertex({0})", vertex);
         }
@@ -89,6 +124,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void removeVertex(final int vertex) {
+        if (changeSet != null) {
+            changeSet.removeVertex(vertex);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "removeVertex({0})", vertex);
         }
@@ -98,6 +136,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void addTransaction(final int sourceVertex, final int destinationVertex, final boolean directed, final int transaction) {
+        if (changeSet != null) {
+            changeSet.addTransaction(transaction);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "addTransaction({0}, {1}, {2}, {3})", new Object[]{sourceVertex, destinationVertex, directed, transaction});
         }
@@ -112,6 +153,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void removeTransaction(final int sourceVertex, final int destinationVertex, final boolean directed, final int transaction) {
+        if (changeSet != null) {
+            changeSet.removeTransaction(transaction);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "removeTransaction({0}, {1}, {2}, {3})", new Object[]{sourceVertex, destinationVertex, directed, transaction});
         }
@@ -126,6 +170,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void setTransactionSourceVertex(final int transaction, final int oldSourceVertex, final int newSourceVertex, final boolean reverseTransaction) {
+        if (changeSet != null) {
+            changeSet.changeTransaction(transaction);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "setTransactionSourceVertex({0}, {1}, {2})", new Object[]{transaction, oldSourceVertex, newSourceVertex});
         }
@@ -138,6 +185,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void setTransactionDestinationVertex(final int transaction, final int oldDestinationVertex, final int newDestinationVertex, final boolean reverseTransaction) {
+        if (changeSet != null) {
+            changeSet.changeTransaction(transaction);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "setTransactionDestinationVertex({0}, {1}, {2})", new Object[]{transaction, oldDestinationVertex, newDestinationVertex});
         }
@@ -152,6 +202,9 @@ public class UndoGraphEdit implements GraphEdit {
     @Override
     public void addAttribute(final GraphElementType elementType, final String attributeType, final String label,
             final String description, final Object defaultValue, final String attributeMergerId, final int attribute) {
+        if (changeSet != null) {
+            changeSet.addAttribute(attribute);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "addAttribute({0}, {1}, {2}, {3}, {4}, {5})", new Object[]{elementType, attributeType, label, description, defaultValue, attribute});
         }
@@ -164,6 +217,9 @@ public class UndoGraphEdit implements GraphEdit {
     @Override
     public void removeAttribute(final GraphElementType elementType, final String attributeType, final String label,
             final String description, final Object defaultValue, final String attributeMergerId, final int attribute) {
+        if (changeSet != null) {
+            changeSet.removeAttribute(attribute);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "removeAttribute({0}, {1}, {2}, {3}, {4}, {5})", new Object[]{elementType, attributeType, label, description, defaultValue, attribute});
         }
@@ -175,6 +231,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void updateAttributeName(final int attribute, final String oldName, final String newName) {
+        if (changeSet != null) {
+            changeSet.changeAttribute(attribute);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "updateAttributeName({0}, {1}, {2})", new Object[]{attribute, oldName, newName});
         }
@@ -186,6 +245,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void updateAttributeDescription(final int attribute, final String oldDescription, final String newDescription) {
+        if (changeSet != null) {
+            changeSet.changeAttribute(attribute);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "updateAttributeDescription({0}, {1}, {2})", new Object[]{attribute, oldDescription, newDescription});
         }
@@ -197,6 +259,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void updateAttributeDefaultValue(final int attribute, final Object oldDefault, final Object newDefault) {
+        if (changeSet != null) {
+            changeSet.changeAttribute(attribute);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "updateAttributeDefaultValue({0}, {1}, {2})", new Object[]{attribute, oldDefault, newDefault});
         }
@@ -208,6 +273,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void setByteValue(final int attribute, final int id, final byte oldValue, final byte newValue) {
+        if (changeSet != null) {
+            changeSet.changeValue(attribute, id);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "setByteValue({0}, {1}, {2}, {3}", new Object[]{attribute, id, oldValue, newValue});
         }
@@ -217,6 +285,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void setShortValue(final int attribute, final int id, final short oldValue, final short newValue) {
+        if (changeSet != null) {
+            changeSet.changeValue(attribute, id);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "setShortValue({0}, {1}, {2}, {3})", new Object[]{attribute, id, oldValue, newValue});
         }
@@ -226,6 +297,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void setIntValue(final int attribute, final int id, final int oldValue, final int newValue) {
+        if (changeSet != null) {
+            changeSet.changeValue(attribute, id);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "setIntValue({0}, {1}, {2}, {3})", new Object[]{attribute, id, oldValue, newValue});
         }
@@ -235,6 +309,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void setLongValue(final int attribute, final int id, final long oldValue, final long newValue) {
+        if (changeSet != null) {
+            changeSet.changeValue(attribute, id);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "setLongValue({0}, {1}, {2}, {3})", new Object[]{attribute, id, oldValue, newValue});
         }
@@ -244,6 +321,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void setFloatValue(final int attribute, final int id, final float oldValue, final float newValue) {
+        if (changeSet != null) {
+            changeSet.changeValue(attribute, id);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "setFloatValue({0}, {1}, {2}, {3})", new Object[]{attribute, id, oldValue, newValue});
         }
@@ -253,6 +333,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void setDoubleValue(final int attribute, final int id, final double oldValue, final double newValue) {
+        if (changeSet != null) {
+            changeSet.changeValue(attribute, id);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "setDoubleValue({0}, {1}, {2}, {3})", new Object[]{attribute, id, oldValue, newValue});
         }
@@ -262,6 +345,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void setBooleanValue(final int attribute, final int id, final boolean oldValue, final boolean newValue) {
+        if (changeSet != null) {
+            changeSet.changeValue(attribute, id);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "setBooleanValue({0}, {1}, {2}, {3})", new Object[]{attribute, id, oldValue, newValue});
         }
@@ -276,6 +362,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void setCharValue(final int attribute, final int id, final char oldValue, final char newValue) {
+        if (changeSet != null) {
+            changeSet.changeValue(attribute, id);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "setCharValue({0}, {1}, {2}, {3})", new Object[]{attribute, id, oldValue, newValue});
         }
@@ -285,6 +374,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void setObjectValue(final int attribute, final int id, final Object oldValue, final Object newValue) {
+        if (changeSet != null) {
+            changeSet.changeValue(attribute, id);
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "setObjectValue({0}, {1}, {2}, {3})", new Object[]{attribute, id, oldValue, newValue});
         }
@@ -313,6 +405,9 @@ public class UndoGraphEdit implements GraphEdit {
 
     @Override
     public void executeGraphOperation(final GraphOperation operation) {
+        if (changeSet != null) {
+            changeSet.changeEverything();
+        }
         if (VERBOSE) {
             LOGGER.log(Level.INFO, "executeGraphOperation()");
         }
@@ -321,7 +416,18 @@ public class UndoGraphEdit implements GraphEdit {
                 state.getCurrentId(), state.getCurrentInt(), state.getCurrentLong(), objectIndex);
     }
 
-    public void write(final DataOutputStream out) throws Exception {
+    /**
+     * Write this edit so that it can be read back with
+     * {@link #UndoGraphEdit(DataInputStream)} and executed against a copy of
+     * the graph it was recorded on.
+     *
+     * @param out the output to write to.
+     *
+     * @throws java.io.NotSerializableException if the edit holds a value that
+     * can not be written, such as a {@link GraphOperation}.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void write(final DataOutput out) throws IOException {
         state.write(out);
     }
 }
@@ -78,7 +78,7 @@ public enum UndoGraphEditOperation {
 
         @Override
         public void execute(final UndoGraphEditState state, final GraphWriteMethods graph) {
-            graph.addVertex();
+            graph.addVertex(state.getCurrentId());
         }
 
         @Override
@@ -136,7 +136,7 @@ public enum UndoGraphEditOperation {
 
         @Override
         public void execute(final UndoGraphEditState state, final GraphWriteMethods graph) {
-            graph.addTransaction(state.getCurrentObject(), state.getCurrentInt(), true);
+            graph.addTransaction(state.getCurrentId(), state.getCurrentObject(), state.getCurrentInt(), true);
         }
 
         @Override
@@ -171,7 +171,7 @@ public enum UndoGraphEditOperation {
 
         @Override
         public void execute(final UndoGraphEditState state, final GraphWriteMethods graph) {
-            graph.addTransaction(state.getCurrentObject(), state.getCurrentInt(), false);
+            graph.addTransaction(state.getCurrentId(), state.getCurrentObject(), state.getCurrentInt(), false);
         }
 
         @Override
@@ -353,7 +353,7 @@ public enum UndoGraphEditOperation {
         @Override
         public void execute(final UndoGraphEditState state, final GraphWriteMethods graph) {
             final Object[] params = (Object[]) state.getObjectStack()[state.getCurrentObject()];
-            graph.addAttribute((GraphElementType) params[0], (String) params[1], (String) params[2], (String) params[3], params[4], (String) params[5]);
+            graph.addAttribute(state.getCurrentAttribute(), (GraphElementType) params[0], (String) params[1], (String) params[2], (String) params[3], params[4], (String) params[5]);
         }
 
         @Override
@@ -391,7 +391,7 @@ public enum UndoGraphEditOperation {
         @Override
         public void undo(final UndoGraphEditState state, final GraphWriteMethods graph) {
             final Object[] params = (Object[]) state.getObjectStack()[state.getCurrentObject()];
-            graph.addAttribute((GraphElementType) params[0], (String) params[1], (String) params[2], (String) params[3], params[4], (String) params[5]);
+            graph.addAttribute(state.getCurrentAttribute(), (GraphElementType) params[0], (String) params[1], (String) params[2], (String) params[3], params[4], (String) params[5]);
         }
 
         @Override
@@ -17,18 +17,27 @@ package au.gov.asd.tac.constellation.graph.undo;
 
 import au.gov.asd.tac.constellation.graph.GraphWriteMethods;
 import au.gov.asd.tac.constellation.graph.operations.GraphOperation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.IOException;
-import java.nio.charset.Charset;
+import java.io.InvalidClassException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
 import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
-import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
 import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+import org.openide.util.Lookup;
 
 /**
  *
@@ -38,14 +47,37 @@ public class UndoGraphEditState {
 
     private static final Logger LOGGER = Logger.getLogger(UndoGraphEditState.class.getName());
 
-    private static final Charset UTF8 = StandardCharsets.UTF_8;
-
     private static final boolean PRINT_STATS = false;
 
     private static final int REPEAT_MASK = 3;
     private static final int REPEAT_SHIFT = 5;
     private static final int OPERATION_MASK = 0x1F;
 
+    private static final byte NULL_OBJECT = 0;
+    private static final byte STRING_OBJECT = 1;
+    private static final byte INTEGER_OBJECT = 2;
+    private static final byte LONG_OBJECT = 3;
+    private static final byte FLOAT_OBJECT = 4;
+    private static final byte DOUBLE_OBJECT = 5;
+    private static final byte BOOLEAN_OBJECT = 6;
+    private static final byte BYTE_OBJECT = 7;
+    private static final byte SHORT_OBJECT = 8;
+    private static final byte CHARACTER_OBJECT = 9;
+    private static final byte INT_ARRAY_OBJECT = 10;
+    private static final byte OBJECT_ARRAY_OBJECT = 11;
+    private static final byte ENUM_OBJECT = 12;
+    private static final byte EDIT_OBJECT = 13;
+    private static final byte SERIALIZED_OBJECT = 14;
+
+    /**
+     * The classes that may be written and read as serialized objects. Edits are
+     * read back from autosave journals on disk, so only the JDK value types and
+     * Constellation's own classes are accepted; a value of any other class
+     * can't be journalled and forces a checkpoint instead.
+     */
+    private static final ObjectInputFilter SERIALIZED_CLASS_FILTER = ObjectInputFilter.Config.createFilter(
+            "maxdepth=32;java.lang.*;java.math.*;java.time.*;java.util.*;au.gov.asd.tac.constellation.**;!*");
+
     private short[] operationStack = new short[1];
     private int operationCount = 0;
 
@@ -124,31 +156,20 @@ public class UndoGraphEditState {
             longStack[i] = in.readLong();
         }
 
-        final MutableIntObjectMap<Class<?>> classMap = new IntObjectHashMap<>();
-        classMap.put(0, null);
-
         objectCount = in.readInt();
-        byte[] buffer = new byte[1024];
+        objectStack = new Object[objectCount];
         for (int i = 0; i < objectCount; i++) {
-            final int objectClassIndex = in.readInt();
-            final Class<?> objectClass;
-            if (classMap.containsKey(objectClassIndex)) {
-                objectClass = classMap.get(objectClassIndex);
-            } else {
-                final int classLength = in.readInt();
-                if (classLength > buffer.length) {
-                    buffer = Arrays.copyOf(buffer, classLength);
-                }
-                in.read(buffer, 0, classLength);
-                final String objectName = new String(buffer, 0, classLength, UTF8);
-                objectClass = Class.forName(objectName);
-            }
-            classMap.put(objectClassIndex, objectClass);
-            objectMap.put(objectClass, objectClassIndex);
+            objectStack[i] = readObject(in);
         }
+        objectMap = null;
 
-        objectStack = new Object[objectCount];
-        Arrays.setAll(objectStack, classMap::get);
+        finalAttribute = in.readInt();
+        finalId = in.readInt();
+        finalInt = in.readInt();
+        finalObject = in.readInt();
+        finalFloat = in.readInt();
+        finalLong = in.readLong();
+        finalDouble = in.readLong();
     }
 
     public byte[] getByteStack() {
@@ -496,25 +517,265 @@ public class UndoGraphEditState {
             out.writeLong(longStack[i]);
         }
 
-        final MutableObjectIntMap<Class<?>> classMap = new ObjectIntHashMap<>();
-        classMap.put(null, 0);
-
         out.writeInt(objectCount);
         for (int i = 0; i < objectCount; i++) {
-            final Object object = objectStack[i];
-            final Class<?> objectClass = object == null ? null : object.getClass();
-            if (classMap.containsKey(objectClass)) {
-                out.writeInt(classMap.get(objectClass));
-            } else {
-                out.writeInt(classMap.size());
-                if (objectClass != null) {
-                    final String className = objectClass.getCanonicalName();
-                    byte[] utf8 = className.getBytes(UTF8);
-                    out.write(utf8.length);
-                    out.write(utf8);
+            writeObject(out, objectStack[i]);
+        }
+
+        out.writeInt(finalAttribute);
+        out.writeInt(finalId);
+        out.writeInt(finalInt);
+        out.writeInt(finalObject);
+        out.writeInt(finalFloat);
+        out.writeLong(finalLong);
+        out.writeLong(finalDouble);
+    }
+
+    /**
+     * Write a value from the object stack.
+     * <p>
+     * Strings, boxed primitives, primitive arrays, object arrays, enums and
+     * nested {@link UndoGraphEdit} instances are written directly; any other
+     * value must be {@link Serializable} and of a class accepted by
+     * {@link #SERIALIZED_CLASS_FILTER}.
+     *
+     * @param out the output to write to.
+     * @param object the value to write.
+     *
+     * @throws NotSerializableException if the value can not be written.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void writeObject(final DataOutput out, final Object object) throws IOException {
+        if (object == null) {
+            out.writeByte(NULL_OBJECT);
+            return;
+        }
+
+        switch (object) {
+            case String value -> {
+                out.writeByte(STRING_OBJECT);
+                writeString(out, value);
+            }
+            case Integer value -> {
+                out.writeByte(INTEGER_OBJECT);
+                out.writeInt(value);
+            }
+            case Long value -> {
+                out.writeByte(LONG_OBJECT);
+                out.writeLong(value);
+            }
+            case Float value -> {
+                out.writeByte(FLOAT_OBJECT);
+                out.writeFloat(value);
+            }
+            case Double value -> {
+                out.writeByte(DOUBLE_OBJECT);
+                out.writeDouble(value);
+            }
+            case Boolean value -> {
+                out.writeByte(BOOLEAN_OBJECT);
+                out.writeBoolean(value);
+            }
+            case Byte value -> {
+                out.writeByte(BYTE_OBJECT);
+                out.writeByte(value);
+            }
+            case Short value -> {
+                out.writeByte(SHORT_OBJECT);
+                out.writeShort(value);
+            }
+            case Character value -> {
+                out.writeByte(CHARACTER_OBJECT);
+                out.writeChar(value);
+            }
+            case int[] value -> {
+                out.writeByte(INT_ARRAY_OBJECT);
+                out.writeInt(value.length);
+                for (final int element : value) {
+                    out.writeInt(element);
+                }
+            }
+            case Object[] value when value.getClass() == Object[].class -> {
+                out.writeByte(OBJECT_ARRAY_OBJECT);
+                out.writeInt(value.length);
+                for (final Object element : value) {
+                    writeObject(out, element);
+                }
+            }
+            case Enum<?> value -> {
+                out.writeByte(ENUM_OBJECT);
+                writeString(out, value.getDeclaringClass().getName());
+                writeString(out, value.name());
+            }
+            case UndoGraphEdit value -> {
+                out.writeByte(EDIT_OBJECT);
+                value.write(out);
+            }
+            case Serializable value -> {
+                final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                try (final ObjectOutputStream oos = new FilteredObjectOutputStream(buffer)) {
+                    oos.writeObject(value);
+                }
+                out.writeByte(SERIALIZED_OBJECT);
+                out.writeInt(buffer.size());
+                out.write(buffer.toByteArray());
+            }
+            default -> throw new NotSerializableException(object.getClass().getName());
+        }
+    }
+
+    private static Object readObject(final DataInputStream in) throws Exception {
+        final byte type = in.readByte();
+        switch (type) {
+            case NULL_OBJECT -> {
+                return null;
+            }
+            case STRING_OBJECT -> {
+                return readString(in);
+            }
+            case INTEGER_OBJECT -> {
+                return in.readInt();
+            }
+            case LONG_OBJECT -> {
+                return in.readLong();
+            }
+            case FLOAT_OBJECT -> {
+                return in.readFloat();
+            }
+            case DOUBLE_OBJECT -> {
+                return in.readDouble();
+            }
+            case BOOLEAN_OBJECT -> {
+                return in.readBoolean();
+            }
+            case BYTE_OBJECT -> {
+                return in.readByte();
+            }
+            case SHORT_OBJECT -> {
+                return in.readShort();
+            }
+            case CHARACTER_OBJECT -> {
+                return in.readChar();
+            }
+            case INT_ARRAY_OBJECT -> {
+                final int[] value = new int[in.readInt()];
+                for (int i = 0; i < value.length; i++) {
+                    value[i] = in.readInt();
+                }
+                return value;
+            }
+            case OBJECT_ARRAY_OBJECT -> {
+                final Object[] value = new Object[in.readInt()];
+                for (int i = 0; i < value.length; i++) {
+                    value[i] = readObject(in);
+                }
+                return value;
+            }
+            case ENUM_OBJECT -> {
+                final Class<?> enumClass = Class.forName(readString(in), false, getClassLoader());
+                if (!enumClass.isEnum() || !isAllowed(enumClass)) {
+                    throw new InvalidClassException(enumClass.getName(), "Not an allowed enum class");
                 }
-                classMap.put(objectClass, classMap.size());
+                final String name = readString(in);
+                return Arrays.stream(enumClass.getEnumConstants())
+                        .filter(constant -> ((Enum<?>) constant).name().equals(name))
+                        .findFirst()
+                        .orElseThrow(() -> new StreamCorruptedException(String.format("Unknown constant %s of %s", name, enumClass.getName())));
             }
+            case EDIT_OBJECT -> {
+                return new UndoGraphEdit(in);
+            }
+            case SERIALIZED_OBJECT -> {
+                final byte[] buffer = new byte[in.readInt()];
+                in.readFully(buffer);
+                try (final ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(buffer)) {
+                    @Override
+                    protected Class<?> resolveClass(final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+                        return Class.forName(desc.getName(), false, getClassLoader());
+                    }
+                }) {
+                    ois.setObjectInputFilter(SERIALIZED_CLASS_FILTER);
+                    return ois.readObject();
+                }
+            }
+            default -> throw new StreamCorruptedException("Unknown object type " + type);
         }
     }
+
+    private static boolean isAllowed(final Class<?> serialClass) {
+        return SERIALIZED_CLASS_FILTER.checkInput(new ObjectInputFilter.FilterInfo() {
+            @Override
+            public Class<?> serialClass() {
+                return serialClass;
+            }
+
+            @Override
+            public long arrayLength() {
+                return -1;
+            }
+
+            @Override
+            public long depth() {
+                return 1;
+            }
+
+            @Override
+            public long references() {
+                return 0;
+            }
+
+            @Override
+            public long streamBytes() {
+                return 0;
+            }
+        }) != ObjectInputFilter.Status.REJECTED;
+    }
+
+    /**
+     * An ObjectOutputStream that refuses to write any object that
+     * {@link #SERIALIZED_CLASS_FILTER} would refuse to read, so that such values
+     * force a checkpoint rather than producing a journal that can't be
+     * replayed.
+     */
+    private static final class FilteredObjectOutputStream extends ObjectOutputStream {
+
+        FilteredObjectOutputStream(final OutputStream out) throws IOException {
+            super(out);
+            enableReplaceObject(true);
+        }
+
+        @Override
+        protected Object replaceObject(final Object obj) throws IOException {
+            if (obj != null && !isAllowed(obj.getClass())) {
+                throw new NotSerializableException(obj.getClass().getName());
+            }
+            return obj;
+        }
+    }
+
+    /**
+     * Strings are written as length prefixed UTF-8 rather than with
+     * {@link DataOutput#writeUTF(String)}, which is limited to 64KB.
+     */
+    private static void writeString(final DataOutput out, final String value) throws IOException {
+        final byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(final DataInputStream in) throws IOException {
+        final byte[] utf8 = new byte[in.readInt()];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Classes written by name may belong to any module, so resolve them using
+     * the system class loader provided by the module system when there is
+     * one.
+     */
+    private static ClassLoader getClassLoader() {
+        final ClassLoader classLoader = Lookup.getDefault().lookup(ClassLoader.class);
+        return classLoader != null ? classLoader : UndoGraphEditState.class.getClassLoader();
+    }
 }
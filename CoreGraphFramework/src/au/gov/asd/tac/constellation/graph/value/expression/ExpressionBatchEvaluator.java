@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.graph.value.expression;
+
+import au.gov.asd.tac.constellation.graph.value.readables.BooleanReadable;
+import au.gov.asd.tac.constellation.graph.value.readables.IntReadable;
+import au.gov.asd.tac.constellation.graph.value.values.IntValue;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * Evaluates a boolean expression for a range of positions, such as the
+ * positions of the vertices in a graph, and collects the results in a bit set.
+ * <p>
+ * A compiled expression reads its variables through a single index, so it can
+ * only be evaluated on one thread. The positions are split into blocks and each
+ * block compiles its own copy of the expression against its own index, which
+ * lets the blocks be evaluated in parallel. Every block covers a whole number
+ * of 64 bit words of the bit set, so no two blocks write to the same word.
+ *
+ * @author sirius
+ */
+public final class ExpressionBatchEvaluator {
+
+    // A multiple of 64 so blocks never share a word of the bit set.
+    static final int BLOCK_SIZE = 4096;
+
+    private ExpressionBatchEvaluator() {
+        // added private constructor to hide implicit public constructor - S1118.
+    }
+
+    /**
+     * Evaluate an expression for every position in a range.
+     *
+     * @param count the number of positions.
+     * @param positionToIndex maps a position to the index the expression reads
+     * its variables from, for example the id of the element at that position.
+     * @param compiler compiles the expression against the given index. It is
+     * called once for each block of positions, possibly on different threads,
+     * and may return null if the expression can not be evaluated, in which
+     * case it is false for every position in the block.
+     * @return a bit set holding the result for each position, where bit
+     * {@code position % 64} of word {@code position / 64} is set if the
+     * expression is true for that position.
+     */
+    public static long[] evaluate(final int count, final IntUnaryOperator positionToIndex,
+            final Function<IntReadable, BooleanReadable> compiler) {
+        final long[] bits = new long[(count + Long.SIZE - 1) / Long.SIZE];
+        final int blockCount = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        final IntStream blocks = IntStream.range(0, blockCount);
+        (blockCount > 1 ? blocks.parallel() : blocks).forEach(block -> {
+            final IntValue index = new IntValue();
+            final BooleanReadable result = compiler.apply(index);
+            if (result != null) {
+                final int end = Math.min(count, (block + 1) * BLOCK_SIZE);
+                for (int position = block * BLOCK_SIZE; position < end; position++) {
+                    index.writeInt(positionToIndex.applyAsInt(position));
+                    if (result.readBoolean()) {
+                        bits[position >>> 6] |= 1L << position;
+                    }
+                }
+            }
+        });
+
+        return bits;
+    }
+
+    /**
+     * Test whether the bit for a position is set in a bit set returned by
+     * {@link #evaluate}.
+     *
+     * @param bits the bit set.
+     * @param position the position.
+     * @return true if the expression was true for the position.
+     */
+    public static boolean isSet(final long[] bits, final int position) {
+        return (bits[position >>> 6] & (1L << position)) != 0;
+    }
+}
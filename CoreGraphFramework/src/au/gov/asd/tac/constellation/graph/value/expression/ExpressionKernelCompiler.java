@@ -0,0 +1,520 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.graph.value.expression;
+
+import au.gov.asd.tac.constellation.graph.value.ArithmeticOperation;
+import au.gov.asd.tac.constellation.graph.value.ComparisonOperation;
+import au.gov.asd.tac.constellation.graph.value.StringOperation;
+import au.gov.asd.tac.constellation.graph.value.constants.StringConstant;
+import au.gov.asd.tac.constellation.graph.value.expression.ExpressionParser.Expression;
+import au.gov.asd.tac.constellation.graph.value.expression.ExpressionParser.Operator;
+import au.gov.asd.tac.constellation.graph.value.expression.ExpressionParser.OperatorExpression;
+import au.gov.asd.tac.constellation.graph.value.expression.ExpressionParser.SequenceExpression;
+import au.gov.asd.tac.constellation.graph.value.expression.ExpressionParser.StringExpression;
+import au.gov.asd.tac.constellation.graph.value.expression.ExpressionParser.VariableExpression;
+import au.gov.asd.tac.constellation.graph.value.operations.Contains;
+import au.gov.asd.tac.constellation.graph.value.operations.Difference;
+import au.gov.asd.tac.constellation.graph.value.operations.EndsWith;
+import au.gov.asd.tac.constellation.graph.value.operations.Equals;
+import au.gov.asd.tac.constellation.graph.value.operations.GreaterThan;
+import au.gov.asd.tac.constellation.graph.value.operations.GreaterThanOrEquals;
+import au.gov.asd.tac.constellation.graph.value.operations.LessThan;
+import au.gov.asd.tac.constellation.graph.value.operations.LessThanOrEquals;
+import au.gov.asd.tac.constellation.graph.value.operations.Modulus;
+import au.gov.asd.tac.constellation.graph.value.operations.NotEquals;
+import au.gov.asd.tac.constellation.graph.value.operations.Product;
+import au.gov.asd.tac.constellation.graph.value.operations.Quotient;
+import au.gov.asd.tac.constellation.graph.value.operations.StartsWith;
+import au.gov.asd.tac.constellation.graph.value.operations.Sum;
+import au.gov.asd.tac.constellation.graph.value.readables.BooleanReadable;
+import au.gov.asd.tac.constellation.graph.value.readables.DoubleReadable;
+import au.gov.asd.tac.constellation.graph.value.readables.FloatReadable;
+import au.gov.asd.tac.constellation.graph.value.readables.IntReadable;
+import au.gov.asd.tac.constellation.graph.value.readables.LongReadable;
+import au.gov.asd.tac.constellation.graph.value.readables.ObjectReadable;
+import au.gov.asd.tac.constellation.graph.value.readables.StringReadable;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles a boolean expression into a tree of type-specialised kernels.
+ * <p>
+ * The {@link ExpressionCompiler} builds its result by looking up every
+ * operator in an {@link au.gov.asd.tac.constellation.graph.value.OperatorRegistry},
+ * and the operators registered for string constants parse the constant each
+ * time they are read. This compiler resolves the types of every term once, at
+ * compile time, in the same way the registry would and fuses each operator
+ * with the primitive read of its arguments, so constants are parsed once and
+ * comparisons of literal values are folded away.
+ * <p>
+ * Only the most common operators and value types are supported. When an
+ * expression uses anything else {@link #compile} returns null, and the caller
+ * should use the {@link ExpressionCompiler} instead. Unlike the
+ * {@link ExpressionCompiler} this class never reports errors to the user.
+ *
+ * @author sirius
+ */
+public final class ExpressionKernelCompiler {
+
+    private static final Map<Operator, ComparisonOperation> COMPARISON_OPERATIONS = new EnumMap<>(Operator.class);
+    private static final Map<Operator, ArithmeticOperation> ARITHMETIC_OPERATIONS = new EnumMap<>(Operator.class);
+    private static final Map<Operator, StringOperation> STRING_OPERATIONS = new EnumMap<>(Operator.class);
+
+    static {
+        COMPARISON_OPERATIONS.put(Operator.EQUALS, Equals.COMPARISON_OPERATION);
+        COMPARISON_OPERATIONS.put(Operator.NOT_EQUALS, NotEquals.COMPARISON_OPERATION);
+        COMPARISON_OPERATIONS.put(Operator.GREATER_THAN, GreaterThan.COMPARISON_OPERATION);
+        COMPARISON_OPERATIONS.put(Operator.GREATER_THAN_OR_EQUALS, GreaterThanOrEquals.COMPARISON_OPERATION);
+        COMPARISON_OPERATIONS.put(Operator.LESS_THAN, LessThan.COMPARISON_OPERATION);
+        COMPARISON_OPERATIONS.put(Operator.LESS_THAN_OR_EQUALS, LessThanOrEquals.COMPARISON_OPERATION);
+
+        ARITHMETIC_OPERATIONS.put(Operator.ADD, Sum.ARITHMETIC_OPERATION);
+        ARITHMETIC_OPERATIONS.put(Operator.SUBTRACT, Difference.ARITHMETIC_OPERATION);
+        ARITHMETIC_OPERATIONS.put(Operator.MULTIPLY, Product.ARITHMETIC_OPERATION);
+        ARITHMETIC_OPERATIONS.put(Operator.DIVIDE, Quotient.ARITHMETIC_OPERATION);
+        ARITHMETIC_OPERATIONS.put(Operator.MODULO, Modulus.ARITHMETIC_OPERATION);
+
+        STRING_OPERATIONS.put(Operator.CONTAINS, Contains.STRING_OPERATION);
+        STRING_OPERATIONS.put(Operator.STARTS_WITH, StartsWith.STRING_OPERATION);
+        STRING_OPERATIONS.put(Operator.ENDS_WITH, EndsWith.STRING_OPERATION);
+    }
+
+    /**
+     * The type of value produced by a kernel. The numeric types are in order
+     * of increasing width.
+     */
+    private enum Kind {
+        BOOLEAN,
+        INT,
+        LONG,
+        FLOAT,
+        DOUBLE,
+        STRING,
+        OBJECT,
+        CONSTANT;
+
+        boolean isNumeric() {
+            return this == INT || this == LONG || this == FLOAT || this == DOUBLE;
+        }
+    }
+
+    /**
+     * A compiled term: a readable of the type given by its kind, or the value
+     * of a string constant.
+     */
+    private record Kernel(Kind kind, Object readable) {
+
+        String constant() {
+            return (String) readable;
+        }
+    }
+
+    private ExpressionKernelCompiler() {
+        // added private constructor to hide implicit public constructor - S1118.
+    }
+
+    /**
+     * Compile a boolean expression.
+     *
+     * @param expression the expression to compile.
+     * @param variableProvider provides the values of the variables in the
+     * expression.
+     * @param indexReadable the index of the element the variables are read
+     * from.
+     * @return a readable giving the value of the expression for the current
+     * index, or null if the expression can not be compiled by this compiler.
+     */
+    public static BooleanReadable compile(final SequenceExpression expression, final VariableProvider variableProvider,
+            final IntReadable indexReadable) {
+        if (expression == null) {
+            return null;
+        }
+        try {
+            final Kernel kernel = compileSequenceExpression(expression, variableProvider, indexReadable);
+            return kernel != null && kernel.kind() == Kind.BOOLEAN ? (BooleanReadable) kernel.readable() : null;
+        } catch (final NumberFormatException ex) {
+            // The expression compares a value with a constant that is not a
+            // number, leave it to the ExpressionCompiler to report.
+            return null;
+        }
+    }
+
+    private static Kernel compileSequenceExpression(final SequenceExpression expression, final VariableProvider variableProvider,
+            final IntReadable indexReadable) {
+        final List<Expression> children = expression.getUnmodifiableChildren();
+        switch (children.size()) {
+            case 1 -> {
+                return compileExpression(children.get(0), variableProvider, indexReadable);
+            }
+            case 2 -> {
+                final Kernel operand = compileExpression(children.get(1), variableProvider, indexReadable);
+                return operand == null ? null : compileUnary(((OperatorExpression) children.get(0)).getOperator(), operand);
+            }
+            case 3 -> {
+                final Kernel left = compileExpression(children.get(0), variableProvider, indexReadable);
+                final Kernel right = compileExpression(children.get(2), variableProvider, indexReadable);
+                return left == null || right == null ? null : compileBinary(((OperatorExpression) children.get(1)).getOperator(), left, right);
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    private static Kernel compileExpression(final Expression expression, final VariableProvider variableProvider,
+            final IntReadable indexReadable) {
+        return switch (expression) {
+            case SequenceExpression sequenceExpression ->
+                compileSequenceExpression(sequenceExpression, variableProvider, indexReadable);
+            case VariableExpression variableExpression ->
+                compileVariable(variableProvider.getVariable(variableExpression.getContent(), indexReadable));
+            case StringExpression stringExpression ->
+                new Kernel(Kind.CONSTANT, stringExpression.getContent());
+            default ->
+                null;
+        };
+    }
+
+    private static Kernel compileVariable(final Object variable) {
+        if (variable == null || variable instanceof StringConstant) {
+            return null;
+        }
+
+        // The registry would find variables that are more than one kind of
+        // readable ambiguous, so leave them to the ExpressionCompiler.
+        final Kind kind;
+        int kinds = 0;
+        if (variable instanceof BooleanReadable) {
+            kinds++;
+        }
+        if (variable instanceof DoubleReadable) {
+            kinds++;
+        }
+        if (variable instanceof StringReadable) {
+            kinds++;
+        }
+        if (variable instanceof ObjectReadable) {
+            kinds++;
+        }
+        if (kinds != 1) {
+            return null;
+        }
+
+        if (variable instanceof BooleanReadable) {
+            kind = Kind.BOOLEAN;
+        } else if (variable instanceof IntReadable) {
+            kind = Kind.INT;
+        } else if (variable instanceof LongReadable) {
+            kind = Kind.LONG;
+        } else if (variable instanceof FloatReadable) {
+            kind = Kind.FLOAT;
+        } else if (variable instanceof DoubleReadable) {
+            kind = Kind.DOUBLE;
+        } else if (variable instanceof StringReadable) {
+            kind = Kind.STRING;
+        } else {
+            kind = Kind.OBJECT;
+        }
+        return new Kernel(kind, variable);
+    }
+
+    private static Kernel compileUnary(final Operator operator, final Kernel operand) {
+        switch (operator) {
+            case NOT -> {
+                if (operand.kind() == Kind.BOOLEAN) {
+                    final BooleanReadable p1 = (BooleanReadable) operand.readable();
+                    return new Kernel(Kind.BOOLEAN, (BooleanReadable) () -> !p1.readBoolean());
+                }
+                return null;
+            }
+            case SUBTRACT -> {
+                return switch (operand.kind()) {
+                    case INT -> {
+                        final IntReadable p1 = (IntReadable) operand.readable();
+                        yield new Kernel(Kind.INT, (IntReadable) () -> -p1.readInt());
+                    }
+                    case LONG -> {
+                        final LongReadable p1 = (LongReadable) operand.readable();
+                        yield new Kernel(Kind.LONG, (LongReadable) () -> -p1.readLong());
+                    }
+                    case FLOAT -> {
+                        final FloatReadable p1 = (FloatReadable) operand.readable();
+                        yield new Kernel(Kind.FLOAT, (FloatReadable) () -> -p1.readFloat());
+                    }
+                    case DOUBLE -> {
+                        final DoubleReadable p1 = (DoubleReadable) operand.readable();
+                        yield new Kernel(Kind.DOUBLE, (DoubleReadable) () -> -p1.readDouble());
+                    }
+                    default ->
+                        null;
+                };
+            }
+            case ADD -> {
+                return operand.kind().isNumeric() ? operand : null;
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    private static Kernel compileBinary(final Operator operator, final Kernel left, final Kernel right) {
+        switch (operator) {
+            case AND, AND_AND -> {
+                if (left.kind() == Kind.BOOLEAN && right.kind() == Kind.BOOLEAN) {
+                    final BooleanReadable p1 = (BooleanReadable) left.readable();
+                    final BooleanReadable p2 = (BooleanReadable) right.readable();
+                    return new Kernel(Kind.BOOLEAN, (BooleanReadable) () -> p1.readBoolean() && p2.readBoolean());
+                }
+                return null;
+            }
+            case OR, OR_OR -> {
+                if (left.kind() == Kind.BOOLEAN && right.kind() == Kind.BOOLEAN) {
+                    final BooleanReadable p1 = (BooleanReadable) left.readable();
+                    final BooleanReadable p2 = (BooleanReadable) right.readable();
+                    return new Kernel(Kind.BOOLEAN, (BooleanReadable) () -> p1.readBoolean() || p2.readBoolean());
+                }
+                return null;
+            }
+            case EXCLUSIVE_OR -> {
+                if (left.kind() == Kind.BOOLEAN && right.kind() == Kind.BOOLEAN) {
+                    final BooleanReadable p1 = (BooleanReadable) left.readable();
+                    final BooleanReadable p2 = (BooleanReadable) right.readable();
+                    return new Kernel(Kind.BOOLEAN, (BooleanReadable) () -> p1.readBoolean() ^ p2.readBoolean());
+                }
+                return null;
+            }
+            case EQUALS, NOT_EQUALS, GREATER_THAN, GREATER_THAN_OR_EQUALS, LESS_THAN, LESS_THAN_OR_EQUALS -> {
+                return compileComparison(operator, left, right);
+            }
+            case ADD, SUBTRACT, MULTIPLY, DIVIDE, MODULO -> {
+                return compileArithmetic(operator, left, right);
+            }
+            case CONTAINS, STARTS_WITH, ENDS_WITH -> {
+                return compileStringOperation(operator, left, right);
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+
+    private static Kernel compileComparison(final Operator operator, final Kernel left, final Kernel right) {
+        final ComparisonOperation operation = COMPARISON_OPERATIONS.get(operator);
+        final Kind leftKind = left.kind();
+        final Kind rightKind = right.kind();
+
+        if (leftKind == Kind.BOOLEAN && rightKind == Kind.BOOLEAN) {
+            final BooleanReadable p1 = (BooleanReadable) left.readable();
+            final BooleanReadable p2 = (BooleanReadable) right.readable();
+            return switch (operator) {
+                case EQUALS ->
+                    new Kernel(Kind.BOOLEAN, (BooleanReadable) () -> p1.readBoolean() == p2.readBoolean());
+                case NOT_EQUALS ->
+                    new Kernel(Kind.BOOLEAN, (BooleanReadable) () -> p1.readBoolean() != p2.readBoolean());
+                default ->
+                    null;
+            };
+        }
+
+        if (operator == Operator.EQUALS && leftKind == Kind.BOOLEAN && rightKind == Kind.CONSTANT) {
+            // Equivalent to String.valueOf(p1.readBoolean()).equals(constant)
+            final BooleanReadable p1 = (BooleanReadable) left.readable();
+            final boolean ifTrue = String.valueOf(true).equals(right.constant());
+            final boolean ifFalse = String.valueOf(false).equals(right.constant());
+            return new Kernel(Kind.BOOLEAN, (BooleanReadable) () -> p1.readBoolean() ? ifTrue : ifFalse);
+        }
+
+        if (operator == Operator.EQUALS && leftKind == Kind.OBJECT && rightKind == Kind.CONSTANT) {
+            final ObjectReadable p1 = (ObjectReadable) left.readable();
+            final String p2 = right.constant();
+            return new Kernel(Kind.BOOLEAN, (BooleanReadable) () -> p1.readObject().toString().equals(p2));
+        }
+
+        if (leftKind.isNumeric() && rightKind.isNumeric()) {
+            final Kind kind = leftKind.compareTo(rightKind) >= 0 ? leftKind : rightKind;
+            return new Kernel(Kind.BOOLEAN, compareNumbers(operation, kind, left.readable(), right.readable()));
+        }
+
+        if (leftKind.isNumeric() && rightKind == Kind.CONSTANT) {
+            return new Kernel(Kind.BOOLEAN, compareNumbers(operation, leftKind, left.readable(), parseConstant(leftKind, right.constant())));
+        }
+
+        if (leftKind == Kind.CONSTANT && rightKind.isNumeric()) {
+            return new Kernel(Kind.BOOLEAN, compareNumbers(operation, rightKind, parseConstant(rightKind, left.constant()), right.readable()));
+        }
+
+        if (leftKind == Kind.STRING && rightKind == Kind.STRING) {
+            final StringReadable p1 = (StringReadable) left.readable();
+            final StringReadable p2 = (StringReadable) right.readable();
+            return new Kernel(Kind.BOOLEAN, (BooleanReadable) () -> operation.execute(p1.readString(), p2.readString()));
+        }
+
+        if (leftKind == Kind.STRING && rightKind == Kind.CONSTANT) {
+            final StringReadable p1 = (StringReadable) left.readable();
+            final String p2 = right.constant();
+            return new Kernel(Kind.BOOLEAN, (BooleanReadable) () -> operation.execute(p1.readString(), p2));
+        }
+
+        if (leftKind == Kind.CONSTANT && rightKind == Kind.STRING) {
+            final String p1 = left.constant();
+            final StringReadable p2 = (StringReadable) right.readable();
+            return new Kernel(Kind.BOOLEAN, (BooleanReadable) () -> operation.execute(p1, p2.readString()));
+        }
+
+        // Comparing two constants is ambiguous in the registry.
+        return null;
+    }
+
+    private static BooleanReadable compareNumbers(final ComparisonOperation operation, final Kind kind, final Object left, final Object right) {
+        return switch (kind) {
+            case INT -> {
+                final IntReadable p1 = (IntReadable) left;
+                final IntReadable p2 = (IntReadable) right;
+                yield () -> operation.execute(p1.readInt(), p2.readInt());
+            }
+            case LONG -> {
+                final LongReadable p1 = (LongReadable) left;
+                final LongReadable p2 = (LongReadable) right;
+                yield () -> operation.execute(p1.readLong(), p2.readLong());
+            }
+            case FLOAT -> {
+                final FloatReadable p1 = (FloatReadable) left;
+                final FloatReadable p2 = (FloatReadable) right;
+                yield () -> operation.execute(p1.readFloat(), p2.readFloat());
+            }
+            default -> {
+                final DoubleReadable p1 = (DoubleReadable) left;
+                final DoubleReadable p2 = (DoubleReadable) right;
+                yield () -> operation.execute(p1.readDouble(), p2.readDouble());
+            }
+        };
+    }
+
+    private static Kernel compileArithmetic(final Operator operator, final Kernel left, final Kernel right) {
+        final ArithmeticOperation operation = ARITHMETIC_OPERATIONS.get(operator);
+        final Kind leftKind = left.kind();
+        final Kind rightKind = right.kind();
+
+        if (leftKind.isNumeric() && rightKind.isNumeric()) {
+            final Kind kind = leftKind.compareTo(rightKind) >= 0 ? leftKind : rightKind;
+            return new Kernel(kind, combineNumbers(operation, kind, left.readable(), right.readable()));
+        }
+
+        if (leftKind.isNumeric() && rightKind == Kind.CONSTANT) {
+            return new Kernel(leftKind, combineNumbers(operation, leftKind, left.readable(), parseConstant(leftKind, right.constant())));
+        }
+
+        if (leftKind == Kind.CONSTANT && rightKind.isNumeric()) {
+            return new Kernel(rightKind, combineNumbers(operation, rightKind, parseConstant(rightKind, left.constant()), right.readable()));
+        }
+
+        if (operator == Operator.ADD) {
+            if (leftKind == Kind.CONSTANT && rightKind == Kind.CONSTANT) {
+                return new Kernel(Kind.CONSTANT, left.constant() + right.constant());
+            }
+            if ((leftKind == Kind.STRING || leftKind == Kind.CONSTANT) && (rightKind == Kind.STRING || rightKind == Kind.CONSTANT)) {
+                final StringReadable p1 = asStringReadable(left);
+                final StringReadable p2 = asStringReadable(right);
+                return new Kernel(Kind.STRING, (StringReadable) () -> p1.readString() + p2.readString());
+            }
+        }
+
+        return null;
+    }
+
+    private static Object combineNumbers(final ArithmeticOperation operation, final Kind kind, final Object left, final Object right) {
+        return switch (kind) {
+            case INT -> {
+                final IntReadable p1 = (IntReadable) left;
+                final IntReadable p2 = (IntReadable) right;
+                yield (IntReadable) () -> operation.execute(p1.readInt(), p2.readInt());
+            }
+            case LONG -> {
+                final LongReadable p1 = (LongReadable) left;
+                final LongReadable p2 = (LongReadable) right;
+                yield (LongReadable) () -> operation.execute(p1.readLong(), p2.readLong());
+            }
+            case FLOAT -> {
+                final FloatReadable p1 = (FloatReadable) left;
+                final FloatReadable p2 = (FloatReadable) right;
+                yield (FloatReadable) () -> operation.execute(p1.readFloat(), p2.readFloat());
+            }
+            default -> {
+                final DoubleReadable p1 = (DoubleReadable) left;
+                final DoubleReadable p2 = (DoubleReadable) right;
+                yield (DoubleReadable) () -> operation.execute(p1.readDouble(), p2.readDouble());
+            }
+        };
+    }
+
+    private static Kernel compileStringOperation(final Operator operator, final Kernel left, final Kernel right) {
+        final StringOperation operation = STRING_OPERATIONS.get(operator);
+        final Kind leftKind = left.kind();
+        final Kind rightKind = right.kind();
+
+        if (leftKind == Kind.CONSTANT && rightKind == Kind.CONSTANT) {
+            final boolean result = operation.execute(left.constant(), right.constant());
+            return new Kernel(Kind.BOOLEAN, (BooleanReadable) () -> result);
+        }
+
+        if (operator == Operator.CONTAINS && leftKind == Kind.OBJECT && rightKind == Kind.CONSTANT) {
+            final ObjectReadable p1 = (ObjectReadable) left.readable();
+            final String p2 = right.constant();
+            return new Kernel(Kind.BOOLEAN, (BooleanReadable) () -> p1.readObject().toString().contains(p2));
+        }
+
+        if ((leftKind == Kind.STRING || leftKind == Kind.CONSTANT) && (rightKind == Kind.STRING || rightKind == Kind.CONSTANT)) {
+            final StringReadable p1 = asStringReadable(left);
+            final StringReadable p2 = asStringReadable(right);
+            return new Kernel(Kind.BOOLEAN, (BooleanReadable) () -> operation.execute(p1.readString(), p2.readString()));
+        }
+
+        // The numeric variants of the string operators are left to the
+        // ExpressionCompiler.
+        return null;
+    }
+
+    private static StringReadable asStringReadable(final Kernel kernel) {
+        if (kernel.kind() == Kind.CONSTANT) {
+            final String constant = kernel.constant();
+            return () -> constant;
+        }
+        return (StringReadable) kernel.readable();
+    }
+
+    private static Object parseConstant(final Kind kind, final String constant) {
+        return switch (kind) {
+            case INT -> {
+                final int value = Integer.parseInt(constant);
+                yield (IntReadable) () -> value;
+            }
+            case LONG -> {
+                final long value = Long.parseLong(constant);
+                yield (LongReadable) () -> value;
+            }
+            case FLOAT -> {
+                final float value = Float.parseFloat(constant);
+                yield (FloatReadable) () -> value;
+            }
+            default -> {
+                final double value = Double.parseDouble(constant);
+                yield (DoubleReadable) () -> value;
+            }
+        };
+    }
+}
@@ -15,8 +15,13 @@
  */
 package au.gov.asd.tac.constellation.graph;
 
+import au.gov.asd.tac.constellation.graph.attribute.IntegerAttributeDescription;
 import au.gov.asd.tac.constellation.graph.attribute.StringAttributeDescription;
+import au.gov.asd.tac.constellation.graph.value.readables.IntReadable;
+import au.gov.asd.tac.constellation.graph.value.variables.IntVariable;
+import java.util.Random;
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
 import static org.testng.AssertJUnit.assertNotSame;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
@@ -104,4 +109,172 @@ public class CopyNGTest {
 
         assertNotSame(graph.getStringValue(nameAttribute, vx0), writableCopy.getStringValue(nameAttribute, vx0));
     }
+
+    /**
+     * Changes made to a graph after a snapshot is taken are not seen by the
+     * snapshot, and changes made to the snapshot are not seen by the graph.
+     */
+    @Test
+    public void testSnapshotIsolation() {
+        final StoreGraph graph = new StoreGraph();
+        final int nameAttribute = graph.addAttribute(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "name", "", "", null);
+        final int vx0 = graph.addVertex();
+        final int vx1 = graph.addVertex();
+        graph.setStringValue(nameAttribute, vx0, "zero");
+        graph.setStringValue(nameAttribute, vx1, "one");
+        final int tx0 = graph.addTransaction(vx0, vx1, true);
+
+        final StoreGraph snapshot = graph.snapshot();
+        final String before = describe(snapshot);
+        assertEquals(describe(graph), before);
+
+        graph.setStringValue(nameAttribute, vx0, "changed");
+        graph.removeTransaction(tx0);
+        final int vx2 = graph.addVertex();
+        graph.addTransaction(vx1, vx2, false);
+        graph.addAttribute(GraphElementType.VERTEX, IntegerAttributeDescription.ATTRIBUTE_NAME, "count", "", 0, null);
+        assertEquals(describe(snapshot), before);
+
+        final String after = describe(graph);
+        snapshot.setStringValue(nameAttribute, vx1, "snapshot");
+        snapshot.removeVertex(vx0);
+        assertEquals(describe(graph), after);
+        assertEquals(snapshot.getVertexCount(), 1);
+        assertEquals(snapshot.getStringValue(nameAttribute, vx1), "snapshot");
+    }
+
+    /**
+     * Values written through a write attribute object after a snapshot is
+     * taken are seen by the graph and its indices but not by the snapshot.
+     */
+    @Test
+    public void testSnapshotWriteAttributeObject() {
+        final StoreGraph graph = new StoreGraph();
+        final int valueAttribute = graph.addAttribute(GraphElementType.VERTEX, IntegerAttributeDescription.ATTRIBUTE_NAME, "value", "", 0, null);
+        graph.setAttributeIndexType(valueAttribute, GraphIndexType.UNORDERED);
+        final int vx0 = graph.addVertex();
+        final int vx1 = graph.addVertex();
+        graph.setIntValue(valueAttribute, vx0, 1);
+        graph.setIntValue(valueAttribute, vx1, 2);
+
+        final StoreGraph snapshot = graph.snapshot();
+        final String before = describe(snapshot);
+
+        final IntVariable variable = (IntVariable) graph.createWriteAttributeObject(valueAttribute, (IntReadable) () -> vx0);
+        variable.writeInt(3);
+        assertEquals(variable.readInt(), 3);
+        assertEquals(graph.getIntValue(valueAttribute, vx0), 3);
+        assertEquals(graph.getElementsWithAttributeValue(valueAttribute, 3).getCount(), 1);
+        assertEquals(graph.getElementsWithAttributeValue(valueAttribute, 1).getCount(), 0);
+
+        assertEquals(describe(snapshot), before);
+        assertEquals(snapshot.getIntValue(valueAttribute, vx0), 1);
+        assertEquals(snapshot.getElementsWithAttributeValue(valueAttribute, 1).getNextElement(), vx0);
+        assertEquals(snapshot.getElementsWithAttributeValue(valueAttribute, 3).getCount(), 0);
+    }
+
+    /**
+     * Primary key indices are shared with a snapshot and still detect
+     * duplicate keys in both graphs once either is modified.
+     */
+    @Test
+    public void testSnapshotPrimaryKeys() {
+        final StoreGraph graph = new StoreGraph();
+        final int nameAttribute = graph.addAttribute(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "name", "", "", null);
+        graph.setPrimaryKey(GraphElementType.VERTEX, nameAttribute);
+        final int vx0 = graph.addVertex();
+        graph.setStringValue(nameAttribute, vx0, "a");
+        graph.validateKey(GraphElementType.VERTEX, false);
+
+        final StoreGraph snapshot = graph.snapshot();
+
+        final int vx1 = graph.addVertex();
+        graph.setStringValue(nameAttribute, vx1, "a");
+        boolean duplicate = false;
+        try {
+            graph.validateKey(GraphElementType.VERTEX, false);
+        } catch (final DuplicateKeyException ex) {
+            duplicate = true;
+        }
+        assertEquals(duplicate, true);
+
+        // The snapshot does not hold the duplicate vertex, so a new vertex with a different key is valid
+        final int vx2 = snapshot.addVertex();
+        snapshot.setStringValue(nameAttribute, vx2, "b");
+        snapshot.validateKey(GraphElementType.VERTEX, false);
+        assertEquals(snapshot.getVertexCount(), 2);
+        assertFalse(snapshot.getStringValue(nameAttribute, vx2).equals(snapshot.getStringValue(nameAttribute, vx0)));
+    }
+
+    /**
+     * A snapshot stays equal to a full copy taken at the same time while the
+     * original graph is randomly modified.
+     */
+    @Test
+    public void testSnapshotMatchesCopyUnderRandomEdits() {
+        final Random random = new Random(42);
+        final StoreGraph graph = new StoreGraph();
+        final int valueAttribute = graph.addAttribute(GraphElementType.VERTEX, IntegerAttributeDescription.ATTRIBUTE_NAME, "value", "", 0, null);
+        for (int i = 0; i < 50; i++) {
+            graph.setIntValue(valueAttribute, graph.addVertex(), i);
+        }
+
+        for (int round = 0; round < 5; round++) {
+            final StoreGraph copy = new StoreGraph(graph);
+            final StoreGraph snapshot = graph.snapshot();
+
+            // Enough edits to force the stores to grow
+            for (int i = 0; i < 300; i++) {
+                final int vertexCount = graph.getVertexCount();
+                switch (random.nextInt(4)) {
+                    case 0 ->
+                        graph.setIntValue(valueAttribute, graph.addVertex(), random.nextInt());
+                    case 1 ->
+                        graph.setIntValue(valueAttribute, graph.getVertex(random.nextInt(vertexCount)), random.nextInt());
+                    case 2 ->
+                        graph.addTransaction(graph.getVertex(random.nextInt(vertexCount)), graph.getVertex(random.nextInt(vertexCount)), random.nextBoolean());
+                    default -> {
+                        if (graph.getTransactionCount() > 0) {
+                            graph.removeTransaction(graph.getTransaction(random.nextInt(graph.getTransactionCount())));
+                        } else if (vertexCount > 1) {
+                            graph.removeVertex(graph.getVertex(random.nextInt(vertexCount)));
+                        }
+                    }
+                }
+            }
+
+            assertEquals(describe(snapshot), describe(copy));
+        }
+    }
+
+    private static String describe(final GraphReadMethods graph) {
+        final StringBuilder out = new StringBuilder();
+        final int attributeCount = graph.getAttributeCount(GraphElementType.VERTEX);
+        for (int position = 0; position < graph.getVertexCount(); position++) {
+            final int vertex = graph.getVertex(position);
+            out.append('v').append(vertex);
+            for (int i = 0; i < attributeCount; i++) {
+                out.append(',').append(graph.getStringValue(graph.getAttribute(GraphElementType.VERTEX, i), vertex));
+            }
+            out.append(';');
+        }
+        for (int position = 0; position < graph.getTransactionCount(); position++) {
+            final int transaction = graph.getTransaction(position);
+            out.append('t').append(transaction)
+                    .append(',').append(graph.getTransactionSourceVertex(transaction))
+                    .append(',').append(graph.getTransactionDestinationVertex(transaction))
+                    .append(',').append(graph.getTransactionDirection(transaction))
+                    .append(',').append(graph.getTransactionLink(transaction))
+                    .append(';');
+        }
+        for (int position = 0; position < graph.getLinkCount(); position++) {
+            final int link = graph.getLink(position);
+            out.append('l').append(link).append(',').append(graph.getLinkTransactionCount(link)).append(';');
+        }
+        for (int position = 0; position < graph.getVertexCount(); position++) {
+            final int vertex = graph.getVertex(position);
+            out.append('n').append(vertex).append(',').append(graph.getVertexTransactionCount(vertex)).append(',').append(graph.getVertexLinkCount(vertex)).append(';');
+        }
+        return out.toString();
+    }
 }
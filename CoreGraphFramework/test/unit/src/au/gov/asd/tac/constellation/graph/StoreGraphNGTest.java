@@ -15,6 +15,7 @@
  */
 package au.gov.asd.tac.constellation.graph;
 
+import au.gov.asd.tac.constellation.graph.attribute.IntegerAttributeDescription;
 import au.gov.asd.tac.constellation.utilities.memory.MemoryManager;
 import static org.mockito.ArgumentMatchers.any;
 import org.mockito.MockedStatic;
@@ -22,6 +23,7 @@ import org.mockito.Mockito;
 import static org.mockito.Mockito.times;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 import org.testng.annotations.Test;
 
 /**
@@ -56,4 +58,32 @@ public class StoreGraphNGTest {
             assertEquals(stats.getCurrentCount(), 0);
         }
     }
+
+    @Test
+    public void testRestoreAttribute() {
+        System.out.println("testRestoreAttribute");
+
+        final StoreGraph instance = new StoreGraph();
+        final int attribute = instance.addAttribute(GraphElementType.VERTEX, IntegerAttributeDescription.ATTRIBUTE_NAME, "count", null, 0, null);
+        instance.setAttributeIndexType(attribute, GraphIndexType.UNORDERED);
+        final int vxId0 = instance.addVertex();
+        final int vxId1 = instance.addVertex();
+        instance.setIntValue(attribute, vxId0, 1);
+
+        final int[] data = (int[]) instance.copyAttribute(attribute);
+        data[vxId0] = 5;
+        data[vxId1] = 5;
+        final long counter = instance.getValueModificationCounter(attribute);
+        instance.restoreAttribute(attribute, data);
+
+        assertEquals(instance.getIntValue(attribute, vxId0), 5);
+        assertEquals(instance.getIntValue(attribute, vxId1), 5);
+        assertEquals(instance.getElementsWithAttributeValue(attribute, 5).getCount(), 2);
+        assertEquals(instance.getElementsWithAttributeValue(attribute, 1).getCount(), 0);
+        assertTrue(instance.getValueModificationCounter(attribute) > counter);
+
+        // the data belongs to the caller, so changing it must not change the graph
+        data[vxId0] = 9;
+        assertEquals(instance.getIntValue(attribute, vxId0), 5);
+    }
 }
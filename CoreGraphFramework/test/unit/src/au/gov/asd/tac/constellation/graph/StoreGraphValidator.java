@@ -786,6 +786,11 @@ public final class StoreGraphValidator implements GraphWriteMethods {
         throw new UnsupportedOperationException("Not supported yet.");
     }
 
+    @Override
+    public int addAttribute(final int attribute, final GraphElementType elementType, final String attributeName, final String label, final String description, final Object defaultValue, final String attributeMergerId) {
+        throw new UnsupportedOperationException("Not supported yet.");
+    }
+
     @Override
     public void removeAttribute(final int attribute) {
         throw new UnsupportedOperationException("Not supported yet.");
@@ -15,12 +15,15 @@
  */
 package au.gov.asd.tac.constellation.graph.attribute;
 
+import au.gov.asd.tac.constellation.graph.GraphIndex;
+import au.gov.asd.tac.constellation.graph.GraphIndexType;
 import au.gov.asd.tac.constellation.graph.GraphReadMethods;
 import au.gov.asd.tac.constellation.graph.StoreGraph;
 import au.gov.asd.tac.constellation.graph.locking.ParameterReadAccess;
 import au.gov.asd.tac.constellation.graph.locking.ParameterWriteAccess;
 import au.gov.asd.tac.constellation.graph.utilities.MultiValueStore;
 import java.time.LocalDate;
+import java.util.Arrays;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
@@ -518,4 +521,131 @@ public class StringAttributeDescriptionNGTest {
         Object savedData = new String[1];
         instance.restoreData(savedData);
     }
+
+    /**
+     * Test that a large attribute whose values repeat is dictionary encoded,
+     * so equal values share a dictionary entry that is released when the last
+     * element holding it changes.
+     */
+    @Test
+    public void testDistinctValueCount() {
+        System.out.println("distinctValueCount");
+
+        instance.setCapacity(2048);
+        for (int id = 0; id < 2048; id++) {
+            instance.setString(id, new String("type" + id % 3));
+        }
+        assertTrue(instance.isDictionaryEncoded());
+        assertEquals(instance.getDistinctValueCount(), 3);
+        assertTrue(instance.getString(0) == instance.getString(3));
+        assertTrue(instance.equals(1, 4));
+        assertFalse(instance.equals(1, 2));
+        assertEquals(instance.hashCode(2), "type2".hashCode());
+
+        for (int id = 2; id < 2048; id += 3) {
+            instance.setString(id, "type0");
+        }
+        assertEquals(instance.getDistinctValueCount(), 2);
+
+        instance.setCapacity(1);
+        assertEquals(instance.getDistinctValueCount(), 1);
+        instance.clear(0);
+        assertEquals(instance.getDistinctValueCount(), 0);
+    }
+
+    /**
+     * Test that small attributes and attributes whose values rarely repeat
+     * keep a String for each element, and that an encoded attribute falls back
+     * to Strings when its values stop repeating.
+     */
+    @Test
+    public void testDictionaryEncodingFallsBack() {
+        System.out.println("dictionaryEncodingFallsBack");
+
+        final StringAttributeDescription small = new StringAttributeDescription();
+        small.setCapacity(1000);
+        for (int id = 0; id < 1000; id++) {
+            small.setString(id, "type" + id % 3);
+        }
+        assertFalse(small.isDictionaryEncoded());
+
+        final StringAttributeDescription identifiers = new StringAttributeDescription();
+        identifiers.setCapacity(2048);
+        for (int id = 0; id < 2048; id++) {
+            identifiers.setString(id, "identifier" + id);
+        }
+        assertFalse(identifiers.isDictionaryEncoded());
+        assertEquals(identifiers.getDistinctValueCount(), 2048);
+
+        instance.setCapacity(2048);
+        for (int id = 0; id < 2048; id++) {
+            instance.setString(id, "type" + id % 3);
+        }
+        assertTrue(instance.isDictionaryEncoded());
+        for (int id = 0; id < 2048; id++) {
+            instance.setString(id, "identifier" + id);
+        }
+        assertFalse(instance.isDictionaryEncoded());
+        assertEquals(instance.getString(5), "identifier5");
+        assertTrue(instance.equals(5, 5));
+        assertFalse(instance.equals(5, 6));
+        assertEquals(instance.hashCode(5), "identifier5".hashCode());
+
+        final StringAttributeDescription restored = new StringAttributeDescription();
+        final String[] repeated = new String[2048];
+        Arrays.fill(repeated, "type");
+        restored.restoreData(repeated);
+        assertTrue(restored.isDictionaryEncoded());
+        assertEquals(restored.saveData(), repeated);
+    }
+
+    /**
+     * Test that an unordered index finds elements by value after values have
+     * been released and reused.
+     */
+    @Test
+    public void testUnorderedIndex() {
+        System.out.println("unorderedIndex");
+
+        instance.setCapacity(4);
+        final GraphIndex index = instance.createIndex(GraphIndexType.UNORDERED);
+        for (int id = 0; id < 4; id++) {
+            instance.setString(id, id < 2 ? "a" : "b");
+            index.addElement(id);
+        }
+        instance.setString(2, "c");
+        index.updateElement(2);
+        instance.setString(3, "c");
+        index.updateElement(3);
+
+        assertEquals(index.getElementsWithAttributeValue("a").getCount(), 2);
+        assertEquals(index.getElementsWithAttributeValue("b").getCount(), 0);
+        assertEquals(index.getElementsWithAttributeValue("c").getCount(), 2);
+        assertEquals(index.getElementsWithAttributeValue("missing").getCount(), 0);
+    }
+
+    /**
+     * Test that values saved for undo are restored unchanged.
+     */
+    @Test
+    public void testSaveAndRestore() {
+        System.out.println("saveAndRestore");
+
+        instance.setCapacity(2);
+        instance.setString(0, "before");
+        final MultiValueStore store = new MultiValueStore();
+        instance.save(0, store);
+        instance.setString(0, "after");
+        instance.setString(1, "other");
+
+        instance.restore(0, store);
+        assertEquals(instance.getString(0), "before");
+        assertEquals(instance.getDistinctValueCount(), 2);
+
+        final StringAttributeDescription restored = new StringAttributeDescription();
+        restored.restoreData(instance.saveData());
+        assertEquals(restored.getString(0), "before");
+        assertEquals(restored.getString(1), "other");
+        assertEquals(restored.getDistinctValueCount(), 2);
+    }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.graph.attribute;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for StringDictionary.
+ *
+ * @author sirius
+ */
+public class StringDictionaryNGTest {
+
+    /**
+     * Test that equal Strings share a code and a single instance.
+     */
+    @Test
+    public void testAdd() {
+        System.out.println("add");
+
+        final StringDictionary instance = new StringDictionary();
+        final String first = new String("value");
+        final int code = instance.add(first);
+        assertEquals(instance.add(new String("value")), code);
+        assertSame(instance.get(code), first);
+        assertEquals(instance.hash(code), "value".hashCode());
+        assertEquals(instance.getReferences(code), 2);
+        assertEquals(instance.size(), 1);
+
+        assertEquals(instance.add(null), StringDictionary.NULL_CODE);
+        assertNull(instance.get(StringDictionary.NULL_CODE));
+        assertEquals(instance.hash(StringDictionary.NULL_CODE), 0);
+        assertEquals(instance.find(null), StringDictionary.NULL_CODE);
+        assertEquals(instance.find("missing"), -1);
+    }
+
+    /**
+     * Test that a code is released and reused when its last reference is
+     * removed.
+     */
+    @Test
+    public void testRemove() {
+        System.out.println("remove");
+
+        final StringDictionary instance = new StringDictionary();
+        final int code = instance.add("a", 2);
+        instance.remove(code);
+        assertEquals(instance.find("a"), code);
+        instance.remove(code);
+        assertEquals(instance.find("a"), -1);
+        assertEquals(instance.size(), 0);
+
+        assertEquals(instance.add("b"), code);
+        assertEquals(instance.get(code), "b");
+    }
+
+    /**
+     * Test that a copy is independent of the original.
+     */
+    @Test
+    public void testCopy() {
+        System.out.println("copy");
+
+        final StringDictionary instance = new StringDictionary();
+        final int code = instance.add("a");
+        final StringDictionary copy = instance.copy();
+        copy.remove(code);
+        copy.add("b");
+        assertEquals(instance.find("a"), code);
+        assertEquals(instance.find("b"), -1);
+        assertEquals(copy.find("a"), -1);
+    }
+
+    /**
+     * Test that many additions and removals with colliding hash codes agree
+     * with a map of reference counts.
+     */
+    @Test
+    public void testAddAndRemoveMany() {
+        System.out.println("addAndRemoveMany");
+
+        final StringDictionary instance = new StringDictionary();
+        final Map<String, Integer> expected = new HashMap<>();
+        final Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            // "Aa" and "BB" have the same hash code, so these values collide.
+            final int n = random.nextInt(300);
+            final String value = (n % 2 == 0 ? "Aa" : "BB") + n / 2;
+            if (random.nextBoolean() || !expected.containsKey(value)) {
+                instance.add(value);
+                expected.merge(value, 1, Integer::sum);
+            } else {
+                instance.remove(instance.find(value));
+                expected.computeIfPresent(value, (k, count) -> count == 1 ? null : count - 1);
+            }
+        }
+
+        assertEquals(instance.size(), expected.size());
+        for (int n = 0; n < 300; n++) {
+            final String value = (n % 2 == 0 ? "Aa" : "BB") + n / 2;
+            final int code = instance.find(value);
+            if (expected.containsKey(value)) {
+                assertEquals(instance.get(code), value);
+                assertEquals(instance.getReferences(code), (int) expected.get(value));
+            } else {
+                assertEquals(code, -1, value);
+            }
+        }
+    }
+}
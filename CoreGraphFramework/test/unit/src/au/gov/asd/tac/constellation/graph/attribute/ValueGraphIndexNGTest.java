@@ -0,0 +1,226 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.graph.attribute;
+
+import au.gov.asd.tac.constellation.graph.Graph;
+import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.GraphIndexResult;
+import au.gov.asd.tac.constellation.graph.GraphIndexType;
+import au.gov.asd.tac.constellation.graph.StoreGraph;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test the hash and ordered indexes created by the string, numeric and datetime
+ * attribute descriptions.
+ *
+ * @author sirius
+ */
+public class ValueGraphIndexNGTest {
+
+    private static Set<Integer> toSet(final GraphIndexResult result) {
+        final Set<Integer> elements = new HashSet<>();
+        final int count = result.getCount();
+        for (int i = 0; i < count; i++) {
+            elements.add(result.getNextElement());
+        }
+        assertEquals(result.getNextElement(), Graph.NOT_FOUND);
+        return elements;
+    }
+
+    @Test
+    public void testSupportsIndexType() {
+        System.out.println("supportsIndexType");
+
+        final AttributeDescription[] descriptions = {
+            new StringAttributeDescription(),
+            new IntegerAttributeDescription(),
+            new LongAttributeDescription(),
+            new FloatAttributeDescription(),
+            new DoubleAttributeDescription(),
+            new DateAttributeDescription(),
+            new LocalDateTimeAttributeDescription(),
+            new ZonedDateTimeAttributeDescription()
+        };
+        for (final AttributeDescription description : descriptions) {
+            assertTrue(description.supportsIndexType(GraphIndexType.NONE));
+            assertTrue(description.supportsIndexType(GraphIndexType.UNORDERED));
+            assertTrue(description.supportsIndexType(GraphIndexType.ORDERED));
+            assertEquals(description.createIndex(GraphIndexType.NONE), AttributeDescription.NULL_GRAPH_INDEX);
+        }
+    }
+
+    @Test
+    public void testUnorderedStringIndex() {
+        System.out.println("unorderedStringIndex");
+
+        final StoreGraph graph = new StoreGraph();
+        final int attribute = graph.addAttribute(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "type", null, null, null);
+        graph.setAttributeIndexType(attribute, GraphIndexType.UNORDERED);
+
+        final int v0 = graph.addVertex();
+        final int v1 = graph.addVertex();
+        final int v2 = graph.addVertex();
+        graph.setStringValue(attribute, v0, "Person");
+        graph.setStringValue(attribute, v1, "Person");
+        graph.setStringValue(attribute, v2, "Email");
+
+        assertEquals(toSet(graph.getElementsWithAttributeValue(attribute, "Person")), Set.of(v0, v1));
+        assertEquals(toSet(graph.getElementsWithAttributeValue(attribute, "Email")), Set.of(v2));
+        assertEquals(graph.getElementsWithAttributeValue(attribute, "Unknown").getCount(), 0);
+        assertNull(graph.getElementsWithAttributeValueRange(attribute, "A", "Z"));
+
+        graph.setStringValue(attribute, v1, "Email");
+        assertEquals(toSet(graph.getElementsWithAttributeValue(attribute, "Person")), Set.of(v0));
+        assertEquals(toSet(graph.getElementsWithAttributeValue(attribute, "Email")), Set.of(v1, v2));
+
+        graph.removeVertex(v2);
+        assertEquals(toSet(graph.getElementsWithAttributeValue(attribute, "Email")), Set.of(v1));
+
+        final int v3 = graph.addVertex();
+        assertEquals(toSet(graph.getElementsWithAttributeValue(attribute, null)), Set.of(v3));
+    }
+
+    @Test
+    public void testOrderedIntegerIndex() {
+        System.out.println("orderedIntegerIndex");
+
+        final StoreGraph graph = new StoreGraph();
+        final int attribute = graph.addAttribute(GraphElementType.VERTEX, IntegerAttributeDescription.ATTRIBUTE_NAME, "count", null, 0, null);
+        for (int i = 0; i < 100; i++) {
+            final int vertex = graph.addVertex();
+            graph.setIntValue(attribute, vertex, i % 10);
+        }
+        graph.setAttributeIndexType(attribute, GraphIndexType.ORDERED);
+
+        assertEquals(graph.getElementsWithAttributeValue(attribute, 3).getCount(), 10);
+        assertEquals(graph.getElementsWithAttributeValue(attribute, "3").getCount(), 10);
+        assertEquals(graph.getElementsWithAttributeValueRange(attribute, 2, 5).getCount(), 30);
+        assertEquals(graph.getElementsWithAttributeValueRange(attribute, null, 5).getCount(), 50);
+        assertEquals(graph.getElementsWithAttributeValueRange(attribute, 8, null).getCount(), 20);
+        assertEquals(graph.getElementsWithAttributeValueRange(attribute, 5, 2).getCount(), 0);
+
+        final Set<Integer> range = toSet(graph.getElementsWithAttributeValueRange(attribute, 2, 5));
+        for (final int vertex : range) {
+            final int value = graph.getIntValue(attribute, vertex);
+            assertTrue(value >= 2 && value < 5);
+        }
+
+        graph.setIntValue(attribute, graph.getVertex(0), 100);
+        assertEquals(graph.getElementsWithAttributeValueRange(attribute, 9, null).getCount(), 11);
+    }
+
+    @Test
+    public void testOrderedIndexSurvivesCapacityExpansion() {
+        System.out.println("orderedIndexSurvivesCapacityExpansion");
+
+        final StoreGraph graph = new StoreGraph(1, 1, 1, 1, 4);
+        final int attribute = graph.addAttribute(GraphElementType.VERTEX, DoubleAttributeDescription.ATTRIBUTE_NAME, "weight", null, 0.0, null);
+        graph.setAttributeIndexType(attribute, GraphIndexType.ORDERED);
+        for (int i = 0; i < 1000; i++) {
+            final int vertex = graph.addVertex();
+            graph.setDoubleValue(attribute, vertex, i / 10.0);
+        }
+
+        assertEquals(graph.getElementsWithAttributeValueRange(attribute, 10.0, 20.0).getCount(), 100);
+        assertEquals(graph.getElementsWithAttributeValue(attribute, 50.0).getCount(), 1);
+    }
+
+    @Test
+    public void testOrderedZonedDateTimeIndex() {
+        System.out.println("orderedZonedDateTimeIndex");
+
+        final StoreGraph graph = new StoreGraph();
+        final int attribute = graph.addAttribute(GraphElementType.TRANSACTION, ZonedDateTimeAttributeDescription.ATTRIBUTE_NAME, "datetime", null, null, null);
+        graph.setAttributeIndexType(attribute, GraphIndexType.ORDERED);
+
+        final int v0 = graph.addVertex();
+        final int v1 = graph.addVertex();
+        final ZonedDateTime start = ZonedDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        for (int i = 0; i < 24; i++) {
+            final int transaction = graph.addTransaction(v0, v1, true);
+            graph.setObjectValue(attribute, transaction, start.plusHours(i));
+        }
+
+        // the same instant expressed in a different zone must match
+        assertEquals(graph.getElementsWithAttributeValue(attribute, start.withZoneSameInstant(ZoneOffset.ofHours(10))).getCount(), 1);
+        assertEquals(graph.getElementsWithAttributeValueRange(attribute, start, start.plusHours(6)).getCount(), 6);
+        assertEquals(graph.getElementsWithAttributeValue(attribute, "not a datetime").getCount(), 0);
+    }
+
+    /**
+     * Test that exact-match and range lookups on both index types return the
+     * same elements as scanning every element for matching values.
+     */
+    @Test
+    public void testIndexMatchesScan() {
+        System.out.println("indexMatchesScan");
+
+        final Random random = new Random(42);
+        for (final GraphIndexType indexType : new GraphIndexType[]{GraphIndexType.UNORDERED, GraphIndexType.ORDERED}) {
+            final StoreGraph graph = new StoreGraph();
+            final int attribute = graph.addAttribute(GraphElementType.VERTEX, LongAttributeDescription.ATTRIBUTE_NAME, "value", null, 0L, null);
+            graph.setAttributeIndexType(attribute, indexType);
+            for (int i = 0; i < 2000; i++) {
+                final int vertex = graph.addVertex();
+                graph.setLongValue(attribute, vertex, random.nextInt(50));
+            }
+            // churn the values and structure so the index has to keep up
+            for (int i = 0; i < 500; i++) {
+                final int vertex = graph.getVertex(random.nextInt(graph.getVertexCount()));
+                if (i % 5 == 0) {
+                    graph.removeVertex(vertex);
+                } else {
+                    graph.setLongValue(attribute, vertex, random.nextInt(50));
+                }
+            }
+
+            for (long value = 0; value < 50; value++) {
+                final Set<Integer> scanned = new HashSet<>();
+                for (int position = 0; position < graph.getVertexCount(); position++) {
+                    final int vertex = graph.getVertex(position);
+                    if (graph.getLongValue(attribute, vertex) == value) {
+                        scanned.add(vertex);
+                    }
+                }
+                assertEquals(toSet(graph.getElementsWithAttributeValue(attribute, value)), scanned);
+            }
+
+            if (indexType == GraphIndexType.ORDERED) {
+                for (int i = 0; i < 20; i++) {
+                    final long lower = random.nextInt(50);
+                    final long upper = lower + random.nextInt(20);
+                    final Set<Integer> scanned = new HashSet<>();
+                    for (int position = 0; position < graph.getVertexCount(); position++) {
+                        final int vertex = graph.getVertex(position);
+                        final long value = graph.getLongValue(attribute, vertex);
+                        if (value >= lower && value < upper) {
+                            scanned.add(vertex);
+                        }
+                    }
+                    assertEquals(toSet(graph.getElementsWithAttributeValueRange(attribute, lower, upper)), scanned);
+                }
+            }
+        }
+    }
+}
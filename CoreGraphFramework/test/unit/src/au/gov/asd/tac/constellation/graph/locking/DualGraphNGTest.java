@@ -15,13 +15,28 @@
  */
 package au.gov.asd.tac.constellation.graph.locking;
 
+import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.ReadableGraph;
+import au.gov.asd.tac.constellation.graph.WritableGraph;
+import au.gov.asd.tac.constellation.graph.attribute.IntegerAttributeDescription;
+import au.gov.asd.tac.constellation.graph.monitor.GraphChangeEvent;
+import au.gov.asd.tac.constellation.graph.monitor.GraphChangeListener;
+import au.gov.asd.tac.constellation.graph.monitor.GraphChangeSet;
 import au.gov.asd.tac.constellation.utilities.memory.MemoryManager;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.SwingUtilities;
+import javax.swing.undo.UndoManager;
 import static org.mockito.ArgumentMatchers.any;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import static org.mockito.Mockito.times;
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertNotNull;
 import static org.testng.AssertJUnit.assertNull;
+import static org.testng.AssertJUnit.assertTrue;
 import org.testng.annotations.Test;
 
 /**
@@ -55,4 +70,236 @@ public class DualGraphNGTest {
             assertEquals(stats.getCurrentCount(), 0);
         }
     }
+
+    @Test
+    public void testChangeSetNotRecordedByDefault() throws InterruptedException, InvocationTargetException {
+        System.out.println("testChangeSetNotRecordedByDefault");
+        final DualGraph graph = new DualGraph(null);
+        final List<GraphChangeEvent> events = listen(graph);
+
+        final WritableGraph wg = graph.getWritableGraph("Add Vertex", true);
+        try {
+            wg.addVertex();
+        } finally {
+            wg.commit();
+        }
+        SwingUtilities.invokeAndWait(() -> {
+            // Wait for the change event to be delivered
+        });
+
+        assertEquals(events.size(), 1);
+        assertNull(events.get(0).getChangeSet());
+    }
+
+    @Test
+    public void testChangeSetRecorded() throws InterruptedException, InvocationTargetException {
+        System.out.println("testChangeSetRecorded");
+        final DualGraph graph = new DualGraph(null);
+        final List<GraphChangeEvent> events = listen(graph);
+        graph.startRecordingChangeSets();
+
+        final int attribute;
+        final int vertex;
+        WritableGraph wg = graph.getWritableGraph("Add Vertex", true);
+        try {
+            attribute = wg.addAttribute(GraphElementType.VERTEX, IntegerAttributeDescription.ATTRIBUTE_NAME, "count", null, null, null);
+            vertex = wg.addVertex();
+        } finally {
+            wg.commit();
+        }
+
+        wg = graph.getWritableGraph("Set Value", true);
+        try {
+            wg.setIntValue(attribute, vertex, 5);
+        } finally {
+            wg.commit();
+        }
+        SwingUtilities.invokeAndWait(() -> {
+            // Wait for the change events to be delivered
+        });
+
+        assertEquals(events.size(), 2);
+        final GraphChangeSet first = events.get(0).getChangeSet();
+        assertNotNull(first);
+        assertTrue(first.isStructureChanged());
+        assertTrue(first.getAddedVertices().contains(vertex));
+        assertTrue(first.getAddedAttributes().contains(attribute));
+
+        final GraphChangeSet second = events.get(1).getChangeSet();
+        assertNotNull(second);
+        assertFalse(second.isStructureChanged());
+        assertTrue(second.getChangedValues(attribute).contains(vertex));
+
+        graph.stopRecordingChangeSets();
+        wg = graph.getWritableGraph("Set Value", true);
+        try {
+            wg.setIntValue(attribute, vertex, 6);
+        } finally {
+            wg.commit();
+        }
+        SwingUtilities.invokeAndWait(() -> {
+            // Wait for the change event to be delivered
+        });
+
+        assertEquals(events.size(), 3);
+        assertNull(events.get(2).getChangeSet());
+    }
+
+    @Test
+    public void testVersionedReadersKeepTheirVersion() throws InterruptedException {
+        System.out.println("testVersionedReadersKeepTheirVersion");
+        final DualGraph graph = DualGraph.create(null, true);
+        assertTrue(graph.isVersioned());
+
+        WritableGraph wg = graph.getWritableGraph("Add Vertex", true);
+        try {
+            wg.addVertex();
+        } finally {
+            wg.commit();
+        }
+
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            // The commit does not wait for the open reader
+            final Thread writer = new Thread(() -> {
+                try {
+                    final WritableGraph writable = graph.getWritableGraph("Add Vertex", true);
+                    try {
+                        writable.addVertex();
+                    } finally {
+                        writable.commit();
+                    }
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            writer.start();
+            writer.join(10000);
+            assertFalse(writer.isAlive());
+
+            assertEquals(rg.getVertexCount(), 1);
+        }
+
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            assertEquals(rg.getVertexCount(), 2);
+        }
+
+        wg = graph.getWritableGraph("Remove Vertex", true);
+        try {
+            assertEquals(wg.getVertexCount(), 2);
+            wg.removeVertex(wg.getVertex(0));
+        } finally {
+            wg.commit();
+        }
+
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            assertEquals(rg.getVertexCount(), 1);
+        }
+    }
+
+    @Test
+    public void testVersionedWriteWhileReading() throws InterruptedException {
+        System.out.println("testVersionedWriteWhileReading");
+        final DualGraph graph = DualGraph.create(null, true);
+
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            assertEquals(rg.getVertexCount(), 0);
+            boolean rejected = false;
+            try {
+                graph.getWritableGraph("Add Vertex", true);
+            } catch (final IllegalMonitorStateException ex) {
+                rejected = true;
+            }
+            assertTrue(rejected);
+        }
+
+        final WritableGraph wg = graph.getWritableGraph("Add Vertex", true);
+        try {
+            wg.addVertex();
+        } finally {
+            wg.commit();
+        }
+
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            assertEquals(rg.getVertexCount(), 1);
+        }
+    }
+
+    @Test
+    public void testVersionedRollBack() throws InterruptedException {
+        System.out.println("testVersionedRollBack");
+        final DualGraph graph = DualGraph.create(null, true);
+
+        WritableGraph wg = graph.getWritableGraph("Add Vertex", true);
+        final int attribute = wg.addAttribute(GraphElementType.VERTEX, IntegerAttributeDescription.ATTRIBUTE_NAME, "count", null, null, null);
+        final int vertex = wg.addVertex();
+        wg.setIntValue(attribute, vertex, 1);
+        wg.commit();
+
+        wg = graph.getWritableGraph("Change Value", true);
+        wg.setIntValue(attribute, vertex, 2);
+        wg.addVertex();
+        wg.rollBack();
+
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            assertEquals(rg.getVertexCount(), 1);
+            assertEquals(rg.getIntValue(attribute, vertex), 1);
+        }
+
+        wg = graph.getWritableGraph("Change Value", true);
+        try {
+            assertEquals(wg.getIntValue(attribute, vertex), 1);
+            wg.setIntValue(attribute, vertex, 3);
+        } finally {
+            wg.commit();
+        }
+
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            assertEquals(rg.getIntValue(attribute, vertex), 3);
+        }
+    }
+
+    @Test
+    public void testVersionedUndoRedo() throws InterruptedException, InvocationTargetException {
+        System.out.println("testVersionedUndoRedo");
+        final DualGraph graph = DualGraph.create(null, true);
+        final UndoManager undoManager = new UndoManager();
+        graph.setUndoManager(undoManager);
+
+        final WritableGraph wg = graph.getWritableGraph("Add Vertex", true);
+        try {
+            wg.addVertex();
+        } finally {
+            wg.commit();
+        }
+        SwingUtilities.invokeAndWait(() -> {
+            // Wait for the edit to reach the undo manager
+        });
+
+        undoManager.undo();
+        waitForVertexCount(graph, 0);
+        undoManager.redo();
+        waitForVertexCount(graph, 1);
+    }
+
+    private static void waitForVertexCount(final DualGraph graph, final int expected) throws InterruptedException {
+        // Undo and redo run on their own thread
+        for (int i = 0; i < 100; i++) {
+            try (final ReadableGraph rg = graph.getReadableGraph()) {
+                if (rg.getVertexCount() == expected) {
+                    return;
+                }
+            }
+            Thread.sleep(50);
+        }
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            assertEquals(rg.getVertexCount(), expected);
+        }
+    }
+
+    private static List<GraphChangeEvent> listen(final DualGraph graph) {
+        final List<GraphChangeEvent> events = new ArrayList<>();
+        final GraphChangeListener listener = events::add;
+        graph.addGraphChangeListener(listener);
+        return events;
+    }
 }
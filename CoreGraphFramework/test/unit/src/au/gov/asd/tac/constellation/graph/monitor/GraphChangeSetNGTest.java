@@ -0,0 +1,144 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.graph.monitor;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for {@link GraphChangeSet}.
+ *
+ * @author sirius
+ */
+public class GraphChangeSetNGTest {
+
+    /**
+     * Test that changes are recorded against the right elements.
+     */
+    @Test
+    public void testRecordChanges() {
+        System.out.println("testRecordChanges");
+        final GraphChangeSet changeSet = new GraphChangeSet();
+        assertTrue(changeSet.isEmpty());
+
+        changeSet.addVertex(3);
+        changeSet.removeTransaction(7);
+        changeSet.changeValue(2, 3);
+        changeSet.changeValue(2, 4);
+        changeSet.changeValue(2, 4);
+
+        assertFalse(changeSet.isEmpty());
+        assertFalse(changeSet.isEverythingChanged());
+        assertTrue(changeSet.isStructureChanged());
+        assertTrue(changeSet.getAddedVertices().contains(3));
+        assertTrue(changeSet.getRemovedTransactions().contains(7));
+        assertTrue(changeSet.isAttributeChanged(2));
+        assertFalse(changeSet.isAttributeChanged(1));
+        assertEquals(changeSet.getChangedValues(2).size(), 2);
+        assertTrue(changeSet.getChangedValues(1).isEmpty());
+        assertEquals(changeSet.getValueChangedAttributes().size(), 1);
+    }
+
+    /**
+     * Test that only value changes do not count as a structure change.
+     */
+    @Test
+    public void testValueChangesAreNotStructural() {
+        System.out.println("testValueChangesAreNotStructural");
+        final GraphChangeSet changeSet = new GraphChangeSet();
+        changeSet.changeValue(0, 1);
+        changeSet.changeAttribute(0);
+
+        assertFalse(changeSet.isStructureChanged());
+        assertTrue(changeSet.getChangedAttributes().contains(0));
+    }
+
+    /**
+     * Test that a change set that exceeds its capacity reports that everything
+     * has changed.
+     */
+    @Test
+    public void testCompaction() {
+        System.out.println("testCompaction");
+        final GraphChangeSet changeSet = new GraphChangeSet(3);
+        changeSet.addVertex(0);
+        changeSet.addVertex(1);
+        changeSet.changeValue(0, 1);
+        assertFalse(changeSet.isEverythingChanged());
+
+        // Recording the same change again does not use any more capacity
+        changeSet.addVertex(1);
+        assertFalse(changeSet.isEverythingChanged());
+
+        changeSet.addVertex(2);
+        assertTrue(changeSet.isEverythingChanged());
+        assertTrue(changeSet.isStructureChanged());
+        assertTrue(changeSet.isAttributeChanged(5));
+        assertTrue(changeSet.getAddedVertices().isEmpty());
+
+        changeSet.addVertex(4);
+        assertTrue(changeSet.getAddedVertices().isEmpty());
+    }
+
+    /**
+     * Test that the inverse of a change set swaps what was added and removed.
+     */
+    @Test
+    public void testInverse() {
+        System.out.println("testInverse");
+        final GraphChangeSet changeSet = new GraphChangeSet();
+        changeSet.addVertex(1);
+        changeSet.removeVertex(2);
+        changeSet.addTransaction(3);
+        changeSet.addAttribute(4);
+        changeSet.changeValue(5, 6);
+
+        final GraphChangeSet inverse = changeSet.inverse();
+        assertTrue(inverse.getRemovedVertices().contains(1));
+        assertTrue(inverse.getAddedVertices().contains(2));
+        assertTrue(inverse.getRemovedTransactions().contains(3));
+        assertTrue(inverse.getRemovedAttributes().contains(4));
+        assertTrue(inverse.getChangedValues(5).contains(6));
+
+        final GraphChangeSet everything = new GraphChangeSet();
+        everything.changeEverything();
+        assertTrue(everything.inverse().isEverythingChanged());
+    }
+
+    /**
+     * Test that change sets can be merged.
+     */
+    @Test
+    public void testAddAll() {
+        System.out.println("testAddAll");
+        final GraphChangeSet first = new GraphChangeSet();
+        first.addVertex(1);
+        final GraphChangeSet second = new GraphChangeSet();
+        second.addVertex(2);
+        second.changeValue(0, 2);
+
+        first.addAll(second);
+        assertEquals(first.getAddedVertices().size(), 2);
+        assertTrue(first.getChangedValues(0).contains(2));
+
+        final GraphChangeSet everything = new GraphChangeSet();
+        everything.changeEverything();
+        first.addAll(everything);
+        assertTrue(first.isEverythingChanged());
+    }
+}
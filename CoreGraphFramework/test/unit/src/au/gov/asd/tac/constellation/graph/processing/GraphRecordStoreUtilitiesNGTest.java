@@ -282,4 +282,38 @@ public class GraphRecordStoreUtilitiesNGTest {
         assertEquals(vx1, newGraph.getTransactionSourceVertex(tx1));
     }
 
+    @Test
+    public void addRecordStoreToGraphInBatches() {
+        final RecordStore recordStore = new GraphRecordStore();
+        for (int i = 0; i < 10; i++) {
+            recordStore.add();
+            recordStore.set(GraphRecordStoreUtilities.SOURCE + GraphRecordStoreUtilities.ID, "vx" + i);
+            recordStore.set(GraphRecordStoreUtilities.DESTINATION + GraphRecordStoreUtilities.ID, "vx" + (i + 1) % 3);
+        }
+        final StoreGraph singleGraph = new StoreGraph(schema);
+        final List<Integer> singleVertices = GraphRecordStoreUtilities.addRecordStoreToGraph(singleGraph, recordStore, false, false, null);
+
+        final StoreGraph batchGraph = new StoreGraph(schema);
+        final GraphRecordStoreUtilities.RecordStoreBatchWriter writer = new GraphRecordStoreUtilities.RecordStoreBatchWriter(batchGraph, false, false, null);
+        for (int start = 0; start < 10; start += 4) {
+            final RecordStore batch = new GraphRecordStore();
+            for (int i = start; i < Math.min(start + 4, 10); i++) {
+                batch.add();
+                batch.set(GraphRecordStoreUtilities.SOURCE + GraphRecordStoreUtilities.ID, "vx" + i);
+                batch.set(GraphRecordStoreUtilities.DESTINATION + GraphRecordStoreUtilities.ID, "vx" + (i + 1) % 3);
+            }
+            writer.add(batch);
+        }
+        final List<Integer> batchVertices = writer.finish();
+
+        assertEquals(batchVertices, singleVertices);
+        assertEquals(batchGraph.getVertexCount(), 10);
+        assertEquals(batchGraph.getVertexCount(), singleGraph.getVertexCount());
+        assertEquals(batchGraph.getTransactionCount(), singleGraph.getTransactionCount());
+        for (int position = 0; position < batchGraph.getTransactionCount(); position++) {
+            final int tx = batchGraph.getTransaction(position);
+            assertEquals(batchGraph.getTransactionSourceVertex(tx), singleGraph.getTransactionSourceVertex(singleGraph.getTransaction(position)));
+            assertEquals(batchGraph.getTransactionDestinationVertex(tx), singleGraph.getTransactionDestinationVertex(singleGraph.getTransaction(position)));
+        }
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.graph.value.expression;
+
+import au.gov.asd.tac.constellation.graph.value.readables.BooleanReadable;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import org.testng.annotations.Test;
+
+/**
+ * Test of the ExpressionBatchEvaluator class.
+ *
+ * @author sirius
+ */
+public class ExpressionBatchEvaluatorNGTest {
+
+    /**
+     * Test of evaluate method, of class ExpressionBatchEvaluator.
+     */
+    @Test
+    public void testEvaluate() {
+        System.out.println("evaluate");
+
+        final int count = ExpressionBatchEvaluator.BLOCK_SIZE * 3 + 17;
+        final Set<Object> indexes = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+        final long[] bits = ExpressionBatchEvaluator.evaluate(count, position -> position * 2, index -> {
+            indexes.add(index);
+            return () -> index.readInt() % 6 == 0;
+        });
+
+        assertEquals(bits.length, (count + 63) / 64);
+        for (int position = 0; position < count; position++) {
+            assertEquals(ExpressionBatchEvaluator.isSet(bits, position), position % 3 == 0, "position " + position);
+        }
+
+        // Each block is compiled against its own index
+        assertEquals(indexes.size(), 4);
+    }
+
+    /**
+     * Test of evaluate method, of class ExpressionBatchEvaluator, when the
+     * expression can not be compiled.
+     */
+    @Test
+    public void testEvaluateNotCompiled() {
+        System.out.println("evaluateNotCompiled");
+
+        final long[] bits = ExpressionBatchEvaluator.evaluate(100, position -> position, index -> (BooleanReadable) null);
+        for (int position = 0; position < 100; position++) {
+            assertFalse(ExpressionBatchEvaluator.isSet(bits, position));
+        }
+
+        assertEquals(ExpressionBatchEvaluator.evaluate(0, position -> position, index -> () -> true).length, 0);
+    }
+}
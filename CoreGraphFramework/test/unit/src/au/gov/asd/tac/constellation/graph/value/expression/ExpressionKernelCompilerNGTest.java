@@ -0,0 +1,180 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.graph.value.expression;
+
+import au.gov.asd.tac.constellation.graph.Graph;
+import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.StoreGraph;
+import au.gov.asd.tac.constellation.graph.attribute.BooleanAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.FloatAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.IntegerAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.LongAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.ObjectAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.StringAttributeDescription;
+import au.gov.asd.tac.constellation.graph.value.Access;
+import au.gov.asd.tac.constellation.graph.value.Operators;
+import au.gov.asd.tac.constellation.graph.value.readables.BooleanReadable;
+import au.gov.asd.tac.constellation.graph.value.values.IntValue;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test of the ExpressionKernelCompiler class.
+ *
+ * @author sirius
+ */
+public class ExpressionKernelCompilerNGTest {
+
+    private StoreGraph graph;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        ExpressionParser.hideErrorPrompts(true);
+    }
+
+    @BeforeMethod
+    public void setUpMethod() throws Exception {
+        graph = new StoreGraph();
+        final int labelAttribute = graph.addAttribute(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "Label", null, null, null);
+        final int countAttribute = graph.addAttribute(GraphElementType.VERTEX, IntegerAttributeDescription.ATTRIBUTE_NAME, "Count", null, null, null);
+        final int bigAttribute = graph.addAttribute(GraphElementType.VERTEX, LongAttributeDescription.ATTRIBUTE_NAME, "Big", null, null, null);
+        final int sizeAttribute = graph.addAttribute(GraphElementType.VERTEX, FloatAttributeDescription.ATTRIBUTE_NAME, "Size", null, null, null);
+        final int flagAttribute = graph.addAttribute(GraphElementType.VERTEX, BooleanAttributeDescription.ATTRIBUTE_NAME, "Flag", null, null, null);
+        final int typeAttribute = graph.addAttribute(GraphElementType.VERTEX, ObjectAttributeDescription.ATTRIBUTE_NAME, "Type", null, null, null);
+
+        final String[] labels = {"alpha", "beta", null, "gamma", "b"};
+        for (int i = 0; i < 20; i++) {
+            final int vertex = graph.addVertex();
+            graph.setStringValue(labelAttribute, vertex, labels[i % labels.length]);
+            graph.setIntValue(countAttribute, vertex, i % 7 - 2);
+            graph.setLongValue(bigAttribute, vertex, i * 1_000_000_000L);
+            graph.setFloatValue(sizeAttribute, vertex, i * 0.5F);
+            graph.setBooleanValue(flagAttribute, vertex, i % 3 == 0);
+            graph.setObjectValue(typeAttribute, vertex, i % 2 == 0 ? "Event" : "Word");
+        }
+    }
+
+    private VariableProvider createVariableProvider() {
+        return (name, indexReadable) -> {
+            final int attribute = graph.getAttribute(GraphElementType.VERTEX, name);
+            return attribute == Graph.NOT_FOUND ? null : graph.createReadAttributeObject(attribute, indexReadable);
+        };
+    }
+
+    private void assertMatchesInterpreter(final String query) {
+        final ExpressionParser.SequenceExpression expression = ExpressionParser.parse(query);
+        final IntValue index = new IntValue();
+        final BooleanReadable kernel = ExpressionKernelCompiler.compile(expression, createVariableProvider(), index);
+        assertNotNull(kernel, query);
+
+        final Object interpreted = ExpressionCompiler.compileSequenceExpression(expression, createVariableProvider(), index, Operators.getDefault());
+        final BooleanReadable expected = Access.getDefault().getRegistry(BooleanReadable.class).convert(interpreted);
+        for (int position = 0; position < graph.getVertexCount(); position++) {
+            index.writeInt(graph.getVertex(position));
+            assertEquals(kernel.readBoolean(), expected.readBoolean(), query + " at position " + position);
+        }
+    }
+
+    /**
+     * Test of compile method, of class ExpressionKernelCompiler, with numeric
+     * comparisons.
+     */
+    @Test
+    public void testCompileNumericComparisons() {
+        System.out.println("compileNumericComparisons");
+
+        assertMatchesInterpreter("Count > '2'");
+        assertMatchesInterpreter("Count >= '2'");
+        assertMatchesInterpreter("'1' < Count");
+        assertMatchesInterpreter("Count <= '-1'");
+        assertMatchesInterpreter("Count == '0'");
+        assertMatchesInterpreter("Count != '0'");
+        assertMatchesInterpreter("Size > '3.25'");
+        assertMatchesInterpreter("Big >= '5000000000'");
+        assertMatchesInterpreter("Size < Count");
+        assertMatchesInterpreter("Big > Count");
+        assertMatchesInterpreter("-Count > '0'");
+    }
+
+    /**
+     * Test of compile method, of class ExpressionKernelCompiler, with
+     * arithmetic.
+     */
+    @Test
+    public void testCompileArithmetic() {
+        System.out.println("compileArithmetic");
+
+        assertMatchesInterpreter("Count + '1' == '3'");
+        assertMatchesInterpreter("Count * Size > '4'");
+        assertMatchesInterpreter("Count % '2' == '1'");
+        assertMatchesInterpreter("'10' - Count < '9'");
+        assertMatchesInterpreter("Label + 'x' == 'betax'");
+    }
+
+    /**
+     * Test of compile method, of class ExpressionKernelCompiler, with strings,
+     * objects and booleans.
+     */
+    @Test
+    public void testCompileStringsAndBooleans() {
+        System.out.println("compileStringsAndBooleans");
+
+        assertMatchesInterpreter("Label == 'beta'");
+        assertMatchesInterpreter("'b' < Label");
+        assertMatchesInterpreter("Label contains 'a'");
+        assertMatchesInterpreter("Label startswith 'b'");
+        assertMatchesInterpreter("'alphabet' contains Label");
+        assertMatchesInterpreter("'abc' contains 'b'");
+        assertMatchesInterpreter("Type == 'Event'");
+        assertMatchesInterpreter("Type contains 'or'");
+        assertMatchesInterpreter("Flag == 'true'");
+        assertMatchesInterpreter("Flag == 'True'");
+        assertMatchesInterpreter("!Flag");
+        assertMatchesInterpreter("Flag != (Count > '0')");
+        assertMatchesInterpreter("Flag && Count > '0'");
+        assertMatchesInterpreter("Flag || Label == 'b'");
+        assertMatchesInterpreter("Flag ^ Type == 'Word'");
+    }
+
+    /**
+     * Test of compile method, of class ExpressionKernelCompiler, with
+     * expressions it leaves to the ExpressionCompiler.
+     */
+    @Test
+    public void testCompileUnsupported() {
+        System.out.println("compileUnsupported");
+
+        final IntValue index = new IntValue();
+
+        // numeric variants of the string operators
+        assertNull(ExpressionKernelCompiler.compile(ExpressionParser.parse("Count contains '1'"), createVariableProvider(), index));
+
+        // a constant that is not a number
+        assertNull(ExpressionKernelCompiler.compile(ExpressionParser.parse("Count > 'many'"), createVariableProvider(), index));
+
+        // unknown variables
+        assertNull(ExpressionKernelCompiler.compile(ExpressionParser.parse("Missing == 'x'"), createVariableProvider(), index));
+
+        // expressions that are not boolean
+        assertNull(ExpressionKernelCompiler.compile(ExpressionParser.parse("Count + '1'"), createVariableProvider(), index));
+
+        assertNull(ExpressionKernelCompiler.compile(null, createVariableProvider(), index));
+    }
+}
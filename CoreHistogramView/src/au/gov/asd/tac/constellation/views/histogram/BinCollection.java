@@ -15,6 +15,7 @@
  */
 package au.gov.asd.tac.constellation.views.histogram;
 
+import au.gov.asd.tac.constellation.graph.Graph;
 import au.gov.asd.tac.constellation.graph.GraphElementType;
 import au.gov.asd.tac.constellation.graph.GraphReadMethods;
 import au.gov.asd.tac.constellation.graph.GraphWriteMethods;
@@ -30,10 +31,15 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 /**
  * A BinCollection represents all the bins in a single histogram. All elements in the graph will exist in exactly one
  * bin unless they have been excluded through a filter.
+ * <p>
+ * Each distinct bin key is stored once in a dictionary, and the bin of each element is recorded as the index of its
+ * key in that dictionary. This allows selection counts to be recalculated in parallel, and allows the bins to be
+ * updated when the values of the binned attribute change by moving only the elements whose key has changed.
  *
  * @author sirius
  */
@@ -44,6 +50,21 @@ public class BinCollection {
     private int[] binElements;
     private int maxElementCount = -1;
 
+    // The distinct bin keys and the index of each key. Keys that no longer hold any elements are dropped whenever the
+    // elements are linked again, so the dictionary doesn't grow with every change to the binned attribute.
+    private final List<Bin> dictionary = new ArrayList<>();
+    private final Map<Bin, Integer> dictionaryIndices = new HashMap<>();
+
+    // The dictionary index of the bin holding each element position, or -1 if the element is not binned.
+    private int[] elementBins;
+
+    // Everything needed to calculate the key of an element again.
+    private BinCreator binCreator;
+    private String attribute;
+    private ElementSet filter;
+    private BinFormatter formatter;
+    private PluginParameters binFormatterParameters;
+
     private final BinSelector binSelector = new BinSelector();
 
     /**
@@ -103,18 +124,146 @@ public class BinCollection {
 
         binSelector.setElementType(graph, elementType);
 
-        for (final Bin bin : bins) {
-            bin.setSelectedCount(0);
+        // Reading the selection is the expensive part, so do it in parallel and count the results afterwards.
+        final boolean[] selected = new boolean[elementBins.length];
+        IntStream.range(0, elementBins.length).parallel().forEach(position -> {
+            if (elementBins[position] >= 0) {
+                selected[position] = binSelector.isSelected(graph, elementType.getElement(graph, position));
+            }
+        });
 
-            int position = bin.getFirstElement();
-            while (position >= 0) {
-                final int element = elementType.getElement(graph, position);
-                if (binSelector.isSelected(graph, element)) {
-                    bin.setSelectedCount(bin.getSelectedCount() + 1);
+        final int[] selectedCounts = new int[dictionary.size()];
+        for (int position = 0; position < elementBins.length; position++) {
+            if (selected[position]) {
+                selectedCounts[elementBins[position]]++;
+            }
+        }
+        for (int index = 0; index < selectedCounts.length; index++) {
+            dictionary.get(index).setSelectedCount(selectedCounts[index]);
+        }
+    }
+
+    /**
+     * Update the bins after the values of the binned attribute have changed. The key of each element is calculated
+     * again and looked up in the dictionary, and only the elements whose key has changed are moved to another bin.
+     * Bins that no longer hold any elements are removed and bins for new keys are added, so the bins should be sorted
+     * again afterwards.
+     *
+     * @param graph the graph holding the elements.
+     * @return true if the bins were updated, or false if the structure of the graph has changed and the BinCollection
+     * must be created again.
+     */
+    public boolean updateBins(final GraphReadMethods graph) {
+        if (binCreator == null || elementType.getElementCount(graph) != elementBins.length) {
+            return false;
+        }
+        final BinCreator.ElementKeyer keyer = binCreator.createElementKeyer(graph, elementType, attribute, formatter, binFormatterParameters);
+        if (keyer == null) {
+            return false;
+        }
+
+        binSelector.setElementType(graph, elementType);
+        final boolean selectable = graph.getAttribute(BinSelector.getSelectionElementType(elementType), "selected") != Graph.NOT_FOUND;
+
+        boolean moved = false;
+        for (int position = 0; position < elementBins.length; position++) {
+            final int element = elementType.getElement(graph, position);
+            if (filter != null && !filter.contains(graph, element)) {
+                continue;
+            }
+
+            final Bin key = keyer.setKey(graph, element);
+            Integer index = dictionaryIndices.get(key);
+            if (index == null) {
+                if (key.isOnlyNullElements()) {
+                    index = -1;
+                } else {
+                    final Bin newBin = keyer.keepKey();
+                    index = dictionary.size();
+                    dictionary.add(newBin);
+                    dictionaryIndices.put(newBin, index);
                 }
-                position = binElements[position];
             }
+
+            final int oldIndex = elementBins[position];
+            if (oldIndex != index) {
+                final boolean selected = selectable && binSelector.isSelected(graph, element);
+                if (oldIndex >= 0) {
+                    final Bin oldBin = dictionary.get(oldIndex);
+                    oldBin.setElementCount(oldBin.getElementCount() - 1);
+                    if (selected) {
+                        oldBin.setSelectedCount(oldBin.getSelectedCount() - 1);
+                    }
+                }
+                if (index >= 0) {
+                    final Bin newBin = dictionary.get(index);
+                    newBin.setElementCount(newBin.getElementCount() + 1);
+                    if (selected) {
+                        newBin.setSelectedCount(newBin.getSelectedCount() + 1);
+                    }
+                }
+                elementBins[position] = index;
+                moved = true;
+            }
+        }
+
+        if (moved) {
+            linkBinElements();
+            maxElementCount = -1;
+        }
+        return true;
+    }
+
+    /**
+     * Drop the keys that no longer hold any elements from the dictionary, then rebuild the list of elements in each
+     * bin, and the bins that hold at least one element, from the bin of each element.
+     */
+    private void linkBinElements() {
+        final int[] compactedIndices = new int[dictionary.size()];
+        final List<Bin> nonEmptyBins = new ArrayList<>();
+        for (int index = 0; index < compactedIndices.length; index++) {
+            final Bin bin = dictionary.get(index);
+            if (bin.getElementCount() > 0) {
+                compactedIndices[index] = nonEmptyBins.size();
+                nonEmptyBins.add(bin);
+            } else {
+                compactedIndices[index] = -1;
+            }
+        }
+        if (nonEmptyBins.size() < dictionary.size()) {
+            dictionary.clear();
+            dictionaryIndices.clear();
+            for (final Bin bin : nonEmptyBins) {
+                dictionaryIndices.put(bin, dictionary.size());
+                dictionary.add(bin);
+            }
+        }
+
+        for (final Bin bin : dictionary) {
+            bin.setFirstElement(-1);
         }
+        for (int position = 0; position < elementBins.length; position++) {
+            final int index = elementBins[position] >= 0 ? compactedIndices[elementBins[position]] : -1;
+            elementBins[position] = index;
+            if (index >= 0) {
+                final Bin bin = dictionary.get(index);
+                binElements[position] = bin.getFirstElement();
+                bin.setFirstElement(position);
+            } else {
+                binElements[position] = -1;
+            }
+        }
+
+        bins = dictionary.toArray(new Bin[dictionary.size()]);
+    }
+
+    /**
+     * The number of distinct keys held in the dictionary.
+     *
+     * @return the number of keys in the dictionary.
+     */
+    int getDictionarySize() {
+        return dictionary.size();
     }
 
     public void selectOnlyBins(final GraphWriteMethods graph, final int firstBin, final int lastBin) {
@@ -246,10 +395,30 @@ public class BinCollection {
 
         binCreator.createBins(graph, elementType, attribute, bins, binElements, filter, formatter, binFormatterParameters);
 
-        BinCollection binCollection = new BinCollection();
+        final BinCollection binCollection = new BinCollection();
         binCollection.elementType = elementType;
         binCollection.bins = bins.keySet().toArray(new Bin[bins.size()]);
         binCollection.binElements = binElements;
+        binCollection.binCreator = binCreator;
+        binCollection.attribute = attribute;
+        binCollection.filter = filter;
+        binCollection.formatter = formatter;
+        binCollection.binFormatterParameters = binFormatterParameters;
+
+        // Record the dictionary index of the bin holding each element.
+        final int[] elementBins = new int[elementCount];
+        Arrays.fill(elementBins, -1);
+        for (final Bin bin : binCollection.bins) {
+            final int index = binCollection.dictionary.size();
+            binCollection.dictionary.add(bin);
+            binCollection.dictionaryIndices.put(bin, index);
+            int position = bin.getFirstElement();
+            while (position >= 0) {
+                elementBins[position] = index;
+                position = binElements[position];
+            }
+        }
+        binCollection.elementBins = elementBins;
 
         return binCollection;
     }
@@ -57,32 +57,50 @@ public class BinCreator {
 
     public void createBins(GraphReadMethods graph, GraphElementType elementType, String attribute, Map<Bin, Bin> bins, int[] binElements, ElementSet filter, BinFormatter formatter, PluginParameters binFormatterParameters) {
         if (representative != null) {
-            createElementBins(graph, representative, bin.create(), elementType, attribute, bins, binElements, filter, formatter, binFormatterParameters);
+            createElementBins(graph, createElementKeyer(graph, elementType, attribute, formatter, binFormatterParameters), elementType, bins, binElements, filter);
         }
     }
 
-    private static void createElementBins(GraphReadMethods graph, ElementRepresentative representative, Bin bin, GraphElementType elementType, String binnedAttribute, Map<Bin, Bin> bins, int[] binElements, ElementSet filter, BinFormatter formatter, PluginParameters binFormatterParameters) {
+    /**
+     * Creates an ElementKeyer that calculates the bin key of elements in the
+     * same way as {@link #createBins}, so that elements can be looked up in
+     * existing bins without creating a new bin for each element.
+     *
+     * @param graph the graph holding the elements.
+     * @param elementType the type of the elements being binned.
+     * @param attribute the name of the binned attribute, or null.
+     * @param formatter the formatter applied to the bins, or null.
+     * @param binFormatterParameters the parameters of the formatter.
+     * @return an ElementKeyer, or null if this BinCreator has no
+     * representative.
+     */
+    public ElementKeyer createElementKeyer(GraphReadMethods graph, GraphElementType elementType, String attribute, BinFormatter formatter, PluginParameters binFormatterParameters) {
+        if (representative == null) {
+            return null;
+        }
+
         final GraphElementType representativeElementType = representative.getRepresentativeElementType(elementType);
-        final int binnedAttributeId = binnedAttribute == null ? Graph.NOT_FOUND : graph.getAttribute(representativeElementType, binnedAttribute);
-        bin.init(graph, binnedAttributeId);
+        final int binnedAttributeId = attribute == null ? Graph.NOT_FOUND : graph.getAttribute(representativeElementType, attribute);
+        Bin keyBin = bin.create();
+        keyBin.init(graph, binnedAttributeId);
+        if (formatter != null) {
+            keyBin = formatter.createBin(graph, binnedAttributeId, binFormatterParameters, keyBin);
+        }
+        return new ElementKeyer(representative, elementType, binnedAttributeId, keyBin);
+    }
 
+    private static void createElementBins(GraphReadMethods graph, ElementKeyer keyer, GraphElementType elementType, Map<Bin, Bin> bins, int[] binElements, ElementSet filter) {
         final int selectedAttributeId = graph.getAttribute(elementType.getSelectionElementType(), "selected");
         final int elementCount = elementType.getElementCount(graph);
 
-        if (formatter != null) {
-            bin = formatter.createBin(graph, binnedAttributeId, binFormatterParameters, bin);
-        }
-
         for (int position = 0; position < elementCount; position++) {
             final int element = elementType.getElement(graph, position);
 
             if (filter == null || filter.contains(graph, element)) {
-                bin.setKey(graph, binnedAttributeId, representative.findRepresentative(graph, elementType, element));
-                Bin currentBin = bins.get(bin);
-                if (currentBin == null && !bin.isOnlyNullElements()) {
-                    currentBin = bin;
-                    currentBin.prepareForPresentation();
-                    bin = currentBin.create();
+                final Bin key = keyer.setKey(graph, element);
+                Bin currentBin = bins.get(key);
+                if (currentBin == null && !key.isOnlyNullElements()) {
+                    currentBin = keyer.keepKey();
                     bins.put(currentBin, currentBin);
                 }
                 if (currentBin != null) {
@@ -96,4 +114,49 @@ public class BinCreator {
             }
         }
     }
+
+    /**
+     * Calculates the bin key of elements using a single reusable bin. The bin
+     * returned by {@link #setKey} is only valid until the next call, unless it
+     * is kept with {@link #keepKey}.
+     */
+    public static class ElementKeyer {
+
+        private final ElementRepresentative representative;
+        private final GraphElementType elementType;
+        private final int binnedAttributeId;
+        private Bin keyBin;
+
+        private ElementKeyer(final ElementRepresentative representative, final GraphElementType elementType, final int binnedAttributeId, final Bin keyBin) {
+            this.representative = representative;
+            this.elementType = elementType;
+            this.binnedAttributeId = binnedAttributeId;
+            this.keyBin = keyBin;
+        }
+
+        /**
+         * Sets the key of the reusable bin to the key of the specified element.
+         *
+         * @param graph the graph holding the element.
+         * @param element the id of the element.
+         * @return the reusable bin holding the key of the element.
+         */
+        public Bin setKey(final GraphReadMethods graph, final int element) {
+            keyBin.setKey(graph, binnedAttributeId, representative.findRepresentative(graph, elementType, element));
+            return keyBin;
+        }
+
+        /**
+         * Keeps the bin holding the current key as a new bin, ready for
+         * presentation, and creates a new reusable bin.
+         *
+         * @return the bin holding the current key.
+         */
+        public Bin keepKey() {
+            final Bin keptBin = keyBin;
+            keptBin.prepareForPresentation();
+            keyBin = keptBin.create();
+            return keptBin;
+        }
+    }
 }
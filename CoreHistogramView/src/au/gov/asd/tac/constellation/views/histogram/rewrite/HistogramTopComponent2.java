@@ -246,9 +246,14 @@ public final class HistogramTopComponent2 extends JavaFxTopComponent<HistogramPa
             if (binnedAttribute != Graph.NOT_FOUND) {
                 long oldBinnedModificationCount = currentBinnedModificationCount;
                 currentBinnedModificationCount = rg.getValueModificationCounter(binnedAttribute);
-                if (currentBinnedModificationCount != oldBinnedModificationCount) {
-                    reset();
-                    return;
+                if (currentBinnedModificationCount != oldBinnedModificationCount && currentBinCollection != null) {
+                    // Only the elements whose values changed need to move, so avoid creating the bins again.
+                    if (!currentBinCollection.updateBins(rg)) {
+                        reset(rg);
+                        return;
+                    }
+                    currentBinCollection.sort(currentHistogramState.getBinComparator());
+                    binCollectionModified = true;
                 }
             }
 
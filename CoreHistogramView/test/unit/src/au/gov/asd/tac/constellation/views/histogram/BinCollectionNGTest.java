@@ -15,10 +15,20 @@
  */
 package au.gov.asd.tac.constellation.views.histogram;
 
+import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.StoreGraph;
+import au.gov.asd.tac.constellation.graph.attribute.BooleanAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.IntegerAttributeDescription;
+import au.gov.asd.tac.constellation.views.histogram.bins.IntBin;
+import au.gov.asd.tac.constellation.views.histogram.representatives.IdentityRepresentative;
+import java.util.Map;
+import java.util.TreeMap;
 import org.mockito.Mockito;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
@@ -94,4 +104,138 @@ public class BinCollectionNGTest {
         // Check that no bins are selected
         assertEquals(expResult2.length, result2.length);
     }
+
+    /**
+     * Create a graph with ten vertices whose "count" is their position modulo
+     * three, with the first four vertices selected.
+     */
+    private StoreGraph createGraph() {
+        final StoreGraph graph = new StoreGraph();
+        final int selectedAttribute = graph.addAttribute(GraphElementType.VERTEX, BooleanAttributeDescription.ATTRIBUTE_NAME, "selected", null, false, null);
+        final int countAttribute = graph.addAttribute(GraphElementType.VERTEX, IntegerAttributeDescription.ATTRIBUTE_NAME, "count", null, 0, null);
+        for (int i = 0; i < 10; i++) {
+            final int vertex = graph.addVertex();
+            graph.setIntValue(countAttribute, vertex, i % 3);
+            graph.setBooleanValue(selectedAttribute, vertex, i < 4);
+        }
+        return graph;
+    }
+
+    private BinCollection createBinCollection(final StoreGraph graph) {
+        final BinCreator binCreator = new BinCreator(true, null, new IdentityRepresentative(), new IntBin());
+        return BinCollection.createBinCollection(graph, GraphElementType.VERTEX, "count", binCreator, null, null, null);
+    }
+
+    /**
+     * The selected and element counts of each bin, keyed by bin label.
+     */
+    private Map<String, String> getCounts(final BinCollection binCollection) {
+        final Map<String, String> counts = new TreeMap<>();
+        for (final Bin bin : binCollection.getBins()) {
+            counts.put(bin.getLabel(), bin.getSelectedCount() + "/" + bin.getElementCount());
+        }
+        return counts;
+    }
+
+    /**
+     * Test of updateSelection method, of class BinCollection.
+     */
+    @Test
+    public void testUpdateSelection() {
+        System.out.println("updateSelection");
+
+        final StoreGraph graph = createGraph();
+        final BinCollection instance = createBinCollection(graph);
+        assertEquals(getCounts(instance), Map.of("0", "2/4", "1", "1/3", "2", "1/3"));
+
+        final int selectedAttribute = graph.getAttribute(GraphElementType.VERTEX, "selected");
+        for (int position = 0; position < graph.getVertexCount(); position++) {
+            graph.setBooleanValue(selectedAttribute, graph.getVertex(position), position % 3 != 1);
+        }
+        instance.updateSelection(graph);
+        assertEquals(getCounts(instance), Map.of("0", "4/4", "1", "0/3", "2", "3/3"));
+    }
+
+    /**
+     * Test of updateBins method, of class BinCollection.
+     */
+    @Test
+    public void testUpdateBins() {
+        System.out.println("updateBins");
+
+        final StoreGraph graph = createGraph();
+        final BinCollection instance = createBinCollection(graph);
+        final int countAttribute = graph.getAttribute(GraphElementType.VERTEX, "count");
+
+        // Move every vertex out of bin 2, and move a selected vertex into a new bin.
+        for (int position = 0; position < graph.getVertexCount(); position++) {
+            final int vertex = graph.getVertex(position);
+            if (graph.getIntValue(countAttribute, vertex) == 2) {
+                graph.setIntValue(countAttribute, vertex, 1);
+            }
+        }
+        graph.setIntValue(countAttribute, graph.getVertex(0), 7);
+
+        assertTrue(instance.updateBins(graph));
+        assertEquals(getCounts(instance), Map.of("0", "1/3", "1", "2/6", "7", "1/1"));
+        assertEquals(instance.getMaxElementCount(), 6);
+
+        // The bins should match those created from scratch.
+        assertEquals(getCounts(instance), getCounts(createBinCollection(graph)));
+
+        // The list of elements in each bin should have been updated.
+        for (final Bin bin : instance.getBins()) {
+            final int[] binElements = instance.getBinElements();
+            int elementCount = 0;
+            for (int position = bin.getFirstElement(); position >= 0; position = binElements[position]) {
+                assertEquals(String.valueOf(graph.getIntValue(countAttribute, graph.getVertex(position))), bin.getLabel());
+                elementCount++;
+            }
+            assertEquals(elementCount, bin.getElementCount());
+        }
+
+        // A key that was emptied should be dropped, and added again when it is seen again.
+        assertEquals(instance.getDictionarySize(), 3);
+        graph.setIntValue(countAttribute, graph.getVertex(1), 2);
+        assertTrue(instance.updateBins(graph));
+        assertEquals(getCounts(instance), Map.of("0", "1/3", "1", "1/5", "2", "1/1", "7", "1/1"));
+        assertEquals(instance.getDictionarySize(), 4);
+    }
+
+    /**
+     * Test that the dictionary doesn't keep the keys of every value the binned
+     * attribute has held.
+     */
+    @Test
+    public void testUpdateBinsDropsEmptyKeys() {
+        System.out.println("updateBinsDropsEmptyKeys");
+
+        final StoreGraph graph = createGraph();
+        final BinCollection instance = createBinCollection(graph);
+        final int countAttribute = graph.getAttribute(GraphElementType.VERTEX, "count");
+        final int vertex = graph.getVertex(0);
+
+        for (int value = 100; value < 200; value++) {
+            graph.setIntValue(countAttribute, vertex, value);
+            assertTrue(instance.updateBins(graph));
+        }
+        assertEquals(instance.getDictionarySize(), 4);
+        assertEquals(getCounts(instance), getCounts(createBinCollection(graph)));
+
+        instance.updateSelection(graph);
+        assertEquals(getCounts(instance), getCounts(createBinCollection(graph)));
+    }
+
+    /**
+     * Test that updateBins fails when elements have been added.
+     */
+    @Test
+    public void testUpdateBinsStructureChanged() {
+        System.out.println("updateBinsStructureChanged");
+
+        final StoreGraph graph = createGraph();
+        final BinCollection instance = createBinCollection(graph);
+        graph.addVertex();
+        assertFalse(instance.updateBins(graph));
+    }
 }
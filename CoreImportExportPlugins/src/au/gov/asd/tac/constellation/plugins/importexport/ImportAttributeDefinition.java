@@ -17,7 +17,13 @@ package au.gov.asd.tac.constellation.plugins.importexport;
 
 import au.gov.asd.tac.constellation.graph.Attribute;
 import au.gov.asd.tac.constellation.graph.GraphWriteMethods;
+import au.gov.asd.tac.constellation.graph.attribute.BooleanAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.DoubleAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.FloatAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.IntegerAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.LongAttributeDescription;
 import au.gov.asd.tac.constellation.plugins.importexport.translator.AttributeTranslator;
+import au.gov.asd.tac.constellation.plugins.importexport.translator.DefaultAttributeTranslator;
 import au.gov.asd.tac.constellation.plugins.parameters.PluginParameters;
 
 /**
@@ -38,6 +44,7 @@ public class ImportAttributeDefinition {
 
     private static int attributeNotDefined = -93459;
     private static int rowIDColumnIndex = -1;
+    private static final String[] NO_VALUES = new String[0];
 
     /**
      * Immutable attributes are defined in {@code ImportController} as mockup
@@ -152,6 +159,70 @@ public class ImportAttributeDefinition {
         }
     }
 
+    /**
+     * Set the value of the attribute from a row of typed values, such as a row
+     * read from a database.
+     * <p>
+     * If the value does not need to be translated and the attribute stores
+     * numbers or booleans, the value is stored in its own type rather than
+     * being converted to a string and parsed again. All other values are set
+     * from {@code strings} in the same way as
+     * {@link #setValue(GraphWriteMethods, int, String[], int)}.
+     *
+     * @param graph the graph to set the value on.
+     * @param elementId the id of the element to set the value for.
+     * @param values the values of the row, which may be null.
+     * @param strings the values of the row as text, in the same order as
+     * {@code values}.
+     * @param rowIndex the index of the row.
+     */
+    public void setValue(final GraphWriteMethods graph, final int elementId, final Object[] values, final String[] strings, final int rowIndex) {
+        if (columnIndex >= 0 && columnIndex < values.length && translator instanceof DefaultAttributeTranslator
+                && setTypedValue(graph, getOverriddenAttributeId(), elementId, values[columnIndex])) {
+            return;
+        }
+        setValue(graph, elementId, strings, rowIndex);
+    }
+
+    private static boolean setTypedValue(final GraphWriteMethods graph, final int attributeId, final int elementId, final Object value) {
+        switch (graph.getAttributeType(attributeId)) {
+            case IntegerAttributeDescription.ATTRIBUTE_NAME -> {
+                if (value instanceof Integer i) {
+                    graph.setIntValue(attributeId, elementId, i);
+                    return true;
+                }
+            }
+            case LongAttributeDescription.ATTRIBUTE_NAME -> {
+                if (value instanceof Integer || value instanceof Long) {
+                    graph.setLongValue(attributeId, elementId, ((Number) value).longValue());
+                    return true;
+                }
+            }
+            case FloatAttributeDescription.ATTRIBUTE_NAME -> {
+                if (value instanceof Integer || value instanceof Double) {
+                    graph.setFloatValue(attributeId, elementId, ((Number) value).floatValue());
+                    return true;
+                }
+            }
+            case DoubleAttributeDescription.ATTRIBUTE_NAME -> {
+                if (value instanceof Number n) {
+                    graph.setDoubleValue(attributeId, elementId, n.doubleValue());
+                    return true;
+                }
+            }
+            case BooleanAttributeDescription.ATTRIBUTE_NAME -> {
+                if (value instanceof Boolean b) {
+                    graph.setBooleanValue(attributeId, elementId, b);
+                    return true;
+                }
+            }
+            default -> {
+                // values of other attribute types are always set from strings
+            }
+        }
+        return false;
+    }
+
     @Override
     public String toString() {
         return String.format("[IAD column %s %s (column %d); attr %s; translator %s]", attribute.getElementType(), columnLabel, columnIndex, attribute.getName(), translator.getLabel());
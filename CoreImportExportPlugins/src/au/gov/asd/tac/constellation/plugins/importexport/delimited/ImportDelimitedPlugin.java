@@ -39,6 +39,8 @@ import au.gov.asd.tac.constellation.plugins.importexport.ImportDefinition;
 import au.gov.asd.tac.constellation.plugins.importexport.RowFilter;
 import au.gov.asd.tac.constellation.plugins.importexport.delimited.parser.ImportFileParser;
 import au.gov.asd.tac.constellation.plugins.importexport.delimited.parser.InputSource;
+import au.gov.asd.tac.constellation.plugins.importexport.delimited.parser.RowBatchReader;
+import au.gov.asd.tac.constellation.plugins.importexport.delimited.parser.RowBatchReader.RowBatch;
 import au.gov.asd.tac.constellation.plugins.logging.ConstellationLoggerHelper;
 import au.gov.asd.tac.constellation.plugins.parameters.PluginParameter;
 import au.gov.asd.tac.constellation.plugins.parameters.PluginParameters;
@@ -55,6 +57,7 @@ import au.gov.asd.tac.constellation.utilities.icon.UserInterfaceIconProvider;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.DateTimeException;
 import java.util.ArrayList;
 import java.util.List;
@@ -152,11 +155,13 @@ public class ImportDelimitedPlugin extends SimpleEditPlugin {
      * @param invalidFilenames List of files that couldn't be opened/parsed. We
      * try to limit this possibility by pre-screening files during the initial
      * file selection
+     * @param partialFilenames List of files that could only be parsed up to
+     * some row, and whose earlier rows were imported
      * @param emptyRunConfigs List of run config names that were found to not
      * have vertex of transaction mappings defined
      */
     private void displaySummaryAlert(final int importedObjects, final int importedRows, final int skippedRows, final List<String> validFilenames,
-            final List<String> emptyFilenames, final List<String> invalidFilenames,
+            final List<String> emptyFilenames, final List<String> invalidFilenames, final List<String> partialFilenames,
             final List<String> emptyRunConfigs) {
         Platform.runLater(() -> {
             final StringBuilder sbMessage = new StringBuilder();
@@ -207,6 +212,17 @@ public class ImportDelimitedPlugin extends SimpleEditPlugin {
                 }
                 sbMessage.append(".");
             }
+            if (!partialFilenames.isEmpty()) {
+                // files that failed part way through were found.
+                sbMessage.append(" Partially imported files: ");
+                for (int i = 0; i < partialFilenames.size(); i++) {
+                    if (i > 0) {
+                        sbMessage.append(", ");
+                    }
+                    sbMessage.append(partialFilenames.get(i));
+                }
+                sbMessage.append(".");
+            }
             if (!emptyRunConfigs.isEmpty()) {
                 // invalid run configs were found.
                 sbMessage.append(" Empty Run configs: ");
@@ -239,6 +255,7 @@ public class ImportDelimitedPlugin extends SimpleEditPlugin {
         final List<String> validFiles = new ArrayList<>();
         final List<String> emptyFiles = new ArrayList<>();
         final List<String> invalidFiles = new ArrayList<>();
+        final List<String> partialFiles = new ArrayList<>();
         final List<String> emptyRunConfigs = new ArrayList<>();
         MutableObjectIntMap<String> results;
         int totalRows = 0;
@@ -257,13 +274,72 @@ public class ImportDelimitedPlugin extends SimpleEditPlugin {
 
         for (final File file : files) {
             interaction.setProgress(0, 0, "Reading File: " + file.getName(), true);
-            List<String[]> data = null;
+            int rowCount = 0;
             int importedRowsPerFile = 0;
             int skippedRowsPerFile = 0;
+            boolean validFile = true;
+            final String fileName = file.getName();
+
+            // rows are parsed in batches on a background thread while the
+            // previous batch is written to the graph, so only a few batches
+            // of the file are held in memory at a time
+            try (final RowBatchReader reader = new RowBatchReader(parser, new InputSource(file), parserParameters, ImportFileParser.DEFAULT_BATCH_SIZE)) {
+                RowBatch batch = reader.next();
+                while (batch != null) {
+                    final String batchRows = String.format(" (rows %d to %d)", batch.getFirstRowIndex() + 1, batch.getFirstRowIndex() + batch.getRows().size());
+                    rowCount += batch.getRows().size();
+
+                    for (int definitionIndex = 0; definitionIndex < definitions.size(); definitionIndex++) {
+                        final ImportDefinition definition = definitions.get(definitionIndex);
+
+                        if (definition.getDefinitions(AttributeType.SOURCE_VERTEX).isEmpty()) {
+                            // No source vertex definitions are set, the only option left is destination vertexes being mapped.
+                            // Process destination vertexes if defintions are defined, otherwise there is nothing to do.
+                            if (!definition.getDefinitions(AttributeType.DESTINATION_VERTEX).isEmpty()) {
+                                interaction.setProgress(definitionIndex, definitions.size(), "Importing Vertices: " + fileName + batchRows, true);
+                                results = processDestinationVertices(definition, graph, batch, initialiseWithSchema, skipInvalidRows);
+                                importedRowsPerFile += results.get(IMPORTED_ROWS);
+                                skippedRowsPerFile += results.get(SKIPPED_ROWS);
+                            }
+                        } else if (definition.getDefinitions(AttributeType.DESTINATION_VERTEX).isEmpty()) {
+                            // Source defintions exist, but no destination definitions exist. Process the source definitions.
+                            interaction.setProgress(definitionIndex, definitions.size(), "Importing Vertices: " + fileName + batchRows, true);
+                            results = processSourceVertices(definition, graph, batch, initialiseWithSchema, skipInvalidRows);
+                            importedRowsPerFile += results.get(IMPORTED_ROWS);
+                            skippedRowsPerFile += results.get(SKIPPED_ROWS);
+                        } else {
+                            // Both source and destination defintions exist, process them.
+                            interaction.setProgress(definitionIndex, definitions.size(), "Importing Transactions: " + fileName + batchRows, true);
+                            results = processTransactions(definition, graph, batch, initialiseWithSchema, skipInvalidRows);
+                            importedRowsPerFile += results.get(IMPORTED_ROWS);
+                            skippedRowsPerFile += results.get(SKIPPED_ROWS);
+                        }
+                    }
 
-            try {
-                data = parser.parse(new InputSource(file), parserParameters);
-                dataSize = filesIncludeHeaders ? data.size() - 1 : data.size();
+                    batch = reader.next();
+                }
+            } catch (final FileNotFoundException ex) {
+                final String errorMsg = file.getPath() + " could not be found. Ignoring file during import.";
+                LOGGER.log(Level.INFO, errorMsg);
+                invalidFiles.add(file.getName());
+                validFile = false;
+            } catch (final IOException | UncheckedIOException ex) {
+                if (rowCount == 0) {
+                    final String errorMsg = file.getPath() + " could not be parsed. Removing file during import.";
+                    LOGGER.log(Level.INFO, errorMsg);
+                    invalidFiles.add(file.getName());
+                } else {
+                    // earlier batches of the file are already on the graph, so
+                    // report what was imported rather than the file as invalid
+                    final String errorMsg = String.format("%s could not be parsed after row %d. Only the rows before the error were imported.", file.getPath(), rowCount);
+                    LOGGER.log(Level.WARNING, errorMsg, ex);
+                    partialFiles.add(file.getName().concat(" (stopped after row ").concat(Integer.toString(rowCount)).concat(")"));
+                }
+                validFile = false;
+            }
+
+            if (validFile) {
+                dataSize = filesIncludeHeaders ? rowCount - 1 : rowCount;
                 totalRows = totalRows + Integer.max(0, dataSize);
 
                 if (dataSize > 0) {
@@ -275,39 +351,10 @@ public class ImportDelimitedPlugin extends SimpleEditPlugin {
                 } else {
                     emptyFiles.add(file.getName());
                 }
-            } catch (FileNotFoundException ex) {
-                final String errorMsg = file.getPath() + " could not be found. Ignoring file during import.";
-                LOGGER.log(Level.INFO, errorMsg);
-                invalidFiles.add(file.getName());
-            } catch (IOException ex) {
-                final String errorMsg = file.getPath() + " could not be parsed. Removing file during import.";
-                LOGGER.log(Level.INFO, errorMsg);
-                invalidFiles.add(file.getName());
             }
 
-            if (data != null) {
+            if (validFile || rowCount > 0) {
                 for (final ImportDefinition definition : definitions) {
-
-                    if (definition.getDefinitions(AttributeType.SOURCE_VERTEX).isEmpty()) {
-                        // No source vertex definitions are set, the only option left is destination vertexes being mapped.
-                        // Process destination vertexes if defintions are defined, otherwise there is nothing to do.
-                        if (!definition.getDefinitions(AttributeType.DESTINATION_VERTEX).isEmpty()) {
-                            results = processDestinationVertices(definition, graph, data, initialiseWithSchema, skipInvalidRows, interaction, file.getName());
-                            importedRowsPerFile += results.get(IMPORTED_ROWS);
-                            skippedRowsPerFile += results.get(SKIPPED_ROWS);
-                        }
-                    } else if (definition.getDefinitions(AttributeType.DESTINATION_VERTEX).isEmpty()) {
-                        // Source defintions exist, but no destination definitions exist. Process the source definitions.
-                        results = processSourceVertices(definition, graph, data, initialiseWithSchema, skipInvalidRows, interaction, file.getName());
-                        importedRowsPerFile += results.get(IMPORTED_ROWS);
-                        skippedRowsPerFile += results.get(SKIPPED_ROWS);
-                    } else {
-                        // Both source and destination defintions exist, process them.
-                        results = processTransactions(definition, graph, data, initialiseWithSchema, skipInvalidRows, interaction, file.getName());
-                        importedRowsPerFile += results.get(IMPORTED_ROWS);
-                        skippedRowsPerFile += results.get(SKIPPED_ROWS);
-                    }
-
                     // Determine if a positional attribute has been defined, if so update the overall flag
                     final boolean isPositional = attributeDefintionIsPositional(definition.getDefinitions(AttributeType.SOURCE_VERTEX), definition.getDefinitions(AttributeType.DESTINATION_VERTEX));
                     positionalAtrributesExist = (positionalAtrributesExist || isPositional);
@@ -319,7 +366,7 @@ public class ImportDelimitedPlugin extends SimpleEditPlugin {
             LOGGER.log(Level.INFO, "Imported {0} rows of data from file {1} containing {2} total rows. Skipped {3} rows due to error.", new Object[]{importedRowsPerFile, file.getPath(), dataSize, skippedRowsPerFile});
         }
 
-        displaySummaryAlert(graph.getVertexCount() + graph.getTransactionCount(), totalImportedRows, totalSkippedRows, validFiles, emptyFiles, invalidFiles, emptyRunConfigs);
+        displaySummaryAlert(graph.getVertexCount() + graph.getTransactionCount(), totalImportedRows, totalSkippedRows, validFiles, emptyFiles, invalidFiles, partialFiles, emptyRunConfigs);
 
         ConstellationLoggerHelper.importPropertyBuilder(
                 this,
@@ -361,34 +408,32 @@ public class ImportDelimitedPlugin extends SimpleEditPlugin {
         return destAttributeDefinitions.stream().map(attribute -> attribute.getAttribute().getName()).anyMatch(name -> (VisualConcept.VertexAttribute.X.getName().equals(name) || VisualConcept.VertexAttribute.Y.getName().equals(name) || VisualConcept.VertexAttribute.Z.getName().equals(name)));
     }
 
-    private static MutableObjectIntMap<String> processSourceVertices(final ImportDefinition definition, final GraphWriteMethods graph, final List<String[]> data, final boolean initialiseWithSchema,
-            final boolean skipInvalidRows, final PluginInteraction interaction, final String source) throws InterruptedException, PluginException {
-        return processVertices(definition, graph, data, AttributeType.SOURCE_VERTEX, initialiseWithSchema, skipInvalidRows, interaction, source);
+    private static MutableObjectIntMap<String> processSourceVertices(final ImportDefinition definition, final GraphWriteMethods graph, final RowBatch batch, final boolean initialiseWithSchema,
+            final boolean skipInvalidRows) throws PluginException {
+        return processVertices(definition, graph, batch, AttributeType.SOURCE_VERTEX, initialiseWithSchema, skipInvalidRows);
     }
 
-    private static MutableObjectIntMap<String> processDestinationVertices(final ImportDefinition definition, final GraphWriteMethods graph, final List<String[]> data, final boolean initialiseWithSchema,
-            final boolean skipInvalidRows, final PluginInteraction interaction, final String source) throws InterruptedException, PluginException {
-        return processVertices(definition, graph, data, AttributeType.DESTINATION_VERTEX, initialiseWithSchema, skipInvalidRows, interaction, source);
+    private static MutableObjectIntMap<String> processDestinationVertices(final ImportDefinition definition, final GraphWriteMethods graph, final RowBatch batch, final boolean initialiseWithSchema,
+            final boolean skipInvalidRows) throws PluginException {
+        return processVertices(definition, graph, batch, AttributeType.DESTINATION_VERTEX, initialiseWithSchema, skipInvalidRows);
     }
 
-    private static MutableObjectIntMap<String> processVertices(final ImportDefinition definition, final GraphWriteMethods graph, final List<String[]> data, final AttributeType attributeType,
-            final boolean initialiseWithSchema, final boolean skipInvalidRows, final PluginInteraction interaction, final String source) throws InterruptedException, PluginException {
+    private static MutableObjectIntMap<String> processVertices(final ImportDefinition definition, final GraphWriteMethods graph, final RowBatch batch, final AttributeType attributeType,
+            final boolean initialiseWithSchema, final boolean skipInvalidRows) throws PluginException {
         final List<ImportAttributeDefinition> attributeDefinitions = definition.getDefinitions(attributeType);
 
         addAttributes(graph, GraphElementType.VERTEX, attributeDefinitions);
 
-        int currentRow = 0;
         int importedRows = 0;
         int skippedRow = 0;
         final MutableObjectIntMap<String> results = new ObjectIntHashMap<>();
-        final int totalRows = data.size() - definition.getFirstRow();
+        final List<String[]> data = batch.getRows();
+        final int firstRowIndex = batch.getFirstRowIndex();
 
         final RowFilter filter = definition.getRowFilter();
 
-        for (int i = definition.getFirstRow(); i < data.size(); i++) {
-            interaction.setProgress(++currentRow, totalRows, "Importing Vertices: " + source, true);
-
-            final String[] row = data.get(i);
+        for (int i = Math.max(definition.getFirstRow(), firstRowIndex); i < firstRowIndex + data.size(); i++) {
+            final String[] row = data.get(i - firstRowIndex);
             int vertexId = -1;
 
             try {
@@ -426,7 +471,7 @@ public class ImportDelimitedPlugin extends SimpleEditPlugin {
         return results;
     }
 
-    private static MutableObjectIntMap<String> processTransactions(final ImportDefinition definition, final GraphWriteMethods graph, final List<String[]> data, final boolean initialiseWithSchema, final boolean skipInvalidRows, final PluginInteraction interaction, final String source) throws InterruptedException, PluginException {
+    private static MutableObjectIntMap<String> processTransactions(final ImportDefinition definition, final GraphWriteMethods graph, final RowBatch batch, final boolean initialiseWithSchema, final boolean skipInvalidRows) throws PluginException {
         final List<ImportAttributeDefinition> sourceVertexDefinitions = definition.getDefinitions(AttributeType.SOURCE_VERTEX);
         final List<ImportAttributeDefinition> destinationVertexDefinitions = definition.getDefinitions(AttributeType.DESTINATION_VERTEX);
         final List<ImportAttributeDefinition> transactionDefinitions = definition.getDefinitions(AttributeType.TRANSACTION);
@@ -443,18 +488,16 @@ public class ImportDelimitedPlugin extends SimpleEditPlugin {
         addAttributes(graph, GraphElementType.VERTEX, destinationVertexDefinitions);
         addAttributes(graph, GraphElementType.TRANSACTION, transactionDefinitions);
 
-        int currentRow = 0;
         int importedRows = 0;
         int skippedRow = 0;
         final MutableObjectIntMap<String> results = new ObjectIntHashMap<>();
-        final int totalRows = data.size() - definition.getFirstRow();
+        final List<String[]> data = batch.getRows();
+        final int firstRowIndex = batch.getFirstRowIndex();
 
         final RowFilter filter = definition.getRowFilter();
 
-        for (int i = definition.getFirstRow(); i < data.size(); i++) {
-            interaction.setProgress(++currentRow, totalRows, "Importing Transactions: " + source, true);
-
-            final String[] row = data.get(i);
+        for (int i = Math.max(definition.getFirstRow(), firstRowIndex); i < firstRowIndex + data.size(); i++) {
+            final String[] row = data.get(i - firstRowIndex);
 
             if (filter == null || filter.passesFilter(i - 1, row)) {
 
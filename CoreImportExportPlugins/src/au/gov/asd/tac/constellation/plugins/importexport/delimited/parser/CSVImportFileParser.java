@@ -66,6 +66,25 @@ public class CSVImportFileParser extends ImportFileParser {
         return results;
     }
 
+    @Override
+    public void parse(final InputSource input, final PluginParameters parameters, final int batchSize, final RowBatchHandler handler) throws IOException, InterruptedException {
+        final RowBatcher batcher = new RowBatcher(batchSize, handler);
+
+        try (final CSVParser csvFileParser = getCSVParser(input)) {
+            for (final CSVRecord csvRecord : csvFileParser) {
+                final String[] line = new String[csvRecord.size()];
+
+                for (int i = 0; i < csvRecord.size(); i++) {
+                    line[i] = csvRecord.get(i);
+                }
+
+                batcher.add(line);
+            }
+        }
+
+        batcher.flush();
+    }
+
     @Override
     public List<String[]> preview(final InputSource input, final PluginParameters parameters, final int limit) throws IOException {
         // Leave the header on, as the importer expects this as the first entry.
@@ -39,6 +39,11 @@ import org.openide.util.lookup.ServiceProvider;
  */
 public abstract class ImportFileParser {
 
+    /**
+     * The default number of rows handed to a {@link RowBatchHandler} at a time.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 10000;
+
     private static final Map<String, ImportFileParser> PARSERS = new LinkedHashMap<>();
     private static final Map<String, ImportFileParser> UNMODIFIABLE_PARSERS = Collections.unmodifiableMap(PARSERS);
 
@@ -79,6 +84,23 @@ public abstract class ImportFileParser {
         return UNMODIFIABLE_PARSERS.get(label);
     }
 
+    /**
+     * Receives the rows of a table in batches as they are parsed.
+     */
+    @FunctionalInterface
+    public interface RowBatchHandler {
+
+        /**
+         * Handle the next batch of rows.
+         *
+         * @param firstRowIndex the index in the table of the first row in the
+         * batch.
+         * @param rows the rows in the batch.
+         * @throws InterruptedException if the parse should stop.
+         */
+        void handle(final int firstRowIndex, final List<String[]> rows) throws InterruptedException;
+    }
+
     private final String label;
     private final int position;
 
@@ -170,4 +192,27 @@ public abstract class ImportFileParser {
      */
     public abstract List<String[]> preview(final InputSource input, final PluginParameters parameters, final int limit) throws IOException;
 
+    /**
+     * Reads the entire file, handing rows to the handler in batches of at most
+     * {@code batchSize} rows, in order.
+     * <p>
+     * The default implementation parses the whole file with
+     * {@link #parse(InputSource, PluginParameters)} before handing it over.
+     * Parsers which can read their format incrementally should override this
+     * so that only one batch needs to be held in memory at a time.
+     *
+     * @param input Input file
+     * @param parameters the parameters that configure the parse operation.
+     * @param batchSize the maximum number of rows in each batch.
+     * @param handler the handler which receives each batch.
+     * @throws IOException if an error occurred while reading the file.
+     * @throws InterruptedException if the handler interrupted the parse.
+     */
+    public void parse(final InputSource input, final PluginParameters parameters, final int batchSize, final RowBatchHandler handler) throws IOException, InterruptedException {
+        final List<String[]> rows = parse(input, parameters);
+        for (int start = 0; start < rows.size(); start += batchSize) {
+            handler.handle(start, rows.subList(start, Math.min(start + batchSize, rows.size())));
+        }
+    }
+
 }
@@ -469,6 +469,73 @@ public class JSONImportFileParser extends ImportFileParser {
         return getResults(input, 0);
     }
 
+    /**
+     * Reads the entire file, handing rows to the handler in batches.
+     * <p>
+     * When the input is a file containing a sequence of two or more objects,
+     * either as newline delimited JSON or as a top level list, the file is
+     * read twice with the objects streamed one at a time: once to collect the
+     * column names, and once to extract the rows. Any other structure needs
+     * the whole document to choose a list, so falls back to
+     * {@link #parse(InputSource, PluginParameters)}.
+     *
+     * @param input Input file
+     * @param parameters the parameters that configure the parse operation.
+     * @param batchSize the maximum number of rows in each batch.
+     * @param handler the handler which receives each batch.
+     * @throws IOException if an error occurred while reading the file.
+     * @throws InterruptedException if the handler interrupted the parse.
+     */
+    @Override
+    public void parse(final InputSource input, final PluginParameters parameters, final int batchSize, final RowBatchHandler handler) throws IOException, InterruptedException {
+        final File file = input.getFile();
+        final ArrayList<String> columns = file != null ? getStreamedColumns(file) : null;
+        if (columns == null) {
+            super.parse(input, parameters, batchSize, handler);
+            return;
+        }
+
+        final MutableObjectIntMap<String> columnMap = new ObjectIntHashMap<>();
+        columns.forEach(column -> columnMap.put(column, columnMap.size()));
+
+        final RowBatcher batcher = new RowBatcher(batchSize, handler);
+        batcher.add(columns.toArray(new String[columns.size()]));
+        try (final MappingIterator<JsonNode> it = new ObjectMapper().readerFor(JsonNode.class).readValues(file)) {
+            while (it.hasNextValue()) {
+                batcher.add(getLineContent(it.nextValue(), columnMap, "", null));
+            }
+        } catch (final JsonParseException ex) {
+            throw new IOException(WARN_INVALID_JSON);
+        }
+        batcher.flush();
+    }
+
+    /**
+     * Private function which streams the values in a file to collect the
+     * column names of a sequence of objects.
+     *
+     * @param file the file to read.
+     * @return the column names, or null if the file does not contain a
+     * sequence of two or more non empty objects.
+     */
+    private ArrayList<String> getStreamedColumns(final File file) throws IOException {
+        final ArrayList<String> columns = new ArrayList<>();
+        int counter = 0;
+        try (final MappingIterator<JsonNode> it = new ObjectMapper().readerFor(JsonNode.class).readValues(file)) {
+            while (it.hasNextValue()) {
+                final JsonNode node = it.nextValue();
+                if (!node.isObject() || node.size() == 0) {
+                    return null;
+                }
+                extractColNamesFromFields(node, columns, "");
+                counter++;
+            }
+        } catch (final JsonParseException ex) {
+            throw new IOException(WARN_INVALID_JSON);
+        }
+        return counter > 1 ? columns : null;
+    }
+
     /**
      * Reads only {@code limit} lines and returns a List of String arrays, each
      * of which represents a row in the resulting table.
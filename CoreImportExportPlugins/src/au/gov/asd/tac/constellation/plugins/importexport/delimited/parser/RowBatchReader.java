@@ -0,0 +1,146 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.plugins.importexport.delimited.parser;
+
+import au.gov.asd.tac.constellation.plugins.parameters.PluginParameters;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads the rows of an {@link InputSource} in batches using a background
+ * thread, so that the next batch is parsed while the current batch is being
+ * processed.
+ * <p>
+ * At most {@link #QUEUED_BATCHES} parsed batches are waiting to be read at any
+ * time, so memory use is bounded by the batch size rather than the size of the
+ * file.
+ *
+ * @author sirius
+ */
+public class RowBatchReader implements AutoCloseable {
+
+    /**
+     * The number of parsed batches that may wait to be read before the parser
+     * is paused.
+     */
+    public static final int QUEUED_BATCHES = 2;
+
+    private static final RowBatch END = new RowBatch(-1, List.of());
+
+    private final BlockingQueue<RowBatch> queue = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+    private final Thread parserThread;
+    private volatile Exception failure = null;
+    private boolean finished = false;
+
+    /**
+     * A batch of consecutive rows from a table.
+     */
+    public static class RowBatch {
+
+        private final int firstRowIndex;
+        private final List<String[]> rows;
+
+        private RowBatch(final int firstRowIndex, final List<String[]> rows) {
+            this.firstRowIndex = firstRowIndex;
+            this.rows = rows;
+        }
+
+        /**
+         * The index in the table of the first row in this batch.
+         *
+         * @return the index of the first row.
+         */
+        public int getFirstRowIndex() {
+            return firstRowIndex;
+        }
+
+        /**
+         * The rows in this batch.
+         *
+         * @return the rows in this batch.
+         */
+        public List<String[]> getRows() {
+            return rows;
+        }
+    }
+
+    /**
+     * Start parsing the input in the background.
+     *
+     * @param parser the parser used to read the input.
+     * @param input the input to read.
+     * @param parameters the parameters that configure the parse operation.
+     * @param batchSize the maximum number of rows in each batch.
+     */
+    public RowBatchReader(final ImportFileParser parser, final InputSource input, final PluginParameters parameters, final int batchSize) {
+        parserThread = new Thread(() -> {
+            try {
+                parser.parse(input, parameters, batchSize, (firstRowIndex, rows) -> queue.put(new RowBatch(firstRowIndex, rows)));
+            } catch (final InterruptedException ex) {
+                // the reader was closed before the parse completed
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final IOException | RuntimeException ex) {
+                failure = ex;
+            }
+            try {
+                queue.put(END);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }, "Import Parser: " + parser.getLabel());
+        parserThread.setDaemon(true);
+        parserThread.start();
+    }
+
+    /**
+     * Wait for the next batch of rows.
+     *
+     * @return the next batch of rows, or null if there are no more rows.
+     * @throws IOException if an error occurred while reading the input.
+     * @throws InterruptedException if the current thread was interrupted while
+     * waiting.
+     */
+    public RowBatch next() throws IOException, InterruptedException {
+        if (finished) {
+            return null;
+        }
+        final RowBatch batch = queue.take();
+        if (batch != END) {
+            return batch;
+        }
+
+        finished = true;
+        if (failure instanceof IOException ioException) {
+            throw ioException;
+        } else if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Stop parsing and release any batches which have not been read.
+     */
+    @Override
+    public void close() {
+        parserThread.interrupt();
+        queue.clear();
+    }
+}
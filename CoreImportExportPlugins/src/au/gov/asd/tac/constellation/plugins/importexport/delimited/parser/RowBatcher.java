@@ -0,0 +1,70 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.plugins.importexport.delimited.parser;
+
+import au.gov.asd.tac.constellation.plugins.importexport.delimited.parser.ImportFileParser.RowBatchHandler;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects parsed rows into batches and passes each full batch to a
+ * {@link RowBatchHandler}.
+ *
+ * @author sirius
+ */
+class RowBatcher {
+
+    private final int batchSize;
+    private final RowBatchHandler handler;
+    private List<String[]> batch;
+    private int firstRowIndex = 0;
+
+    RowBatcher(final int batchSize, final RowBatchHandler handler) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+        this.handler = handler;
+        this.batch = new ArrayList<>(batchSize);
+    }
+
+    /**
+     * Add a row, handing over the current batch if it is full.
+     *
+     * @param row the row to add.
+     * @throws InterruptedException if the handler interrupted the parse.
+     */
+    void add(final String[] row) throws InterruptedException {
+        batch.add(row);
+        if (batch.size() == batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * Hand over any rows which have not yet been handled.
+     *
+     * @throws InterruptedException if the handler interrupted the parse.
+     */
+    void flush() throws InterruptedException {
+        if (!batch.isEmpty()) {
+            final List<String[]> rows = batch;
+            batch = new ArrayList<>(batchSize);
+            handler.handle(firstRowIndex, rows);
+            firstRowIndex += rows.size();
+        }
+    }
+}
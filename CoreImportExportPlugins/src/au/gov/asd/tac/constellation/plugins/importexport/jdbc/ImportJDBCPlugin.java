@@ -26,6 +26,7 @@ import au.gov.asd.tac.constellation.plugins.PluginException;
 import au.gov.asd.tac.constellation.plugins.PluginExecutor;
 import au.gov.asd.tac.constellation.plugins.PluginInfo;
 import au.gov.asd.tac.constellation.plugins.PluginInteraction;
+import au.gov.asd.tac.constellation.plugins.PluginNotificationLevel;
 import au.gov.asd.tac.constellation.plugins.PluginType;
 import au.gov.asd.tac.constellation.plugins.arrangements.AbstractInclusionGraph;
 import au.gov.asd.tac.constellation.plugins.arrangements.ArrangementPluginRegistry;
@@ -35,10 +36,13 @@ import au.gov.asd.tac.constellation.plugins.importexport.ImportAttributeDefiniti
 import au.gov.asd.tac.constellation.plugins.importexport.ImportConstants;
 import au.gov.asd.tac.constellation.plugins.importexport.ImportDefinition;
 import au.gov.asd.tac.constellation.plugins.importexport.RowFilter;
+import au.gov.asd.tac.constellation.plugins.importexport.jdbc.ResultSetBatchReader.RowBatch;
 import au.gov.asd.tac.constellation.plugins.parameters.PluginParameter;
 import au.gov.asd.tac.constellation.plugins.parameters.PluginParameters;
 import au.gov.asd.tac.constellation.plugins.parameters.types.BooleanParameterType;
 import au.gov.asd.tac.constellation.plugins.parameters.types.BooleanParameterType.BooleanParameterValue;
+import au.gov.asd.tac.constellation.plugins.parameters.types.IntegerParameterType;
+import au.gov.asd.tac.constellation.plugins.parameters.types.IntegerParameterType.IntegerParameterValue;
 import au.gov.asd.tac.constellation.plugins.parameters.types.ObjectParameterType;
 import au.gov.asd.tac.constellation.plugins.parameters.types.ObjectParameterType.ObjectParameterValue;
 import au.gov.asd.tac.constellation.plugins.parameters.types.PasswordParameterType;
@@ -73,6 +77,7 @@ public class ImportJDBCPlugin extends SimpleEditPlugin {
     public static final String CONNECTION_PARAMETER_ID = PluginParameter.buildId(ImportJDBCPlugin.class, "connection");
     public static final String SCHEMA_PARAMETER_ID = PluginParameter.buildId(ImportJDBCPlugin.class, "schema");
     public static final String DEFINITIONS_PARAMETER_ID = PluginParameter.buildId(ImportJDBCPlugin.class, "definitions");
+    public static final String FETCH_SIZE_PARAMETER_ID = PluginParameter.buildId(ImportJDBCPlugin.class, "fetch_size");
 
     @Override
     public PluginParameters createParameters() {
@@ -110,6 +115,13 @@ public class ImportJDBCPlugin extends SimpleEditPlugin {
         definitionParam.setObjectValue(null);
         params.addParameter(definitionParam);
 
+        final PluginParameter<IntegerParameterValue> fetchSizeParam = IntegerParameterType.build(FETCH_SIZE_PARAMETER_ID);
+        fetchSizeParam.setName("Fetch Size");
+        fetchSizeParam.setDescription("The number of rows to fetch from the database and write to the graph at a time, default is " + ResultSetBatchReader.DEFAULT_BATCH_SIZE);
+        fetchSizeParam.setIntegerValue(ResultSetBatchReader.DEFAULT_BATCH_SIZE);
+        IntegerParameterType.setMinimum(fetchSizeParam, 1);
+        params.addParameter(fetchSizeParam);
+
         return params;
     }
 
@@ -120,6 +132,7 @@ public class ImportJDBCPlugin extends SimpleEditPlugin {
         @SuppressWarnings("unchecked") // DEFINITIONS_PARAMETER_ID will always contain a list of ImportDefinition
         final List<ImportDefinition> definitions = (List<ImportDefinition>) parameters.getParameters().get(DEFINITIONS_PARAMETER_ID).getObjectValue();
         final boolean initialiseWithSchema = parameters.getParameters().get(SCHEMA_PARAMETER_ID).getBooleanValue();
+        final int fetchSize = parameters.getParameters().get(FETCH_SIZE_PARAMETER_ID).getIntegerValue();
         boolean positionalAtrributesExist = false;
         int totalImportedRows = 0;
 
@@ -127,41 +140,49 @@ public class ImportJDBCPlugin extends SimpleEditPlugin {
         final String password = parameters.getParameters().get(PASSWORD_PARAMETER_ID).getStringValue();
 
         if (connection != null && query != null && !query.isBlank()) {
-            final List<String[]> data = new ArrayList<>();
-            try {
-                try (final Connection dbConnection = connection.getConnection(username, password)) {
-                    try (final PreparedStatement ps = dbConnection.prepareStatement(query)) {
-                        try (final ResultSet rs = ps.executeQuery()) {
-                            while (rs.next()) {
-                                final String[] d = new String[ps.getMetaData().getColumnCount()];
-                                for (int i = 0; i < ps.getMetaData().getColumnCount(); i++) {
-                                    d[i] = rs.getString(i + 1);
+            int rowCount = 0;
+            // rows are fetched in batches on a background thread while the
+            // previous batch is written to the graph, so only a few batches
+            // of the result are held in memory at a time
+            try (final Connection dbConnection = connection.getConnection(username, password);
+                    final PreparedStatement ps = dbConnection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                ps.setFetchSize(fetchSize);
+                try (final ResultSet rs = ps.executeQuery();
+                        final ResultSetBatchReader reader = new ResultSetBatchReader(rs, fetchSize)) {
+                    RowBatch batch = reader.next();
+                    while (batch != null) {
+                        rowCount += batch.getRows().size();
+                        interaction.setProgress(rowCount, -1, "Importing from " + connection.getConnectionName() + " (" + rowCount + " rows read)", true);
+
+                        for (final ImportDefinition definition : definitions) {
+                            if (definition.getDefinitions(AttributeType.SOURCE_VERTEX).isEmpty()) {
+                                if (!definition.getDefinitions(AttributeType.DESTINATION_VERTEX).isEmpty()) {
+                                    totalImportedRows += processVertices(definition, graph, batch, AttributeType.DESTINATION_VERTEX, initialiseWithSchema);
                                 }
-                                data.add(d);
+                            } else if (definition.getDefinitions(AttributeType.DESTINATION_VERTEX).isEmpty()) {
+                                totalImportedRows += processVertices(definition, graph, batch, AttributeType.SOURCE_VERTEX, initialiseWithSchema);
+                            } else {
+                                totalImportedRows += processTransactions(definition, graph, batch, initialiseWithSchema);
                             }
                         }
+
+                        batch = reader.next();
                     }
                 }
             } catch (final MalformedURLException | ClassNotFoundException | SQLException | NoSuchMethodException | InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException ex) {
-                return;
+                if (rowCount == 0) {
+                    // nothing has been written to the graph
+                    return;
+                }
+                throw new PluginException(this, PluginNotificationLevel.ERROR, String.format("Database import failed after reading %d rows: %s", rowCount, ex.getMessage()), ex);
             }
 
             for (final ImportDefinition definition : definitions) {
-                if (definition.getDefinitions(AttributeType.SOURCE_VERTEX).isEmpty()) {
-                    if (!definition.getDefinitions(AttributeType.DESTINATION_VERTEX).isEmpty()) {
-                        totalImportedRows += processVertices(definition, graph, data, AttributeType.DESTINATION_VERTEX, initialiseWithSchema, interaction);
-                    }
-                } else if (definition.getDefinitions(AttributeType.DESTINATION_VERTEX).isEmpty()) {
-                    totalImportedRows += processVertices(definition, graph, data, AttributeType.SOURCE_VERTEX, initialiseWithSchema, interaction);
-                } else {
-                    totalImportedRows += processTransactions(definition, graph, data, initialiseWithSchema, interaction);
-                }
-
                 // Determine if a positional attribute has been defined, if so update the overall flag
                 final boolean isPositional = attributeDefintionIsPositional(definition.getDefinitions(AttributeType.SOURCE_VERTEX), definition.getDefinitions(AttributeType.DESTINATION_VERTEX));
                 positionalAtrributesExist = (positionalAtrributesExist || isPositional);
             }
-            displaySummaryAlert(totalImportedRows, data.size(), connection.getConnectionName());
+            displaySummaryAlert(totalImportedRows, rowCount, connection.getConnectionName());
 
             // If at least one positional attribute has been received for either the src or destination vertex we will assume that the user is trying to import positions and won't auto arrange
             // the graph. This does mean some nodes could sit on top of each other if multiple nodes have the same coordinates.
@@ -191,28 +212,28 @@ public class ImportJDBCPlugin extends SimpleEditPlugin {
                 || destAttributeDefinitions.stream().map(attribute -> attribute.getAttribute().getName()).anyMatch(name -> (VisualConcept.VertexAttribute.X.getName().equals(name) || VisualConcept.VertexAttribute.Y.getName().equals(name) || VisualConcept.VertexAttribute.Z.getName().equals(name)));
     }
 
-    private static int processVertices(final ImportDefinition definition, final GraphWriteMethods graph, final List<String[]> data, final AttributeType attributeType, final boolean initialiseWithSchema, final PluginInteraction interaction) throws InterruptedException {
+    private static int processVertices(final ImportDefinition definition, final GraphWriteMethods graph, final RowBatch batch, final AttributeType attributeType, final boolean initialiseWithSchema) {
         final List<ImportAttributeDefinition> attributeDefinitions = definition.getDefinitions(attributeType);
 
         addAttributes(graph, GraphElementType.VERTEX, attributeDefinitions);
 
-        int currentRow = 0;
         int importedRows = 0;
-        final int totalRows = data.size() - definition.getFirstRow();
+        final List<Object[]> data = batch.getRows();
+        final List<String[]> strings = batch.getStrings();
+        final int firstRowIndex = batch.getFirstRowIndex();
 
         final RowFilter filter = definition.getRowFilter();
 
-        for (int i = definition.getFirstRow(); i < data.size(); i++) {
-            interaction.setProgress(++currentRow, totalRows, "Importing Vertices", true);
-
-            final String[] row = data.get(i);
-            if (filter == null || filter.passesFilter(i, row)) {
+        for (int i = Math.max(definition.getFirstRow(), firstRowIndex); i < firstRowIndex + data.size(); i++) {
+            final Object[] row = data.get(i - firstRowIndex);
+            final String[] rowStrings = strings.get(i - firstRowIndex);
+            if (filter == null || filter.passesFilter(i, rowStrings)) {
                 // Count the number of processed rows to notify in the status message
                 ++importedRows;
                 final int vertexId = graph.addVertex();
 
                 for (final ImportAttributeDefinition attributeDefinition : attributeDefinitions) {
-                    attributeDefinition.setValue(graph, vertexId, row, (i - 1));
+                    attributeDefinition.setValue(graph, vertexId, row, rowStrings, (i - 1));
                 }
 
                 if (initialiseWithSchema && graph.getSchema() != null) {
@@ -223,7 +244,7 @@ public class ImportJDBCPlugin extends SimpleEditPlugin {
         return importedRows;
     }
 
-    private static int processTransactions(final ImportDefinition definition, final GraphWriteMethods graph, final List<String[]> data, final boolean initialiseWithSchema, final PluginInteraction interaction) throws InterruptedException {
+    private static int processTransactions(final ImportDefinition definition, final GraphWriteMethods graph, final RowBatch batch, final boolean initialiseWithSchema) {
         final List<ImportAttributeDefinition> sourceVertexDefinitions = definition.getDefinitions(AttributeType.SOURCE_VERTEX);
         final List<ImportAttributeDefinition> destinationVertexDefinitions = definition.getDefinitions(AttributeType.DESTINATION_VERTEX);
         final List<ImportAttributeDefinition> transactionDefinitions = definition.getDefinitions(AttributeType.TRANSACTION);
@@ -240,23 +261,23 @@ public class ImportJDBCPlugin extends SimpleEditPlugin {
         addAttributes(graph, GraphElementType.VERTEX, destinationVertexDefinitions);
         addAttributes(graph, GraphElementType.TRANSACTION, transactionDefinitions);
 
-        int currentRow = 0;
         int importedRows = 0;
-        final int totalRows = data.size() - definition.getFirstRow();
+        final List<Object[]> data = batch.getRows();
+        final List<String[]> strings = batch.getStrings();
+        final int firstRowIndex = batch.getFirstRowIndex();
 
         final RowFilter filter = definition.getRowFilter();
 
-        for (int i = definition.getFirstRow(); i < data.size(); i++) {
-            interaction.setProgress(++currentRow, totalRows, "Importing Transactions", true);
-
-            final String[] row = data.get(i);
+        for (int i = Math.max(definition.getFirstRow(), firstRowIndex); i < firstRowIndex + data.size(); i++) {
+            final Object[] row = data.get(i - firstRowIndex);
+            final String[] rowStrings = strings.get(i - firstRowIndex);
 
-            if (filter == null || filter.passesFilter(i, row)) {
+            if (filter == null || filter.passesFilter(i, rowStrings)) {
                 // Count the number of processed rows to notify in the status message
                 ++importedRows;
                 final int sourceVertexId = graph.addVertex();
                 for (final ImportAttributeDefinition attributeDefinition : sourceVertexDefinitions) {
-                    attributeDefinition.setValue(graph, sourceVertexId, row, (i - 1));
+                    attributeDefinition.setValue(graph, sourceVertexId, row, rowStrings, (i - 1));
                 }
                 if (initialiseWithSchema && graph.getSchema() != null) {
                     graph.getSchema().completeVertex(graph, sourceVertexId);
@@ -264,17 +285,17 @@ public class ImportJDBCPlugin extends SimpleEditPlugin {
 
                 final int destinationVertexId = graph.addVertex();
                 for (final ImportAttributeDefinition attributeDefinition : destinationVertexDefinitions) {
-                    attributeDefinition.setValue(graph, destinationVertexId, row, (i - 1));
+                    attributeDefinition.setValue(graph, destinationVertexId, row, rowStrings, (i - 1));
                 }
                 if (initialiseWithSchema && graph.getSchema() != null) {
                     graph.getSchema().completeVertex(graph, destinationVertexId);
                 }
 
-                final boolean isDirected = directedIx == ImportConstants.ATTRIBUTE_NOT_ASSIGNED_TO_COLUMN || Boolean.parseBoolean(row[directedIx]);
+                final boolean isDirected = directedIx == ImportConstants.ATTRIBUTE_NOT_ASSIGNED_TO_COLUMN || isTrue(row[directedIx]);
                 final int transactionId = graph.addTransaction(sourceVertexId, destinationVertexId, isDirected);
                 for (final ImportAttributeDefinition attributeDefinition : transactionDefinitions) {
                     if (attributeDefinition.getOverriddenAttributeId() != Graph.NOT_FOUND) {
-                        attributeDefinition.setValue(graph, transactionId, row, (i - 1));
+                        attributeDefinition.setValue(graph, transactionId, row, rowStrings, (i - 1));
                     }
                 }
                 if (initialiseWithSchema && graph.getSchema() != null) {
@@ -285,6 +306,10 @@ public class ImportJDBCPlugin extends SimpleEditPlugin {
         return importedRows;
     }
 
+    private static boolean isTrue(final Object value) {
+        return value instanceof Boolean b ? b : Boolean.parseBoolean(value == null ? null : value.toString());
+    }
+
     /**
      * Add the attribute to the graph
      *
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.plugins.importexport.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Reads the rows of a {@link ResultSet} in batches using a background thread,
+ * so that the next batch is fetched from the database while the current batch
+ * is being written to the graph.
+ * <p>
+ * At most {@link #QUEUED_BATCHES} batches are waiting to be read at any time,
+ * so memory use is bounded by the batch size rather than the size of the
+ * result.
+ * <p>
+ * Integer, floating point and boolean columns are read as {@link Integer},
+ * {@link Long}, {@link Double} and {@link Boolean} values so they can be stored
+ * on the graph without being converted to a string and parsed again. Every
+ * column is also read as a string using {@link ResultSet#getString(int)}, so
+ * row filters and attribute translators see the same text as they would
+ * without the typed values. SQL nulls are read as null.
+ *
+ * @author sirius
+ */
+public class ResultSetBatchReader implements AutoCloseable {
+
+    /**
+     * The default number of rows fetched from the database at a time and
+     * handed to the graph in each batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 10000;
+
+    /**
+     * The number of batches that may wait to be read before fetching is
+     * paused.
+     */
+    public static final int QUEUED_BATCHES = 2;
+
+    private static final RowBatch END = new RowBatch(-1, List.of(), List.of());
+
+    private final BlockingQueue<RowBatch> queue = new ArrayBlockingQueue<>(QUEUED_BATCHES);
+    private final Thread readerThread;
+    private volatile Throwable failure = null;
+    private boolean finished = false;
+
+    /**
+     * A batch of consecutive rows from a result set.
+     */
+    public static class RowBatch {
+
+        private final int firstRowIndex;
+        private final List<Object[]> rows;
+        private final List<String[]> strings;
+
+        private RowBatch(final int firstRowIndex, final List<Object[]> rows, final List<String[]> strings) {
+            this.firstRowIndex = firstRowIndex;
+            this.rows = rows;
+            this.strings = strings;
+        }
+
+        /**
+         * The index in the result set of the first row in this batch.
+         *
+         * @return the index of the first row.
+         */
+        public int getFirstRowIndex() {
+            return firstRowIndex;
+        }
+
+        /**
+         * The rows in this batch, holding one value for each column.
+         *
+         * @return the rows in this batch.
+         */
+        public List<Object[]> getRows() {
+            return rows;
+        }
+
+        /**
+         * The rows in this batch as text, holding the value returned by
+         * {@link ResultSet#getString(int)} for each column.
+         *
+         * @return the rows in this batch as text, in the same order as
+         * {@link #getRows()}.
+         */
+        public List<String[]> getStrings() {
+            return strings;
+        }
+    }
+
+    /**
+     * Start reading the result set in the background.
+     * <p>
+     * The result set must not be used by any other thread until this reader
+     * has been closed.
+     *
+     * @param resultSet the result set to read.
+     * @param batchSize the maximum number of rows in each batch.
+     * @throws SQLException if the columns of the result set can not be read.
+     */
+    public ResultSetBatchReader(final ResultSet resultSet, final int batchSize) throws SQLException {
+        final ResultSetMetaData metaData = resultSet.getMetaData();
+        final int[] columnTypes = new int[metaData.getColumnCount()];
+        for (int i = 0; i < columnTypes.length; i++) {
+            columnTypes[i] = metaData.getColumnType(i + 1);
+        }
+
+        readerThread = new Thread(() -> {
+            boolean interrupted = false;
+            try {
+                int rowIndex = 0;
+                List<Object[]> rows = new ArrayList<>(batchSize);
+                List<String[]> strings = new ArrayList<>(batchSize);
+                while (!Thread.currentThread().isInterrupted() && resultSet.next()) {
+                    final Object[] row = new Object[columnTypes.length];
+                    final String[] rowStrings = new String[columnTypes.length];
+                    readRow(resultSet, columnTypes, row, rowStrings);
+                    rows.add(row);
+                    strings.add(rowStrings);
+                    if (rows.size() == batchSize) {
+                        queue.put(new RowBatch(rowIndex, rows, strings));
+                        rowIndex += rows.size();
+                        rows = new ArrayList<>(batchSize);
+                        strings = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!rows.isEmpty()) {
+                    queue.put(new RowBatch(rowIndex, rows, strings));
+                }
+            } catch (final InterruptedException ex) {
+                // the reader was closed before the result set was read
+                interrupted = true;
+            } catch (final SQLException | RuntimeException | Error ex) {
+                failure = ex;
+            } finally {
+                // the consumer is waiting for the end of the batches unless
+                // the reader was closed, so the end is always queued
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                } else {
+                    try {
+                        queue.put(END);
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        }, "Database Import Reader");
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+
+    private static void readRow(final ResultSet resultSet, final int[] columnTypes, final Object[] row, final String[] strings) throws SQLException {
+        for (int i = 0; i < columnTypes.length; i++) {
+            final int column = i + 1;
+            row[i] = switch (columnTypes[i]) {
+                case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT, Types.REAL, Types.FLOAT, Types.DOUBLE, Types.BOOLEAN, Types.BIT ->
+                    readTypedValue(resultSet, column);
+                default ->
+                    null;
+            };
+            strings[i] = resultSet.getString(column);
+            if (row[i] == null) {
+                row[i] = strings[i];
+            }
+        }
+    }
+
+    // Some databases, such as SQLite, allow a column to hold values of any
+    // type, so the declared type of a column is only used as a hint and the
+    // value falls back to its string if the driver returns any other type.
+    private static Object readTypedValue(final ResultSet resultSet, final int column) throws SQLException {
+        final Object value = resultSet.getObject(column);
+        return switch (value) {
+            case null ->
+                null;
+            case Integer i ->
+                i;
+            case Short s ->
+                s.intValue();
+            case Byte b ->
+                b.intValue();
+            case Long l ->
+                l;
+            case Double d ->
+                d;
+            case Float f ->
+                f.doubleValue();
+            case Boolean b ->
+                b;
+            default ->
+                null;
+        };
+    }
+
+    /**
+     * Wait for the next batch of rows.
+     *
+     * @return the next batch of rows, or null if there are no more rows.
+     * @throws SQLException if an error occurred while reading the result set.
+     * Any unchecked exception thrown while reading is rethrown here.
+     * @throws InterruptedException if the current thread was interrupted while
+     * waiting.
+     */
+    public RowBatch next() throws SQLException, InterruptedException {
+        if (finished) {
+            return null;
+        }
+        final RowBatch batch = queue.take();
+        if (batch != END) {
+            return batch;
+        }
+
+        finished = true;
+        if (failure instanceof SQLException ex) {
+            throw ex;
+        } else if (failure instanceof RuntimeException ex) {
+            throw ex;
+        } else if (failure instanceof Error ex) {
+            throw ex;
+        }
+        return null;
+    }
+
+    /**
+     * Stop reading and release any batches which have not been read.
+     * <p>
+     * This waits for the background thread to finish with the result set so
+     * that the result set can be safely closed once this method returns.
+     */
+    @Override
+    public void close() {
+        readerThread.interrupt();
+        queue.clear();
+
+        boolean interrupted = false;
+        while (readerThread.isAlive()) {
+            try {
+                readerThread.join();
+            } catch (final InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
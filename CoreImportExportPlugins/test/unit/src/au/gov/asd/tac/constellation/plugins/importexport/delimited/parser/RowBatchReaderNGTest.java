@@ -0,0 +1,190 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.plugins.importexport.delimited.parser;
+
+import au.gov.asd.tac.constellation.plugins.importexport.delimited.parser.RowBatchReader.RowBatch;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for RowBatchReader and the batched parse of the CSV, TSV and JSON
+ * parsers.
+ *
+ * @author sirius
+ */
+public class RowBatchReaderNGTest {
+
+    private File file;
+
+    @BeforeMethod
+    public void setUpMethod() throws Exception {
+        file = File.createTempFile("rowBatchReader", ".tmp");
+    }
+
+    @AfterMethod
+    public void tearDownMethod() throws Exception {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    private void write(final String content) throws IOException {
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> readAll(final ImportFileParser parser, final File file, final int batchSize, final List<Integer> batchSizes) throws IOException, InterruptedException {
+        final List<String> rows = new ArrayList<>();
+        try (final RowBatchReader reader = new RowBatchReader(parser, new InputSource(file), null, batchSize)) {
+            RowBatch batch = reader.next();
+            while (batch != null) {
+                assertEquals(batch.getFirstRowIndex(), rows.size());
+                batchSizes.add(batch.getRows().size());
+                batch.getRows().forEach(row -> rows.add(String.join("|", row)));
+                batch = reader.next();
+            }
+            assertNull(reader.next());
+        }
+        return rows;
+    }
+
+    private static List<String> join(final List<String[]> rows) {
+        final List<String> joined = new ArrayList<>();
+        rows.forEach(row -> joined.add(String.join("|", row)));
+        return joined;
+    }
+
+    /**
+     * Test of the batched parse of CSVImportFileParser.
+     *
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test
+    public void testCSVBatches() throws IOException, InterruptedException {
+        System.out.println("testCSVBatches");
+
+        final StringBuilder content = new StringBuilder("name,count\n");
+        for (int i = 0; i < 9; i++) {
+            content.append("\"row, ").append(i).append("\",").append(i).append('\n');
+        }
+        write(content.toString());
+
+        final CSVImportFileParser parser = new CSVImportFileParser();
+        final List<Integer> batchSizes = new ArrayList<>();
+        final List<String> rows = readAll(parser, file, 3, batchSizes);
+
+        assertEquals(batchSizes, List.of(3, 3, 3, 1));
+        assertEquals(rows, join(parser.parse(new InputSource(file), null)));
+        assertEquals(rows.get(1), "row, 0|0");
+    }
+
+    /**
+     * Test of the batched parse of TSVImportFileParser.
+     *
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test
+    public void testTSVBatches() throws IOException, InterruptedException {
+        System.out.println("testTSVBatches");
+
+        write("a\tb\n1\t2\n3\t\n");
+
+        final TSVImportFileParser parser = new TSVImportFileParser();
+        final List<Integer> batchSizes = new ArrayList<>();
+        final List<String> rows = readAll(parser, file, 2, batchSizes);
+
+        assertEquals(batchSizes, List.of(2, 1));
+        assertEquals(rows, List.of("a|b", "1|2", "3|"));
+    }
+
+    /**
+     * Test of the batched parse of JSONImportFileParser, for both streamed and
+     * nested JSON.
+     *
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test
+    public void testJSONBatches() throws IOException, InterruptedException {
+        System.out.println("testJSONBatches");
+
+        final JSONImportFileParser parser = new JSONImportFileParser();
+
+        // newline delimited objects are streamed
+        write("""
+              {"name": "a", "address": {"city": "Adelaide"}}
+              {"name": "b", "age": 3}
+              {"age": 4}
+              """);
+        final List<Integer> batchSizes = new ArrayList<>();
+        final List<String> rows = readAll(parser, file, 2, batchSizes);
+        assertEquals(batchSizes, List.of(2, 2));
+        assertEquals(rows, join(parser.parse(new InputSource(file), null)));
+        assertEquals(rows.get(0), "name|address.city|age");
+
+        // a top level list of objects is streamed
+        write("[{\"name\": \"a\"}, {\"name\": \"b\"}]");
+        assertEquals(readAll(parser, file, 10, new ArrayList<>()), List.of("name", "a", "b"));
+
+        // a nested list needs the whole document
+        write("{\"description\": \"nested\", \"results\": [{\"name\": \"a\"}, {\"name\": \"b\"}, {\"name\": \"c\"}]}");
+        assertEquals(readAll(parser, file, 2, new ArrayList<>()), join(parser.parse(new InputSource(file), null)));
+    }
+
+    /**
+     * Test that a parse error is reported by the reader.
+     *
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test(expectedExceptions = IOException.class)
+    public void testParseError() throws IOException, InterruptedException {
+        System.out.println("testParseError");
+
+        write("{\"name\": ");
+        readAll(new JSONImportFileParser(), file, 10, new ArrayList<>());
+    }
+
+    /**
+     * Test that closing the reader early stops the parser.
+     *
+     * @throws IOException
+     * @throws InterruptedException
+     */
+    @Test
+    public void testCloseEarly() throws IOException, InterruptedException {
+        System.out.println("testCloseEarly");
+
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            content.append(i).append('\n');
+        }
+        write(content.toString());
+
+        try (final RowBatchReader reader = new RowBatchReader(new CSVImportFileParser(), new InputSource(file), null, 1)) {
+            assertEquals(reader.next().getRows().get(0)[0], "0");
+            assertEquals(reader.next().getFirstRowIndex(), 1);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.plugins.importexport.jdbc;
+
+import au.gov.asd.tac.constellation.graph.GraphAttribute;
+import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.StoreGraph;
+import au.gov.asd.tac.constellation.graph.attribute.FloatAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.IntegerAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.StringAttributeDescription;
+import au.gov.asd.tac.constellation.plugins.importexport.ImportAttributeDefinition;
+import au.gov.asd.tac.constellation.plugins.importexport.jdbc.ResultSetBatchReader.RowBatch;
+import au.gov.asd.tac.constellation.plugins.importexport.translator.DefaultAttributeTranslator;
+import java.io.File;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for ResultSetBatchReader and the typed values it hands to
+ * ImportAttributeDefinition, using an embedded SQLite database.
+ *
+ * @author sirius
+ */
+public class ResultSetBatchReaderNGTest {
+
+    private File database;
+    private JDBCConnection connection;
+
+    @BeforeMethod
+    public void setUpMethod() throws Exception {
+        database = File.createTempFile("resultSetBatchReader", ".sqlite");
+        final File driverJar = new File(org.sqlite.JDBC.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        connection = new JDBCConnection("test", new JDBCDriver("org.sqlite.JDBC", driverJar), "jdbc:sqlite:" + database.getCanonicalPath());
+    }
+
+    @AfterMethod
+    public void tearDownMethod() throws Exception {
+        Files.deleteIfExists(database.toPath());
+    }
+
+    private void createTable(final int rowCount) throws Exception {
+        try (final Connection dbConnection = connection.getConnection("", "")) {
+            try (final PreparedStatement statement = dbConnection.prepareStatement("create table item (id integer, name text, weight real, big integer)")) {
+                statement.executeUpdate();
+            }
+            dbConnection.setAutoCommit(false);
+            try (final PreparedStatement statement = dbConnection.prepareStatement("insert into item (id, name, weight, big) values (?, ?, ?, ?)")) {
+                for (int i = 0; i < rowCount; i++) {
+                    statement.setInt(1, i);
+                    statement.setString(2, i % 10 == 0 ? null : "name" + i);
+                    statement.setDouble(3, i + 0.5);
+                    statement.setLong(4, Integer.MAX_VALUE + (long) i);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            dbConnection.commit();
+        }
+    }
+
+    private List<Object[]> readAll(final String query, final int batchSize, final List<Integer> batchSizes) throws Exception {
+        return readAll(query, batchSize, batchSizes, new ArrayList<>());
+    }
+
+    private List<Object[]> readAll(final String query, final int batchSize, final List<Integer> batchSizes, final List<String[]> strings) throws Exception {
+        final List<Object[]> rows = new ArrayList<>();
+        try (final Connection dbConnection = connection.getConnection("", "");
+                final PreparedStatement ps = dbConnection.prepareStatement(query)) {
+            ps.setFetchSize(batchSize);
+            try (final ResultSet rs = ps.executeQuery();
+                    final ResultSetBatchReader reader = new ResultSetBatchReader(rs, batchSize)) {
+                RowBatch batch = reader.next();
+                while (batch != null) {
+                    assertEquals(batch.getFirstRowIndex(), rows.size());
+                    assertEquals(batch.getStrings().size(), batch.getRows().size());
+                    batchSizes.add(batch.getRows().size());
+                    rows.addAll(batch.getRows());
+                    strings.addAll(batch.getStrings());
+                    batch = reader.next();
+                }
+                assertNull(reader.next());
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Test that rows are read in batches of the requested size.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testBatches() throws Exception {
+        System.out.println("testBatches");
+
+        createTable(25);
+        final List<Integer> batchSizes = new ArrayList<>();
+        final List<Object[]> rows = readAll("select id, name from item order by id", 10, batchSizes);
+
+        assertEquals(batchSizes, List.of(10, 10, 5));
+        assertEquals(rows.size(), 25);
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(rows.get(i)[0], i);
+        }
+    }
+
+    /**
+     * Test that numbers are read in their own types and nulls are preserved.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testTypedValues() throws Exception {
+        System.out.println("testTypedValues");
+
+        createTable(11);
+        final List<String[]> strings = new ArrayList<>();
+        final List<Object[]> rows = readAll("select id, name, weight, big from item order by id", 4, new ArrayList<>(), strings);
+
+        assertEquals(rows.get(3), new Object[]{3, "name3", 3.5, Integer.MAX_VALUE + 3L});
+        assertNull(rows.get(10)[1]);
+        assertEquals(strings.get(3), new String[]{"3", "name3", "3.5", "2147483650"});
+        assertNull(strings.get(10)[1]);
+    }
+
+    /**
+     * Test that the text of a typed column is the text returned by the driver
+     * rather than the text of the typed value.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testStringsUseDriverText() throws Exception {
+        System.out.println("testStringsUseDriverText");
+
+        final ResultSet resultSet = mockResultSet(Types.DOUBLE, Types.BIT);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getObject(1)).thenReturn(2.0);
+        when(resultSet.getString(1)).thenReturn("2.00");
+        when(resultSet.getObject(2)).thenReturn(true);
+        when(resultSet.getString(2)).thenReturn("1");
+
+        try (final ResultSetBatchReader reader = new ResultSetBatchReader(resultSet, 10)) {
+            final RowBatch batch = reader.next();
+            assertEquals(batch.getRows().get(0), new Object[]{2.0, true});
+            assertEquals(batch.getStrings().get(0), new String[]{"2.00", "1"});
+            assertNull(reader.next());
+        }
+    }
+
+    /**
+     * Test that an unchecked exception thrown while reading the result set is
+     * rethrown to the consumer rather than leaving it waiting forever.
+     *
+     * @throws Exception
+     */
+    @Test(timeOut = 10000, expectedExceptions = IllegalStateException.class)
+    public void testRuntimeFailure() throws Exception {
+        System.out.println("testRuntimeFailure");
+
+        final ResultSet resultSet = mockResultSet(Types.VARCHAR);
+        when(resultSet.next()).thenReturn(true).thenThrow(new IllegalStateException("driver failure"));
+        when(resultSet.getString(1)).thenReturn("first");
+
+        try (final ResultSetBatchReader reader = new ResultSetBatchReader(resultSet, 1)) {
+            assertEquals(reader.next().getStrings().get(0)[0], "first");
+            reader.next();
+        }
+    }
+
+    private static ResultSet mockResultSet(final int... columnTypes) throws SQLException {
+        final ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(metaData.getColumnCount()).thenReturn(columnTypes.length);
+        for (int i = 0; i < columnTypes.length; i++) {
+            when(metaData.getColumnType(i + 1)).thenReturn(columnTypes[i]);
+        }
+        final ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        return resultSet;
+    }
+
+    /**
+     * Test that an empty result set produces no batches.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testEmptyResult() throws Exception {
+        System.out.println("testEmptyResult");
+
+        createTable(0);
+        final List<Integer> batchSizes = new ArrayList<>();
+        assertEquals(readAll("select id from item", 10, batchSizes).size(), 0);
+        assertEquals(batchSizes.size(), 0);
+    }
+
+    /**
+     * Test that closing the reader before the result set has been read stops
+     * the background thread before the result set is closed.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testCloseEarly() throws Exception {
+        System.out.println("testCloseEarly");
+
+        createTable(1000);
+        try (final Connection dbConnection = connection.getConnection("", "");
+                final PreparedStatement ps = dbConnection.prepareStatement("select id from item order by id");
+                final ResultSet rs = ps.executeQuery()) {
+            try (final ResultSetBatchReader reader = new ResultSetBatchReader(rs, 1)) {
+                assertEquals(reader.next().getRows().get(0)[0], 0);
+                assertEquals(reader.next().getFirstRowIndex(), 1);
+            }
+            assertFalse(rs.isClosed());
+        }
+    }
+
+    /**
+     * Test that typed values are stored on the graph with the same result as
+     * the equivalent strings.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSetTypedValues() throws Exception {
+        System.out.println("testSetTypedValues");
+
+        createTable(11);
+        final List<String[]> strings = new ArrayList<>();
+        final List<Object[]> rows = readAll("select id, name, weight, big from item order by id", 100, new ArrayList<>(), strings);
+
+        final StoreGraph graph = new StoreGraph();
+        final int idAttribute = graph.addAttribute(GraphElementType.VERTEX, IntegerAttributeDescription.ATTRIBUTE_NAME, "id", null, null, null);
+        final int nameAttribute = graph.addAttribute(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "name", null, null, null);
+        final int weightAttribute = graph.addAttribute(GraphElementType.VERTEX, FloatAttributeDescription.ATTRIBUTE_NAME, "weight", null, null, null);
+        final int bigAttribute = graph.addAttribute(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "big", null, null, null);
+
+        final List<ImportAttributeDefinition> definitions = List.of(
+                definition(graph, idAttribute, 0),
+                definition(graph, nameAttribute, 1),
+                definition(graph, weightAttribute, 2),
+                definition(graph, bigAttribute, 3));
+
+        for (int i = 0; i < rows.size(); i++) {
+            final int typedVertex = graph.addVertex();
+            final int stringVertex = graph.addVertex();
+            for (final ImportAttributeDefinition definition : definitions) {
+                definition.setValue(graph, typedVertex, rows.get(i), strings.get(i), i);
+                definition.setValue(graph, stringVertex, strings.get(i), i);
+            }
+            for (final int attribute : new int[]{idAttribute, nameAttribute, weightAttribute, bigAttribute}) {
+                assertEquals((Object) graph.getObjectValue(attribute, typedVertex), (Object) graph.getObjectValue(attribute, stringVertex));
+            }
+        }
+        assertEquals(graph.getIntValue(idAttribute, 3 * 2), 3);
+        assertEquals(graph.getFloatValue(weightAttribute, 3 * 2), 3.5F);
+        assertEquals(graph.getStringValue(bigAttribute, 3 * 2), "2147483650");
+    }
+
+    private static ImportAttributeDefinition definition(final StoreGraph graph, final int attribute, final int columnIndex) {
+        return new ImportAttributeDefinition(columnIndex, new GraphAttribute(graph, attribute), new DefaultAttributeTranslator(), null, null);
+    }
+}
@@ -22,6 +22,7 @@ import au.gov.asd.tac.constellation.graph.ReadableGraph;
 import au.gov.asd.tac.constellation.graph.file.GraphDataObject;
 import au.gov.asd.tac.constellation.graph.file.GraphObjectUtilities;
 import au.gov.asd.tac.constellation.graph.file.SaveNotification;
+import au.gov.asd.tac.constellation.graph.file.io.GraphColumnarWriter;
 import au.gov.asd.tac.constellation.graph.file.io.GraphJsonWriter;
 import au.gov.asd.tac.constellation.graph.file.nebula.NebulaDataObject;
 import au.gov.asd.tac.constellation.graph.file.save.AutosaveUtilities;
@@ -80,6 +81,7 @@ import au.gov.asd.tac.constellation.plugins.update.GraphUpdateController;
 import au.gov.asd.tac.constellation.plugins.update.GraphUpdateManager;
 import au.gov.asd.tac.constellation.plugins.update.UpdateComponent;
 import au.gov.asd.tac.constellation.plugins.update.UpdateController;
+import au.gov.asd.tac.constellation.preferences.ApplicationPreferenceKeys;
 import au.gov.asd.tac.constellation.utilities.file.FileExtensionConstants;
 import au.gov.asd.tac.constellation.utilities.gui.HandleIoProgress;
 import au.gov.asd.tac.constellation.utilities.gui.NotifyDisplayer;
@@ -163,6 +165,7 @@ import org.openide.util.HelpCtx;
 import org.openide.util.ImageUtilities;
 import org.openide.util.Lookup;
 import org.openide.util.NbBundle;
+import org.openide.util.NbPreferences;
 import org.openide.util.lookup.AbstractLookup;
 import org.openide.util.lookup.InstanceContent;
 import org.openide.windows.CloneableTopComponent;
@@ -1248,8 +1251,12 @@ public final class VisualGraphTopComponent extends CloneableTopComponent impleme
                 final OutputStream outputStream = freshGdo.getPrimaryFile().getOutputStream();
                 if (outputStream != null) {
                     try (final OutputStream out = new BufferedOutputStream(outputStream)) {
-                        // Write the graph.   
-                        cancelled = new GraphJsonWriter().writeGraphToZip(copy, out, new HandleIoProgress("Writing..."));
+                        // Write the graph.
+                        final boolean columnar = NbPreferences.forModule(ApplicationPreferenceKeys.class)
+                                .getBoolean(ApplicationPreferenceKeys.SAVE_COLUMNAR_GRAPH_FILES, ApplicationPreferenceKeys.SAVE_COLUMNAR_GRAPH_FILES_DEFAULT);
+                        cancelled = columnar
+                                ? new GraphColumnarWriter().writeGraphToZip(copy, out, new HandleIoProgress("Writing..."))
+                                : new GraphJsonWriter().writeGraphToZip(copy, out, new HandleIoProgress("Writing..."));
                     }
 
                     outputStream.close();
@@ -18,7 +18,9 @@ package au.gov.asd.tac.constellation.graph.interaction.plugins.io;
 import au.gov.asd.tac.constellation.graph.Graph;
 import au.gov.asd.tac.constellation.graph.GraphReadMethods;
 import au.gov.asd.tac.constellation.graph.ReadableGraph;
+import au.gov.asd.tac.constellation.graph.file.io.GraphColumnarWriter;
 import au.gov.asd.tac.constellation.graph.file.io.GraphJsonWriter;
+import au.gov.asd.tac.constellation.graph.file.save.AutosaveJournal;
 import au.gov.asd.tac.constellation.graph.file.save.AutosaveUtilities;
 import au.gov.asd.tac.constellation.graph.node.GraphNode;
 import au.gov.asd.tac.constellation.graph.processing.GraphRecordStoreUtilities;
@@ -53,6 +55,10 @@ import org.openide.util.lookup.ServiceProvider;
  * Autosave a single graph.
  * <p>
  * The caller has to go through the graphs and pass them one by one.
+ * <p>
+ * Most autosaves only append the edits made since the previous autosave to the
+ * graph's {@link AutosaveJournal}; the whole graph is saved as a checkpoint
+ * from time to time, or when the journal can not record the changes.
  *
  * @author algol
  */
@@ -73,29 +79,48 @@ public final class AutosaveGraphPlugin extends SimplePlugin {
         if (gnode != null) {
             interaction.setProgress(-1, -1, "Autosaving: " + graphId, true, parameters);
 
-            // We don't want to hold the user up while we're reading from a graph they might be using.
-            // Make a copy of the graph so that we can release the read lock as soon as possible.
-            GraphReadMethods copy;
-            try (final ReadableGraph rg = graph.getReadableGraph()) {
-                copy = rg.copy();
-            }
-
-            interaction.setProgress(1, 0, "Finished", true);
-
             final File saveDir = AutosaveUtilities.getAutosaveDir();
 
             try {
                 final String gname = graph.getId() + FileExtensionConstants.STAR;
-                StatusDisplayer.getDefault().setStatusText(String.format("Auto saving %s as %s at %s...", graphId, gname, new Date()));
                 final File saveFile = new File(saveDir, gname);
-                new GraphJsonWriter().writeGraphToZip(copy, saveFile.getPath(), new HandleIoProgress("Autosaving..."));
 
-                ConstellationLoggerHelper.exportPropertyBuilder(
-                        this,
-                        GraphRecordStoreUtilities.getVertices(copy, false, false, false).getAll(GraphRecordStoreUtilities.SOURCE + VisualConcept.VertexAttribute.LABEL),
-                        saveFile,
-                        ConstellationLoggerHelper.SUCCESS
-                );
+                // Append the edits made since the last autosave to the journal if we can,
+                // otherwise save the whole graph as a new checkpoint.
+                final AutosaveJournal journal = AutosaveJournal.getJournal(graph);
+                if (journal != null && !journal.isCheckpointDue(saveFile) && journal.append(saveFile)) {
+                    interaction.setProgress(1, 0, "Finished", true);
+                    StatusDisplayer.getDefault().setStatusText(String.format("Auto saved changes to %s as %s at %s", graphId, gname, new Date()));
+                } else {
+                    final long epoch = journal != null ? journal.startCheckpoint() : 0;
+
+                    // We don't want to hold the user up while we're reading from a graph they might be using.
+                    // Make a copy of the graph so that we can release the read lock as soon as possible.
+                    final GraphReadMethods copy;
+                    final long modificationCounter;
+                    try (final ReadableGraph rg = graph.getReadableGraph()) {
+                        copy = rg.copy();
+                        modificationCounter = rg.getGlobalModificationCounter();
+                    }
+
+                    interaction.setProgress(1, 0, "Finished", true);
+
+                    StatusDisplayer.getDefault().setStatusText(String.format("Auto saving %s as %s at %s...", graphId, gname, new Date()));
+                    if (journal != null) {
+                        // The journal is replayed against the ids in the checkpoint, which the columnar format keeps.
+                        new GraphColumnarWriter().writeGraphToZip(copy, saveFile.getPath(), new HandleIoProgress("Autosaving..."));
+                        journal.finishCheckpoint(saveFile, epoch, modificationCounter);
+                    } else {
+                        new GraphJsonWriter().writeGraphToZip(copy, saveFile.getPath(), new HandleIoProgress("Autosaving..."));
+                    }
+
+                    ConstellationLoggerHelper.exportPropertyBuilder(
+                            this,
+                            GraphRecordStoreUtilities.getVertices(copy, false, false, false).getAll(GraphRecordStoreUtilities.SOURCE + VisualConcept.VertexAttribute.LABEL),
+                            saveFile,
+                            ConstellationLoggerHelper.SUCCESS
+                    );
+                }
 
                 final Properties p = new Properties();
                 p.setProperty(AutosaveUtilities.ID, graph.getId());
@@ -16,9 +16,9 @@
 package au.gov.asd.tac.constellation.graph.interaction.plugins.io;
 
 import au.gov.asd.tac.constellation.graph.Graph;
-import au.gov.asd.tac.constellation.graph.file.io.GraphJsonReader;
 import au.gov.asd.tac.constellation.graph.file.io.GraphParseException;
 import au.gov.asd.tac.constellation.graph.file.opener.GraphOpener;
+import au.gov.asd.tac.constellation.graph.file.save.AutosaveJournal;
 import au.gov.asd.tac.constellation.graph.file.save.AutosaveUtilities;
 import au.gov.asd.tac.constellation.utilities.file.FileExtensionConstants;
 import au.gov.asd.tac.constellation.utilities.gui.HandleIoProgress;
@@ -86,10 +86,10 @@ public final class AutosaveStartup implements Runnable {
                                     // Load the autosaved graph away from the EDT.
                                     final String loading = String.format("Loading autosaved graph %s", name);
                                     try {
-                                        // Remove the "_auto" from the end and load the matching graph.
+                                        // Remove the "_auto" from the end and load the matching graph, replaying its journal.
                                         String path = f.getPath();
                                         path = path.substring(0, path.length() - 5);
-                                        final Graph g = new GraphJsonReader().readGraphZip(new File(path), new HandleIoProgress(loading));
+                                        final Graph g = AutosaveJournal.readAutosave(new File(path), new HandleIoProgress(loading));
                                         GraphOpener.getDefault().openGraph(g, name, false);
 
                                         AutosaveUtilities.deleteAutosave(f);
@@ -116,6 +116,33 @@ public class BitMaskQuery {
             return original; // No change for inactive query
         }        
     }
+
+    /**
+     * Set the bit for this query in the bitmap of every element that matches
+     * the query. This gives the same result as calling
+     * {@link #combineBitmap(long)} for each element in turn, but evaluates the
+     * query for all elements at once.
+     *
+     * @param graph the graph the query was last updated with.
+     * @param bitmaps the bitmap of each element, indexed by element position.
+     */
+    public void combineBitmaps(final GraphReadMethods graph, final long[] bitmaps) {
+        if (result == null) {
+            return;
+        }
+        final long[] matches = query.evaluate(graph);
+        if (matches == null) {
+            return;
+        }
+        final long queryBit = (long) Math.pow(2.0, bitIndex);
+        for (int word = 0; word < matches.length; word++) {
+            long bits = matches[word];
+            while (bits != 0) {
+                bitmaps[(word << 6) + Long.numberOfTrailingZeros(bits)] |= queryBit;
+                bits &= bits - 1;
+            }
+        }
+    }
     
     protected void setIndex(final int i) {
         this.bitIndex = i;
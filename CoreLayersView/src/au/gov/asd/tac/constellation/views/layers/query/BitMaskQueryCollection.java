@@ -202,6 +202,24 @@ public class BitMaskQueryCollection {
         }
         return resultingBitmap;        
     }
+
+    /**
+     * Evaluate the queries which need updating for every element in the graph.
+     * The result for each element is the same as calling
+     * {@link #updateQueryBitmap(long)} with a bit mask of zero for that
+     * element.
+     *
+     * @param graph
+     * @return the combined query bitmap of each element, indexed by element
+     * position
+     */
+    private long[] updateQueryBitmaps(final GraphReadMethods graph) {
+        final long[] bitmaps = new long[elementType.getElementCount(graph)];
+        for (final BitMaskQuery updateQuery : updateQueries) {
+            updateQuery.combineBitmaps(graph, bitmaps);
+        }
+        return bitmaps;
+    }
     
     /**
      * Update the overall bit mask attribute and the attribute for which queries are currently active
@@ -212,12 +230,11 @@ public class BitMaskQueryCollection {
      */
     public void updateBitMasks(final GraphWriteMethods graph, final int bitMaskAttributeId, final int visibleAttributeId, final boolean unionMode) {
         if (this.update(graph)) {
-            final int elementCount = elementType.getElementCount(graph);
-            for (int position = 0; position < elementCount; position++) {
+            final long[] queryBitmaps = updateQueryBitmaps(graph);
+            for (int position = 0; position < queryBitmaps.length; position++) {
                 final int elementId = elementType.getElement(graph, position);
-                index.writeInt(elementId);
                 final long bitMask = graph.getLongValue(bitMaskAttributeId, elementId);
-                final long queryCombinedBitMask = updateQueryBitmap(bitMask) & activeQueriesBitMask;
+                final long queryCombinedBitMask = (bitMask | queryBitmaps[position]) & activeQueriesBitMask;
                 final long unionResult = bitMask & activeQueriesBitMask;
                 if (unionMode) {
                     graph.setFloatValue(visibleAttributeId, elementId, (unionResult == 0 && queryCombinedBitMask == 0)? 0.0F : 1.0F); // union logic - accepts any match
@@ -239,12 +256,10 @@ public class BitMaskQueryCollection {
         if (this.update(graph)) {
             final int selectedElementID = isVertex ? VisualConcept.VertexAttribute.SELECTED.get(graph) : VisualConcept.TransactionAttribute.SELECTED.get(graph);
 
-            final int elementCount = elementType.getElementCount(graph);
-            for (int position = 0; position < elementCount; position++) {
+            final long[] queryBitmaps = updateQueryBitmaps(graph);
+            for (int position = 0; position < queryBitmaps.length; position++) {
                 final int elementId = elementType.getElement(graph, position);
-                index.writeInt(elementId);
-                final long queryCombinedBitMask = updateQueryBitmap(0);
-                if (queryCombinedBitMask > 0) {
+                if (queryBitmaps[position] > 0) {
                     graph.setBooleanValue(selectedElementID, elementId, isSelected); 
                 }
             }
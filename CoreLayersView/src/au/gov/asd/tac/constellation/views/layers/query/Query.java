@@ -18,11 +18,15 @@ package au.gov.asd.tac.constellation.views.layers.query;
 import au.gov.asd.tac.constellation.graph.Graph;
 import au.gov.asd.tac.constellation.graph.GraphElementType;
 import au.gov.asd.tac.constellation.graph.GraphReadMethods;
+import au.gov.asd.tac.constellation.graph.value.Access;
 import au.gov.asd.tac.constellation.graph.value.Operators;
+import au.gov.asd.tac.constellation.graph.value.expression.ExpressionBatchEvaluator;
 import au.gov.asd.tac.constellation.graph.value.expression.ExpressionCompiler;
+import au.gov.asd.tac.constellation.graph.value.expression.ExpressionKernelCompiler;
 import au.gov.asd.tac.constellation.graph.value.expression.ExpressionParser;
 import au.gov.asd.tac.constellation.graph.value.expression.ExpressionParser.SequenceExpression;
 import au.gov.asd.tac.constellation.graph.value.expression.VariableProvider;
+import au.gov.asd.tac.constellation.graph.value.readables.BooleanReadable;
 import au.gov.asd.tac.constellation.graph.value.readables.IntReadable;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -40,6 +44,9 @@ public class Query {
 
     private int[] attributeIds = null;
 
+    // the last expression that compiled successfully
+    private SequenceExpression compiledExpression = null;
+
     public Query(final GraphElementType elementType, final String queryString) {
         this.elementType = elementType;
         this.queryString = queryString;
@@ -59,6 +66,9 @@ public class Query {
         final GraphVariableProvider variableProvider = new GraphVariableProvider(graph, elementType);
 
         final Object result = ExpressionCompiler.compileSequenceExpression(expression, variableProvider, index, Operators.getDefault());
+        if (result != null) {
+            compiledExpression = expression;
+        }
 
         attributeIds = variableProvider.getAttributeIds();
         final long[] valueModificationCounters = new long[attributeIds.length];
@@ -69,6 +79,36 @@ public class Query {
         return result;
     }
 
+    /**
+     * Evaluate the query for every element in the graph.
+     * <p>
+     * The query is compiled into type-specialised kernels by the
+     * {@link ExpressionKernelCompiler} where possible, falling back to the
+     * {@link ExpressionCompiler} otherwise, and is evaluated in parallel over
+     * blocks of elements. The query must have been successfully compiled by
+     * {@link #compile} first.
+     *
+     * @param graph the graph to evaluate the query against.
+     * @return a bit set indexed by element position, see
+     * {@link ExpressionBatchEvaluator#evaluate}, or null if the query has not
+     * been compiled.
+     */
+    public long[] evaluate(final GraphReadMethods graph) {
+        final SequenceExpression expression = compiledExpression;
+        if (expression == null) {
+            return null;
+        }
+
+        return ExpressionBatchEvaluator.evaluate(elementType.getElementCount(graph), position -> elementType.getElement(graph, position), index -> {
+            final BooleanReadable kernel = ExpressionKernelCompiler.compile(expression, new GraphVariableProvider(graph, elementType), index);
+            if (kernel != null) {
+                return kernel;
+            }
+            final Object result = ExpressionCompiler.compileSequenceExpression(expression, new GraphVariableProvider(graph, elementType), index, Operators.getDefault());
+            return result == null ? null : Access.getDefault().getRegistry(BooleanReadable.class).convert(result);
+        });
+    }
+
     public int[] getAttributeIds() {
         return attributeIds.clone();
     }
@@ -20,6 +20,7 @@ import au.gov.asd.tac.constellation.views.mapview.markers.ConstellationAbstractM
 import de.fhpotsdam.unfolding.geo.Location;
 import de.fhpotsdam.unfolding.marker.Marker;
 import de.fhpotsdam.unfolding.utils.ScreenPosition;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 import processing.core.PConstants;
@@ -40,6 +41,9 @@ public abstract class AbstractHeatmapLayer extends MapLayer {
     private int onScreenMarkerCount = 0;
     private float prevCentreX = 0;
     private float prevCentreY = 0;
+    private int cachedWidth = 0;
+    private float[] cachedPointImage = null;
+    private float[] cachedGaussImage = null;
 
     @Override
     public boolean requiresUpdate() {
@@ -67,7 +71,7 @@ public abstract class AbstractHeatmapLayer extends MapLayer {
     }
 
     @Override
-    public PImage update() {
+    public synchronized PImage update() {
         // update on screen markers
         final ScreenPosition topLeft = map.getScreenPosition(map.getTopLeftBorder());
         final ScreenPosition bottomRight = map.getScreenPosition(map.getBottomRightBorder());
@@ -110,11 +114,18 @@ public abstract class AbstractHeatmapLayer extends MapLayer {
             }
         });
 
-        // generate gaussian blur around points
-        final float[] gaussImage = new float[width * height];
-        GaussianBlur.gaussianBlurBox(pointImage, gaussImage,
-                width, height, RADIUS, PASSES, GaussianBlur.BoxBlurType.FASTEST);
+        // generate gaussian blur around points, which only changes when the
+        // viewport or the markers move
+        if (width != cachedWidth || !Arrays.equals(pointImage, cachedPointImage)) {
+            cachedGaussImage = new float[width * height];
+            GaussianBlur.gaussianBlurBox(pointImage, cachedGaussImage,
+                    width, height, RADIUS, PASSES, GaussianBlur.BoxBlurType.PARALLEL);
+            cachedPointImage = pointImage;
+            cachedWidth = width;
+        }
 
+        // colorise a copy of the blur, since colorising normalises it
+        final float[] gaussImage = Arrays.copyOf(cachedGaussImage, cachedGaussImage.length);
         final PImage heatmapImage = renderer.createImage(width, height, PConstants.ARGB);
         heatmapImage.loadPixels();
         GaussianBlur.colorise(gaussImage, heatmapImage.pixels, THRESHOLD, SEVERITY);
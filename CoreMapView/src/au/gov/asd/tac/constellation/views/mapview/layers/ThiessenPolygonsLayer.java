@@ -16,14 +16,13 @@
 package au.gov.asd.tac.constellation.views.mapview.layers;
 
 import au.gov.asd.tac.constellation.utilities.color.ConstellationColor;
+import au.gov.asd.tac.constellation.utilities.image.VoronoiRasteriser;
 import au.gov.asd.tac.constellation.views.mapview.utilities.MarkerUtilities;
 import de.fhpotsdam.unfolding.marker.Marker;
 import de.fhpotsdam.unfolding.utils.ScreenPosition;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-import org.eclipse.collections.api.map.primitive.MutableObjectIntMap;
-import org.eclipse.collections.impl.map.mutable.primitive.ObjectIntHashMap;
+import java.util.stream.IntStream;
 import org.openide.util.lookup.ServiceProvider;
 import processing.core.PConstants;
 import processing.core.PImage;
@@ -36,6 +35,11 @@ import processing.core.PImage;
 public class ThiessenPolygonsLayer extends MapLayer {
 
     private int onScreenMarkerCount = 0;
+    private int cachedWidth = 0;
+    private int cachedHeight = 0;
+    private int[] cachedSiteX = null;
+    private int[] cachedSiteY = null;
+    private int[] cachedClosestMarkers = null;
 
     @Override
     public String getName() {
@@ -61,7 +65,7 @@ public class ThiessenPolygonsLayer extends MapLayer {
     }
 
     @Override
-    public PImage update() {
+    public synchronized PImage update() {
         // update on screen markers
         final ScreenPosition topLeft = map.getScreenPosition(map.getTopLeftBorder());
         final ScreenPosition bottomRight = map.getScreenPosition(map.getBottomRightBorder());
@@ -84,59 +88,43 @@ public class ThiessenPolygonsLayer extends MapLayer {
             return null;
         }
 
-        // map markers to screen positions
-        final Map<Marker, ScreenPosition> positionMap = onScreenMarkers.stream()
-                .collect(Collectors.toMap(marker -> marker,
-                        marker -> map.getScreenPosition(marker.getLocation()),
-                        (marker1, marker2) -> marker1));
-
-        // map markers to colors
-        final ConstellationColor[] palette = ConstellationColor.createPalette(onScreenMarkerCount);
-        final MutableObjectIntMap<Marker> paletteMap = new ObjectIntHashMap<>();
-        onScreenMarkers.forEach(marker -> paletteMap.put(marker,
-                MarkerUtilities.color(palette[onScreenMarkers.indexOf(marker)])));
-
+        // find the pixel of each marker, keeping it inside the image
         final int width = renderer.width - 5;
         final int height = renderer.height - 5;
-        final PImage voronoiImage = renderer.createImage(width, height, PConstants.ARGB);
-        voronoiImage.loadPixels();
+        final int[] siteX = new int[onScreenMarkerCount];
+        final int[] siteY = new int[onScreenMarkerCount];
+        for (int i = 0; i < onScreenMarkerCount; i++) {
+            final ScreenPosition markerPosition = map.getScreenPosition(onScreenMarkers.get(i).getLocation());
+            siteX[i] = Math.clamp((int) markerPosition.x, 0, width - 1);
+            siteY[i] = Math.clamp((int) markerPosition.y, 0, height - 1);
+        }
 
-        for (int pixelIndex = 0; pixelIndex < voronoiImage.pixels.length; pixelIndex++) {
-            // find the closest marker to this pixel
-            final ScreenPosition pixelPosition = pixelPosition(pixelIndex, width, height);
-            Marker closestMarker = null;
-            for (final Marker marker : onScreenMarkers) {
-                if (closestMarker == null) {
-                    closestMarker = marker;
-                } else {
-                    final ScreenPosition markerPosition = positionMap.get(marker);
-                    final ScreenPosition closestMarkerPosition = positionMap.get(closestMarker);
-                    if (markerPosition != null && closestMarkerPosition != null
-                            && euclidianDistance((int) pixelPosition.x, (int) pixelPosition.y, (int) markerPosition.x, (int) markerPosition.y)
-                            < euclidianDistance((int) pixelPosition.x, (int) pixelPosition.y, (int) closestMarkerPosition.x, (int) closestMarkerPosition.y)) {
-                        closestMarker = marker;
-                    }
-                }
-            }
+        // find the closest marker to each pixel, which only changes when the
+        // viewport or the markers move
+        if (width != cachedWidth || height != cachedHeight
+                || !Arrays.equals(siteX, cachedSiteX) || !Arrays.equals(siteY, cachedSiteY)) {
+            cachedClosestMarkers = VoronoiRasteriser.rasterise(siteX, siteY, width, height);
+            cachedSiteX = siteX;
+            cachedSiteY = siteY;
+            cachedWidth = width;
+            cachedHeight = height;
+        }
+        final int[] closestMarkers = cachedClosestMarkers;
 
-            // color this pixel based on its closest marker
-            if (closestMarker != null && paletteMap.containsKey(closestMarker)) {
-                voronoiImage.pixels[pixelIndex] = paletteMap.get(closestMarker);
-            }
+        // map markers to colors
+        final ConstellationColor[] palette = ConstellationColor.createPalette(onScreenMarkerCount);
+        final int[] colors = new int[onScreenMarkerCount];
+        for (int i = 0; i < onScreenMarkerCount; i++) {
+            colors[i] = MarkerUtilities.color(palette[i]);
         }
 
+        // color each pixel based on its closest marker
+        final PImage voronoiImage = renderer.createImage(width, height, PConstants.ARGB);
+        voronoiImage.loadPixels();
+        IntStream.range(0, closestMarkers.length).parallel()
+                .forEach(pixelIndex -> voronoiImage.pixels[pixelIndex] = colors[closestMarkers[pixelIndex]]);
         voronoiImage.updatePixels();
-        return voronoiImage;
-    }
 
-    private ScreenPosition pixelPosition(final int pixel, final int width, final int height) {
-        if (pixel > width * height) {
-            throw new IllegalArgumentException("pixel is outside of the image bounds");
-        }
-        return new ScreenPosition(Math.floorMod(pixel, width), Math.floorDiv(pixel, width));
-    }
-
-    private double euclidianDistance(final int x1, final int y1, final int x2, final int y2) {
-        return Math.sqrt(Math.pow((x2 - x1), 2) + Math.pow((y2 - y1), 2));
+        return voronoiImage;
     }
 }
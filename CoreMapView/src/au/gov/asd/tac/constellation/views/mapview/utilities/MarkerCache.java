@@ -39,18 +39,13 @@ import de.fhpotsdam.unfolding.data.GeoJSONReader;
 import de.fhpotsdam.unfolding.geo.Location;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import javax.swing.SwingUtilities;
-import org.apache.commons.math3.ml.clustering.Cluster;
-import org.apache.commons.math3.ml.clustering.DBSCANClusterer;
-import org.apache.commons.math3.ml.clustering.DoublePoint;
 import org.openide.util.Lookup;
 
 /**
@@ -68,10 +63,36 @@ public abstract class MarkerCache extends ObjectCache<ConstellationAbstractMarke
 
     protected final Object lock = new Object();
 
+    // clusters of every marker other than cluster markers, kept up to date as markers are added and removed
+    private final MarkerClusterIndex<ConstellationAbstractMarker> clusterIndex = new MarkerClusterIndex<>(CLUSTER_DISTANCE);
+
     public static MarkerCache getDefault() {
         return Lookup.getDefault().lookup(MarkerCache.class);
     }
 
+    @Override
+    public void add(final ConstellationAbstractMarker marker, final GraphElement element) {
+        super.add(marker, element);
+        if (!(marker instanceof ConstellationClusterMarker)) {
+            final Location location = marker.getLocation();
+            if (location != null) {
+                clusterIndex.add(marker, location.getLat(), location.getLon());
+            }
+        }
+    }
+
+    @Override
+    public Set<GraphElement> remove(final ConstellationAbstractMarker marker) {
+        clusterIndex.remove(marker);
+        return super.remove(marker);
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        clusterIndex.clear();
+    }
+
     public Set<ConstellationAbstractMarker> buildMarkers(final Graph graph, final ConstellationMarkerFactory markerFactory) {
         assert !SwingUtilities.isEventDispatchThread();
 
@@ -173,33 +194,18 @@ public abstract class MarkerCache extends ObjectCache<ConstellationAbstractMarke
 
         final Set<ConstellationClusterMarker> clusterMarkers = new HashSet<>();
         if (markerState.isShowClusterMarkers()) {
-            // generate points for clusters
-            final Map<DoublePoint, List<ConstellationAbstractMarker>> markerPoints = new HashMap<>();
-            cache.keySet().forEach(marker -> {
-                final DoublePoint point = new DoublePoint(
-                        new double[]{
-                            map.getScreenPosition(marker.getLocation()).x,
-                            map.getScreenPosition(marker.getLocation()).y});
-                if (!markerPoints.containsKey(point)) {
-                    markerPoints.put(point, new ArrayList<>());
-                }
-                markerPoints.get(point).add(marker);
-            });
-
-            // calculate new clusters
-            final DBSCANClusterer<DoublePoint> clusterer = new DBSCANClusterer<>(CLUSTER_DISTANCE, 0);
-            final List<Cluster<DoublePoint>> clusters = clusterer.cluster(markerPoints.keySet());
+            // find the precomputed clusters in view at the current zoom level
+            final Location topLeft = map.getTopLeftBorder();
+            final Location bottomRight = map.getBottomRightBorder();
+            final List<MarkerClusterIndex.Cluster<ConstellationAbstractMarker>> clusters = clusterIndex.getClusters(map.getZoomLevel(),
+                    topLeft.getLat(), topLeft.getLon(), bottomRight.getLat(), bottomRight.getLon());
 
             // build new cluster markers
             clusters.forEach(cluster -> {
                 try {
-                    final List<ConstellationAbstractMarker> markersInCluster = cluster.getPoints().stream()
-                            .map(markerPoints::get)
-                            .flatMap(List::stream)
-                            .toList();
                     final ConstellationClusterMarker clusterMarker = new ConstellationClusterMarker();
                     clusterMarker.setColor(MarkerUtilities.DEFAULT_CLUSTER_COLOR);
-                    clusterMarker.setMarkers(markersInCluster);
+                    clusterMarker.setMarkers(cluster.getItems());
                     clusterMarkers.add(clusterMarker);
                     add(clusterMarker, GraphElement.NON_ELEMENT);
                 } catch (final Exception ex) {
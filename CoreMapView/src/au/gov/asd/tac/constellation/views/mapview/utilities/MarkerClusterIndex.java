@@ -0,0 +1,376 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.views.mapview.utilities;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A hierarchy of geographic clusters, with one level for each zoom level of
+ * the map, so that the clusters within a viewport can be found without
+ * clustering every item again each time the map is panned or zoomed.
+ * <p>
+ * Items are positioned in normalised Web Mercator coordinates, where the whole
+ * world spans 0 to 1 in each direction. At each zoom level, an item joins the
+ * nearest cluster whose centre is within the cluster distance (in pixels at
+ * that zoom level), otherwise it starts a new cluster. The clusters of one
+ * zoom level are in turn clustered to form the level below, so each cluster
+ * has a single parent at the next lower zoom level. Each level keeps its
+ * clusters in a grid whose cells are as wide as the cluster distance, so
+ * finding a cluster near a point, or the clusters in a viewport, only
+ * examines a few cells.
+ * <p>
+ * Items can be added and removed one at a time, which only updates the
+ * clusters that contain them.
+ *
+ * @param <M> the type of the items being clustered.
+ *
+ * @author cygnus_x-1
+ */
+public class MarkerClusterIndex<M> {
+
+    public static final int MIN_ZOOM = 0;
+    public static final int MAX_ZOOM = 20;
+
+    private static final double TILE_SIZE = 256;
+    private static final double MAX_LATITUDE = 85.0511;
+
+    private final List<Level> levels = new ArrayList<>();
+    private final Map<M, Cluster<M>> leaves = new HashMap<>();
+
+    /**
+     * A cluster of items at a single zoom level, or a single item.
+     *
+     * @param <M> the type of the items being clustered.
+     */
+    public static final class Cluster<M> {
+
+        private final int zoom;
+        private final M item;
+        private final Set<Cluster<M>> children;
+        private Cluster<M> parent = null;
+        private double sumX = 0;
+        private double sumY = 0;
+        private int size = 0;
+        private double x;
+        private double y;
+        private List<M> items = null;
+
+        private Cluster(final int zoom, final M item, final double x, final double y) {
+            this.zoom = zoom;
+            this.item = item;
+            this.children = item == null ? new HashSet<>() : null;
+            this.x = x;
+            this.y = y;
+        }
+
+        /**
+         * Returns the number of items in this cluster.
+         *
+         * @return the number of items in this cluster.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the items in this cluster.
+         *
+         * @return an unmodifiable list of the items in this cluster.
+         */
+        public List<M> getItems() {
+            if (items == null) {
+                final List<M> collected = new ArrayList<>(size);
+                collectItems(this, collected);
+                items = Collections.unmodifiableList(collected);
+            }
+            return items;
+        }
+
+        private static <M> void collectItems(final Cluster<M> cluster, final List<M> collected) {
+            if (cluster.item != null) {
+                collected.add(cluster.item);
+            } else {
+                cluster.children.forEach(child -> collectItems(child, collected));
+            }
+        }
+
+        /**
+         * Returns the latitude of the centre of this cluster.
+         *
+         * @return the latitude of the centre of this cluster.
+         */
+        public double getLatitude() {
+            return Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * y))));
+        }
+
+        /**
+         * Returns the longitude of the centre of this cluster.
+         *
+         * @return the longitude of the centre of this cluster.
+         */
+        public double getLongitude() {
+            return x * 360 - 180;
+        }
+    }
+
+    /**
+     * The clusters at a single zoom level, held in a grid.
+     */
+    private final class Level {
+
+        private final double radius;
+        private final Map<Long, List<Cluster<M>>> cells = new HashMap<>();
+
+        private Level(final double radius) {
+            this.radius = radius;
+        }
+
+        private long cell(final double x, final double y) {
+            return ((long) Math.floor(x / radius) << 32) | ((long) Math.floor(y / radius) & 0xFFFFFFFFL);
+        }
+
+        private void add(final Cluster<M> cluster) {
+            cells.computeIfAbsent(cell(cluster.x, cluster.y), k -> new ArrayList<>()).add(cluster);
+        }
+
+        private void remove(final Cluster<M> cluster, final double x, final double y) {
+            final long key = cell(x, y);
+            final List<Cluster<M>> cell = cells.get(key);
+            cell.remove(cluster);
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+
+        private Cluster<M> findNearest(final double x, final double y) {
+            final long cx = (long) Math.floor(x / radius);
+            final long cy = (long) Math.floor(y / radius);
+            Cluster<M> nearest = null;
+            double nearestDistance = radius * radius;
+            for (long i = cx - 1; i <= cx + 1; i++) {
+                for (long j = cy - 1; j <= cy + 1; j++) {
+                    final List<Cluster<M>> cell = cells.get((i << 32) | (j & 0xFFFFFFFFL));
+                    if (cell != null) {
+                        for (final Cluster<M> cluster : cell) {
+                            final double distance = (cluster.x - x) * (cluster.x - x) + (cluster.y - y) * (cluster.y - y);
+                            if (distance <= nearestDistance) {
+                                nearest = cluster;
+                                nearestDistance = distance;
+                            }
+                        }
+                    }
+                }
+            }
+            return nearest;
+        }
+
+        private void find(final double minX, final double minY, final double maxX, final double maxY, final List<Cluster<M>> found) {
+            final long minCellX = (long) Math.floor(minX / radius);
+            final long maxCellX = (long) Math.floor(maxX / radius);
+            final long minCellY = (long) Math.floor(minY / radius);
+            final long maxCellY = (long) Math.floor(maxY / radius);
+            if ((maxCellX - minCellX + 1) * (maxCellY - minCellY + 1) > cells.size()) {
+                cells.values().forEach(cell -> addInside(cell, minX, minY, maxX, maxY, found));
+            } else {
+                for (long i = minCellX; i <= maxCellX; i++) {
+                    for (long j = minCellY; j <= maxCellY; j++) {
+                        final List<Cluster<M>> cell = cells.get((i << 32) | (j & 0xFFFFFFFFL));
+                        if (cell != null) {
+                            addInside(cell, minX, minY, maxX, maxY, found);
+                        }
+                    }
+                }
+            }
+        }
+
+        private void addInside(final List<Cluster<M>> cell, final double minX, final double minY, final double maxX, final double maxY, final List<Cluster<M>> found) {
+            for (final Cluster<M> cluster : cell) {
+                if (cluster.x >= minX && cluster.x <= maxX && cluster.y >= minY && cluster.y <= maxY) {
+                    found.add(cluster);
+                }
+            }
+        }
+    }
+
+    /**
+     * Create a new MarkerClusterIndex.
+     *
+     * @param clusterDistance the distance in pixels within which items are
+     * clustered at each zoom level.
+     */
+    public MarkerClusterIndex(final double clusterDistance) {
+        for (int zoom = MIN_ZOOM; zoom <= MAX_ZOOM; zoom++) {
+            levels.add(new Level(clusterDistance / (TILE_SIZE * Math.pow(2, zoom))));
+        }
+    }
+
+    private static double toX(final double longitude) {
+        final double x = longitude / 360 + 0.5;
+        return Math.min(Math.max(x, 0), 1);
+    }
+
+    private static double toY(final double latitude) {
+        final double sin = Math.sin(Math.toRadians(Math.min(Math.max(latitude, -MAX_LATITUDE), MAX_LATITUDE)));
+        return 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+    }
+
+    private Level getLevel(final int zoom) {
+        return levels.get(Math.min(Math.max(zoom, MIN_ZOOM), MAX_ZOOM) - MIN_ZOOM);
+    }
+
+    /**
+     * Returns the number of items in the index.
+     *
+     * @return the number of items in the index.
+     */
+    public synchronized int size() {
+        return leaves.size();
+    }
+
+    /**
+     * Adds an item to the index. An item that is already in the index is left
+     * where it is.
+     *
+     * @param item the item to add.
+     * @param latitude the latitude of the item.
+     * @param longitude the longitude of the item.
+     */
+    public synchronized void add(final M item, final double latitude, final double longitude) {
+        if (leaves.containsKey(item)) {
+            return;
+        }
+        final double x = toX(longitude);
+        final double y = toY(latitude);
+        final Cluster<M> leaf = new Cluster<>(MAX_ZOOM + 1, item, x, y);
+        leaf.sumX = x;
+        leaf.sumY = y;
+        leaf.size = 1;
+        leaves.put(item, leaf);
+
+        // Work down from the highest zoom level, starting new clusters until
+        // the item is close enough to join an existing one.
+        Cluster<M> child = leaf;
+        for (int zoom = MAX_ZOOM; zoom >= MIN_ZOOM; zoom--) {
+            final Level level = getLevel(zoom);
+            Cluster<M> cluster = level.findNearest(x, y);
+            final boolean joined = cluster != null;
+            if (!joined) {
+                cluster = new Cluster<>(zoom, null, x, y);
+                level.add(cluster);
+            }
+            cluster.children.add(child);
+            child.parent = cluster;
+            if (joined) {
+                break;
+            }
+            child = cluster;
+        }
+
+        for (Cluster<M> ancestor = leaf.parent; ancestor != null; ancestor = ancestor.parent) {
+            update(ancestor, x, y, 1);
+        }
+    }
+
+    /**
+     * Removes an item from the index.
+     *
+     * @param item the item to remove.
+     */
+    public synchronized void remove(final M item) {
+        final Cluster<M> leaf = leaves.remove(item);
+        if (leaf == null) {
+            return;
+        }
+
+        // Detach the item, and any clusters that it leaves empty.
+        Cluster<M> child = leaf;
+        Cluster<M> ancestor = leaf.parent;
+        while (ancestor != null) {
+            ancestor.children.remove(child);
+            if (!ancestor.children.isEmpty()) {
+                break;
+            }
+            getLevel(ancestor.zoom).remove(ancestor, ancestor.x, ancestor.y);
+            child = ancestor;
+            ancestor = ancestor.parent;
+        }
+
+        for (; ancestor != null; ancestor = ancestor.parent) {
+            update(ancestor, -leaf.x, -leaf.y, -1);
+        }
+    }
+
+    /**
+     * Removes every item from the index.
+     */
+    public synchronized void clear() {
+        leaves.clear();
+        for (final Level level : levels) {
+            level.cells.clear();
+        }
+    }
+
+    /**
+     * Add an item's position to a cluster, or remove it, and move the cluster
+     * to the grid cell of its new centre.
+     */
+    private void update(final Cluster<M> cluster, final double dx, final double dy, final int dsize) {
+        final double oldX = cluster.x;
+        final double oldY = cluster.y;
+        cluster.sumX += dx;
+        cluster.sumY += dy;
+        cluster.size += dsize;
+        cluster.x = cluster.sumX / cluster.size;
+        cluster.y = cluster.sumY / cluster.size;
+        cluster.items = null;
+
+        final Level level = getLevel(cluster.zoom);
+        if (level.cell(oldX, oldY) != level.cell(cluster.x, cluster.y)) {
+            level.remove(cluster, oldX, oldY);
+            level.add(cluster);
+        }
+    }
+
+    /**
+     * Returns the clusters at a zoom level whose centres are within a
+     * viewport. The viewport is extended by the cluster distance so that
+     * clusters just outside it, which may still be partly visible, are
+     * included.
+     *
+     * @param zoom the zoom level, which is limited to the range
+     * {@link #MIN_ZOOM} to {@link #MAX_ZOOM}.
+     * @param north the latitude of the top of the viewport.
+     * @param west the longitude of the left of the viewport.
+     * @param south the latitude of the bottom of the viewport.
+     * @param east the longitude of the right of the viewport.
+     * @return the clusters within the viewport.
+     */
+    public synchronized List<Cluster<M>> getClusters(final int zoom, final double north, final double west, final double south, final double east) {
+        final Level level = getLevel(zoom);
+        final List<Cluster<M>> found = new ArrayList<>();
+        level.find(toX(west) - level.radius, toY(north) - level.radius, toX(east) + level.radius, toY(south) + level.radius, found);
+
+        // Collect the items now, while the clusters can not change.
+        found.forEach(Cluster::getItems);
+        return found;
+    }
+}
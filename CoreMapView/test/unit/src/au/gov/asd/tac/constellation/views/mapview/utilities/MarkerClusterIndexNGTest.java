@@ -0,0 +1,116 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.views.mapview.utilities;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for MarkerClusterIndex.
+ *
+ * @author cygnus_x-1
+ */
+public class MarkerClusterIndexNGTest {
+
+    private static final double CLUSTER_DISTANCE = 80;
+
+    private static Set<String> getItems(final List<MarkerClusterIndex.Cluster<String>> clusters) {
+        final Set<String> items = new HashSet<>();
+        clusters.forEach(cluster -> {
+            assertEquals(cluster.getItems().size(), cluster.size());
+            items.addAll(cluster.getItems());
+        });
+        return items;
+    }
+
+    private static List<MarkerClusterIndex.Cluster<String>> getAllClusters(final MarkerClusterIndex<String> index, final int zoom) {
+        return index.getClusters(zoom, 85, -180, -85, 180);
+    }
+
+    /**
+     * Test that nearby items are clustered when zoomed out and separated when
+     * zoomed in.
+     */
+    @Test
+    public void testGetClusters() {
+        System.out.println("getClusters");
+
+        final MarkerClusterIndex<String> index = new MarkerClusterIndex<>(CLUSTER_DISTANCE);
+        index.add("canberra", -35.28, 149.13);
+        index.add("queanbeyan", -35.35, 149.23);
+        index.add("london", 51.51, -0.13);
+
+        assertEquals(index.size(), 3);
+        assertEquals(getAllClusters(index, 2).size(), 2);
+        assertEquals(getAllClusters(index, MarkerClusterIndex.MAX_ZOOM).size(), 3);
+
+        // Zoom levels beyond the index are limited to the index.
+        assertEquals(getAllClusters(index, 30).size(), 3);
+
+        // Only clusters in the viewport are returned.
+        final List<MarkerClusterIndex.Cluster<String>> clusters = index.getClusters(12, -35, 149, -36, 150);
+        assertEquals(getItems(clusters), Set.of("canberra", "queanbeyan"));
+        final MarkerClusterIndex.Cluster<String> canberra = clusters.stream()
+                .filter(cluster -> cluster.getItems().contains("canberra")).findFirst().orElseThrow();
+        assertEquals(canberra.getLatitude(), -35.28, 0.0001);
+        assertEquals(canberra.getLongitude(), 149.13, 0.0001);
+    }
+
+    /**
+     * Test that every item is in exactly one cluster at each zoom level after
+     * items have been added and removed, and that zooming in splits clusters.
+     */
+    @Test
+    public void testAddAndRemove() {
+        System.out.println("addAndRemove");
+
+        final MarkerClusterIndex<String> index = new MarkerClusterIndex<>(CLUSTER_DISTANCE);
+        final Random random = new Random(7);
+        final Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            final String item = "item" + i;
+            index.add(item, -30 + random.nextGaussian() * 5, 140 + random.nextGaussian() * 5);
+            expected.add(item);
+        }
+        for (int i = 0; i < 2000; i += 3) {
+            index.remove("item" + i);
+            expected.remove("item" + i);
+        }
+
+        // Adding an item twice has no effect.
+        index.add("item1", 0, 0);
+        assertEquals(index.size(), expected.size());
+
+        for (int zoom = MarkerClusterIndex.MIN_ZOOM; zoom <= MarkerClusterIndex.MAX_ZOOM; zoom++) {
+            final List<MarkerClusterIndex.Cluster<String>> clusters = getAllClusters(index, zoom);
+            final int total = clusters.stream().mapToInt(MarkerClusterIndex.Cluster::size).sum();
+            assertEquals(total, expected.size());
+            assertEquals(getItems(clusters), expected);
+            if (zoom > 5) {
+                assertTrue(clusters.size() > getAllClusters(index, zoom - 5).size());
+            }
+        }
+
+        expected.forEach(index::remove);
+        assertEquals(index.size(), 0);
+        assertEquals(getAllClusters(index, 0).size(), 0);
+    }
+}
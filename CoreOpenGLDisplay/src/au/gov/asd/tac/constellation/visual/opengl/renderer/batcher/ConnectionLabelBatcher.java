@@ -26,12 +26,15 @@ import au.gov.asd.tac.constellation.visual.opengl.utilities.LabelUtilities;
 import au.gov.asd.tac.constellation.visual.opengl.utilities.SharedDrawable;
 import au.gov.asd.tac.constellation.visual.opengl.utilities.glyphs.ConnectionGlyphStream;
 import au.gov.asd.tac.constellation.visual.opengl.utilities.glyphs.ConnectionGlyphStreamContext;
+import au.gov.asd.tac.constellation.visual.opengl.utilities.glyphs.GlyphManager;
 import com.jogamp.opengl.GL;
 import com.jogamp.opengl.GL3;
 import java.io.IOException;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  *
@@ -169,6 +172,23 @@ public class ConnectionLabelBatcher implements SceneBatcher {
     private void fillLabels(final VisualAccess access, ConnectionGlyphStream glyphStream) throws InterruptedException {
         final ConnectionGlyphStreamContext context = new ConnectionGlyphStreamContext();
 
+        // Only collect the lines that still need preparing, so refilling
+        // labels that are already cached doesn't build a set of every line.
+        final GlyphManager glyphManager = SharedDrawable.getGlyphManager();
+        final Set<String> lines = new LinkedHashSet<>();
+        for (int connection = 0; connection < access.getConnectionCount(); connection++) {
+            for (int label = 0; label < access.getConnectionLabelCount(connection); label++) {
+                for (final String line : LabelUtilities.splitTextIntoLines(access.getConnectionLabelText(connection, label))) {
+                    if (!glyphManager.isLigaturePrepared(line)) {
+                        lines.add(line);
+                    }
+                }
+            }
+        }
+        if (!lines.isEmpty()) {
+            glyphManager.prepareLigatures(lines);
+        }
+
         for (int link = 0; link < access.getLinkCount(); link++) {
             final int connectionCount = access.getLinkConnectionCount(link);
             setCurrentConnection(access.getLinkLowVertex(link), access.getLinkHighVertex(link), connectionCount, context);
@@ -23,6 +23,7 @@ import au.gov.asd.tac.constellation.visual.opengl.renderer.GLRenderable.GLRender
 import au.gov.asd.tac.constellation.visual.opengl.renderer.TextureUnits;
 import au.gov.asd.tac.constellation.visual.opengl.utilities.LabelUtilities;
 import au.gov.asd.tac.constellation.visual.opengl.utilities.SharedDrawable;
+import au.gov.asd.tac.constellation.visual.opengl.utilities.glyphs.GlyphManager;
 import au.gov.asd.tac.constellation.visual.opengl.utilities.glyphs.NodeGlyphStream;
 import au.gov.asd.tac.constellation.visual.opengl.utilities.glyphs.NodeGlyphStreamContext;
 import com.jogamp.opengl.GL;
@@ -32,7 +33,9 @@ import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  *
@@ -167,6 +170,23 @@ public class NodeLabelBatcher implements SceneBatcher {
     }
 
     private void fillTopLabels(final VisualAccess access, NodeGlyphStream glyphStream) throws InterruptedException {
+        // Only collect the lines that still need preparing, so refilling
+        // labels that are already cached doesn't build a set of every line.
+        final GlyphManager glyphManager = SharedDrawable.getGlyphManager();
+        final Set<String> lines = new LinkedHashSet<>();
+        for (int pos = 0; pos < access.getVertexCount(); pos++) {
+            for (int label = 0; label < access.getTopLabelCount(); label++) {
+                for (final String line : LabelUtilities.splitTextIntoLines(access.getVertexTopLabelText(pos, label))) {
+                    if (!glyphManager.isLigaturePrepared(line)) {
+                        lines.add(line);
+                    }
+                }
+            }
+        }
+        if (!lines.isEmpty()) {
+            glyphManager.prepareLigatures(lines);
+        }
+
         for (int pos = 0; pos < access.getVertexCount(); pos++) {
             bufferTopLabel(pos, access, glyphStream);
         }
@@ -174,6 +194,21 @@ public class NodeLabelBatcher implements SceneBatcher {
     }
 
     private void fillBottomLabels(final VisualAccess access, NodeGlyphStream glyphStream) throws InterruptedException {
+        final GlyphManager glyphManager = SharedDrawable.getGlyphManager();
+        final Set<String> lines = new LinkedHashSet<>();
+        for (int pos = 0; pos < access.getVertexCount(); pos++) {
+            for (int label = 0; label < access.getBottomLabelCount(); label++) {
+                for (final String line : LabelUtilities.splitTextIntoLines(access.getVertexBottomLabelText(pos, label))) {
+                    if (!glyphManager.isLigaturePrepared(line)) {
+                        lines.add(line);
+                    }
+                }
+            }
+        }
+        if (!lines.isEmpty()) {
+            glyphManager.prepareLigatures(lines);
+        }
+
         for (int pos = 0; pos < access.getVertexCount(); pos++) {
             bufferBottomLabel(pos, access, glyphStream);
         }
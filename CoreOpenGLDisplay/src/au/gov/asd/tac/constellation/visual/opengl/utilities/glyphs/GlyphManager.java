@@ -18,6 +18,7 @@ package au.gov.asd.tac.constellation.visual.opengl.utilities.glyphs;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.util.Collection;
 
 /**
  * The GlyphManager manages a series of textures that hold all glyphs for the
@@ -39,6 +40,30 @@ public interface GlyphManager {
      */
     public void renderTextAsLigatures(String text, GlyphManager.GlyphStream glyphStream, GlyphStreamContext context);
 
+    /**
+     * Shape and rasterise strings of text ahead of rendering them with
+     * renderTextAsLigatures(), so that the work can be shared between threads.
+     * The default implementation does nothing, leaving each string to be built
+     * when it is rendered.
+     *
+     * @param texts the strings of text that are about to be rendered.
+     */
+    public default void prepareLigatures(final Collection<String> texts) {
+        // Strings are built when they are rendered.
+    }
+
+    /**
+     * Check whether a string of text needs no preparation before it is
+     * rendered, so that callers can skip collecting it for prepareLigatures().
+     * The default implementation prepares nothing, so every string is ready.
+     *
+     * @param text the string of text.
+     * @return true if prepareLigatures() would do nothing for the text.
+     */
+    public default boolean isLigaturePrepared(final String text) {
+        return true;
+    }
+
     /**
      * Returns the number of glyphs.
      *
@@ -17,6 +17,7 @@ package au.gov.asd.tac.constellation.visual.opengl.utilities.glyphs;
 
 import au.gov.asd.tac.constellation.utilities.datastructure.FourTuple;
 import au.gov.asd.tac.constellation.utilities.datastructure.ThreeTuple;
+import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.FontMetrics;
@@ -34,6 +35,7 @@ import java.nio.ByteBuffer;
 import java.text.AttributedCharacterIterator;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -80,6 +82,19 @@ public final class GlyphManagerBI implements GlyphManager {
      */
     public static final int DEFAULT_TEXTURE_BUFFER_SIZE = 2048;
 
+    /**
+     * The number of ligatures to cache. Labels beyond this are still drawn, but
+     * are shaped again when they are next needed.
+     */
+    public static final int DEFAULT_LIGATURE_CACHE_SIZE = 100_000;
+
+    /**
+     * The number of strings shaped in parallel at a time by prepareLigatures(),
+     * which limits how many glyph images are waiting to be added to the texture
+     * buffer.
+     */
+    private static final int PREPARE_BATCH_SIZE = 1024;
+
     // The fonts being used.
     // We can't derive the names from the fonts, because a .otf font may have
     // been specified (see setFonts()).
@@ -122,10 +137,29 @@ public final class GlyphManagerBI implements GlyphManager {
         }
     }
 
+    /**
+     * The glyph images of a string that has been shaped and drawn, but not yet
+     * added to the texture buffer. Shaping only uses its own drawing buffer, so
+     * different strings can be shaped on different threads.
+     */
+    private static class ShapedLigature {
+
+        private final List<BufferedImage> images = new ArrayList<>();
+        private final List<Rectangle> rectangles = new ArrayList<>();
+        private final List<Integer> ascents = new ArrayList<>();
+        private int left = Integer.MAX_VALUE;
+        private int right = Integer.MIN_VALUE;
+        private int top = Integer.MAX_VALUE;
+        private int bottom = Integer.MIN_VALUE;
+    }
+
     /**
      * Cache the bulk of the work renderTextAsLigature does to greatly improve performance.
+     * <p>
+     * The positions in the cached ligatures refer to this instance's texture buffer,
+     * so the cache is cleared whenever the texture buffer is reset.
      */
-    private static Map<String, LigatureContext> cache = new HashMap<>();
+    private final LigatureCache<LigatureContext> cache = new LigatureCache<>(DEFAULT_LIGATURE_CACHE_SIZE);
 
     /**
      * A default no-op GlyphStream to use when the user specifies null.
@@ -246,7 +280,11 @@ public final class GlyphManagerBI implements GlyphManager {
         }).mapToInt(i -> i).max().orElseThrow(NoSuchElementException::new);
         g2d.dispose();
 
-        textureBuffer.reset();
+        synchronized (textureBuffer) {
+            textureBuffer.reset();
+            cache.clear();
+            GlyphRectangleFactory.clear();
+        }
     }
 
     /**
@@ -336,15 +374,14 @@ public final class GlyphManagerBI implements GlyphManager {
 
         // Retrieve the LigatureContext from the cache to greatly speed up
         // building these ligatures which are built every time the graph is
-        // loaded or when the graph structure changes. Note that items are not
-        // purged from this cache so there is a small build up of memory over
-        // time. Guava caching was attempted though it was slower and negating
-        // the performance improvements of caching.
+        // loaded or when the graph structure changes. The cache is bounded,
+        // so the least recently used ligatures are evicted when there are
+        // more labels than it can hold.
         //
-        if (!cache.containsKey(text)) {
-            cache.put(text, buildLigature(text));
+        LigatureContext ligature = cache.get(text);
+        if (ligature == null) {
+            ligature = addLigature(text, shapeLigature(text));
         }
-        final LigatureContext ligature = cache.get(text);
 
         // Add the background for this text.
         //
@@ -370,7 +407,81 @@ public final class GlyphManagerBI implements GlyphManager {
         }
     }
 
-    private LigatureContext buildLigature(final String text) {
+    /**
+     * Shape and rasterise strings ahead of rendering them, so that
+     * renderTextAsLigatures() finds them in the cache.
+     * <p>
+     * Strings that are not already cached are shaped and drawn in parallel, a
+     * batch at a time, then their glyph images are added to the texture buffer
+     * in the order that the strings were given, so glyph positions don't
+     * depend on how the work was split between threads. No more strings are
+     * prepared than the cache can hold.
+     * <p>
+     * Each distinct string is looked up in the cache once, so the strings
+     * prepared here are counted as misses and the hit rate still shows how
+     * much shaping the cache saves.
+     *
+     * @param texts The strings that are about to be rendered.
+     */
+    @Override
+    public void prepareLigatures(final Collection<String> texts) {
+        final List<String> uncached = texts.stream()
+                .filter(StringUtils::isNotBlank)
+                .distinct()
+                .filter(text -> cache.get(text) == null)
+                .limit(cache.getCapacity())
+                .toList();
+
+        for (int start = 0; start < uncached.size(); start += PREPARE_BATCH_SIZE) {
+            final List<String> batch = uncached.subList(start, Math.min(uncached.size(), start + PREPARE_BATCH_SIZE));
+            final List<ShapedLigature> shaped = batch.parallelStream().map(this::shapeLigature).toList();
+            for (int i = 0; i < batch.size(); i++) {
+                addLigature(batch.get(i), shaped.get(i));
+            }
+        }
+
+        if (!uncached.isEmpty()) {
+            LOGGER.log(Level.FINE, "Prepared {0} ligatures: {1}, texture occupancy {2}",
+                    new Object[]{uncached.size(), cache, getTextureOccupancy()});
+        }
+    }
+
+    @Override
+    public boolean isLigaturePrepared(final String text) {
+        return StringUtils.isBlank(text) || cache.contains(text);
+    }
+
+    /**
+     * Add the glyph images of a shaped string to the texture buffer and cache
+     * the resulting ligature.
+     */
+    private LigatureContext addLigature(final String text, final ShapedLigature shaped) {
+        synchronized (textureBuffer) {
+            final GlyphRectangle[] glyphRectangles = new GlyphRectangle[shaped.images.size()];
+            for (int i = 0; i < glyphRectangles.length; i++) {
+                final int position = textureBuffer.addRectImage(shaped.images.get(i), 0);
+                glyphRectangles[i] = GlyphRectangleFactory.create(position, shaped.rectangles.get(i), shaped.ascents.get(i));
+            }
+
+            final LigatureContext ligature = new LigatureContext(glyphRectangles, shaped.left, shaped.right, shaped.top, shaped.bottom);
+            cache.put(text, ligature);
+            return ligature;
+        }
+    }
+
+    /**
+     * Copy part of the drawing buffer, so that later drawing doesn't change it.
+     */
+    private BufferedImage copyImage(final BufferedImage image) {
+        final BufferedImage copy = new BufferedImage(image.getWidth(), image.getHeight(), bufferType);
+        final Graphics2D g2d = copy.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.drawImage(image, 0, 0, null);
+        g2d.dispose();
+        return copy;
+    }
+
+    private ShapedLigature shapeLigature(final String text) {
         final BufferedImage drawing = new BufferedImage(50 * maxFontHeight, 2 * maxFontHeight, bufferType);
         final Graphics2D g2d = drawing.createGraphics();
         g2d.setBackground(new Color(0, 0, 0, 0));
@@ -386,11 +497,7 @@ public final class GlyphManagerBI implements GlyphManager {
 
         final FontRenderContext frc = g2d.getFontRenderContext();
 
-        int left = Integer.MAX_VALUE;
-        int right = Integer.MIN_VALUE;
-        int top = Integer.MAX_VALUE;
-        int bottom = Integer.MIN_VALUE;
-        final GlyphRectangle[][] glyphRectangles = new GlyphRectangle[1][0];
+        final ShapedLigature shaped = new ShapedLigature();
 
         for (final FontDirectionalRun drun : FontDirectionalRun.getDirectionRuns(text)) {
             for (final FontRunSequence frun : FontRunSequence.getFontRuns(drun.run, fontsInfo)) {
@@ -435,10 +542,10 @@ public final class GlyphManagerBI implements GlyphManager {
                         if (r.width > 0 && (r.x + r.width < drawing.getWidth())) {
                             boxes.add(r);
 
-                            left = Math.min(left, r.x);
-                            right = Math.max(right, r.x + r.width);
-                            top = Math.min(top, r.y);
-                            bottom = Math.max(bottom, r.y + r.height);
+                            shaped.left = Math.min(shaped.left, r.x);
+                            shaped.right = Math.max(shaped.right, r.x + r.width);
+                            shaped.top = Math.min(shaped.top, r.y);
+                            shaped.bottom = Math.max(shaped.bottom, r.y + r.height);
                         }
                     }
                 }
@@ -449,8 +556,9 @@ public final class GlyphManagerBI implements GlyphManager {
 
                 final List<Rectangle> merged = mergeBoxes(boxes);
 
-                // Add each merged glyph rectangle to the texture buffer.
-                // Remember the texture position and rectangle (see below).
+                // Copy each merged glyph rectangle out of the drawing buffer,
+                // to be added to the texture buffer by addLigature().
+                // Remember the rectangle (see renderTextAsLigatures()).
                 //
                 final FontMetrics fm = g2d.getFontMetrics(frun.font);
                 merged.forEach(r -> { // slowest lamda
@@ -459,9 +567,9 @@ public final class GlyphManagerBI implements GlyphManager {
                     final int y = Math.max(r.y, 0);
                     final int height = Math.min(r.height, drawing.getHeight() - y);
                     if (height > 0) {
-                        final int position = textureBuffer.addRectImage(drawing.getSubimage(r.x, y, r.width, height), 0);
-                        glyphRectangles[0] = Arrays.copyOf(glyphRectangles[0], glyphRectangles[0].length + 1);
-                        glyphRectangles[0][glyphRectangles[0].length - 1] = GlyphRectangleFactory.create(position, r, fm.getAscent());
+                        shaped.images.add(copyImage(drawing.getSubimage(r.x, y, r.width, height)));
+                        shaped.rectangles.add(r);
+                        shaped.ascents.add(fm.getAscent());
                     }
                 });
 
@@ -504,7 +612,48 @@ public final class GlyphManagerBI implements GlyphManager {
 
         g2d.dispose();
 
-        return new LigatureContext(glyphRectangles[0], left, right, top, bottom);
+        return shaped;
+    }
+
+    /**
+     * Return the number of ligatures in the cache.
+     *
+     * @return The number of ligatures in the cache.
+     */
+    public int getLigatureCacheSize() {
+        return cache.size();
+    }
+
+    /**
+     * Return the fraction of ligature lookups that were found in the cache
+     * since the fonts were last set.
+     *
+     * @return The hit rate in the range 0.0 to 1.0.
+     */
+    public double getLigatureCacheHitRate() {
+        return cache.getHitRate();
+    }
+
+    /**
+     * Return the number of ligatures evicted from the cache since the fonts
+     * were last set.
+     *
+     * @return The number of ligatures evicted from the cache.
+     */
+    public long getLigatureCacheEvictionCount() {
+        return cache.getEvictionCount();
+    }
+
+    /**
+     * Return the fraction of the texture buffer pages that is covered by glyph
+     * images.
+     *
+     * @return The occupancy of the texture buffer in the range 0.0 to 1.0.
+     */
+    public double getTextureOccupancy() {
+        synchronized (textureBuffer) {
+            return textureBuffer.getOccupancy();
+        }
     }
 
     @Override
@@ -576,7 +725,9 @@ public final class GlyphManagerBI implements GlyphManager {
         g2d.fillRect(0, 0, size, size);
         g2d.dispose();
 
-        return textureBuffer.addRectImage(bg, extra);
+        synchronized (textureBuffer) {
+            return textureBuffer.addRectImage(bg, extra);
+        }
     }
 
     @Override
@@ -619,7 +770,7 @@ public final class GlyphManagerBI implements GlyphManager {
          */
         private static final Map<ThreeTuple<Integer, Integer, Integer>, GlyphRectangle> glyphRectangleCache = new HashMap<>();
 
-        public static GlyphRectangle create(final int position, final Rectangle rect, final int ascent) {
+        public static synchronized GlyphRectangle create(final int position, final Rectangle rect, final int ascent) {
             // Note that the Rectangle hashCode() is not unique so using the
             // attributes to make a unique key we can use for caching.
             final FourTuple<Integer, Integer, Integer, Integer> rectangleKey
@@ -635,5 +786,14 @@ public final class GlyphManagerBI implements GlyphManager {
             return glyphRectangleCache.get(key);
         }
 
+        /**
+         * Forget the cached objects, as the positions they refer to are no
+         * longer valid once the texture buffer has been reset.
+         */
+        public static synchronized void clear() {
+            rectangleCache.clear();
+            glyphRectangleCache.clear();
+        }
+
     }
 }
@@ -89,6 +89,11 @@ final class GlyphRectangleBuffer {
      */
     private int rectangleCount;
 
+    /**
+     * How many pixels have been covered by rectangle images?
+     */
+    private long usedArea;
+
     // The width and height of each (texture buffer) BufferedImage.
     //
     public final int width;
@@ -134,6 +139,16 @@ final class GlyphRectangleBuffer {
         return rectangleCount;
     }
 
+    /**
+     * Return the fraction of the pixels in the buffers that are covered by
+     * rectangle images.
+     *
+     * @return The occupancy of the buffers in the range 0.0 to 1.0.
+     */
+    public double getOccupancy() {
+        return usedArea / ((double) size() * width * height);
+    }
+
     public float[] getRectangleCoordinates() {
         return rectTextureCoordinates.clone();
     }
@@ -152,6 +167,7 @@ final class GlyphRectangleBuffer {
         }
 
         rectangleCount = 0;
+        usedArea = 0;
 
         newRectBuffer();
     }
@@ -271,6 +287,7 @@ final class GlyphRectangleBuffer {
         maxHeight = Math.max(h, maxHeight);
 
         rectangleCount++;
+        usedArea += (long) w * h;
 
         return rectIndex;
     }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.visual.opengl.utilities.glyphs;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of the ligatures built for strings of text.
+ * <p>
+ * When the cache is full, the least recently used ligature is evicted. The
+ * glyph images of an evicted ligature stay in the texture buffer, so building
+ * the same text again only costs the shaping, as the images are found there by
+ * their hash.
+ * <p>
+ * The cache is safe to use from multiple threads and keeps counts of its hits,
+ * misses and evictions.
+ *
+ * @param <V> The type of ligature being cached.
+ *
+ * @author algol
+ */
+final class LigatureCache<V> {
+
+    private final int capacity;
+    private final LinkedHashMap<String, V> ligatures;
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+    /**
+     *
+     * @param capacity The maximum number of ligatures to keep.
+     */
+    LigatureCache(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity of a ligature cache must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        ligatures = new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, V> eldest) {
+                if (size() > LigatureCache.this.capacity) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Return the ligature for some text, counting a hit or a miss.
+     *
+     * @param text The text.
+     * @return The ligature for the text, or null if it is not in the cache.
+     */
+    synchronized V get(final String text) {
+        final V ligature = ligatures.get(text);
+        if (ligature != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return ligature;
+    }
+
+    /**
+     * Check whether the cache holds a ligature for some text without counting
+     * a hit or a miss, or changing the order of eviction.
+     *
+     * @param text The text.
+     * @return True if the cache holds a ligature for the text.
+     */
+    synchronized boolean contains(final String text) {
+        return ligatures.containsKey(text);
+    }
+
+    synchronized void put(final String text, final V ligature) {
+        ligatures.put(text, ligature);
+    }
+
+    /**
+     * Remove every ligature and reset the counts.
+     */
+    synchronized void clear() {
+        ligatures.clear();
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    synchronized int size() {
+        return ligatures.size();
+    }
+
+    int getCapacity() {
+        return capacity;
+    }
+
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Return the fraction of lookups that found a ligature.
+     *
+     * @return The hit rate in the range 0.0 to 1.0, or 0.0 if there have been
+     * no lookups.
+     */
+    synchronized double getHitRate() {
+        final long lookups = hitCount + missCount;
+        return lookups == 0 ? 0 : (double) hitCount / lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("[LigatureCache size=%d capacity=%d hits=%d misses=%d evictions=%d]",
+                ligatures.size(), capacity, hitCount, missCount, evictionCount);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.visual.opengl.utilities.glyphs;
+
+import java.util.ArrayList;
+import java.util.List;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for GlyphManagerBI. The text is shaped and drawn into
+ * BufferedImages, so these tests run headless.
+ *
+ * @author algol
+ */
+public class GlyphManagerBINGTest {
+
+    private static final List<String> TEXTS = List.of("alpha", "bravo charlie", "delta", "alpha", "echo");
+
+    private static List<String> render(final GlyphManagerBI instance) {
+        final List<String> glyphs = new ArrayList<>();
+        final GlyphManager.GlyphStream glyphStream = new GlyphManager.GlyphStream() {
+            @Override
+            public void newLine(final float width, final GlyphStreamContext context) {
+                glyphs.add("line " + width);
+            }
+
+            @Override
+            public void addGlyph(final int glyphPosition, final float x, final float y, final GlyphStreamContext context) {
+                glyphs.add("glyph " + glyphPosition + " " + x + " " + y);
+            }
+        };
+        TEXTS.forEach(text -> instance.renderTextAsLigatures(text, glyphStream, null));
+        return glyphs;
+    }
+
+    /**
+     * Test that preparing ligatures in parallel gives the same glyphs as
+     * building them as they are rendered.
+     */
+    @Test
+    public void testPrepareLigatures() {
+        final GlyphManagerBI expected = new GlyphManagerBI(new FontInfo[0], 256, GlyphManagerBI.DEFAULT_BUFFER_TYPE);
+        final List<String> expectedGlyphs = render(expected);
+
+        final GlyphManagerBI instance = new GlyphManagerBI(new FontInfo[0], 256, GlyphManagerBI.DEFAULT_BUFFER_TYPE);
+        instance.prepareLigatures(TEXTS);
+        assertEquals(instance.getLigatureCacheSize(), 4);
+        assertEquals(instance.getGlyphCount(), expected.getGlyphCount());
+        // each distinct string that was prepared counts as a miss
+        assertEquals(instance.getLigatureCacheHitRate(), 0.0);
+
+        assertEquals(render(instance), expectedGlyphs);
+        assertEquals(instance.getLigatureCacheHitRate(), 5.0 / 9);
+        assertEquals(instance.getGlyphTextureCoordinates(), expected.getGlyphTextureCoordinates());
+
+        final double occupancy = instance.getTextureOccupancy();
+        assertTrue(occupancy > 0 && occupancy < 1, "Occupancy " + occupancy);
+    }
+
+    /**
+     * Test that strings are only reported as prepared once they are cached,
+     * and that preparing them again doesn't count any more misses.
+     */
+    @Test
+    public void testIsLigaturePrepared() {
+        final GlyphManagerBI instance = new GlyphManagerBI(new FontInfo[0], 256, GlyphManagerBI.DEFAULT_BUFFER_TYPE);
+        assertFalse(instance.isLigaturePrepared("alpha"));
+        assertTrue(instance.isLigaturePrepared(" "));
+
+        instance.prepareLigatures(TEXTS);
+        assertTrue(TEXTS.stream().allMatch(instance::isLigaturePrepared));
+        assertEquals(instance.getLigatureCacheHitRate(), 0.0);
+
+        instance.prepareLigatures(TEXTS);
+        assertEquals(instance.getLigatureCacheSize(), 4);
+        assertEquals(instance.getLigatureCacheHitRate(), 0.5);
+    }
+
+    /**
+     * Test that setting the fonts clears the cached ligatures along with the
+     * texture buffer.
+     */
+    @Test
+    public void testSetFontsClearsCache() {
+        final GlyphManagerBI instance = new GlyphManagerBI(new FontInfo[0], 256, GlyphManagerBI.DEFAULT_BUFFER_TYPE);
+        instance.prepareLigatures(TEXTS);
+        assertEquals(instance.getLigatureCacheSize(), 4);
+
+        instance.setFonts(new FontInfo[0]);
+        assertEquals(instance.getLigatureCacheSize(), 0);
+        assertEquals(instance.getGlyphCount(), 0);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.visual.opengl.utilities.glyphs;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for LigatureCache.
+ *
+ * @author algol
+ */
+public class LigatureCacheNGTest {
+
+    /**
+     * Test that the least recently used ligature is evicted when the cache is
+     * full.
+     */
+    @Test
+    public void testEviction() {
+        final LigatureCache<Integer> instance = new LigatureCache<>(2);
+        instance.put("a", 1);
+        instance.put("b", 2);
+
+        // Using "a" makes "b" the least recently used.
+        assertEquals(instance.get("a"), Integer.valueOf(1));
+        instance.put("c", 3);
+
+        assertEquals(instance.size(), 2);
+        assertTrue(instance.contains("a"));
+        assertFalse(instance.contains("b"));
+        assertTrue(instance.contains("c"));
+        assertEquals(instance.getEvictionCount(), 1L);
+    }
+
+    /**
+     * Test that hits and misses are counted, and contains() counts neither.
+     */
+    @Test
+    public void testHitRate() {
+        final LigatureCache<Integer> instance = new LigatureCache<>(10);
+        assertEquals(instance.getHitRate(), 0.0);
+
+        instance.put("a", 1);
+        instance.get("a");
+        instance.get("a");
+        instance.get("a");
+        assertNull(instance.get("b"));
+        instance.contains("b");
+
+        assertEquals(instance.getHitCount(), 3L);
+        assertEquals(instance.getMissCount(), 1L);
+        assertEquals(instance.getHitRate(), 0.75);
+
+        instance.clear();
+        assertEquals(instance.size(), 0);
+        assertEquals(instance.getHitCount(), 0L);
+        assertEquals(instance.getMissCount(), 0L);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testZeroCapacity() {
+        new LigatureCache<Integer>(0);
+    }
+}
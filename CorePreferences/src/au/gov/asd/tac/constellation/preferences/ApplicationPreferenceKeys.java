@@ -81,6 +81,12 @@ public final class ApplicationPreferenceKeys {
     public static final String AUTOSAVE_SCHEDULE = "autosaveSchedule";
     public static final int AUTOSAVE_SCHEDULE_DEFAULT = 5;
 
+    /**
+     * Save graphs in the columnar graph file format.
+     */
+    public static final String SAVE_COLUMNAR_GRAPH_FILES = "saveColumnarGraphFiles";
+    public static final boolean SAVE_COLUMNAR_GRAPH_FILES_DEFAULT = false;
+
     /**
      * Whats New window.
      */
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.views.tableview.components;
+
+import java.util.Objects;
+import javafx.collections.ObservableListBase;
+
+/**
+ * A row in the table that represents a single vertex or transaction. The row
+ * only holds its position in a {@link TableRowModel}, each cell is converted
+ * to display text by the model the first time it is asked for.
+ * <p/>
+ * Two rows are equal if they represent the same element in the same graph,
+ * regardless of the values in their cells. This means the table selection
+ * follows the element when the rows are rebuilt and a row can be used as a key
+ * in a hash map without formatting every cell in the row.
+ *
+ * @author formalhaunt
+ */
+public final class ElementRow extends ObservableListBase<String> {
+
+    private final TableRowModel model;
+    private final int position;
+
+    /**
+     * Creates a new row.
+     *
+     * @param model the model the row's values are held in
+     * @param position the position of the row in the model
+     */
+    ElementRow(final TableRowModel model, final int position) {
+        this.model = model;
+        this.position = position;
+    }
+
+    /**
+     * Gets the ID of the vertex or transaction this row represents.
+     *
+     * @return the element ID
+     */
+    public int getElementId() {
+        return model.getElementId(position);
+    }
+
+    @Override
+    public String get(final int index) {
+        return model.getDisplayText(position, index);
+    }
+
+    @Override
+    public int size() {
+        return model.getColumnCount();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final ElementRow rhs = (ElementRow) o;
+
+        return getElementId() == rhs.getElementId()
+                && model.getElementType() == rhs.model.getElementType()
+                && Objects.equals(model.getGraphId(), rhs.model.getGraphId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getElementId();
+    }
+}
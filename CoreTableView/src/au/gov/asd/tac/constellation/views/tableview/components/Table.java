@@ -19,9 +19,7 @@ import au.gov.asd.tac.constellation.graph.Graph;
 import au.gov.asd.tac.constellation.graph.GraphAttribute;
 import au.gov.asd.tac.constellation.graph.GraphElementType;
 import au.gov.asd.tac.constellation.graph.ReadableGraph;
-import au.gov.asd.tac.constellation.graph.attribute.interaction.AbstractAttributeInteraction;
 import au.gov.asd.tac.constellation.graph.processing.GraphRecordStoreUtilities;
-import au.gov.asd.tac.constellation.graph.schema.visual.concept.VisualConcept;
 import au.gov.asd.tac.constellation.utilities.datastructure.ImmutableObjectCache;
 import static au.gov.asd.tac.constellation.views.tableview.TableViewTopComponent.TABLE_LOCK;
 import au.gov.asd.tac.constellation.views.tableview.api.ActiveTableReference;
@@ -35,7 +33,6 @@ import au.gov.asd.tac.constellation.views.tableview.tasks.UpdateColumnsTask;
 import au.gov.asd.tac.constellation.views.tableview.tasks.UpdateDataTask;
 import au.gov.asd.tac.constellation.views.tableview.utilities.ColumnIndexSort;
 import au.gov.asd.tac.constellation.views.tableview.utilities.TableViewUtilities;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -47,7 +44,6 @@ import javafx.application.Platform;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.value.ChangeListener;
-import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
@@ -86,6 +82,12 @@ public class Table {
 
     private final UpdateColumnsTask updateColumnsTask;
 
+    /**
+     * The model behind the rows currently in the table, or null if the table
+     * has not been successfully loaded.
+     */
+    private TableRowModel rowModel;
+
     /**
      * Creates a new table.
      *
@@ -241,6 +243,12 @@ public class Table {
      * Which elements are loaded also depends on which element type the table
      * state is currently set to, vertex or transaction.
      * <p/>
+     * The rows are backed by a {@link TableRowModel}, so cells are only
+     * converted to display text when they are needed. If the rows in the table
+     * have not changed since the last update, only the columns whose values
+     * have been modified are read from the graph again, and if none have the
+     * table is left as it is.
+     * <p/>
      * The entire method is synchronized so it should be thread safe and keeps
      * the locking logic simpler. Maybe this method could be broken out further.
      *
@@ -258,51 +266,37 @@ public class Table {
                     throw new IllegalStateException(ATTEMPT_PROCESS_EDT);
                 }
 
-                // Set progress indicator
-                Platform.runLater(() -> getParentComponent().setCenter(progressBar.getProgressPane()));
-
-                // Clear the current row and element mappings
-                getActiveTableReference().getElementIdToRowIndex().clear();
-                getActiveTableReference().getRowToElementIdIndex().clear();
+                // Take the current row model out of use until the table has been
+                // updated, so an update that is cancelled part way through is not
+                // mistaken for one that completed
+                final TableRowModel previousRowModel = rowModel;
+                rowModel = null;
 
                 // Build table data based on attribute values on the graph
-                final List<ObservableList<String>> rows = new ArrayList<>();
+                final TableRowModel newRowModel;
                 try (final ReadableGraph readableGraph = graph.getReadableGraph()) {
-                    if (state.getElementType() == GraphElementType.TRANSACTION) {
-                        final int selectedAttributeId = VisualConcept.TransactionAttribute.SELECTED.get(readableGraph);
-                        final int transactionCount = readableGraph.getTransactionCount();
-
-                        IntStream.range(0, transactionCount).forEach(transactionPosition -> {
-                            final int transactionId = readableGraph.getTransaction(transactionPosition);
-                            boolean isSelected = false;
-
-                            if (selectedAttributeId != Graph.NOT_FOUND) {
-                                isSelected = readableGraph.getBooleanValue(selectedAttributeId, transactionId);
-                            }
-
-                            // If it is not in selected only mode then just add every row but if it is
-                            // in selected only mode, only add the ones that are selected in the graph
-                            if (!state.isSelectedOnly() || isSelected) {
-                                rows.add(getRowDataForTransaction(readableGraph, transactionId));
-                            }
-                        });
+                    if (previousRowModel != null
+                            && previousRowModel.isCurrent(graph.getId(), readableGraph, state, getColumnIndex())) {
+                        // The rows are the same, so only the columns whose values have
+                        // changed need to be read. If none have there is nothing to do.
+                        if (!previousRowModel.update(readableGraph, state)) {
+                            rowModel = previousRowModel;
+                            return;
+                        }
+                        newRowModel = previousRowModel;
                     } else {
-                        final int selectedAttributeId = VisualConcept.VertexAttribute.SELECTED.get(readableGraph);
-                        final int vertexCount = readableGraph.getVertexCount();
-
-                        IntStream.range(0, vertexCount).forEach(vertexPosition -> {
-                            final int vertexId = readableGraph.getVertex(vertexPosition);
-                            boolean isSelected = false;
-
-                            if (selectedAttributeId != Graph.NOT_FOUND) {
-                                isSelected = readableGraph.getBooleanValue(selectedAttributeId, vertexId);
-                            }
-
-                            // If it is not in selected only mode then just add every row but if it is
-                            // in selected only mode, only add the ones that are selected in the graph
-                            if (!state.isSelectedOnly() || isSelected) {
-                                rows.add(getRowDataForVertex(readableGraph, vertexId));
-                            }
+                        // Set progress indicator
+                        Platform.runLater(() -> getParentComponent().setCenter(progressBar.getProgressPane()));
+
+                        newRowModel = createRowModel(graph.getId(), readableGraph, state);
+
+                        // Replace the current row and element mappings
+                        getActiveTableReference().getElementIdToRowIndex().clear();
+                        getActiveTableReference().getRowToElementIdIndex().clear();
+                        newRowModel.getRows().forEach(row -> {
+                            final int elementId = ((ElementRow) row).getElementId();
+                            getActiveTableReference().getElementIdToRowIndex().put(elementId, row);
+                            getActiveTableReference().getRowToElementIdIndex().put(row, elementId);
                         });
                     }
                 }
@@ -312,11 +306,12 @@ public class Table {
                 // that cancelled this one will run through, complete and remove the progress
                 // bar.
                 if (!Thread.currentThread().isInterrupted()) {
-                    final UpdateDataTask updateDataTask = new UpdateDataTask(this, rows);
+                    final UpdateDataTask updateDataTask = new UpdateDataTask(this, newRowModel.getRows());
                     Platform.runLater(updateDataTask);
 
                     try {
                         updateDataTask.getUpdateDataLatch().await();
+                        rowModel = newRowModel;
                     } catch (final InterruptedException ex) {
                         LOGGER.log(Level.WARNING, "InterruptedException encountered while updating table data");
                         updateDataTask.setInterrupted(true);
@@ -461,86 +456,17 @@ public class Table {
     }
 
     /**
-     * For a given vertex on the graph construct a row for the table give the
-     * current column settings. If the column is a transaction column then a
-     * null value will be inserted for that element of the row.
+     * Reads the rows of the table, and the values of its visible columns, from
+     * the graph. This has been primarily created for unit testing to allow the
+     * insertion of mocked versions into the calling code.
      *
-     * @param readableGraph the graph to build the row from
-     * @param vertexId the ID of the vertex in the graph to build the row from
-     * @return the built row
-     */
-    protected ObservableList<String> getRowDataForVertex(final ReadableGraph readableGraph, final int vertexId) {
-        final ObservableList<String> rowData = FXCollections.observableArrayList();
-
-        getColumnIndex().forEach(column -> {
-            final int attributeId = readableGraph
-                    .getAttribute(column.getAttribute().getElementType(), column.getAttribute().getName());
-            final AbstractAttributeInteraction<?> interaction = AbstractAttributeInteraction
-                    .getInteraction(column.getAttribute().getAttributeType());
-            final Object attributeValue = readableGraph.getObjectValue(attributeId, vertexId);
-            final String displayableValue = interaction.getDisplayText(attributeValue);
-
-            rowData.add(displayableValue);
-        });
-
-        getActiveTableReference().getElementIdToRowIndex().put(vertexId, rowData);
-        getActiveTableReference().getRowToElementIdIndex().put(rowData, vertexId);
-
-        return rowData;
-    }
-
-    /**
-     * For a given transaction on the graph construct a row for the table given
-     * the current column settings. In the case of source and destination
-     * columns the value entered will be sourced from the source and destination
-     * vertices respectively.
-     * <p/>
-     * During this the {@link ActiveTableReference#elementIdToRowIndex} and
-     * {@link ActiveTableReference#rowToElementIdIndex} maps are populated.
-     *
-     * @param readableGraph the graph to build the row from
-     * @param transactionId the ID of the transaction in the graph to build the
-     * row from
-     * @return the built row
+     * @param graphId the ID of the graph being read
+     * @param readableGraph the graph to read the rows from
+     * @param state the current table state
+     * @return the model holding the rows and their values
      */
-    protected ObservableList<String> getRowDataForTransaction(final ReadableGraph readableGraph, final int transactionId) {
-        final ObservableList<String> rowData = FXCollections.observableArrayList();
-
-        getColumnIndex().forEach(column -> {
-            final int attributeId = readableGraph.getAttribute(
-                    column.getAttribute().getElementType(),
-                    column.getAttribute().getName()
-            );
-            final AbstractAttributeInteraction<?> interaction = AbstractAttributeInteraction
-                    .getInteraction(column.getAttribute().getAttributeType());
-
-            final Object attributeValue;
-            if (attributeId != Graph.NOT_FOUND) {
-                attributeValue = switch (column.getAttributeNamePrefix()) {
-                    case GraphRecordStoreUtilities.SOURCE -> {
-                        final int sourceVertexId = readableGraph.getTransactionSourceVertex(transactionId);
-                        yield readableGraph.getObjectValue(attributeId, sourceVertexId);
-                    }
-                    case GraphRecordStoreUtilities.TRANSACTION -> readableGraph.getObjectValue(attributeId, transactionId);
-                    case GraphRecordStoreUtilities.DESTINATION -> {
-                        final int destinationVertexId = readableGraph.getTransactionDestinationVertex(transactionId);
-                        yield readableGraph.getObjectValue(attributeId, destinationVertexId);
-                    }
-                    default -> null;
-                };
-            } else {
-                attributeValue = null;
-            }
-            
-            // avoid duplicate strings objects and make a massivse saving on memory use
-            final String displayableValue = displayTextCache.deduplicate(interaction.getDisplayText(attributeValue));
-            rowData.add(displayableValue);
-        });
-
-        getActiveTableReference().getElementIdToRowIndex().put(transactionId, rowData);
-        getActiveTableReference().getRowToElementIdIndex().put(rowData, transactionId);
-
-        return rowData;
+    protected TableRowModel createRowModel(final String graphId, final ReadableGraph readableGraph, final TableViewState state) {
+        return TableRowModel.read(graphId, readableGraph, state, getColumnIndex(), displayTextCache);
     }
 
     /**
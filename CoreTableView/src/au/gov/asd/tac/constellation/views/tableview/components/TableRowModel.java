@@ -0,0 +1,415 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.views.tableview.components;
+
+import au.gov.asd.tac.constellation.graph.Graph;
+import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.GraphReadMethods;
+import au.gov.asd.tac.constellation.graph.attribute.BooleanAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.DoubleAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.FloatAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.IntegerAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.LongAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.interaction.AbstractAttributeInteraction;
+import au.gov.asd.tac.constellation.graph.processing.GraphRecordStoreUtilities;
+import au.gov.asd.tac.constellation.graph.schema.visual.concept.VisualConcept;
+import au.gov.asd.tac.constellation.utilities.datastructure.ImmutableObjectCache;
+import au.gov.asd.tac.constellation.views.tableview.api.Column;
+import au.gov.asd.tac.constellation.views.tableview.state.TableViewState;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import javafx.collections.ObservableList;
+
+/**
+ * The values of the graph that are displayed in the table, held column by
+ * column.
+ * <p/>
+ * Rather than converting every cell to a string when the table is loaded, the
+ * raw attribute values of each visible column are copied out of the graph
+ * while the read lock is held. Values of primitive attribute types are held in
+ * a {@code long} array and all other values as object references. Each row of
+ * the table is an {@link ElementRow} that only knows its position in the model,
+ * and a cell is converted to display text the first time it is asked for,
+ * typically because it has been scrolled onto the current page or the table is
+ * being sorted or filtered on its column.
+ * <p/>
+ * The model records the graph's structure modification counter and the value
+ * modification counter of every column it has read. If the rows that should be
+ * in the table have not changed, {@link #update} only reads the columns whose
+ * values have changed since, so a change to the graph does not rebuild the
+ * whole table.
+ *
+ * @author formalhaunt
+ */
+public class TableRowModel {
+
+    /**
+     * Attribute types whose object values are the boxed form of their native
+     * value, so can be held in a primitive array and boxed again when they are
+     * formatted.
+     */
+    private static final Set<String> PRIMITIVE_TYPES = Set.of(
+            BooleanAttributeDescription.ATTRIBUTE_NAME,
+            IntegerAttributeDescription.ATTRIBUTE_NAME,
+            LongAttributeDescription.ATTRIBUTE_NAME,
+            FloatAttributeDescription.ATTRIBUTE_NAME,
+            DoubleAttributeDescription.ATTRIBUTE_NAME
+    );
+
+    private final String graphId;
+    private final GraphElementType elementType;
+    private final boolean selectedOnly;
+    private final List<Column> columnIndex;
+    private final long structureModificationCounter;
+    private final long selectionModificationCounter;
+
+    private final int[] elementIds;
+    private final List<ObservableList<String>> rows;
+
+    private final ImmutableObjectCache displayTextCache;
+
+    /**
+     * The values of each column. The array is replaced rather than modified
+     * when columns are updated so that a cell being formatted on another
+     * thread always sees a complete column.
+     */
+    private volatile ColumnValues[] columnValues;
+
+    private TableRowModel(final String graphId, final GraphReadMethods readableGraph, final TableViewState state,
+            final List<Column> columnIndex, final ImmutableObjectCache displayTextCache) {
+        this.graphId = graphId;
+        this.elementType = state.getElementType();
+        this.selectedOnly = state.isSelectedOnly();
+        this.columnIndex = new ArrayList<>(columnIndex);
+        this.structureModificationCounter = readableGraph.getStructureModificationCounter();
+        this.selectionModificationCounter = getSelectionModificationCounter(readableGraph);
+        this.displayTextCache = displayTextCache;
+
+        final int selectedAttributeId = getSelectedAttribute(readableGraph);
+        final int elementCount = elementType == GraphElementType.TRANSACTION
+                ? readableGraph.getTransactionCount() : readableGraph.getVertexCount();
+
+        final int[] ids = new int[elementCount];
+        int rowCount = 0;
+        for (int position = 0; position < elementCount; position++) {
+            final int elementId = elementType == GraphElementType.TRANSACTION
+                    ? readableGraph.getTransaction(position) : readableGraph.getVertex(position);
+
+            // If it is not in selected only mode then just add every row but if it is
+            // in selected only mode, only add the ones that are selected in the graph
+            if (!selectedOnly || (selectedAttributeId != Graph.NOT_FOUND
+                    && readableGraph.getBooleanValue(selectedAttributeId, elementId))) {
+                ids[rowCount++] = elementId;
+            }
+        }
+        this.elementIds = rowCount == elementCount ? ids : Arrays.copyOf(ids, rowCount);
+
+        final List<ObservableList<String>> newRows = new ArrayList<>(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            newRows.add(new ElementRow(this, row));
+        }
+        this.rows = Collections.unmodifiableList(newRows);
+
+        this.columnValues = new ColumnValues[this.columnIndex.size()];
+        update(readableGraph, state);
+    }
+
+    /**
+     * Reads the rows and the values of the visible columns for the table from
+     * the graph.
+     * <p/>
+     * The caller must hold a read lock on the graph.
+     *
+     * @param graphId the ID of the graph being read
+     * @param readableGraph the graph to read from
+     * @param state the current table state
+     * @param columnIndex the columns of the table
+     * @param displayTextCache the cache used to de-duplicate display text
+     * @return the new model
+     */
+    public static TableRowModel read(final String graphId, final GraphReadMethods readableGraph, final TableViewState state,
+            final List<Column> columnIndex, final ImmutableObjectCache displayTextCache) {
+        return new TableRowModel(graphId, readableGraph, state, columnIndex, displayTextCache);
+    }
+
+    /**
+     * Determines whether this model still has the right rows and columns for
+     * the graph and state, in which case it can be brought up to date with
+     * {@link #update} rather than being read again.
+     * <p/>
+     * The caller must hold a read lock on the graph.
+     *
+     * @param graphId the ID of the graph
+     * @param readableGraph the graph
+     * @param state the current table state
+     * @param columnIndex the current columns of the table
+     * @return true if only the values in some columns can have changed, false
+     * if the model must be read again
+     */
+    public boolean isCurrent(final String graphId, final GraphReadMethods readableGraph, final TableViewState state,
+            final List<Column> columnIndex) {
+        return Objects.equals(this.graphId, graphId)
+                && elementType == state.getElementType()
+                && selectedOnly == state.isSelectedOnly()
+                && this.columnIndex.equals(columnIndex)
+                && structureModificationCounter == readableGraph.getStructureModificationCounter()
+                && selectionModificationCounter == getSelectionModificationCounter(readableGraph);
+    }
+
+    /**
+     * Reads the values of any visible column that has not been read yet or
+     * whose attribute has been modified since it was read. Columns that are no
+     * longer visible are released.
+     * <p/>
+     * The caller must hold a read lock on the graph, and this model must be
+     * current as determined by {@link #isCurrent}.
+     *
+     * @param readableGraph the graph to read from
+     * @param state the current table state
+     * @return true if any visible values were read, false if the model was
+     * already up to date
+     */
+    public final boolean update(final GraphReadMethods readableGraph, final TableViewState state) {
+        final ColumnValues[] newColumnValues = columnValues.clone();
+        boolean updated = false;
+        for (int i = 0; i < newColumnValues.length; i++) {
+            final Column column = columnIndex.get(i);
+            if (!isVisible(column, state)) {
+                newColumnValues[i] = null;
+                continue;
+            }
+
+            final int attributeId = readableGraph.getAttribute(column.getAttribute().getElementType(),
+                    column.getAttribute().getName());
+            final long modificationCounter = attributeId == Graph.NOT_FOUND
+                    ? 0 : readableGraph.getValueModificationCounter(attributeId);
+            final ColumnValues current = newColumnValues[i];
+            if (current == null || current.attributeId != attributeId || current.modificationCounter != modificationCounter) {
+                newColumnValues[i] = readColumn(readableGraph, column, attributeId, modificationCounter);
+                updated = true;
+            }
+        }
+
+        columnValues = newColumnValues;
+        return updated;
+    }
+
+    /**
+     * Gets the rows of the table, one for each element in this model.
+     *
+     * @return the rows of the table
+     */
+    public List<ObservableList<String>> getRows() {
+        return rows;
+    }
+
+    public String getGraphId() {
+        return graphId;
+    }
+
+    public GraphElementType getElementType() {
+        return elementType;
+    }
+
+    public int getRowCount() {
+        return elementIds.length;
+    }
+
+    public int getColumnCount() {
+        return columnIndex.size();
+    }
+
+    /**
+     * Gets the ID of the vertex or transaction in a row.
+     *
+     * @param row the position of the row
+     * @return the element ID
+     */
+    public int getElementId(final int row) {
+        return elementIds[row];
+    }
+
+    /**
+     * Gets the display text of a cell, formatting it from the raw value the
+     * first time it is asked for. Cells in columns that are not visible have no
+     * display text.
+     *
+     * @param row the position of the row
+     * @param column the position of the column
+     * @return the display text of the cell, which may be null
+     */
+    public String getDisplayText(final int row, final int column) {
+        final ColumnValues values = columnValues[column];
+        if (values == null) {
+            return null;
+        }
+
+        // Formatting the same cell twice on different threads gives the same
+        // text, so the cache does not need to be locked.
+        String[] displayText = values.displayText;
+        if (displayText == null) {
+            displayText = new String[elementIds.length];
+            values.displayText = displayText;
+        }
+
+        String text = displayText[row];
+        if (text == null) {
+            text = values.interaction.getDisplayText(values.getValue(row));
+
+            // avoid duplicate strings objects and make a massive saving on memory use
+            synchronized (displayTextCache) {
+                text = displayTextCache.deduplicate(text);
+            }
+            displayText[row] = text;
+        }
+
+        return text;
+    }
+
+    private ColumnValues readColumn(final GraphReadMethods readableGraph, final Column column,
+            final int attributeId, final long modificationCounter) {
+        final String attributeType = column.getAttribute().getAttributeType();
+        final ColumnValues values = new ColumnValues(attributeId, modificationCounter, attributeType,
+                AbstractAttributeInteraction.getInteraction(attributeType));
+
+        if (attributeId == Graph.NOT_FOUND || !hasValues(column)) {
+            return values;
+        }
+
+        if (PRIMITIVE_TYPES.contains(attributeType)) {
+            values.primitives = new long[elementIds.length];
+            for (int row = 0; row < elementIds.length; row++) {
+                final int valueElementId = getValueElement(readableGraph, column, elementIds[row]);
+                values.primitives[row] = switch (attributeType) {
+                    case BooleanAttributeDescription.ATTRIBUTE_NAME -> readableGraph.getBooleanValue(attributeId, valueElementId) ? 1 : 0;
+                    case IntegerAttributeDescription.ATTRIBUTE_NAME -> readableGraph.getIntValue(attributeId, valueElementId);
+                    case LongAttributeDescription.ATTRIBUTE_NAME -> readableGraph.getLongValue(attributeId, valueElementId);
+                    case FloatAttributeDescription.ATTRIBUTE_NAME -> Float.floatToRawIntBits(readableGraph.getFloatValue(attributeId, valueElementId));
+                    default -> Double.doubleToRawLongBits(readableGraph.getDoubleValue(attributeId, valueElementId));
+                };
+            }
+        } else {
+            values.objects = new Object[elementIds.length];
+            for (int row = 0; row < elementIds.length; row++) {
+                values.objects[row] = readableGraph.getObjectValue(attributeId, getValueElement(readableGraph, column, elementIds[row]));
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Determines whether the column has values for the rows of this model. In
+     * a transaction table, the column's prefix says whether values come from
+     * the transaction, or its source or destination vertex.
+     */
+    private boolean hasValues(final Column column) {
+        if (elementType != GraphElementType.TRANSACTION) {
+            return true;
+        }
+
+        final String prefix = column.getAttributeNamePrefix();
+        return GraphRecordStoreUtilities.SOURCE.equals(prefix)
+                || GraphRecordStoreUtilities.TRANSACTION.equals(prefix)
+                || GraphRecordStoreUtilities.DESTINATION.equals(prefix);
+    }
+
+    /**
+     * Gets the element that holds a column's value for a row.
+     */
+    private int getValueElement(final GraphReadMethods readableGraph, final Column column, final int elementId) {
+        if (elementType != GraphElementType.TRANSACTION) {
+            return elementId;
+        }
+
+        return switch (column.getAttributeNamePrefix()) {
+            case GraphRecordStoreUtilities.SOURCE -> readableGraph.getTransactionSourceVertex(elementId);
+            case GraphRecordStoreUtilities.DESTINATION -> readableGraph.getTransactionDestinationVertex(elementId);
+            default -> elementId;
+        };
+    }
+
+    private static boolean isVisible(final Column column, final TableViewState state) {
+        // With no visible columns in the state yet, read everything
+        return state.getColumnAttributes() == null || state.getColumnAttributes().stream()
+                .anyMatch(columnAttribute -> columnAttribute.getFirst().equals(column.getAttributeNamePrefix())
+                && columnAttribute.getSecond().equals(column.getAttribute()));
+    }
+
+    private int getSelectedAttribute(final GraphReadMethods readableGraph) {
+        return elementType == GraphElementType.TRANSACTION
+                ? VisualConcept.TransactionAttribute.SELECTED.get(readableGraph)
+                : VisualConcept.VertexAttribute.SELECTED.get(readableGraph);
+    }
+
+    /**
+     * The rows of a selected only table depend on the selection, so for these
+     * tables a change in the selection attribute is a change to the rows.
+     */
+    private long getSelectionModificationCounter(final GraphReadMethods readableGraph) {
+        if (!selectedOnly) {
+            return 0;
+        }
+
+        final int selectedAttributeId = getSelectedAttribute(readableGraph);
+        return selectedAttributeId == Graph.NOT_FOUND ? 0 : readableGraph.getValueModificationCounter(selectedAttributeId);
+    }
+
+    /**
+     * The raw values of one column, and the display text of the cells that
+     * have been formatted so far.
+     */
+    private static final class ColumnValues {
+
+        private final int attributeId;
+        private final long modificationCounter;
+        private final String attributeType;
+        private final AbstractAttributeInteraction<?> interaction;
+
+        private long[] primitives;
+        private Object[] objects;
+        private String[] displayText;
+
+        private ColumnValues(final int attributeId, final long modificationCounter, final String attributeType,
+                final AbstractAttributeInteraction<?> interaction) {
+            this.attributeId = attributeId;
+            this.modificationCounter = modificationCounter;
+            this.attributeType = attributeType;
+            this.interaction = interaction;
+        }
+
+        private Object getValue(final int row) {
+            if (objects != null) {
+                return objects[row];
+            } else if (primitives == null) {
+                return null;
+            }
+
+            final long value = primitives[row];
+            return switch (attributeType) {
+                case BooleanAttributeDescription.ATTRIBUTE_NAME -> value != 0;
+                case IntegerAttributeDescription.ATTRIBUTE_NAME -> (int) value;
+                case LongAttributeDescription.ATTRIBUTE_NAME -> value;
+                case FloatAttributeDescription.ATTRIBUTE_NAME -> Float.intBitsToFloat((int) value);
+                default -> Double.longBitsToDouble(value);
+            };
+        }
+    }
+}
@@ -21,7 +21,6 @@ import au.gov.asd.tac.constellation.graph.Graph;
 import au.gov.asd.tac.constellation.graph.GraphAttribute;
 import au.gov.asd.tac.constellation.graph.GraphElementType;
 import au.gov.asd.tac.constellation.graph.ReadableGraph;
-import au.gov.asd.tac.constellation.graph.attribute.interaction.AbstractAttributeInteraction;
 import au.gov.asd.tac.constellation.utilities.datastructure.ThreeTuple;
 import au.gov.asd.tac.constellation.utilities.datastructure.Tuple;
 import au.gov.asd.tac.constellation.views.tableview.TableViewTopComponent;
@@ -36,6 +35,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeoutException;
@@ -759,149 +759,66 @@ public class TableNGTest {
 
     @Test
     public void updateDataTransactionStateNotSelectedOnly() {
-        final ObservableList<String> row1 = FXCollections.observableList(List.of("row1Column1", "row1Column2"));
-        final ObservableList<String> row2 = FXCollections.observableList(List.of("row2Column1", "row2Column2"));
-
-        testUpdateData(GraphElementType.TRANSACTION, false, row1, row2, null, null, List.of(row1, row2));
+        testUpdateData(GraphElementType.TRANSACTION, false, List.of(101, 102));
     }
 
     @Test
     public void updateDataTransactionStateSelectedOnly() {
-        final ObservableList<String> row1 = FXCollections.observableList(List.of("row1Column1", "row1Column2"));
-        final ObservableList<String> row2 = FXCollections.observableList(List.of("row2Column1", "row2Column2"));
-
-        testUpdateData(GraphElementType.TRANSACTION, true, row1, row2, null, null, List.of(row2));
+        testUpdateData(GraphElementType.TRANSACTION, true, List.of(102));
     }
 
     @Test
     public void updateDataVertexStateNotSelectedOnly() {
-        final ObservableList<String> row1 = FXCollections.observableList(List.of("row1Column1", "row1Column2"));
-        final ObservableList<String> row2 = FXCollections.observableList(List.of("row2Column1", "row2Column2"));
-
-        testUpdateData(GraphElementType.VERTEX, false, null, null, row1, row2, List.of(row1, row2));
+        testUpdateData(GraphElementType.VERTEX, false, List.of(201, 202));
     }
 
     @Test
     public void updateDataVertexStateSelectedOnly() {
-        final ObservableList<String> row1 = FXCollections.observableList(List.of("row1Column1", "row1Column2"));
-        final ObservableList<String> row2 = FXCollections.observableList(List.of("row2Column1", "row2Column2"));
-
-        testUpdateData(GraphElementType.VERTEX, true, null, null, row1, row2, List.of(row2));
+        testUpdateData(GraphElementType.VERTEX, true, List.of(202));
     }
 
     @Test
-    public void getRowDataForVertex() {
-        final ReadableGraph readableGraph = mock(ReadableGraph.class);
-
-        final Map<Integer, ObservableList<String>> elementIdToRowIndex = new HashMap<>();
-        final Map<ObservableList<String>, Integer> rowToElementIdIndex = new HashMap<>();
-
-        doReturn(elementIdToRowIndex).when(activeTableReference).getElementIdToRowIndex();
-        doReturn(rowToElementIdIndex).when(activeTableReference).getRowToElementIdIndex();
-
-        final int vertexId = 42;
-
-        // Set up the attributes for each column
-        when(readableGraph.getAttribute(GraphElementType.VERTEX, "COLUMN_A")).thenReturn(101);
-        when(readableGraph.getAttributeName(101)).thenReturn("COLUMN_A");
-        when(readableGraph.getAttributeElementType(101)).thenReturn(GraphElementType.VERTEX);
-        when(readableGraph.getAttributeType(101)).thenReturn("string");
-
-        final Object objectValue1 = new Object();
-        when(readableGraph.getObjectValue(101, vertexId)).thenReturn(objectValue1);
-
-        final Attribute attribute1 = new GraphAttribute(readableGraph, 101);
-
-        final CopyOnWriteArrayList<Column> columnIndex = new CopyOnWriteArrayList<>();
-        columnIndex.add(new Column(null, attribute1, null));
-
-        when(table.getColumnIndex()).thenReturn(columnIndex);
-
-        try (final MockedStatic<AbstractAttributeInteraction> attrInteractionMockedStatic = Mockito.mockStatic(AbstractAttributeInteraction.class)) {
-            final AbstractAttributeInteraction<?> interaction = mock(AbstractAttributeInteraction.class);
-            attrInteractionMockedStatic.when(() -> AbstractAttributeInteraction.getInteraction("string")).thenReturn(interaction);
-
-            when(interaction.getDisplayText(objectValue1)).thenReturn("column1Value");
-
-            assertEquals(FXCollections.observableArrayList("column1Value"), table.getRowDataForVertex(readableGraph, vertexId));
+    public void updateDataUnchanged() {
+        final TableViewState tableViewState = new TableViewState();
+        tableViewState.setElementType(GraphElementType.VERTEX);
+        tableViewState.setSelectedOnly(false);
 
-            assertEquals(Map.of(vertexId, FXCollections.observableArrayList("column1Value")), elementIdToRowIndex);
-            assertEquals(Map.of(FXCollections.observableArrayList("column1Value"), vertexId), rowToElementIdIndex);
-        }
-    }
+        final ProgressBar progressBar = mock(ProgressBar.class);
 
-    @Test
-    public void getRowDataForTransaction() {
         final ReadableGraph readableGraph = mock(ReadableGraph.class);
+        when(graph.getReadableGraph()).thenReturn(readableGraph);
+        when(graph.getId()).thenReturn("graphId");
 
-        final Map<Integer, ObservableList<String>> elementIdToRowIndex = new HashMap<>();
-        final Map<ObservableList<String>, Integer> rowToElementIdIndex = new HashMap<>();
-
-        doReturn(elementIdToRowIndex).when(activeTableReference).getElementIdToRowIndex();
-        doReturn(rowToElementIdIndex).when(activeTableReference).getRowToElementIdIndex();
-
-        final int transactionId = 42;
-
-        final int sourceVertexId = 52;
-        final int destinationVertexId = 62;
-
-        // Set up the attributes for each column
-        when(readableGraph.getAttribute(GraphElementType.VERTEX, "COLUMN_1")).thenReturn(101);
-        when(readableGraph.getAttributeName(101)).thenReturn("COLUMN_1");
-        when(readableGraph.getAttributeElementType(101)).thenReturn(GraphElementType.VERTEX);
-        when(readableGraph.getAttributeType(101)).thenReturn("string");
-
-        final Attribute attribute1 = new GraphAttribute(readableGraph, 101);
-
-        when(readableGraph.getAttribute(GraphElementType.TRANSACTION, "COLUMN_2")).thenReturn(102);
-        when(readableGraph.getAttributeName(102)).thenReturn("COLUMN_2");
-        when(readableGraph.getAttributeElementType(102)).thenReturn(GraphElementType.TRANSACTION);
-        when(readableGraph.getAttributeType(102)).thenReturn("string");
-
-        final Attribute attribute2 = new GraphAttribute(readableGraph, 102);
-
-        // There are 2 columns. One called COLUMN_1 and the other COLUMN_2. COLUMN_1
-        // is present on source and destination verticies. COLUMN_2 is present on transactions
-        final CopyOnWriteArrayList<Column> columnIndex = new CopyOnWriteArrayList<>();
-        columnIndex.add(new Column("source.", attribute1, null));
-        columnIndex.add(new Column("destination.", attribute1, null));
-        columnIndex.add(new Column("transaction.", attribute2, null));
-
-        when(table.getColumnIndex()).thenReturn(columnIndex);
-
-        // When looking at a source vertex column, it gets the source vertex of
-        // the transaction and extracts the value for the column from that vertex
-        final Object sourceVertexCoulmnValue = new Object();
-        when(readableGraph.getTransactionSourceVertex(transactionId)).thenReturn(sourceVertexId);
-        when(readableGraph.getObjectValue(101, sourceVertexId)).thenReturn(sourceVertexCoulmnValue);
-
-        // When looking at a destination vertex column, it gets the destination vertex of
-        // the transaction and extracts the value for the column from that vertex
-        final Object destinationVertexCoulmnValue = new Object();
-        when(readableGraph.getTransactionDestinationVertex(transactionId)).thenReturn(destinationVertexId);
-        when(readableGraph.getObjectValue(101, destinationVertexId)).thenReturn(destinationVertexCoulmnValue);
-
-        // When looking at a transaction column, it extracts the value from the passed transaction
-        final Object transactionCoulmnValue = new Object();
-        when(readableGraph.getObjectValue(102, transactionId)).thenReturn(transactionCoulmnValue);
+        doReturn(new HashMap<>()).when(activeTableReference).getElementIdToRowIndex();
+        doReturn(new HashMap<>()).when(activeTableReference).getRowToElementIdIndex();
 
-        try (final MockedStatic<AbstractAttributeInteraction> attrInteractionMockedStatic = Mockito.mockStatic(AbstractAttributeInteraction.class)) {
-            final AbstractAttributeInteraction<?> interaction = mock(AbstractAttributeInteraction.class);
-            attrInteractionMockedStatic.when(() -> AbstractAttributeInteraction.getInteraction("string")).thenReturn(interaction);
+        when(readableGraph.getVertexCount()).thenReturn(1);
+        when(readableGraph.getVertex(0)).thenReturn(201);
+        when(readableGraph.getStructureModificationCounter()).thenReturn(5L);
 
-            when(interaction.getDisplayText(sourceVertexCoulmnValue)).thenReturn("sourceVertex_COLUMN_1_Value");
-            when(interaction.getDisplayText(destinationVertexCoulmnValue)).thenReturn("destinationVertext_COLUMN_1_Value");
-            when(interaction.getDisplayText(transactionCoulmnValue)).thenReturn("transaction_COLUMN_2_Value");
+        try (final MockedStatic<Platform> platformMockedStatic = Mockito.mockStatic(Platform.class)) {
+            platformMockedStatic.when(() -> Platform.runLater(any(Runnable.class)))
+                    .then(mockitoInvocation -> {
+                        final Runnable runnable = (Runnable) mockitoInvocation.getArgument(0);
+                        if (runnable instanceof UpdateDataTask updateDataTask) {
+                            updateDataTask.getUpdateDataLatch().countDown();
+                        }
+                        return null;
+                    });
 
-            assertEquals(FXCollections.observableArrayList("sourceVertex_COLUMN_1_Value", "destinationVertext_COLUMN_1_Value", "transaction_COLUMN_2_Value"),
-                    table.getRowDataForTransaction(readableGraph, transactionId));
+            table.updateData(graph, tableViewState, progressBar);
 
-            assertEquals(Map.of(transactionId, FXCollections.observableArrayList("sourceVertex_COLUMN_1_Value", "destinationVertext_COLUMN_1_Value", "transaction_COLUMN_2_Value")), 
-                    elementIdToRowIndex);
+            // Nothing in the graph has changed so the table is not updated again
+            table.updateData(graph, tableViewState, progressBar);
+            platformMockedStatic.verify(() -> Platform.runLater(any(UpdateDataTask.class)), times(1));
 
-            assertEquals(Map.of(FXCollections.observableArrayList("sourceVertex_COLUMN_1_Value", "destinationVertext_COLUMN_1_Value", "transaction_COLUMN_2_Value"), transactionId),
-                    rowToElementIdIndex);
+            // A change to the graph structure means the rows are read again
+            when(readableGraph.getStructureModificationCounter()).thenReturn(6L);
+            table.updateData(graph, tableViewState, progressBar);
+            platformMockedStatic.verify(() -> Platform.runLater(any(UpdateDataTask.class)), times(2));
         }
+
+        verify(table, times(2)).createRowModel("graphId", readableGraph, tableViewState);
     }
 
     @Test
@@ -911,23 +828,16 @@ public class TableNGTest {
     }
 
     /**
-     * Tests the update data method. If the initial state's element type is
-     * vertex, then the parameters transaction row 1 and 2 can be null. And vice
-     * versa.
+     * Tests the update data method.
      *
      * @param stateElementType the initial element type in the table state
      * @param isSelectedOnlyMode true if the table's initial state is in
      * selected only mode, false otherwise
-     * @param transactionRow1 row 1 that represents a transaction element in the
-     * graph
-     * @param transactionRow2 row 2 that represents a transaction element in the
-     * graph
-     * @param vertexRow1 row 1 that represents a vertex element in the graph
-     * @param vertexRow2 row 2 that represents a vertex element in the graph
-     * @param expectedRows the expected rows that will be added to the table
+     * @param expectedElementIds the IDs of the elements whose rows are expected
+     * to be added to the table
      */
-    private void testUpdateData(final GraphElementType stateElementType, final boolean isSelectedOnlyMode, final ObservableList<String> transactionRow1, final ObservableList<String> transactionRow2,
-            final ObservableList<String> vertexRow1, final ObservableList<String> vertexRow2, final List<ObservableList<String>> expectedRows) {
+    private void testUpdateData(final GraphElementType stateElementType, final boolean isSelectedOnlyMode,
+            final List<Integer> expectedElementIds) {
         final TableViewState tableViewState = new TableViewState();
         tableViewState.setElementType(stateElementType);
         tableViewState.setSelectedOnly(isSelectedOnlyMode);
@@ -969,13 +879,6 @@ public class TableNGTest {
         when(readableGraph.getBooleanValue(22, 201)).thenReturn(false);
         when(readableGraph.getBooleanValue(22, 202)).thenReturn(true);
 
-        // Mock the transaction row creation
-        doReturn(transactionRow1).when(table).getRowDataForTransaction(readableGraph, 101);
-        doReturn(transactionRow2).when(table).getRowDataForTransaction(readableGraph, 102);
-
-        doReturn(vertexRow1).when(table).getRowDataForVertex(readableGraph, 201);
-        doReturn(vertexRow2).when(table).getRowDataForVertex(readableGraph, 202);
-
         try (final MockedStatic<Platform> platformMockedStatic = Mockito.mockStatic(Platform.class)) {
             platformMockedStatic.when(() -> Platform.runLater(any(Runnable.class)))
                     .then(mockitoInvocation -> {
@@ -987,7 +890,9 @@ public class TableNGTest {
                             // If this is not called then the test will halt forever
                             updateDataTask.getUpdateDataLatch().countDown();
 
-                            assertEquals(expectedRows, updateDataTask.getRows());
+                            assertEquals(updateDataTask.getRows().stream()
+                                    .map(row -> ((ElementRow) row).getElementId())
+                                    .toList(), expectedElementIds);
                         } else {
                             // Progress Bar
                             runnable.run();
@@ -999,8 +904,10 @@ public class TableNGTest {
             table.updateData(graph, tableViewState, progressBar);
         }
 
-        assertTrue(elementIdToRowIndex.isEmpty());
-        assertTrue(rowToElementIdIndex.isEmpty());
+        // The fake data has been replaced by the new rows
+        assertEquals(elementIdToRowIndex.keySet(), Set.copyOf(expectedElementIds));
+        assertEquals(Set.copyOf(rowToElementIdIndex.values()), Set.copyOf(expectedElementIds));
+        elementIdToRowIndex.forEach((elementId, row) -> assertEquals(rowToElementIdIndex.get(row), elementId));
 
         verify(tablePane).setCenter(progressPane);
     }
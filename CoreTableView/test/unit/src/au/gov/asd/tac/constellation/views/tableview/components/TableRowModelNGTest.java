@@ -0,0 +1,250 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.views.tableview.components;
+
+import au.gov.asd.tac.constellation.graph.Attribute;
+import au.gov.asd.tac.constellation.graph.GraphAttribute;
+import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.StoreGraph;
+import au.gov.asd.tac.constellation.graph.attribute.IntegerAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.StringAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.interaction.AbstractAttributeInteraction;
+import au.gov.asd.tac.constellation.graph.schema.visual.concept.VisualConcept;
+import au.gov.asd.tac.constellation.utilities.datastructure.ImmutableObjectCache;
+import au.gov.asd.tac.constellation.utilities.datastructure.Tuple;
+import au.gov.asd.tac.constellation.views.tableview.api.Column;
+import au.gov.asd.tac.constellation.views.tableview.state.TableViewState;
+import java.util.Arrays;
+import java.util.List;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Table Row Model Test.
+ *
+ * @author formalhaunt
+ */
+public class TableRowModelNGTest {
+
+    private static final String GRAPH_ID = "graphId";
+
+    private MockedStatic<AbstractAttributeInteraction> attrInteractionMockedStatic;
+    private AbstractAttributeInteraction<?> interaction;
+
+    private StoreGraph graph;
+    private int labelAttributeId;
+    private int countAttributeId;
+    private int weightAttributeId;
+    private int vertexId1;
+    private int vertexId2;
+    private int vertexId3;
+    private int transactionId;
+
+    @BeforeMethod
+    public void setUpMethod() throws Exception {
+        interaction = mock(AbstractAttributeInteraction.class);
+        when(interaction.getDisplayText(any())).thenAnswer(invocation
+                -> invocation.getArgument(0) == null ? null : invocation.getArgument(0).toString());
+
+        attrInteractionMockedStatic = Mockito.mockStatic(AbstractAttributeInteraction.class);
+        attrInteractionMockedStatic.when(() -> AbstractAttributeInteraction.getInteraction(anyString())).thenReturn(interaction);
+
+        graph = new StoreGraph();
+        labelAttributeId = graph.addAttribute(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "Label", null, null, null);
+        countAttributeId = graph.addAttribute(GraphElementType.VERTEX, IntegerAttributeDescription.ATTRIBUTE_NAME, "Count", null, null, null);
+        weightAttributeId = graph.addAttribute(GraphElementType.TRANSACTION, IntegerAttributeDescription.ATTRIBUTE_NAME, "Weight", null, null, null);
+        VisualConcept.VertexAttribute.SELECTED.ensure(graph);
+
+        vertexId1 = graph.addVertex();
+        vertexId2 = graph.addVertex();
+        vertexId3 = graph.addVertex();
+        graph.setStringValue(labelAttributeId, vertexId1, "one");
+        graph.setStringValue(labelAttributeId, vertexId2, "two");
+        graph.setStringValue(labelAttributeId, vertexId3, "three");
+        graph.setIntValue(countAttributeId, vertexId1, 1);
+        graph.setIntValue(countAttributeId, vertexId2, 2);
+        graph.setIntValue(countAttributeId, vertexId3, 3);
+
+        transactionId = graph.addTransaction(vertexId1, vertexId2, true);
+        graph.setIntValue(weightAttributeId, transactionId, 7);
+    }
+
+    @AfterMethod
+    public void tearDownMethod() throws Exception {
+        attrInteractionMockedStatic.close();
+    }
+
+    private List<Column> vertexColumns() {
+        return List.of(
+                new Column("source.", new GraphAttribute(graph, labelAttributeId), null),
+                new Column("source.", new GraphAttribute(graph, countAttributeId), null)
+        );
+    }
+
+    private static TableViewState createState(final GraphElementType elementType, final boolean selectedOnly,
+            final List<Column> visibleColumns) {
+        final TableViewState state = new TableViewState();
+        state.setElementType(elementType);
+        state.setSelectedOnly(selectedOnly);
+        if (visibleColumns != null) {
+            state.setColumnAttributes(visibleColumns.stream()
+                    .map(column -> Tuple.create(column.getAttributeNamePrefix(), (Attribute) column.getAttribute()))
+                    .toList());
+        }
+        return state;
+    }
+
+    @Test
+    public void readVertexRows() {
+        System.out.println("readVertexRows");
+
+        final TableRowModel model = TableRowModel.read(GRAPH_ID, graph,
+                createState(GraphElementType.VERTEX, false, null), vertexColumns(), new ImmutableObjectCache());
+
+        assertEquals(model.getRowCount(), 3);
+        assertEquals(model.getColumnCount(), 2);
+        assertEquals(model.getRows().get(0), Arrays.asList("one", "1"));
+        assertEquals(model.getRows().get(1), Arrays.asList("two", "2"));
+        assertEquals(model.getRows().get(2), Arrays.asList("three", "3"));
+        assertEquals(((ElementRow) model.getRows().get(2)).getElementId(), vertexId3);
+    }
+
+    @Test
+    public void readTransactionRows() {
+        System.out.println("readTransactionRows");
+
+        // The label column is present on the source and destination vertices
+        // of the transaction, and the weight on the transaction itself
+        final List<Column> columns = List.of(
+                new Column("source.", new GraphAttribute(graph, labelAttributeId), null),
+                new Column("destination.", new GraphAttribute(graph, labelAttributeId), null),
+                new Column("transaction.", new GraphAttribute(graph, weightAttributeId), null)
+        );
+
+        final TableRowModel model = TableRowModel.read(GRAPH_ID, graph,
+                createState(GraphElementType.TRANSACTION, false, null), columns, new ImmutableObjectCache());
+
+        assertEquals(model.getRowCount(), 1);
+        assertEquals(model.getElementId(0), transactionId);
+        assertEquals(model.getRows().get(0), Arrays.asList("one", "two", "7"));
+    }
+
+    @Test
+    public void readSelectedOnly() {
+        System.out.println("readSelectedOnly");
+
+        graph.setBooleanValue(VisualConcept.VertexAttribute.SELECTED.get(graph), vertexId2, true);
+
+        final TableRowModel model = TableRowModel.read(GRAPH_ID, graph,
+                createState(GraphElementType.VERTEX, true, null), vertexColumns(), new ImmutableObjectCache());
+
+        assertEquals(model.getRowCount(), 1);
+        assertEquals(model.getElementId(0), vertexId2);
+    }
+
+    @Test
+    public void cellsFormattedLazily() {
+        System.out.println("cellsFormattedLazily");
+
+        final TableRowModel model = TableRowModel.read(GRAPH_ID, graph,
+                createState(GraphElementType.VERTEX, false, null), vertexColumns(), new ImmutableObjectCache());
+        verify(interaction, times(0)).getDisplayText(any());
+
+        assertEquals(model.getDisplayText(1, 1), "2");
+        assertEquals(model.getDisplayText(1, 1), "2");
+        verify(interaction, times(1)).getDisplayText(any());
+    }
+
+    @Test
+    public void updateChangedColumnsOnly() {
+        System.out.println("updateChangedColumnsOnly");
+
+        final List<Column> columns = vertexColumns();
+        final TableViewState state = createState(GraphElementType.VERTEX, false, null);
+        final TableRowModel model = TableRowModel.read(GRAPH_ID, graph, state, columns, new ImmutableObjectCache());
+        final List<?> rows = model.getRows();
+        assertEquals(model.getDisplayText(0, 0), "one");
+        assertEquals(model.getDisplayText(0, 1), "1");
+
+        // Nothing has changed
+        assertTrue(model.isCurrent(GRAPH_ID, graph, state, columns));
+        assertFalse(model.update(graph, state));
+
+        // Changing a value only re-reads that column, the rows are kept
+        graph.setIntValue(countAttributeId, vertexId1, 10);
+        assertTrue(model.isCurrent(GRAPH_ID, graph, state, columns));
+        clearInvocations(interaction);
+        assertTrue(model.update(graph, state));
+        assertEquals(model.getDisplayText(0, 0), "one");
+        assertEquals(model.getDisplayText(0, 1), "10");
+        verify(interaction, times(1)).getDisplayText(any());
+        assertTrue(rows == model.getRows());
+
+        // Changing the structure means the rows have to be read again
+        graph.addVertex();
+        assertFalse(model.isCurrent(GRAPH_ID, graph, state, columns));
+        assertFalse(model.isCurrent("otherGraphId", graph, state, columns));
+    }
+
+    @Test
+    public void hiddenColumnsNotRead() {
+        System.out.println("hiddenColumnsNotRead");
+
+        final List<Column> columns = vertexColumns();
+        final TableViewState labelOnly = createState(GraphElementType.VERTEX, false, columns.subList(0, 1));
+        final TableRowModel model = TableRowModel.read(GRAPH_ID, graph, labelOnly, columns, new ImmutableObjectCache());
+
+        assertEquals(model.getDisplayText(2, 0), "three");
+        assertNull(model.getDisplayText(2, 1));
+
+        // Showing the column reads its values
+        final TableViewState allColumns = createState(GraphElementType.VERTEX, false, columns);
+        assertTrue(model.isCurrent(GRAPH_ID, graph, allColumns, columns));
+        assertTrue(model.update(graph, allColumns));
+        assertEquals(model.getDisplayText(2, 1), "3");
+    }
+
+    @Test
+    public void rowEquality() {
+        System.out.println("rowEquality");
+
+        final TableViewState state = createState(GraphElementType.VERTEX, false, null);
+        final TableRowModel model1 = TableRowModel.read(GRAPH_ID, graph, state, vertexColumns(), new ImmutableObjectCache());
+        graph.setStringValue(labelAttributeId, vertexId1, "changed");
+        final TableRowModel model2 = TableRowModel.read(GRAPH_ID, graph, state, vertexColumns(), new ImmutableObjectCache());
+        final TableRowModel otherGraphModel = TableRowModel.read("otherGraphId", graph, state, vertexColumns(), new ImmutableObjectCache());
+
+        // Rows for the same element are equal even though their values differ
+        assertTrue(model1.getRows().get(0).equals(model2.getRows().get(0)));
+        assertEquals(model1.getRows().get(0).hashCode(), model2.getRows().get(0).hashCode());
+        assertFalse(model1.getRows().get(0).equals(model1.getRows().get(1)));
+        assertFalse(model1.getRows().get(0).equals(otherGraphModel.getRows().get(0)));
+    }
+}
@@ -470,8 +470,19 @@ public class TimelinePanel extends Region {
      * @see TimelineChart
      */
     public void clearTimeline() {
+        clearTimeline(true);
+    }
+
+    /**
+     * Method responsible for removing all content from the <code>TimelineChart</code> component.
+     *
+     * @param clearTree true to also clear the clustering tree, or false to keep it so that the timeline can be
+     * repopulated by only updating the transactions that have changed.
+     * @see TimelineChart
+     */
+    public void clearTimeline(final boolean clearTree) {
         clearTimelineData();
-        clusteringManager.cleanupVariables();
+        clusteringManager.cleanupVariables(clearTree);
         GraphManager.getDefault().setElementSelected(false);
     }
     // </editor-fold>
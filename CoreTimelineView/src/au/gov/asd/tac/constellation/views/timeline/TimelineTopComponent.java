@@ -526,8 +526,8 @@ public final class TimelineTopComponent extends TopComponent implements LookupLi
                         Platform.runLater(() -> {
                             // Now that the heights are known, set the position of the splitPane divider:
                             splitPane.setDividerPositions(splitPanePosition);
-                            // Clear anything already on the charts:
-                            timelinePanel.clearTimeline();
+                            // Clear anything already on the charts, keeping the clustering tree to be updated from the graph:
+                            timelinePanel.clearTimeline(false);
                             overviewPanel.clearHistogram(!isFullRefresh);
                             // Ensure that everything is visible:
                             timelinePanel.setDisable(false);
@@ -31,7 +31,6 @@ import au.gov.asd.tac.constellation.utilities.temporal.TemporalConstants;
 import au.gov.asd.tac.constellation.views.timeline.TimeExtents;
 import au.gov.asd.tac.constellation.views.timeline.TimelineTopComponent;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -48,14 +47,13 @@ import org.eclipse.collections.impl.set.mutable.primitive.IntHashSet;
  */
 public class ClusteringManager {
 
-    private final List<TreeLeaf> leaves = new ArrayList<>();
-    private TreeElement tree;
+    private final TimeBucketIndex index = new TimeBucketIndex();
     private Set<TreeElement> elementsToDraw = new HashSet<>();
-    private Set<TreeElement> elementsToUndim = new HashSet<>();
-    private Set<TreeElement> oldElementsToUndim;
+    private TreeLeaf[] leavesToUndim = new TreeLeaf[0];
+    private TreeLeaf[] oldLeavesToUndim;
     private final MutableIntIntMap undimmedVerticesOnGraph = new IntIntHashMap();
-    private Set<TreeElement> elementsToUnhide = new HashSet<>();
-    private Set<TreeElement> oldElementsToUnhide;
+    private TreeLeaf[] leavesToUnhide = new TreeLeaf[0];
+    private TreeLeaf[] oldLeavesToUnhide;
     private final MutableIntIntMap unhiddenVerticesOnGraph = new IntIntHashMap();
 
     public TimeExtents generateTree(final GraphReadMethods graph, final String datetimeAttribute, final boolean selectedOnly) {
@@ -66,7 +64,10 @@ public class ClusteringManager {
 
         // If we actually have the attributes
         if (datetimeAttributeId != Graph.NOT_FOUND && selectedNodeAttributeId != Graph.NOT_FOUND && selectedTransAttributeId != Graph.NOT_FOUND) {
-            // Grab all of the transactions off the graph and turn into leaves:
+            final List<TreeLeaf> leaves = new ArrayList<>();
+
+            // Grab all of the transactions off the graph and turn into leaves,
+            // keeping the existing leaf of any transaction that has not changed:
             for (int i = 0; i < transactionCount; i++) {
                 final int transactionID = graph.getTransaction(i);
                 final String datetimeAttributeType = graph.getAttributeType(datetimeAttributeId);
@@ -91,124 +92,48 @@ public class ClusteringManager {
                     final boolean isSelected = graph.getBooleanValue(selectedTransAttributeId, transactionID);
                     if (isSelected || !selectedOnly) {
                         final boolean nodesSelected = graph.getBooleanValue(selectedNodeAttributeId, vertexA) || graph.getBooleanValue(selectedNodeAttributeId, vertexB);
-                        leaves.add(new TreeLeaf(transactionID, transactionValue, isSelected, nodesSelected, lowerY, upperY, Math.min(vertexA, vertexB), Math.max(vertexA, vertexB)));
+                        final TreeLeaf leaf = index.getLeaf(transactionID);
+                        if (leaf != null && leaf.matches(transactionID, transactionValue, isSelected, nodesSelected, lowerY, upperY, lowerY, upperY)) {
+                            leaves.add(leaf);
+                        } else {
+                            leaves.add(new TreeLeaf(transactionID, transactionValue, isSelected, nodesSelected, lowerY, upperY, lowerY, upperY));
+                        }
                     }
                 }
             }
 
-            if (leaves.isEmpty()) {
-                tree = null;
-                return null;
-            } else if (leaves.size() == 1) {
-                tree = leaves.get(0);
-                return new TimeExtents(tree.getLowerTimeExtent(), tree.getUpperTimeExtent());
-            }
-
-            Collections.sort(leaves);
-            TreeNode lastNode = null;
-
-            final TreeNode[] nodes = new TreeNode[leaves.size() - 1];
-
-            for (int i = 0; i < (leaves.size() - 1); i++) {
-                final TreeNode nextNode = new TreeNode(leaves.get(i), leaves.get(i + 1));
-                nextNode.previous = lastNode;
-                if (lastNode != null) {
-                    lastNode.next = nextNode;
-                }
-                lastNode = nextNode;
-                nodes[i] = nextNode;
-            }
-
-            Arrays.sort(nodes);
-
-            for (int i = 0; i < nodes.length - 1; i++) {
-                final TreeNode highest = nodes[i];
-
-                if (highest.previous != null) {
-                    highest.previous.setLastChild(highest);
-                    highest.previous.next = highest.next;
-                }
-                if (highest.next != null) {
-                    highest.next.setFirstChild(highest);
-                    highest.next.previous = highest.previous;
-                }
-            }
-
-            tree = nodes[nodes.length - 1];
+            index.update(leaves);
+            index.clearNodeItems();
         } else {
-            tree = null;
+            index.clear();
         }
 
-        return tree != null ? new TimeExtents(tree.getLowerTimeExtent(), tree.getUpperTimeExtent()) : null;
+        return index.size() > 0 ? new TimeExtents(index.getLowerTimeExtent(), index.getUpperTimeExtent()) : null;
     }
 
     public void filterTree(final double pixelsPerTransaction, final long lowerTimeExtent, final long upperTimeExtent) {
-        final List<TreeElement> stack = new ArrayList<>();
-        elementsToDraw = new HashSet<>();
-        if (tree == null) {
-            return;
-        }
-        stack.add(tree);
-
-        while (!stack.isEmpty()) {
-            final TreeElement te = stack.remove(stack.size() - 1);
-            if (te.getUpperTimeExtent() < lowerTimeExtent || te.getLowerTimeExtent() > upperTimeExtent) {
-                continue;
-            }
-
-            if (te instanceof TreeLeaf) {
-                elementsToDraw.add(te);
-            } else {
-                final TreeNode node = (TreeNode) te;
-
-                final double gap = (double) node.lastChild.getLowerTimeExtent() - node.firstChild.getUpperTimeExtent();
-                if (gap <= pixelsPerTransaction && (node.getLowerTimeExtent() < node.getUpperTimeExtent())) {
-                    elementsToDraw.add(node);
-                } else {
-                    stack.add(node.firstChild);
-                    stack.add(node.lastChild);
-                }
-            }
-        }
+        elementsToDraw = new HashSet<>(index.getElements(lowerTimeExtent, upperTimeExtent, pixelsPerTransaction));
     }
 
     protected void dimOrHideTree(final long lowerTimeExtent, final long upperTimeExtent, int exclusionState) {
-        oldElementsToUndim = elementsToUndim;
-        elementsToUndim = new HashSet<>();
-        oldElementsToUnhide = elementsToUnhide;
-        elementsToUnhide = new HashSet<>();
-
-        if (tree == null) {
-            return;
-        }
-
-        final List<TreeElement> stack = new ArrayList<>();
-        stack.add(tree);
-
-        while (!stack.isEmpty()) {
-            final TreeElement te = stack.removeLast();
-            if (te.getUpperTimeExtent() < lowerTimeExtent || te.getLowerTimeExtent() > upperTimeExtent) {
-                continue;
-            }
-
-            if (te.getUpperTimeExtent() <= upperTimeExtent && te.getLowerTimeExtent() >= lowerTimeExtent) {
-                if (exclusionState == 1) {
-                    elementsToUndim.add(te);
-                } else if (exclusionState == 2) {
-                    elementsToUnhide.add(te);
-                }
-            } else {
-                addLeavesToStack(te, stack);
-            }
+        oldLeavesToUndim = leavesToUndim;
+        leavesToUndim = new TreeLeaf[0];
+        oldLeavesToUnhide = leavesToUnhide;
+        leavesToUnhide = new TreeLeaf[0];
+
+        if (exclusionState == 1) {
+            leavesToUndim = index.getLeaves(lowerTimeExtent, upperTimeExtent);
+        } else if (exclusionState == 2) {
+            leavesToUnhide = index.getLeaves(lowerTimeExtent, upperTimeExtent);
         }
     }
 
     public long getLowestObservedTime() {
-        return tree.getLowerTimeExtent();
+        return index.getLowerTimeExtent();
     }
 
     public long getHighestObservedTime() {
-        return tree.getUpperTimeExtent();
+        return index.getUpperTimeExtent();
     }
 
     public Set<TreeElement> getElementsToDraw() {
@@ -216,30 +141,34 @@ public class ClusteringManager {
     }
 
     public void cleanupVariables() {
-        clearTree();
+        cleanupVariables(true);
+    }
+
+    /**
+     * Clear the elements being drawn and the dimming or hiding state.
+     *
+     * @param clearTree true to also clear the tree, or false to keep it so
+     * that the next call to {@link #generateTree} only updates the
+     * transactions that have changed.
+     */
+    public void cleanupVariables(final boolean clearTree) {
+        if (clearTree) {
+            clearTree();
+        }
         if (elementsToDraw != null) {
             elementsToDraw.clear();
         }
         elementsToDraw = null;
-        elementsToUndim = null;
-        oldElementsToUndim = null;
+        leavesToUndim = null;
+        oldLeavesToUndim = null;
         undimmedVerticesOnGraph.clear();
-        elementsToUnhide = null;
-        oldElementsToUnhide = null;
+        leavesToUnhide = null;
+        oldLeavesToUnhide = null;
         unhiddenVerticesOnGraph.clear();
     }
 
     public void clearTree() {
-        tree = null;
-        leaves.clear();
-    }
-
-    private void addLeavesToStack(final TreeElement element, final List<TreeElement> stack) {
-        final TreeNode node = (TreeNode) element;
-        if (node != null) {
-            stack.add(node.firstChild);
-            stack.add(node.lastChild);
-        }
+        index.clear();
     }
 
     @FunctionalInterface
@@ -279,8 +208,8 @@ public class ClusteringManager {
                 final int vertHideAttr = VisualConcept.VertexAttribute.VISIBILITY.ensure(wg);
                 final int transHideAttr = VisualConcept.TransactionAttribute.VISIBILITY.ensure(wg);
 
-                elementsToUndim = null;
-                elementsToUnhide = null;
+                leavesToUndim = null;
+                leavesToUnhide = null;
                 dimOrHideTree(lowerTimeExtent, upperTimeExtent, exclusionState);
 
                 final MutableIntSet transactionsToUndim = new IntHashSet();
@@ -289,52 +218,19 @@ public class ClusteringManager {
                 undimmedVerticesOnGraph.clear();
                 unhiddenVerticesOnGraph.clear();
 
-                final List<TreeElement> stack = new ArrayList<>();
                 if (exclusionState == 1) {
-                    for (final TreeElement te : elementsToUndim) {
-                        if (te instanceof TreeLeaf leaf) {
-                            transactionsToUndim.add(leaf.getId());
-                            // Note get returns 0 if the key doesn't already exist, hence we don't need to check the key beforehand
-                            undimmedVerticesOnGraph.put(leaf.vertexIdA, undimmedVerticesOnGraph.get(leaf.vertexIdA) + 1);
-                            undimmedVerticesOnGraph.put(leaf.vertexIdB, undimmedVerticesOnGraph.get(leaf.vertexIdB) + 1);
-                        } else {
-                            stack.add(te);
-                            while (!stack.isEmpty()) {
-                                final TreeElement element = stack.remove(stack.size() - 1);
-
-                                if (element instanceof TreeLeaf leaf) {
-                                    transactionsToUndim.add(leaf.getId());
-                                    // Note get returns 0 if the key doesn't already exist, hence we don't need to check the key beforehand
-                                    undimmedVerticesOnGraph.put(leaf.vertexIdA, undimmedVerticesOnGraph.get(leaf.vertexIdA) + 1);
-                                    undimmedVerticesOnGraph.put(leaf.vertexIdB, undimmedVerticesOnGraph.get(leaf.vertexIdB) + 1);
-                                } else {
-                                    addLeavesToStack(element, stack);
-                                }
-                            }
-                        }
+                    for (final TreeLeaf leaf : leavesToUndim) {
+                        transactionsToUndim.add(leaf.getId());
+                        // Note get returns 0 if the key doesn't already exist, hence we don't need to check the key beforehand
+                        undimmedVerticesOnGraph.put(leaf.vertexIdA, undimmedVerticesOnGraph.get(leaf.vertexIdA) + 1);
+                        undimmedVerticesOnGraph.put(leaf.vertexIdB, undimmedVerticesOnGraph.get(leaf.vertexIdB) + 1);
                     }
                 } else if (exclusionState == 2) {
-                    for (final TreeElement te : elementsToUnhide) {
-                        if (te instanceof TreeLeaf leaf) {
-                            transactionsToUnhide.add(leaf.getId());
-                            // Note get returns 0 if the key doesn't already exist, hence we don't need to check the key beforehand
-                            unhiddenVerticesOnGraph.put(leaf.vertexIdA, unhiddenVerticesOnGraph.get(leaf.vertexIdA) + 1);
-                            unhiddenVerticesOnGraph.put(leaf.vertexIdB, unhiddenVerticesOnGraph.get(leaf.vertexIdB) + 1);
-                        } else {
-                            stack.add(te);
-                            while (!stack.isEmpty()) {
-                                final TreeElement element = stack.remove(stack.size() - 1);
-
-                                if (element instanceof TreeLeaf leaf) {
-                                    transactionsToUnhide.add(leaf.getId());
-                                    // Note get returns 0 if the key doesn't already exist, hence we don't need to check the key beforehand
-                                    unhiddenVerticesOnGraph.put(leaf.vertexIdA, unhiddenVerticesOnGraph.get(leaf.vertexIdA) + 1);
-                                    unhiddenVerticesOnGraph.put(leaf.vertexIdB, unhiddenVerticesOnGraph.get(leaf.vertexIdB) + 1);
-                                } else {
-                                    addLeavesToStack(element, stack);
-                                }
-                            }
-                        }
+                    for (final TreeLeaf leaf : leavesToUnhide) {
+                        transactionsToUnhide.add(leaf.getId());
+                        // Note get returns 0 if the key doesn't already exist, hence we don't need to check the key beforehand
+                        unhiddenVerticesOnGraph.put(leaf.vertexIdA, unhiddenVerticesOnGraph.get(leaf.vertexIdA) + 1);
+                        unhiddenVerticesOnGraph.put(leaf.vertexIdB, unhiddenVerticesOnGraph.get(leaf.vertexIdB) + 1);
                     }
                 }
 
@@ -398,9 +294,9 @@ public class ClusteringManager {
                 final int vertHideAttr = VisualConcept.VertexAttribute.VISIBILITY.ensure(wg);
 
                 if (exclusionState == 1) {
-                    populateDimOrHideSets(verticesToBeDimmed, verticesToBeUndimmed, undimmedVerticesOnGraph, elementsToUndim, oldElementsToUndim, wg, true);
+                    populateDimOrHideSets(verticesToBeDimmed, verticesToBeUndimmed, undimmedVerticesOnGraph, leavesToUndim, oldLeavesToUndim, wg, true);
                 } else if (exclusionState == 2) {
-                    populateDimOrHideSets(verticesToBeHidden, verticesToBeUnhidden, unhiddenVerticesOnGraph, elementsToUnhide, oldElementsToUnhide, wg, false);
+                    populateDimOrHideSets(verticesToBeHidden, verticesToBeUnhidden, unhiddenVerticesOnGraph, leavesToUnhide, oldLeavesToUnhide, wg, false);
                 }
 
                 for (final Integer vertexId : verticesToBeUndimmed) {
@@ -437,50 +333,40 @@ public class ClusteringManager {
         private void populateDimOrHideSets(final Set<Integer> vertices,
                 final Set<Integer> verticesToUn,
                 final MutableIntIntMap verticesOnGraph,
-                final Set<TreeElement> elements,
-                final Set<TreeElement> oldElements,
+                final TreeLeaf[] leaves,
+                final TreeLeaf[] oldLeaves,
                 final WritableGraph wg,
                 final boolean dimVertices) {
 
-            if (oldElements == null || elements == null) {
+            if (oldLeaves == null || leaves == null) {
                 return;
             }
 
-            final List<TreeElement> stack = new ArrayList<>();
-
-            // Figures out which vertices to dim/hide
-            for (final TreeElement te : oldElements) {
-                if (elements.contains(te)) {
-                    continue;
-                }
-
-                stack.add(te);
-                while (!stack.isEmpty()) {
-                    final TreeElement element = stack.removeLast();
-
-                    if (element instanceof TreeLeaf leaf) {
-                        processLeafOldGraph(vertices, verticesOnGraph, leaf, wg, dimVertices);
-                    } else {
-                        addLeavesToStack(element, stack);
-                    }
-                }
-            }
-
-            // Figures out which vertices to undim/unhide
-            for (final TreeElement te : elements) {
-                if (oldElements.contains(te)) {
-                    continue;
+            // Both arrays are sorted, so walk through them together to find
+            // the leaves that are only in one of them. A leaf that has been
+            // replaced since the old leaves were found is in both, as
+            // different objects, and is treated as a leaf in each.
+            int oldIndex = 0;
+            int index = 0;
+            while (oldIndex < oldLeaves.length || index < leaves.length) {
+                final int comparison;
+                if (oldIndex == oldLeaves.length) {
+                    comparison = 1;
+                } else if (index == leaves.length) {
+                    comparison = -1;
+                } else {
+                    comparison = oldLeaves[oldIndex].compareTo(leaves[index]);
                 }
 
-                stack.add(te);
-                while (!stack.isEmpty()) {
-                    final TreeElement element = stack.removeLast();
-
-                    if (element instanceof TreeLeaf leaf) {
-                        processLeaf(verticesToUn, verticesOnGraph, leaf, wg);
-                    } else {
-                        addLeavesToStack(element, stack);
-                    }
+                if (comparison == 0 && oldLeaves[oldIndex] == leaves[index]) {
+                    oldIndex++;
+                    index++;
+                } else if (comparison <= 0) {
+                    // Figures out which vertices to dim/hide
+                    processLeafOldGraph(vertices, verticesOnGraph, oldLeaves[oldIndex++], wg, dimVertices);
+                } else {
+                    // Figures out which vertices to undim/unhide
+                    processLeaf(verticesToUn, verticesOnGraph, leaves[index++], wg);
                 }
             }
         }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.views.timeline.clustering;
+
+/**
+ * The leaves of a {@link TimeBucketIndex} that fall within a single interval
+ * of time. The intervals at each level of the index are 2<sup>level</sup>
+ * milliseconds wide, and a bucket holds the key of its interval, which is the
+ * start of the interval divided by its width.
+ *
+ * @author betelgeuse
+ */
+public class TimeBucket extends TreeElement {
+
+    private final int level;
+    private final long key;
+
+    private int count = 0;
+    private int selectedCount = 0;
+    private int nodesSelectedCount = 0;
+    private long lowerTimeExtent;
+    private long upperTimeExtent;
+    private int lowerDisplayPos;
+    private int upperDisplayPos;
+
+    TimeBucket(final int level, final long key) {
+        this.level = level;
+        this.key = key;
+        resetExtents();
+    }
+
+    int getLevel() {
+        return level;
+    }
+
+    long getKey() {
+        return key;
+    }
+
+    /**
+     * Add a leaf to this bucket.
+     *
+     * @param leaf the leaf.
+     */
+    void add(final TreeLeaf leaf) {
+        count++;
+        selectedCount += leaf.getSelectedCount();
+        nodesSelectedCount += leaf.anyNodesSelected() ? 1 : 0;
+        includeExtents(leaf);
+    }
+
+    /**
+     * Add the leaves of a bucket at the level below to this bucket.
+     *
+     * @param child the bucket at the level below.
+     */
+    void add(final TimeBucket child) {
+        count += child.count;
+        selectedCount += child.selectedCount;
+        nodesSelectedCount += child.nodesSelectedCount;
+        includeExtents(child);
+    }
+
+    /**
+     * Remove a leaf from this bucket. The extents of the bucket are left
+     * unchanged, so they must be recalculated if the leaf was on one of them.
+     *
+     * @param leaf the leaf.
+     * @return true if the leaf was on one of the extents of this bucket.
+     */
+    boolean remove(final TreeLeaf leaf) {
+        count--;
+        selectedCount -= leaf.getSelectedCount();
+        nodesSelectedCount -= leaf.anyNodesSelected() ? 1 : 0;
+        return leaf.getDatetime() == lowerTimeExtent || leaf.getDatetime() == upperTimeExtent
+                || leaf.getLowerDisplayPos() == lowerDisplayPos || leaf.getUpperDisplayPos() == upperDisplayPos;
+    }
+
+    final void resetExtents() {
+        lowerTimeExtent = Long.MAX_VALUE;
+        upperTimeExtent = Long.MIN_VALUE;
+        lowerDisplayPos = Integer.MAX_VALUE;
+        upperDisplayPos = Integer.MIN_VALUE;
+    }
+
+    void includeExtents(final TreeElement element) {
+        lowerTimeExtent = Math.min(lowerTimeExtent, element.getLowerTimeExtent());
+        upperTimeExtent = Math.max(upperTimeExtent, element.getUpperTimeExtent());
+        lowerDisplayPos = Math.min(lowerDisplayPos, element.getLowerDisplayPos());
+        upperDisplayPos = Math.max(upperDisplayPos, element.getUpperDisplayPos());
+    }
+
+    @Override
+    public long getLowerTimeExtent() {
+        return lowerTimeExtent;
+    }
+
+    @Override
+    public long getUpperTimeExtent() {
+        return upperTimeExtent;
+    }
+
+    @Override
+    public int getLowerDisplayPos() {
+        return lowerDisplayPos;
+    }
+
+    @Override
+    public int getUpperDisplayPos() {
+        return upperDisplayPos;
+    }
+
+    @Override
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public int getSelectedCount() {
+        return selectedCount;
+    }
+
+    @Override
+    public boolean anyNodesSelected() {
+        return nodesSelectedCount > 0;
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.views.timeline.clustering;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.collections.api.map.primitive.MutableIntObjectMap;
+import org.eclipse.collections.api.map.primitive.MutableLongObjectMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntObjectHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.LongObjectHashMap;
+
+/**
+ * A multi-resolution index of the leaves of the timeline over time.
+ * <p>
+ * The leaves are kept in an array sorted by time, and above them is a pyramid
+ * of levels of {@link TimeBucket}, where the buckets at each level are twice
+ * as wide as those at the level below. Only the levels that group the leaves
+ * into at most half as many buckets as there are leaves are kept, since finer
+ * levels would hold little more than the leaves themselves.
+ * <p>
+ * The elements to draw at a given zoom are the buckets of the widest level
+ * that is no wider than the clustering distance, so finding them only looks at
+ * the buckets within the visible range. Leaves can be added and removed one at
+ * a time, which only updates the bucket containing them at each level, and the
+ * index is only rebuilt when many leaves change at once.
+ *
+ * @author betelgeuse
+ */
+final class TimeBucketIndex {
+
+    private static final int MAX_LEVEL = 62;
+
+    // The index is rebuilt rather than updated when more than a quarter of its
+    // leaves change.
+    private static final int REBUILD_DIVISOR = 4;
+
+    private final MutableIntObjectMap<TreeLeaf> leavesById = new IntObjectHashMap<>();
+    private TreeLeaf[] sortedLeaves = new TreeLeaf[0];
+    private int size = 0;
+
+    // The levels from minLevel to MAX_LEVEL, each a map from bucket key to bucket.
+    private final List<MutableLongObjectMap<TimeBucket>> levels = new ArrayList<>();
+    private int minLevel = 0;
+
+    /**
+     * Returns the number of leaves in the index.
+     *
+     * @return the number of leaves in the index.
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Returns the leaf of a transaction.
+     *
+     * @param transactionId the id of the transaction.
+     * @return the leaf of the transaction, or null if it is not in the index.
+     */
+    synchronized TreeLeaf getLeaf(final int transactionId) {
+        return leavesById.get(transactionId);
+    }
+
+    /**
+     * Returns the time of the earliest leaf.
+     *
+     * @return the time of the earliest leaf.
+     */
+    synchronized long getLowerTimeExtent() {
+        return sortedLeaves[0].getDatetime();
+    }
+
+    /**
+     * Returns the time of the latest leaf.
+     *
+     * @return the time of the latest leaf.
+     */
+    synchronized long getUpperTimeExtent() {
+        return sortedLeaves[size - 1].getDatetime();
+    }
+
+    /**
+     * Remove every leaf from the index.
+     */
+    synchronized void clear() {
+        leavesById.clear();
+        sortedLeaves = new TreeLeaf[0];
+        size = 0;
+        levels.clear();
+        minLevel = 0;
+    }
+
+    /**
+     * Make the index hold exactly the given leaves. Leaves already in the index
+     * are kept, leaves that are no longer given are removed, and new leaves
+     * are added, unless so many have changed that it is quicker to rebuild
+     * the index.
+     *
+     * @param leaves the leaves, at most one for each transaction.
+     */
+    synchronized void update(final List<TreeLeaf> leaves) {
+        final MutableIntObjectMap<TreeLeaf> current = new IntObjectHashMap<>(leaves.size());
+        leaves.forEach(leaf -> current.put(leaf.getId(), leaf));
+        final List<TreeLeaf> removed = new ArrayList<>();
+        leavesById.forEachValue(leaf -> {
+            if (current.get(leaf.getId()) != leaf) {
+                removed.add(leaf);
+            }
+        });
+        final List<TreeLeaf> added = leaves.stream().filter(leaf -> leavesById.get(leaf.getId()) != leaf).toList();
+
+        if ((long) (removed.size() + added.size()) * REBUILD_DIVISOR > size) {
+            build(leaves);
+        } else {
+            removed.forEach(this::remove);
+            added.forEach(this::add);
+        }
+    }
+
+    /**
+     * Forget the chart items of every leaf and bucket, so that they are
+     * created again from the graph when they are next drawn.
+     */
+    synchronized void clearNodeItems() {
+        for (int i = 0; i < size; i++) {
+            sortedLeaves[i].setNodeItem(null);
+        }
+        levels.forEach(level -> level.forEachValue(bucket -> bucket.setNodeItem(null)));
+    }
+
+    private void build(final List<TreeLeaf> leaves) {
+        clear();
+        sortedLeaves = leaves.toArray(new TreeLeaf[0]);
+        Arrays.sort(sortedLeaves);
+        size = sortedLeaves.length;
+        for (final TreeLeaf leaf : sortedLeaves) {
+            leavesById.put(leaf.getId(), leaf);
+        }
+
+        minLevel = chooseMinLevel();
+        for (int level = minLevel; level <= MAX_LEVEL; level++) {
+            final int bucketLevel = level;
+            final MutableLongObjectMap<TimeBucket> buckets = new LongObjectHashMap<>();
+            if (level == minLevel) {
+                for (final TreeLeaf leaf : sortedLeaves) {
+                    final long key = leaf.getDatetime() >> level;
+                    buckets.getIfAbsentPut(key, () -> new TimeBucket(bucketLevel, key)).add(leaf);
+                }
+            } else {
+                levels.get(levels.size() - 1).forEachValue(child -> {
+                    final long key = child.getKey() >> 1;
+                    buckets.getIfAbsentPut(key, () -> new TimeBucket(bucketLevel, key)).add(child);
+                });
+            }
+            levels.add(buckets);
+        }
+    }
+
+    /**
+     * Find the narrowest level that has at most half as many buckets as there
+     * are leaves.
+     */
+    private int chooseMinLevel() {
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            int bucketCount = 0;
+            long lastKey = 0;
+            for (int i = 0; i < size; i++) {
+                final long key = sortedLeaves[i].getDatetime() >> level;
+                if (i == 0 || key != lastKey) {
+                    bucketCount++;
+                    lastKey = key;
+                }
+            }
+            if (bucketCount * 2 <= size || bucketCount <= 1) {
+                return level;
+            }
+        }
+        return MAX_LEVEL;
+    }
+
+    private void add(final TreeLeaf leaf) {
+        leavesById.put(leaf.getId(), leaf);
+        if (size == sortedLeaves.length) {
+            sortedLeaves = Arrays.copyOf(sortedLeaves, Math.max(16, size * 2));
+        }
+        final int position = -Arrays.binarySearch(sortedLeaves, 0, size, leaf) - 1;
+        System.arraycopy(sortedLeaves, position, sortedLeaves, position + 1, size - position);
+        sortedLeaves[position] = leaf;
+        size++;
+
+        if (levels.isEmpty()) {
+            for (int level = minLevel; level <= MAX_LEVEL; level++) {
+                levels.add(new LongObjectHashMap<>());
+            }
+        }
+        for (int level = minLevel; level <= MAX_LEVEL; level++) {
+            final int bucketLevel = level;
+            final long key = leaf.getDatetime() >> level;
+            levels.get(level - minLevel).getIfAbsentPut(key, () -> new TimeBucket(bucketLevel, key)).add(leaf);
+        }
+    }
+
+    private void remove(final TreeLeaf leaf) {
+        leavesById.remove(leaf.getId());
+        final int position = Arrays.binarySearch(sortedLeaves, 0, size, leaf);
+        System.arraycopy(sortedLeaves, position + 1, sortedLeaves, position, size - position - 1);
+        sortedLeaves[--size] = null;
+
+        // Work up from the narrowest level, so that a bucket whose extents
+        // need recalculating can use the buckets below it.
+        for (int level = minLevel; level <= MAX_LEVEL; level++) {
+            final MutableLongObjectMap<TimeBucket> buckets = levels.get(level - minLevel);
+            final long key = leaf.getDatetime() >> level;
+            final TimeBucket bucket = buckets.get(key);
+            final boolean onExtents = bucket.remove(leaf);
+            if (bucket.getCount() == 0) {
+                buckets.remove(key);
+            } else if (onExtents) {
+                bucket.resetExtents();
+                if (level == minLevel) {
+                    for (int i = lowerBound(bucket.getKey() << level); i < size && sortedLeaves[i].getDatetime() >> level == key; i++) {
+                        bucket.includeExtents(sortedLeaves[i]);
+                    }
+                } else {
+                    final MutableLongObjectMap<TimeBucket> children = levels.get(level - minLevel - 1);
+                    for (final long childKey : new long[]{key << 1, (key << 1) + 1}) {
+                        final TimeBucket child = children.get(childKey);
+                        if (child != null) {
+                            bucket.includeExtents(child);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the position of the first leaf at or after a time.
+     */
+    private int lowerBound(final long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (sortedLeaves[mid].getDatetime() < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the leaves within a range of time, in order of time.
+     *
+     * @param lowerTimeExtent the start of the range.
+     * @param upperTimeExtent the end of the range.
+     * @return the leaves within the range.
+     */
+    synchronized TreeLeaf[] getLeaves(final long lowerTimeExtent, final long upperTimeExtent) {
+        final int from = lowerBound(lowerTimeExtent);
+        final int to = upperTimeExtent == Long.MAX_VALUE ? size : lowerBound(upperTimeExtent + 1);
+        return from < to ? Arrays.copyOfRange(sortedLeaves, from, to) : new TreeLeaf[0];
+    }
+
+    /**
+     * Returns the elements to draw within a range of time. Leaves that are
+     * closer together than the clustering distance are drawn as a bucket,
+     * unless they all have the same time, in which case they are drawn
+     * individually.
+     *
+     * @param lowerTimeExtent the start of the range.
+     * @param upperTimeExtent the end of the range.
+     * @param clusterDistance the time within which leaves may be clustered.
+     * @return the leaves and buckets to draw.
+     */
+    synchronized List<TreeElement> getElements(final long lowerTimeExtent, final long upperTimeExtent, final double clusterDistance) {
+        final List<TreeElement> elements = new ArrayList<>();
+        if (size == 0 || upperTimeExtent < lowerTimeExtent) {
+            return elements;
+        }
+
+        final int level = clusterDistance < 1 ? -1
+                : Math.min(63 - Long.numberOfLeadingZeros((long) clusterDistance), MAX_LEVEL);
+        if (level < minLevel) {
+            elements.addAll(Arrays.asList(getLeaves(lowerTimeExtent, upperTimeExtent)));
+            return elements;
+        }
+
+        final MutableLongObjectMap<TimeBucket> buckets = levels.get(level - minLevel);
+        final long lowerKey = lowerTimeExtent >> level;
+        final long upperKey = upperTimeExtent >> level;
+        if (Long.compareUnsigned(upperKey - lowerKey, buckets.size()) >= 0) {
+            buckets.forEachValue(bucket -> {
+                if (bucket.getKey() >= lowerKey && bucket.getKey() <= upperKey) {
+                    addElements(bucket, lowerTimeExtent, upperTimeExtent, elements);
+                }
+            });
+        } else {
+            for (long key = lowerKey; key <= upperKey; key++) {
+                final TimeBucket bucket = buckets.get(key);
+                if (bucket != null) {
+                    addElements(bucket, lowerTimeExtent, upperTimeExtent, elements);
+                }
+            }
+        }
+        return elements;
+    }
+
+    private void addElements(final TimeBucket bucket, final long lowerTimeExtent, final long upperTimeExtent, final List<TreeElement> elements) {
+        if (bucket.getLowerTimeExtent() < bucket.getUpperTimeExtent()) {
+            elements.add(bucket);
+        } else {
+            final long upper = Math.min(bucket.getUpperTimeExtent(), upperTimeExtent);
+            for (int i = lowerBound(Math.max(bucket.getLowerTimeExtent(), lowerTimeExtent)); i < size && sortedLeaves[i].getDatetime() <= upper; i++) {
+                elements.add(sortedLeaves[i]);
+            }
+        }
+    }
+}
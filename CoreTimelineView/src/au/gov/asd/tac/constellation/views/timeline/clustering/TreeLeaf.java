@@ -91,11 +91,23 @@ public class TreeLeaf extends TreeElement implements Comparable<TreeLeaf> {
         return nodesSelected;
     }
 
+    /**
+     * Check whether this leaf was created from the same transaction values.
+     *
+     * @return true if this leaf has the given values.
+     */
+    boolean matches(final int transactionID, final long transactionValue, final boolean isSelected, final boolean nodesSelected,
+            final int lowerDisplayPos, final int upperDisplayPos, final int vertexIdA, final int vertexIdB) {
+        return id == transactionID && datetime == transactionValue && (selectionCount == 1) == isSelected
+                && this.nodesSelected == nodesSelected && this.lowerDisplayPos == lowerDisplayPos
+                && this.upperDisplayPos == upperDisplayPos && this.vertexIdA == vertexIdA && this.vertexIdB == vertexIdB;
+    }
+
     @Override
     public int compareTo(final TreeLeaf o) {
-        if (this.datetime < o.datetime) {
-            return -1;
+        if (this.datetime != o.datetime) {
+            return this.datetime < o.datetime ? -1 : 1;
         }
-        return this.datetime == o.datetime ? 0 : 1;
+        return Integer.compare(this.id, o.id);
     }
 }
@@ -26,6 +26,8 @@ import au.gov.asd.tac.constellation.graph.schema.visual.concept.VisualConcept;
 import au.gov.asd.tac.constellation.plugins.PluginGraphs;
 import au.gov.asd.tac.constellation.views.timeline.TimeExtents;
 import au.gov.asd.tac.constellation.views.timeline.clustering.ClusteringManager.UpdateDimOrHidePlugin;
+import java.util.HashSet;
+import java.util.Set;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -82,6 +84,46 @@ public class ClusteringManagerNGTest {
         assertEquals(result.getClass(), TimeExtents.class);
     }
 
+    /**
+     * Test of generateTree method, of class ClusteringManager. Generating the
+     * tree again keeps the leaves of the transactions that have not changed.
+     */
+    @Test
+    public void testGenerateTreeAgain() throws Exception {
+        System.out.println("generateTreeAgain");
+        final DualGraph graph = createGraph();
+        final ClusteringManager instance = new ClusteringManager();
+
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            instance.generateTree(rg, "DateTime", false);
+        }
+        instance.filterTree(0, Long.MIN_VALUE, Long.MAX_VALUE);
+        final Set<TreeElement> before = new HashSet<>(instance.getElementsToDraw());
+        assertEquals(before.size(), 5);
+
+        final WritableGraph wg = graph.getWritableGraph("", true);
+        try {
+            final int selectedTransactionAttr = VisualConcept.TransactionAttribute.SELECTED.get(wg);
+            wg.setBooleanValue(selectedTransactionAttr, wg.getTransaction(0), true);
+        } finally {
+            wg.commit();
+        }
+
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            instance.generateTree(rg, "DateTime", false);
+        }
+        instance.filterTree(0, Long.MIN_VALUE, Long.MAX_VALUE);
+        final Set<TreeElement> after = instance.getElementsToDraw();
+        assertEquals(after.size(), 5);
+        assertEquals(after.stream().filter(before::contains).count(), 4L);
+        assertEquals(after.stream().mapToInt(TreeElement::getSelectedCount).sum(), 1);
+
+        // Zoomed out, the transactions are drawn as a single cluster.
+        instance.filterTree(Double.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE);
+        assertEquals(instance.getElementsToDraw().size(), 1);
+        assertEquals(instance.getElementsToDraw().iterator().next().getCount(), 5);
+    }
+
     @Test
     public void testUpdateDimOrHidePluginFullDim() throws Exception {
         System.out.println("UpdateDimOrHidePlugin execute full dim");
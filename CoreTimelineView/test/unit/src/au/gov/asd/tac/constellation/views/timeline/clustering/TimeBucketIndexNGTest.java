@@ -0,0 +1,158 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.views.timeline.clustering;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for TimeBucketIndex.
+ *
+ * @author betelgeuse
+ */
+public class TimeBucketIndexNGTest {
+
+    private static final double[] CLUSTER_DISTANCES = {0, 1, 100, 5000, 100000, 1e7, Double.MAX_VALUE};
+
+    private static TreeLeaf createLeaf(final int id, final long datetime, final boolean selected) {
+        return new TreeLeaf(id, datetime, selected, false, id % 7, id % 7 + 3, id % 7, id % 7 + 3);
+    }
+
+    private static List<String> describe(final TimeBucketIndex index, final long lower, final long upper, final double clusterDistance) {
+        final List<TreeElement> elements = index.getElements(lower, upper, clusterDistance);
+        elements.sort(Comparator.comparingLong(TreeElement::getLowerTimeExtent)
+                .thenComparingLong(TreeElement::getUpperTimeExtent)
+                .thenComparingInt(TreeElement::getLowerDisplayPos));
+        return elements.stream()
+                .map(element -> element.getClass().getSimpleName() + " " + element.getLowerTimeExtent() + "-" + element.getUpperTimeExtent()
+                + " " + element.getLowerDisplayPos() + "-" + element.getUpperDisplayPos()
+                + " " + element.getCount() + "/" + element.getSelectedCount())
+                .toList();
+    }
+
+    /**
+     * Test that leaves are drawn individually when zoomed in and in buckets
+     * when zoomed out.
+     */
+    @Test
+    public void testGetElements() {
+        System.out.println("getElements");
+
+        final TimeBucketIndex instance = new TimeBucketIndex();
+        final List<TreeLeaf> leaves = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            // Ten bursts of ten leaves, one millisecond apart.
+            leaves.add(createLeaf(i, (i / 10) * 1_000_000L + i % 10, i % 3 == 0));
+        }
+        instance.update(leaves);
+
+        assertEquals(instance.size(), 100);
+        assertEquals(instance.getLowerTimeExtent(), 0L);
+        assertEquals(instance.getUpperTimeExtent(), 9_000_009L);
+        assertSame(instance.getLeaf(42), leaves.get(42));
+
+        // Zoomed in, every leaf is drawn.
+        assertEquals(instance.getElements(Long.MIN_VALUE, Long.MAX_VALUE, 0).size(), 100);
+
+        // Zoomed out a little, each burst is drawn as one or two buckets.
+        final List<TreeElement> bursts = instance.getElements(Long.MIN_VALUE, Long.MAX_VALUE, 1000);
+        assertTrue(bursts.size() >= 10 && bursts.size() <= 20, "Found " + bursts.size() + " elements");
+        assertEquals(bursts.stream().mapToInt(TreeElement::getCount).sum(), 100);
+        assertEquals(bursts.stream().mapToInt(TreeElement::getSelectedCount).sum(), 34);
+
+        // Zoomed out completely, everything is one bucket.
+        final List<TreeElement> all = instance.getElements(Long.MIN_VALUE, Long.MAX_VALUE, Double.MAX_VALUE);
+        assertEquals(all.size(), 1);
+        assertEquals(all.get(0).getCount(), 100);
+        assertEquals(all.get(0).getLowerTimeExtent(), 0L);
+        assertEquals(all.get(0).getUpperTimeExtent(), 9_000_009L);
+        assertEquals(all.get(0).getLowerDisplayPos(), 0);
+        assertEquals(all.get(0).getUpperDisplayPos(), 9);
+
+        // Only elements within the range are drawn.
+        assertEquals(instance.getElements(2_000_000L, 2_000_004L, 0).size(), 5);
+        assertEquals(instance.getLeaves(2_000_000L, 3_000_000L).length, 11);
+        assertEquals(instance.getElements(20_000_000L, 30_000_000L, 1000).size(), 0);
+    }
+
+    /**
+     * Test that leaves with the same time are drawn individually.
+     */
+    @Test
+    public void testGetElementsSameTime() {
+        System.out.println("getElementsSameTime");
+
+        final TimeBucketIndex instance = new TimeBucketIndex();
+        final List<TreeLeaf> leaves = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            leaves.add(createLeaf(i, 1000L, false));
+        }
+        instance.update(leaves);
+
+        assertEquals(instance.getElements(Long.MIN_VALUE, Long.MAX_VALUE, Double.MAX_VALUE).size(), 5);
+    }
+
+    /**
+     * Test that updating the index a few leaves at a time gives the same
+     * elements as building it from scratch.
+     */
+    @Test
+    public void testUpdate() {
+        System.out.println("update");
+
+        final Random random = new Random(3);
+        final List<TreeLeaf> leaves = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            leaves.add(createLeaf(i, (long) (random.nextGaussian() * 1e8), random.nextBoolean()));
+        }
+        final TimeBucketIndex instance = new TimeBucketIndex();
+        instance.update(leaves);
+
+        int nextId = leaves.size();
+        for (int round = 0; round < 20; round++) {
+            for (int change = 0; change < 20; change++) {
+                final int position = random.nextInt(leaves.size());
+                switch (random.nextInt(3)) {
+                    case 0 ->
+                        leaves.remove(position);
+                    case 1 ->
+                        leaves.add(createLeaf(nextId++, (long) (random.nextGaussian() * 1e8), random.nextBoolean()));
+                    default -> {
+                        final TreeLeaf leaf = leaves.get(position);
+                        leaves.set(position, createLeaf(leaf.getId(), leaf.getDatetime() + random.nextInt(1000), leaf.getSelectedCount() == 0));
+                    }
+                }
+            }
+            instance.update(new ArrayList<>(leaves));
+
+            final TimeBucketIndex expected = new TimeBucketIndex();
+            expected.update(new ArrayList<>(leaves));
+            assertEquals(instance.size(), leaves.size());
+            for (final double clusterDistance : CLUSTER_DISTANCES) {
+                assertEquals(describe(instance, Long.MIN_VALUE, Long.MAX_VALUE, clusterDistance),
+                        describe(expected, Long.MIN_VALUE, Long.MAX_VALUE, clusterDistance));
+                assertEquals(describe(instance, -50_000_000L, 70_000_000L, clusterDistance),
+                        describe(expected, -50_000_000L, 70_000_000L, clusterDistance));
+            }
+        }
+    }
+}
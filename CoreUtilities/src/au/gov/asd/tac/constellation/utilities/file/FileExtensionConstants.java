@@ -29,6 +29,7 @@ public class FileExtensionConstants {
     public static final String STAR = ".star";
     public static final String NEBULA = ".nebula";
     public static final String STAR_AUTOSAVE = ".star_auto";
+    public static final String STAR_JOURNAL = ".star_journal";
 
     // Infomap extensions
     public static final String TREE = ".tree";
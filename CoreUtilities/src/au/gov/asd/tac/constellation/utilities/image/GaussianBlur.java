@@ -16,6 +16,7 @@
 package au.gov.asd.tac.constellation.utilities.image;
 
 import java.util.Arrays;
+import java.util.stream.IntStream;
 
 /**
  * Gaussian Blur.
@@ -26,6 +27,9 @@ public class GaussianBlur {
 
     private static final String TARGET_SMALLER_THAN_SOURCE = "Target channel is smaller than source channel.";
 
+    // the number of columns blurred together by each task of a parallel blur
+    private static final int TILE_WIDTH = 64;
+
     protected static final int[] RAINBOW = {
         0x0034f8, 0x0037f6, 0x003af3, 0x003df0, 0x003fed, 0x0041ea, 0x0044e7, 0x0046e4,
         0x0048e1, 0x004ade, 0x004cdb, 0x004fd8, 0x0051d5, 0x0053d2, 0x0054d0, 0x0056cd,
@@ -94,7 +98,8 @@ public class GaussianBlur {
     public enum BoxBlurType {
         STANDARD,
         FAST,
-        FASTEST;
+        FASTEST,
+        PARALLEL;
     }
 
     /**
@@ -106,7 +111,8 @@ public class GaussianBlur {
      * @param height Height of image stored in sourceChannel
      * @param radius Radius of pixel blur
      * @param passes Number of blur passes
-     * @param type Which blur algorithm to use: STANDARD, FAST or FASTEST
+     * @param type Which blur algorithm to use: STANDARD, FAST, FASTEST or
+     * PARALLEL, which blurs rows and then tiles of columns on multiple threads
      */
     public static void gaussianBlurBox(final float[] sourceChannel, float[] targetChannel,
             final int width, final int height, final int radius, final int passes, final BoxBlurType type) {
@@ -120,8 +126,13 @@ public class GaussianBlur {
             throw new IllegalArgumentException(TARGET_SMALLER_THAN_SOURCE);
         }
 
-        float[] tempChannel = Arrays.copyOf(sourceChannel, sourceChannel.length);
         final int[] boxes = boxesForGauss(radius, passes);
+        if (type == BoxBlurType.PARALLEL) {
+            boxBlurParallel(sourceChannel, targetChannel, width, height, boxes);
+            return;
+        }
+
+        float[] tempChannel = Arrays.copyOf(sourceChannel, sourceChannel.length);
         for (int i = 0; i < passes; i++) {
             switch (type) {
                 case STANDARD ->
@@ -134,6 +145,9 @@ public class GaussianBlur {
                     boxBlurFFH(tempChannel, targetChannel, width, height, ((boxes[i] - 1) / 2));
                     boxBlurFFT(tempChannel, targetChannel, width, height, ((boxes[i] - 1) / 2));
                 }
+                default -> {
+                    // PARALLEL is handled above
+                }
             }
             tempChannel = targetChannel;
         }
@@ -295,6 +309,69 @@ public class GaussianBlur {
         }
     }
 
+    /**
+     * Blur each pass as a horizontal blur of every row followed by a vertical
+     * blur of every column, with the rows, and tiles of neighbouring columns,
+     * blurred in parallel. Each blur is a sliding window sum which clamps to
+     * the edges of the image, so each pass gives the same result as
+     * {@link #boxBlur}.
+     */
+    private static void boxBlurParallel(final float[] sourceChannel, final float[] targetChannel,
+            final int width, final int height, final int[] boxes) {
+        final float[] tempChannel = new float[width * height];
+        float[] passSource = sourceChannel;
+        for (final int box : boxes) {
+            final int boxRadius = (box - 1) / 2;
+            final float[] rowSource = passSource;
+            IntStream.range(0, height).parallel()
+                    .forEach(row -> boxBlurRow(rowSource, tempChannel, width, row, boxRadius));
+            IntStream.range(0, (width + TILE_WIDTH - 1) / TILE_WIDTH).parallel()
+                    .forEach(tile -> boxBlurColumns(tempChannel, targetChannel, width, height,
+                    tile * TILE_WIDTH, Math.min((tile + 1) * TILE_WIDTH, width), boxRadius));
+            passSource = targetChannel;
+        }
+    }
+
+    private static void boxBlurRow(final float[] sourceChannel, final float[] targetChannel,
+            final int width, final int row, final int radius) {
+        final float iarr = 1F / (radius + radius + 1);
+        final int offset = row * width;
+        float val = (radius + 1) * sourceChannel[offset];
+        for (int j = 1; j <= radius; j++) {
+            val += sourceChannel[offset + Math.min(j, width - 1)];
+        }
+        for (int j = 0; j < width; j++) {
+            targetChannel[offset + j] = val * iarr;
+            val += sourceChannel[offset + Math.min(j + radius + 1, width - 1)]
+                    - sourceChannel[offset + Math.max(j - radius, 0)];
+        }
+    }
+
+    private static void boxBlurColumns(final float[] sourceChannel, final float[] targetChannel,
+            final int width, final int height, final int startColumn, final int endColumn, final int radius) {
+        final float iarr = 1F / (radius + radius + 1);
+        final float[] vals = new float[endColumn - startColumn];
+        for (int j = startColumn; j < endColumn; j++) {
+            float val = (radius + 1) * sourceChannel[j];
+            for (int i = 1; i <= radius; i++) {
+                val += sourceChannel[Math.min(i, height - 1) * width + j];
+            }
+            vals[j - startColumn] = val;
+        }
+
+        // work along the rows of the tile so that memory is read in order
+        for (int i = 0; i < height; i++) {
+            final int offset = i * width;
+            final int addOffset = Math.min(i + radius + 1, height - 1) * width;
+            final int removeOffset = Math.max(i - radius, 0) * width;
+            for (int j = startColumn; j < endColumn; j++) {
+                final int k = j - startColumn;
+                targetChannel[offset + j] = vals[k] * iarr;
+                vals[k] += sourceChannel[addOffset + j] - sourceChannel[removeOffset + j];
+            }
+        }
+    }
+
     public static void normalise(final float[] sourceChannel, final int scaleFactor) {
         float min = sourceChannel[0];
         float max = sourceChannel[0];
@@ -302,9 +379,10 @@ public class GaussianBlur {
             min = Math.min(sourceChannel[i], min);
             max = Math.max(sourceChannel[i], max);
         }
-        for (int i = 0; i < sourceChannel.length; i++) {
-            sourceChannel[i] = ((sourceChannel[i] - min) / (max - min)) * scaleFactor;
-        }
+        final float minimum = min;
+        final float range = max - min;
+        IntStream.range(0, sourceChannel.length).parallel()
+                .forEach(i -> sourceChannel[i] = ((sourceChannel[i] - minimum) / range) * scaleFactor);
     }
 
     public static void colorise(final float[] sourceChannel, final int[] targetChannel,
@@ -312,12 +390,12 @@ public class GaussianBlur {
         if (threshold >= 0 && threshold < 255) {
             if (sourceChannel.length <= targetChannel.length) {
                 GaussianBlur.normalise(sourceChannel, 255);
-                for (int i = 0; i < sourceChannel.length; i++) {
+                IntStream.range(0, sourceChannel.length).parallel().forEach(i -> {
                     final int paletteIndex = (int) Math.floor(sourceChannel[i]);
                     final int alpha = paletteIndex < threshold ? 0
                             : Math.min((int) Math.floor((paletteIndex * severity) - threshold), 192);
                     targetChannel[i] = GaussianBlur.RAINBOW[paletteIndex] + (alpha << 24);
-                }
+                });
             } else {
                 throw new IllegalArgumentException(TARGET_SMALLER_THAN_SOURCE);
             }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.utilities.image;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Rasterises a Voronoi diagram, finding the nearest of a set of sites to each
+ * pixel of an image.
+ * <p>
+ * The diagram is found using jump flooding: each site starts in its own pixel,
+ * and each pass lets every pixel adopt the nearest site known to the pixels a
+ * fixed step away, halving the step from half the image size down to one. This
+ * takes a fixed number of passes over the image however many sites there are,
+ * and each pass works on rows of the image in parallel. A final pass with a
+ * step of one corrects most of the few pixels that jump flooding gets wrong.
+ *
+ * @author cygnus_x-1
+ */
+public class VoronoiRasteriser {
+
+    /**
+     * The value given to pixels when there are no sites.
+     */
+    public static final int NO_SITE = -1;
+
+    private VoronoiRasteriser() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Find the nearest site to each pixel of an image. When two sites are the
+     * same distance from a pixel, the pixel is given the site with the lower
+     * index.
+     *
+     * @param siteX the x coordinate of each site.
+     * @param siteY the y coordinate of each site.
+     * @param width the width of the image.
+     * @param height the height of the image.
+     * @return the index of the nearest site to each pixel, stored in row major
+     * order, or {@link #NO_SITE} for every pixel if there are no sites.
+     */
+    public static int[] rasterise(final int[] siteX, final int[] siteY, final int width, final int height) {
+        if (siteX.length != siteY.length) {
+            throw new IllegalArgumentException("Site coordinates do not have the same length.");
+        }
+
+        int[] nearest = new int[width * height];
+        Arrays.fill(nearest, NO_SITE);
+        for (int site = siteX.length - 1; site >= 0; site--) {
+            if (siteX[site] < 0 || siteX[site] >= width || siteY[site] < 0 || siteY[site] >= height) {
+                throw new IllegalArgumentException("Site is outside the image.");
+            }
+            nearest[siteY[site] * width + siteX[site]] = site;
+        }
+        if (siteX.length == 0) {
+            return nearest;
+        }
+
+        int[] next = new int[nearest.length];
+        int step = Integer.highestOneBit(Math.max(width, height) - 1);
+        boolean corrected = false;
+        while (step > 0) {
+            final int[] source = nearest;
+            final int[] target = next;
+            final int jump = step;
+            IntStream.range(0, height).parallel()
+                    .forEach(y -> floodRow(source, target, siteX, siteY, width, height, y, jump));
+            nearest = target;
+            next = source;
+
+            if (step > 1) {
+                step /= 2;
+            } else if (!corrected) {
+                corrected = true;
+            } else {
+                step = 0;
+            }
+        }
+
+        return nearest;
+    }
+
+    private static void floodRow(final int[] source, final int[] target, final int[] siteX, final int[] siteY,
+            final int width, final int height, final int y, final int step) {
+        for (int x = 0; x < width; x++) {
+            int best = source[y * width + x];
+            long bestDistance = best == NO_SITE ? Long.MAX_VALUE : distance(x, y, siteX[best], siteY[best]);
+            for (int ny = y - step; ny <= y + step; ny += step) {
+                if (ny < 0 || ny >= height) {
+                    continue;
+                }
+                for (int nx = x - step; nx <= x + step; nx += step) {
+                    if (nx < 0 || nx >= width) {
+                        continue;
+                    }
+                    final int site = source[ny * width + nx];
+                    if (site == NO_SITE || site == best) {
+                        continue;
+                    }
+                    final long siteDistance = distance(x, y, siteX[site], siteY[site]);
+                    if (siteDistance < bestDistance || (siteDistance == bestDistance && site < best)) {
+                        best = site;
+                        bestDistance = siteDistance;
+                    }
+                }
+            }
+            target[y * width + x] = best;
+        }
+    }
+
+    private static long distance(final int x1, final int y1, final int x2, final int y2) {
+        final long dx = (long) x2 - x1;
+        final long dy = (long) y2 - y1;
+        return dx * dx + dy * dy;
+    }
+}
@@ -222,6 +222,57 @@ public class GaussianBlurNGTest {
         assertEquals(targetChannel, expResult);
     }
 
+    /**
+     * Test of gaussianBlurBox method, of class GaussianBlur. Parallel BoxBlurType
+     * gives the same result as Standard BoxBlurType for a single pass
+     */
+    @Test
+    public void testGaussianBlurBoxParallel() {
+        System.out.println("gaussianBlurBoxParallel");
+        final float[] sourceChannel = {1F, 2F, 3F, 4F, 5F, 6F};
+        final float[] targetChannel = new float[8];
+        final int width = 3;
+        final int height = 2;
+        final int radius = 2;
+        final int passes = 1;
+
+        GaussianBlur.gaussianBlurBox(sourceChannel, targetChannel, width, height, radius, passes, BoxBlurType.PARALLEL);
+
+        final float[] expResult = {3F, 3.2857144F, 3.5714285F, 3.4285715F, 3.7142856F, 4F, 0F, 0F};
+        assertEquals(targetChannel, expResult, 0.0001F);
+        assertEquals(sourceChannel, new float[]{1F, 2F, 3F, 4F, 5F, 6F});
+    }
+
+    /**
+     * Test of gaussianBlurBox method, of class GaussianBlur. Parallel BoxBlurType
+     * spreads a point symmetrically over an image wider than a tile
+     */
+    @Test
+    public void testGaussianBlurBoxParallelPoint() {
+        System.out.println("gaussianBlurBoxParallelPoint");
+        final int width = 201;
+        final int height = 101;
+        final int centre = 50 * width + 100;
+        final float[] sourceChannel = new float[width * height];
+        sourceChannel[centre] = 1000F;
+        final float[] targetChannel = new float[width * height];
+
+        GaussianBlur.gaussianBlurBox(sourceChannel, targetChannel, width, height, 8, 3, BoxBlurType.PARALLEL);
+
+        float total = 0F;
+        float max = 0F;
+        for (final float value : targetChannel) {
+            total += value;
+            max = Math.max(max, value);
+        }
+        assertEquals(total, 1000F, 0.1F);
+        assertEquals(targetChannel[centre], max);
+        assertEquals(targetChannel[centre - 10], targetChannel[centre + 10], 0.0001F);
+        assertEquals(targetChannel[centre - 10 * width], targetChannel[centre + 10 * width], 0.0001F);
+        assertEquals(targetChannel[centre - 10], targetChannel[centre - 10 * width], 0.0001F);
+        assertEquals(targetChannel[0], 0F);
+    }
+
     /**
      * Test of normalise method, of class GaussianBlur.
      */
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.utilities.image;
+
+import java.util.Random;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for VoronoiRasteriser.
+ *
+ * @author cygnus_x-1
+ */
+public class VoronoiRasteriserNGTest {
+
+    private static long distance(final int x1, final int y1, final int x2, final int y2) {
+        return (long) (x2 - x1) * (x2 - x1) + (long) (y2 - y1) * (y2 - y1);
+    }
+
+    /**
+     * Test of rasterise method, of class VoronoiRasteriser. Pixels are given
+     * the nearest site, or the lower site when two are equally near.
+     */
+    @Test
+    public void testRasterise() {
+        System.out.println("rasterise");
+        final int[] siteX = {0, 4, 4};
+        final int[] siteY = {0, 0, 0};
+
+        final int[] nearest = VoronoiRasteriser.rasterise(siteX, siteY, 5, 2);
+
+        final int[] expResult = {0, 0, 0, 1, 1, 0, 0, 0, 1, 1};
+        assertEquals(nearest, expResult);
+    }
+
+    /**
+     * Test of rasterise method, of class VoronoiRasteriser. Every pixel is
+     * given a site, and almost every pixel is given its nearest site.
+     */
+    @Test
+    public void testRasteriseMany() {
+        System.out.println("rasteriseMany");
+        final int width = 300;
+        final int height = 200;
+        final int siteCount = 2000;
+        final Random random = new Random(11);
+        final int[] siteX = new int[siteCount];
+        final int[] siteY = new int[siteCount];
+        for (int site = 0; site < siteCount; site++) {
+            siteX[site] = random.nextInt(width);
+            siteY[site] = random.nextInt(height);
+        }
+
+        final int[] nearest = VoronoiRasteriser.rasterise(siteX, siteY, width, height);
+
+        int wrong = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                final int site = nearest[y * width + x];
+                assertTrue(site >= 0 && site < siteCount);
+                long best = Long.MAX_VALUE;
+                for (int other = 0; other < siteCount; other++) {
+                    best = Math.min(best, distance(x, y, siteX[other], siteY[other]));
+                }
+                if (distance(x, y, siteX[site], siteY[site]) != best) {
+                    wrong++;
+                }
+            }
+        }
+        assertTrue(wrong <= width * height / 1000, wrong + " pixels were not given their nearest site");
+    }
+
+    /**
+     * Test of rasterise method, of class VoronoiRasteriser. With no sites,
+     * every pixel is given no site.
+     */
+    @Test
+    public void testRasteriseNoSites() {
+        System.out.println("rasteriseNoSites");
+
+        final int[] nearest = VoronoiRasteriser.rasterise(new int[0], new int[0], 3, 1);
+
+        assertEquals(nearest, new int[]{VoronoiRasteriser.NO_SITE, VoronoiRasteriser.NO_SITE, VoronoiRasteriser.NO_SITE});
+    }
+
+    /**
+     * Test of rasterise method, of class VoronoiRasteriser. Sites outside the
+     * image are rejected.
+     */
+    @Test(expectedExceptions = {IllegalArgumentException.class}, expectedExceptionsMessageRegExp = "Site is outside the image.")
+    public void testRasteriseSiteOutsideImage() {
+        System.out.println("rasteriseSiteOutsideImage");
+
+        VoronoiRasteriser.rasterise(new int[]{3}, new int[]{0}, 3, 1);
+    }
+}
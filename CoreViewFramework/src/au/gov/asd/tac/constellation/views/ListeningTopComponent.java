@@ -65,6 +65,7 @@ public abstract class ListeningTopComponent<P> extends AbstractTopComponent<P> i
     protected final Map<String, Consumer<PreferenceChangeEvent>> preferenceMonitors;
     protected final Set<Object> ignoredEvents;
     protected Graph currentGraph;
+    private boolean changeSetsRequested = false;
 
     protected ListeningTopComponent() {
         super();
@@ -129,11 +130,17 @@ public abstract class ListeningTopComponent<P> extends AbstractTopComponent<P> i
         if (currentGraph != graph) {
             if (currentGraph != null) {
                 currentGraph.removeGraphChangeListener(this);
+                if (changeSetsRequested) {
+                    currentGraph.stopRecordingChangeSets();
+                }
                 currentGraph = null;
             }
             if (graph != null) {
                 currentGraph = graph;
                 currentGraph.addGraphChangeListener(this);
+                if (changeSetsRequested) {
+                    currentGraph.startRecordingChangeSets();
+                }
 
                 try (final ReadableGraph readableGraph = currentGraph.getReadableGraph()) {
                     final Map<GlobalMonitor, Consumer<Graph>> globalMonitorsCopy;
@@ -658,6 +665,28 @@ public abstract class ListeningTopComponent<P> extends AbstractTopComponent<P> i
         ignoredEvents.remove(eventId);
     }
 
+    /**
+     * Asks the graph being listened to for a
+     * {@link au.gov.asd.tac.constellation.graph.monitor.GraphChangeSet} with
+     * each {@link GraphChangeEvent}, so that {@link #handleGraphChange} can
+     * update only the elements that changed. Recording change sets has a small
+     * cost for every edit, so only request them if they will be used.
+     *
+     * @param changeSetsRequested true if change sets should be recorded.
+     */
+    protected final void setChangeSetsRequested(final boolean changeSetsRequested) {
+        if (this.changeSetsRequested != changeSetsRequested) {
+            this.changeSetsRequested = changeSetsRequested;
+            if (currentGraph != null) {
+                if (changeSetsRequested) {
+                    currentGraph.startRecordingChangeSets();
+                } else {
+                    currentGraph.stopRecordingChangeSets();
+                }
+            }
+        }
+    }
+
     /**
      * Allows you to react when the top component is opened.
      */
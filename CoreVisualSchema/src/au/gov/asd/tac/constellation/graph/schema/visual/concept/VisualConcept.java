@@ -225,6 +225,7 @@ public class VisualConcept extends SchemaConcept {
                 .build();
         public static final SchemaAttribute IDENTIFIER = new SchemaAttribute.Builder(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "Identifier")
                 .setDescription("The identifier of the node")
+                .setIndexType(GraphIndexType.UNORDERED)
                 .create()
                 .build();
         public static final SchemaAttribute LABEL = new SchemaAttribute.Builder(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "Label")
@@ -314,6 +315,7 @@ public class VisualConcept extends SchemaConcept {
                 .build();
         public static final SchemaAttribute IDENTIFIER = new SchemaAttribute.Builder(GraphElementType.TRANSACTION, StringAttributeDescription.ATTRIBUTE_NAME, "Identifier")
                 .setDescription("The identifier of the transaction")
+                .setIndexType(GraphIndexType.UNORDERED)
                 .create()
                 .build();
         public static final SchemaAttribute LINE_STYLE = new SchemaAttribute.Builder(GraphElementType.TRANSACTION, LineStyleAttributeDescription.ATTRIBUTE_NAME, "line_style")
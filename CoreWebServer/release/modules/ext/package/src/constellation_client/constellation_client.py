@@ -461,13 +461,18 @@ class Constellation:
         :param tx: If True, include only transactions.
         :param attrs: A list of attribute names. If specified, only the
             listed attributes will be fetched.
+        :param columnar: If True, fetch the data one column at a time.
+            The values of numeric and boolean attributes are sent with
+            their own types, and the graph is streamed directly without
+            building an intermediate RecordStore, which is much faster
+            for large graphs.
         :param graph_id: The id of the graph to get data from.
 
         :returns: A DataFrame containing the requested data.
         """
 
         args = {}
-        for arg in ['graphid', 'selected', 'vx', 'tx', 'attrs']:
+        for arg in ['graphid', 'selected', 'vx', 'tx', 'attrs', 'columnar']:
             if arg in kwargs:
                 value = kwargs[arg]
                 if arg=='attrs' and isinstance(value, list):
@@ -481,7 +486,11 @@ class Constellation:
         if data:
             if isinstance(data, bytes):
                 data = data.decode('utf8')
-            df = pd.read_json(io.StringIO(data), orient='split', dtype=False, convert_dates=False)
+            if kwargs.get('columnar'):
+                j = json.loads(data)
+                df = pd.DataFrame(dict(zip(j['columns'], j['values'])), columns=j['columns'])
+            else:
+                df = pd.read_json(io.StringIO(data), orient='split', dtype=False, convert_dates=False)
             df, self.types = self._fix_types(df)
             return df
         else:
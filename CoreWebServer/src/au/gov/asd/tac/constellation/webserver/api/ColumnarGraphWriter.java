@@ -0,0 +1,430 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.webserver.api;
+
+import au.gov.asd.tac.constellation.graph.Graph;
+import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.GraphReadMethods;
+import au.gov.asd.tac.constellation.graph.attribute.BooleanAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.DoubleAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.DoubleObjectAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.FloatAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.IntegerAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.LongAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.LongObjectAttributeDescription;
+import au.gov.asd.tac.constellation.utilities.text.SeparatorConstants;
+import au.gov.asd.tac.constellation.webserver.restapi.RestServiceException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Write the elements of a graph as a table of columns.
+ * <p>
+ * The rows and columns are the same as those of the RecordStore returned by
+ * get_recordstore, but the table is written one column at a time:
+ * <pre>
+ * {"columns":["source.Label|string","source.x|float"],"length":2,"values":[["a","b"],[1.0,2.0]]}
+ * </pre> Each array in "values" holds every value of the matching column, so
+ * a client can build a DataFrame with
+ * {@code pandas.DataFrame(dict(zip(j["columns"], j["values"])))}.
+ * <p>
+ * The table is read from the graph first, copying the values of the requested
+ * columns into arrays, so the graph can be released before the table is
+ * written to a possibly slow client. No RecordStore or JSON tree is built.
+ * Values of integer, long, float, double and boolean attributes are copied in
+ * their own type rather than being converted to strings and parsed again, and
+ * are written as JSON numbers and booleans. All other values are written in
+ * the same way as {@link RestUtilities#addData}.
+ *
+ * @author algol
+ */
+public class ColumnarGraphWriter {
+
+    private static final int NO_ELEMENT = Graph.NOT_FOUND;
+    private static final String SOURCE = "source.";
+    private static final String DESTINATION = "destination.";
+    private static final String TRANSACTION = "transaction.";
+    private static final String ID = "[id]";
+    private static final String DIRECTED = "[directed]";
+    private static final String STRING_TYPE = "string";
+    private static final String SELECTED_ATTRIBUTE_NAME = "selected";
+
+    private final List<String> names = new ArrayList<>();
+    private final List<String> types = new ArrayList<>();
+    private final List<ColumnValue> values = new ArrayList<>();
+    private final int rowCount;
+
+    @FunctionalInterface
+    private interface ColumnValue {
+
+        void write(final JsonGenerator generator, final int row) throws IOException;
+    }
+
+    // A column which has been found on the graph but whose values have not yet
+    // been copied, so that only the requested columns are copied.
+    @FunctionalInterface
+    private interface ColumnReader {
+
+        ColumnValue read();
+    }
+
+    private static class Column {
+
+        private final String type;
+        private final ColumnReader reader;
+
+        private Column(final String type, final ColumnReader reader) {
+            this.type = type;
+            this.reader = reader;
+        }
+    }
+
+    private ColumnarGraphWriter(final int rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Read the vertices and/or transactions of a graph.
+     * <p>
+     * If both vertices and transactions are included, only the singleton
+     * vertices are read as rows of their own, since every other vertex is
+     * read as the source or destination of a transaction.
+     *
+     * @param graph The graph to read.
+     * @param includeVertices Whether to read vertices.
+     * @param includeTransactions Whether to read transactions.
+     * @param selectedOnly If true, only read selected elements.
+     * @param attrs If not empty, read only these columns in this order, named
+     * without their types, for example "source.Label".
+     * @return A writer holding a copy of the table, which no longer refers to
+     * the graph.
+     *
+     * @throws RestServiceException if any of the requested columns do not
+     * exist.
+     */
+    public static ColumnarGraphWriter readElements(final GraphReadMethods graph, final boolean includeVertices, final boolean includeTransactions,
+            final boolean selectedOnly, final Set<String> attrs) {
+        final TableReader reader = new TableReader(graph);
+        if (includeTransactions) {
+            reader.transactions = reader.findTransactions(selectedOnly);
+        }
+        if (includeVertices) {
+            reader.vertices = reader.findVertices(includeTransactions, selectedOnly);
+        }
+        reader.addElementColumns();
+        return reader.read(attrs, reader.vertices.length + reader.transactions.length);
+    }
+
+    /**
+     * Read the graph attribute values as a table with a single row.
+     *
+     * @param graph The graph to read.
+     * @return A writer holding a copy of the table, which no longer refers to
+     * the graph.
+     */
+    public static ColumnarGraphWriter readGraphValues(final GraphReadMethods graph) {
+        final TableReader reader = new TableReader(graph);
+        reader.addAttributeColumns(GraphElementType.GRAPH, "", new int[]{0});
+        return reader.read(Set.of(), 1);
+    }
+
+    /**
+     * Write the table.
+     *
+     * @param generator The generator to write to.
+     *
+     * @throws IOException if the table could not be written.
+     */
+    public void write(final JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeArrayFieldStart("columns");
+        for (int i = 0; i < names.size(); i++) {
+            generator.writeString(names.get(i) + SeparatorConstants.PIPE + types.get(i));
+        }
+        generator.writeEndArray();
+        generator.writeNumberField("length", names.isEmpty() ? 0 : rowCount);
+        generator.writeArrayFieldStart("values");
+        for (final ColumnValue value : values) {
+            generator.writeStartArray();
+            for (int row = 0; row < rowCount; row++) {
+                value.write(generator, row);
+            }
+            generator.writeEndArray();
+
+            // Send each column as it is completed rather than buffering the whole table.
+            generator.flush();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.flush();
+    }
+
+    /**
+     * Finds the rows and columns of a table on a graph, and copies the values
+     * of the requested columns.
+     */
+    private static class TableReader {
+
+        private final GraphReadMethods graph;
+        private final Map<String, Column> columns = new LinkedHashMap<>();
+        private int[] vertices = new int[0];
+        private int[] transactions = new int[0];
+
+        private TableReader(final GraphReadMethods graph) {
+            this.graph = graph;
+        }
+
+        private int[] findVertices(final boolean singletonsOnly, final boolean selectedOnly) {
+            final int selected = graph.getAttribute(GraphElementType.VERTEX, SELECTED_ATTRIBUTE_NAME);
+            final int vertexCount = graph.getVertexCount();
+            final int[] found = new int[vertexCount];
+            int count = 0;
+            for (int position = 0; position < vertexCount; position++) {
+                final int vxId = graph.getVertex(position);
+                if ((!selectedOnly || isSelected(selected, vxId)) && (!singletonsOnly || graph.getVertexNeighbourCount(vxId) == 0)) {
+                    found[count++] = vxId;
+                }
+            }
+            return count == found.length ? found : Arrays.copyOf(found, count);
+        }
+
+        private int[] findTransactions(final boolean selectedOnly) {
+            final int selected = graph.getAttribute(GraphElementType.TRANSACTION, SELECTED_ATTRIBUTE_NAME);
+            final int transactionCount = graph.getTransactionCount();
+            final int[] found = new int[transactionCount];
+            int count = 0;
+            for (int position = 0; position < transactionCount; position++) {
+                final int txId = graph.getTransaction(position);
+                if (!selectedOnly || isSelected(selected, txId)) {
+                    found[count++] = txId;
+                }
+            }
+            return count == found.length ? found : Arrays.copyOf(found, count);
+        }
+
+        private boolean isSelected(final int selectedAttribute, final int element) {
+            return selectedAttribute != Graph.NOT_FOUND && graph.getBooleanValue(selectedAttribute, element);
+        }
+
+        // Vertex rows come first, followed by transaction rows, as in the RecordStore.
+        private int[] elementsOf(final IntUnaryOperator elementOf) {
+            final int[] elements = new int[vertices.length + transactions.length];
+            for (int row = 0; row < elements.length; row++) {
+                elements[row] = elementOf.applyAsInt(row);
+            }
+            return elements;
+        }
+
+        private int transactionOf(final int row) {
+            return row < vertices.length ? NO_ELEMENT : transactions[row - vertices.length];
+        }
+
+        private int sourceOf(final int row) {
+            return row < vertices.length ? vertices[row] : graph.getTransactionSourceVertex(transactions[row - vertices.length]);
+        }
+
+        private int destinationOf(final int row) {
+            return row < vertices.length ? NO_ELEMENT : graph.getTransactionDestinationVertex(transactions[row - vertices.length]);
+        }
+
+        private void addElementColumns() {
+            if (vertices.length + transactions.length == 0) {
+                return;
+            }
+
+            final int[] sources = elementsOf(this::sourceOf);
+            addAttributeColumns(GraphElementType.VERTEX, SOURCE, sources);
+            addIdColumn(SOURCE, sources);
+            if (transactions.length > 0) {
+                final int[] destinations = elementsOf(this::destinationOf);
+                final int[] rowTransactions = elementsOf(this::transactionOf);
+                addAttributeColumns(GraphElementType.VERTEX, DESTINATION, destinations);
+                addIdColumn(DESTINATION, destinations);
+                addAttributeColumns(GraphElementType.TRANSACTION, TRANSACTION, rowTransactions);
+                addDirectedColumn(rowTransactions);
+                addIdColumn(TRANSACTION, rowTransactions);
+            }
+        }
+
+        private void addAttributeColumns(final GraphElementType elementType, final String prefix, final int[] elements) {
+            final int attributeCount = graph.getAttributeCount(elementType);
+            for (int i = 0; i < attributeCount; i++) {
+                final int attributeId = graph.getAttribute(elementType, i);
+                final String type = graph.getAttributeType(attributeId);
+                columns.put(prefix + graph.getAttributeName(attributeId), new Column(type, () -> readValues(attributeId, type, elements)));
+            }
+        }
+
+        private void addIdColumn(final String prefix, final int[] elements) {
+            columns.put(prefix + ID, new Column(STRING_TYPE, () -> (generator, row)
+                    -> generator.writeString(elements[row] == NO_ELEMENT ? null : String.valueOf(elements[row]))));
+        }
+
+        // The RecordStore only records the direction of undirected transactions,
+        // so the column only exists if one of the transactions is undirected.
+        private void addDirectedColumn(final int[] elements) {
+            for (final int txId : transactions) {
+                if (graph.getTransactionDirection(txId) == Graph.UNDIRECTED) {
+                    columns.put(TRANSACTION + DIRECTED, new Column(STRING_TYPE, () -> {
+                        final boolean[] undirected = new boolean[elements.length];
+                        for (int row = 0; row < elements.length; row++) {
+                            undirected[row] = elements[row] != NO_ELEMENT && graph.getTransactionDirection(elements[row]) == Graph.UNDIRECTED;
+                        }
+                        return (generator, row) -> generator.writeString(undirected[row] ? "false" : null);
+                    }));
+                    return;
+                }
+            }
+        }
+
+        private ColumnValue readValues(final int attributeId, final String type, final int[] elements) {
+            final int rowCount = elements.length;
+            switch (type) {
+                case IntegerAttributeDescription.ATTRIBUTE_NAME -> {
+                    final int[] copy = new int[rowCount];
+                    for (int row = 0; row < rowCount; row++) {
+                        copy[row] = elements[row] == NO_ELEMENT ? 0 : graph.getIntValue(attributeId, elements[row]);
+                    }
+                    return (generator, row) -> {
+                        if (!writeMissing(generator, type, elements[row])) {
+                            generator.writeNumber(copy[row]);
+                        }
+                    };
+                }
+                case LongAttributeDescription.ATTRIBUTE_NAME -> {
+                    final long[] copy = new long[rowCount];
+                    for (int row = 0; row < rowCount; row++) {
+                        copy[row] = elements[row] == NO_ELEMENT ? 0 : graph.getLongValue(attributeId, elements[row]);
+                    }
+                    return (generator, row) -> {
+                        if (!writeMissing(generator, type, elements[row])) {
+                            generator.writeNumber(copy[row]);
+                        }
+                    };
+                }
+                case FloatAttributeDescription.ATTRIBUTE_NAME -> {
+                    final float[] copy = new float[rowCount];
+                    for (int row = 0; row < rowCount; row++) {
+                        copy[row] = elements[row] == NO_ELEMENT ? 0 : graph.getFloatValue(attributeId, elements[row]);
+                    }
+                    return (generator, row) -> {
+                        if (!writeMissing(generator, type, elements[row])) {
+                            generator.writeNumber(copy[row]);
+                        }
+                    };
+                }
+                case DoubleAttributeDescription.ATTRIBUTE_NAME -> {
+                    final double[] copy = new double[rowCount];
+                    for (int row = 0; row < rowCount; row++) {
+                        copy[row] = elements[row] == NO_ELEMENT ? 0 : graph.getDoubleValue(attributeId, elements[row]);
+                    }
+                    return (generator, row) -> {
+                        if (!writeMissing(generator, type, elements[row])) {
+                            generator.writeNumber(copy[row]);
+                        }
+                    };
+                }
+                case BooleanAttributeDescription.ATTRIBUTE_NAME -> {
+                    final boolean[] copy = new boolean[rowCount];
+                    for (int row = 0; row < rowCount; row++) {
+                        copy[row] = elements[row] != NO_ELEMENT && graph.getBooleanValue(attributeId, elements[row]);
+                    }
+                    return (generator, row) -> {
+                        if (!writeMissing(generator, type, elements[row])) {
+                            generator.writeBoolean(copy[row]);
+                        }
+                    };
+                }
+                case LongObjectAttributeDescription.ATTRIBUTE_NAME, DoubleObjectAttributeDescription.ATTRIBUTE_NAME -> {
+                    final Object[] copy = new Object[rowCount];
+                    for (int row = 0; row < rowCount; row++) {
+                        copy[row] = elements[row] == NO_ELEMENT ? null : graph.getObjectValue(attributeId, elements[row]);
+                    }
+                    return (generator, row) -> {
+                        if (writeMissing(generator, type, elements[row])) {
+                            return;
+                        }
+                        if (copy[row] == null) {
+                            generator.writeNull();
+                        } else if (copy[row] instanceof Long longValue) {
+                            generator.writeNumber(longValue);
+                        } else {
+                            generator.writeNumber(((Number) copy[row]).doubleValue());
+                        }
+                    };
+                }
+                default -> {
+                    final String[] copy = new String[rowCount];
+                    for (int row = 0; row < rowCount; row++) {
+                        copy[row] = elements[row] == NO_ELEMENT ? null : graph.getStringValue(attributeId, elements[row]);
+                    }
+                    return (generator, row) -> RestUtilities.writeData(generator, type, copy[row]);
+                }
+            }
+        }
+
+        private ColumnarGraphWriter read(final Set<String> attrs, final int rowCount) {
+            final ColumnarGraphWriter table = new ColumnarGraphWriter(rowCount);
+            if (columns.isEmpty()) {
+                return table;
+            }
+
+            final List<String> requested = new ArrayList<>();
+            if (attrs.isEmpty()) {
+                requested.addAll(columns.keySet());
+            } else {
+                // Check that all of the user-specified attributes exist.
+                final StringJoiner missing = new StringJoiner(",");
+                for (final String attr : attrs) {
+                    if (columns.containsKey(attr)) {
+                        requested.add(attr);
+                    } else {
+                        missing.add(attr);
+                    }
+                }
+                if (missing.length() != 0) {
+                    throw new RestServiceException("The following attributes do not exist in the record store: " + missing.toString());
+                }
+            }
+
+            for (final String name : requested) {
+                final Column column = columns.get(name);
+                table.names.add(name);
+                table.types.add(column.type);
+                table.values.add(column.reader.read());
+            }
+            return table;
+        }
+    }
+
+    // A row with no element, such as the destination of a singleton vertex,
+    // is written as null.
+    private static boolean writeMissing(final JsonGenerator generator, final String type, final int element) throws IOException {
+        if (element == NO_ELEMENT) {
+            RestUtilities.writeData(generator, type, null);
+            return true;
+        }
+        return false;
+    }
+}
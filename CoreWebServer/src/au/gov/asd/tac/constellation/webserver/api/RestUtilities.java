@@ -27,7 +27,9 @@ import au.gov.asd.tac.constellation.graph.manager.GraphManager;
 import au.gov.asd.tac.constellation.graph.schema.visual.attribute.ColorAttributeDescription;
 import au.gov.asd.tac.constellation.utilities.color.ConstellationColor;
 import au.gov.asd.tac.constellation.webserver.restapi.RestServiceException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.node.ArrayNode;
+import java.io.IOException;
 
 /**
  * A collection of utilities for the REST API.
@@ -106,4 +108,61 @@ public class RestUtilities {
                 row.add(value);
         }
     }
+
+    /**
+     * Write a value to a column that is being streamed.
+     * <p>
+     * The value is written in the same way as
+     * {@link #addData(ArrayNode, String, String)} would add it to a column.
+     *
+     * @param generator The generator writing the JSON array representing the
+     * column.
+     * @param type The type of the value.
+     * @param value The (possibly null) value.
+     *
+     * @throws IOException if the value could not be written.
+     */
+    public static void writeData(final JsonGenerator generator, final String type, final String value) throws IOException {
+        switch (type) {
+            case BooleanAttributeDescription.ATTRIBUTE_NAME, BooleanObjectAttributeDescription.ATTRIBUTE_NAME ->
+                generator.writeBoolean(Boolean.parseBoolean(value));
+            case ColorAttributeDescription.ATTRIBUTE_NAME -> {
+                if (value == null) {
+                    generator.writeNull();
+                } else {
+                    final ConstellationColor cv = ConstellationColor.getColorValue(value);
+                    generator.writeStartArray();
+                    generator.writeNumber(cv.getRed());
+                    generator.writeNumber(cv.getGreen());
+                    generator.writeNumber(cv.getBlue());
+                    generator.writeNumber(cv.getAlpha());
+                    generator.writeEndArray();
+                }
+            }
+            case ZonedDateTimeAttributeDescription.ATTRIBUTE_NAME -> {
+                if (value == null) {
+                    generator.writeNull();
+                } else {
+                    final int ix = value.lastIndexOf(" [");
+                    generator.writeString(ix == -1 ? value : value.substring(0, ix));
+                }
+            }
+            case FloatAttributeDescription.ATTRIBUTE_NAME, FloatObjectAttributeDescription.ATTRIBUTE_NAME -> {
+                if (value == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeNumber(Float.parseFloat(value));
+                }
+            }
+            case IntegerAttributeDescription.ATTRIBUTE_NAME, IntegerObjectAttributeDescription.ATTRIBUTE_NAME -> {
+                if (value == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeNumber(Integer.parseInt(value));
+                }
+            }
+            default ->
+                generator.writeString(value);
+        }
+    }
 }
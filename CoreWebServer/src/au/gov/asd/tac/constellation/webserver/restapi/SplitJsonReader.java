@@ -0,0 +1,184 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.webserver.restapi;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a table in the JSON format written by
+ * {@code pandas.DataFrame.to_json(orient='split')} one row at a time.
+ * <p>
+ * The document looks like:
+ * <pre>
+ * {"columns":["A","B"],"index":[0,1,2],"data":[[1,"a"],[2,"b"],[3,"c"]]}
+ * </pre> The index is ignored. The rows are read from the stream as they are
+ * requested rather than being parsed into a tree first, so a table of any size
+ * can be read with the memory needed for a single row. If the data comes before
+ * the columns in the document, the data has to be read into memory before the
+ * columns can be found.
+ * <p>
+ * Each cell of a row is null for a JSON null, a {@link JsonNode} for a JSON
+ * array or object, and otherwise the text of the value as it would be returned
+ * by {@link JsonNode#asText()}.
+ *
+ * @author algol
+ */
+public class SplitJsonReader implements Closeable {
+
+    private static final String COLUMNS = "columns";
+    private static final String DATA = "data";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final JsonParser input;
+    private final String[] columns;
+    private JsonParser rows;
+
+    /**
+     * Start reading a table from a stream, reading as far as the first row.
+     *
+     * @param in the stream to read.
+     * @throws IOException if the stream can not be read or is not valid JSON.
+     * @throws RestServiceException if the document does not contain the columns
+     * and data of a table.
+     */
+    public SplitJsonReader(final InputStream in) throws IOException {
+        input = mapper.getFactory().createParser(in);
+        if (input.nextToken() != JsonToken.START_OBJECT) {
+            throw new RestServiceException(RestService.HTTP_UNPROCESSABLE_ENTITY, "Expected a JSON object containing columns and data");
+        }
+
+        String[] names = null;
+        JsonNode bufferedData = null;
+        while (input.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = input.currentName();
+            final JsonToken token = input.nextToken();
+            if (COLUMNS.equals(field) && token == JsonToken.START_ARRAY) {
+                final List<String> values = new ArrayList<>();
+                while (input.nextToken() != JsonToken.END_ARRAY) {
+                    values.add(asText(readCell(input)));
+                }
+                names = values.toArray(new String[values.size()]);
+            } else if (DATA.equals(field) && token == JsonToken.START_ARRAY) {
+                if (names != null) {
+                    // leave the parser at the start of the data so rows are read as they are requested
+                    rows = input;
+                    break;
+                }
+                bufferedData = input.readValueAsTree();
+            } else {
+                input.skipChildren();
+            }
+        }
+
+        if (names == null) {
+            throw new RestServiceException(RestService.HTTP_UNPROCESSABLE_ENTITY, "Could not find columns object containing column names");
+        }
+        if (rows == null) {
+            if (bufferedData == null) {
+                throw new RestServiceException(RestService.HTTP_UNPROCESSABLE_ENTITY, "Could not find data object containing data rows");
+            }
+            rows = mapper.treeAsTokens(bufferedData);
+            rows.nextToken();
+        }
+        columns = names;
+    }
+
+    /**
+     * The names of the columns of the table.
+     *
+     * @return the names of the columns.
+     */
+    public String[] getColumns() {
+        return columns;
+    }
+
+    /**
+     * Read the next row of the table.
+     *
+     * @return the cells of the next row, or null if there are no more rows.
+     * The row has the number of cells in the document, which may be different
+     * to the number of columns.
+     * @throws IOException if the stream can not be read or is not valid JSON.
+     * @throws RestServiceException if the row is not a JSON array.
+     */
+    public Object[] nextRow() throws IOException {
+        final JsonToken token = rows.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return null;
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new RestServiceException(RestService.HTTP_UNPROCESSABLE_ENTITY, "Each data row must be an array");
+        }
+
+        final List<Object> cells = new ArrayList<>(columns.length);
+        while (rows.nextToken() != JsonToken.END_ARRAY) {
+            cells.add(readCell(rows));
+        }
+        return cells.toArray();
+    }
+
+    // Mirrors the text of the nodes that ObjectMapper.readTree() would create
+    private static Object readCell(final JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NULL ->
+                null;
+            case VALUE_STRING ->
+                parser.getText();
+            case VALUE_NUMBER_INT ->
+                parser.getNumberValue().toString();
+            case VALUE_NUMBER_FLOAT ->
+                String.valueOf(parser.getDoubleValue());
+            case VALUE_TRUE ->
+                "true";
+            case VALUE_FALSE ->
+                "false";
+            case START_ARRAY, START_OBJECT ->
+                parser.readValueAsTree();
+            default ->
+                throw new RestServiceException(RestService.HTTP_UNPROCESSABLE_ENTITY, "Unexpected JSON token " + parser.currentToken());
+        };
+    }
+
+    /**
+     * Convert a cell returned by {@link #nextRow()} to text in the same way as
+     * {@link JsonNode#asText()}.
+     *
+     * @param cell a cell of a row.
+     * @return the text of the cell.
+     */
+    public static String asText(final Object cell) {
+        if (cell == null) {
+            return "null";
+        }
+        return cell instanceof JsonNode node ? node.asText() : (String) cell;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+        if (rows != input) {
+            rows.close();
+        }
+    }
+}
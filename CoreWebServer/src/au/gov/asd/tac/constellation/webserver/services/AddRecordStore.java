@@ -21,6 +21,7 @@ import au.gov.asd.tac.constellation.graph.interaction.InteractiveGraphPluginRegi
 import au.gov.asd.tac.constellation.graph.node.GraphNode;
 import au.gov.asd.tac.constellation.graph.processing.GraphRecordStore;
 import au.gov.asd.tac.constellation.graph.processing.GraphRecordStoreUtilities;
+import au.gov.asd.tac.constellation.graph.processing.GraphRecordStoreUtilities.RecordStoreBatchWriter;
 import au.gov.asd.tac.constellation.graph.processing.RecordStore;
 import au.gov.asd.tac.constellation.graph.schema.analytic.concept.AnalyticConcept;
 import au.gov.asd.tac.constellation.plugins.Plugin;
@@ -28,6 +29,7 @@ import au.gov.asd.tac.constellation.plugins.PluginException;
 import au.gov.asd.tac.constellation.plugins.PluginExecutor;
 import au.gov.asd.tac.constellation.plugins.PluginInfo;
 import au.gov.asd.tac.constellation.plugins.PluginInteraction;
+import au.gov.asd.tac.constellation.plugins.PluginNotificationLevel;
 import au.gov.asd.tac.constellation.plugins.PluginType;
 import au.gov.asd.tac.constellation.plugins.arrangements.ArrangementPluginRegistry;
 import au.gov.asd.tac.constellation.plugins.parameters.PluginParameter;
@@ -42,14 +44,15 @@ import au.gov.asd.tac.constellation.webserver.api.RestUtilities;
 import au.gov.asd.tac.constellation.webserver.restapi.RestService;
 import au.gov.asd.tac.constellation.webserver.restapi.RestServiceException;
 import au.gov.asd.tac.constellation.webserver.restapi.RestServiceUtilities;
+import au.gov.asd.tac.constellation.webserver.restapi.SplitJsonReader;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeType;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.util.Iterator;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.logging.Logger;
 import org.openide.util.lookup.ServiceProvider;
 
@@ -71,7 +74,7 @@ public class AddRecordStore extends RestService {
     private static final String API_SOURCE = "REST API";
     private static final String TX_SOURCE = GraphRecordStoreUtilities.TRANSACTION + AnalyticConcept.TransactionAttribute.SOURCE;
 
-    private static final String COLUMNS = "columns";
+    private static final int BATCH_SIZE = 10000;
     private static final String EXAMPLE_RESPONSES_PATH = "addRecordStoreExample";
 
     @Override
@@ -137,69 +140,111 @@ public class AddRecordStore extends RestService {
         final String arrange = parameters.getStringValue(ARRANGE_PARAMETER_ID);
         final boolean resetView = parameters.getBooleanValue(RESET_PARAMETER_ID);
 
-        final RecordStore rs = new GraphRecordStore();
-        final ObjectMapper mapper = new ObjectMapper();
-        final JsonNode json = mapper.readTree(in);
-
         final Graph graph = graphId == null ? RestUtilities.getActiveGraph() : GraphNode.getGraph(graphId);
         if (graph == null) {
             throw new RestServiceException(HTTP_UNPROCESSABLE_ENTITY, "No graph with id " + graphId);
         }
+
         // We want to read a JSON document that looks like:
         //
         // {"columns":["A","B"],"data":[[1,"a"],[2,"b"],[3,"c"]]}
         //
         // which is what is output by pandas.to_json(..., orient="split').
         // (We ignore the index array.)
-        if (!json.hasNonNull(COLUMNS) || !json.get(COLUMNS).isArray()) {
-            throw new RestServiceException("Could not find columns object containing column names");
-        }
+        //
+        // The request is spooled to a temporary file and checked before the
+        // graph is locked, so a slow client never holds up other users of the
+        // graph. The rows are then read back one batch at a time while the
+        // graph is being written, so the document is never held in memory.
+        final Path spool = Files.createTempFile(NAME, ".json");
+        try {
+            Files.copy(in, spool, StandardCopyOption.REPLACE_EXISTING);
+            try (final SplitJsonReader reader = new SplitJsonReader(Files.newInputStream(spool))) {
+                checkRows(reader);
+            }
 
-        if (!json.hasNonNull("data") || !json.get("data").isArray()) {
-            throw new RestServiceException("Could not find data object containing data rows");
+            addToGraph(graph, spool, completeWithSchema, arrange, resetView);
+        } finally {
+            Files.deleteIfExists(spool);
         }
+    }
 
-        final ArrayNode columns = (ArrayNode) json.get(COLUMNS);
-        final String[] headers = new String[columns.size()];
-        for (int i = 0; i < headers.length; i++) {
-            headers[i] = columns.get(i).asText();
+    /**
+     * Read every row of the document, so that a bad document is rejected
+     * before anything is added to the graph.
+     *
+     * @param reader the reader of the spooled document.
+     */
+    private static void checkRows(final SplitJsonReader reader) {
+        try {
+            while (reader.nextRow() != null) {
+                // Only checking that the row can be read.
+            }
+        } catch (final IOException ex) {
+            throw new RestServiceException(HTTP_UNPROCESSABLE_ENTITY, "Could not read data rows: " + ex.getMessage());
         }
+    }
 
-        final ArrayNode data = (ArrayNode) json.get("data");
-        for (final Iterator<JsonNode> i = data.elements(); i.hasNext();) {
-            final ArrayNode jrow = (ArrayNode) i.next();
+    /**
+     * Read the next batch of up to BATCH_SIZE rows into a RecordStore.
+     *
+     * @param reader the reader of the spooled document.
+     * @param addSource true if the transaction source should be set on each
+     * row.
+     *
+     * @return the next batch of rows, which is empty when there are no more
+     * rows.
+     * @throws IOException if the document can not be read.
+     */
+    private static RecordStore readBatch(final SplitJsonReader reader, final boolean addSource) throws IOException {
+        final String[] headers = reader.getColumns();
+        final RecordStore rs = new GraphRecordStore();
+        Object[] jrow;
+        while (rs.size() < BATCH_SIZE && (jrow = reader.nextRow()) != null) {
             rs.add();
-            boolean txFound = false;
-            boolean txSourceFound = false;
-            for (int ix = 0; ix < headers.length; ix++) {
-                final String h = headers[ix];
-                final JsonNode jn = jrow.get(ix);
-                if (!jn.isNull()) {
-                    if (jn.getNodeType() == JsonNodeType.ARRAY) {
-                        rs.set(h, RestServiceUtilities.toList(jn));
-                    } else {
-                        rs.set(h, jn.asText());
-                    }
+            for (int ix = 0; ix < headers.length && ix < jrow.length; ix++) {
+                final Object cell = jrow[ix];
+                if (cell instanceof JsonNode jn && jn.getNodeType() == JsonNodeType.ARRAY) {
+                    rs.set(headers[ix], RestServiceUtilities.toList(jn));
+                } else if (cell != null) {
+                    rs.set(headers[ix], SplitJsonReader.asText(cell));
                 }
-                txFound |= h.startsWith(GraphRecordStoreUtilities.TRANSACTION);
-                txSourceFound |= TX_SOURCE.equals(h);
             }
 
-            if (txFound && !txSourceFound) {
+            if (addSource) {
                 rs.set(TX_SOURCE, API_SOURCE);
             }
         }
 
-        addToGraph(graph, rs, completeWithSchema, arrange, resetView);
+        return rs;
     }
-    
+
+    /**
+     * Transactions added through the REST API are given a source, unless the
+     * document provides one.
+     *
+     * @param headers the columns of the document.
+     *
+     * @return true if the transaction source should be set on each row.
+     */
+    private static boolean isSourceNeeded(final String[] headers) {
+        boolean txFound = false;
+        boolean txSourceFound = false;
+        for (final String h : headers) {
+            txFound |= h.startsWith(GraphRecordStoreUtilities.TRANSACTION);
+            txSourceFound |= TX_SOURCE.equals(h);
+        }
+
+        return txFound && !txSourceFound;
+    }
+
     @Override
     public String getExampleResponsesPath() {
         return EXAMPLE_RESPONSES_PATH;
     }
 
-    private static void addToGraph(final Graph graph, final RecordStore recordStore, final boolean completeWithSchema, final String arrange, final boolean resetView) {
-        final Plugin p = new ImportFromRestApiPlugin(recordStore, completeWithSchema, arrange, graph);
+    private static void addToGraph(final Graph graph, final Path spool, final boolean completeWithSchema, final String arrange, final boolean resetView) {
+        final Plugin p = new ImportFromRestApiPlugin(spool, completeWithSchema, arrange, graph);
 
         PluginExecutor pe = PluginExecutor.startWith(p);
 
@@ -222,13 +267,13 @@ public class AddRecordStore extends RestService {
         
         private static final Logger LOGGER = Logger.getLogger(ImportFromRestApiPlugin.class.getName());
 
-        private final RecordStore recordStore;
+        private final Path spool;
         private final boolean completeWithSchema;
         private final String arrange;
         private final Graph graph;
 
-        public ImportFromRestApiPlugin(final RecordStore recordStore, final boolean completeWithSchema, final String arrange, final Graph graph) {
-            this.recordStore = recordStore;
+        public ImportFromRestApiPlugin(final Path spool, final boolean completeWithSchema, final String arrange, final Graph graph) {
+            this.spool = spool;
             this.completeWithSchema = completeWithSchema;
             this.arrange = arrange;
             this.graph = graph;
@@ -241,7 +286,21 @@ public class AddRecordStore extends RestService {
 
         @Override
         protected void edit(final GraphWriteMethods graph, final PluginInteraction interaction, final PluginParameters parameters) throws InterruptedException, PluginException {
-            GraphRecordStoreUtilities.addRecordStoreToGraph(graph, recordStore, false, completeWithSchema, null);
+            // The batches share one writer so that the graph ends up the same
+            // as if the records had been added as a single record store.
+            try (final SplitJsonReader reader = new SplitJsonReader(Files.newInputStream(spool))) {
+                final boolean addSource = isSourceNeeded(reader.getColumns());
+                final RecordStoreBatchWriter writer = new RecordStoreBatchWriter(graph, false, completeWithSchema, null);
+                int rowCount = 0;
+                for (RecordStore rs = readBatch(reader, addSource); rs.size() > 0; rs = readBatch(reader, addSource)) {
+                    writer.add(rs);
+                    rowCount += rs.size();
+                    interaction.setProgress(rowCount, -1, String.format("Added %d rows", rowCount), true);
+                }
+                writer.finish();
+            } catch (final IOException ex) {
+                throw new PluginException(PluginNotificationLevel.ERROR, ex);
+            }
 
             // Do the optional arrangement inside this anonymous "addRecordStoreToGraph" plugin.
             // This way, any extra nodes are added and arranged in one go.
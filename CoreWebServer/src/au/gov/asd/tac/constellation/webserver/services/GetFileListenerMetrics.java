@@ -0,0 +1,93 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.webserver.services;
+
+import au.gov.asd.tac.constellation.plugins.parameters.PluginParameter;
+import au.gov.asd.tac.constellation.plugins.parameters.PluginParameters;
+import au.gov.asd.tac.constellation.plugins.parameters.types.BooleanParameterType;
+import au.gov.asd.tac.constellation.plugins.parameters.types.BooleanParameterType.BooleanParameterValue;
+import au.gov.asd.tac.constellation.webserver.restapi.RestService;
+import au.gov.asd.tac.constellation.webserver.transport.FileRequestMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import org.openide.util.lookup.ServiceProvider;
+
+/**
+ * Get the latency statistics of the requests handled by the file listener.
+ *
+ * @author algol
+ */
+@ServiceProvider(service = RestService.class)
+public class GetFileListenerMetrics extends RestService {
+
+    private static final String NAME = "get_file_listener_metrics";
+    private static final String RESET_PARAMETER_ID = "reset";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Get the number of requests handled by the file listener for each service, with their failures and latencies in milliseconds.";
+    }
+
+    @Override
+    public String[] getTags() {
+        return new String[]{"service"};
+    }
+
+    @Override
+    public PluginParameters createParameters() {
+        final PluginParameters parameters = new PluginParameters();
+
+        final PluginParameter<BooleanParameterValue> resetParam = BooleanParameterType.build(RESET_PARAMETER_ID);
+        resetParam.setName("Reset");
+        resetParam.setDescription("If true, discard the statistics after returning them (default false).");
+        resetParam.setObjectValue(false);
+        parameters.addParameter(resetParam);
+
+        return parameters;
+    }
+
+    @Override
+    public void callService(final PluginParameters parameters, final InputStream in, final OutputStream out) throws IOException {
+        final boolean reset = parameters.getBooleanValue(RESET_PARAMETER_ID);
+        final FileRequestMetrics metrics = FileRequestMetrics.getDefault();
+
+        final ObjectMapper mapper = new ObjectMapper();
+        final ObjectNode root = mapper.createObjectNode();
+        root.put("in_flight", metrics.getInFlight());
+        final ObjectNode services = root.putObject("services");
+        metrics.getServices().forEach((name, serviceMetrics) -> {
+            final ObjectNode service = services.putObject(name);
+            service.put("count", serviceMetrics.getCount());
+            service.put("failures", serviceMetrics.getFailures());
+            service.put("mean_queued_ms", serviceMetrics.getMeanQueuedMillis());
+            service.put("mean_latency_ms", serviceMetrics.getMeanLatencyMillis());
+            service.put("max_latency_ms", serviceMetrics.getMaxLatencyMillis());
+        });
+        if (reset) {
+            metrics.reset();
+        }
+
+        mapper.writeValue(out, root);
+    }
+}
@@ -21,11 +21,15 @@ import au.gov.asd.tac.constellation.graph.ReadableGraph;
 import au.gov.asd.tac.constellation.graph.node.GraphNode;
 import au.gov.asd.tac.constellation.plugins.parameters.PluginParameter;
 import au.gov.asd.tac.constellation.plugins.parameters.PluginParameters;
+import au.gov.asd.tac.constellation.plugins.parameters.types.BooleanParameterType;
+import au.gov.asd.tac.constellation.plugins.parameters.types.BooleanParameterType.BooleanParameterValue;
 import au.gov.asd.tac.constellation.plugins.parameters.types.StringParameterType;
 import au.gov.asd.tac.constellation.plugins.parameters.types.StringParameterValue;
+import au.gov.asd.tac.constellation.webserver.api.ColumnarGraphWriter;
 import au.gov.asd.tac.constellation.webserver.api.RestUtilities;
 import au.gov.asd.tac.constellation.webserver.restapi.RestService;
 import au.gov.asd.tac.constellation.webserver.restapi.RestServiceException;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -44,6 +48,7 @@ public class GetGraphValues extends RestService {
 
     private static final String NAME = "get_graph_values";
     private static final String GRAPH_ID_PARAMETER_ID = "graph_id";
+    private static final String COLUMNAR_PARAMETER_ID = "columnar";
     private static final String EXAMPLE_RESPONSES_PATH = "getGraphValuesExample";
 
     @Override
@@ -70,18 +75,42 @@ public class GetGraphValues extends RestService {
         graphIdParam.setDescription("The id of the graph to get the values of. (Default is the active graph)");        
         parameters.addParameter(graphIdParam);
 
+        final PluginParameter<BooleanParameterValue> columnarParam = BooleanParameterType.build(COLUMNAR_PARAMETER_ID);
+        columnarParam.setName("Columnar");
+        columnarParam.setDescription("If true, return the value of each attribute as a typed array, in the same layout as the columnar option of get_recordstore (default false).");
+        columnarParam.setObjectValue(false);
+        parameters.addParameter(columnarParam);
+
         return parameters;
     }
 
     @Override
     public void callService(final PluginParameters parameters, final InputStream in, final OutputStream out) throws IOException {
         final String graphId = parameters.getStringValue(GRAPH_ID_PARAMETER_ID);
+        final boolean columnar = parameters.getBooleanValue(COLUMNAR_PARAMETER_ID);
 
         final Graph graph = graphId == null ? RestUtilities.getActiveGraph() : GraphNode.getGraph(graphId);
         if (graph == null) {
             throw new RestServiceException(HTTP_UNPROCESSABLE_ENTITY, "No graph with id " + graphId);
         }
         final ObjectMapper mapper = new ObjectMapper();
+
+        if (columnar) {
+            final ColumnarGraphWriter table;
+            final ReadableGraph rg = graph.getReadableGraph();
+            try {
+                table = ColumnarGraphWriter.readGraphValues(rg);
+            } finally {
+                rg.release();
+            }
+
+            mapper.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+            try (final JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+                table.write(generator);
+            }
+            return;
+        }
+
         final ObjectNode root = mapper.createObjectNode();
         final ArrayNode columns = root.putArray("columns");
         final ArrayNode data = root.putArray("data");
@@ -35,9 +35,7 @@ import au.gov.asd.tac.constellation.webserver.api.RestUtilities;
 import au.gov.asd.tac.constellation.webserver.restapi.RestService;
 import au.gov.asd.tac.constellation.webserver.restapi.RestServiceException;
 import au.gov.asd.tac.constellation.webserver.restapi.RestServiceUtilities;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
+import au.gov.asd.tac.constellation.webserver.restapi.SplitJsonReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -55,7 +53,6 @@ public class SetGraphValues extends RestService {
     private static final String GRAPH_ID_PARAMETER_ID = "graph_id";
     private static final String ATTRIBUTES_PARAMETER_ID = "attributes";
 
-    private static final String COLUMNS = "columns";    
     private static final String EXAMPLE_RESPONSES_PATH = "setGraphAttributesExample";
 
     @Override
@@ -110,35 +107,27 @@ public class SetGraphValues extends RestService {
         //
         // which is what is output by pandas.to_json(..., orient="split').
         // (We ignore the index array.)
-        final ObjectMapper mapper = new ObjectMapper();
-        final JsonNode json = mapper.readTree(in);
-
-        if (!json.hasNonNull(COLUMNS) || !json.get(COLUMNS).isArray()) {
-            throw new RestServiceException(HTTP_UNPROCESSABLE_ENTITY, "Could not find columns object containing column names");
-        }
-
-        if (!json.hasNonNull("data") || !json.get("data").isArray()) {
-            throw new RestServiceException(HTTP_UNPROCESSABLE_ENTITY, "Could not find data object containing data rows");
-        }
-        final ArrayNode columns = (ArrayNode) json.get(COLUMNS);
-        final ArrayNode data = (ArrayNode) json.get("data");
-
-        // Do we have one and only one row of data?
-        if (data.size() != 1) {
-            throw new RestServiceException("Must have one row of data");
+        final String[] columns;
+        final Object[] row;
+        try (final SplitJsonReader reader = new SplitJsonReader(in)) {
+            columns = reader.getColumns();
+            row = reader.nextRow();
+
+            // Do we have one and only one row of data?
+            if (row == null || reader.nextRow() != null) {
+                throw new RestServiceException("Must have one row of data");
+            }
         }
 
-        final ArrayNode row = (ArrayNode) data.get(0);
-
         // Do the number of column headers and the number of data elements in the row match?
-        if (columns.size() != row.size()) {
+        if (columns.length != row.length) {
             throw new RestServiceException("Column names do not match data row");
         }
 
         setGraphAttributes(graph, columns, row);
     }
 
-    private static void setGraphAttributes(final Graph graph, final ArrayNode columns, final ArrayNode row) {
+    private static void setGraphAttributes(final Graph graph, final String[] columns, final Object[] row) {
         final Plugin p = new SetGraphAttributesFromRestApiPlugin(columns, row);
         final PluginExecution pe = PluginExecution.withPlugin(p);
 
@@ -155,10 +144,10 @@ public class SetGraphValues extends RestService {
     @PluginInfo(pluginType = PluginType.IMPORT, tags = {PluginTags.IMPORT})
     private static class SetGraphAttributesFromRestApiPlugin extends SimpleEditPlugin {
 
-        private final ArrayNode columns;
-        private final ArrayNode row;
+        private final String[] columns;
+        private final Object[] row;
 
-        public SetGraphAttributesFromRestApiPlugin(final ArrayNode columns, final ArrayNode row) {
+        public SetGraphAttributesFromRestApiPlugin(final String[] columns, final Object[] row) {
             this.columns = columns;
             this.row = row;
         }
@@ -170,13 +159,13 @@ public class SetGraphValues extends RestService {
 
         @Override
         protected void edit(final GraphWriteMethods graph, final PluginInteraction interaction, final PluginParameters parameters) throws InterruptedException, PluginException {
-            for (int i = 0; i < columns.size(); i++) {
-                final String attributeName = columns.get(i).asText();
+            for (int i = 0; i < columns.length; i++) {
+                final String attributeName = columns[i];
                 int attributeId = graph.getAttribute(GraphElementType.GRAPH, attributeName);
                 if (attributeId == Graph.NOT_FOUND) {
                     attributeId = graph.addAttribute(GraphElementType.GRAPH, StringAttributeDescription.ATTRIBUTE_NAME, attributeName, null, null, null);
                 }
-                final String attributeValue = row.get(i).asText();
+                final String attributeValue = SplitJsonReader.asText(row[i]);
                 graph.setStringValue(attributeId, 0, attributeValue);
             }
         }
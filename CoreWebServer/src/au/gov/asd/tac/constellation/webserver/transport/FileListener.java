@@ -33,11 +33,25 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.prefs.Preferences;
 import org.openide.awt.StatusDisplayer;
 import org.openide.util.NbPreferences;
@@ -47,24 +61,41 @@ import org.openide.util.NbPreferences;
  * <p>
  * When started in a thread, listen for files in a specified directory, call the
  * appropriate methods, and write one or more files in response.
+ * <p>
+ * The directory is watched with a {@link WatchService}, so a request is
+ * handled as soon as its file appears rather than on the next poll of the
+ * directory. Requests are handled on a small pool of threads, so a client can
+ * have several requests in flight by giving each one a tag: a request in
+ * {@code request-TAG.json} reads {@code content-TAG.in} and writes
+ * {@code content-TAG.out} and {@code response-TAG.json}. Untagged requests use
+ * the original file names, and are handled exactly as before. Responses are
+ * written under a temporary name and renamed, so they appear complete.
  *
  * @author algol
  */
 public class FileListener implements Runnable {
 
-    private static final long MIN_POLL_SLEEP = 1000;
-    private static final long MAX_POLL_SLEEP = 5000;
+    private static final int REQUEST_THREADS = 4;
+    private static final int MAX_QUEUED_REQUESTS = 64;
+    private static final long SHUTDOWN_WAIT = 5000;
     private static final Logger LOGGER = Logger.getLogger(FileListener.class.getName());
 
-    private static final String REQUEST_JSON = "request.json";      // The JSON document containing the request.
     private static final String RESPONSE_JSON = "response.json";    // The JSON document containing the response.
     private static final String CONTENT_IN = "content.in";          // The file containing input data (may be JSON / binary / anything).
     private static final String CONTENT_OUT = "content.out";        // The file containing ioutput data (may be JSON / binary / anything).
 
+    // The JSON document containing the request, "request.json", optionally
+    // tagged as "request-TAG.json" so that several requests can be in flight at once.
+    private static final Pattern REQUEST_PATTERN = Pattern.compile("request(?:-([A-Za-z0-9_]+))?\\.json");
+
     private static final String ENDPOINT = "endpoint";
+    private static final String INVALID_REQUEST = "(invalid request)";
 
     private final Path restPath;
+    private final Set<String> activeTags = ConcurrentHashMap.newKeySet();
+    private final FileRequestMetrics metrics = FileRequestMetrics.getDefault();
     private volatile boolean running;
+    private volatile WatchService watcher;
 
     public FileListener() throws IOException {
 
@@ -88,13 +119,24 @@ public class FileListener implements Runnable {
 
     public void stop() {
         running = false;
+
+        // Wake the listener thread if it is waiting for a file.
+        final WatchService w = watcher;
+        if (w != null) {
+            try {
+                w.close();
+            } catch (final IOException ex) {
+                LOGGER.log(Level.WARNING, ex.getLocalizedMessage(), ex);
+            }
+        }
     }
 
     /**
      * Run the file listener thread.
      * <p>
-     * Poll the listener directory looking for the REQUEST_JSON file. It assumed
-     * that the client has already written the CONTENT_IN file if required.
+     * Wait for a REQUEST_JSON file to be created in the listener directory. It
+     * assumed that the client has already written the CONTENT_IN file if
+     * required.
      * <p>
      * When REQUEST_JSON is found, read and extract the verb + endpoint + path +
      * args. Call the multi-level switch statement that figures out what to do.
@@ -119,88 +161,182 @@ public class FileListener implements Runnable {
 
         running = true;
 
-        // We start the poll sleep time at MIN_POLL_SLEEP.
-        // If the listener doesn't find any files, the sleep time will slowly get longer up to MAX_POLL_SLEEP,
-        // so the filesystem doesn't get pounded as much.
-        // When a request is found, the poll sleep time is reset to MIN_POLL_SLEEP.
-        long pollSleep = MIN_POLL_SLEEP;
-        try {
+        // If the queue of waiting requests is full, the listener thread handles
+        // the request itself, which stops it from finding more until it is done.
+        final ExecutorService executor = new ThreadPoolExecutor(REQUEST_THREADS, REQUEST_THREADS, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_QUEUED_REQUESTS), runnable -> {
+                    final Thread thread = new Thread(runnable, "File Listener Request");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+        try (final WatchService w = restPath.getFileSystem().newWatchService()) {
+            watcher = w;
+            restPath.register(w, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+            // Pick up any request that was written before the directory was being watched.
+            submitAll(executor);
+
             while (running) {
-                final String[] files = restPath.toFile().list();
-                for (final String f : files) {
-                    if (f.equals(REQUEST_JSON)) {
-                        // If any other files are required, write this file last, so the other files are already present.
-                        LOGGER.log(Level.INFO, "{0}", String.format("Found REST file %s", f));
-                        final Path p = restPath.resolve(f);
-                        JsonNode json = null;
-                        try (final InputStream in = new FileInputStream(p.toFile())) {
-                            final ObjectMapper mapper = new ObjectMapper();
-                            json = mapper.readTree(in);
-                        } catch (final IOException ex) {
-                            response(ex.getMessage());
-                        }
-
-                        try {
-                            Files.delete(p);
-                        } catch (final IOException ex) {
-                            LOGGER.log(Level.SEVERE, ex.getLocalizedMessage(), ex);
-                        }
-
-                        if (json != null) {
-                            // Extract the equivalent of a REST URL from the request JSON.
-                            // The HTTP request GET http://localhost/v1/plugin/run?name=selectall
-                            // becomes the JSON document
-                            // {
-                            //   "verb": "get",
-                            //   "endpoint": "/v1/plugin",
-                            //   "path": "run",
-                            //   "args": { "name": "selectall" }
-                            // }
-                            //
-                            // If content (JSON or otherwise) is required, it gets delivered in a separate CONTENT_DATA file.
-                            if (json.hasNonNull("verb") && json.hasNonNull(ENDPOINT) && json.hasNonNull("path")) {
-                                final String verb = json.get("verb").textValue();
-                                final String endpoint = json.get(ENDPOINT).textValue();
-                                final String path = json.get("path").textValue();
-
-                                final JsonNode args = json.get("args");
-                                try {
-                                    // Display the incoming REST request to provide some confidence to the user and debugging for the developer :-).
-                                    final String msg = String.format("File REST API: %s %s %s", verb, endpoint, path);
-                                    StatusDisplayer.getDefault().setStatusText(msg);
-
-                                    parseAndExecute(verb, endpoint, path, args);
-                                    response();
-                                } catch (final RestServiceException ex) {
-                                    response(ex.getMessage());
-                                } catch (final Exception ex) {
-                                    response(ex.getMessage());
-                                    LOGGER.log(Level.SEVERE, ex.getLocalizedMessage(), ex);
-                                }
-                            } else {
-                                response("Request must contain verb + endpoint + path");
-                            }
-                        }
-
-                        // Reset the poll sleep after a successful request,
-                        // since we're obviously being used.
-                        pollSleep = MIN_POLL_SLEEP;
+                final WatchKey key = w.take();
+                for (final WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        // Some events were lost, so look at everything in the directory.
+                        submitAll(executor);
+                    } else {
+                        submit(executor, ((Path) event.context()).getFileName().toString());
                     }
                 }
-
-                // Slowly sneak the poll sleep time up to a maximum.
-                pollSleep = Math.min(pollSleep + 1, MAX_POLL_SLEEP);
-                Thread.sleep(pollSleep);
+                if (!key.reset()) {
+                    LOGGER.log(Level.SEVERE, "{0}", String.format("REST directory %s is no longer accessible", restPath));
+                    stop();
+                }
             }
+        } catch (final ClosedWatchServiceException ex) {
+            // The listener was stopped while waiting for a file.
+        } catch (final IOException ex) {
+            LOGGER.log(Level.SEVERE, ex.getLocalizedMessage(), ex);
         } catch (final InterruptedException ex) {
             Thread.currentThread().interrupt();
-            stop();
             LOGGER.log(Level.SEVERE, ex.getLocalizedMessage(), ex);
+        } finally {
+            running = false;
+            watcher = null;
+            executor.shutdown();
+            try {
+                executor.awaitTermination(SHUTDOWN_WAIT, TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
         }
 
         StatusDisplayer.getDefault().setStatusText(String.format("Stopped file listener in directory %s", restPath));
     }
 
+    private void submitAll(final ExecutorService executor) {
+        final String[] files = restPath.toFile().list();
+        if (files != null) {
+            for (final String f : files) {
+                submit(executor, f);
+            }
+        }
+    }
+
+    /**
+     * Hand a request file to the executor, if it is a request file that is not
+     * already being handled.
+     * <p>
+     * A single request can cause several watch events, so the tag of the
+     * request is remembered until it has been read and deleted.
+     */
+    private void submit(final ExecutorService executor, final String fileName) {
+        final Matcher matcher = REQUEST_PATTERN.matcher(fileName);
+        if (!matcher.matches()) {
+            return;
+        }
+
+        final String tag = matcher.group(1) == null ? "" : matcher.group(1);
+        final Path p = restPath.resolve(fileName);
+        if (!Files.exists(p) || !activeTags.add(tag)) {
+            return;
+        }
+
+        final long foundAt = System.nanoTime();
+        metrics.requestStarted();
+        executor.execute(() -> handleRequest(p, new RequestFiles(tag), foundAt));
+    }
+
+    private void handleRequest(final Path p, final RequestFiles files, final long foundAt) {
+        final long startedAt = System.nanoTime();
+        LOGGER.log(Level.INFO, "{0}", String.format("Found REST file %s", p.getFileName()));
+
+        String service = INVALID_REQUEST;
+        String error = null;
+        try {
+            JsonNode json = null;
+            try (final InputStream in = new FileInputStream(p.toFile())) {
+                final ObjectMapper mapper = new ObjectMapper();
+                json = mapper.readTree(in);
+            } catch (final IOException ex) {
+                error = ex.getMessage();
+            }
+
+            try {
+                Files.delete(p);
+            } catch (final IOException ex) {
+                LOGGER.log(Level.SEVERE, ex.getLocalizedMessage(), ex);
+            }
+
+            if (json != null) {
+                // Extract the equivalent of a REST URL from the request JSON.
+                // The HTTP request GET http://localhost/v1/plugin/run?name=selectall
+                // becomes the JSON document
+                // {
+                //   "verb": "get",
+                //   "endpoint": "/v1/plugin",
+                //   "path": "run",
+                //   "args": { "name": "selectall" }
+                // }
+                //
+                // If content (JSON or otherwise) is required, it gets delivered in a separate CONTENT_DATA file.
+                if (json.hasNonNull("verb") && json.hasNonNull(ENDPOINT) && json.hasNonNull("path")) {
+                    final String verb = json.get("verb").textValue();
+                    final String endpoint = json.get(ENDPOINT).textValue();
+                    final String path = json.get("path").textValue();
+                    service = path;
+
+                    final JsonNode args = json.get("args");
+                    try {
+                        // Display the incoming REST request to provide some confidence to the user and debugging for the developer :-).
+                        final String msg = String.format("File REST API: %s %s %s", verb, endpoint, path);
+                        StatusDisplayer.getDefault().setStatusText(msg);
+
+                        parseAndExecute(verb, endpoint, path, args, files);
+                    } catch (final RestServiceException ex) {
+                        error = ex.getMessage();
+                    } catch (final Exception ex) {
+                        error = ex.getMessage();
+                        LOGGER.log(Level.SEVERE, ex.getLocalizedMessage(), ex);
+                    }
+                } else {
+                    error = "Request must contain verb + endpoint + path";
+                }
+            }
+        } finally {
+            // The request file has gone, so a new request with this tag can be
+            // accepted as soon as the client has seen the response.
+            activeTags.remove(files.tag);
+            response(files, error);
+            metrics.requestFinished(service, startedAt - foundAt, System.nanoTime() - foundAt, error != null);
+        }
+    }
+
+    /**
+     * The names of the files used by a request with a given tag.
+     */
+    private static class RequestFiles {
+
+        final String tag;
+        final String contentIn;
+        final String contentOut;
+        final String responseJson;
+
+        RequestFiles(final String tag) {
+            this.tag = tag;
+            contentIn = tagged(CONTENT_IN, tag);
+            contentOut = tagged(CONTENT_OUT, tag);
+            responseJson = tagged(RESPONSE_JSON, tag);
+        }
+
+        private static String tagged(final String name, final String tag) {
+            if (tag.isEmpty()) {
+                return name;
+            }
+            final int dot = name.lastIndexOf('.');
+            return name.substring(0, dot) + "-" + tag + name.substring(dot);
+        }
+    }
+
     /**
      * Execute a REST endpoint.
      *
@@ -208,7 +344,7 @@ public class FileListener implements Runnable {
      *
      * @throws Exception because of AutoCloseable
      */
-    private void parseAndExecute(final String verb, final String endpoint, final String path, final JsonNode args) throws Exception {
+    private void parseAndExecute(final String verb, final String endpoint, final String path, final JsonNode args, final RequestFiles files) throws Exception {
         if ("/v2/service".equals(endpoint)) {
             final HttpMethod httpMethod = HttpMethod.getValue(verb);
             // Get an instance of the service (if it exists).
@@ -220,7 +356,7 @@ public class FileListener implements Runnable {
             final PluginParameters parameters = rs.createParameters();
             RestServiceUtilities.parametersFromJson((ObjectNode) args, parameters);
 
-            try (final InStream ins = new InStream(restPath, CONTENT_IN, true); final OutputStream out = outStream(restPath, CONTENT_OUT)) {
+            try (final InStream ins = new InStream(restPath, files.contentIn, true); final OutputStream out = outStream(restPath, files.contentOut)) {
                 rs.callService(parameters, ins.in, out);
             } catch (final IOException | RuntimeException ex) {
                 throw new RestServiceException(ex);
@@ -291,19 +427,16 @@ public class FileListener implements Runnable {
         throw new RestServiceException(msg);
     }
 
-    private void response() {
-        response(null);
-    }
-
     /**
      * Create a JSON response.
      * <p>
      * If a non-null message is supplied, it will be added to the document with
      * the "error" key. The message will be returned to the caller.
      *
+     * @param files The files of the request being responded to.
      * @param message A string describing the error.
      */
-    private void response(final String message) {
+    private void response(final RequestFiles files, final String message) {
         final ObjectMapper mapper = new ObjectMapper();
         final ObjectNode root = mapper.createObjectNode();
         if (message != null) {
@@ -311,9 +444,15 @@ public class FileListener implements Runnable {
             LOGGER.warning(message);
         }
 
-        final Path p = restPath.resolve(RESPONSE_JSON);
-        try (final OutputStream out = new FileOutputStream(p.toFile())) {
-            mapper.writeValue(out, root);
+        // Write the response under another name and rename it, so the client
+        // never sees a partly written response.
+        final Path p = restPath.resolve(files.responseJson);
+        final Path partial = restPath.resolve(files.responseJson + "_");
+        try {
+            try (final OutputStream out = new FileOutputStream(partial.toFile())) {
+                mapper.writeValue(out, root);
+            }
+            Files.move(partial, p, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
         } catch (final IOException ex1) {
             LOGGER.log(Level.SEVERE, ex1.getLocalizedMessage(), ex1);
         }
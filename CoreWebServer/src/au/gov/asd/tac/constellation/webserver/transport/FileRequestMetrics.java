@@ -0,0 +1,149 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.webserver.transport;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency statistics for the requests handled by the {@link FileListener}.
+ * <p>
+ * For each service, this records the number of requests and failures, the time
+ * each request waited between being found and being started, and the time
+ * between being found and the response being written.
+ *
+ * @author algol
+ */
+public class FileRequestMetrics {
+
+    private static final FileRequestMetrics DEFAULT = new FileRequestMetrics();
+
+    private final Map<String, ServiceMetrics> services = new TreeMap<>();
+    private int inFlight = 0;
+
+    /**
+     * The statistics for a single service.
+     */
+    public static class ServiceMetrics {
+
+        private long count = 0;
+        private long failures = 0;
+        private long totalQueuedNanos = 0;
+        private long totalLatencyNanos = 0;
+        private long maxLatencyNanos = 0;
+
+        private ServiceMetrics() {
+        }
+
+        private ServiceMetrics(final ServiceMetrics other) {
+            count = other.count;
+            failures = other.failures;
+            totalQueuedNanos = other.totalQueuedNanos;
+            totalLatencyNanos = other.totalLatencyNanos;
+            maxLatencyNanos = other.maxLatencyNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public double getMeanQueuedMillis() {
+            return count == 0 ? 0 : toMillis(totalQueuedNanos) / count;
+        }
+
+        public double getMeanLatencyMillis() {
+            return count == 0 ? 0 : toMillis(totalLatencyNanos) / count;
+        }
+
+        public double getMaxLatencyMillis() {
+            return toMillis(maxLatencyNanos);
+        }
+
+        private static double toMillis(final long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+    /**
+     * The metrics of the requests handled by all file listeners.
+     *
+     * @return the shared metrics.
+     */
+    public static FileRequestMetrics getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Record that a request has been found and is waiting to be handled.
+     */
+    public synchronized void requestStarted() {
+        inFlight++;
+    }
+
+    /**
+     * Record that a request has finished.
+     *
+     * @param service the name of the service that was called.
+     * @param queuedNanos the time between finding the request and starting it.
+     * @param latencyNanos the time between finding the request and writing the
+     * response.
+     * @param failed true if an error was returned.
+     */
+    public synchronized void requestFinished(final String service, final long queuedNanos, final long latencyNanos, final boolean failed) {
+        inFlight--;
+        final ServiceMetrics metrics = services.computeIfAbsent(service, name -> new ServiceMetrics());
+        metrics.count++;
+        if (failed) {
+            metrics.failures++;
+        }
+        metrics.totalQueuedNanos += queuedNanos;
+        metrics.totalLatencyNanos += latencyNanos;
+        metrics.maxLatencyNanos = Math.max(metrics.maxLatencyNanos, latencyNanos);
+    }
+
+    /**
+     * The number of requests that have been found but not yet answered.
+     *
+     * @return the number of requests in flight.
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * A copy of the statistics of each service that has been called, ordered
+     * by service name.
+     *
+     * @return the statistics of each service.
+     */
+    public synchronized Map<String, ServiceMetrics> getServices() {
+        final Map<String, ServiceMetrics> copy = new TreeMap<>();
+        services.forEach((name, metrics) -> copy.put(name, new ServiceMetrics(metrics)));
+        return copy;
+    }
+
+    /**
+     * Discard all of the statistics of finished requests.
+     */
+    public synchronized void reset() {
+        services.clear();
+    }
+}
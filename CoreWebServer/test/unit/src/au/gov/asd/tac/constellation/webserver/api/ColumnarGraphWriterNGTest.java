@@ -0,0 +1,259 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.webserver.api;
+
+import au.gov.asd.tac.constellation.graph.GraphElementType;
+import au.gov.asd.tac.constellation.graph.StoreGraph;
+import au.gov.asd.tac.constellation.graph.attribute.BooleanAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.FloatAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.IntegerAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.IntegerObjectAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.LongAttributeDescription;
+import au.gov.asd.tac.constellation.graph.attribute.StringAttributeDescription;
+import au.gov.asd.tac.constellation.graph.processing.GraphRecordStore;
+import au.gov.asd.tac.constellation.graph.processing.GraphRecordStoreUtilities;
+import au.gov.asd.tac.constellation.webserver.restapi.RestServiceException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import static org.testng.Assert.assertEquals;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for ColumnarGraphWriter.
+ *
+ * @author algol
+ */
+public class ColumnarGraphWriterNGTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private StoreGraph graph;
+    private int vxSelected;
+    private int vxLabel;
+    private int vxCount;
+    private int vxBig;
+
+    /**
+     * Create a graph with a directed transaction, an undirected transaction
+     * and a singleton vertex.
+     */
+    @BeforeMethod
+    public void setUpMethod() {
+        graph = new StoreGraph();
+        vxSelected = graph.addAttribute(GraphElementType.VERTEX, BooleanAttributeDescription.ATTRIBUTE_NAME, "selected", null, false, null);
+        vxLabel = graph.addAttribute(GraphElementType.VERTEX, StringAttributeDescription.ATTRIBUTE_NAME, "Label", null, null, null);
+        vxCount = graph.addAttribute(GraphElementType.VERTEX, IntegerAttributeDescription.ATTRIBUTE_NAME, "count", null, 0, null);
+        final int vxWeight = graph.addAttribute(GraphElementType.VERTEX, FloatAttributeDescription.ATTRIBUTE_NAME, "weight", null, 0F, null);
+        final int vxMaybe = graph.addAttribute(GraphElementType.VERTEX, IntegerObjectAttributeDescription.ATTRIBUTE_NAME, "maybe", null, null, null);
+        vxBig = graph.addAttribute(GraphElementType.VERTEX, LongAttributeDescription.ATTRIBUTE_NAME, "big", null, 0L, null);
+        final int txSelected = graph.addAttribute(GraphElementType.TRANSACTION, BooleanAttributeDescription.ATTRIBUTE_NAME, "selected", null, false, null);
+        final int txName = graph.addAttribute(GraphElementType.TRANSACTION, StringAttributeDescription.ATTRIBUTE_NAME, "name", null, null, null);
+
+        final int[] vxs = new int[4];
+        for (int i = 0; i < vxs.length; i++) {
+            vxs[i] = graph.addVertex();
+            graph.setStringValue(vxLabel, vxs[i], "v" + i);
+            graph.setIntValue(vxCount, vxs[i], i * 10);
+            graph.setFloatValue(vxWeight, vxs[i], i + 0.25F);
+            graph.setLongValue(vxBig, vxs[i], Integer.MAX_VALUE + (long) i);
+            if (i % 2 == 0) {
+                graph.setObjectValue(vxMaybe, vxs[i], i);
+            }
+        }
+        graph.setBooleanValue(vxSelected, vxs[1], true);
+        graph.setBooleanValue(vxSelected, vxs[3], true);
+
+        final int tx0 = graph.addTransaction(vxs[0], vxs[1], true);
+        final int tx1 = graph.addTransaction(vxs[1], vxs[2], false);
+        graph.setStringValue(txName, tx0, "t0");
+        graph.setStringValue(txName, tx1, "t1");
+        graph.setBooleanValue(txSelected, tx1, true);
+    }
+
+    private JsonNode writeElements(final boolean vx, final boolean tx, final boolean selected, final Set<String> attrs) throws IOException {
+        final StringWriter json = new StringWriter();
+        try (final JsonGenerator generator = mapper.getFactory().createGenerator(json)) {
+            ColumnarGraphWriter.readElements(graph, vx, tx, selected, attrs).write(generator);
+        }
+        return mapper.readTree(json.toString());
+    }
+
+    /**
+     * Check that the columnar output has the same rows and columns as the
+     * RecordStore used by the row output.
+     */
+    private void assertMatchesRecordStore(final JsonNode table, final GraphRecordStore recordStore) throws IOException {
+        final Set<String> expectedColumns = new HashSet<>();
+        for (final String key : recordStore.keysWithType()) {
+            final int ix = key.lastIndexOf('<');
+            expectedColumns.add(key.substring(0, ix) + "|" + key.substring(ix + 1, key.length() - 1));
+        }
+
+        final Set<String> columns = new HashSet<>();
+        table.get("columns").forEach(column -> columns.add(column.asText()));
+        assertEquals(columns, expectedColumns);
+        assertEquals(table.get("length").asInt(), recordStore.size());
+
+        for (int c = 0; c < table.get("columns").size(); c++) {
+            final String column = table.get("columns").get(c).asText();
+            final int ix = column.lastIndexOf('|');
+            final String type = column.substring(ix + 1);
+            final String key = column.substring(0, ix) + "<" + type + ">";
+
+            final ArrayNode expected = mapper.createArrayNode();
+            recordStore.reset();
+            while (recordStore.next()) {
+                RestUtilities.addData(expected, type, recordStore.get(key));
+            }
+            final JsonNode values = table.get("values").get(c);
+            if (LongAttributeDescription.ATTRIBUTE_NAME.equals(type)) {
+                // long values are sent as numbers rather than strings
+                for (int row = 0; row < values.size(); row++) {
+                    assertEquals(values.get(row).asText(), expected.get(row).asText(), column);
+                }
+            } else {
+                assertEquals(values, mapper.readTree(mapper.writeValueAsString(expected)), column);
+            }
+        }
+    }
+
+    /**
+     * Test that all elements are written in the same way as the RecordStore.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testWriteAll() throws IOException {
+        System.out.println("testWriteAll");
+
+        final JsonNode table = writeElements(true, true, false, Set.of());
+        assertMatchesRecordStore(table, GraphRecordStoreUtilities.getAll(graph, true, false, false));
+        assertEquals(table.get("length").asInt(), 3);
+    }
+
+    /**
+     * Test that vertices and transactions are written in the same way as the
+     * RecordStore.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testWriteVerticesAndTransactions() throws IOException {
+        System.out.println("testWriteVerticesAndTransactions");
+
+        assertMatchesRecordStore(writeElements(true, false, false, Set.of()), GraphRecordStoreUtilities.getVertices(graph, false, false, false));
+        assertMatchesRecordStore(writeElements(false, true, false, Set.of()), GraphRecordStoreUtilities.getTransactions(graph, false, false));
+        assertMatchesRecordStore(writeElements(false, true, true, Set.of()), GraphRecordStoreUtilities.getTransactions(graph, true, false));
+    }
+
+    /**
+     * Test that only the requested attributes of selected vertices are
+     * written, in the requested order and with their own types.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testWriteSelectedAttributes() throws IOException {
+        System.out.println("testWriteSelectedAttributes");
+
+        final Set<String> attrs = new LinkedHashSet<>(List.of("source.big", "source.Label", "source.count"));
+        final JsonNode table = writeElements(true, false, true, attrs);
+
+        assertEquals(table.get("columns"), mapper.readTree("[\"source.big|long\",\"source.Label|string\",\"source.count|integer\"]"));
+        assertEquals(table.get("length").asInt(), 2);
+        assertEquals(table.get("values"), mapper.readTree("[[2147483648,2147483650],[\"v1\",\"v3\"],[10,30]]"));
+    }
+
+    /**
+     * Test that requesting an attribute that does not exist fails.
+     *
+     * @throws IOException
+     */
+    @Test(expectedExceptions = RestServiceException.class)
+    public void testWriteMissingAttribute() throws IOException {
+        System.out.println("testWriteMissingAttribute");
+
+        writeElements(true, true, false, Set.of("source.Label", "source.nothing"));
+    }
+
+    /**
+     * Test that an empty selection writes an empty table.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testWriteEmpty() throws IOException {
+        System.out.println("testWriteEmpty");
+
+        graph.setBooleanValue(vxSelected, graph.getVertex(1), false);
+        graph.setBooleanValue(vxSelected, graph.getVertex(3), false);
+        final JsonNode table = writeElements(true, false, true, Set.of("source.Label"));
+        assertEquals(table, mapper.readTree("{\"columns\":[],\"length\":0,\"values\":[]}"));
+    }
+
+    /**
+     * Test that graph attribute values are written as a single row.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testWriteGraphValues() throws IOException {
+        System.out.println("testWriteGraphValues");
+
+        final int title = graph.addAttribute(GraphElementType.GRAPH, StringAttributeDescription.ATTRIBUTE_NAME, "title", null, null, null);
+        final int size = graph.addAttribute(GraphElementType.GRAPH, IntegerAttributeDescription.ATTRIBUTE_NAME, "size", null, 0, null);
+        graph.setStringValue(title, 0, "My Graph");
+        graph.setIntValue(size, 0, 4);
+
+        final StringWriter json = new StringWriter();
+        try (final JsonGenerator generator = mapper.getFactory().createGenerator(json)) {
+            ColumnarGraphWriter.readGraphValues(graph).write(generator);
+        }
+        assertEquals(mapper.readTree(json.toString()),
+                mapper.readTree("{\"columns\":[\"title|string\",\"size|integer\"],\"length\":1,\"values\":[[\"My Graph\"],[4]]}"));
+    }
+
+    /**
+     * Test that the values written are those read, even if the graph changes
+     * before the table is written.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testWriteAfterGraphChanges() throws IOException {
+        System.out.println("testWriteAfterGraphChanges");
+
+        final ColumnarGraphWriter table = ColumnarGraphWriter.readElements(graph, true, false, true, new LinkedHashSet<>(List.of("source.Label", "source.count")));
+        graph.setStringValue(vxLabel, graph.getVertex(1), "changed");
+        graph.setIntValue(vxCount, graph.getVertex(3), -1);
+        graph.removeVertex(graph.getVertex(3));
+
+        final StringWriter json = new StringWriter();
+        try (final JsonGenerator generator = mapper.getFactory().createGenerator(json)) {
+            table.write(generator);
+        }
+        assertEquals(mapper.readTree(json.toString()),
+                mapper.readTree("{\"columns\":[\"source.Label|string\",\"source.count|integer\"],\"length\":2,\"values\":[[\"v1\",\"v3\"],[10,30]]}"));
+    }
+}
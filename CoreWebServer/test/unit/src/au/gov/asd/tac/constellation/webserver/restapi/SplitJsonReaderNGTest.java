@@ -0,0 +1,145 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.webserver.restapi;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for SplitJsonReader.
+ *
+ * @author algol
+ */
+public class SplitJsonReaderNGTest {
+
+    private static InputStream stream(final String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Test that the columns and rows of a table are read in order.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testReadRows() throws IOException {
+        System.out.println("testReadRows");
+
+        final String json = "{\"columns\":[\"a\",\"b\"],\"index\":[0,1],\"data\":[[1,\"x\"],[2,null]]}";
+        try (final SplitJsonReader reader = new SplitJsonReader(stream(json))) {
+            assertEquals(reader.getColumns(), new String[]{"a", "b"});
+            assertEquals(reader.nextRow(), new Object[]{"1", "x"});
+            assertEquals(reader.nextRow(), new Object[]{"2", null});
+            assertNull(reader.nextRow());
+        }
+    }
+
+    /**
+     * Test that a table is read when the data comes before the columns.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testDataBeforeColumns() throws IOException {
+        System.out.println("testDataBeforeColumns");
+
+        final String json = "{\"data\":[[1,\"x\"],[2,\"y\"]],\"index\":[0,1],\"columns\":[\"a\",\"b\"]}";
+        try (final SplitJsonReader reader = new SplitJsonReader(stream(json))) {
+            assertEquals(reader.getColumns(), new String[]{"a", "b"});
+            assertEquals(reader.nextRow(), new Object[]{"1", "x"});
+            assertEquals(reader.nextRow(), new Object[]{"2", "y"});
+            assertNull(reader.nextRow());
+        }
+    }
+
+    /**
+     * Test that cells have the same text as the nodes of a parsed tree.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testCellText() throws IOException {
+        System.out.println("testCellText");
+
+        final String row = "[12345678901234567890,-7,1.5,1e3,true,false,null,\"s\",[1,2],{\"k\":1}]";
+        final JsonNode expected = new ObjectMapper().readTree(row);
+        try (final SplitJsonReader reader = new SplitJsonReader(stream("{\"columns\":[],\"data\":[" + row + "]}"))) {
+            final Object[] cells = reader.nextRow();
+            assertEquals(cells.length, expected.size());
+            for (int i = 0; i < cells.length; i++) {
+                assertEquals(SplitJsonReader.asText(cells[i]), expected.get(i).asText());
+            }
+            assertTrue(cells[8] instanceof JsonNode);
+            assertEquals(cells[8], expected.get(8));
+            assertEquals(cells[9], expected.get(9));
+        }
+    }
+
+    /**
+     * Test that a large table is read one row at a time.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testManyRows() throws IOException {
+        System.out.println("testManyRows");
+
+        final int rowCount = 50000;
+        final StringBuilder json = new StringBuilder("{\"columns\":[\"n\"],\"data\":[");
+        for (int i = 0; i < rowCount; i++) {
+            json.append(i == 0 ? "" : ",").append('[').append(i).append(']');
+        }
+        json.append("]}");
+
+        try (final SplitJsonReader reader = new SplitJsonReader(stream(json.toString()))) {
+            int count = 0;
+            Object[] row = reader.nextRow();
+            while (row != null) {
+                assertEquals(row[0], Integer.toString(count++));
+                row = reader.nextRow();
+            }
+            assertEquals(count, rowCount);
+        }
+    }
+
+    /**
+     * Test that documents without columns or data are rejected.
+     *
+     * @throws IOException
+     */
+    @Test
+    public void testInvalidDocuments() throws IOException {
+        System.out.println("testInvalidDocuments");
+
+        for (final String json : new String[]{"{\"data\":[[1]]}", "{\"columns\":[\"a\"]}", "[1,2]", "{\"columns\":[\"a\"],\"data\":[1]}"}) {
+            try (final SplitJsonReader reader = new SplitJsonReader(stream(json))) {
+                reader.nextRow();
+                fail("Expected RestServiceException for " + json);
+            } catch (final RestServiceException ex) {
+                assertEquals(ex.getHttpCode(), RestService.HTTP_UNPROCESSABLE_ENTITY);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.webserver.services;
+
+import au.gov.asd.tac.constellation.graph.Graph;
+import au.gov.asd.tac.constellation.graph.ReadableGraph;
+import au.gov.asd.tac.constellation.graph.locking.DualGraph;
+import au.gov.asd.tac.constellation.graph.node.GraphNode;
+import au.gov.asd.tac.constellation.plugins.parameters.PluginParameters;
+import au.gov.asd.tac.constellation.webserver.restapi.RestService;
+import au.gov.asd.tac.constellation.webserver.restapi.RestServiceException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import static org.mockito.Mockito.mockStatic;
+import org.mockito.MockedStatic;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for AddRecordStore.
+ *
+ * @author algol
+ */
+public class AddRecordStoreNGTest {
+
+    private static final String GRAPH_ID = "addRecordStoreGraph";
+
+    private Graph graph;
+    private MockedStatic<GraphNode> graphNodeStaticMock;
+
+    @BeforeMethod
+    public void setUpMethod() throws Exception {
+        graph = new DualGraph(null);
+        graphNodeStaticMock = mockStatic(GraphNode.class);
+        graphNodeStaticMock.when(() -> GraphNode.getGraph(GRAPH_ID)).thenReturn(graph);
+    }
+
+    @AfterMethod
+    public void tearDownMethod() throws Exception {
+        graphNodeStaticMock.close();
+    }
+
+    private void assertUnprocessable(final String json) throws Exception {
+        final AddRecordStore instance = new AddRecordStore();
+        final PluginParameters parameters = instance.createParameters();
+        parameters.setStringValue("graph_id", GRAPH_ID);
+        final long modificationCounter;
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            modificationCounter = rg.getGlobalModificationCounter();
+        }
+
+        try {
+            instance.callService(parameters, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), new ByteArrayOutputStream());
+            fail("Expected a RestServiceException");
+        } catch (final RestServiceException ex) {
+            assertEquals(ex.getHttpCode(), RestService.HTTP_UNPROCESSABLE_ENTITY);
+        }
+
+        // the request is rejected before anything is written to the graph
+        try (final ReadableGraph rg = graph.getReadableGraph()) {
+            assertEquals(rg.getVertexCount(), 0);
+            assertEquals(rg.getGlobalModificationCounter(), modificationCounter);
+        }
+    }
+
+    /**
+     * Test that a document which ends part way through the data is rejected
+     * with a 422 status rather than being wrapped by the plugin framework.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testTruncatedData() throws Exception {
+        System.out.println("testTruncatedData");
+
+        assertUnprocessable("{\"columns\":[\"source.Label\"],\"data\":[[\"a\"],[\"b\"");
+    }
+
+    /**
+     * Test that a data row which is not an array is rejected with a 422
+     * status.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRowNotArray() throws Exception {
+        System.out.println("testRowNotArray");
+
+        assertUnprocessable("{\"columns\":[\"source.Label\"],\"data\":[[\"a\"],\"b\"]}");
+    }
+}
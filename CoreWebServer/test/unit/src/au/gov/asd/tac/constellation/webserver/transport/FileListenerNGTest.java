@@ -0,0 +1,175 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.webserver.transport;
+
+import au.gov.asd.tac.constellation.preferences.ApplicationPreferenceKeys;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeoutException;
+import java.util.prefs.Preferences;
+import org.apache.commons.io.FileUtils;
+import org.openide.util.NbPreferences;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for FileListener.
+ *
+ * @author algol
+ */
+public class FileListenerNGTest {
+
+    private static final long RESPONSE_TIMEOUT = 10000;
+    private static final String METRICS_REQUEST = "{\"verb\":\"get\",\"endpoint\":\"/v2/service\",\"path\":\"get_file_listener_metrics\",\"args\":{}}";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private Preferences prefs;
+    private String oldRestDir;
+    private boolean oldDownload;
+    private Path restDir;
+    private FileListener listener;
+    private Thread listenerThread;
+
+    @BeforeMethod
+    public void setUpMethod() throws Exception {
+        restDir = Files.createTempDirectory("fileListener");
+        prefs = NbPreferences.forModule(ApplicationPreferenceKeys.class);
+        oldRestDir = prefs.get(ApplicationPreferenceKeys.REST_DIR, "");
+        oldDownload = prefs.getBoolean(ApplicationPreferenceKeys.PYTHON_REST_CLIENT_DOWNLOAD, ApplicationPreferenceKeys.PYTHON_REST_CLIENT_DOWNLOAD_DEFAULT);
+        prefs.put(ApplicationPreferenceKeys.REST_DIR, restDir.toString());
+        prefs.putBoolean(ApplicationPreferenceKeys.PYTHON_REST_CLIENT_DOWNLOAD, false);
+
+        FileRequestMetrics.getDefault().reset();
+        listener = new FileListener();
+        listenerThread = new Thread(listener);
+        listenerThread.start();
+    }
+
+    @AfterMethod
+    public void tearDownMethod() throws Exception {
+        listener.stop();
+        listenerThread.join(RESPONSE_TIMEOUT);
+        prefs.put(ApplicationPreferenceKeys.REST_DIR, oldRestDir);
+        prefs.putBoolean(ApplicationPreferenceKeys.PYTHON_REST_CLIENT_DOWNLOAD, oldDownload);
+        FileUtils.deleteDirectory(restDir.toFile());
+    }
+
+    /**
+     * Write a request the way the Python client does, renaming it into place
+     * so that it appears complete.
+     */
+    private void writeRequest(final String name, final String json) throws IOException {
+        final Path partial = restDir.resolve(name + "_");
+        Files.writeString(partial, json, StandardCharsets.UTF_8);
+        Files.move(partial, restDir.resolve(name));
+    }
+
+    private JsonNode waitForJson(final String name) throws IOException, InterruptedException, TimeoutException {
+        final File file = restDir.resolve(name).toFile();
+        final long end = System.currentTimeMillis() + RESPONSE_TIMEOUT;
+        while (System.currentTimeMillis() < end) {
+            if (file.exists()) {
+                try {
+                    return mapper.readTree(file);
+                } catch (final IOException ex) {
+                    // The file is still being written.
+                }
+            }
+            Thread.sleep(10);
+        }
+        throw new TimeoutException("No " + name + " was written");
+    }
+
+    /**
+     * Wait for all requests to be counted, since a response is written before
+     * its request is counted.
+     */
+    private void waitForIdle() throws InterruptedException {
+        final long end = System.currentTimeMillis() + RESPONSE_TIMEOUT;
+        while (FileRequestMetrics.getDefault().getInFlight() > 0 && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Test that an untagged request is answered using the original file
+     * names.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testRequest() throws Exception {
+        System.out.println("testRequest");
+
+        writeRequest("request.json", METRICS_REQUEST);
+        assertEquals(waitForJson("response.json").size(), 0);
+        assertTrue(waitForJson("content.out").has("services"));
+        assertFalse(Files.exists(restDir.resolve("request.json")));
+    }
+
+    /**
+     * Test that several tagged requests can be in flight at once, each with
+     * its own response.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testTaggedRequests() throws Exception {
+        System.out.println("testTaggedRequests");
+
+        final int requestCount = 6;
+        for (int i = 0; i < requestCount; i++) {
+            writeRequest("request-" + i + ".json", METRICS_REQUEST);
+        }
+        for (int i = 0; i < requestCount; i++) {
+            assertEquals(waitForJson("response-" + i + ".json").size(), 0);
+            assertTrue(waitForJson("content-" + i + ".out").has("in_flight"));
+        }
+        assertFalse(Files.exists(restDir.resolve("response.json")));
+
+        waitForIdle();
+        final FileRequestMetrics.ServiceMetrics metrics = FileRequestMetrics.getDefault().getServices().get("get_file_listener_metrics");
+        assertEquals(metrics.getCount(), requestCount);
+        assertEquals(metrics.getFailures(), 0);
+        assertTrue(metrics.getMaxLatencyMillis() >= metrics.getMeanLatencyMillis());
+    }
+
+    /**
+     * Test that an invalid request is answered with an error and counted as a
+     * failure.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testInvalidRequest() throws Exception {
+        System.out.println("testInvalidRequest");
+
+        writeRequest("request-bad.json", "{\"verb\":\"get\"}");
+        assertEquals(waitForJson("response-bad.json").get("error").asText(), "Request must contain verb + endpoint + path");
+
+        waitForIdle();
+        assertEquals(FileRequestMetrics.getDefault().getServices().get("(invalid request)").getFailures(), 1);
+    }
+}
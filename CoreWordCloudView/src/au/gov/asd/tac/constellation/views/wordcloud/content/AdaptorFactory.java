@@ -16,10 +16,10 @@
 package au.gov.asd.tac.constellation.views.wordcloud.content;
 
 /**
- * Allows an adaptor to be connected to a thread allocator
+ * Allows an adaptor to be connected to a range of elements handed out by a work splitter
  * @author twilight_sparkle
  */
 public interface AdaptorFactory {
 
-    public abstract ThreadedPhraseAdaptor getAdaptor(final ThreadAllocator forAllocator);
+    public abstract ThreadedPhraseAdaptor getAdaptor(final int lowerPos, final int workload);
 }
@@ -51,8 +51,7 @@ public class ContentAnalysisManager {
 
     private static final Logger LOGGER = Logger.getLogger(ContentAnalysisManager.class.getName());
 
-    private static final int AVAILABLE_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
-    private static final int MAX_THRESHOLD = 50; // The maximum number of items to assign each thread (until we don't have enough threads anyway).
+    private static final int MIN_ELEMENTS_PER_TASK = 50; // The fewest number of items worth giving to a separate fork-join task.
     private final Graph graph;
     private final int[] performOnElements;
     private final Set<Integer> elementsOfInterest;
@@ -78,10 +77,10 @@ public class ContentAnalysisManager {
         private final List<String> list;
         private final int workload;
 
-        protected StringListThreadedPhraseAdaptor(final ThreadAllocator allocator, final Collection<String> list) {
-            this.list = new ArrayList<>(list);
-            elCurrentPosition = elLowPosition = allocator.getLowerPos();
-            workload = allocator.getWorkload();
+        protected StringListThreadedPhraseAdaptor(final int lowerPos, final int workload, final List<String> list) {
+            this.list = list;
+            elCurrentPosition = elLowPosition = lowerPos;
+            this.workload = workload;
         }
 
         @Override
@@ -115,8 +114,10 @@ public class ContentAnalysisManager {
         }
     }
 
-    public ThreadAllocator getStringListAllocator(final Collection<String> list) {
-        return ThreadAllocator.buildThreadAllocator(AVAILABLE_THREADS, MAX_THRESHOLD, list.size(), (final ThreadAllocator forAllocator) -> new StringListThreadedPhraseAdaptor(forAllocator, list));
+    public WorkSplitter getStringListWorkSplitter(final Collection<String> list) {
+        // Every adaptor reads from the same copy of the list
+        final List<String> listCopy = new ArrayList<>(list);
+        return new WorkSplitter(listCopy.size(), MIN_ELEMENTS_PER_TASK, (lowerPos, workload) -> new StringListThreadedPhraseAdaptor(lowerPos, workload, listCopy));
     }
 
     private class GraphElementThreadedPhraseAdaptor extends ThreadedPhraseAdaptor {
@@ -126,9 +127,9 @@ public class ContentAnalysisManager {
         private ReadableGraph rg;
         private final int workload;
 
-        private GraphElementThreadedPhraseAdaptor(final ThreadAllocator allocator) {
-            elCurrentPosition = elLowPosition = allocator.getLowerPos();
-            workload = allocator.getWorkload();
+        private GraphElementThreadedPhraseAdaptor(final int lowerPos, final int workload) {
+            elCurrentPosition = elLowPosition = lowerPos;
+            this.workload = workload;
         }
 
         @Override
@@ -162,26 +163,26 @@ public class ContentAnalysisManager {
         }
     }
 
-    public ThreadAllocator getGraphElementThreadAllocator() {
-        return ThreadAllocator.buildThreadAllocator(AVAILABLE_THREADS, MAX_THRESHOLD, querySize, (final ThreadAllocator forAllocator) -> new GraphElementThreadedPhraseAdaptor(forAllocator));
+    public WorkSplitter getGraphElementWorkSplitter() {
+        return new WorkSplitter(querySize, MIN_ELEMENTS_PER_TASK, GraphElementThreadedPhraseAdaptor::new);
     }
 
     public void clusterDocuments(final ClusterDocumentsParameters clusterDocumentsParams) {
-        final ThreadAllocator allocator = getGraphElementThreadAllocator();
+        final WorkSplitter splitter = getGraphElementWorkSplitter();
         final DefaultTokenHandler th = new DefaultTokenHandler();
-        ContentTokenizingServices.createDocumentClusteringTokenizingService(th, clusterDocumentsParams, allocator);
+        ContentTokenizingServices.createDocumentClusteringTokenizingService(th, clusterDocumentsParams, splitter);
         
         final ContentVectorClusteringServices cvcs = ContentVectorClusteringServices.createKMeansClusteringService(th, clusterDocumentsParams, querySize);
-        cvcs.createAndRunThreads(allocator);
+        cvcs.computeAndCluster(splitter);
 
         final ContentAnalysisGraphProcessing gp = new ContentAnalysisGraphProcessing(graph, cvcs, elementType, clusterDocumentsParams.getFollowUpChoice());
         gp.performFollowUp();
     }
 
     public void compareNodesWithNGrams(final NGramAnalysisParameters nGramParams) {
-        final ThreadAllocator allocator = getGraphElementThreadAllocator();
+        final WorkSplitter splitter = getGraphElementWorkSplitter();
         final PairwiseComparisonTokenHandler th = new PairwiseComparisonTokenHandler(graphElementCapacity, elementsOfInterest);
-        ContentTokenizingServices.computeNGrams(th, nGramParams, allocator);
+        ContentTokenizingServices.computeNGrams(th, nGramParams, splitter);
 
         if (nGramParams.getFollowUpChoice().equals(ContentAnalysisOptions.FollowUpChoice.ADD_TRANSACTIONS)) {
             final List<ElementSimilarity> pairwiseSimilarities = ContentPairwiseSimilarityServices.scoreSimilarPairs(th, nGramParams);
@@ -225,16 +226,16 @@ public class ContentAnalysisManager {
         final PhraseTokenHandler bgHandler;
         final List<String> lines = processBackground(background);
         if (lines != null) {
-            final ThreadAllocator bgAllocator = getStringListAllocator(lines);
+            final WorkSplitter bgSplitter = getStringListWorkSplitter(lines);
             bgHandler = new PhraseTokenHandler();
-            ContentTokenizingServices.createPhraseAnalysisTokenizingService(bgHandler, phrasiphyContentParams, bgAllocator);
+            ContentTokenizingServices.createPhraseAnalysisTokenizingService(bgHandler, phrasiphyContentParams, bgSplitter);
         } else {
             bgHandler = null;
         }
 
-        final ThreadAllocator allocator = getGraphElementThreadAllocator();
+        final WorkSplitter splitter = getGraphElementWorkSplitter();
         final PhraseTokenHandler handler = new PhraseTokenHandler();
-        ContentTokenizingServices.createPhraseAnalysisTokenizingService(handler, phrasiphyContentParams, allocator);
+        ContentTokenizingServices.createPhraseAnalysisTokenizingService(handler, phrasiphyContentParams, splitter);
 
         final Future<?> f = PluginExecution.withPlugin(new SimpleEditPlugin("Display Word Cloud") {
             @Override
@@ -55,17 +55,17 @@ public class ContentTokenizingServices {
      * tokenization.
      * @param nGramParams The parameters for n-gram analysis which will inform
      * the construction of this object.
-     * @param allocator The object which connects to the data source to be
-     * tokenized and delegates portions thereof to various threads.
+     * @param splitter The object which connects to the data source to be
+     * tokenized and splits it into portions to be tokenized in parallel.
      */
-    public static void computeNGrams(final TokenHandler handler, final NGramAnalysisParameters nGramParams, final ThreadAllocator allocator) {
+    public static void computeNGrams(final TokenHandler handler, final NGramAnalysisParameters nGramParams, final WorkSplitter splitter) {
         final ContentTokenizingServices cts = new ContentTokenizingServices();
         final char[] nGramTrimCharactersWithAt = {'@', ','};
         final char[] nGramTrimCharacters = {','};
         final char[] trimCharacters = nGramParams.isRemoveDomain() ? nGramTrimCharactersWithAt : nGramTrimCharacters;
         cts.tokenizer = new NGramTokenizer(handler, nGramParams.getNGramLength());
         cts.sanitizer = new TrimmingSanitizer(trimCharacters).setInnerSanitizer(new CaseSanitizer(nGramParams.isCaseSensitive()));
-        cts.createAndRunThreadsWithAdaptors(allocator);
+        cts.tokenize(splitter);
     }
 
     /**
@@ -76,10 +76,10 @@ public class ContentTokenizingServices {
      * @param handler The object which handles the results of this tokenization.
      * @param clusterDocumentParams The parameters for doucment clustering which
      * will inform the construction of this object.
-     * @param allocator The object which connects to the data source to be
-     * tokenized and delegates portions thereof to various threads.
+     * @param splitter The object which connects to the data source to be
+     * tokenized and splits it into portions to be tokenized in parallel.
      */
-    public static void createDocumentClusteringTokenizingService(final TokenHandler handler, final ClusterDocumentsParameters clusterDocumentsParams, final ThreadAllocator allocator) {
+    public static void createDocumentClusteringTokenizingService(final TokenHandler handler, final ClusterDocumentsParameters clusterDocumentsParams, final WorkSplitter splitter) {
         final ContentTokenizingServices cts = new ContentTokenizingServices();
         switch (clusterDocumentsParams.getTokenizingMethod()) {
             case NWORDS -> 
@@ -90,7 +90,7 @@ public class ContentTokenizingServices {
                 cts.tokenizer = new NGramTokenizer(handler, clusterDocumentsParams.getTokenLength());
         }
         cts.sanitizer = new FilteringSanitizer(clusterDocumentsParams.getDelimiter().getChar(), clusterDocumentsParams.getToFilterSet()).setInnerSanitizer(new CaseSanitizer(clusterDocumentsParams.isCaseSensitive()));
-        cts.createAndRunThreadsWithAdaptors(allocator);
+        cts.tokenize(splitter);
     }
 
     /**
@@ -101,10 +101,10 @@ public class ContentTokenizingServices {
      * @param handler The object which handle the result of this tokenization.
      * @param phrasiphyContentParams The parameters for phrasiphying which will
      * inform the construction of this object.
-     * @param allocator The object which connects to the data source to be
-     * tokenized and delegates portions thereof to various threads.
+     * @param splitter The object which connects to the data source to be
+     * tokenized and splits it into portions to be tokenized in parallel.
      */
-    public static void createPhraseAnalysisTokenizingService(final TokenHandler handler, final PhrasiphyContentParameters phrasiphyContentParams, final ThreadAllocator allocator) {
+    public static void createPhraseAnalysisTokenizingService(final TokenHandler handler, final PhrasiphyContentParameters phrasiphyContentParams, final WorkSplitter splitter) {
         final ContentTokenizingServices cts = new ContentTokenizingServices();
         final int phrase_length = phrasiphyContentParams.getPhraseLength();
         final int proximity = phrasiphyContentParams.getProximity();
@@ -147,71 +147,42 @@ public class ContentTokenizingServices {
         // Set the sanitizer to, in the following order, convert to lower case, filter word delimiters, filter apostropes without adding spaces, and insert phrase blocks for phrase delimiters
         cts.sanitizer = new PhraseDelimitingSanitizer(phrase_delimiter, phraseDelimiters).setInnerSanitizer(new FilteringSanitizer(apostrophes).setInnerSanitizer(new FilteringSanitizer(word_delimiter, wordDelimiters).setInnerSanitizer(new CaseSanitizer(false))));
         cts.tokenizer = new PhraseTokenizer(handler, ' ', phrase_length, '.', proximity, excludedWords);
-        cts.createAndRunThreadsWithAdaptors(allocator);
+        cts.tokenize(splitter);
     }
 
     /**
-     * Runs the tokenizing process with the given work allocator.
+     * Runs the tokenizing process, with each portion of the work given out by
+     * the splitter tokenized by a separate fork-join task.
      *
-     * @param allocator An allocator which retrieves work sets from an adaptor
-     * and assigns them to threads.
+     * @param splitter A splitter which divides the data source into portions
+     * and provides an adaptor to each portion.
      */
-    public void createAndRunThreadsWithAdaptors(final ThreadAllocator allocator) {
-        while (allocator.hasMore()) {
-            final ThreadedTokenization tokenization = new ThreadedTokenization(allocator);
-            final Thread t = new Thread(tokenization);
-            t.start();
-        }
-        allocator.waitOnOthers();
+    public void tokenize(final WorkSplitter splitter) {
+        splitter.invoke((lowerPos, workload) -> {
+            final ThreadedPhraseAdaptor phraseAdaptor = splitter.getAdaptor(lowerPos, workload);
+            // Connect the adaptor to the data source 
+            phraseAdaptor.connect();
+            try {
+                extractTokensFromElements(phraseAdaptor);
+            } finally {
+                // disconnect the adaptor from the data source 
+                phraseAdaptor.disconnect();
+            }
+        });
     }
 
     /**
-     * Represents a single thread for tokenizing content in a work package,
-     * managed by an allocator
+     * Runs the actual logic behind tokenizing a work package.
      */
-    private class ThreadedTokenization implements Runnable {
-
-        private final ThreadAllocator allocator;
-        private final ThreadedPhraseAdaptor phraseAdaptor;
-        private final int threadID;
-
-        /**
-         * Constructs a ThreadedTokenization object connected to the given
-         * allocator.
-         */
-        public ThreadedTokenization(final ThreadAllocator allocator) {
-            this.allocator = allocator;
-            // Get the adaptor interface to the next work package from the allocator.
-            this.phraseAdaptor = allocator.nextAdaptor();
-            this.threadID = allocator.getNumAllocated();
-        }
-
-        @Override
-        public void run() {
-            Thread.currentThread().setName("NGram.NGramServices.Thread.NGramComputation" + threadID);
-            // Connect the adaptor to the data source 
-            phraseAdaptor.connect();
-            // tokenize the content
-            extractTokensFromElements();
-            // disconnect the adaptor from the data source 
-            phraseAdaptor.disconnect();
-            // wait on the completion of all the other threads allocated by this thread's allocator
-            allocator.waitOnOthers();
-        }
-
-        /**
-         * Runs the actual logic behind tokenizing the work package.
-         */
-        private void extractTokensFromElements() {
-            // For each phrase in the work package 
-            for (int i = 0; i < phraseAdaptor.getWorkload(); i++) {
-                final String uncleanPhrase = phraseAdaptor.getNextPhrase();
-                // Sanitize the attribute value and convert to a character array
-                final char[] phrase = (uncleanPhrase == null) ? null : sanitizer.getSanitizedString(uncleanPhrase).toCharArray();
-                // If the sanitized phrase is not null, tokenize the phrase
-                if (phrase != null) {
-                    tokenizer.tokenizePhrase(phrase, phraseAdaptor.getCurrentElementID());
-                }
+    private void extractTokensFromElements(final ThreadedPhraseAdaptor phraseAdaptor) {
+        // For each phrase in the work package 
+        for (int i = 0; i < phraseAdaptor.getWorkload(); i++) {
+            final String uncleanPhrase = phraseAdaptor.getNextPhrase();
+            // Sanitize the attribute value and convert to a character array
+            final char[] phrase = (uncleanPhrase == null) ? null : sanitizer.getSanitizedString(uncleanPhrase).toCharArray();
+            // If the sanitized phrase is not null, tokenize the phrase
+            if (phrase != null) {
+                tokenizer.tokenizePhrase(phrase, phraseAdaptor.getCurrentElementID());
             }
         }
     }
@@ -196,68 +196,48 @@ public class ContentVectorClusteringServices {
         }
     }
 
-    public void createAndRunThreads(final ThreadAllocator allocator) {
-        allocator.resetThreadAllocation(tokenElementMatrix.getNumColumns());
-        while (allocator.hasMore()) {
-            final ThreadedElementVectorComputation vectorComp = new ThreadedElementVectorComputation(allocator);
-            final Thread t = new Thread(vectorComp);
-            t.start();
-            allocator.indicateAllocated();
-        }
-        allocator.waitOnOthers();
+    /**
+     * Computes the vector of each element in parallel, splitting the tokens
+     * between fork-join tasks, and then clusters the elements.
+     *
+     * @param splitter The work splitter whose settings are used to divide the
+     * tokens between tasks.
+     */
+    public void computeAndCluster(final WorkSplitter splitter) {
+        final Integer[] tokensKeySet = tokenElementMatrix.getColumnKeys();
+        splitter.resize(tokensKeySet.length).invoke((tokenLowPos, workload) -> computeElements(tokensKeySet, tokenLowPos, workload));
         clusteringMethod.cluster();
     }
 
-    protected class ThreadedElementVectorComputation implements Runnable {
-
-        private final ThreadAllocator allocator;
-        private final int threadID;
-        private final int tokenLowPos;
-        private final int workLoad;
-
-        public ThreadedElementVectorComputation(final ThreadAllocator allocator) {
-            this.allocator = allocator;
-            this.threadID = allocator.getNumAllocated();
-            tokenLowPos = allocator.getLowerPos();
-            workLoad = allocator.getWorkload();
-        }
-
-        @Override
-        public void run() {
-            Thread.currentThread().setName("ContentAnalysis.TokenElementComputation.Thread." + threadID);
-            computeElements();
-            allocator.waitOnOthers();
-        }
-
-        private void computeElements() {
-            final Integer[] tokensKeySet = tokenElementMatrix.getColumnKeys();
-            // For each token bin in this thread's work load
-            for (int tokenBinPos = tokenLowPos; tokenBinPos < tokenLowPos + workLoad; tokenBinPos++) {
-                // Iterator over the list of elements seen with this token
-                final int token = tokensKeySet[tokenBinPos];
-                final SparseMatrix<Integer>.MatrixColumnIterator tokenIter = tokenElementMatrix.getColumn(token);
-                while (tokenIter.hasNext()) {
-                    SparseMatrix.ElementValuePair<Integer> element = tokenIter.next();
-                    // Calculate the modulii of each element
-                    updateModulii(token, tokenIter);
-                    // Perform algorithm specific processing of each element
-                    processElementsSeenWithToken(element, token);
-                }
+    private void computeElements(final Integer[] tokensKeySet, final int tokenLowPos, final int workload) {
+        // For each token bin in this task's work load
+        for (int tokenBinPos = tokenLowPos; tokenBinPos < tokenLowPos + workload; tokenBinPos++) {
+            // Iterator over the list of elements seen with this token
+            final int token = tokensKeySet[tokenBinPos];
+            final SparseMatrix<Integer>.MatrixColumnIterator tokenIter = tokenElementMatrix.getColumn(token);
+            if (tokenIter.hasNext()) {
+                // Calculate the modulii of each element
+                updateModulii(token, tokenIter);
+            }
+            while (tokenIter.hasNext()) {
+                // Perform algorithm specific processing of each element
+                processElementsSeenWithToken(tokenIter.next(), token);
             }
         }
+    }
 
-        protected void updateModulii(final int token, final SparseMatrix<Integer>.MatrixColumnIterator tokenIter) {
-            // The modulus of a token is the total number of elements that were seen with it.
-            moduli.put(token, tokenIter.getSize());
-        }
+    protected void updateModulii(final int token, final SparseMatrix<Integer>.MatrixColumnIterator tokenIter) {
+        // The modulus of a token is the total number of elements that were seen with it.
+        moduli.put(token, tokenIter.getSize());
+    }
 
-        protected void processElementsSeenWithToken(final SparseMatrix.ElementValuePair<Integer> element, final int token) {
-            synchronized (elementTokenMatrix) {
-                // Record the number of times the element occured witht the token
-                if (weightingCalculator.isSignificantEntry(moduli.get(token))) {
-                    elementTokenMatrix.putCell(element.el, token, weightingCalculator.getWeight(element.val, moduli.get(token)));
-                }
-            }
+    protected void processElementsSeenWithToken(final SparseMatrix.ElementValuePair<Integer> element, final int token) {
+        // Record the number of times the element occured with the token. Each
+        // element is a column of the matrix, which can be written to safely
+        // from several tasks at once.
+        final int modulus = moduli.get(token);
+        if (weightingCalculator.isSignificantEntry(modulus)) {
+            elementTokenMatrix.putCell(element.el, token, weightingCalculator.getWeight(element.val, modulus));
         }
     }
 
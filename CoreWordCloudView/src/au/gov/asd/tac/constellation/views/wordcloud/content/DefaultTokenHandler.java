@@ -60,10 +60,7 @@ public class DefaultTokenHandler implements TokenHandler {
             tokenHashes.put(token, key);
         }
 
-        // Look up the current frequency related to the given hash and element, and increment it by one
-        synchronized (tokenElementMatrix) {
-            final int currentFreq = tokenElementMatrix.getCellPrimitive(key, element);
-            tokenElementMatrix.putCell(key, element, currentFreq + 1);
-        }
+        // Increment the frequency related to the given hash and element by one
+        tokenElementMatrix.addToCell(key, element, 1);
     }
 }
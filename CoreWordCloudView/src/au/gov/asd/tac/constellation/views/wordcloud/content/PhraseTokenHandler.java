@@ -55,12 +55,9 @@ public class PhraseTokenHandler implements TokenHandler {
             tokenHashes.put(token, key);
         }
 
-        // Look up the current frequency related to the given hash and element, and increment it by one
-        synchronized (tokenElementMatrix) {
-            final int currentFreq = tokenElementMatrix.getCellPrimitive(key, element);
-            tokenElementMatrix.putCell(key, element, currentFreq + 1);
-            ((TaggedSparseMatrix) tokenElementMatrix).tagColumn(key, storeSingleWords);
-        }
+        // Increment the frequency related to the given hash and element by one
+        tokenElementMatrix.addToCell(key, element, 1);
+        ((TaggedSparseMatrix) tokenElementMatrix).tagColumn(key, storeSingleWords);
         synchronized (constituentHashes) {
             if (!constituentHashes.containsKey(key)) {
                 final Set<Integer> hashes = new HashSet<>();
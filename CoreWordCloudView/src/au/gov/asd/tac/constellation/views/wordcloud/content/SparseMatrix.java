@@ -20,16 +20,30 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
-
-/*
+import org.eclipse.collections.api.map.primitive.MutableIntDoubleMap;
+import org.eclipse.collections.api.map.primitive.MutableIntIntMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntDoubleHashMap;
+import org.eclipse.collections.impl.map.mutable.primitive.IntIntHashMap;
+
+/**
+ * A sparse matrix of integer or float values, held by column.
+ * <p>
+ * Each column keeps its cells in primitive arrays of rows and values rather
+ * than as boxed map entries. Cells are appended to the arrays as they are
+ * written, and readers use a compressed copy of the column sorted by row which
+ * is built on the first read after a write. Columns are locked individually,
+ * so many threads can fill a matrix at once as long as they are mostly writing
+ * to different columns.
+ *
  * @author twilight_sparkle
  */
 public class SparseMatrix<N extends Number> {
 
-    private final ConcurrentNavigableMap<Integer, ConcurrentNavigableMap<Integer, N>> data;
+    private final ConcurrentNavigableMap<Integer, Column> data;
     private final N noEntryVal;
     private final ArithmeticHandler<N> calc;
 
@@ -51,28 +65,40 @@ public class SparseMatrix<N extends Number> {
     public ArithmeticHandler<N> getCalc() {
         return calc;
     }
-    
-    public ConcurrentNavigableMap<Integer, ConcurrentNavigableMap<Integer, N>> getData() {
-        return data;
+
+    private Column getOrCreateColumn(final int key) {
+        return data.computeIfAbsent(key, k -> new Column());
+    }
+
+    private CompressedColumn getCompressedColumn(final int key) {
+        final Column column = data.get(key);
+        return column == null ? CompressedColumn.EMPTY : column.compress();
     }
 
     public void putCell(final int i, final int j, final N val) {
-        ConcurrentNavigableMap<Integer, N> submap = data.get(i);
-        if (submap == null) {
-            submap = new ConcurrentSkipListMap<>();
-            data.put(i, submap);
-        }
-        submap.put(j, val);
+        getOrCreateColumn(i).put(j, val.doubleValue());
+    }
+
+    /**
+     * Add a value to the ij-th cell, treating an empty cell as holding the no
+     * entry value. The read and the write happen atomically, so this can be
+     * used to count occurrences from several threads at once.
+     *
+     * @param i the column
+     * @param j the row
+     * @param val the value to add
+     */
+    public void addToCell(final int i, final int j, final N val) {
+        getOrCreateColumn(i).add(j, val.doubleValue(), noEntryVal.doubleValue(), calc);
     }
 
     // NB: creates the i-th column if it doesn't exist while trying to get the ij-th cell
     public N getCell(final int i, final int j) {
-        ConcurrentNavigableMap<Integer, N> submap = data.get(i);
-        if (submap == null) {
-            submap = new ConcurrentSkipListMap<>();
-            data.put(i, submap);
+        final Column column = getOrCreateColumn(i);
+        synchronized (column) {
+            final int position = column.positionOf(j);
+            return position == -1 ? null : calc.valueOf(column.values[position]);
         }
-        return submap.get(j);
     }
 
     public N getCellPrimitive(final int i, final int j) {
@@ -81,10 +107,9 @@ public class SparseMatrix<N extends Number> {
     }
 
     public void clearCell(final int i, final int j) {
-        ConcurrentNavigableMap<Integer, N> submap = data.get(i);
-        submap.remove(j);
-        if (submap.isEmpty()) {
-            data.remove(i);
+        final Column column = data.get(i);
+        if (column != null && column.remove(j)) {
+            data.remove(i, column);
         }
     }
 
@@ -114,123 +139,90 @@ public class SparseMatrix<N extends Number> {
             return 0;
         }
 
-        final MatrixColumnIterator iter1 = getColumn(key1);
-        final MatrixColumnIterator iter2 = getColumn(key2);
-        N distance = calc.getZero();
-        N commonality = calc.getZero();
-        ElementValuePair<N> entry1 = iter1.next();
-        ElementValuePair<N> entry2 = iter2.next();
-        boolean entry1Finished = false;
-        boolean entry2Finished = false;
-
-        while (!entry1Finished || !entry2Finished) {
-            if (entry1.el == entry2.el) {
-                N componentDistance = calc.difference(entry1.val, entry2.val);
-                if (method != TAXICAB_DISTANCE) {
-                    componentDistance = calc.square(componentDistance);
-                }
-                distance = calc.add(distance, componentDistance);
-                commonality = calc.add(commonality, calc.min(entry1.val, entry2.val));
-                if (iter1.hasNext()) {
-                    entry1 = iter1.next();
-                } else {
-                    entry1Finished = true;
-                }
-                if (iter2.hasNext()) {
-                    entry2 = iter2.next();
-                } else {
-                    entry2Finished = true;
-                }
-            } else if (!entry2Finished && (entry1.el > entry2.el || entry1Finished)) {
-                N componentDistance = entry2.val;
-                if (method != TAXICAB_DISTANCE) {
-                    componentDistance = calc.square(componentDistance);
-                }
-                distance = calc.add(distance, componentDistance);
-                if (iter2.hasNext()) {
-                    entry2 = iter2.next();
-                } else {
-                    entry2Finished = true;
-                }
-            } else if (!entry1Finished && (entry1.el < entry2.el || entry2Finished)) {
-                N componentDistance = entry1.val;
-                if (method != TAXICAB_DISTANCE) {
-                    componentDistance = calc.square(componentDistance);
-                }
-                distance = calc.add(distance, componentDistance);
-                if (iter1.hasNext()) {
-                    entry1 = iter1.next();
-                } else {
-                    entry1Finished = true;
-                }
-            }
-        }
-        if (method != TAXICAB_DISTANCE) {
-            distance = calc.sqrt(distance);
-        }
-
-        if (method == EUCLIDIAN_DISTANCE_OVER_COMMONALITY) {
-            distance = calc.scale(distance, 1 + commonality.floatValue());
-        }
-        return distance.floatValue();
+        final CompressedColumn column1 = getCompressedColumn(key1);
+        final CompressedColumn column2 = getCompressedColumn(key2);
+        return calc.distance(column1.rows, column1.values, column2.rows, column2.values, method);
     }
 
     public void calculateCentreOfColumns(final Integer[] keys, final int keyToPlaceCentre) {
-        final ConcurrentNavigableMap<Integer, N> centreMap = new ConcurrentSkipListMap<>();
+        final MutableIntDoubleMap centre = new IntDoubleHashMap();
         final int numberOfColumns = keys.length;
         for (final Integer key : keys) {
-            final MatrixColumnIterator iter = getColumn(key);
-            while (iter.hasNext()) {
-                final ElementValuePair<N> entry = iter.next();
-                if (centreMap.get(entry.el) == null) {
-                    centreMap.put(entry.el, calc.scale(entry.val, numberOfColumns));
-                } else {
-                    centreMap.put(entry.el, calc.add(calc.scale(entry.val, numberOfColumns), centreMap.get(entry.el)));
-                }
+            final CompressedColumn column = getCompressedColumn(key);
+            for (int k = 0; k < column.rows.length; k++) {
+                final double scaled = calc.scalePrimitive(column.values[k], numberOfColumns);
+                final int row = column.rows[k];
+                centre.put(row, centre.containsKey(row) ? calc.addPrimitive(scaled, centre.get(row)) : scaled);
             }
         }
-        data.put(keyToPlaceCentre, centreMap);
+        data.put(keyToPlaceCentre, new Column(centre));
     }
 
     public MatrixColumnIterator getColumn(final int key) {
-        return new MatrixColumnIterator(data.get(key));
+        return new MatrixColumnIterator(getCompressedColumn(key), 0);
     }
 
+    /**
+     * Get a copy of a column as a map from row to value.
+     *
+     * @param key the column
+     * @return a copy of the column, or null if there is no such column
+     */
     public ConcurrentNavigableMap<Integer, N> getColumnMap(final int key) {
-        return data.get(key);
+        if (!hasColumn(key)) {
+            return null;
+        }
+        final CompressedColumn column = getCompressedColumn(key);
+        final ConcurrentNavigableMap<Integer, N> columnMap = new ConcurrentSkipListMap<>();
+        for (int k = 0; k < column.rows.length; k++) {
+            columnMap.put(column.rows[k], calc.valueOf(column.values[k]));
+        }
+        return columnMap;
     }
 
     public boolean hasColumn(final int key) {
-        return data.get(key) != null;
+        return data.containsKey(key);
     }
 
     public N[] getColumnAsExpandedArray(final int key, final int fullColumnSize) {
         final N[] column = calc.makeArray(fullColumnSize);
-        data.get(key).values().toArray(column);
-        Arrays.fill(column, getColumnSize(key), column.length, calc.getZero());
+        final CompressedColumn compressed = getCompressedColumn(key);
+        for (int k = 0; k < compressed.values.length; k++) {
+            column[k] = calc.valueOf(compressed.values[k]);
+        }
+        Arrays.fill(column, compressed.values.length, column.length, calc.getZero());
         return column;
     }
 
     public N[] getColumnAsArray(final int key) {
-        final N[] column = calc.makeArray(getColumnSize(key));
-        data.get(key).values().toArray(column);
+        final CompressedColumn compressed = getCompressedColumn(key);
+        final N[] column = calc.makeArray(compressed.values.length);
+        for (int k = 0; k < compressed.values.length; k++) {
+            column[k] = calc.valueOf(compressed.values[k]);
+        }
         return column;
     }
 
-    public N getColumnSum(final int key) {
-        N sum = noEntryVal;
-        final MatrixColumnIterator iter = getColumn(key);
-        while (iter.hasNext()) {
-            sum = calc.add(sum, iter.next().val);
+    private double getColumnSumPrimitive(final int key) {
+        final CompressedColumn column = getCompressedColumn(key);
+        double sum = noEntryVal.doubleValue();
+        for (final double value : column.values) {
+            sum = calc.addPrimitive(sum, value);
         }
         return sum;
     }
 
+    public N getColumnSum(final int key) {
+        return calc.valueOf(getColumnSumPrimitive(key));
+    }
+
     public Set<Integer> getColumnElementUnion(final Iterable<Integer> keySet) {
         final Set<Integer> elements = new HashSet<>();
         for (final int key : keySet) {
-            if (data.containsKey(key)) {
-                elements.addAll(data.get(key).keySet());
+            if (hasColumn(key)) {
+                for (final int row : getCompressedColumn(key).rows) {
+                    elements.add(row);
+                }
             }
         }
         return elements;
@@ -239,16 +231,13 @@ public class SparseMatrix<N extends Number> {
     public Set<Integer> getColumnElementIntersection(final Iterable<Integer> keySet) {
         final Set<Integer> elements = new HashSet<>();
         for (final int key : keySet) {
-            if (elements.isEmpty() && data.containsKey(key)) {
-                elements.addAll(data.get(key).keySet());
-            } else {
-                final Iterator<Integer> iter = elements.iterator();
-                while (iter.hasNext()) {
-                    int element = iter.next();
-                    if (!data.containsKey(key) || !data.get(key).containsKey(element)) {
-                        iter.remove();
-                    }
+            final CompressedColumn column = getCompressedColumn(key);
+            if (elements.isEmpty() && hasColumn(key)) {
+                for (final int row : column.rows) {
+                    elements.add(row);
                 }
+            } else {
+                elements.removeIf(element -> !column.contains(element));
             }
             if (elements.isEmpty()) {
                 break;
@@ -258,17 +247,24 @@ public class SparseMatrix<N extends Number> {
     }
 
     public N[] getConstituentExtendedColumnAsArray(final int key, final Iterable<Integer> elements) {
-        if (data.get(key) == null) {
+        if (!hasColumn(key)) {
             return null;
         }
-        final Map<Integer, N> subcolumn = new ConcurrentSkipListMap<>(data.get(key));
+        final CompressedColumn column = getCompressedColumn(key);
+        final MutableIntDoubleMap subcolumn = new IntDoubleHashMap(column.rows.length);
+        for (int k = 0; k < column.rows.length; k++) {
+            subcolumn.put(column.rows[k], column.values[k]);
+        }
         for (final int element : elements) {
-            if (!subcolumn.keySet().contains(element)) {
-                subcolumn.put(element, calc.getZero());
+            if (!subcolumn.containsKey(element)) {
+                subcolumn.put(element, calc.getZero().doubleValue());
             }
         }
-        final N[] subcolumnAsArray = calc.makeArray(subcolumn.size());
-        subcolumn.values().toArray(subcolumnAsArray);
+        final int[] rows = subcolumn.keySet().toSortedArray();
+        final N[] subcolumnAsArray = calc.makeArray(rows.length);
+        for (int k = 0; k < rows.length; k++) {
+            subcolumnAsArray[k] = calc.valueOf(subcolumn.get(rows[k]));
+        }
         return subcolumnAsArray;
     }
 
@@ -277,25 +273,22 @@ public class SparseMatrix<N extends Number> {
     }
 
     public N getLargestColumnSum(final Set<Integer> keys) {
-        N largestColumnSum = noEntryVal;
+        double largestColumnSum = noEntryVal.doubleValue();
         for (final int i : keys) {
-            final N colSum = getColumnSum(i);
-            largestColumnSum = calc.max(colSum, largestColumnSum);
+            largestColumnSum = calc.maxPrimitive(getColumnSumPrimitive(i), largestColumnSum);
         }
-        return largestColumnSum;
+        return calc.valueOf(largestColumnSum);
     }
 
     public int getColumnSize(final int key) {
-        return data.get(key).size();
+        final Column column = data.get(key);
+        return column == null ? 0 : column.size();
     }
 
     public int getLargestColumnSize() {
         int largestColumnSize = 0;
-        for (final int i : getColumnKeys()) {
-            int colSize = getColumnSize(i);
-            if (colSize > largestColumnSize) {
-                largestColumnSize = colSize;
-            }
+        for (final Column column : data.values()) {
+            largestColumnSize = Math.max(largestColumnSize, column.size());
         }
         return largestColumnSize;
     }
@@ -310,14 +303,13 @@ public class SparseMatrix<N extends Number> {
      */
     public Map<Integer, Set<Integer>> constructTokenSets() {
         final Map<Integer, Set<Integer>> tokenSets = new HashMap<>();
-        final Integer[] tokens = getColumnKeys();
-        for (final Integer token : tokens) {
-            final Set<Integer> tokenSet = new HashSet<>();
-            final SparseMatrix<N>.MatrixColumnIterator iter = getColumn(token);
-            while (iter.hasNext()) {
-                tokenSet.add(iter.next().el);
+        for (final Map.Entry<Integer, Column> entry : data.entrySet()) {
+            final int[] rows = entry.getValue().compress().rows;
+            final Set<Integer> tokenSet = new HashSet<>(rows.length * 2);
+            for (final int row : rows) {
+                tokenSet.add(row);
             }
-            tokenSets.put(token, tokenSet);
+            tokenSets.put(entry.getKey(), tokenSet);
         }
         return tokenSets;
     }
@@ -332,6 +324,153 @@ public class SparseMatrix<N extends Number> {
             this.val = val;
         }
     }
+
+    /**
+     * A column of the matrix as it is being written. Cells are appended to the
+     * arrays in the order they are written, with a map from row to position so
+     * a cell can be found again. Removing a cell moves the last cell into its
+     * place.
+     */
+    private static final class Column {
+
+        private static final int INITIAL_CAPACITY = 4;
+
+        private int[] rows;
+        private double[] values;
+        private int size;
+        private final MutableIntIntMap positions;
+        private volatile CompressedColumn compressed;
+
+        private Column() {
+            rows = new int[INITIAL_CAPACITY];
+            values = new double[INITIAL_CAPACITY];
+            positions = new IntIntHashMap();
+        }
+
+        private Column(final MutableIntDoubleMap cells) {
+            rows = cells.keySet().toSortedArray();
+            values = new double[rows.length];
+            size = rows.length;
+            positions = new IntIntHashMap(size);
+            for (int k = 0; k < size; k++) {
+                values[k] = cells.get(rows[k]);
+                positions.put(rows[k], k);
+            }
+        }
+
+        private synchronized int size() {
+            return size;
+        }
+
+        private int positionOf(final int row) {
+            return positions.getIfAbsent(row, -1);
+        }
+
+        private synchronized void put(final int row, final double value) {
+            final int position = positionOf(row);
+            if (position == -1) {
+                append(row, value);
+            } else {
+                values[position] = value;
+            }
+            compressed = null;
+        }
+
+        private synchronized void add(final int row, final double value, final double noEntryValue, final ArithmeticHandler<?> calc) {
+            final int position = positionOf(row);
+            if (position == -1) {
+                append(row, calc.addPrimitive(noEntryValue, value));
+            } else {
+                values[position] = calc.addPrimitive(values[position], value);
+            }
+            compressed = null;
+        }
+
+        private void append(final int row, final double value) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            rows[size] = row;
+            values[size] = value;
+            positions.put(row, size++);
+        }
+
+        /**
+         * Remove a cell from the column.
+         *
+         * @return true if the column is now empty.
+         */
+        private synchronized boolean remove(final int row) {
+            final int position = positionOf(row);
+            if (position != -1) {
+                positions.remove(row);
+                size--;
+                if (position != size) {
+                    rows[position] = rows[size];
+                    values[position] = values[size];
+                    positions.put(rows[position], position);
+                }
+                compressed = null;
+            }
+            return size == 0;
+        }
+
+        private CompressedColumn compress() {
+            CompressedColumn result = compressed;
+            if (result == null) {
+                synchronized (this) {
+                    result = compressed;
+                    if (result == null) {
+                        result = new CompressedColumn(rows, values, size);
+                        compressed = result;
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * An immutable copy of a column with its cells sorted by row.
+     */
+    private static final class CompressedColumn {
+
+        private static final CompressedColumn EMPTY = new CompressedColumn(new int[0], new double[0], 0);
+
+        private final int[] rows;
+        private final double[] values;
+
+        private CompressedColumn(final int[] rows, final double[] values, final int size) {
+            boolean sorted = true;
+            for (int k = 1; k < size && sorted; k++) {
+                sorted = rows[k - 1] < rows[k];
+            }
+
+            if (sorted) {
+                this.rows = Arrays.copyOf(rows, size);
+                this.values = Arrays.copyOf(values, size);
+            } else {
+                // Sort the positions by row, packing the row into the high bits so a primitive sort can be used
+                final long[] order = new long[size];
+                for (int k = 0; k < size; k++) {
+                    order[k] = ((long) rows[k] << 32) | k;
+                }
+                Arrays.sort(order);
+                this.rows = new int[size];
+                this.values = new double[size];
+                for (int k = 0; k < size; k++) {
+                    final int position = (int) order[k];
+                    this.rows[k] = rows[position];
+                    this.values[k] = values[position];
+                }
+            }
+        }
+
+        private boolean contains(final int row) {
+            return Arrays.binarySearch(rows, row) >= 0;
+        }
+    }
     
     
     protected abstract static class ArithmeticHandler<N extends Number> {
@@ -353,8 +492,28 @@ public class SparseMatrix<N extends Number> {
         public abstract N scale(final N val, final float scale);
 
         public abstract N[] makeArray(final int size);
+
+        /**
+         * Convert a value stored in the matrix back to this handler's type.
+         */
+        public abstract N valueOf(final double val);
+
+        // The following mirror the boxed methods above, but work on values as they are stored in the matrix.
+        public abstract double maxPrimitive(final double n1, final double n2);
+
+        public abstract double addPrimitive(final double n1, final double n2);
+
+        public abstract double scalePrimitive(final double val, final float scale);
+
+        /**
+         * Calculate the distance between two columns, given as arrays of rows
+         * in ascending order and their values. The columns are merged in a
+         * single pass, with the arithmetic done in this handler's type so the
+         * result is the same as it would be with the boxed methods.
+         */
+        public abstract float distance(final int[] rows1, final double[] values1, final int[] rows2, final double[] values2, final int method);
     }
-    
+
 
     protected static class IntegerArithmeticHandler extends ArithmeticHandler<Integer> {
 
@@ -404,6 +563,60 @@ public class SparseMatrix<N extends Number> {
         public Integer[] makeArray(final int size) {
             return new Integer[size];
         }
+
+        @Override
+        public Integer valueOf(final double val) {
+            return (int) val;
+        }
+
+        @Override
+        public double maxPrimitive(final double n1, final double n2) {
+            return Math.max((int) n1, (int) n2);
+        }
+
+        @Override
+        public double addPrimitive(final double n1, final double n2) {
+            return (int) n1 + (int) n2;
+        }
+
+        @Override
+        public double scalePrimitive(final double val, final float scale) {
+            return Math.round((int) val / scale);
+        }
+
+        @Override
+        public float distance(final int[] rows1, final double[] values1, final int[] rows2, final double[] values2, final int method) {
+            final boolean squared = method != TAXICAB_DISTANCE;
+            int distance = 0;
+            int commonality = 0;
+            int p1 = 0;
+            int p2 = 0;
+            while (p1 < rows1.length || p2 < rows2.length) {
+                int component;
+                if (p1 < rows1.length && p2 < rows2.length && rows1[p1] == rows2[p2]) {
+                    final int val1 = (int) values1[p1++];
+                    final int val2 = (int) values2[p2++];
+                    component = Math.abs(val1 - val2);
+                    commonality += Math.min(val1, val2);
+                } else if (p1 == rows1.length || (p2 < rows2.length && rows1[p1] > rows2[p2])) {
+                    component = (int) values2[p2++];
+                } else {
+                    component = (int) values1[p1++];
+                }
+                if (squared) {
+                    component = (int) Math.round(Math.pow(component, 2.0));
+                }
+                distance += component;
+            }
+            if (squared) {
+                distance = (int) Math.round(Math.sqrt(distance));
+            }
+
+            if (method == EUCLIDIAN_DISTANCE_OVER_COMMONALITY) {
+                distance = Math.round(distance / (1 + (float) commonality));
+            }
+            return distance;
+        }
     }
     
 
@@ -455,42 +668,96 @@ public class SparseMatrix<N extends Number> {
         public Float[] makeArray(final int size) {
             return new Float[size];
         }
+
+        @Override
+        public Float valueOf(final double val) {
+            return (float) val;
+        }
+
+        @Override
+        public double maxPrimitive(final double n1, final double n2) {
+            return Math.max((float) n1, (float) n2);
+        }
+
+        @Override
+        public double addPrimitive(final double n1, final double n2) {
+            return (float) n1 + (float) n2;
+        }
+
+        @Override
+        public double scalePrimitive(final double val, final float scale) {
+            return (float) val / scale;
+        }
+
+        @Override
+        public float distance(final int[] rows1, final double[] values1, final int[] rows2, final double[] values2, final int method) {
+            final boolean squared = method != TAXICAB_DISTANCE;
+            float distance = 0;
+            float commonality = 0;
+            int p1 = 0;
+            int p2 = 0;
+            while (p1 < rows1.length || p2 < rows2.length) {
+                float component;
+                if (p1 < rows1.length && p2 < rows2.length && rows1[p1] == rows2[p2]) {
+                    final float val1 = (float) values1[p1++];
+                    final float val2 = (float) values2[p2++];
+                    component = Math.abs(val1 - val2);
+                    commonality += Math.min(val1, val2);
+                } else if (p1 == rows1.length || (p2 < rows2.length && rows1[p1] > rows2[p2])) {
+                    component = (float) values2[p2++];
+                } else {
+                    component = (float) values1[p1++];
+                }
+                if (squared) {
+                    component = (float) Math.round(Math.pow(component, 2.0));
+                }
+                distance += component;
+            }
+            if (squared) {
+                distance = (float) Math.round(Math.sqrt(distance));
+            }
+
+            if (method == EUCLIDIAN_DISTANCE_OVER_COMMONALITY) {
+                distance /= 1 + commonality;
+            }
+            return distance;
+        }
     }
     
 
     public class MatrixColumnIterator implements Iterator<ElementValuePair<N>> {
 
-        private final Iterator<Integer> keyIter;
-        private final Iterator<N> valIter;
-        private int currentKey;
-        private final int size;
-        private final ConcurrentNavigableMap<Integer, N> submap;
+        private final CompressedColumn column;
+        private final int start;
+        private int position;
 
-        protected MatrixColumnIterator(final ConcurrentNavigableMap<Integer, N> submap) {
-            this.submap = submap;
-            this.size = submap.size();
-            keyIter = submap.keySet().iterator();
-            valIter = submap.values().iterator();
+        private MatrixColumnIterator(final CompressedColumn column, final int start) {
+            this.column = column;
+            this.start = start;
+            this.position = start;
         }
 
         public MatrixColumnIterator tailIterator() {
-            return new MatrixColumnIterator(submap.tailMap(currentKey, false));
+            return new MatrixColumnIterator(column, position);
         }
 
         public int getSize() {
-            return size;
+            return column.rows.length - start;
         }
 
         @Override
         public boolean hasNext() {
-            return keyIter.hasNext();
+            return position < column.rows.length;
         }
 
         @Override
         public ElementValuePair<N> next() {
-            currentKey = keyIter.next();
-            final N val = valIter.next();
-            return new ElementValuePair<>(currentKey, val);
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final ElementValuePair<N> pair = new ElementValuePair<>(column.rows[position], calc.valueOf(column.values[position]));
+            position++;
+            return pair;
         }
 
         @Override
@@ -47,16 +47,16 @@ public class TaggedSparseMatrix<N extends Number> extends SparseMatrix<N> {
         };
     }
 
-    public void tagColumn(final int key, final boolean tag) {
+    public synchronized void tagColumn(final int key, final boolean tag) {
         // You can't tag a column which doesn't exist, or which is already tagged
-        if (!getData().containsKey(key) || tags.containsKey(key)) {
+        if (!hasColumn(key) || tags.containsKey(key)) {
             return;
         }
         tags.put(key, tag);
         taggedColumns.get(tag).add(key);
     }
 
-    public Set<Integer> getColumnsWithTag(final boolean tag) {
+    public synchronized Set<Integer> getColumnsWithTag(final boolean tag) {
         return new HashSet<>(taggedColumns.get(tag));
     }
 
@@ -81,7 +81,7 @@ public class TaggedSparseMatrix<N extends Number> extends SparseMatrix<N> {
     @Override
     public void clearCell(final int i, final int j) {
         super.clearCell(i, j);
-        if (!getData().containsKey(i)) {
+        if (!hasColumn(i)) {
             tags.remove(i);
         }
     }
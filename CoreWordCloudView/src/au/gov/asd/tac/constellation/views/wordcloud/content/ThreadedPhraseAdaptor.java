@@ -17,8 +17,8 @@ package au.gov.asd.tac.constellation.views.wordcloud.content;
 
 /**
  * Adaptor pattern to connect an arbitrary String data source whose data can be partitioned into groups for threaded processing.
- * Each thread will have its own adaptor; the class implementing using these adaptors should have a method which takes an initial adaptor and then repeatedly calls createNextAdaptor(), 
- * attaching each to the relevant runnable and thread. The data is accessed via called getNextPhrase in a loop, either limited by getWorkload(), or conditional on hasNextPhrase().
+ * Each task created by a {@link WorkSplitter} will have its own adaptor covering the range of elements given to that task.
+ * The data is accessed via called getNextPhrase in a loop, either limited by getWorkload(), or conditional on hasNextPhrase().
  *
  * @author twilight_sparkle
  */
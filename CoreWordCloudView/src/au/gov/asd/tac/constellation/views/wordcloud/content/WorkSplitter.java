@@ -0,0 +1,132 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.views.wordcloud.content;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits work over a range of elements into tasks in the common fork-join
+ * pool. The range is halved recursively until each task has a small enough
+ * share of the elements, so idle worker threads can steal the remaining halves
+ * of busier ones rather than waiting for a fixed allocation to finish.
+ *
+ * @author twilight_sparkle
+ */
+public class WorkSplitter {
+
+    // Aim for a few tasks per worker thread so that uneven work can be balanced by stealing.
+    private static final int TASKS_PER_THREAD = 4;
+
+    private final int numberOfElements;
+    private final int minElementsPerTask;
+    private final AdaptorFactory adaptorFactory;
+
+    /**
+     * Creates a new work splitter.
+     *
+     * @param numberOfElements the number of elements to process
+     * @param minElementsPerTask the fewest elements worth creating a task for
+     * @param adaptorFactory a factory for adaptors to the data source, which
+     * may be null if the work does not read phrases
+     */
+    public WorkSplitter(final int numberOfElements, final int minElementsPerTask, final AdaptorFactory adaptorFactory) {
+        this.numberOfElements = numberOfElements;
+        this.minElementsPerTask = Math.max(1, minElementsPerTask);
+        this.adaptorFactory = adaptorFactory;
+    }
+
+    public int getNumberOfElements() {
+        return numberOfElements;
+    }
+
+    /**
+     * The largest number of elements a single task will be given.
+     */
+    int getElementsPerTask() {
+        final int tasks = ForkJoinPool.getCommonPoolParallelism() * TASKS_PER_THREAD;
+        return Math.max(minElementsPerTask, (int) Math.ceil((double) numberOfElements / tasks));
+    }
+
+    /**
+     * Gets an adaptor to the data source for a range of elements.
+     *
+     * @param lowerPos the position of the first element
+     * @param workload the number of elements
+     * @return an adaptor covering the given elements
+     */
+    public ThreadedPhraseAdaptor getAdaptor(final int lowerPos, final int workload) {
+        return adaptorFactory.getAdaptor(lowerPos, workload);
+    }
+
+    /**
+     * Creates a work splitter over a different number of elements, using the
+     * same settings and data source as this one.
+     *
+     * @param numberOfElements the number of elements to process
+     * @return a new work splitter
+     */
+    public WorkSplitter resize(final int numberOfElements) {
+        return new WorkSplitter(numberOfElements, minElementsPerTask, adaptorFactory);
+    }
+
+    /**
+     * Processes every element, returning once all of the tasks have finished.
+     * Any exception thrown while processing a range is rethrown here.
+     *
+     * @param processor the work to do on each range of elements
+     */
+    public void invoke(final RangeProcessor processor) {
+        if (numberOfElements > 0) {
+            ForkJoinPool.commonPool().invoke(new RangeTask(processor, 0, numberOfElements, getElementsPerTask()));
+        }
+    }
+
+    /**
+     * The work done on a contiguous range of elements.
+     */
+    @FunctionalInterface
+    public interface RangeProcessor {
+
+        public void process(final int lowerPos, final int workload);
+    }
+
+    private static class RangeTask extends RecursiveAction {
+
+        private final transient RangeProcessor processor;
+        private final int lowerPos;
+        private final int workload;
+        private final int elementsPerTask;
+
+        private RangeTask(final RangeProcessor processor, final int lowerPos, final int workload, final int elementsPerTask) {
+            this.processor = processor;
+            this.lowerPos = lowerPos;
+            this.workload = workload;
+            this.elementsPerTask = elementsPerTask;
+        }
+
+        @Override
+        protected void compute() {
+            if (workload <= elementsPerTask) {
+                processor.process(lowerPos, workload);
+            } else {
+                final int half = workload / 2;
+                invokeAll(new RangeTask(processor, lowerPos, half, elementsPerTask),
+                        new RangeTask(processor, lowerPos + half, workload - half, elementsPerTask));
+            }
+        }
+    }
+}
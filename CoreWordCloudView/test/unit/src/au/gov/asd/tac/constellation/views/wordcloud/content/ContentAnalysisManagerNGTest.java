@@ -67,11 +67,11 @@ public class ContentAnalysisManagerNGTest {
     }
 
     /**
-     * Test of getStringListAllocator method, of class ContentAnalysisManager.
+     * Test of getStringListWorkSplitter method, of class ContentAnalysisManager.
      */
     @Test
-    public void testGetStringListAllocator() {
-        System.out.println("getStringListAllocator");
+    public void testGetStringListWorkSplitter() {
+        System.out.println("getStringListWorkSplitter");
         final List<String> list = new ArrayList<>();
         list.add("vertex1");
         list.add("vertex2");
@@ -81,8 +81,9 @@ public class ContentAnalysisManagerNGTest {
         when(rg.getStringValue(Mockito.anyInt(), Mockito.anyInt())).thenReturn("test");
         
         final ContentAnalysisManager instance = new ContentAnalysisManager(graph, performOnElements, elementsOfInterest, graphElementCapacity, elementType, performOnAttributeID);
-        final ThreadAllocator result = instance.getStringListAllocator(list);
-        final ThreadedPhraseAdaptor adaptor = result.nextAdaptor();
+        final WorkSplitter result = instance.getStringListWorkSplitter(list);
+        assertEquals(result.getNumberOfElements(), 3);
+        final ThreadedPhraseAdaptor adaptor = result.getAdaptor(0, result.getNumberOfElements());
         
         assertEquals(adaptor.getNextPhrase(), "vertex1");
         assertEquals(adaptor.hasNextPhrase(), true);
@@ -91,18 +92,19 @@ public class ContentAnalysisManagerNGTest {
     }
 
     /**
-     * Test of getGraphElementThreadAllocator method, of class ContentAnalysisManager.
+     * Test of getGraphElementWorkSplitter method, of class ContentAnalysisManager.
      */
     @Test
-    public void testGetGraphElementThreadAllocator() {
-        System.out.println("getGraphElementThreadAllocator");
+    public void testGetGraphElementWorkSplitter() {
+        System.out.println("getGraphElementWorkSplitter");
         final ReadableGraph rg = mock(ReadableGraph.class);
         when(graph.getReadableGraph()).thenReturn(rg);
         when(rg.getStringValue(Mockito.anyInt(), Mockito.anyInt())).thenReturn("test");
         
         final ContentAnalysisManager instance = new ContentAnalysisManager(graph, performOnElements, elementsOfInterest, graphElementCapacity, elementType, performOnAttributeID);
-        final ThreadAllocator result = instance.getGraphElementThreadAllocator();
-        final ThreadedPhraseAdaptor adaptor = result.nextAdaptor();
+        final WorkSplitter result = instance.getGraphElementWorkSplitter();
+        assertEquals(result.getNumberOfElements(), 5);
+        final ThreadedPhraseAdaptor adaptor = result.getAdaptor(0, result.getNumberOfElements());
         adaptor.connect();
         
         assertEquals(adaptor.getNextPhrase(), "test");
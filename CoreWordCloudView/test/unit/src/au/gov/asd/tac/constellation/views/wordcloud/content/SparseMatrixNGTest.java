@@ -20,9 +20,13 @@ import au.gov.asd.tac.constellation.views.wordcloud.content.SparseMatrix.FloatAr
 import au.gov.asd.tac.constellation.views.wordcloud.content.SparseMatrix.IntegerArithmeticHandler;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.stream.IntStream;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 import org.testng.annotations.AfterClass;
@@ -130,7 +134,8 @@ public class SparseMatrixNGTest {
         final SparseMatrix<Integer> instance = (SparseMatrix<Integer>) SparseMatrix.constructMatrix(val);
         instance.putCell(i, j, val);
         instance.clearCell(i, j);
-        assertNull(instance.getData().get(i));
+        assertFalse(instance.hasColumn(i));
+        assertNull(instance.getColumnMap(i));
     }
 
     /**
@@ -226,8 +231,10 @@ public class SparseMatrixNGTest {
         instance.putCell(2, 4, 6);
         instance.putCell(3, 8, 9);
         instance.calculateCentreOfColumns(keys, keyToPlaceCentre);
-        final ConcurrentNavigableMap<Integer, Integer> result = instance.getData().get(keyToPlaceCentre);
+        final ConcurrentNavigableMap<Integer, Integer> result = instance.getColumnMap(keyToPlaceCentre);
         assertEquals(result.size(), 4);
+        assertEquals(result.get(2), (Integer) 1);
+        assertEquals(result.get(8), (Integer) 2);
     }
 
     /**
@@ -433,6 +440,105 @@ public class SparseMatrixNGTest {
         assertEquals(result.size(), expResult);
     }
     
+    /**
+     * Test of addToCell method, of class SparseMatrix.
+     */
+    @Test
+    public void testAddToCell() {
+        System.out.println("addToCell");
+        
+        @SuppressWarnings("unchecked") // parsing integer will return integer matrix
+        final SparseMatrix<Integer> instance = (SparseMatrix<Integer>) SparseMatrix.constructMatrix(0);
+        
+        // Count every element once per column, in descending order and from several threads at once
+        IntStream.range(0, 1000).parallel().forEach(n -> instance.addToCell(n % 3, 999 - (n / 3), 1));
+        instance.addToCell(0, 999, 1);
+        
+        assertEquals(instance.getNumColumns(), 3);
+        assertEquals(instance.getColumnSize(0), 334);
+        assertEquals(instance.getColumnSize(2), 333);
+        assertEquals(instance.getCell(0, 999), (Integer) 2);
+        assertEquals(instance.getCell(1, 999), (Integer) 1);
+        assertEquals(instance.getColumnSum(1), (Integer) 333);
+        
+        // Columns are always read in ascending order of row
+        final SparseMatrix<Integer>.MatrixColumnIterator iter = instance.getColumn(0);
+        int lastRow = -1;
+        while (iter.hasNext()) {
+            final int row = iter.next().el;
+            assertTrue(row > lastRow);
+            lastRow = row;
+        }
+    }
+
+    /**
+     * Test that getDistanceBetweenColumns gives the same result as the
+     * arithmetic handlers would for each distance method.
+     */
+    @Test
+    public void testGetDistanceBetweenColumnsMatchesHandler() {
+        System.out.println("getDistanceBetweenColumnsMatchesHandler");
+        
+        @SuppressWarnings("unchecked") // parsing integer will return integer matrix
+        final SparseMatrix<Integer> integerMatrix = (SparseMatrix<Integer>) SparseMatrix.constructMatrix(0);
+        @SuppressWarnings("unchecked") // parsing float will return float matrix
+        final SparseMatrix<Float> floatMatrix = (SparseMatrix<Float>) SparseMatrix.constructMatrix(0F);
+        final Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            final int column = random.nextInt(4);
+            final int row = random.nextInt(50);
+            integerMatrix.putCell(column, row, random.nextInt(10));
+            floatMatrix.putCell(column, row, random.nextFloat() * 10);
+        }
+        
+        final int[] methods = {SparseMatrix.TAXICAB_DISTANCE, SparseMatrix.EUCLIDIAN_DISTANCE, SparseMatrix.EUCLIDIAN_DISTANCE_OVER_COMMONALITY};
+        for (final int method : methods) {
+            for (int key1 = 0; key1 < 4; key1++) {
+                for (int key2 = 0; key2 < 4; key2++) {
+                    final float integerExpected = key1 == key2 ? 0 : handlerDistance(integerMatrix, key1, key2, method);
+                    assertEquals(integerMatrix.getDistanceBetweenColumns(key1, key2, method), integerExpected);
+                    final float floatExpected = key1 == key2 ? 0 : handlerDistance(floatMatrix, key1, key2, method);
+                    assertEquals(floatMatrix.getDistanceBetweenColumns(key1, key2, method), floatExpected);
+                }
+            }
+        }
+    }
+
+    /**
+     * Calculates the distance between two columns one cell at a time using
+     * the boxed arithmetic of the matrix's handler.
+     */
+    private static <N extends Number> float handlerDistance(final SparseMatrix<N> matrix, final int key1, final int key2, final int method) {
+        final ArithmeticHandler<N> calc = matrix.getCalc();
+        final Map<Integer, N> column1 = matrix.getColumnMap(key1);
+        final Map<Integer, N> column2 = matrix.getColumnMap(key2);
+        final Set<Integer> rows = new TreeSet<>(column1.keySet());
+        rows.addAll(column2.keySet());
+        
+        N distance = calc.getZero();
+        N commonality = calc.getZero();
+        for (final int row : rows) {
+            N component;
+            if (column1.containsKey(row) && column2.containsKey(row)) {
+                component = calc.difference(column1.get(row), column2.get(row));
+                commonality = calc.add(commonality, calc.min(column1.get(row), column2.get(row)));
+            } else {
+                component = column1.containsKey(row) ? column1.get(row) : column2.get(row);
+            }
+            if (method != SparseMatrix.TAXICAB_DISTANCE) {
+                component = calc.square(component);
+            }
+            distance = calc.add(distance, component);
+        }
+        if (method != SparseMatrix.TAXICAB_DISTANCE) {
+            distance = calc.sqrt(distance);
+        }
+        if (method == SparseMatrix.EUCLIDIAN_DISTANCE_OVER_COMMONALITY) {
+            distance = calc.scale(distance, 1 + commonality.floatValue());
+        }
+        return distance.floatValue();
+    }
+    
     /**
      * Tests for IntegerArithmeticHandler
      */
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2010-2025 Australian Signals Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package au.gov.asd.tac.constellation.views.wordcloud.content;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import static org.mockito.Mockito.mock;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for WorkSplitter
+ *
+ * @author twilight_sparkle
+ */
+public class WorkSplitterNGTest {
+
+    /**
+     * Test of invoke method, of class WorkSplitter.
+     */
+    @Test
+    public void testInvoke() {
+        System.out.println("invoke");
+
+        final int numberOfElements = 10_000;
+        final WorkSplitter instance = new WorkSplitter(numberOfElements, 50, null);
+        final AtomicIntegerArray processed = new AtomicIntegerArray(numberOfElements);
+        final AtomicInteger largestWorkload = new AtomicInteger();
+        instance.invoke((lowerPos, workload) -> {
+            largestWorkload.accumulateAndGet(workload, Math::max);
+            for (int i = lowerPos; i < lowerPos + workload; i++) {
+                processed.incrementAndGet(i);
+            }
+        });
+
+        // Every element is processed exactly once, in tasks no larger than the split size
+        for (int i = 0; i < numberOfElements; i++) {
+            assertEquals(processed.get(i), 1);
+        }
+        assertTrue(largestWorkload.get() <= instance.getElementsPerTask());
+        assertTrue(instance.getElementsPerTask() >= 50);
+    }
+
+    /**
+     * Test of invoke method, of class WorkSplitter, with no elements.
+     */
+    @Test
+    public void testInvokeNoElements() {
+        System.out.println("invokeNoElements");
+
+        final AtomicInteger tasks = new AtomicInteger();
+        new WorkSplitter(0, 50, null).invoke((lowerPos, workload) -> tasks.incrementAndGet());
+        assertEquals(tasks.get(), 0);
+    }
+
+    /**
+     * Test of invoke method, of class WorkSplitter, where an exception is
+     * thrown while processing.
+     */
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void testInvokeRethrows() {
+        System.out.println("invokeRethrows");
+
+        new WorkSplitter(1000, 1, null).invoke((lowerPos, workload) -> {
+            if (lowerPos == 0) {
+                throw new IllegalStateException();
+            }
+        });
+    }
+
+    /**
+     * Test of getAdaptor and resize methods, of class WorkSplitter.
+     */
+    @Test
+    public void testGetAdaptorAndResize() {
+        System.out.println("getAdaptorAndResize");
+
+        final ThreadedPhraseAdaptor adaptor = mock(ThreadedPhraseAdaptor.class);
+        final int[] requested = new int[2];
+        final WorkSplitter instance = new WorkSplitter(10, 5, (lowerPos, workload) -> {
+            requested[0] = lowerPos;
+            requested[1] = workload;
+            return adaptor;
+        });
+
+        assertSame(instance.getAdaptor(3, 4), adaptor);
+        assertEquals(requested, new int[]{3, 4});
+
+        final WorkSplitter resized = instance.resize(20);
+        assertEquals(resized.getNumberOfElements(), 20);
+        assertEquals(instance.getNumberOfElements(), 10);
+        assertSame(resized.getAdaptor(0, 20), adaptor);
+    }
+}